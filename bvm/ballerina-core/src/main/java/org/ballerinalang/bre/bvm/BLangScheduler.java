@@ -29,8 +29,11 @@ import org.ballerinalang.util.exceptions.BLangNullReferenceException;
 import org.ballerinalang.util.program.BLangVMUtils;
 
 import java.io.PrintStream;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -97,8 +100,7 @@ public class BLangScheduler {
         if (runInCaller) {
             return ctx;
         } else {
-            ExecutorService executor = ThreadPoolFactory.getInstance().getWorkerExecutor();
-            executor.submit(new WorkerExecutor(ctx));
+            execute(new WorkerExecutor(ctx));
             return null;
         }
     }
@@ -115,11 +117,33 @@ public class BLangScheduler {
         if (runInCaller) {
             return ctx;
         } else {
-            ThreadPoolFactory.getInstance().getWorkerExecutor().submit(new WorkerExecutor(ctx));
+            execute(new WorkerExecutor(ctx));
             return null;
         }
     }
 
+    /**
+     * Executes the given runnable in the worker thread pool. When called from a worker thread, e.g. when a
+     * worker is resumed by a callback completed in that thread, the runnable is queued in the thread's own
+     * queue, so that it runs in the same thread unless an idle thread steals it.
+     *
+     * @param runnable the runnable to be executed
+     */
+    private static void execute(Runnable runnable) {
+        ForkJoinPool executor = ThreadPoolFactory.getInstance().getWorkerExecutor();
+        /* adapted tasks keep any exception in the task, same as ExecutorService#submit */
+        ForkJoinTask<?> task = ForkJoinTask.adapt(runnable);
+        Thread currentThread = Thread.currentThread();
+        if (currentThread instanceof ForkJoinWorkerThread
+                && ((ForkJoinWorkerThread) currentThread).getPool() == executor) {
+            task.fork();
+            schedulerStats.localSchedule();
+        } else {
+            executor.execute(task);
+            schedulerStats.externalSchedule();
+        }
+    }
+
     public static WorkerExecutionContext resume(WorkerExecutionContext ctx, int targetIp, boolean runInCaller) {
         ctx.ip = targetIp;
         return resume(ctx, runInCaller);
@@ -201,9 +225,39 @@ public class BLangScheduler {
         CallableUnitInfo callableUnitInfo = nativeCtx.getCallableUnitInfo();
         AsyncInvocableWorkerResponseContext respCtx = new AsyncInvocableWorkerResponseContext(callableUnitInfo);
         NativeCallExecutor exec = new NativeCallExecutor(nativeCallable, nativeCtx, respCtx);
-        ThreadPoolFactory.getInstance().getWorkerExecutor().submit(exec);
+        ThreadPoolFactory threadPoolFactory = ThreadPoolFactory.getInstance();
+        if (threadPoolFactory.isBlockingExecution(nativeCallable.getClass())) {
+            threadPoolFactory.getBlockingExecutor().execute(exec);
+        } else {
+            execute(exec);
+        }
         return respCtx;
     }
+
+    /**
+     * Executes a blocking native call in the blocking thread pool, so that a worker thread is not blocked
+     * for the duration of the call. The caller is notified through the given callback, same as for a
+     * non-blocking native call.
+     *
+     * @param nativeCallable the blocking native callable unit
+     * @param nativeCtx      the native call context
+     * @param callback       the callback to be notified when the call completes
+     */
+    public static void executeBlockingNative(NativeCallableUnit nativeCallable, Context nativeCtx,
+            CallableUnitCallback callback) {
+        ThreadPoolFactory.getInstance().getBlockingExecutor().execute(
+                new BlockingNativeCallExecutor(nativeCallable, nativeCtx, callback));
+    }
+    
+    /**
+     * Checks whether the given blocking native callable unit is executed in the blocking thread pool.
+     *
+     * @param nativeCallable the blocking native callable unit
+     * @return true if the native call has to be executed using {@link #executeBlockingNative}
+     */
+    public static boolean isBlockingExecution(NativeCallableUnit nativeCallable) {
+        return ThreadPoolFactory.getInstance().isBlockingExecution(nativeCallable.getClass());
+    }
     
     public static AsyncInvocableWorkerResponseContext executeNonBlockingNativeAsync(NativeCallableUnit nativeCallable,
             Context nativeCtx) {
@@ -284,6 +338,45 @@ public class BLangScheduler {
         
     }
     
+    /**
+     * This represents the thread used to run a blocking native call in the blocking thread pool.
+     */
+    private static class BlockingNativeCallExecutor implements Runnable {
+
+        private NativeCallableUnit nativeCallable;
+
+        private Context nativeCtx;
+
+        private CallableUnitCallback callback;
+
+        public BlockingNativeCallExecutor(NativeCallableUnit nativeCallable, Context nativeCtx,
+                CallableUnitCallback callback) {
+            this.nativeCallable = nativeCallable;
+            this.nativeCtx = nativeCtx;
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            CallableUnitInfo cui = this.nativeCtx.getCallableUnitInfo();
+            BStruct error;
+            try {
+                this.nativeCallable.execute(this.nativeCtx, null);
+                error = null;
+            } catch (BLangNullReferenceException e) {
+                error = BLangVMErrors.createNullRefException(cui);
+            } catch (Throwable e) {
+                error = BLangVMErrors.createError(cui, e.getMessage());
+            }
+            if (error == null) {
+                this.callback.notifySuccess();
+            } else {
+                this.callback.notifyFailure(error);
+            }
+        }
+
+    }
+    
     /**
      * This class represents the callback functionality for async non-blocking native calls.
      */
@@ -330,6 +423,10 @@ public class BLangScheduler {
     public static class SchedulerStats {
         
         private LongAdder[] stateCounts;
+
+        private LongAdder localScheduleCount = new LongAdder();
+
+        private LongAdder externalScheduleCount = new LongAdder();
         
         public SchedulerStats() {
             this.stateCounts = new LongAdder[6];
@@ -361,6 +458,74 @@ public class BLangScheduler {
         public long getWaitingForLockWorkerCount() {
             return this.stateCounts[5].longValue();
         }
+
+        /**
+         * Returns the number of executions queued in the local queue of the scheduling worker thread.
+         *
+         * @return the local schedule count
+         */
+        public long getLocalScheduleCount() {
+            return this.localScheduleCount.longValue();
+        }
+
+        /**
+         * Returns the number of executions submitted to the worker thread pool from other threads.
+         *
+         * @return the external schedule count
+         */
+        public long getExternalScheduleCount() {
+            return this.externalScheduleCount.longValue();
+        }
+
+        /**
+         * Returns the number of executions stolen by idle worker threads from the queues of other threads.
+         *
+         * @return the steal count
+         */
+        public long getStealCount() {
+            return ThreadPoolFactory.getInstance().getWorkerExecutor().getStealCount();
+        }
+
+        public long getQueuedExecutionCount() {
+            ForkJoinPool executor = ThreadPoolFactory.getInstance().getWorkerExecutor();
+            return executor.getQueuedTaskCount() + executor.getQueuedSubmissionCount();
+        }
+
+        public long getActiveThreadCount() {
+            return ThreadPoolFactory.getInstance().getWorkerExecutor().getActiveThreadCount();
+        }
+
+        /**
+         * Returns the number of blocking native calls completed in the blocking thread pool.
+         *
+         * @return the completed blocking call count, or zero if the blocking thread pool is not enabled
+         */
+        public long getBlockingCompletedCount() {
+            ThreadPoolExecutor executor = ThreadPoolFactory.getInstance().getBlockingExecutor();
+            return executor != null ? executor.getCompletedTaskCount() : 0;
+        }
+
+        public long getBlockingQueuedCount() {
+            ThreadPoolExecutor executor = ThreadPoolFactory.getInstance().getBlockingExecutor();
+            return executor != null ? executor.getQueue().size() : 0;
+        }
+
+        public long getBlockingActiveThreadCount() {
+            ThreadPoolExecutor executor = ThreadPoolFactory.getInstance().getBlockingExecutor();
+            return executor != null ? executor.getActiveCount() : 0;
+        }
+
+        void localSchedule() {
+            if (schedulerStatsEnabled) {
+                this.localScheduleCount.increment();
+            }
+        }
+
+        void externalSchedule() {
+            if (schedulerStatsEnabled) {
+                this.externalScheduleCount.increment();
+            }
+        }
         
         public void stateTransition(WorkerExecutionContext currentCtx, WorkerState newState) {
             if (!schedulerStatsEnabled || currentCtx.isRootContext()) {
@@ -387,6 +552,16 @@ public class BLangScheduler {
             builder.append("\tWAITING FOR RESPONSE: " + this.getWaitingForResponseWorkerCount() + "\n");
             builder.append("\tPAUSED: " + this.getPausedWorkerCount() + "\n");
             builder.append("\tWAITING FOR LOCK: " + this.getWaitingForLockWorkerCount() + "\n");
+            builder.append("Worker Thread Pool Status:- \n");
+            builder.append("\tLOCAL SCHEDULES: " + this.getLocalScheduleCount() + "\n");
+            builder.append("\tEXTERNAL SCHEDULES: " + this.getExternalScheduleCount() + "\n");
+            builder.append("\tSTEALS: " + this.getStealCount() + "\n");
+            builder.append("\tQUEUED: " + this.getQueuedExecutionCount() + "\n");
+            builder.append("\tACTIVE THREADS: " + this.getActiveThreadCount() + "\n");
+            builder.append("Blocking Thread Pool Status:- \n");
+            builder.append("\tCOMPLETED: " + this.getBlockingCompletedCount() + "\n");
+            builder.append("\tQUEUED: " + this.getBlockingQueuedCount() + "\n");
+            builder.append("\tACTIVE THREADS: " + this.getBlockingActiveThreadCount() + "\n");
             return builder.toString();
         }
         
@@ -69,7 +69,6 @@ import org.ballerinalang.model.values.StructureType;
 import org.ballerinalang.util.BLangConstants;
 import org.ballerinalang.util.TransactionStatus;
 import org.ballerinalang.util.codegen.ActionInfo;
-import org.ballerinalang.util.codegen.AttachedFunctionInfo;
 import org.ballerinalang.util.codegen.ConnectorInfo;
 import org.ballerinalang.util.codegen.ErrorTableEntry;
 import org.ballerinalang.util.codegen.ForkjoinInfo;
@@ -77,9 +76,15 @@ import org.ballerinalang.util.codegen.FunctionInfo;
 import org.ballerinalang.util.codegen.Instruction;
 import org.ballerinalang.util.codegen.Instruction.InstructionACALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionCALL;
+import org.ballerinalang.util.codegen.Instruction.InstructionCompareBranch;
+import org.ballerinalang.util.codegen.Instruction.InstructionFConst;
 import org.ballerinalang.util.codegen.Instruction.InstructionFORKJOIN;
+import org.ballerinalang.util.codegen.Instruction.InstructionFieldLoadCompare;
+import org.ballerinalang.util.codegen.Instruction.InstructionIConst;
+import org.ballerinalang.util.codegen.Instruction.InstructionIConstArithmetic;
 import org.ballerinalang.util.codegen.Instruction.InstructionIteratorNext;
 import org.ballerinalang.util.codegen.Instruction.InstructionLock;
+import org.ballerinalang.util.codegen.Instruction.InstructionSConst;
 import org.ballerinalang.util.codegen.Instruction.InstructionTCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionVCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionWRKSendReceive;
@@ -92,10 +97,8 @@ import org.ballerinalang.util.codegen.attributes.AttributeInfo;
 import org.ballerinalang.util.codegen.attributes.AttributeInfoPool;
 import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
 import org.ballerinalang.util.codegen.attributes.DefaultValueAttributeInfo;
-import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
 import org.ballerinalang.util.codegen.cpentries.FunctionCallCPEntry;
 import org.ballerinalang.util.codegen.cpentries.FunctionRefCPEntry;
-import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
 import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
 import org.ballerinalang.util.codegen.cpentries.StructureRefCPEntry;
 import org.ballerinalang.util.codegen.cpentries.TypeRefCPEntry;
@@ -177,7 +180,15 @@ public class CPU {
                 if (debugEnabled && debug(ctx)) {
                     return;
                 }
-    
+                if (ctx.compiledCode != null && ctx.compiledCode.isEntry(ctx.ip)) {
+                    int entryIP = ctx.ip;
+                    ctx.ip = ctx.compiledCode.execute(ctx, entryIP);
+                    if (ctx.ip != entryIP) {
+                        // re-check whether the worker has ended, has been stopped or is being debugged
+                        continue;
+                    }
+                }
+
                 Instruction instruction = ctx.code[ctx.ip];
                 int opcode = instruction.getOpcode();
                 int[] operands = instruction.getOperands();
@@ -185,19 +196,16 @@ public class CPU {
                 WorkerData sf = ctx.workerLocal;
                 switch (opcode) {
                     case InstructionCodes.ICONST:
-                        cpIndex = operands[0];
-                        i = operands[1];
-                        sf.longRegs[i] = ((IntegerCPEntry) ctx.constPool[cpIndex]).getValue();
+                        InstructionIConst iconstIns = (InstructionIConst) instruction;
+                        sf.longRegs[iconstIns.regIndex] = iconstIns.value;
                         break;
                     case InstructionCodes.FCONST:
-                        cpIndex = operands[0];
-                        i = operands[1];
-                        sf.doubleRegs[i] = ((FloatCPEntry) ctx.constPool[cpIndex]).getValue();
+                        InstructionFConst fconstIns = (InstructionFConst) instruction;
+                        sf.doubleRegs[fconstIns.regIndex] = fconstIns.value;
                         break;
                     case InstructionCodes.SCONST:
-                        cpIndex = operands[0];
-                        i = operands[1];
-                        sf.stringRegs[i] = ((StringCPEntry) ctx.constPool[cpIndex]).getValue();
+                        InstructionSConst sconstIns = (InstructionSConst) instruction;
+                        sf.stringRegs[sconstIns.regIndex] = sconstIns.value;
                         break;
                     case InstructionCodes.ICONST_0:
                         i = operands[0];
@@ -386,6 +394,19 @@ public class CPU {
                     case InstructionCodes.SNE_NULL:
                         execCmpAndBranchOpcodes(ctx, sf, opcode, operands);
                         break;
+
+                    case InstructionCodes.IGT_BR:
+                    case InstructionCodes.IGE_BR:
+                    case InstructionCodes.ILT_BR:
+                    case InstructionCodes.ILE_BR:
+                    case InstructionCodes.IEQ_BR:
+                    case InstructionCodes.INE_BR:
+                    case InstructionCodes.ICONST_IADD:
+                    case InstructionCodes.ICONST_ISUB:
+                    case InstructionCodes.ICONST_IMUL:
+                    case InstructionCodes.IFIELDLOAD_ICMP:
+                        execSuperInstructions(ctx, sf, opcode, instruction);
+                        break;
     
                     case InstructionCodes.TR_RETRY:
                         i = operands[0];
@@ -403,8 +424,7 @@ public class CPU {
                         break;
                     case InstructionCodes.VCALL:
                         InstructionVCALL vcallIns = (InstructionVCALL) instruction;
-                        ctx = invokeVirtualFunction(ctx, vcallIns.receiverRegIndex, vcallIns.functionInfo,
-                                vcallIns.argRegs, vcallIns.retRegs, vcallIns.flags);
+                        ctx = invokeVirtualFunction(ctx, vcallIns);
                         if (ctx == null) {
                             return;
                         }
@@ -1040,6 +1060,112 @@ public class CPU {
         }
     }
 
+    private static void execSuperInstructions(WorkerExecutionContext ctx, WorkerData sf, int opcode,
+                                              Instruction instruction) {
+        InstructionCompareBranch cmpBrIns;
+        InstructionIConstArithmetic constArithIns;
+        InstructionFieldLoadCompare fieldCmpIns;
+        boolean result;
+        switch (opcode) {
+            case InstructionCodes.IGT_BR:
+                cmpBrIns = (InstructionCompareBranch) instruction;
+                result = sf.longRegs[cmpBrIns.lhsRegIndex] > sf.longRegs[cmpBrIns.rhsRegIndex];
+                compareAndBranch(ctx, sf, cmpBrIns, result);
+                break;
+            case InstructionCodes.IGE_BR:
+                cmpBrIns = (InstructionCompareBranch) instruction;
+                result = sf.longRegs[cmpBrIns.lhsRegIndex] >= sf.longRegs[cmpBrIns.rhsRegIndex];
+                compareAndBranch(ctx, sf, cmpBrIns, result);
+                break;
+            case InstructionCodes.ILT_BR:
+                cmpBrIns = (InstructionCompareBranch) instruction;
+                result = sf.longRegs[cmpBrIns.lhsRegIndex] < sf.longRegs[cmpBrIns.rhsRegIndex];
+                compareAndBranch(ctx, sf, cmpBrIns, result);
+                break;
+            case InstructionCodes.ILE_BR:
+                cmpBrIns = (InstructionCompareBranch) instruction;
+                result = sf.longRegs[cmpBrIns.lhsRegIndex] <= sf.longRegs[cmpBrIns.rhsRegIndex];
+                compareAndBranch(ctx, sf, cmpBrIns, result);
+                break;
+            case InstructionCodes.IEQ_BR:
+                cmpBrIns = (InstructionCompareBranch) instruction;
+                result = sf.longRegs[cmpBrIns.lhsRegIndex] == sf.longRegs[cmpBrIns.rhsRegIndex];
+                compareAndBranch(ctx, sf, cmpBrIns, result);
+                break;
+            case InstructionCodes.INE_BR:
+                cmpBrIns = (InstructionCompareBranch) instruction;
+                result = sf.longRegs[cmpBrIns.lhsRegIndex] != sf.longRegs[cmpBrIns.rhsRegIndex];
+                compareAndBranch(ctx, sf, cmpBrIns, result);
+                break;
+            case InstructionCodes.ICONST_IADD:
+                constArithIns = (InstructionIConstArithmetic) instruction;
+                sf.longRegs[constArithIns.constRegIndex] = constArithIns.value;
+                sf.longRegs[constArithIns.resultRegIndex] = sf.longRegs[constArithIns.lhsRegIndex]
+                        + sf.longRegs[constArithIns.rhsRegIndex];
+                ctx.ip++;
+                break;
+            case InstructionCodes.ICONST_ISUB:
+                constArithIns = (InstructionIConstArithmetic) instruction;
+                sf.longRegs[constArithIns.constRegIndex] = constArithIns.value;
+                sf.longRegs[constArithIns.resultRegIndex] = sf.longRegs[constArithIns.lhsRegIndex]
+                        - sf.longRegs[constArithIns.rhsRegIndex];
+                ctx.ip++;
+                break;
+            case InstructionCodes.ICONST_IMUL:
+                constArithIns = (InstructionIConstArithmetic) instruction;
+                sf.longRegs[constArithIns.constRegIndex] = constArithIns.value;
+                sf.longRegs[constArithIns.resultRegIndex] = sf.longRegs[constArithIns.lhsRegIndex]
+                        * sf.longRegs[constArithIns.rhsRegIndex];
+                ctx.ip++;
+                break;
+            case InstructionCodes.IFIELDLOAD_ICMP:
+                fieldCmpIns = (InstructionFieldLoadCompare) instruction;
+                StructureType structureType = (StructureType) sf.refRegs[fieldCmpIns.structRegIndex];
+                if (structureType == null) {
+                    handleNullRefError(ctx);
+                    break;
+                }
+                sf.longRegs[fieldCmpIns.fieldRegIndex] = structureType.getIntField(fieldCmpIns.fieldIndex);
+                long lhs = sf.longRegs[fieldCmpIns.lhsRegIndex];
+                long rhs = sf.longRegs[fieldCmpIns.rhsRegIndex];
+                switch (fieldCmpIns.compareOpcode) {
+                    case InstructionCodes.IGT:
+                        result = lhs > rhs;
+                        break;
+                    case InstructionCodes.IGE:
+                        result = lhs >= rhs;
+                        break;
+                    case InstructionCodes.ILT:
+                        result = lhs < rhs;
+                        break;
+                    case InstructionCodes.ILE:
+                        result = lhs <= rhs;
+                        break;
+                    case InstructionCodes.IEQ:
+                        result = lhs == rhs;
+                        break;
+                    default:
+                        result = lhs != rhs;
+                        break;
+                }
+                sf.intRegs[fieldCmpIns.resultRegIndex] = result ? 1 : 0;
+                ctx.ip++;
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
+
+    private static void compareAndBranch(WorkerExecutionContext ctx, WorkerData sf,
+                                         InstructionCompareBranch cmpBrIns, boolean result) {
+        sf.intRegs[cmpBrIns.resultRegIndex] = result ? 1 : 0;
+        if (result == cmpBrIns.branchIfTrue) {
+            ctx.ip = cmpBrIns.targetIp;
+        } else {
+            ctx.ip++;
+        }
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     private static void execLoadOpcodes(WorkerExecutionContext ctx, WorkerData sf, int opcode, int[] operands) {
         int i;
@@ -2833,20 +2959,18 @@ public class CPU {
         }
     }
 
-    private static WorkerExecutionContext invokeVirtualFunction(WorkerExecutionContext ctx, int receiver,
-                                                                FunctionInfo virtualFuncInfo, int[] argRegs,
-                                                                int[] retRegs, int flags) {
-        BStruct structVal = (BStruct) ctx.workerLocal.refRegs[receiver];
+    private static WorkerExecutionContext invokeVirtualFunction(WorkerExecutionContext ctx,
+                                                                InstructionVCALL vcallIns) {
+        BStruct structVal = (BStruct) ctx.workerLocal.refRegs[vcallIns.receiverRegIndex];
         if (structVal == null) {
             ctx.setError(BLangVMErrors.createNullRefException(ctx));
             handleError(ctx);
             return null;
         }
 
-        StructInfo structInfo = structVal.getType().structInfo;
-        AttachedFunctionInfo attachedFuncInfo = structInfo.funcInfoEntries.get(virtualFuncInfo.getName());
-        FunctionInfo concreteFuncInfo = attachedFuncInfo.functionInfo;
-        return BLangFunctions.invokeCallable(concreteFuncInfo, ctx, argRegs, retRegs, false, flags);
+        FunctionInfo concreteFuncInfo = vcallIns.getConcreteFunctionInfo(structVal.getType());
+        return BLangFunctions.invokeCallable(concreteFuncInfo, ctx, vcallIns.argRegs, vcallIns.retRegs, false,
+                vcallIns.flags);
     }
 
     private static WorkerExecutionContext invokeAction(WorkerExecutionContext ctx, String actionName, int[] argRegs,
@@ -2990,7 +3114,15 @@ public class CPU {
 
     private static WorkerExecutionContext handleReturn(WorkerExecutionContext ctx) {
         BLangScheduler.workerDone(ctx);
-        return ctx.respCtx.signal(new WorkerSignal(ctx, SignalType.RETURN, ctx.workerResult));
+        WorkerExecutionContext runInCallerCtx = ctx.respCtx.signal(new WorkerSignal(ctx, SignalType.RETURN,
+                ctx.workerResult));
+        /* the local registers of a returned single worker invocation are not used anymore, the results
+         * are in the worker result, hence they can be reused. The debugger may still inspect them. */
+        if (ctx.respCtx.getClass() == CallableWorkerResponseContext.class
+                && !ctx.programFile.getDebugger().isDebugEnabled()) {
+            ctx.programFile.getWorkerDataArena().release(ctx);
+        }
+        return runInCallerCtx;
     }
 
     public static boolean isAssignable(BValue rhsValue, BType lhsType) {
@@ -29,6 +29,8 @@ import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
 import org.ballerinalang.siddhi.core.SiddhiManager;
 import org.ballerinalang.siddhi.core.event.Event;
 import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.ballerinalang.siddhi.query.api.SiddhiApp;
+import org.ballerinalang.util.VMOptions;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.program.BLangFunctions;
 
@@ -43,12 +45,37 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class StreamingRuntimeManager {
 
+    /**
+     * VM option which compiles the filter and projection expressions of the streaming queries to generated classes,
+     * e.g. {@code -Bstreaming.codegen=true}.
+     */
+    public static final String STREAMING_CODEGEN_OPTION = "streaming.codegen";
+
+    /**
+     * VM option which processes the filters and the batch aggregations of the streaming queries over columnar event
+     * batches, e.g. {@code -Bstreaming.columnar=true}.
+     */
+    public static final String STREAMING_COLUMNAR_OPTION = "streaming.columnar";
+
+    /**
+     * VM option which sets the number of executor lanes onto which the keys of the streaming partitions are hashed,
+     * so that the events of different keys are processed concurrently, e.g. {@code -Bstreaming.partition.lanes=4}.
+     */
+    public static final String STREAMING_PARTITION_LANES_OPTION = "streaming.partition.lanes";
+
     private static StreamingRuntimeManager streamingRuntimeManager;
     private SiddhiManager siddhiManager = new SiddhiManager();
     private List<SiddhiAppRuntime> siddhiAppRuntimeList = new ArrayList<>();
 
     private StreamingRuntimeManager() {
-
+        siddhiManager.setExpressionCompilationEnabled(
+                Boolean.parseBoolean(VMOptions.getInstance().get(STREAMING_CODEGEN_OPTION)));
+        siddhiManager.setColumnarBatchingEnabled(
+                Boolean.parseBoolean(VMOptions.getInstance().get(STREAMING_COLUMNAR_OPTION)));
+        String partitionLanes = VMOptions.getInstance().get(STREAMING_PARTITION_LANES_OPTION);
+        if (partitionLanes != null) {
+            siddhiManager.setPartitionLaneCount(Integer.parseInt(partitionLanes));
+        }
     }
 
     public static StreamingRuntimeManager getInstance() {
@@ -64,7 +91,20 @@ public class StreamingRuntimeManager {
     }
 
     public SiddhiAppRuntime createSiddhiAppRuntime(String siddhiApp) {
-        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        return startSiddhiAppRuntime(siddhiManager.createSiddhiAppRuntime(siddhiApp));
+    }
+
+    /**
+     * Creates and starts a Siddhi App runtime from a query which is already compiled to the query-API objects.
+     *
+     * @param siddhiApp the compiled Siddhi App
+     * @return the started Siddhi App runtime
+     */
+    public SiddhiAppRuntime createSiddhiAppRuntime(SiddhiApp siddhiApp) {
+        return startSiddhiAppRuntime(siddhiManager.createSiddhiAppRuntime(siddhiApp));
+    }
+
+    private SiddhiAppRuntime startSiddhiAppRuntime(SiddhiAppRuntime siddhiAppRuntime) {
         siddhiAppRuntimeList.add(siddhiAppRuntime);
         siddhiAppRuntime.start();
         return siddhiAppRuntime;
@@ -42,8 +42,12 @@ public class WorkerData {
     public byte[][] byteRegs;
     
     public BRefType<?>[] refRegs;
+
+    /* the code attribute this worker data was sized for, if any, used for recycling it */
+    CodeAttributeInfo codeAttributeInfo;
     
     public WorkerData(CodeAttributeInfo ci) {
+        this.codeAttributeInfo = ci;
         if (ci.maxLongRegs > 0) {
             this.longRegs = new long[ci.maxLongRegs];
         }
@@ -114,5 +118,29 @@ public class WorkerData {
             this.refRegs = new BRefType[count];
         }
     }
-        
+
+    /**
+     * Resets all the registers to their initial values, so that this worker data can be reused.
+     */
+    void reset() {
+        if (this.longRegs != null) {
+            Arrays.fill(this.longRegs, 0);
+        }
+        if (this.doubleRegs != null) {
+            Arrays.fill(this.doubleRegs, 0);
+        }
+        if (this.stringRegs != null) {
+            Arrays.fill(this.stringRegs, BLangConstants.STRING_EMPTY_VALUE);
+        }
+        if (this.intRegs != null) {
+            Arrays.fill(this.intRegs, 0);
+        }
+        if (this.byteRegs != null) {
+            Arrays.fill(this.byteRegs, null);
+        }
+        if (this.refRegs != null) {
+            Arrays.fill(this.refRegs, null);
+        }
+    }
+
 }
@@ -0,0 +1,94 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@code WorkerDataArena} recycles the local worker data of returned function invocations, so that frequent
+ * calls to short functions do not allocate new registers for each call. Each thread has its own pools,
+ * hence no synchronization is needed.
+ * <p>
+ * Each program file has its own arena. The pools of a thread are only reachable through the arena, so that they
+ * are collected with the program file instead of holding its code attributes for the lifetime of the thread.
+ *
+ * @since 0.970.0
+ */
+public class WorkerDataArena {
+
+    private static final int MAX_POOLED_WORKER_DATA = 4;
+
+    private final ThreadLocal<Map<CodeAttributeInfo, Pool>> pools = ThreadLocal.withInitial(IdentityHashMap::new);
+
+    /**
+     * Returns worker data sized for the given code attribute, reusing recycled worker data if available.
+     *
+     * @param ci the code attribute of the worker
+     * @return the worker data with all the registers in their initial values
+     */
+    public WorkerData acquire(CodeAttributeInfo ci) {
+        Pool pool = this.pools.get().get(ci);
+        if (pool == null || pool.size == 0) {
+            return new WorkerData(ci);
+        }
+        WorkerData data = pool.items[--pool.size];
+        pool.items[pool.size] = null;
+        return data;
+    }
+
+    /**
+     * Recycles the local worker data of the given worker execution context, which has returned.
+     * The worker data must not be referenced anywhere else.
+     *
+     * @param ctx the returned worker execution context
+     */
+    public void release(WorkerExecutionContext ctx) {
+        WorkerData data = ctx.workerLocal;
+        CodeAttributeInfo ci = ctx.workerInfo.getCodeAttributeInfo();
+        /* only worker data created for the worker's code attribute has the right register sizes */
+        if (data == null || data.codeAttributeInfo != ci) {
+            return;
+        }
+        ctx.workerLocal = null;
+        Map<CodeAttributeInfo, Pool> threadPools = this.pools.get();
+        Pool pool = threadPools.get(ci);
+        if (pool == null) {
+            pool = new Pool();
+            threadPools.put(ci, pool);
+        }
+        if (pool.size == MAX_POOLED_WORKER_DATA) {
+            return;
+        }
+        data.reset();
+        pool.items[pool.size++] = data;
+    }
+
+    /**
+     * Recycled worker data of a single code attribute.
+     */
+    private static class Pool {
+
+        private WorkerData[] items = new WorkerData[MAX_POOLED_WORKER_DATA];
+
+        private int size;
+    }
+
+}
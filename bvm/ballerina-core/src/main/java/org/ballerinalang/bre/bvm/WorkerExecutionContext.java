@@ -17,9 +17,12 @@
 */
 package org.ballerinalang.bre.bvm;
 
+import org.ballerinalang.bre.bvm.jit.CompiledCode;
+import org.ballerinalang.bre.bvm.jit.JITCompiler;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.WorkerInfo;
 import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
@@ -70,6 +73,8 @@ public class WorkerExecutionContext {
     
     public boolean runInCaller;
 
+    public CompiledCode compiledCode;
+
     private BStruct error;
 
     private DebugContext debugContext;
@@ -95,7 +100,7 @@ public class WorkerExecutionContext {
         this.workerInfo = workerInfo;
         this.programFile = callableUnitInfo.getPackageInfo().getProgramFile();
         this.constPool = callableUnitInfo.getPackageInfo().getConstPoolEntries();
-        this.code = callableUnitInfo.getPackageInfo().getInstructions();
+        this.code = getCode(callableUnitInfo.getPackageInfo());
         this.workerLocal = workerLocal;
         this.workerResult = workerResult;
         this.retRegIndexes = retRegIndexes;
@@ -103,6 +108,7 @@ public class WorkerExecutionContext {
         this.ip = this.workerInfo.getCodeAttributeInfo().getCodeAddrs();
         this.runInCaller = runInCaller;
         initDebugger();
+        this.compiledCode = JITCompiler.getCompiledCode(this);
     }
 
     public WorkerExecutionContext(WorkerExecutionContext parent, WorkerResponseContext respCtx,
@@ -114,12 +120,22 @@ public class WorkerExecutionContext {
         this.workerInfo = workerInfo;
         this.programFile = callableUnitInfo.getPackageInfo().getProgramFile();
         this.constPool = callableUnitInfo.getPackageInfo().getConstPoolEntries();
-        this.code = callableUnitInfo.getPackageInfo().getInstructions();
+        this.code = getCode(callableUnitInfo.getPackageInfo());
         this.workerLocal = workerLocal;
         this.globalProps = parent.globalProps;
         this.ip = this.workerInfo.getCodeAttributeInfo().getCodeAddrs();
         this.runInCaller = runInCaller;
         initDebugger();
+        this.compiledCode = JITCompiler.getCompiledCode(this);
+    }
+
+    private Instruction[] getCode(PackageInfo packageInfo) {
+        // superinstructions skip instructions, hence the debugger needs the instructions as they are
+        Instruction[] optimizedCode = packageInfo.getOptimizedInstructions();
+        if (optimizedCode == null || programFile.getDebugger().isDebugEnabled()) {
+            return packageInfo.getInstructions();
+        }
+        return optimizedCode;
     }
 
     private void initDebugger() {
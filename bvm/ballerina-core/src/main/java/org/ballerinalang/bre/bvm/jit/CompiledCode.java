@@ -0,0 +1,67 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm.jit;
+
+import org.ballerinalang.bre.bvm.WorkerExecutionContext;
+
+import java.util.BitSet;
+
+/**
+ * {@code CompiledCode} is the base class of the JVM classes generated by the {@link JITCompiler}
+ * for the instructions of a hot worker.
+ * <p>
+ * A compiled worker is entered from the interpreter at any instruction pointer of its compiled
+ * region, which the interpreter checks with {@link #isEntry(int)} before each instruction. The
+ * generated code executes instructions natively until it reaches an instruction it does not
+ * support, and then hands control back to the interpreter.
+ *
+ * @since 0.970.0
+ */
+public abstract class CompiledCode {
+
+    private boolean[] entries = new boolean[0];
+
+    /**
+     * Returns whether the instruction at the given instruction pointer is compiled, so that the
+     * worker has to be continued in the compiled code.
+     *
+     * @param ip the instruction pointer of the next instruction
+     * @return true if the instruction is in the compiled region
+     */
+    public final boolean isEntry(int ip) {
+        return ip < entries.length && entries[ip];
+    }
+
+    void setRegion(BitSet region) {
+        boolean[] entries = new boolean[region.length()];
+        for (int ip = region.nextSetBit(0); ip >= 0; ip = region.nextSetBit(ip + 1)) {
+            entries[ip] = true;
+        }
+        this.entries = entries;
+    }
+
+    /**
+     * Executes the compiled instructions of the worker starting from the given instruction pointer.
+     *
+     * @param ctx the worker execution context whose registers are used
+     * @param ip  the instruction pointer to start execution from
+     * @return the instruction pointer of the next instruction the interpreter has to execute
+     */
+    public abstract int execute(WorkerExecutionContext ctx, int ip);
+
+}
@@ -0,0 +1,580 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm.jit;
+
+import org.ballerinalang.bre.bvm.WorkerData;
+import org.ballerinalang.bre.bvm.WorkerExecutionContext;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code JITClassGenerator} generates the JVM class for a compilable region of BVM instructions.
+ * <p>
+ * The generated {@link CompiledCode#execute(WorkerExecutionContext, int)} method dispatches once on
+ * the entry instruction pointer with a {@code tableswitch}, and from there on executes the region as
+ * straight-line JVM code, with BVM branches turned into JVM jumps. Whenever control reaches an
+ * instruction outside the region, the method returns its instruction pointer to the interpreter.
+ *
+ * @since 0.970.0
+ */
+class JITClassGenerator implements Opcodes {
+
+    private static final String SUPER_CLASS = Type.getInternalName(CompiledCode.class);
+    private static final String CTX_CLASS = Type.getInternalName(WorkerExecutionContext.class);
+    private static final String WORKER_DATA_CLASS = Type.getInternalName(WorkerData.class);
+    private static final String EXECUTE_DESC = "(L" + CTX_CLASS + ";I)I";
+
+    private static final String LONG_REGS_DESC = "[J";
+    private static final String DOUBLE_REGS_DESC = "[D";
+    private static final String STRING_REGS_DESC = "[" + Type.getDescriptor(String.class);
+    private static final String INT_REGS_DESC = "[I";
+    private static final String REF_REGS_DESC = "[" + Type.getDescriptor(BRefType.class);
+
+    // Local variable slots of the generated execute method
+    private static final int CTX = 1;
+    private static final int IP = 2;
+    private static final int LONG_REGS = 3;
+    private static final int DOUBLE_REGS = 4;
+    private static final int STRING_REGS = 5;
+    private static final int INT_REGS = 6;
+    private static final int REF_REGS = 7;
+
+    private final Instruction[] code;
+    private final ConstantPoolEntry[] constPool;
+    private final BitSet region;
+
+    private MethodVisitor mv;
+    private Label[] labels;
+    private int firstIp;
+    private Map<Integer, Label> exitLabels = new HashMap<>();
+    private Map<Integer, Label> stopCheckLabels = new HashMap<>();
+
+    JITClassGenerator(Instruction[] code, ConstantPoolEntry[] constPool, BitSet region) {
+        this.code = code;
+        this.constPool = constPool;
+        this.region = region;
+    }
+
+    /**
+     * Checks whether the given opcode can be translated by this generator.
+     *
+     * @param opcode the BVM opcode
+     * @return true if the instruction can be compiled
+     */
+    static boolean isSupported(int opcode) {
+        switch (opcode) {
+            case InstructionCodes.ICONST:
+            case InstructionCodes.FCONST:
+            case InstructionCodes.SCONST:
+            case InstructionCodes.ICONST_0:
+            case InstructionCodes.ICONST_1:
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+            case InstructionCodes.FCONST_0:
+            case InstructionCodes.FCONST_1:
+            case InstructionCodes.FCONST_2:
+            case InstructionCodes.FCONST_3:
+            case InstructionCodes.FCONST_4:
+            case InstructionCodes.FCONST_5:
+            case InstructionCodes.BCONST_0:
+            case InstructionCodes.BCONST_1:
+            case InstructionCodes.RCONST_NULL:
+            case InstructionCodes.IMOVE:
+            case InstructionCodes.FMOVE:
+            case InstructionCodes.SMOVE:
+            case InstructionCodes.BMOVE:
+            case InstructionCodes.RMOVE:
+            case InstructionCodes.IADD:
+            case InstructionCodes.FADD:
+            case InstructionCodes.ISUB:
+            case InstructionCodes.FSUB:
+            case InstructionCodes.IMUL:
+            case InstructionCodes.FMUL:
+            case InstructionCodes.INEG:
+            case InstructionCodes.FNEG:
+            case InstructionCodes.BNOT:
+            case InstructionCodes.IEQ:
+            case InstructionCodes.FEQ:
+            case InstructionCodes.BEQ:
+            case InstructionCodes.REQ:
+            case InstructionCodes.INE:
+            case InstructionCodes.FNE:
+            case InstructionCodes.BNE:
+            case InstructionCodes.RNE:
+            case InstructionCodes.IGT:
+            case InstructionCodes.FGT:
+            case InstructionCodes.IGE:
+            case InstructionCodes.FGE:
+            case InstructionCodes.ILT:
+            case InstructionCodes.FLT:
+            case InstructionCodes.ILE:
+            case InstructionCodes.FLE:
+            case InstructionCodes.REQ_NULL:
+            case InstructionCodes.RNE_NULL:
+            case InstructionCodes.SEQ_NULL:
+            case InstructionCodes.SNE_NULL:
+            case InstructionCodes.BR_TRUE:
+            case InstructionCodes.BR_FALSE:
+            case InstructionCodes.GOTO:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Generates the class file bytes of a {@link CompiledCode} subclass for the region.
+     *
+     * @param className internal name of the class to be generated
+     * @return the class file
+     */
+    byte[] generate(String className) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, SUPER_CLASS, null);
+
+        MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(ALOAD, 0);
+        init.visitMethodInsn(INVOKESPECIAL, SUPER_CLASS, "<init>", "()V", false);
+        init.visitInsn(RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        this.mv = cw.visitMethod(ACC_PUBLIC, "execute", EXECUTE_DESC, null, null);
+        this.mv.visitCode();
+        this.generateExecuteBody();
+        this.mv.visitMaxs(0, 0);
+        this.mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private void generateExecuteBody() {
+        this.loadRegisters();
+
+        this.firstIp = region.nextSetBit(0);
+        int lastIp = region.length() - 1;
+        Label notCompiled = new Label();
+        this.labels = new Label[lastIp - firstIp + 1];
+        for (int ip = firstIp; ip <= lastIp; ip++) {
+            this.labels[ip - firstIp] = region.get(ip) ? new Label() : notCompiled;
+        }
+
+        mv.visitVarInsn(ILOAD, IP);
+        mv.visitTableSwitchInsn(firstIp, lastIp, notCompiled, this.labels);
+
+        for (int ip = region.nextSetBit(0); ip >= 0; ip = region.nextSetBit(ip + 1)) {
+            mv.visitLabel(this.labels[ip - firstIp]);
+            if (this.generateInstruction(ip, code[ip]) && !region.get(ip + 1)) {
+                this.generateReturn(ip + 1);
+            }
+        }
+
+        mv.visitLabel(notCompiled);
+        mv.visitVarInsn(ILOAD, IP);
+        mv.visitInsn(IRETURN);
+
+        // Stop checks are generated first, since they may add exits to instructions outside the region
+        this.generateStopChecks();
+        for (Map.Entry<Integer, Label> exit : exitLabels.entrySet()) {
+            mv.visitLabel(exit.getValue());
+            this.generateReturn(exit.getKey());
+        }
+    }
+
+    private void loadRegisters() {
+        mv.visitVarInsn(ALOAD, CTX);
+        mv.visitFieldInsn(GETFIELD, CTX_CLASS, "workerLocal", "L" + WORKER_DATA_CLASS + ";");
+        mv.visitInsn(DUP);
+        mv.visitFieldInsn(GETFIELD, WORKER_DATA_CLASS, "longRegs", LONG_REGS_DESC);
+        mv.visitVarInsn(ASTORE, LONG_REGS);
+        mv.visitInsn(DUP);
+        mv.visitFieldInsn(GETFIELD, WORKER_DATA_CLASS, "doubleRegs", DOUBLE_REGS_DESC);
+        mv.visitVarInsn(ASTORE, DOUBLE_REGS);
+        mv.visitInsn(DUP);
+        mv.visitFieldInsn(GETFIELD, WORKER_DATA_CLASS, "stringRegs", STRING_REGS_DESC);
+        mv.visitVarInsn(ASTORE, STRING_REGS);
+        mv.visitInsn(DUP);
+        mv.visitFieldInsn(GETFIELD, WORKER_DATA_CLASS, "intRegs", INT_REGS_DESC);
+        mv.visitVarInsn(ASTORE, INT_REGS);
+        mv.visitFieldInsn(GETFIELD, WORKER_DATA_CLASS, "refRegs", REF_REGS_DESC);
+        mv.visitVarInsn(ASTORE, REF_REGS);
+    }
+
+    /**
+     * Emits the JVM code of a single instruction.
+     *
+     * @param ip          instruction pointer of the instruction
+     * @param instruction the instruction
+     * @return true if control can fall through to the next instruction
+     */
+    private boolean generateInstruction(int ip, Instruction instruction) {
+        int[] operands = instruction.getOperands();
+        switch (instruction.getOpcode()) {
+            case InstructionCodes.ICONST:
+                this.storeLong(operands[1], ((IntegerCPEntry) constPool[operands[0]]).getValue());
+                return true;
+            case InstructionCodes.FCONST:
+                this.storeDouble(operands[1], ((FloatCPEntry) constPool[operands[0]]).getValue());
+                return true;
+            case InstructionCodes.SCONST:
+                mv.visitVarInsn(ALOAD, STRING_REGS);
+                this.pushInt(operands[1]);
+                String value = ((StringCPEntry) constPool[operands[0]]).getValue();
+                if (value == null) {
+                    mv.visitInsn(ACONST_NULL);
+                } else {
+                    mv.visitLdcInsn(value);
+                }
+                mv.visitInsn(AASTORE);
+                return true;
+            case InstructionCodes.ICONST_0:
+                this.storeLong(operands[0], 0);
+                return true;
+            case InstructionCodes.ICONST_1:
+                this.storeLong(operands[0], 1);
+                return true;
+            case InstructionCodes.ICONST_2:
+                this.storeLong(operands[0], 2);
+                return true;
+            case InstructionCodes.ICONST_3:
+                this.storeLong(operands[0], 3);
+                return true;
+            case InstructionCodes.ICONST_4:
+                this.storeLong(operands[0], 4);
+                return true;
+            case InstructionCodes.ICONST_5:
+                this.storeLong(operands[0], 5);
+                return true;
+            case InstructionCodes.FCONST_0:
+                this.storeDouble(operands[0], 0);
+                return true;
+            case InstructionCodes.FCONST_1:
+                this.storeDouble(operands[0], 1);
+                return true;
+            case InstructionCodes.FCONST_2:
+                this.storeDouble(operands[0], 2);
+                return true;
+            case InstructionCodes.FCONST_3:
+                this.storeDouble(operands[0], 3);
+                return true;
+            case InstructionCodes.FCONST_4:
+                this.storeDouble(operands[0], 4);
+                return true;
+            case InstructionCodes.FCONST_5:
+                this.storeDouble(operands[0], 5);
+                return true;
+            case InstructionCodes.BCONST_0:
+                mv.visitVarInsn(ALOAD, INT_REGS);
+                this.pushInt(operands[0]);
+                mv.visitInsn(ICONST_0);
+                mv.visitInsn(IASTORE);
+                return true;
+            case InstructionCodes.BCONST_1:
+                mv.visitVarInsn(ALOAD, INT_REGS);
+                this.pushInt(operands[0]);
+                mv.visitInsn(ICONST_1);
+                mv.visitInsn(IASTORE);
+                return true;
+            case InstructionCodes.RCONST_NULL:
+                mv.visitVarInsn(ALOAD, REF_REGS);
+                this.pushInt(operands[0]);
+                mv.visitInsn(ACONST_NULL);
+                mv.visitInsn(AASTORE);
+                return true;
+
+            case InstructionCodes.IMOVE:
+                this.move(LONG_REGS, LALOAD, LASTORE, operands[0], operands[1]);
+                return true;
+            case InstructionCodes.FMOVE:
+                this.move(DOUBLE_REGS, DALOAD, DASTORE, operands[0], operands[1]);
+                return true;
+            case InstructionCodes.SMOVE:
+                this.move(STRING_REGS, AALOAD, AASTORE, operands[0], operands[1]);
+                return true;
+            case InstructionCodes.BMOVE:
+                this.move(INT_REGS, IALOAD, IASTORE, operands[0], operands[1]);
+                return true;
+            case InstructionCodes.RMOVE:
+                this.move(REF_REGS, AALOAD, AASTORE, operands[0], operands[1]);
+                return true;
+
+            case InstructionCodes.IADD:
+                this.binaryOp(LONG_REGS, LALOAD, LASTORE, LADD, operands);
+                return true;
+            case InstructionCodes.FADD:
+                this.binaryOp(DOUBLE_REGS, DALOAD, DASTORE, DADD, operands);
+                return true;
+            case InstructionCodes.ISUB:
+                this.binaryOp(LONG_REGS, LALOAD, LASTORE, LSUB, operands);
+                return true;
+            case InstructionCodes.FSUB:
+                this.binaryOp(DOUBLE_REGS, DALOAD, DASTORE, DSUB, operands);
+                return true;
+            case InstructionCodes.IMUL:
+                this.binaryOp(LONG_REGS, LALOAD, LASTORE, LMUL, operands);
+                return true;
+            case InstructionCodes.FMUL:
+                this.binaryOp(DOUBLE_REGS, DALOAD, DASTORE, DMUL, operands);
+                return true;
+            case InstructionCodes.INEG:
+                this.unaryOp(LONG_REGS, LALOAD, LASTORE, LNEG, operands);
+                return true;
+            case InstructionCodes.FNEG:
+                this.unaryOp(DOUBLE_REGS, DALOAD, DASTORE, DNEG, operands);
+                return true;
+            case InstructionCodes.BNOT:
+                mv.visitVarInsn(ALOAD, INT_REGS);
+                this.pushInt(operands[1]);
+                this.loadReg(INT_REGS, IALOAD, operands[0]);
+                this.storeCondition(IFNE);
+                return true;
+
+            case InstructionCodes.IEQ:
+                this.compare(LONG_REGS, LALOAD, LCMP, IFNE, operands);
+                return true;
+            case InstructionCodes.INE:
+                this.compare(LONG_REGS, LALOAD, LCMP, IFEQ, operands);
+                return true;
+            case InstructionCodes.IGT:
+                this.compare(LONG_REGS, LALOAD, LCMP, IFLE, operands);
+                return true;
+            case InstructionCodes.IGE:
+                this.compare(LONG_REGS, LALOAD, LCMP, IFLT, operands);
+                return true;
+            case InstructionCodes.ILT:
+                this.compare(LONG_REGS, LALOAD, LCMP, IFGE, operands);
+                return true;
+            case InstructionCodes.ILE:
+                this.compare(LONG_REGS, LALOAD, LCMP, IFGT, operands);
+                return true;
+            // NaN handling follows javac: DCMPL for ==, !=, > and >=, DCMPG for < and <=
+            case InstructionCodes.FEQ:
+                this.compare(DOUBLE_REGS, DALOAD, DCMPL, IFNE, operands);
+                return true;
+            case InstructionCodes.FNE:
+                this.compare(DOUBLE_REGS, DALOAD, DCMPL, IFEQ, operands);
+                return true;
+            case InstructionCodes.FGT:
+                this.compare(DOUBLE_REGS, DALOAD, DCMPL, IFLE, operands);
+                return true;
+            case InstructionCodes.FGE:
+                this.compare(DOUBLE_REGS, DALOAD, DCMPL, IFLT, operands);
+                return true;
+            case InstructionCodes.FLT:
+                this.compare(DOUBLE_REGS, DALOAD, DCMPG, IFGE, operands);
+                return true;
+            case InstructionCodes.FLE:
+                this.compare(DOUBLE_REGS, DALOAD, DCMPG, IFGT, operands);
+                return true;
+            case InstructionCodes.BEQ:
+                this.compare(INT_REGS, IALOAD, -1, IF_ICMPNE, operands);
+                return true;
+            case InstructionCodes.BNE:
+                this.compare(INT_REGS, IALOAD, -1, IF_ICMPEQ, operands);
+                return true;
+            case InstructionCodes.REQ:
+                this.compare(REF_REGS, AALOAD, -1, IF_ACMPNE, operands);
+                return true;
+            case InstructionCodes.RNE:
+                this.compare(REF_REGS, AALOAD, -1, IF_ACMPEQ, operands);
+                return true;
+            case InstructionCodes.REQ_NULL:
+                this.nullCheck(REF_REGS, IFNONNULL, operands);
+                return true;
+            case InstructionCodes.RNE_NULL:
+                this.nullCheck(REF_REGS, IFNULL, operands);
+                return true;
+            case InstructionCodes.SEQ_NULL:
+                this.nullCheck(STRING_REGS, IFNONNULL, operands);
+                return true;
+            case InstructionCodes.SNE_NULL:
+                this.nullCheck(STRING_REGS, IFNULL, operands);
+                return true;
+
+            case InstructionCodes.BR_TRUE:
+                this.loadReg(INT_REGS, IALOAD, operands[0]);
+                mv.visitInsn(ICONST_1);
+                mv.visitJumpInsn(IF_ICMPEQ, this.branchTarget(ip, operands[1]));
+                return true;
+            case InstructionCodes.BR_FALSE:
+                this.loadReg(INT_REGS, IALOAD, operands[0]);
+                mv.visitJumpInsn(IFEQ, this.branchTarget(ip, operands[1]));
+                return true;
+            case InstructionCodes.GOTO:
+                mv.visitJumpInsn(GOTO, this.branchTarget(ip, operands[0]));
+                return false;
+            default:
+                throw new IllegalStateException("unsupported instruction for JIT compilation: " + instruction);
+        }
+    }
+
+    /**
+     * Returns the label to jump to for a BVM branch. Backward branches go through a check of the
+     * worker's stop flag, the same way the interpreter checks it before every instruction, so that
+     * a compiled loop can still be stopped.
+     */
+    private Label branchTarget(int ip, int targetIp) {
+        if (targetIp > ip) {
+            return this.targetLabel(targetIp);
+        }
+        return stopCheckLabels.computeIfAbsent(targetIp, k -> new Label());
+    }
+
+    private Label targetLabel(int targetIp) {
+        if (region.get(targetIp)) {
+            return this.labels[targetIp - firstIp];
+        }
+        return exitLabels.computeIfAbsent(targetIp, k -> new Label());
+    }
+
+    private void generateStopChecks() {
+        for (Map.Entry<Integer, Label> stopCheck : stopCheckLabels.entrySet()) {
+            mv.visitLabel(stopCheck.getValue());
+            mv.visitVarInsn(ALOAD, CTX);
+            mv.visitFieldInsn(GETFIELD, CTX_CLASS, "stop", "Z");
+            mv.visitJumpInsn(IFEQ, this.targetLabel(stopCheck.getKey()));
+            this.generateReturn(stopCheck.getKey());
+        }
+    }
+
+    private void generateReturn(int ip) {
+        this.pushInt(ip);
+        mv.visitInsn(IRETURN);
+    }
+
+    private void storeLong(int reg, long value) {
+        mv.visitVarInsn(ALOAD, LONG_REGS);
+        this.pushInt(reg);
+        if (value == 0L || value == 1L) {
+            mv.visitInsn(LCONST_0 + (int) value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+        mv.visitInsn(LASTORE);
+    }
+
+    private void storeDouble(int reg, double value) {
+        mv.visitVarInsn(ALOAD, DOUBLE_REGS);
+        this.pushInt(reg);
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            mv.visitInsn(DCONST_0);
+        } else if (value == 1.0) {
+            mv.visitInsn(DCONST_1);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+        mv.visitInsn(DASTORE);
+    }
+
+    private void loadReg(int regsSlot, int loadOpcode, int reg) {
+        mv.visitVarInsn(ALOAD, regsSlot);
+        this.pushInt(reg);
+        mv.visitInsn(loadOpcode);
+    }
+
+    private void move(int regsSlot, int loadOpcode, int storeOpcode, int from, int to) {
+        mv.visitVarInsn(ALOAD, regsSlot);
+        this.pushInt(to);
+        this.loadReg(regsSlot, loadOpcode, from);
+        mv.visitInsn(storeOpcode);
+    }
+
+    private void unaryOp(int regsSlot, int loadOpcode, int storeOpcode, int opcode, int[] operands) {
+        mv.visitVarInsn(ALOAD, regsSlot);
+        this.pushInt(operands[1]);
+        this.loadReg(regsSlot, loadOpcode, operands[0]);
+        mv.visitInsn(opcode);
+        mv.visitInsn(storeOpcode);
+    }
+
+    private void binaryOp(int regsSlot, int loadOpcode, int storeOpcode, int opcode, int[] operands) {
+        mv.visitVarInsn(ALOAD, regsSlot);
+        this.pushInt(operands[2]);
+        this.loadReg(regsSlot, loadOpcode, operands[0]);
+        this.loadReg(regsSlot, loadOpcode, operands[1]);
+        mv.visitInsn(opcode);
+        mv.visitInsn(storeOpcode);
+    }
+
+    /**
+     * Emits {@code intRegs[k] = regs[i] op regs[j] ? 1 : 0}.
+     *
+     * @param cmpOpcode   the JVM compare instruction for long and double operands, or -1 if the
+     *                    jump instruction compares the operands directly
+     * @param falseOpcode the jump taken when the comparison is false
+     */
+    private void compare(int regsSlot, int loadOpcode, int cmpOpcode, int falseOpcode, int[] operands) {
+        mv.visitVarInsn(ALOAD, INT_REGS);
+        this.pushInt(operands[2]);
+        this.loadReg(regsSlot, loadOpcode, operands[0]);
+        this.loadReg(regsSlot, loadOpcode, operands[1]);
+        if (cmpOpcode != -1) {
+            mv.visitInsn(cmpOpcode);
+        }
+        this.storeCondition(falseOpcode);
+    }
+
+    private void nullCheck(int regsSlot, int falseOpcode, int[] operands) {
+        mv.visitVarInsn(ALOAD, INT_REGS);
+        this.pushInt(operands[1]);
+        this.loadReg(regsSlot, AALOAD, operands[0]);
+        this.storeCondition(falseOpcode);
+    }
+
+    private void storeCondition(int falseOpcode) {
+        Label falseLabel = new Label();
+        Label endLabel = new Label();
+        mv.visitJumpInsn(falseOpcode, falseLabel);
+        mv.visitInsn(ICONST_1);
+        mv.visitJumpInsn(GOTO, endLabel);
+        mv.visitLabel(falseLabel);
+        mv.visitInsn(ICONST_0);
+        mv.visitLabel(endLabel);
+        mv.visitInsn(IASTORE);
+    }
+
+    private void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm.jit;
+
+import org.ballerinalang.bre.bvm.WorkerExecutionContext;
+import org.ballerinalang.util.VMOptions;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.WorkerInfo;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code JITCompiler} is the optional compilation tier of the BVM. It counts the invocations of each
+ * worker and, once a worker becomes hot, compiles its instructions to a JVM class, so that HotSpot can
+ * inline and register-allocate the code instead of it being dispatched through {@code CPU}.
+ * <p>
+ * The tier is enabled with the {@code -Bjit=true} VM option, and the number of invocations after which
+ * a worker is compiled can be set with {@code -Bjit.threshold=<count>}. Workers are always interpreted
+ * while debugging, and workers containing transaction instructions are never compiled.
+ *
+ * @since 0.970.0
+ */
+public class JITCompiler {
+
+    public static final String JIT_ENABLED_OPTION = "jit";
+
+    public static final String JIT_THRESHOLD_OPTION = "jit.threshold";
+
+    private static final int DEFAULT_THRESHOLD = 1000;
+
+    /* keeps the generated execute method well within the 64K JVM method size limit */
+    private static final int MAX_REGION_SIZE = 2000;
+
+    private static final String CLASS_NAME_PREFIX = "org/ballerinalang/bre/bvm/jit/generated/";
+
+    private static final Logger log = LoggerFactory.getLogger(JITCompiler.class);
+
+    private static final AtomicInteger classCount = new AtomicInteger();
+
+    private static volatile boolean enabled;
+
+    private static volatile int threshold = DEFAULT_THRESHOLD;
+
+    static {
+        configure(VMOptions.getInstance());
+    }
+
+    /**
+     * Reads the JIT tier settings from the given VM options.
+     *
+     * @param options the VM options
+     */
+    public static void configure(VMOptions options) {
+        enabled = Boolean.parseBoolean(options.get(JIT_ENABLED_OPTION));
+        threshold = DEFAULT_THRESHOLD;
+        String thresholdOption = options.get(JIT_THRESHOLD_OPTION);
+        if (thresholdOption != null) {
+            try {
+                threshold = Integer.parseInt(thresholdOption);
+            } catch (NumberFormatException ignore) { /* ignore */ }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records an invocation of the given worker execution context's worker and returns the compiled
+     * code of the worker, compiling it if it just became hot.
+     *
+     * @param ctx the newly created worker execution context
+     * @return the compiled code, or null if the worker has to be interpreted
+     */
+    public static CompiledCode getCompiledCode(WorkerExecutionContext ctx) {
+        if (!enabled || ctx.programFile.getDebugger().isDebugEnabled()) {
+            return null;
+        }
+        WorkerInfo workerInfo = ctx.workerInfo;
+        CompiledCode compiledCode = workerInfo.getCompiledCode();
+        if (compiledCode != null || !workerInfo.isJITCompilable()) {
+            return compiledCode;
+        }
+        if (workerInfo.incrementInvocationCount() < threshold) {
+            return null;
+        }
+        synchronized (workerInfo) {
+            if (workerInfo.getCompiledCode() == null && workerInfo.isJITCompilable()) {
+                compile(ctx, workerInfo);
+            }
+        }
+        return workerInfo.getCompiledCode();
+    }
+
+    private static void compile(WorkerExecutionContext ctx, WorkerInfo workerInfo) {
+        // compile the instructions without superinstructions; both have the same instruction addresses
+        Instruction[] code = ctx.callableUnitInfo.getPackageInfo().getInstructions();
+        BitSet region = findCompilableRegion(code, workerInfo.getCodeAttributeInfo().getCodeAddrs());
+        if (region == null) {
+            workerInfo.setJITCompilable(false);
+            return;
+        }
+
+        String className = CLASS_NAME_PREFIX + toIdentifier(ctx.callableUnitInfo.getName()) + "$"
+                + toIdentifier(workerInfo.getWorkerName()) + "$" + classCount.incrementAndGet();
+        try {
+            byte[] classFile = new JITClassGenerator(code, ctx.constPool, region).generate(className);
+            Class<?> compiledClass = new JITClassLoader().define(className.replace('/', '.'), classFile);
+            CompiledCode compiledCode = (CompiledCode) compiledClass.getDeclaredConstructor().newInstance();
+            compiledCode.setRegion(region);
+            workerInfo.setCompiledCode(compiledCode);
+        } catch (Throwable e) {
+            // e.g. the generated method exceeds the JVM method size limit; keep interpreting the worker
+            log.debug("JIT compilation failed for " + className + ": " + e.getMessage(), e);
+            workerInfo.setJITCompilable(false);
+        }
+    }
+
+    /**
+     * Finds the instructions reachable from the entry of a worker which can be compiled. Unsupported
+     * instructions are left to the interpreter, but their successors are still followed.
+     *
+     * @param code    the instructions of the package
+     * @param entryIp the code address of the worker
+     * @return the compilable instructions, or null if the worker should not be compiled
+     */
+    static BitSet findCompilableRegion(Instruction[] code, int entryIp) {
+        BitSet visited = new BitSet();
+        BitSet region = new BitSet();
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(entryIp);
+        while (!pending.isEmpty()) {
+            int ip = pending.pop();
+            if (ip < 0 || ip >= code.length || visited.get(ip)) {
+                continue;
+            }
+            visited.set(ip);
+            if (visited.cardinality() > MAX_REGION_SIZE) {
+                return null;
+            }
+
+            int[] operands = code[ip].getOperands();
+            switch (code[ip].getOpcode()) {
+                case InstructionCodes.TR_BEGIN:
+                case InstructionCodes.TR_END:
+                case InstructionCodes.TR_RETRY:
+                    return null;
+                case InstructionCodes.GOTO:
+                    region.set(ip);
+                    pending.push(operands[0]);
+                    break;
+                case InstructionCodes.BR_TRUE:
+                case InstructionCodes.BR_FALSE:
+                    region.set(ip);
+                    pending.push(operands[1]);
+                    pending.push(ip + 1);
+                    break;
+                case InstructionCodes.RET:
+                case InstructionCodes.HALT:
+                case InstructionCodes.THROW:
+                    break;
+                default:
+                    if (JITClassGenerator.isSupported(code[ip].getOpcode())) {
+                        region.set(ip);
+                    }
+                    pending.push(ip + 1);
+                    break;
+            }
+        }
+        return region.isEmpty() ? null : region;
+    }
+
+    private static String toIdentifier(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        for (char c : name.toCharArray()) {
+            builder.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Class loader for a single generated class, so that the class can be unloaded together with
+     * the program it was generated for.
+     */
+    private static class JITClassLoader extends ClassLoader {
+
+        JITClassLoader() {
+            super(CompiledCode.class.getClassLoader());
+        }
+
+        Class<?> define(String name, byte[] classFile) {
+            return defineClass(name, classFile, 0, classFile.length);
+        }
+    }
+}
@@ -21,13 +21,19 @@ import org.apache.commons.lang3.StringEscapeUtils;
 import org.ballerinalang.model.util.JsonNode.Type;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 
 /**
  * This class represents a JSON parser.
@@ -62,12 +68,40 @@ public class JsonParser {
      * @throws BallerinaException for any parsing error
      */
     public static JsonNode parse(InputStream in, String charsetName) throws BallerinaException {
+        StateMachine sm = getStateMachine();
+        sm.reset();
         try {
-            return parse(new InputStreamReader(new BufferedInputStream(in), charsetName));
-        } catch (IOException e) {
+            return sm.execute(in, ByteBuffer.wrap(sm.byteBuff, 0, 0), Charset.forName(charsetName));
+        } catch (IllegalArgumentException e) {
             throw new BallerinaException("Error in parsing JSON data: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Parses the UTF-8 encoded contents of the given {@link ByteBuffer} and returns a {@link JsonNode}.
+     * The bytes are decoded directly into the parser, without creating an intermediate string.
+     *
+     * @param buffer buffer which contains the JSON content, from its position up to its limit
+     * @return JSON structure as a {@link JsonNode} object
+     * @throws BallerinaException for any parsing error
+     */
+    public static JsonNode parse(ByteBuffer buffer) throws BallerinaException {
+        return parse(buffer, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the contents of the given {@link ByteBuffer} and returns a {@link JsonNode}.
+     *
+     * @param buffer buffer which contains the JSON content, from its position up to its limit
+     * @param charset the character set of the content
+     * @return JSON structure as a {@link JsonNode} object
+     * @throws BallerinaException for any parsing error
+     */
+    public static JsonNode parse(ByteBuffer buffer, Charset charset) throws BallerinaException {
+        StateMachine sm = getStateMachine();
+        sm.reset();
+        return sm.execute(null, buffer, charset);
+    }
     
     /**
      * Parses the contents in the given string and returns a {@link JsonNode}.
@@ -88,11 +122,60 @@ public class JsonParser {
      * @throws BallerinaException for any parsing error
      */
     public static JsonNode parse(Reader reader) throws BallerinaException {
-        StateMachine sm = tlStateMachine.get();
+        StateMachine sm = getStateMachine();
         sm.reset();
         return sm.execute(reader);
     }
     
+    /**
+     * Parses a JSON array in the given {@link InputStream}, and passes each of its elements to the given consumer
+     * as soon as the element is parsed, instead of returning the whole array. Only the element being parsed is
+     * held in memory, so that arrays larger than the memory of the runtime can be processed.
+     *
+     * @param in input stream which contains the JSON array
+     * @param charsetName the character set name of the input stream
+     * @param elementConsumer consumer of the elements of the array, in the order of the array
+     * @throws BallerinaException for any parsing error, or if the content is not a JSON array
+     */
+    public static void parseArray(InputStream in, String charsetName, Consumer<JsonNode> elementConsumer)
+            throws BallerinaException {
+        StateMachine sm = getStateMachine();
+        sm.reset();
+        sm.elementConsumer = elementConsumer;
+        try {
+            sm.execute(in, ByteBuffer.wrap(sm.byteBuff, 0, 0), Charset.forName(charsetName));
+        } catch (IllegalArgumentException e) {
+            throw new BallerinaException("Error in parsing JSON data: " + e.getMessage(), e);
+        } finally {
+            sm.elementConsumer = null;
+        }
+    }
+
+    /**
+     * Parses a JSON array in the given {@link Reader}, and passes each of its elements to the given consumer as
+     * soon as the element is parsed, instead of returning the whole array.
+     *
+     * @param reader reader which contains the JSON array
+     * @param elementConsumer consumer of the elements of the array, in the order of the array
+     * @throws BallerinaException for any parsing error, or if the content is not a JSON array
+     */
+    public static void parseArray(Reader reader, Consumer<JsonNode> elementConsumer) throws BallerinaException {
+        StateMachine sm = getStateMachine();
+        sm.reset();
+        sm.elementConsumer = elementConsumer;
+        try {
+            sm.execute(reader);
+        } finally {
+            sm.elementConsumer = null;
+        }
+    }
+
+    private static StateMachine getStateMachine() {
+        StateMachine sm = tlStateMachine.get();
+        /* the consumer of a streamed array may parse JSON on the same thread while the array is being parsed */
+        return sm.elementConsumer == null ? sm : new StateMachine();
+    }
+
     /**
      * Represents a JSON parser related exception.
      */
@@ -157,11 +240,23 @@ public class JsonParser {
         private static final State STRING_VALUE_UNICODE_HEX_PROCESSING_STATE = 
                 new StringValueUnicodeHexProcessingState();
         
+        /* field names up to this length are looked up in the field name cache */
+        private static final int MAX_CACHED_FIELD_NAME_LENGTH = 32;
+        private static final int FIELD_NAME_CACHE_SIZE = 256;
+        /* any number of up to 18 digits fits in a long */
+        private static final int MAX_FAST_PATH_DIGITS = 18;
+
         private JsonNode currentJsonNode;
         private StringBuilder hexBuilder = new StringBuilder(4);
         private char[] charBuff = new char[1024];
         private int charBuffIndex;
+        private char[] readBuff = new char[1024];
+        private byte[] byteBuff = new byte[8192];
+        private String[] fieldNameCache = new String[FIELD_NAME_CACHE_SIZE];
         
+        /* consumer of the elements of the top-level array, when the array is streamed */
+        private Consumer<JsonNode> elementConsumer;
+
         private int index;
         private int line;
         private int column;
@@ -194,25 +289,84 @@ public class JsonParser {
         public JsonNode execute(Reader reader) throws BallerinaException {
             State currentState = DOC_START_STATE;
             try {
-                char[] buff = new char[1024];
+                char[] buff = this.readBuff;
                 int count;
                 while ((count = reader.read(buff)) > 0) {
-                    this.index = 0;
-                    while (this.index < count) {
-                        currentState = currentState.transition(this, buff, this.index, count);
-                    }
+                    currentState = this.consume(currentState, buff, count);
                 }
-                currentState = currentState.transition(this, new char[] { EOF }, 0, 1);
-                if (currentState != DOC_END_STATE) {
-                    throw new BallerinaException("invalid JSON document");
+                return this.finish(currentState);
+            } catch (IOException e) {
+                throw new BallerinaException("Error reading JSON: " + e.getMessage());
+            } catch (JsonParserException e) {
+                throw new BallerinaException(e.getMessage() + " at line: " + this.line + " column: " + this.column);
+            }
+        }
+
+        /**
+         * Decodes the given bytes chunk by chunk into the parser. If an input stream is given, the byte buffer
+         * is refilled from it until the end of the stream, otherwise only the remaining bytes of the buffer
+         * are parsed.
+         */
+        public JsonNode execute(InputStream in, ByteBuffer bytes, Charset charset) throws BallerinaException {
+            CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            char[] buff = this.readBuff;
+            CharBuffer chars = CharBuffer.wrap(buff);
+            State currentState = DOC_START_STATE;
+            boolean endOfInput = in == null;
+            try {
+                while (true) {
+                    if (!endOfInput) {
+                        bytes.compact();
+                        int count = in.read(bytes.array(), bytes.arrayOffset() + bytes.position(),
+                                bytes.remaining());
+                        if (count < 0) {
+                            endOfInput = true;
+                        } else {
+                            bytes.position(bytes.position() + count);
+                        }
+                        bytes.flip();
+                    }
+                    CoderResult result = decoder.decode(bytes, chars, endOfInput);
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+                    if (endOfInput && result.isUnderflow()) {
+                        decoder.flush(chars);
+                    }
+                    if (chars.position() > 0) {
+                        currentState = this.consume(currentState, buff, chars.position());
+                        chars.clear();
+                    }
+                    if (endOfInput && result.isUnderflow()) {
+                        break;
+                    }
                 }
-                return this.currentJsonNode;
+                return this.finish(currentState);
+            } catch (CharacterCodingException e) {
+                throw new BallerinaException("Error in parsing JSON data: " + e.getMessage(), e);
             } catch (IOException e) {
                 throw new BallerinaException("Error reading JSON: " + e.getMessage());
             } catch (JsonParserException e) {
                 throw new BallerinaException(e.getMessage() + " at line: " + this.line + " column: " + this.column);
             }
         }
+
+        private State consume(State currentState, char[] buff, int count) throws JsonParserException {
+            this.index = 0;
+            while (this.index < count) {
+                currentState = currentState.transition(this, buff, this.index, count);
+            }
+            return currentState;
+        }
+
+        private JsonNode finish(State currentState) throws JsonParserException {
+            currentState = currentState.transition(this, new char[] { EOF }, 0, 1);
+            if (currentState != DOC_END_STATE) {
+                throw new BallerinaException("invalid JSON document");
+            }
+            return this.currentJsonNode;
+        }
         
         private void append(char ch) {
             try {
@@ -239,8 +393,9 @@ public class JsonParser {
                     currentJsonNode = parentNode;
                     return FIELD_END_STATE;
                 } else {
-                    parentNode.add(currentJsonNode);
+                    JsonNode element = currentJsonNode;
                     currentJsonNode = parentNode;
+                    this.addElement(element);
                     return ARRAY_ELEMENT_END_STATE;
                 }
             } else {
@@ -248,6 +403,19 @@ public class JsonParser {
             }
         }
         
+        /**
+         * Adds an element to the current array node, or passes it to the element consumer if the current node is
+         * the top-level array being streamed.
+         */
+        private void addElement(JsonNode element) {
+            if (this.elementConsumer != null && this.currentJsonNode.parentNode == null) {
+                element.parentNode = null;
+                this.elementConsumer.accept(element);
+            } else {
+                this.currentJsonNode.add(element);
+            }
+        }
+
         private State initNewObject() {
             if (currentJsonNode != null) {
                 JsonNode parentNode = currentJsonNode;
@@ -300,13 +468,16 @@ public class JsonParser {
                 for (; i < count; i++) {
                     ch = buff[i];
                     sm.processLocation(ch);
+                    if (StateMachine.isWhitespace(ch)) {
+                        state = this;
+                        continue;
+                    } else if (sm.elementConsumer != null && ch != '[') {
+                        StateMachine.throwExpected("[");
+                    }
                     if (ch == '{') {
                         state = sm.initNewObject();
                     } else if (ch == '[') {
                         state = sm.initNewArray();
-                    } else if (StateMachine.isWhitespace(ch)) {
-                        state = this;
-                        continue;
                     } else if (ch == QUOTES || ch == SINGLE_QUOTES) {
                         sm.currentQuoteChar = ch;
                         state = STRING_VALUE_STATE;
@@ -495,7 +666,38 @@ public class JsonParser {
         }
         
         private void processFieldName() {
-            this.currentJsonNode.fieldName = this.value();
+            this.currentJsonNode.fieldName = this.fieldName();
+        }
+
+        /**
+         * Returns the field name in the character buffer. Short field names are shared between the objects
+         * of a document, and between documents parsed by the same thread, instead of allocating a new string
+         * for each occurrence.
+         */
+        private String fieldName() {
+            int length = this.charBuffIndex;
+            if (length > MAX_CACHED_FIELD_NAME_LENGTH) {
+                return this.value();
+            }
+            int hash = 0;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + this.charBuff[i];
+            }
+            int slot = (hash ^ (hash >>> 16)) & (FIELD_NAME_CACHE_SIZE - 1);
+            String cached = this.fieldNameCache[slot];
+            if (cached != null && cached.length() == length) {
+                int i = 0;
+                while (i < length && cached.charAt(i) == this.charBuff[i]) {
+                    i++;
+                }
+                if (i == length) {
+                    this.charBuffIndex = 0;
+                    return cached;
+                }
+            }
+            String name = this.value();
+            this.fieldNameCache[slot] = name;
+            return name;
         }
         
         /**
@@ -640,7 +842,7 @@ public class JsonParser {
                     ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        sm.currentJsonNode.add(new JsonNode(sm.value()));
+                        sm.addElement(new JsonNode(sm.value()));
                         state = ARRAY_ELEMENT_END_STATE;
                     } else if (ch == REV_SOL) { 
                         state = STRING_AE_ESC_CHAR_PROCESSING_STATE;
@@ -779,13 +981,17 @@ public class JsonParser {
         }
         
         private void processNonStringValue(ValueType type) throws JsonParserException {
+            if (this.isShortInteger()) {
+                this.setLongValue(type, this.parseShortInteger());
+                return;
+            }
             String str = value();
             if (str.indexOf('.') >= 0) {
                 try {
                     double doubleValue = Double.parseDouble(str);
                     switch (type) {
                     case ARRAY_ELEMENT:
-                        currentJsonNode.add(new JsonNode(doubleValue));
+                        addElement(new JsonNode(doubleValue));
                         break;
                     case FIELD:
                         currentJsonNode.set(currentJsonNode.fieldName, doubleValue);
@@ -804,7 +1010,7 @@ public class JsonParser {
                 if (ch == 't' && TRUE.equals(str)) {
                     switch (type) {
                     case ARRAY_ELEMENT:
-                        currentJsonNode.add(new JsonNode(true));
+                        addElement(new JsonNode(true));
                         break;
                     case FIELD:
                         currentJsonNode.set(currentJsonNode.fieldName, true);
@@ -818,7 +1024,7 @@ public class JsonParser {
                 } else if (ch == 'f' && FALSE.equals(str)) {
                     switch (type) {
                     case ARRAY_ELEMENT:
-                        currentJsonNode.add(new JsonNode(false));
+                        addElement(new JsonNode(false));
                         break;
                     case FIELD:
                         currentJsonNode.set(currentJsonNode.fieldName, false);
@@ -832,7 +1038,7 @@ public class JsonParser {
                 } else if (ch == 'n' && NULL.equals(str)) {
                     switch (type) {
                     case ARRAY_ELEMENT:
-                        currentJsonNode.add(new JsonNode(Type.NULL));
+                        addElement(new JsonNode(Type.NULL));
                         break;
                     case FIELD:
                         currentJsonNode.set(currentJsonNode.fieldName, (String) null);
@@ -845,26 +1051,57 @@ public class JsonParser {
                     }
                 } else {
                     try {
-                        long longValue = Long.parseLong(str);
-                        switch (type) {
-                        case ARRAY_ELEMENT:
-                            currentJsonNode.add(new JsonNode(longValue));
-                            break;
-                        case FIELD:
-                            currentJsonNode.set(currentJsonNode.fieldName, longValue);
-                            break;
-                        case VALUE:
-                            currentJsonNode.setNumber(longValue);
-                            break;
-                        default:
-                            break;                
-                        }
+                        setLongValue(type, Long.parseLong(str));
                     } catch (NumberFormatException ignore) {
                         throw new JsonParserException("unrecognized token '" + str + "'");
                     }
                 }
             }
         }
+
+        private void setLongValue(ValueType type, long longValue) {
+            switch (type) {
+            case ARRAY_ELEMENT:
+                addElement(new JsonNode(longValue));
+                break;
+            case FIELD:
+                currentJsonNode.set(currentJsonNode.fieldName, longValue);
+                break;
+            case VALUE:
+                currentJsonNode.setNumber(longValue);
+                break;
+            default:
+                break;
+            }
+        }
+
+        /**
+         * Checks whether the character buffer holds an integer which can be parsed without creating a string.
+         */
+        private boolean isShortInteger() {
+            int start = this.charBuffIndex > 0 && this.charBuff[0] == '-' ? 1 : 0;
+            int digits = this.charBuffIndex - start;
+            if (digits == 0 || digits > MAX_FAST_PATH_DIGITS) {
+                return false;
+            }
+            for (int i = start; i < this.charBuffIndex; i++) {
+                char ch = this.charBuff[i];
+                if (ch < '0' || ch > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long parseShortInteger() {
+            boolean negative = this.charBuff[0] == '-';
+            long value = 0;
+            for (int i = negative ? 1 : 0; i < this.charBuffIndex; i++) {
+                value = value * 10 + (this.charBuff[i] - '0');
+            }
+            this.charBuffIndex = 0;
+            return negative ? -value : value;
+        }
         
         /**
          * Represents the state during a non-string value is defined.
@@ -31,11 +31,12 @@ import org.ballerinalang.model.util.JsonParser;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.StringJoiner;
@@ -129,6 +130,19 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         }
     }
 
+    /**
+     * Create a {@link BJSON} from the UTF-8 encoded content of a {@link ByteBuffer}.
+     *
+     * @param buffer buffer which contains the json content, from its position up to its limit
+     */
+    public BJSON(ByteBuffer buffer) {
+        try {
+            this.value = JsonParser.parse(buffer);
+        } catch (Throwable t) {
+            handleJsonException("failed to create json: ", t);
+        }
+    }
+
     /**
      * Return the string representation of this json object.
      */
@@ -175,7 +189,7 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
                 JsonGenerator gen = new JsonGenerator(byteOut);
                 this.datasource.serialize(gen);
                 gen.flush();
-                this.value = JsonParser.parse(new ByteArrayInputStream(byteOut.toByteArray()));
+                this.value = JsonParser.parse(ByteBuffer.wrap(byteOut.toByteArray()), Charset.defaultCharset());
             } catch (Throwable t) {
                 handleJsonException("Error in building JSON node: ", t);
             }
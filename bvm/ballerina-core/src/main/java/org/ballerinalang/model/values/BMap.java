@@ -26,37 +26,47 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.AbstractSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code MapType} represents a map.
+ * <p>
+ * Entries are indexed by a concurrent hash map and chained in insertion order. Reads never lock, and updates
+ * are serialized on the map itself, which is uncontended unless the map is shared between workers. Iterators
+ * walk the insertion order chain without copying the map and are weakly consistent: they reflect the entries
+ * at some point at or since their creation and never fail due to concurrent updates.
+ *
  * @param <K> Key
  * @param <V> Value
  * @since 0.8.0
  */
 public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implements BRefType, BCollection {
 
+    // stands for the null key, which the concurrent hash map does not accept
+    private static final Object NULL_KEY = new Object();
 
-    @SuppressWarnings("unchecked")
-    private LinkedHashMap<K, V> map;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Lock readLock = lock.readLock();
-    private final Lock writeLock = lock.writeLock();
+    private final ConcurrentHashMap<Object, Entry<K, V>> map = new ConcurrentHashMap<>();
+    // sentinels of the insertion order chain
+    private final Entry<K, V> head = new Entry<>(null, null);
+    private final Entry<K, V> tail = new Entry<>(null, null);
     private BType type = BTypes.typeMap;
 
     public BMap() {
-        map =  new LinkedHashMap<>();
+        head.next = tail;
+        tail.prev = head;
+        // iterators skip the sentinels in the same way as removed entries
+        head.removed = true;
+        tail.removed = true;
     }
 
     public BMap(BMapType type) {
-        this.map = new LinkedHashMap<>();
+        this();
         this.type = type;
     }
 
@@ -66,12 +76,8 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return value
      */
     public V get(K key) {
-        readLock.lock();
-        try {
-            return map.get(key);
-        } finally {
-            readLock.unlock();
-        }
+        Entry<K, V> entry = map.get(maskNull(key));
+        return entry == null ? null : entry.value;
     }
 
     /**
@@ -80,19 +86,39 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param value value related to the key
      */
     public void put(K key, V value) {
-        writeLock.lock();
-        try {
-            map.put(key, value);
-        } finally {
-            writeLock.unlock();
+        Entry<K, V> entry = map.get(maskNull(key));
+        if (entry != null) {
+            entry.value = value;
+            if (!entry.removed) {
+                return;
+            }
+        }
+
+        synchronized (this) {
+            entry = map.get(maskNull(key));
+            if (entry != null) {
+                entry.value = value;
+                return;
+            }
+            entry = new Entry<>(key, value);
+            entry.prev = tail.prev;
+            entry.next = tail;
+            tail.prev.next = entry;
+            tail.prev = entry;
+            map.put(maskNull(key), entry);
         }
     }
 
     /**
      * Clear map entries.
      */
-    public void clear() {
+    public synchronized void clear() {
+        for (Entry<K, V> entry = head.next; entry != tail; entry = entry.next) {
+            entry.removed = true;
+        }
         map.clear();
+        head.next = tail;
+        tail.prev = head;
     }
 
     /**
@@ -102,15 +128,30 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return returns boolean true if key exists
      */
     public boolean hasKey(K key) {
-        return map.containsKey(key);
+        return map.containsKey(maskNull(key));
     }
 
     /**
-     * Retrieve the internal map.
-     * @return map
+     * Copy the entries of the map. Later updates of the map are not reflected in the copy, and updates of the
+     * copy are not reflected in the map.
+     * @return an insertion ordered copy of the entries of the map
      */
+    public LinkedHashMap<K, V> snapshot() {
+        LinkedHashMap<K, V> entries = new LinkedHashMap<>();
+        for (Entry<K, V> entry = first(head); entry != null; entry = first(entry.next)) {
+            entries.put(entry.key, entry.value);
+        }
+        return entries;
+    }
+
+    /**
+     * Retrieve the entries of the map.
+     * @return an insertion ordered copy of the entries of the map
+     * @deprecated the entries are not held in a {@link LinkedHashMap} anymore, use {@link #snapshot()} instead.
+     */
+    @Deprecated
     public LinkedHashMap<K, V> getMap() {
-        return map;
+        return snapshot();
     }
 
     /**
@@ -127,20 +168,50 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param key key of the item to be removed
      * @return boolean to indicate whether given key is removed.
      */
-    public boolean remove(K key) {
-        boolean hasKey = map.containsKey(key);
-        if (hasKey) {
-            map.remove(key);
+    public synchronized boolean remove(K key) {
+        Entry<K, V> entry = map.remove(maskNull(key));
+        if (entry == null) {
+            return false;
         }
-        return hasKey;
+        // the next link is kept so that iterators positioned at this entry can move on
+        entry.removed = true;
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        return true;
     }
 
     /**
      * Retrieve the set of keys related to this map.
-     * @return returns the set of keys
+     * @return returns a weakly consistent, insertion ordered view of the keys
      */
     public Set<K> keySet() {
-        return map.keySet();
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                EntryIterator<K, V> iterator = new EntryIterator<>(BMap.this);
+                return new Iterator<K>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public K next() {
+                        return iterator.nextEntry().key;
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return map.containsKey(maskNull(key));
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
     }
 
     /**Return true if this map is empty.
@@ -160,14 +231,14 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     public String stringValue() {
         StringJoiner sj = new StringJoiner(", ", "{", "}");
 
-        for (Iterator<Map.Entry<K, V>> i = map.entrySet().iterator(); i.hasNext();) {
+        for (EntryIterator<K, V> i = new EntryIterator<>(this); i.hasNext();) {
 
             String key;
             String stringValue;
 
-            Map.Entry<K, V> e = i.next();
-            key = "\"" + (String) e.getKey() + "\"";
-            V value = e.getValue();
+            Entry<K, V> e = i.nextEntry();
+            key = "\"" + (String) e.key + "\"";
+            V value = e.value;
 
             if (value == null) {
                 stringValue = null;
@@ -191,9 +262,10 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     @Override
     public BValue copy() {
         BMap<K, BValue> newMap = BTypes.typeMap.getEmptyValue();
-        for (Map.Entry<K, V> entry: map.entrySet()) {
-            BValue value = entry.getValue();
-            newMap.put(entry.getKey(), value == null ? null : value.copy());
+        for (EntryIterator<K, V> i = new EntryIterator<>(this); i.hasNext();) {
+            Entry<K, V> entry = i.nextEntry();
+            BValue value = entry.value;
+            newMap.put(entry.key, value == null ? null : value.copy());
         }
         return newMap;
     }
@@ -225,20 +297,20 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     static class BMapIterator<K, V extends BValue> implements BIterator {
 
         BMap<K, V> collection;
-        Iterator<Map.Entry<K, V>> iterator;
+        EntryIterator<K, V> iterator;
 
         BMapIterator(BMap<K, V> value) {
             collection = value;
-            iterator = new LinkedHashMap<>(value.map).entrySet().iterator();
+            iterator = new EntryIterator<>(value);
         }
 
         @Override
         public BValue[] getNext(int arity) {
-            Map.Entry<K, V> next = iterator.next();
+            Entry<K, V> next = iterator.nextEntry();
             if (arity == 1) {
-                return new BValue[] {next.getValue()};
+                return new BValue[] {next.value};
             }
-            return new BValue[] {new BString((String) next.getKey()), next.getValue()};
+            return new BValue[] {new BString((String) next.key), next.value};
         }
 
         @Override
@@ -246,5 +318,58 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
             return iterator.hasNext();
         }
     }
-}
 
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static <K, V extends BValue> Entry<K, V> first(Entry<K, V> entry) {
+        // skips removed entries and the sentinels
+        while (entry != null && entry.removed) {
+            entry = entry.next;
+        }
+        return entry;
+    }
+
+    /**
+     * An entry of the map, chained in insertion order.
+     */
+    private static class Entry<K, V extends BValue> {
+        final K key;
+        volatile V value;
+        volatile Entry<K, V> next;
+        Entry<K, V> prev;
+        volatile boolean removed;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Weakly consistent iterator over the insertion order chain of a map.
+     */
+    private static class EntryIterator<K, V extends BValue> {
+        private Entry<K, V> next;
+
+        EntryIterator(BMap<K, V> bMap) {
+            next = first(bMap.head.next);
+        }
+
+        boolean hasNext() {
+            // the upcoming entry may have been removed since it was reached
+            next = first(next);
+            return next != null;
+        }
+
+        Entry<K, V> nextEntry() {
+            Entry<K, V> entry = first(next);
+            if (entry == null) {
+                throw new NoSuchElementException();
+            }
+            next = first(entry.next);
+            return entry;
+        }
+    }
+}
@@ -23,38 +23,67 @@ import io.ballerina.messaging.broker.core.Consumer;
 import io.ballerina.messaging.broker.core.ContentChunk;
 import io.ballerina.messaging.broker.core.Message;
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BStreamType;
 import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.types.TypeTags;
 import org.ballerinalang.model.util.JSONUtils;
+import org.ballerinalang.siddhi.core.event.Event;
 import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.util.BLangConstants;
 import org.ballerinalang.util.BrokerUtils;
+import org.ballerinalang.util.StreamSubscription;
+import org.ballerinalang.util.StreamSubscription.OverflowPolicy;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.program.BLangFunctions;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The {@code BStream} represents a stream in Ballerina.
+ * <p>
+ * Events published to a stream are handed over to the subscribers of the stream within the process, through a
+ * {@link StreamSubscription} per subscriber. Only the subscribers of the same stream value receive its events.
+ * <p>
+ * When {@value #BROKER_ENABLED_CONFIG} is set to true, events are published as JSON to a topic of the message broker
+ * instead, as they were before streams were delivered within the process. All the streams with the same name and
+ * constraint type share a topic, and so share their subscribers. Each subscriber parses the events of the topic and
+ * buffers them in its {@link StreamSubscription}, so batching and overflow policies apply in both modes.
  *
  * @since 0.965.0
  */
 public class BStream implements BRefType<Object> {
 
+    /**
+     * Configuration which makes streams publish through the message broker instead of within the process.
+     */
+    public static final String BROKER_ENABLED_CONFIG = "stream.broker.enabled";
+
     private static final String TOPIC_NAME_PREFIX = "TOPIC_NAME_";
 
+    private static final boolean brokerEnabled =
+            Boolean.parseBoolean(ConfigRegistry.getInstance().getConfiguration(BROKER_ENABLED_CONFIG));
+
     private BStructType constraintType;
 
     private String streamId = "";
 
     /**
-     * The name of the underlying broker topic representing the stream object.
+     * The name of the broker topic representing the stream object, which is used only if the broker is enabled.
      */
     private String topicName;
 
+    private final List<StreamSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
     public BStream(BType type, String name) {
         if (((BStreamType) type).getConstrainedType() == null) {
             throw new BallerinaException("a stream cannot be declared without a constraint");
@@ -94,7 +123,7 @@ public class BStream implements BRefType<Object> {
     }
 
     /**
-     * Method to publish to a topic representing the stream in the broker.
+     * Method to publish data to the subscribers of the stream.
      *
      * @param data the data to publish to the stream
      */
@@ -103,39 +132,152 @@ public class BStream implements BRefType<Object> {
             throw new BallerinaException("incompatible types: object of type:" + data.getType().getName()
                     + " cannot be added to a stream of type:" + this.constraintType.getName());
         }
-        BrokerUtils.publish(topicName, JSONUtils.convertStructToJSON(data).stringValue().getBytes());
+        if (brokerEnabled) {
+            BrokerUtils.publish(topicName, JSONUtils.convertStructToJSON(data).stringValue()
+                    .getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        // Subscribers receive a snapshot, which is not affected by later changes to the published struct. Functions
+        // may change the events they receive, so each of them gets a copy of its own, while the streaming runtime
+        // only reads the events, so its subscribers share a copy.
+        BStruct sharedEvent = null;
+        for (StreamSubscription subscription : subscriptions) {
+            if (subscription instanceof InternalStreamSubscriber) {
+                if (sharedEvent == null) {
+                    sharedEvent = copyEvent(data);
+                }
+                subscription.publish(sharedEvent);
+            } else {
+                subscription.publish(copyEvent(data));
+            }
+        }
     }
 
     /**
-     * Method to register a subscription to the underlying topic representing the stream in the broker.
+     * Method to register a subscription to the stream.
      *
      * @param context         the context object representing runtime state
      * @param functionPointer represents the function pointer reference for the function to be invoked on receiving
      *                        messages
      */
     public void subscribe(Context context, BFunctionPointer functionPointer) {
+        subscribe(functionPointer, StreamSubscription.DEFAULT_BUFFER_SIZE, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Method to register a subscription to the stream, with a buffer of the given size.
+     *
+     * @param functionPointer represents the function pointer reference for the function to be invoked on receiving
+     *                        messages
+     * @param bufferSize      the maximum number of events waiting to be delivered to the function
+     * @param overflowPolicy  the action taken when an event is published while the buffer is full
+     */
+    public void subscribe(BFunctionPointer functionPointer, int bufferSize, OverflowPolicy overflowPolicy) {
         BType[] parameters = functionPointer.funcRefCPEntry.getFunctionInfo().getParamTypes();
         if (!(parameters[0] instanceof BStructType)
                 || ((BStructType) parameters[0]).structInfo.getType() != constraintType) {
             throw new BallerinaException("incompatible function: subscription function needs to be a function accepting"
                     + " an object of type:" + this.constraintType.getName());
         }
-        String queueName = String.valueOf(System.currentTimeMillis()) + UUID.randomUUID().toString();
-        BrokerUtils.addSubscription(topicName, new StreamSubscriber(queueName, functionPointer));
+        addSubscription(new StreamSubscriber(functionPointer, bufferSize, overflowPolicy));
+    }
+
+    /**
+     * Method to register a subscription to the stream, which receives the published events in batches.
+     *
+     * @param functionPointer  represents the function pointer reference for the function to be invoked with an
+     *                         array of events
+     * @param maxBatchSize     the maximum number of events passed to the function at once
+     * @param maxBatchWaitTime the maximum time in milliseconds an event waits for its batch to be filled
+     * @param bufferSize       the maximum number of events waiting to be delivered to the function
+     * @param overflowPolicy   the action taken when an event is published while the buffer is full
+     */
+    public void subscribeBatch(BFunctionPointer functionPointer, int maxBatchSize, long maxBatchWaitTime,
+                               int bufferSize, OverflowPolicy overflowPolicy) {
+        BType[] parameters = functionPointer.funcRefCPEntry.getFunctionInfo().getParamTypes();
+        if (!(parameters[0] instanceof BArrayType)
+                || !(((BArrayType) parameters[0]).getElementType() instanceof BStructType)
+                || ((BStructType) ((BArrayType) parameters[0]).getElementType()).structInfo.getType()
+                != constraintType) {
+            throw new BallerinaException("incompatible function: batch subscription function needs to be a function"
+                    + " accepting an array of objects of type:" + this.constraintType.getName());
+        }
+        addSubscription(new BatchStreamSubscriber(functionPointer, parameters[0], maxBatchSize, maxBatchWaitTime,
+                bufferSize, overflowPolicy));
     }
 
     public void subscribe(InputHandler inputHandler) {
-        String queueName = String.valueOf(UUID.randomUUID());
-        BrokerUtils.addSubscription(topicName, new InternalStreamSubscriber(topicName, queueName, inputHandler));
+        addSubscription(new InternalStreamSubscriber(inputHandler));
     }
 
-    private class StreamSubscriber extends Consumer {
-        final String queueName;
-        final BFunctionPointer functionPointer;
+    private void addSubscription(StreamSubscription subscription) {
+        if (brokerEnabled) {
+            BrokerUtils.addSubscription(topicName, new BrokerSubscriber(String.valueOf(UUID.randomUUID()),
+                    subscription));
+        } else {
+            subscriptions.add(subscription);
+        }
+    }
+
+    /**
+     * Copies an event along with the structs, arrays and maps it refers to, since {@link BStruct#copy()} shares the
+     * values of the reference fields. Other values are copied by their own {@code copy()}, or shared if they cannot
+     * be copied.
+     *
+     * @param event the event to copy
+     * @return a copy of the event, which does not share any mutable value with it
+     */
+    private static BStruct copyEvent(BStruct event) {
+        return (BStruct) copyValue(event, new IdentityHashMap<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BRefType copyValue(BRefType value, Map<BRefType, BRefType> copies) {
+        if (value == null || value instanceof BValueType) {
+            return value;
+        }
+        BRefType copy = copies.get(value);
+        if (copy != null) {
+            return copy;
+        }
+        copy = (BRefType) value.copy();
+        if (copy == null) {
+            return value;
+        }
+        copies.put(value, copy);
+        if (value instanceof BStruct) {
+            BStruct struct = (BStruct) value;
+            int refFieldCount = struct.getType().getFieldTypeCount()[BLangConstants.REF_OFFSET];
+            for (int i = 0; i < refFieldCount; i++) {
+                ((BStruct) copy).setRefField(i, copyValue(struct.getRefField(i), copies));
+            }
+        } else if (value instanceof BRefValueArray) {
+            BRefValueArray array = (BRefValueArray) value;
+            for (int i = 0; i < array.size(); i++) {
+                ((BRefValueArray) copy).add(i, copyValue(array.get(i), copies));
+            }
+        } else if (value instanceof BMap) {
+            BMap<String, BValue> map = (BMap<String, BValue>) value;
+            for (String key : map.keySet()) {
+                BValue element = map.get(key);
+                ((BMap<String, BValue>) copy).put(key, element instanceof BRefType ?
+                        copyValue((BRefType) element, copies) : element);
+            }
+        }
+        return copy;
+    }
+
+    // Consumer of the broker topic of the stream, which hands the events of the topic over to a subscription
+    private class BrokerSubscriber extends Consumer {
+        private final String queueName;
+        private final StreamSubscription subscription;
 
-        StreamSubscriber(String queueName, BFunctionPointer functionPointer) {
+        BrokerSubscriber(String queueName, StreamSubscription subscription) {
             this.queueName = queueName;
-            this.functionPointer = functionPointer;
+            this.subscription = subscription;
         }
 
         @Override
@@ -146,9 +288,7 @@ public class BStream implements BRefType<Object> {
                 chunk.getBytes().getBytes(0, bytes);
             }
             BJSON json = new BJSON(new String(bytes, StandardCharsets.UTF_8));
-            BStruct data = JSONUtils.convertJSONToStruct(json, constraintType);
-            BValue[] args = {data};
-            BLangFunctions.invokeCallable(functionPointer.value().getFunctionInfo(), args);
+            subscription.publish(JSONUtils.convertJSONToStruct(json, constraintType));
         }
 
         @Override
@@ -172,33 +312,84 @@ public class BStream implements BRefType<Object> {
         }
     }
 
+    private class StreamSubscriber extends StreamSubscription {
+        final BFunctionPointer functionPointer;
+
+        StreamSubscriber(BFunctionPointer functionPointer, int bufferSize, OverflowPolicy overflowPolicy) {
+            super(streamId, bufferSize, overflowPolicy);
+            this.functionPointer = functionPointer;
+        }
+
+        @Override
+        protected void deliver(BStruct event) {
+            BValue[] args = {event};
+            BLangFunctions.invokeCallable(functionPointer.value().getFunctionInfo(), args);
+        }
+    }
+
+    private class BatchStreamSubscriber extends StreamSubscription {
+        final BFunctionPointer functionPointer;
+        final BType arrayType;
+
+        BatchStreamSubscriber(BFunctionPointer functionPointer, BType arrayType, int maxBatchSize,
+                              long maxBatchWaitTime, int bufferSize, OverflowPolicy overflowPolicy) {
+            super(streamId, bufferSize, overflowPolicy, maxBatchSize, maxBatchWaitTime);
+            this.functionPointer = functionPointer;
+            this.arrayType = arrayType;
+        }
+
+        @Override
+        protected void deliver(BStruct event) {
+            deliver(Collections.singletonList(event));
+        }
+
+        @Override
+        protected void deliver(List<BStruct> events) {
+            BValue[] args = {new BRefValueArray(events.toArray(new BRefType[events.size()]), arrayType)};
+            BLangFunctions.invokeCallable(functionPointer.value().getFunctionInfo(), args);
+        }
+    }
+
     //Class which handles the subscription internally
-    private class InternalStreamSubscriber extends Consumer {
-        private final String topic;
-        private final String queueName;
+    private class InternalStreamSubscriber extends StreamSubscription {
         private final InputHandler inputHandler;
 
-        InternalStreamSubscriber(String topic, String queueName, InputHandler inputHandler) {
-            this.topic = topic;
-            this.queueName = queueName;
+        InternalStreamSubscriber(InputHandler inputHandler) {
+            // the events buffered while the previous ones are processed are sent to the streaming runtime as one
+            // chunk, without waiting for more events to arrive
+            super(streamId, StreamSubscription.DEFAULT_BUFFER_SIZE, OverflowPolicy.BLOCK,
+                    StreamSubscription.DEFAULT_BUFFER_SIZE, 0);
             this.inputHandler = inputHandler;
         }
 
         @Override
-        protected void send(Message message) throws BrokerException {
-            byte[] bytes = new byte[0];
-            for (ContentChunk chunk : message.getContentChunks()) {
-                bytes = new byte[chunk.getBytes().readableBytes()];
-                chunk.getBytes().getBytes(0, bytes);
+        protected void deliver(BStruct event) {
+            try {
+                inputHandler.send(createEvent(event));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BallerinaException("Error while sending events to stream: " + streamId + ": "
+                        + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        protected void deliver(List<BStruct> events) {
+            if (events.size() == 1) {
+                deliver(events.get(0));
+                return;
+            }
+            long timestamp = System.currentTimeMillis();
+            Event[] siddhiEvents = new Event[events.size()];
+            for (int i = 0; i < siddhiEvents.length; i++) {
+                siddhiEvents[i] = new Event(timestamp, createEvent(events.get(i)));
             }
-            BJSON json = new BJSON(new String(bytes, StandardCharsets.UTF_8));
-            BStruct data = JSONUtils.convertJSONToStruct(json, constraintType);
-            Object[] event = createEvent(data);
             try {
-                inputHandler.send(event);
+                inputHandler.send(siddhiEvents);
             } catch (InterruptedException e) {
-                throw new BallerinaException("Error while sending events to stream: " + topic + ": " + e.getMessage()
-                        , e);
+                Thread.currentThread().interrupt();
+                throw new BallerinaException("Error while sending events to stream: " + streamId + ": "
+                        + e.getMessage(), e);
             }
         }
 
@@ -231,25 +422,5 @@ public class BStream implements BRefType<Object> {
             }
             return event;
         }
-
-        @Override
-        public String getQueueName() {
-            return queueName;
-        }
-
-        @Override
-        protected void close() throws BrokerException {
-
-        }
-
-        @Override
-        public boolean isExclusive() {
-            return false;
-        }
-
-        @Override
-        public boolean isReady() {
-            return true;
-        }
     }
 }
@@ -24,15 +24,24 @@ import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.types.BTableType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.util.ColumnarTable;
+import org.ballerinalang.util.ColumnarTableIterator;
 import org.ballerinalang.util.TableProvider;
+import org.ballerinalang.util.TableQuery;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.program.BLangFunctions;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.StringJoiner;
 
 /**
  * The {@code BTable} represents a data set in Ballerina.
+ * <p>
+ * The data of in-memory tables is held in a native {@link ColumnarTable}. Table queries over in-memory tables are
+ * evaluated over their columns by {@link TableQuery}, following the query plan generated by the compiler. Queries
+ * which the plan does not cover are executed by the in-memory database of the {@link TableProvider}, which is
+ * populated with a copy of the queried tables when such a query is performed.
  *
  * @since 0.8.0
  */
@@ -45,6 +54,11 @@ public class BTable implements BRefType<Object>, BCollection {
     private String tableName;
     protected BStructType constraintType;
     private boolean isInMemoryTable;
+    private ColumnarTable store;
+    private BStringArray primaryKeys;
+    private BStringArray indexColumns;
+    // version of the store data copied to the in-memory database table
+    private long tableVersion;
 
     public BTable() {
         this.iterator = null;
@@ -76,15 +90,35 @@ public class BTable implements BRefType<Object>, BCollection {
     }
 
     public BTable(String query, BTable fromTable, BTable joinTable, BStructType constraintType, BRefValueArray params) {
+        this(query, fromTable, joinTable, constraintType, params, null);
+    }
+
+    public BTable(String query, BTable fromTable, BTable joinTable, BStructType constraintType, BRefValueArray params,
+                  BStringArray queryPlan) {
         this.tableProvider = TableProvider.getInstance();
-        if (joinTable != null) {
-            this.tableName = tableProvider.createTable(fromTable.tableName, joinTable.tableName, query,
+        this.constraintType = constraintType;
+        this.isInMemoryTable = true;
+        if (fromTable.store != null && (joinTable == null || joinTable.store != null)) {
+            this.store = TableQuery.execute(queryPlan, fromTable.store, joinTable == null ? null : joinTable.store,
                     constraintType, params);
+            if (this.store != null) {
+                return;
+            }
+        }
+        String resultTableName;
+        if (joinTable != null) {
+            resultTableName = tableProvider.createTable(fromTable.getDatabaseTableName(),
+                    joinTable.getDatabaseTableName(), query, constraintType, params);
         } else {
-            this.tableName = tableProvider.createTable(fromTable.tableName, query, constraintType, params);
+            resultTableName = tableProvider.createTable(fromTable.getDatabaseTableName(), query, constraintType,
+                    params);
+        }
+        this.store = new ColumnarTable(constraintType, null);
+        try {
+            loadResult(resultTableName);
+        } finally {
+            tableProvider.dropTable(resultTableName);
         }
-        this.constraintType = constraintType;
-        this.isInMemoryTable = true;
     }
 
     public BTable(BType type, BStruct configStruct) {
@@ -98,8 +132,10 @@ public class BTable implements BRefType<Object>, BCollection {
         }
         //Create table with given contraints.
         this.tableProvider = TableProvider.getInstance();
-        this.tableName = tableProvider.createTable(((BTableType) type).getConstrainedType(), primaryKeys, indexColumns);
         this.constraintType = (BStructType) ((BTableType) type).getConstrainedType();
+        this.store = new ColumnarTable(this.constraintType, primaryKeys, indexColumns);
+        this.primaryKeys = primaryKeys;
+        this.indexColumns = indexColumns;
         this.isInMemoryTable = true;
         //Insert initial data
         if (data != null) {
@@ -195,7 +231,7 @@ public class BTable implements BRefType<Object>, BCollection {
             throw new BallerinaException("incompatible types: struct of type:" + data.getType().getName()
                     + " cannot be added to a table with type:" + this.constraintType.getName());
         }
-        tableProvider.insertData(tableName, data);
+        store.insert(data);
         resetIterator();
     }
 
@@ -211,25 +247,37 @@ public class BTable implements BRefType<Object>, BCollection {
      */
     public void performRemoveOperation(Context context, BFunctionPointer lambdaFunction) {
         int deletedCount = 0;
-        while (this.hasNext(false)) {
-            BStruct data = this.getNext();
-            BValue[] args = { data };
-            BValue[] returns = BLangFunctions
-                    .invokeCallable(lambdaFunction.value().getFunctionInfo(), args);
-            if (((BBoolean) returns[0]).booleanValue()) {
-                ++deletedCount;
-                this.removeData(data);
+        if (this.isInMemoryTable) {
+            deletedCount = removeData(lambdaFunction);
+        } else {
+            while (this.hasNext(false)) {
+                BStruct data = this.getNext();
+                if (isRemovalConditionMet(lambdaFunction, data)) {
+                    throw new BallerinaException("data cannot be deleted from a table returned from a database");
+                }
             }
         }
         context.setReturnValues(new BInteger(deletedCount));
     }
 
-    private void removeData(BStruct data) {
-        if (!this.isInMemoryTable) {
-            throw new BallerinaException("data cannot be deleted from a table returned from a database");
+    private int removeData(BFunctionPointer lambdaFunction) {
+        // Rows added by the lambda function are appended, hence the indexes of the visited rows stay valid.
+        int rowCount = store.size();
+        BitSet removedRows = new BitSet(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            if (isRemovalConditionMet(lambdaFunction, store.getRow(row))) {
+                removedRows.set(row);
+            }
         }
-        tableProvider.deleteData(tableName, data);
+        int deletedCount = store.remove(removedRows);
         resetIterator();
+        return deletedCount;
+    }
+
+    private static boolean isRemovalConditionMet(BFunctionPointer lambdaFunction, BStruct data) {
+        BValue[] args = { data };
+        BValue[] returns = BLangFunctions.invokeCallable(lambdaFunction.value().getFunctionInfo(), args);
+        return ((BBoolean) returns[0]).booleanValue();
     }
 
     public String getString(int columnIndex) {
@@ -279,7 +327,7 @@ public class BTable implements BRefType<Object>, BCollection {
     }
 
     protected void generateIterator() {
-        this.iterator = tableProvider.createIterator(tableName, this.constraintType);
+        this.iterator = new ColumnarTableIterator(store);
         resetIterationHelperAttributes();
     }
 
@@ -294,14 +342,51 @@ public class BTable implements BRefType<Object>, BCollection {
 
     @Override
     protected void finalize() {
-        if (this.isInMemoryTable) {
-            if (this.iterator != null) {
-                this.iterator.close(false);
-            }
+        if (this.isInMemoryTable && this.tableName != null) {
             tableProvider.dropTable(this.tableName);
         }
     }
 
+    /**
+     * Returns the name of the in-memory database table holding the data of this table, to be used in queries. The
+     * database table is created or refreshed if the table data has changed since it was last copied.
+     *
+     * @return the name of the database table
+     */
+    private synchronized String getDatabaseTableName() {
+        if (!this.isInMemoryTable) {
+            return this.tableName;
+        }
+        long version = store.getVersion();
+        if (this.tableName == null || this.tableVersion != version) {
+            if (this.tableName != null) {
+                tableProvider.dropTable(this.tableName);
+                this.tableName = null;
+            }
+            String newTableName = tableProvider.createTable(constraintType, primaryKeys, indexColumns);
+            try {
+                tableProvider.insertData(newTableName, store);
+            } catch (BallerinaException e) {
+                tableProvider.dropTable(newTableName);
+                throw e;
+            }
+            this.tableName = newTableName;
+            this.tableVersion = version;
+        }
+        return this.tableName;
+    }
+
+    private void loadResult(String resultTableName) {
+        DataIterator resultIterator = tableProvider.createIterator(resultTableName, constraintType);
+        try {
+            while (resultIterator.next()) {
+                store.insert(resultIterator.generateNext());
+            }
+        } finally {
+            resultIterator.close(false);
+        }
+    }
+
     private void insertInitialData(BRefValueArray data) {
         int count = (int) data.size();
         for (int i = 0; i < count; i++) {
@@ -21,11 +21,14 @@ import org.ballerinalang.model.NativeCallableUnit;
 import org.ballerinalang.natives.NativeElementRepository.NativeFunctionDef;
 import org.ballerinalang.spi.NativeElementProvider;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Loads the implementations of the native functions and actions. Implementations are loaded when they are first
+ * called, hence this is accessed concurrently.
+ *
  * @since 0.94
  */
 public class NativeUnitLoader {
@@ -34,9 +37,9 @@ public class NativeUnitLoader {
 
     private static NativeUnitLoader instance;
     
-    private Map<String, NativeCallableUnit> nativeUnitsCache = new HashMap<>();
+    private Map<String, NativeCallableUnit> nativeUnitsCache = new ConcurrentHashMap<>();
 
-    public static NativeUnitLoader getInstance() {
+    public static synchronized NativeUnitLoader getInstance() {
         if (instance == null) {
             instance = new NativeUnitLoader();
         }
@@ -52,6 +55,14 @@ public class NativeUnitLoader {
         return nativeElementRepo;
     }
         
+    public boolean isNativeFunctionAvailable(String pkgName, String functionName) {
+        return this.nativeElementRepo.lookupNativeFunction(pkgName, functionName) != null;
+    }
+
+    public boolean isNativeActionAvailable(String pkgName, String connectorName, String actionName) {
+        return this.nativeElementRepo.lookupNativeAction(pkgName, connectorName, actionName) != null;
+    }
+
     public NativeCallableUnit loadNativeFunction(String pkgName, String functionName) {
         String key = NativeElementRepository.functionToKey(pkgName, functionName);
         NativeCallableUnit result = this.nativeUnitsCache.get(key);
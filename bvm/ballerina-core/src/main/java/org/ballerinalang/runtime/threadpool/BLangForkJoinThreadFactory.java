@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.runtime.threadpool;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code BLangForkJoinThreadFactory} creates the worker threads of a fork/join pool with a given prefix.
+ *
+ * @since 0.970.0
+ */
+public class BLangForkJoinThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+    private final String namePrefix;
+
+    public BLangForkJoinThreadFactory(String namePrefix) {
+        this.namePrefix = namePrefix + "-";
+    }
+
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread t = new BLangForkJoinWorkerThread(pool);
+        t.setName(namePrefix + threadNumber.getAndIncrement());
+        // same as the threads of the other pools, the worker threads keep the program alive
+        t.setDaemon(false);
+        return t;
+    }
+
+    /**
+     * Worker thread of a fork/join pool. The constructor of {@link ForkJoinWorkerThread} is protected.
+     */
+    private static class BLangForkJoinWorkerThread extends ForkJoinWorkerThread {
+
+        BLangForkJoinWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+}
@@ -19,11 +19,21 @@ package org.ballerinalang.runtime.threadpool;
 
 import org.ballerinalang.config.ConfigRegistry;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code ThreadPoolFactory} holds the thread pools in Ballerina engine.
+ * <p>
+ * Workers are executed in a work-stealing fork/join pool, where each thread has its own queue of workers,
+ * and idle threads steal workers from the queues of busy threads.
+ * <p>
+ * When the blocking thread pool is enabled, blocking native calls of the configured packages (by default
+ * SQL actions, I/O and sockets) are executed in a separate elastic thread pool, and the worker thread pool
+ * only executes the interpreter. Therefore the worker thread pool is sized to the number of cores, unless
+ * its size is configured.
  *
  * @since 0.8.0
  */
@@ -31,30 +41,99 @@ public class ThreadPoolFactory {
 
     private static final int DEFAULT_THREAD_POOL_SIZE = 100;
 
+    private static final int DEFAULT_BLOCKING_THREAD_POOL_SIZE = 500;
+
+    private static final long BLOCKING_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private static final String DEFAULT_BLOCKING_PACKAGES = "org.ballerinalang.nativeimpl.sql.actions,"
+            + "org.ballerinalang.nativeimpl.io,org.ballerinalang.nativeimpl.socket";
+
     private static final String WORKER_THREAD_POOL_SIZE_PROP = "worker.thread.pool.size";
 
+    private static final String BLOCKING_THREAD_POOL_ENABLED_PROP = "blocking.thread.pool.enabled";
+
+    private static final String BLOCKING_THREAD_POOL_SIZE_PROP = "blocking.thread.pool.size";
+
+    private static final String BLOCKING_THREAD_POOL_PACKAGES_PROP = "blocking.thread.pool.packages";
+
     private static ThreadPoolFactory instance = new ThreadPoolFactory();
 
-    private ExecutorService workerExecutor;
+    private ForkJoinPool workerExecutor;
+
+    private ThreadPoolExecutor blockingExecutor;
+
+    private String[] blockingPackages;
+
+    private ClassValue<Boolean> blockingClasses = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            String className = type.getName();
+            for (String blockingPackage : blockingPackages) {
+                if (className.startsWith(blockingPackage + ".")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    };
 
     private ThreadPoolFactory() {
-        int poolSize = DEFAULT_THREAD_POOL_SIZE;
-        String workerThreadPoolSizeProp = ConfigRegistry.getInstance().getConfiguration(WORKER_THREAD_POOL_SIZE_PROP);
-        if (workerThreadPoolSizeProp != null) {
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        boolean blockingPoolEnabled = Boolean.parseBoolean(
+                configRegistry.getConfiguration(BLOCKING_THREAD_POOL_ENABLED_PROP));
+        int poolSize = blockingPoolEnabled ? Runtime.getRuntime().availableProcessors() : DEFAULT_THREAD_POOL_SIZE;
+        poolSize = getPoolSize(configRegistry, WORKER_THREAD_POOL_SIZE_PROP, poolSize);
+        // async mode executes the queued workers of a thread in FIFO order, since they are never joined
+        this.workerExecutor = new ForkJoinPool(poolSize, new BLangForkJoinThreadFactory("worker-thread-pool"),
+                null, true);
+        if (blockingPoolEnabled) {
+            int blockingPoolSize = getPoolSize(configRegistry, BLOCKING_THREAD_POOL_SIZE_PROP,
+                    DEFAULT_BLOCKING_THREAD_POOL_SIZE);
+            // threads are only created when needed, and are discarded when they are idle
+            this.blockingExecutor = new ThreadPoolExecutor(blockingPoolSize, blockingPoolSize,
+                    BLOCKING_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new BLangThreadFactory(new ThreadGroup("blocking"), "blocking-thread-pool"));
+            this.blockingExecutor.allowCoreThreadTimeOut(true);
+            String packages = configRegistry.getConfiguration(BLOCKING_THREAD_POOL_PACKAGES_PROP);
+            this.blockingPackages = (packages != null ? packages : DEFAULT_BLOCKING_PACKAGES).trim().split("\\s*,\\s*");
+        }
+    };
+
+    private static int getPoolSize(ConfigRegistry configRegistry, String poolSizeProp, int defaultPoolSize) {
+        String poolSizeValue = configRegistry.getConfiguration(poolSizeProp);
+        if (poolSizeValue != null) {
             try {
-                poolSize = Integer.parseInt(workerThreadPoolSizeProp);
+                return Integer.parseInt(poolSizeValue);
             } catch (NumberFormatException ignore) { /* ignore */ }
         }
-        this.workerExecutor = Executors.newFixedThreadPool(poolSize,
-                new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
-    };
+        return defaultPoolSize;
+    }
 
     public static ThreadPoolFactory getInstance() {
         return instance;
     }
 
-    public ExecutorService getWorkerExecutor() {
+    public ForkJoinPool getWorkerExecutor() {
         return workerExecutor;
     }
 
+    /**
+     * Returns the thread pool for blocking native calls.
+     *
+     * @return the blocking thread pool, or null if it is not enabled
+     */
+    public ThreadPoolExecutor getBlockingExecutor() {
+        return blockingExecutor;
+    }
+
+    /**
+     * Checks whether the given native implementation has to be executed in the blocking thread pool.
+     *
+     * @param nativeImplClass the class implementing a native function or action
+     * @return true if the blocking thread pool is enabled and the class is in one of its packages
+     */
+    public boolean isBlockingExecution(Class<?> nativeImplClass) {
+        return blockingExecutor != null && blockingClasses.get(nativeImplClass);
+    }
+
 }
@@ -42,6 +42,9 @@ public class BLangConstants {
     public static final String BLANG_COMPILED_PACKAGE_FILE_EXT = "balo";
     public static final String BLANG_COMPILED_PACKAGE_FILE_SUFFIX = "." + BLANG_COMPILED_PACKAGE_FILE_EXT;
 
+    public static final String BLANG_SNAPSHOT_FILE_EXT = "snapshot";
+    public static final String BLANG_SNAPSHOT_FILE_SUFFIX = "." + BLANG_SNAPSHOT_FILE_EXT;
+
     // int, float, string, boolean, blob, reference type
     public static final int NO_OF_VAR_TYPE_CATEGORIES = 6;
     public static final int INT_OFFSET = 0;
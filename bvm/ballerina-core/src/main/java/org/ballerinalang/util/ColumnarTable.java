@@ -0,0 +1,604 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.util;
+
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ColumnarTable} is the native storage engine of in-memory tables.
+ * <p>
+ * The rows of the table are stored column by column, in a primitive array per {@code int}, {@code float} and
+ * {@code boolean} field of the constraint type and in an object array per field of the other types, in the order
+ * they were added. Values of reference types are copied when they are added and read, so that a table behaves as
+ * a collection of values. The primary keys of the table are kept in a hash index. The {@code int}, {@code string}
+ * and {@code boolean} columns of a single column primary key and the index columns of the table are also kept in a
+ * hash index each, from a column value to the rows holding it, which {@link TableQuery} uses to look up rows.
+ *
+ * @since 0.970.0
+ */
+public class ColumnarTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+    // identifies a table, to lock the tables of a query always in the same order
+    private static final AtomicLong tableCount = new AtomicLong();
+
+    private final BStructType type;
+    private final List<ColumnDefinition> columnDefs;
+    // type tag and index of the field within the fields of the same kind, for each column
+    private final int[] columnTags;
+    private final int[] columnSlots;
+    private final int[] primaryKeyColumns;
+    private final Set<Object> primaryKeyIndex;
+    // hash index of each indexed column, or null for the columns which are not indexed
+    private final Map<Object, RowList>[] columnIndexes;
+    private final long id = tableCount.incrementAndGet();
+
+    private long[][] intColumns;
+    private double[][] floatColumns;
+    private String[][] stringColumns;
+    private boolean[][] booleanColumns;
+    private byte[][][] blobColumns;
+    private BRefType[][] refColumns;
+    private int capacity;
+    private int size;
+    private long version;
+
+    public ColumnarTable(BStructType type, BStringArray primaryKeys) {
+        this(type, primaryKeys, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ColumnarTable(BStructType type, BStringArray primaryKeys, BStringArray indexColumns) {
+        this.type = type;
+        this.columnDefs = TableUtils.getColumnDefinitions(type);
+        BStructType.StructField[] structFields = type.getStructFields();
+        this.columnTags = new int[structFields.length];
+        this.columnSlots = new int[structFields.length];
+        int[] slotCounts = new int[6];
+        for (int i = 0; i < structFields.length; i++) {
+            int tag = structFields[i].getFieldType().getTag();
+            columnTags[i] = tag;
+            columnSlots[i] = slotCounts[getStorageKind(tag, structFields[i])]++;
+        }
+        this.capacity = INITIAL_CAPACITY;
+        this.intColumns = new long[slotCounts[0]][capacity];
+        this.floatColumns = new double[slotCounts[1]][capacity];
+        this.stringColumns = new String[slotCounts[2]][capacity];
+        this.booleanColumns = new boolean[slotCounts[3]][capacity];
+        this.blobColumns = new byte[slotCounts[4]][capacity][];
+        this.refColumns = new BRefType[slotCounts[5]][capacity];
+
+        int primaryKeyCount = primaryKeys == null ? 0 : (int) primaryKeys.size();
+        this.primaryKeyColumns = new int[primaryKeyCount];
+        for (int i = 0; i < primaryKeyCount; i++) {
+            primaryKeyColumns[i] = getColumnIndex(structFields, primaryKeys.get(i), "primary key");
+        }
+        this.primaryKeyIndex = primaryKeyCount > 0 ? new HashSet<>() : null;
+
+        this.columnIndexes = new Map[structFields.length];
+        if (primaryKeyCount == 1) {
+            addColumnIndex(primaryKeyColumns[0]);
+        }
+        int indexColumnCount = indexColumns == null ? 0 : (int) indexColumns.size();
+        for (int i = 0; i < indexColumnCount; i++) {
+            addColumnIndex(getColumnIndex(structFields, indexColumns.get(i), "index"));
+        }
+    }
+
+    public BStructType getType() {
+        return type;
+    }
+
+    public List<ColumnDefinition> getColumnDefinitions() {
+        return columnDefs;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns a number which changes whenever rows are added to or removed from the table.
+     *
+     * @return the version of the table data
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Adds a copy of the given struct as the last row of the table.
+     *
+     * @param data the struct to be added
+     */
+    public synchronized void insert(BStruct data) {
+        if (primaryKeyIndex != null) {
+            Object key = getKey(data);
+            if (!primaryKeyIndex.add(key)) {
+                throw new BallerinaException("error in adding data to table : Unique index or primary key violation: "
+                        + type.getName() + getPrimaryKeyNames() + " already contains " + key);
+            }
+        }
+        if (size == capacity) {
+            grow();
+        }
+        int row = size++;
+        for (int col = 0; col < columnTags.length; col++) {
+            int slot = columnSlots[col];
+            switch (columnTags[col]) {
+                case TypeTags.INT_TAG:
+                    intColumns[slot][row] = data.getIntField(slot);
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    floatColumns[slot][row] = data.getFloatField(slot);
+                    break;
+                case TypeTags.STRING_TAG:
+                    stringColumns[slot][row] = data.getStringField(slot);
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    booleanColumns[slot][row] = data.getBooleanField(slot) == 1;
+                    break;
+                case TypeTags.BLOB_TAG:
+                    blobColumns[slot][row] = data.getBlobField(slot);
+                    break;
+                default:
+                    refColumns[slot][row] = copy(data.getRefField(slot));
+                    break;
+            }
+        }
+        for (int col = 0; col < columnIndexes.length; col++) {
+            if (columnIndexes[col] != null) {
+                addToIndex(col, row);
+            }
+        }
+        version++;
+    }
+
+    /**
+     * Removes the given rows from the table, keeping the order of the remaining rows.
+     *
+     * @param rows the indexes of the rows to be removed
+     * @return the number of removed rows
+     */
+    public synchronized int remove(BitSet rows) {
+        int removedCount = 0;
+        int to = 0;
+        for (int from = 0; from < size; from++) {
+            if (rows.get(from)) {
+                if (primaryKeyIndex != null) {
+                    primaryKeyIndex.remove(getKey(from));
+                }
+                removedCount++;
+                continue;
+            }
+            if (to != from) {
+                moveRow(from, to);
+            }
+            to++;
+        }
+        for (int row = to; row < size; row++) {
+            clearRow(row);
+        }
+        size = to;
+        if (removedCount > 0) {
+            // the remaining rows have moved, hence the column indexes are built again
+            for (int col = 0; col < columnIndexes.length; col++) {
+                if (columnIndexes[col] != null) {
+                    columnIndexes[col].clear();
+                    for (int row = 0; row < size; row++) {
+                        addToIndex(col, row);
+                    }
+                }
+            }
+            version++;
+        }
+        return removedCount;
+    }
+
+    /**
+     * Creates a struct holding a copy of the values of the given row.
+     *
+     * @param row the index of the row
+     * @return the struct representing the row
+     */
+    public synchronized BStruct getRow(int row) {
+        checkRow(row);
+        BStruct bStruct = new BStruct(type);
+        for (int col = 0; col < columnTags.length; col++) {
+            int slot = columnSlots[col];
+            switch (columnTags[col]) {
+                case TypeTags.INT_TAG:
+                    bStruct.setIntField(slot, intColumns[slot][row]);
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    bStruct.setFloatField(slot, floatColumns[slot][row]);
+                    break;
+                case TypeTags.STRING_TAG:
+                    bStruct.setStringField(slot, stringColumns[slot][row]);
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    bStruct.setBooleanField(slot, booleanColumns[slot][row] ? 1 : 0);
+                    break;
+                case TypeTags.BLOB_TAG:
+                    bStruct.setBlobField(slot, blobColumns[slot][row]);
+                    break;
+                default:
+                    bStruct.setRefField(slot, copy(refColumns[slot][row]));
+                    break;
+            }
+        }
+        return bStruct;
+    }
+
+    public synchronized BStruct[] getRows() {
+        BStruct[] rows = new BStruct[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = getRow(row);
+        }
+        return rows;
+    }
+
+    public synchronized long getInt(int row, int columnIndex) {
+        checkRow(row);
+        return intColumns[columnSlots[columnIndex]][row];
+    }
+
+    public synchronized double getFloat(int row, int columnIndex) {
+        checkRow(row);
+        return floatColumns[columnSlots[columnIndex]][row];
+    }
+
+    public synchronized boolean getBoolean(int row, int columnIndex) {
+        checkRow(row);
+        return booleanColumns[columnSlots[columnIndex]][row];
+    }
+
+    public synchronized byte[] getBlob(int row, int columnIndex) {
+        checkRow(row);
+        return blobColumns[columnSlots[columnIndex]][row];
+    }
+
+    /**
+     * Returns the string representation of a column value. Values of reference types are converted to strings.
+     *
+     * @param row         the index of the row
+     * @param columnIndex the index of the column
+     * @return the string value of the column
+     */
+    public synchronized String getString(int row, int columnIndex) {
+        checkRow(row);
+        int slot = columnSlots[columnIndex];
+        switch (columnTags[columnIndex]) {
+            case TypeTags.INT_TAG:
+                return String.valueOf(intColumns[slot][row]);
+            case TypeTags.FLOAT_TAG:
+                return String.valueOf(floatColumns[slot][row]);
+            case TypeTags.STRING_TAG:
+                return stringColumns[slot][row];
+            case TypeTags.BOOLEAN_TAG:
+                return String.valueOf(booleanColumns[slot][row]);
+            case TypeTags.BLOB_TAG:
+                byte[] blob = blobColumns[slot][row];
+                return blob == null ? null : new String(blob);
+            default:
+                BRefType value = refColumns[slot][row];
+                return value == null ? null : value.stringValue();
+        }
+    }
+
+    public synchronized Object[] getArray(int row, int columnIndex) {
+        checkRow(row);
+        return TableUtils.getArrayData(refColumns[columnSlots[columnIndex]][row]);
+    }
+
+    /**
+     * Returns the unique number of this table, by which the tables of a query are locked in order.
+     *
+     * @return the id of the table
+     */
+    long getId() {
+        return id;
+    }
+
+    int getColumnTag(int columnIndex) {
+        return columnTags[columnIndex];
+    }
+
+    boolean isIndexed(int columnIndex) {
+        return columnIndexes[columnIndex] != null;
+    }
+
+    /**
+     * Returns the rows holding the given value in an indexed column, in the order of the rows. Must be called
+     * while holding the lock of the table.
+     *
+     * @param columnIndex the index of an indexed column
+     * @param key         the value, as a {@link Long}, {@link String} or {@link Boolean}
+     * @return the rows holding the value, or null if there are none
+     */
+    RowList lookup(int columnIndex, Object key) {
+        return columnIndexes[columnIndex].get(key);
+    }
+
+    // The backing arrays of the columns are read directly by queries, while holding the lock of the table.
+
+    long[] getIntColumn(int columnIndex) {
+        return intColumns[columnSlots[columnIndex]];
+    }
+
+    double[] getFloatColumn(int columnIndex) {
+        return floatColumns[columnSlots[columnIndex]];
+    }
+
+    String[] getStringColumn(int columnIndex) {
+        return stringColumns[columnSlots[columnIndex]];
+    }
+
+    boolean[] getBooleanColumn(int columnIndex) {
+        return booleanColumns[columnSlots[columnIndex]];
+    }
+
+    byte[][] getBlobColumn(int columnIndex) {
+        return blobColumns[columnSlots[columnIndex]];
+    }
+
+    BRefType[] getRefColumn(int columnIndex) {
+        return refColumns[columnSlots[columnIndex]];
+    }
+
+    int getRowCount() {
+        return size;
+    }
+
+    private void addColumnIndex(int col) {
+        switch (columnTags[col]) {
+            case TypeTags.INT_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                if (columnIndexes[col] == null) {
+                    columnIndexes[col] = new HashMap<>();
+                }
+                break;
+            default:
+                // values of the other types are not looked up by queries
+                break;
+        }
+    }
+
+    private void addToIndex(int col, int row) {
+        Object key = getIndexKey(col, row);
+        if (key != null) {
+            columnIndexes[col].computeIfAbsent(key, k -> new RowList()).add(row);
+        }
+    }
+
+    private Object getIndexKey(int col, int row) {
+        int slot = columnSlots[col];
+        switch (columnTags[col]) {
+            case TypeTags.INT_TAG:
+                return intColumns[slot][row];
+            case TypeTags.BOOLEAN_TAG:
+                return booleanColumns[slot][row];
+            default:
+                return stringColumns[slot][row];
+        }
+    }
+
+    private Object getKey(BStruct data) {
+        if (primaryKeyColumns.length == 1) {
+            return getKeyValue(data, primaryKeyColumns[0]);
+        }
+        Object[] key = new Object[primaryKeyColumns.length];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = getKeyValue(data, primaryKeyColumns[i]);
+        }
+        return Arrays.asList(key);
+    }
+
+    private Object getKeyValue(BStruct data, int col) {
+        int slot = columnSlots[col];
+        switch (columnTags[col]) {
+            case TypeTags.INT_TAG:
+                return data.getIntField(slot);
+            case TypeTags.FLOAT_TAG:
+                return data.getFloatField(slot);
+            case TypeTags.STRING_TAG:
+                return data.getStringField(slot);
+            case TypeTags.BOOLEAN_TAG:
+                return data.getBooleanField(slot) == 1;
+            case TypeTags.BLOB_TAG:
+                byte[] blob = data.getBlobField(slot);
+                return blob == null ? null : ByteBuffer.wrap(blob);
+            default:
+                BRefType value = data.getRefField(slot);
+                return value == null ? null : value.stringValue();
+        }
+    }
+
+    private Object getKey(int row) {
+        if (primaryKeyColumns.length == 1) {
+            return getKeyValue(row, primaryKeyColumns[0]);
+        }
+        Object[] key = new Object[primaryKeyColumns.length];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = getKeyValue(row, primaryKeyColumns[i]);
+        }
+        return Arrays.asList(key);
+    }
+
+    private Object getKeyValue(int row, int col) {
+        int slot = columnSlots[col];
+        switch (columnTags[col]) {
+            case TypeTags.INT_TAG:
+                return intColumns[slot][row];
+            case TypeTags.FLOAT_TAG:
+                return floatColumns[slot][row];
+            case TypeTags.BOOLEAN_TAG:
+                return booleanColumns[slot][row];
+            case TypeTags.BLOB_TAG:
+                byte[] blob = blobColumns[slot][row];
+                return blob == null ? null : ByteBuffer.wrap(blob);
+            default:
+                return getString(row, col);
+        }
+    }
+
+    private String getPrimaryKeyNames() {
+        StringBuilder sb = new StringBuilder("(");
+        String separator = "";
+        for (int col : primaryKeyColumns) {
+            sb.append(separator).append(columnDefs.get(col).getName());
+            separator = ",";
+        }
+        return sb.append(")").toString();
+    }
+
+    private void moveRow(int from, int to) {
+        for (long[] column : intColumns) {
+            column[to] = column[from];
+        }
+        for (double[] column : floatColumns) {
+            column[to] = column[from];
+        }
+        for (String[] column : stringColumns) {
+            column[to] = column[from];
+        }
+        for (boolean[] column : booleanColumns) {
+            column[to] = column[from];
+        }
+        for (byte[][] column : blobColumns) {
+            column[to] = column[from];
+        }
+        for (BRefType[] column : refColumns) {
+            column[to] = column[from];
+        }
+    }
+
+    private void clearRow(int row) {
+        for (String[] column : stringColumns) {
+            column[row] = null;
+        }
+        for (byte[][] column : blobColumns) {
+            column[row] = null;
+        }
+        for (BRefType[] column : refColumns) {
+            column[row] = null;
+        }
+    }
+
+    private void grow() {
+        capacity = capacity * 2;
+        for (int i = 0; i < intColumns.length; i++) {
+            intColumns[i] = Arrays.copyOf(intColumns[i], capacity);
+        }
+        for (int i = 0; i < floatColumns.length; i++) {
+            floatColumns[i] = Arrays.copyOf(floatColumns[i], capacity);
+        }
+        for (int i = 0; i < stringColumns.length; i++) {
+            stringColumns[i] = Arrays.copyOf(stringColumns[i], capacity);
+        }
+        for (int i = 0; i < booleanColumns.length; i++) {
+            booleanColumns[i] = Arrays.copyOf(booleanColumns[i], capacity);
+        }
+        for (int i = 0; i < blobColumns.length; i++) {
+            blobColumns[i] = Arrays.copyOf(blobColumns[i], capacity);
+        }
+        for (int i = 0; i < refColumns.length; i++) {
+            refColumns[i] = Arrays.copyOf(refColumns[i], capacity);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new BallerinaException("row index out of range: " + row);
+        }
+    }
+
+    private static BRefType copy(BRefType value) {
+        return value == null ? null : (BRefType) value.copy();
+    }
+
+    private static int getColumnIndex(BStructType.StructField[] structFields, String name, String kind) {
+        for (int i = 0; i < structFields.length; i++) {
+            if (structFields[i].getFieldName().equals(name)) {
+                return i;
+            }
+        }
+        throw new BallerinaException(kind + " column " + name + " not found in the table");
+    }
+
+    private static int getStorageKind(int tag, BStructType.StructField structField) {
+        switch (tag) {
+            case TypeTags.INT_TAG:
+                return 0;
+            case TypeTags.FLOAT_TAG:
+                return 1;
+            case TypeTags.STRING_TAG:
+                return 2;
+            case TypeTags.BOOLEAN_TAG:
+                return 3;
+            case TypeTags.BLOB_TAG:
+                return 4;
+            case TypeTags.JSON_TAG:
+            case TypeTags.XML_TAG:
+            case TypeTags.ARRAY_TAG:
+                return 5;
+            default:
+                throw new BallerinaException("Unsupported column type for table : " + structField.getFieldType());
+        }
+    }
+
+    /**
+     * The rows holding a value of an indexed column, in ascending order.
+     */
+    static class RowList {
+        private int[] rows = new int[2];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int get(int i) {
+            return rows[i];
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.util;
+
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.model.DataIterator;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.values.BStruct;
+
+import java.util.List;
+
+/**
+ * Iterator implementation for tables stored in a {@link ColumnarTable}.
+ * <p>
+ * The iterator reads the column values of the current row directly from the table. Column indexes start from 1,
+ * as in the other {@link DataIterator} implementations.
+ *
+ * @since 0.970.0
+ */
+public class ColumnarTableIterator implements DataIterator {
+
+    private final ColumnarTable table;
+    private int row = -1;
+
+    public ColumnarTableIterator(ColumnarTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public boolean next() {
+        if (row < table.size()) {
+            row++;
+        }
+        return row < table.size();
+    }
+
+    @Override
+    public void close(boolean isInTransaction) {
+        row = table.size();
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        return table.getString(row, columnIndex - 1);
+    }
+
+    @Override
+    public long getInt(int columnIndex) {
+        return table.getInt(row, columnIndex - 1);
+    }
+
+    @Override
+    public double getFloat(int columnIndex) {
+        return table.getFloat(row, columnIndex - 1);
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        return table.getBoolean(row, columnIndex - 1);
+    }
+
+    @Override
+    public String getBlob(int columnIndex) {
+        byte[] blob = table.getBlob(row, columnIndex - 1);
+        return blob == null ? null : new String(blob);
+    }
+
+    @Override
+    public Object[] getStruct(int columnIndex) {
+        return null;
+    }
+
+    @Override
+    public Object[] getArray(int columnIndex) {
+        return table.getArray(row, columnIndex - 1);
+    }
+
+    @Override
+    public BStruct generateNext() {
+        return table.getRow(row);
+    }
+
+    @Override
+    public List<ColumnDefinition> getColumnDefinitions() {
+        return table.getColumnDefinitions();
+    }
+
+    @Override
+    public BStructType getStructType() {
+        return table.getType();
+    }
+}
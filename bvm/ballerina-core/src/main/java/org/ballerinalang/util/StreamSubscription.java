@@ -0,0 +1,339 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.util;
+
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.metrics.CallbackGauge;
+import org.ballerinalang.util.metrics.DefaultMetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code StreamSubscription} delivers the events published to a Ballerina stream to one subscriber, within the
+ * process.
+ * <p>
+ * Published events are kept in a bounded buffer and are delivered in the order they were published, by a task of
+ * a shared dispatcher pool which drains the buffer. The {@link OverflowPolicy} of the subscription decides whether a
+ * publisher blocks or an event is dropped while the buffer is full. Subscribers publishing to a stream, i.e.
+ * publishers running on a dispatcher thread, never block, since the buffer they wait on may only be drained by
+ * their own thread. Their events are buffered beyond the size of the buffer instead.
+ * <p>
+ * A batched subscription delivers up to {@code maxBatchSize} events at once. The buffer is drained when a batch
+ * is filled, or when the oldest buffered event has waited for {@code maxBatchWaitTime} milliseconds.
+ *
+ * @since 0.970.0
+ */
+public abstract class StreamSubscription {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamSubscription.class);
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private static final ExecutorService dispatcher =
+            Executors.newCachedThreadPool(new DaemonThreadFactory("ballerina-stream-dispatcher-"));
+    private static final ScheduledExecutorService batchTimer =
+            Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("ballerina-stream-batch-timer-"));
+    // metrics of the subscriptions of each stream, which are registered once per stream
+    private static final Map<String, StreamMetrics> streamMetrics = new ConcurrentHashMap<>();
+
+    private final Queue<BStruct> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedCount = new AtomicInteger();
+    private final Semaphore freeSlots;
+    // events buffered beyond the size of the buffer by publishers which cannot wait for a free slot
+    private final AtomicInteger overflowCount = new AtomicInteger();
+    private final OverflowPolicy overflowPolicy;
+    private final int maxBatchSize;
+    private final long maxBatchWaitTime;
+    private final LongAdder droppedCount = new LongAdder();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean batchTimerArmed = new AtomicBoolean();
+    private final Runnable drainTask = this::drain;
+    private final Runnable batchTimeoutTask = this::onBatchTimeout;
+    private final StreamMetrics metrics;
+
+    protected StreamSubscription(String streamId) {
+        this(streamId, DEFAULT_BUFFER_SIZE, OverflowPolicy.BLOCK, 1, 0);
+    }
+
+    protected StreamSubscription(String streamId, int bufferSize, OverflowPolicy overflowPolicy) {
+        this(streamId, bufferSize, overflowPolicy, 1, 0);
+    }
+
+    protected StreamSubscription(String streamId, int bufferSize, OverflowPolicy overflowPolicy, int maxBatchSize,
+                                 long maxBatchWaitTime) {
+        if (bufferSize <= 0) {
+            throw new BallerinaException("invalid buffer size for stream subscription: " + bufferSize);
+        }
+        if (maxBatchSize <= 0) {
+            throw new BallerinaException("invalid batch size for stream subscription: " + maxBatchSize);
+        }
+        this.freeSlots = new Semaphore(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchWaitTime = Math.max(0, maxBatchWaitTime);
+        this.metrics = DefaultMetricRegistry.getInstance() == null ? null :
+                streamMetrics.computeIfAbsent(streamId, StreamMetrics::new);
+    }
+
+    /**
+     * Queues an event to be delivered to the subscriber. The event must not be modified after it is published.
+     *
+     * @param event the published event
+     */
+    public void publish(BStruct event) {
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                if (!freeSlots.tryAcquire()) {
+                    onDropped();
+                    return;
+                }
+                break;
+            case DROP_OLDEST:
+                while (!freeSlots.tryAcquire()) {
+                    if (poll() != null) {
+                        onDropped();
+                    }
+                }
+                break;
+            default:
+                if (freeSlots.tryAcquire()) {
+                    break;
+                }
+                if (Thread.currentThread() instanceof DispatcherThread) {
+                    overflowCount.incrementAndGet();
+                    break;
+                }
+                try {
+                    freeSlots.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new BallerinaException("interrupted while publishing to stream", e);
+                }
+                break;
+        }
+        int bufferedEvents = bufferedCount.incrementAndGet();
+        buffer.offer(event);
+        if (metrics != null) {
+            metrics.bufferedEvents.increment();
+        }
+        if (maxBatchSize == 1 || maxBatchWaitTime == 0 || bufferedEvents >= maxBatchSize
+                || freeSlots.availablePermits() == 0) {
+            scheduleDrain();
+        } else if (batchTimerArmed.compareAndSet(false, true)) {
+            batchTimer.schedule(batchTimeoutTask, maxBatchWaitTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public int getBufferedEventCount() {
+        return bufferedCount.get();
+    }
+
+    public long getDroppedEventCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Delivers an event to the subscriber.
+     *
+     * @param event the published event, which is shared with the other subscribers of the stream
+     */
+    protected abstract void deliver(BStruct event);
+
+    /**
+     * Delivers a batch of events to the subscriber. Delivers the events one by one, unless overridden.
+     *
+     * @param events the published events, which are shared with the other subscribers of the stream
+     */
+    protected void deliver(List<BStruct> events) {
+        for (BStruct event : events) {
+            deliver(event);
+        }
+    }
+
+    private void onDropped() {
+        droppedCount.increment();
+        if (metrics != null) {
+            metrics.droppedEvents.increment();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(drainTask);
+        }
+    }
+
+    private void onBatchTimeout() {
+        batchTimerArmed.set(false);
+        scheduleDrain();
+    }
+
+    private BStruct poll() {
+        BStruct event = buffer.poll();
+        if (event == null) {
+            return null;
+        }
+        bufferedCount.decrementAndGet();
+        if (metrics != null) {
+            metrics.bufferedEvents.decrement();
+        }
+        // the slots of the events buffered beyond the size of the buffer are not released
+        int overflow;
+        while ((overflow = overflowCount.get()) > 0) {
+            if (overflowCount.compareAndSet(overflow, overflow - 1)) {
+                return event;
+            }
+        }
+        freeSlots.release();
+        return event;
+    }
+
+    private void drain() {
+        do {
+            if (maxBatchSize == 1) {
+                BStruct event;
+                while ((event = poll()) != null) {
+                    try {
+                        deliver(event);
+                    } catch (RuntimeException e) {
+                        logger.error("error in delivering event to stream subscriber: " + e.getMessage(), e);
+                    }
+                }
+            } else {
+                List<BStruct> batch;
+                while (!(batch = pollBatch()).isEmpty()) {
+                    try {
+                        deliver(batch);
+                    } catch (RuntimeException e) {
+                        logger.error("error in delivering events to stream subscriber: " + e.getMessage(), e);
+                    }
+                }
+            }
+            scheduled.set(false);
+            // an event may have been queued after the buffer was found to be empty, but before the flag was reset
+        } while (!buffer.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    private List<BStruct> pollBatch() {
+        List<BStruct> batch = new ArrayList<>(Math.min(maxBatchSize, Math.max(bufferedCount.get(), 1)));
+        BStruct event;
+        while (batch.size() < maxBatchSize && (event = poll()) != null) {
+            batch.add(event);
+        }
+        return batch;
+    }
+
+    /**
+     * The action taken when an event is published while the buffer of a subscription is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The publisher waits until the subscriber makes room in the buffer.
+         */
+        BLOCK,
+        /**
+         * The oldest event in the buffer is dropped to make room for the published event.
+         */
+        DROP_OLDEST,
+        /**
+         * The published event is dropped.
+         */
+        DROP_NEWEST;
+
+        /**
+         * Returns the policy with the given name, such as {@code "block"} or {@code "drop-oldest"}.
+         *
+         * @param name the name of the policy
+         * @return the overflow policy
+         */
+        public static OverflowPolicy fromString(String name) {
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().replace('_', '-').equalsIgnoreCase(name)) {
+                    return policy;
+                }
+            }
+            throw new BallerinaException("invalid overflow policy: " + name + ", expected one of block, "
+                    + "drop-oldest and drop-newest");
+        }
+    }
+
+    /**
+     * Number of buffered and dropped events of all the subscriptions of a stream, which are reported as metrics
+     * tagged by the stream.
+     */
+    private static class StreamMetrics {
+
+        private final LongAdder bufferedEvents = new LongAdder();
+        private final LongAdder droppedEvents = new LongAdder();
+
+        StreamMetrics(String streamId) {
+            CallbackGauge.builder("ballerina_stream_buffered_events", bufferedEvents, LongAdder::doubleValue)
+                    .description("Number of events waiting to be delivered to the subscribers of a stream")
+                    .tag("stream", streamId).register();
+            CallbackGauge.builder("ballerina_stream_dropped_events", droppedEvents, LongAdder::doubleValue)
+                    .description("Number of events dropped as the buffer of a subscriber of a stream was full")
+                    .tag("stream", streamId).register();
+        }
+    }
+
+    /**
+     * Daemon thread delivering stream events.
+     */
+    private static class DispatcherThread extends Thread {
+
+        DispatcherThread(Runnable runnable, String name) {
+            super(runnable, name);
+            setDaemon(true);
+        }
+    }
+
+    /**
+     * Creates the daemon threads delivering stream events.
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        DaemonThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new DispatcherThread(runnable, namePrefix + threadCount.incrementAndGet());
+        }
+    }
+}
@@ -21,7 +21,6 @@ import org.ballerinalang.model.ColumnDefinition;
 import org.ballerinalang.model.DataIterator;
 import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.types.BType;
-import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.types.TypeTags;
 import org.ballerinalang.model.values.BBooleanArray;
 import org.ballerinalang.model.values.BFloatArray;
@@ -38,7 +37,6 @@ import java.sql.Blob;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Struct;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -65,7 +63,7 @@ public class TableIterator implements DataIterator {
         this.resourceManager = rm;
         this.rs = rs;
         this.type = type;
-        generateColumnDefinitions();
+        this.columnDefs = TableUtils.getColumnDefinitions(type);
     }
 
     @Override
@@ -187,7 +185,7 @@ public class TableIterator implements DataIterator {
                 ++index;
                 switch (type.getTag()) {
                 case TypeTags.INT_TAG:
-                    long iValue = rs.getInt(index);
+                    long iValue = rs.getLong(index);
                     bStruct.setIntField(++longRegIndex, iValue);
                     break;
                 case TypeTags.STRING_TAG:
@@ -284,41 +282,4 @@ public class TableIterator implements DataIterator {
             return  null;
         }
     }
-
-    private void generateColumnDefinitions() {
-        BStructType.StructField[] structFields = this.type.getStructFields();
-        columnDefs = new ArrayList<>(structFields.length);
-        for (BStructType.StructField sf : structFields) {
-            BType type = sf.getFieldType();
-            TypeKind typeKind = TypeKind.ANY;
-            switch (type.getTag()) {
-            case TypeTags.INT_TAG:
-                typeKind = TypeKind.INT;
-                break;
-            case TypeTags.STRING_TAG:
-                typeKind = TypeKind.STRING;
-                break;
-            case TypeTags.FLOAT_TAG:
-                typeKind = TypeKind.FLOAT;
-                break;
-            case TypeTags.BOOLEAN_TAG:
-                typeKind = TypeKind.BOOLEAN;
-                break;
-            case TypeTags.JSON_TAG:
-                typeKind = TypeKind.JSON;
-                break;
-            case TypeTags.XML_TAG:
-                typeKind = TypeKind.XML;
-                break;
-            case TypeTags.BLOB_TAG:
-                typeKind = TypeKind.BLOB;
-                break;
-            case TypeTags.ARRAY_TAG:
-                typeKind = TypeKind.ARRAY;
-                break;
-            }
-            ColumnDefinition def = new ColumnDefinition(sf.fieldName, typeKind);
-            columnDefs.add(def);
-        }
-    }
 }
@@ -108,6 +108,33 @@ public class TableProvider {
         return tableName;
     }
 
+    /**
+     * Inserts all the rows of a native in-memory table into the given database table.
+     *
+     * @param tableName the name of the database table
+     * @param table     the table whose rows are inserted
+     */
+    public void insertData(String tableName, ColumnarTable table) {
+        BStruct[] rows = table.getRows();
+        if (rows.length == 0) {
+            return;
+        }
+        String sqlStmt = TableUtils.generateInsertDataStatment(tableName, rows[0]);
+        PreparedStatement stmt = null;
+        Connection conn = this.getConnection();
+        try {
+            stmt = conn.prepareStatement(sqlStmt);
+            for (BStruct row : rows) {
+                TableUtils.prepareAndExecuteStatement(stmt, row);
+            }
+        } catch (SQLException e) {
+            throw new BallerinaException(
+                    "error in executing statement : " + sqlStmt + " error:" + e.getMessage());
+        } finally {
+            releaseResources(conn, stmt);
+        }
+    }
+
     public void deleteData(String tableName, BStruct constrainedType) {
         String sqlStmt = TableUtils.generateDeleteDataStatment(tableName, constrainedType);
         prepareAndExecuteStatement(sqlStmt, constrainedType);
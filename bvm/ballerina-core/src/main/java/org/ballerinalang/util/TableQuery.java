@@ -0,0 +1,857 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.util;
+
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * {@code TableQuery} evaluates a table query over the {@link ColumnarTable}s of in-memory tables, following the
+ * query plan which the compiler generates along with the SQL text of the query.
+ * <p>
+ * A plan is a sequence of tokens in prefix order:
+ * <pre>
+ * plan       := "select" count expression* "from" alias expression ["join" alias expression expression]
+ * expression := "col" qualifier name | "param" index | "true" | "not" expression
+ *             | ("and" | "or" | "==" | "!=" | "&gt;" | "&gt;=" | "&lt;" | "&lt;=") expression expression
+ * </pre>
+ * A select count of zero selects all the columns. The expression after an alias is the condition on the rows of
+ * that table, and the last expression of a join is its {@code on} condition. Columns are matched by name ignoring
+ * case and conditions follow SQL three-valued logic, as in the in-memory database. Rows matching a condition on an
+ * indexed column are looked up in the hash index of the column, and joins on equal columns are evaluated as hash
+ * joins.
+ * <p>
+ * A plan which cannot be evaluated over the given tables, e.g. one comparing values of different types, is left to
+ * the in-memory database.
+ *
+ * @since 0.970.0
+ */
+public class TableQuery {
+
+    private static final int TRUE = 1;
+    private static final int FALSE = 0;
+    private static final int UNKNOWN = -1;
+
+    private static final int FROM_INPUT = 0;
+    private static final int JOIN_INPUT = 1;
+    // the condition of a table only refers to the columns of the table, by their names alone
+    private static final Scope FROM_SCOPE = new Scope(false, FROM_INPUT);
+    private static final Scope JOIN_SCOPE = new Scope(false, JOIN_INPUT);
+    private static final Scope SELECT_SCOPE = new Scope(true, FROM_INPUT);
+    private static final Scope JOIN_QUERY_SCOPE = new Scope(true, FROM_INPUT, JOIN_INPUT);
+
+    private static final IntPredicate EQUAL = result -> result == 0;
+    private static final IntPredicate NOT_EQUAL = result -> result != 0;
+
+    private final String[] plan;
+    private int position;
+    private final ColumnarTable[] tables;
+    private final String[] aliases = new String[2];
+    private final BRefValueArray params;
+
+    private TableQuery(String[] plan, ColumnarTable fromTable, ColumnarTable joinTable, BRefValueArray params) {
+        this.plan = plan;
+        this.tables = new ColumnarTable[]{fromTable, joinTable};
+        this.params = params;
+    }
+
+    /**
+     * Evaluates a query over in-memory tables.
+     *
+     * @param plan       the plan of the query
+     * @param fromTable  the table the query selects from
+     * @param joinTable  the table joined with the from table, or null
+     * @param resultType the constraint type of the result
+     * @param params     the values of the literals of the query
+     * @return a table holding the result, or null if the query should be run by the in-memory database
+     */
+    public static ColumnarTable execute(BStringArray plan, ColumnarTable fromTable, ColumnarTable joinTable,
+                                        BStructType resultType, BRefValueArray params) {
+        if (plan == null || plan.size() == 0) {
+            return null;
+        }
+        String[] tokens = new String[(int) plan.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = plan.get(i);
+        }
+        // lock the tables in the order of their ids, so that concurrent joins of the same tables do not deadlock
+        ColumnarTable first = fromTable;
+        ColumnarTable second = joinTable == null ? fromTable : joinTable;
+        if (first.getId() > second.getId()) {
+            first = second;
+            second = fromTable;
+        }
+        synchronized (first) {
+            synchronized (second) {
+                try {
+                    return new TableQuery(tokens, fromTable, joinTable, params).run(resultType);
+                } catch (UnsupportedQueryException e) {
+                    return null;
+                }
+            }
+        }
+    }
+
+    private ColumnarTable run(BStructType resultType) {
+        expect("select");
+        int count = parseIndex(next());
+        List<Expr> selectExprs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            selectExprs.add(parseExpression());
+        }
+        expect("from");
+        aliases[FROM_INPUT] = parseAlias();
+        Expr fromCondition = parseExpression();
+        Expr joinCondition = null;
+        Expr onCondition = null;
+        if (position < plan.length) {
+            expect("join");
+            aliases[JOIN_INPUT] = parseAlias();
+            joinCondition = parseExpression();
+            onCondition = parseExpression();
+        }
+        if (position != plan.length || (joinCondition == null) != (tables[JOIN_INPUT] == null)) {
+            throw new BallerinaException("invalid table query plan: " + String.join(" ", plan));
+        }
+
+        ResultRow resultRow = new ResultRow(resultType, compileSelect(selectExprs, joinCondition != null));
+        Condition fromFilter = compileCondition(fromCondition, FROM_SCOPE);
+        ColumnarTable result = new ColumnarTable(resultType, null);
+        int[] rows = new int[2];
+        Rows fromRows = findRows(fromCondition);
+        if (joinCondition == null) {
+            for (int i = 0; i < fromRows.size(); i++) {
+                rows[FROM_INPUT] = fromRows.get(i);
+                if (fromFilter.test(rows) == TRUE) {
+                    result.insert(resultRow.create(rows));
+                }
+            }
+            return result;
+        }
+
+        Condition joinFilter = compileCondition(joinCondition, JOIN_SCOPE);
+        Condition on = compileCondition(onCondition, JOIN_QUERY_SCOPE);
+        Value[] joinKeys = findJoinKeys(onCondition);
+        if (joinKeys == null) {
+            // nested loop join over the join rows which match their condition
+            ColumnarTable.RowList joinRows = new ColumnarTable.RowList();
+            for (int row = 0; row < tables[JOIN_INPUT].getRowCount(); row++) {
+                rows[JOIN_INPUT] = row;
+                if (joinFilter.test(rows) == TRUE) {
+                    joinRows.add(row);
+                }
+            }
+            for (int i = 0; i < fromRows.size(); i++) {
+                rows[FROM_INPUT] = fromRows.get(i);
+                if (fromFilter.test(rows) != TRUE) {
+                    continue;
+                }
+                for (int j = 0; j < joinRows.size(); j++) {
+                    rows[JOIN_INPUT] = joinRows.get(j);
+                    if (on.test(rows) == TRUE) {
+                        result.insert(resultRow.create(rows));
+                    }
+                }
+            }
+            return result;
+        }
+
+        // hash join, through the index of the join column if it has one
+        Value fromKey = joinKeys[0];
+        ColumnValue joinKey = (ColumnValue) joinKeys[1];
+        boolean indexed = tables[JOIN_INPUT].isIndexed(joinKey.column);
+        Map<Object, ColumnarTable.RowList> joinIndex = null;
+        if (!indexed) {
+            joinIndex = new HashMap<>();
+            for (int row = 0; row < tables[JOIN_INPUT].getRowCount(); row++) {
+                rows[JOIN_INPUT] = row;
+                Object key = joinKey.getKey(rows);
+                if (key != null && joinFilter.test(rows) == TRUE) {
+                    joinIndex.computeIfAbsent(key, k -> new ColumnarTable.RowList()).add(row);
+                }
+            }
+        }
+        for (int i = 0; i < fromRows.size(); i++) {
+            rows[FROM_INPUT] = fromRows.get(i);
+            if (fromFilter.test(rows) != TRUE) {
+                continue;
+            }
+            Object key = fromKey.getKey(rows);
+            if (key == null) {
+                continue;
+            }
+            ColumnarTable.RowList matches = indexed ? tables[JOIN_INPUT].lookup(joinKey.column, key)
+                    : joinIndex.get(key);
+            if (matches == null) {
+                continue;
+            }
+            for (int j = 0; j < matches.size(); j++) {
+                rows[JOIN_INPUT] = matches.get(j);
+                if ((!indexed || joinFilter.test(rows) == TRUE) && on.test(rows) == TRUE) {
+                    result.insert(resultRow.create(rows));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the rows of the from table which may match its condition. If the condition requires an indexed column to
+     * be equal to a literal, the rows are looked up in the index of the column.
+     */
+    private Rows findRows(Expr condition) {
+        ColumnarTable table = tables[FROM_INPUT];
+        for (Expr conjunct : getConjuncts(condition, new ArrayList<>())) {
+            if (!"==".equals(conjunct.op)) {
+                continue;
+            }
+            Expr column = "col".equals(conjunct.lhs.op) ? conjunct.lhs : conjunct.rhs;
+            Expr literal = column == conjunct.lhs ? conjunct.rhs : conjunct.lhs;
+            if (!"col".equals(column.op) || !"param".equals(literal.op)) {
+                continue;
+            }
+            Value columnValue = resolve(column, FROM_SCOPE);
+            Value literalValue = resolve(literal, FROM_SCOPE);
+            if (!(columnValue instanceof ColumnValue) || columnValue.kind != literalValue.kind
+                    || !table.isIndexed(((ColumnValue) columnValue).column)) {
+                continue;
+            }
+            ColumnarTable.RowList matches = table.lookup(((ColumnValue) columnValue).column,
+                    literalValue.getKey(null));
+            return matches == null ? new AllRows(0) : new IndexedRows(matches);
+        }
+        return new AllRows(table.getRowCount());
+    }
+
+    /**
+     * Finds a column of each table in the on condition of a join which are required to be equal, to be used as the
+     * keys of a hash join.
+     */
+    private Value[] findJoinKeys(Expr onCondition) {
+        for (Expr conjunct : getConjuncts(onCondition, new ArrayList<>())) {
+            if (!"==".equals(conjunct.op) || !"col".equals(conjunct.lhs.op) || !"col".equals(conjunct.rhs.op)) {
+                continue;
+            }
+            Value lhs = resolve(conjunct.lhs, JOIN_QUERY_SCOPE);
+            Value rhs = resolve(conjunct.rhs, JOIN_QUERY_SCOPE);
+            if (lhs.kind != rhs.kind || !isKeyKind(lhs.kind)) {
+                continue;
+            }
+            ColumnValue lhsColumn = (ColumnValue) lhs;
+            ColumnValue rhsColumn = (ColumnValue) rhs;
+            if (lhsColumn.input == FROM_INPUT && rhsColumn.input == JOIN_INPUT) {
+                return new Value[]{lhsColumn, rhsColumn};
+            }
+            if (lhsColumn.input == JOIN_INPUT && rhsColumn.input == FROM_INPUT) {
+                return new Value[]{rhsColumn, lhsColumn};
+            }
+        }
+        return null;
+    }
+
+    private static List<Expr> getConjuncts(Expr condition, List<Expr> conjuncts) {
+        if ("and".equals(condition.op)) {
+            getConjuncts(condition.lhs, conjuncts);
+            getConjuncts(condition.rhs, conjuncts);
+        } else {
+            conjuncts.add(condition);
+        }
+        return conjuncts;
+    }
+
+    private Value[] compileSelect(List<Expr> selectExprs, boolean join) {
+        if (!selectExprs.isEmpty()) {
+            Value[] values = new Value[selectExprs.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = resolve(selectExprs.get(i), join ? JOIN_QUERY_SCOPE : SELECT_SCOPE);
+            }
+            return values;
+        }
+        // all the columns of the from table, followed by the columns of the join table
+        List<Value> values = new ArrayList<>();
+        for (int input : join ? JOIN_QUERY_SCOPE.inputs : SELECT_SCOPE.inputs) {
+            ColumnarTable table = tables[input];
+            for (int col = 0; col < table.getType().getStructFields().length; col++) {
+                values.add(createColumnValue(table, input, col));
+            }
+        }
+        return values.toArray(new Value[values.size()]);
+    }
+
+    private Condition compileCondition(Expr expr, Scope scope) {
+        switch (expr.op) {
+            case "true":
+                return rows -> TRUE;
+            case "and": {
+                Condition lhs = compileCondition(expr.lhs, scope);
+                Condition rhs = compileCondition(expr.rhs, scope);
+                return rows -> {
+                    int lhsResult = lhs.test(rows);
+                    if (lhsResult == FALSE) {
+                        return FALSE;
+                    }
+                    int rhsResult = rhs.test(rows);
+                    if (rhsResult == FALSE) {
+                        return FALSE;
+                    }
+                    return lhsResult == TRUE && rhsResult == TRUE ? TRUE : UNKNOWN;
+                };
+            }
+            case "or": {
+                Condition lhs = compileCondition(expr.lhs, scope);
+                Condition rhs = compileCondition(expr.rhs, scope);
+                return rows -> {
+                    int lhsResult = lhs.test(rows);
+                    if (lhsResult == TRUE) {
+                        return TRUE;
+                    }
+                    int rhsResult = rhs.test(rows);
+                    if (rhsResult == TRUE) {
+                        return TRUE;
+                    }
+                    return lhsResult == FALSE && rhsResult == FALSE ? FALSE : UNKNOWN;
+                };
+            }
+            case "not": {
+                Condition operand = compileCondition(expr.lhs, scope);
+                return rows -> {
+                    int result = operand.test(rows);
+                    return result == UNKNOWN ? UNKNOWN : TRUE - result;
+                };
+            }
+            case "col":
+            case "param": {
+                Value value = resolve(expr, scope);
+                if (value.kind != TypeTags.BOOLEAN_TAG) {
+                    throw UnsupportedQueryException.INSTANCE;
+                }
+                return rows -> value.getBoolean(rows) ? TRUE : FALSE;
+            }
+            default:
+                return compileComparison(getComparison(expr.op), resolve(expr.lhs, scope),
+                        resolve(expr.rhs, scope));
+        }
+    }
+
+    private static Condition compileComparison(IntPredicate comparison, Value lhs, Value rhs) {
+        if (lhs.kind == TypeTags.INT_TAG && rhs.kind == TypeTags.INT_TAG) {
+            return rows -> comparison.test(Long.compare(lhs.getInt(rows), rhs.getInt(rows))) ? TRUE : FALSE;
+        }
+        if (isNumericKind(lhs.kind) && isNumericKind(rhs.kind)) {
+            return rows -> comparison.test(compare(lhs.getNumber(rows), rhs.getNumber(rows))) ? TRUE : FALSE;
+        }
+        if (lhs.kind == TypeTags.STRING_TAG && rhs.kind == TypeTags.STRING_TAG) {
+            return rows -> {
+                String lhsValue = lhs.getString(rows);
+                String rhsValue = rhs.getString(rows);
+                if (lhsValue == null || rhsValue == null) {
+                    return UNKNOWN;
+                }
+                return comparison.test(lhsValue.compareTo(rhsValue)) ? TRUE : FALSE;
+            };
+        }
+        if (lhs.kind == TypeTags.BOOLEAN_TAG && rhs.kind == TypeTags.BOOLEAN_TAG
+                && (comparison == EQUAL || comparison == NOT_EQUAL)) {
+            return rows -> comparison.test(Boolean.compare(lhs.getBoolean(rows), rhs.getBoolean(rows))) ? TRUE
+                    : FALSE;
+        }
+        throw UnsupportedQueryException.INSTANCE;
+    }
+
+    private static IntPredicate getComparison(String op) {
+        switch (op) {
+            case "==":
+                return EQUAL;
+            case "!=":
+                return NOT_EQUAL;
+            case ">":
+                return result -> result > 0;
+            case ">=":
+                return result -> result >= 0;
+            case "<":
+                return result -> result < 0;
+            case "<=":
+                return result -> result <= 0;
+            default:
+                throw new BallerinaException("invalid table query plan operator: " + op);
+        }
+    }
+
+    private static int compare(double lhs, double rhs) {
+        // unlike Double.compare, 0.0 and -0.0 are equal
+        return lhs < rhs ? -1 : (lhs > rhs ? 1 : (lhs == rhs ? 0 : Double.compare(lhs, rhs)));
+    }
+
+    private Value resolve(Expr expr, Scope scope) {
+        if ("param".equals(expr.op)) {
+            return createParamValue(params.get(expr.paramIndex));
+        }
+        if (!"col".equals(expr.op)) {
+            // e.g. a condition used as a value
+            throw UnsupportedQueryException.INSTANCE;
+        }
+        if (!expr.qualifier.isEmpty() && !scope.qualified) {
+            throw UnsupportedQueryException.INSTANCE;
+        }
+        Value match = null;
+        for (int input : scope.inputs) {
+            if (!expr.qualifier.isEmpty() && !expr.qualifier.equalsIgnoreCase(aliases[input])) {
+                continue;
+            }
+            ColumnarTable table = tables[input];
+            BStructType.StructField[] fields = table.getType().getStructFields();
+            for (int col = 0; col < fields.length; col++) {
+                if (fields[col].getFieldName().equalsIgnoreCase(expr.name)) {
+                    if (match != null) {
+                        // ambiguous column names are reported by the in-memory database
+                        throw UnsupportedQueryException.INSTANCE;
+                    }
+                    match = createColumnValue(table, input, col);
+                }
+            }
+        }
+        if (match == null) {
+            throw UnsupportedQueryException.INSTANCE;
+        }
+        return match;
+    }
+
+    private static Value createParamValue(BRefType param) {
+        if (param instanceof BInteger) {
+            long value = ((BInteger) param).intValue();
+            return new Value(TypeTags.INT_TAG) {
+                @Override
+                long getInt(int[] rows) {
+                    return value;
+                }
+            };
+        } else if (param instanceof BFloat) {
+            double value = ((BFloat) param).floatValue();
+            return new Value(TypeTags.FLOAT_TAG) {
+                @Override
+                double getFloat(int[] rows) {
+                    return value;
+                }
+            };
+        } else if (param instanceof BString) {
+            String value = param.stringValue();
+            return new Value(TypeTags.STRING_TAG) {
+                @Override
+                String getString(int[] rows) {
+                    return value;
+                }
+            };
+        } else if (param instanceof BBoolean) {
+            boolean value = ((BBoolean) param).booleanValue();
+            return new Value(TypeTags.BOOLEAN_TAG) {
+                @Override
+                boolean getBoolean(int[] rows) {
+                    return value;
+                }
+            };
+        }
+        throw UnsupportedQueryException.INSTANCE;
+    }
+
+    private static Value createColumnValue(ColumnarTable table, int input, int col) {
+        switch (table.getColumnTag(col)) {
+            case TypeTags.INT_TAG: {
+                long[] values = table.getIntColumn(col);
+                return new ColumnValue(TypeTags.INT_TAG, input, col) {
+                    @Override
+                    long getInt(int[] rows) {
+                        return values[rows[input]];
+                    }
+                };
+            }
+            case TypeTags.FLOAT_TAG: {
+                double[] values = table.getFloatColumn(col);
+                return new ColumnValue(TypeTags.FLOAT_TAG, input, col) {
+                    @Override
+                    double getFloat(int[] rows) {
+                        return values[rows[input]];
+                    }
+                };
+            }
+            case TypeTags.STRING_TAG: {
+                String[] values = table.getStringColumn(col);
+                return new ColumnValue(TypeTags.STRING_TAG, input, col) {
+                    @Override
+                    String getString(int[] rows) {
+                        return values[rows[input]];
+                    }
+                };
+            }
+            case TypeTags.BOOLEAN_TAG: {
+                boolean[] values = table.getBooleanColumn(col);
+                return new ColumnValue(TypeTags.BOOLEAN_TAG, input, col) {
+                    @Override
+                    boolean getBoolean(int[] rows) {
+                        return values[rows[input]];
+                    }
+                };
+            }
+            case TypeTags.BLOB_TAG: {
+                byte[][] values = table.getBlobColumn(col);
+                return new ColumnValue(TypeTags.BLOB_TAG, input, col) {
+                    @Override
+                    byte[] getBlob(int[] rows) {
+                        return values[rows[input]];
+                    }
+                };
+            }
+            default: {
+                BRefType[] values = table.getRefColumn(col);
+                return new ColumnValue(table.getColumnTag(col), input, col) {
+                    @Override
+                    BRefType getRef(int[] rows) {
+                        return values[rows[input]];
+                    }
+                };
+            }
+        }
+    }
+
+    private static boolean isNumericKind(int kind) {
+        return kind == TypeTags.INT_TAG || kind == TypeTags.FLOAT_TAG;
+    }
+
+    private static boolean isKeyKind(int kind) {
+        return kind == TypeTags.INT_TAG || kind == TypeTags.STRING_TAG || kind == TypeTags.BOOLEAN_TAG;
+    }
+
+    private Expr parseExpression() {
+        String op = next();
+        switch (op) {
+            case "col":
+                return new Expr(op, null, null, next(), next(), -1);
+            case "param":
+                int paramIndex = parseIndex(next());
+                if (paramIndex >= params.size()) {
+                    throw new BallerinaException("invalid table query plan parameter: " + paramIndex);
+                }
+                return new Expr(op, null, null, null, null, paramIndex);
+            case "true":
+                return new Expr(op, null, null, null, null, -1);
+            case "not":
+                return new Expr(op, parseExpression(), null, null, null, -1);
+            case "and":
+            case "or":
+            case "==":
+            case "!=":
+            case ">":
+            case ">=":
+            case "<":
+            case "<=":
+                Expr lhs = parseExpression();
+                Expr rhs = parseExpression();
+                return new Expr(op, lhs, rhs, null, null, -1);
+            default:
+                throw new BallerinaException("invalid table query plan token: " + op);
+        }
+    }
+
+    private String parseAlias() {
+        String alias = next();
+        return alias.isEmpty() ? null : alias;
+    }
+
+    private static int parseIndex(String token) {
+        try {
+            int index = Integer.parseInt(token);
+            if (index >= 0) {
+                return index;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new BallerinaException("invalid table query plan index: " + token);
+    }
+
+    private void expect(String token) {
+        String actual = next();
+        if (!token.equals(actual)) {
+            throw new BallerinaException("invalid table query plan token: " + actual + ", expected " + token);
+        }
+    }
+
+    private String next() {
+        if (position >= plan.length) {
+            throw new BallerinaException("incomplete table query plan: " + String.join(" ", plan));
+        }
+        return plan[position++];
+    }
+
+    /**
+     * An expression of a plan.
+     */
+    private static class Expr {
+        private final String op;
+        private final Expr lhs;
+        private final Expr rhs;
+        private final String qualifier;
+        private final String name;
+        private final int paramIndex;
+
+        private Expr(String op, Expr lhs, Expr rhs, String qualifier, String name, int paramIndex) {
+            this.op = op;
+            this.lhs = lhs;
+            this.rhs = rhs;
+            this.qualifier = qualifier;
+            this.name = name;
+            this.paramIndex = paramIndex;
+        }
+    }
+
+    /**
+     * The tables whose columns an expression refers to, and whether the columns may be qualified by the aliases of
+     * the tables.
+     */
+    private static class Scope {
+        private final boolean qualified;
+        private final int[] inputs;
+
+        private Scope(boolean qualified, int... inputs) {
+            this.qualified = qualified;
+            this.inputs = inputs;
+        }
+    }
+
+    /**
+     * A condition evaluated for a row of each table, to {@code TRUE}, {@code FALSE} or {@code UNKNOWN}.
+     */
+    private interface Condition {
+        int test(int[] rows);
+    }
+
+    /**
+     * A column of a table or a literal, whose values are read according to its type tag.
+     */
+    private abstract static class Value {
+        final int kind;
+
+        Value(int kind) {
+            this.kind = kind;
+        }
+
+        long getInt(int[] rows) {
+            throw new IllegalStateException();
+        }
+
+        double getFloat(int[] rows) {
+            throw new IllegalStateException();
+        }
+
+        String getString(int[] rows) {
+            throw new IllegalStateException();
+        }
+
+        boolean getBoolean(int[] rows) {
+            throw new IllegalStateException();
+        }
+
+        byte[] getBlob(int[] rows) {
+            throw new IllegalStateException();
+        }
+
+        BRefType getRef(int[] rows) {
+            throw new IllegalStateException();
+        }
+
+        double getNumber(int[] rows) {
+            return kind == TypeTags.INT_TAG ? getInt(rows) : getFloat(rows);
+        }
+
+        /**
+         * Returns the value as a key of a hash index, or null if it cannot match any other value.
+         */
+        Object getKey(int[] rows) {
+            switch (kind) {
+                case TypeTags.INT_TAG:
+                    return getInt(rows);
+                case TypeTags.BOOLEAN_TAG:
+                    return getBoolean(rows);
+                default:
+                    return getString(rows);
+            }
+        }
+    }
+
+    private abstract static class ColumnValue extends Value {
+        final int input;
+        final int column;
+
+        ColumnValue(int kind, int input, int column) {
+            super(kind);
+            this.input = input;
+            this.column = column;
+        }
+    }
+
+    /**
+     * Creates the result structs from the selected values, which are set to the fields in order.
+     */
+    private static class ResultRow {
+        private final BStructType type;
+        private final Value[] values;
+        private final int[] tags;
+        private final int[] slots;
+
+        private ResultRow(BStructType type, Value[] values) {
+            BStructType.StructField[] fields = type.getStructFields();
+            if (values.length < fields.length) {
+                // reported by the in-memory database when the result is read
+                throw UnsupportedQueryException.INSTANCE;
+            }
+            this.type = type;
+            this.values = values;
+            this.tags = new int[fields.length];
+            this.slots = new int[fields.length];
+            int[] slotCounts = new int[6];
+            for (int i = 0; i < fields.length; i++) {
+                int tag = fields[i].getFieldType().getTag();
+                if (tag != values[i].kind || tag == TypeTags.ARRAY_TAG) {
+                    // values are converted to the type of the field by the in-memory database
+                    throw UnsupportedQueryException.INSTANCE;
+                }
+                tags[i] = tag;
+                switch (tag) {
+                    case TypeTags.INT_TAG:
+                        slots[i] = slotCounts[0]++;
+                        break;
+                    case TypeTags.FLOAT_TAG:
+                        slots[i] = slotCounts[1]++;
+                        break;
+                    case TypeTags.STRING_TAG:
+                        slots[i] = slotCounts[2]++;
+                        break;
+                    case TypeTags.BOOLEAN_TAG:
+                        slots[i] = slotCounts[3]++;
+                        break;
+                    case TypeTags.BLOB_TAG:
+                        slots[i] = slotCounts[4]++;
+                        break;
+                    default:
+                        slots[i] = slotCounts[5]++;
+                        break;
+                }
+            }
+        }
+
+        private BStruct create(int[] rows) {
+            BStruct struct = new BStruct(type);
+            for (int i = 0; i < tags.length; i++) {
+                Value value = values[i];
+                switch (tags[i]) {
+                    case TypeTags.INT_TAG:
+                        struct.setIntField(slots[i], value.getInt(rows));
+                        break;
+                    case TypeTags.FLOAT_TAG:
+                        struct.setFloatField(slots[i], value.getFloat(rows));
+                        break;
+                    case TypeTags.STRING_TAG:
+                        struct.setStringField(slots[i], value.getString(rows));
+                        break;
+                    case TypeTags.BOOLEAN_TAG:
+                        struct.setBooleanField(slots[i], value.getBoolean(rows) ? 1 : 0);
+                        break;
+                    case TypeTags.BLOB_TAG:
+                        struct.setBlobField(slots[i], value.getBlob(rows));
+                        break;
+                    default:
+                        // copied when the struct is added to the result
+                        struct.setRefField(slots[i], value.getRef(rows));
+                        break;
+                }
+            }
+            return struct;
+        }
+    }
+
+    /**
+     * The rows of the from table to be evaluated, in order.
+     */
+    private interface Rows {
+        int size();
+
+        int get(int i);
+    }
+
+    private static class AllRows implements Rows {
+        private final int size;
+
+        private AllRows(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int get(int i) {
+            return i;
+        }
+    }
+
+    private static class IndexedRows implements Rows {
+        private final ColumnarTable.RowList rows;
+
+        private IndexedRows(ColumnarTable.RowList rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+
+        @Override
+        public int get(int i) {
+            return rows.get(i);
+        }
+    }
+
+    /**
+     * Thrown when a plan cannot be evaluated over the given tables, so that the query is left to the in-memory
+     * database.
+     */
+    private static class UnsupportedQueryException extends RuntimeException {
+        private static final UnsupportedQueryException INSTANCE = new UnsupportedQueryException();
+
+        private UnsupportedQueryException() {
+            super(null, null, false, false);
+        }
+    }
+}
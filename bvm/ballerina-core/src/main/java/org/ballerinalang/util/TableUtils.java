@@ -19,8 +19,11 @@
 package org.ballerinalang.util;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.ColumnDefinition;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.types.TypeTags;
 import org.ballerinalang.model.values.BBlobArray;
 import org.ballerinalang.model.values.BBooleanArray;
@@ -37,6 +40,8 @@ import java.io.ByteArrayInputStream;
 import java.sql.Blob;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Includes utility methods required for table related operations.
@@ -179,6 +184,43 @@ public class TableUtils {
         return arrayData;
     }
 
+    static List<ColumnDefinition> getColumnDefinitions(BStructType structType) {
+        BStructType.StructField[] structFields = structType.getStructFields();
+        List<ColumnDefinition> columnDefs = new ArrayList<>(structFields.length);
+        for (BStructType.StructField sf : structFields) {
+            BType type = sf.getFieldType();
+            TypeKind typeKind = TypeKind.ANY;
+            switch (type.getTag()) {
+            case TypeTags.INT_TAG:
+                typeKind = TypeKind.INT;
+                break;
+            case TypeTags.STRING_TAG:
+                typeKind = TypeKind.STRING;
+                break;
+            case TypeTags.FLOAT_TAG:
+                typeKind = TypeKind.FLOAT;
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                typeKind = TypeKind.BOOLEAN;
+                break;
+            case TypeTags.JSON_TAG:
+                typeKind = TypeKind.JSON;
+                break;
+            case TypeTags.XML_TAG:
+                typeKind = TypeKind.XML;
+                break;
+            case TypeTags.BLOB_TAG:
+                typeKind = TypeKind.BLOB;
+                break;
+            case TypeTags.ARRAY_TAG:
+                typeKind = TypeKind.ARRAY;
+                break;
+            }
+            columnDefs.add(new ColumnDefinition(sf.fieldName, typeKind));
+        }
+        return columnDefs;
+    }
+
     /**
      * Creates an instance of {@code {@link BStruct}} of the type TableOperationError.
      *
@@ -28,6 +28,7 @@ import org.ballerinalang.util.program.WorkerDataIndex;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * {@code CallableUnitInfo} contains common metadata of a Ballerina function/resource/action in the program file.
@@ -65,7 +66,8 @@ public class CallableUnitInfo implements AttributeInfoPool, WorkerInfoPool {
     public WorkerDataIndex paramWorkerIndex;
     public WorkerDataIndex retWorkerIndex;
     
-    private NativeCallableUnit nativeCallableUnit;
+    private volatile NativeCallableUnit nativeCallableUnit;
+    private Supplier<NativeCallableUnit> nativeCallableUnitLoader;
     
     private WorkerSet workerSet = new WorkerSet();
 
@@ -269,12 +271,33 @@ public class CallableUnitInfo implements AttributeInfoPool, WorkerInfoPool {
     }
     
     public NativeCallableUnit getNativeCallableUnit() {
+        NativeCallableUnit nativeCallableUnit = this.nativeCallableUnit;
+        if (nativeCallableUnit == null && nativeCallableUnitLoader != null) {
+            nativeCallableUnit = loadNativeCallableUnit();
+        }
         return nativeCallableUnit;
     }
     
     public void setNativeCallableUnit(NativeCallableUnit nativeCallableUnit) {
         this.nativeCallableUnit = nativeCallableUnit;
     }
+
+    /**
+     * Sets the loader of the native implementation of this callable unit. The implementation is loaded when it
+     * is first requested.
+     *
+     * @param nativeCallableUnitLoader loader of the native callable unit
+     */
+    public void setNativeCallableUnitLoader(Supplier<NativeCallableUnit> nativeCallableUnitLoader) {
+        this.nativeCallableUnitLoader = nativeCallableUnitLoader;
+    }
+
+    private synchronized NativeCallableUnit loadNativeCallableUnit() {
+        if (nativeCallableUnit == null) {
+            nativeCallableUnit = nativeCallableUnitLoader.get();
+        }
+        return nativeCallableUnit;
+    }
     
     /**
      * This represents a worker set with different execution roles.
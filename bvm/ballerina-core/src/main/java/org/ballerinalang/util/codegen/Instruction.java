@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.util.codegen.cpentries.ForkJoinCPEntry;
 
@@ -99,14 +100,54 @@ public class Instruction {
      * @since 0.95.6
      */
     public static class InstructionVCALL extends InstructionCALL {
+
+        /* maximum number of receiver types cached at a call site before it is treated as megamorphic */
+        private static final int MAX_CACHED_TYPES = 4;
+
         public int receiverRegIndex;
 
+        /*
+         * Polymorphic inline cache of the attached functions resolved at this call site. Entries are
+         * immutable and the head is replaced as a whole, so concurrent workers see either the old or the
+         * new cache. Types are fixed once the program is loaded, hence entries never need invalidation.
+         */
+        private volatile InlineCacheEntry inlineCache;
+        private volatile boolean megamorphic;
+
         InstructionVCALL(int opcode, int receiverRegIndex, int funcRefCPIndex,
                         FunctionInfo functionInfo, int flags, int[] argRegs, int[] retRegs) {
             super(opcode, funcRefCPIndex, functionInfo, flags, argRegs, retRegs);
             this.receiverRegIndex = receiverRegIndex;
         }
 
+        /**
+         * Returns the attached function to be invoked for a receiver of the given type, resolving it
+         * through the struct info only when the type has not been seen at this call site yet.
+         *
+         * @param receiverType type of the receiver struct
+         * @return the attached function of the receiver type
+         */
+        public FunctionInfo getConcreteFunctionInfo(BStructType receiverType) {
+            InlineCacheEntry head = inlineCache;
+            for (InlineCacheEntry entry = head; entry != null; entry = entry.next) {
+                if (entry.receiverType == receiverType) {
+                    return entry.functionInfo;
+                }
+            }
+
+            FunctionInfo concreteFuncInfo = receiverType.structInfo.funcInfoEntries
+                    .get(functionInfo.getName()).functionInfo;
+            if (!megamorphic) {
+                int depth = head == null ? 0 : head.depth;
+                if (depth < MAX_CACHED_TYPES) {
+                    inlineCache = new InlineCacheEntry(receiverType, concreteFuncInfo, head);
+                } else {
+                    megamorphic = true;
+                }
+            }
+            return concreteFuncInfo;
+        }
+
         @Override
         public String toString() {
             StringJoiner sj = new StringJoiner(" ");
@@ -120,6 +161,26 @@ public class Instruction {
         }
     }
 
+    /**
+     * {@code InlineCacheEntry} maps a receiver type to the attached function resolved for it at a
+     * {@link InstructionVCALL} call site.
+     *
+     * @since 0.970.0
+     */
+    private static class InlineCacheEntry {
+        final BStructType receiverType;
+        final FunctionInfo functionInfo;
+        final InlineCacheEntry next;
+        final int depth;
+
+        InlineCacheEntry(BStructType receiverType, FunctionInfo functionInfo, InlineCacheEntry next) {
+            this.receiverType = receiverType;
+            this.functionInfo = functionInfo;
+            this.next = next;
+            this.depth = next == null ? 1 : next.depth + 1;
+        }
+    }
+
     /**
      * {@code InstructionACALL} represents the ACALL instruction in Ballerina bytecode.
      * <p>
@@ -291,4 +352,159 @@ public class Instruction {
             return Mnemonics.getMnem(opcode) + " " + sj.toString();
         }
     }
+
+    /**
+     * {@code {@link InstructionIConst}} represents the ICONST instruction, with the constant value
+     * resolved from the constant pool when the program file is loaded.
+     *
+     * @since 0.970.0
+     */
+    public static class InstructionIConst extends Instruction {
+
+        public long value;
+        public int regIndex;
+
+        InstructionIConst(int opcode, int cpIndex, long value, int regIndex) {
+            super(opcode, cpIndex, regIndex);
+            this.value = value;
+            this.regIndex = regIndex;
+        }
+    }
+
+    /**
+     * {@code {@link InstructionFConst}} represents the FCONST instruction, with the constant value
+     * resolved from the constant pool when the program file is loaded.
+     *
+     * @since 0.970.0
+     */
+    public static class InstructionFConst extends Instruction {
+
+        public double value;
+        public int regIndex;
+
+        InstructionFConst(int opcode, int cpIndex, double value, int regIndex) {
+            super(opcode, cpIndex, regIndex);
+            this.value = value;
+            this.regIndex = regIndex;
+        }
+    }
+
+    /**
+     * {@code {@link InstructionSConst}} represents the SCONST instruction, with the constant value
+     * resolved from the constant pool when the program file is loaded.
+     *
+     * @since 0.970.0
+     */
+    public static class InstructionSConst extends Instruction {
+
+        public String value;
+        public int regIndex;
+
+        InstructionSConst(int opcode, int cpIndex, String value, int regIndex) {
+            super(opcode, cpIndex, regIndex);
+            this.value = value;
+            this.regIndex = regIndex;
+        }
+    }
+
+    /**
+     * {@code {@link SuperInstruction}} executes an instruction together with the instruction which follows
+     * it in a single dispatch. The second instruction is kept at its own address, so that it can still be
+     * the target of a branch.
+     *
+     * @since 0.970.0
+     */
+    public abstract static class SuperInstruction extends Instruction {
+
+        public Instruction first;
+        public Instruction second;
+
+        SuperInstruction(int opcode, Instruction first, Instruction second) {
+            super(opcode);
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public String toString() {
+            return Mnemonics.getMnem(opcode) + " [" + first + "; " + second + "]";
+        }
+    }
+
+    /**
+     * {@code {@link InstructionCompareBranch}} represents an integer comparison followed by a
+     * BR_TRUE/BR_FALSE on the result of the comparison.
+     *
+     * @since 0.970.0
+     */
+    public static class InstructionCompareBranch extends SuperInstruction {
+
+        public int lhsRegIndex;
+        public int rhsRegIndex;
+        public int resultRegIndex;
+        public boolean branchIfTrue;
+        public int targetIp;
+
+        InstructionCompareBranch(int opcode, Instruction compare, Instruction branch) {
+            super(opcode, compare, branch);
+            this.lhsRegIndex = compare.operands[0];
+            this.rhsRegIndex = compare.operands[1];
+            this.resultRegIndex = compare.operands[2];
+            this.branchIfTrue = branch.opcode == InstructionCodes.BR_TRUE;
+            this.targetIp = branch.operands[1];
+        }
+    }
+
+    /**
+     * {@code {@link InstructionIConstArithmetic}} represents an integer constant load followed by an
+     * integer IADD/ISUB/IMUL which uses the constant.
+     *
+     * @since 0.970.0
+     */
+    public static class InstructionIConstArithmetic extends SuperInstruction {
+
+        public long value;
+        public int constRegIndex;
+        public int lhsRegIndex;
+        public int rhsRegIndex;
+        public int resultRegIndex;
+
+        InstructionIConstArithmetic(int opcode, Instruction constLoad, long value, int constRegIndex,
+                                    Instruction arithmetic) {
+            super(opcode, constLoad, arithmetic);
+            this.value = value;
+            this.constRegIndex = constRegIndex;
+            this.lhsRegIndex = arithmetic.operands[0];
+            this.rhsRegIndex = arithmetic.operands[1];
+            this.resultRegIndex = arithmetic.operands[2];
+        }
+    }
+
+    /**
+     * {@code {@link InstructionFieldLoadCompare}} represents an IFIELDLOAD followed by an integer
+     * comparison which uses the loaded field value.
+     *
+     * @since 0.970.0
+     */
+    public static class InstructionFieldLoadCompare extends SuperInstruction {
+
+        public int structRegIndex;
+        public int fieldIndex;
+        public int fieldRegIndex;
+        public int compareOpcode;
+        public int lhsRegIndex;
+        public int rhsRegIndex;
+        public int resultRegIndex;
+
+        InstructionFieldLoadCompare(int opcode, Instruction fieldLoad, Instruction compare) {
+            super(opcode, fieldLoad, compare);
+            this.structRegIndex = fieldLoad.operands[0];
+            this.fieldIndex = fieldLoad.operands[1];
+            this.fieldRegIndex = fieldLoad.operands[2];
+            this.compareOpcode = compare.opcode;
+            this.lhsRegIndex = compare.operands[0];
+            this.rhsRegIndex = compare.operands[1];
+            this.resultRegIndex = compare.operands[2];
+        }
+    }
 }
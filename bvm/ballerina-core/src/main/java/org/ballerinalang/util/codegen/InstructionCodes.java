@@ -290,5 +290,17 @@ public interface InstructionCodes {
     int TEQ = 253;
     int TNE = 254;
 
-    int INSTRUCTION_CODE_COUNT = 255;
+    // Superinstructions. These are created when a program file is loaded, and are never emitted by the compiler.
+    int IGT_BR = 255;
+    int IGE_BR = 256;
+    int ILT_BR = 257;
+    int ILE_BR = 258;
+    int IEQ_BR = 259;
+    int INE_BR = 260;
+    int ICONST_IADD = 261;
+    int ICONST_ISUB = 262;
+    int ICONST_IMUL = 263;
+    int IFIELDLOAD_ICMP = 264;
+
+    int INSTRUCTION_CODE_COUNT = 265;
 }
@@ -267,6 +267,17 @@ public class Mnemonics {
         mnemonics[InstructionCodes.S2JSONX] = "s2jsonx";
         mnemonics[InstructionCodes.LOCK] = "lock";
         mnemonics[InstructionCodes.UNLOCK] = "unlock";
+
+        mnemonics[InstructionCodes.IGT_BR] = "igt_br";
+        mnemonics[InstructionCodes.IGE_BR] = "ige_br";
+        mnemonics[InstructionCodes.ILT_BR] = "ilt_br";
+        mnemonics[InstructionCodes.ILE_BR] = "ile_br";
+        mnemonics[InstructionCodes.IEQ_BR] = "ieq_br";
+        mnemonics[InstructionCodes.INE_BR] = "ine_br";
+        mnemonics[InstructionCodes.ICONST_IADD] = "iconst_iadd";
+        mnemonics[InstructionCodes.ICONST_ISUB] = "iconst_isub";
+        mnemonics[InstructionCodes.ICONST_IMUL] = "iconst_imul";
+        mnemonics[InstructionCodes.IFIELDLOAD_ICMP] = "ifieldload_icmp";
     }
 
     public static String getMnem(int opcode) {
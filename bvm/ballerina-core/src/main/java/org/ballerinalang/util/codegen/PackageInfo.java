@@ -47,6 +47,7 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     private List<ConstantPoolEntry> constantPoolEntries = new ArrayList<>();
 
     private Instruction[] instructions;
+    private Instruction[] optimizedInstructions;
     private List<Instruction> instructionList = new ArrayList<>();
 
     private Map<String, PackageVarInfo> constantInfoMap = new LinkedHashMap<>();
@@ -239,6 +240,20 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
         return instructions;
     }
 
+    /**
+     * Returns the instructions of this package with common instruction sequences rewritten to superinstructions.
+     * The instruction addresses are the same as the addresses of {@link #getInstructions()}.
+     *
+     * @return the optimized instructions
+     */
+    public Instruction[] getOptimizedInstructions() {
+        return optimizedInstructions;
+    }
+
+    public void setOptimizedInstructions(Instruction[] optimizedInstructions) {
+        this.optimizedInstructions = optimizedInstructions;
+    }
+
     public int getInstructionCount() {
         return instructionList.size();
     }
@@ -17,6 +17,7 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.bvm.WorkerDataArena;
 import org.ballerinalang.connector.impl.ServerConnectorRegistry;
 import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.values.BStruct;
@@ -75,6 +76,8 @@ public class ProgramFile implements ConstantPool, AttributeInfoPool {
 
     private List<AnnAttributeValue> unresolvedAnnAttrValues = new ArrayList<>();
 
+    private final WorkerDataArena workerDataArena = new WorkerDataArena();
+
     public int getMagicValue() {
         return magicValue;
     }
@@ -234,4 +237,8 @@ public class ProgramFile implements ConstantPool, AttributeInfoPool {
         return debugger;
     }
 
+    public WorkerDataArena getWorkerDataArena() {
+        return workerDataArena;
+    }
+
 }
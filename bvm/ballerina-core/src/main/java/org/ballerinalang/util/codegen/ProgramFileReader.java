@@ -17,7 +17,6 @@
  */
 package org.ballerinalang.util.codegen;
 
-import org.ballerinalang.model.NativeCallableUnit;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BConnectorType;
 import org.ballerinalang.model.types.BEnumType;
@@ -45,9 +44,12 @@ import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.NativeUnitLoader;
 import org.ballerinalang.util.codegen.Instruction.InstructionACALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionCALL;
+import org.ballerinalang.util.codegen.Instruction.InstructionFConst;
 import org.ballerinalang.util.codegen.Instruction.InstructionFORKJOIN;
+import org.ballerinalang.util.codegen.Instruction.InstructionIConst;
 import org.ballerinalang.util.codegen.Instruction.InstructionIteratorNext;
 import org.ballerinalang.util.codegen.Instruction.InstructionLock;
+import org.ballerinalang.util.codegen.Instruction.InstructionSConst;
 import org.ballerinalang.util.codegen.Instruction.InstructionTCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionVCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionWRKSendReceive;
@@ -78,12 +80,13 @@ import org.ballerinalang.util.codegen.cpentries.WorkerDataChannelRefCPEntry;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
 import org.ballerinalang.util.exceptions.ProgramFileFormatException;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -109,30 +112,38 @@ import static org.ballerinalang.util.BLangConstants.VERSION_NUMBER;
  */
 public class ProgramFileReader {
 
+    // Line number, file name CP index and instruction address of a line number info entry
+    private static final int LINE_NUMBER_INFO_SIZE = 12;
+
     private ProgramFile programFile;
 
     private List<ConstantPoolEntry> unresolvedCPEntries = new ArrayList<>();
 
+    // Content of the program file, the data input streams of the reader are backed by this buffer
+    private ByteBuffer programBuffer;
+
     public ProgramFile readProgram(Path programFilePath) throws IOException {
-        InputStream fileIS = null;
-        try {
+        try (FileChannel fileChannel = FileChannel.open(programFilePath, StandardOpenOption.READ,
+                LinkOption.NOFOLLOW_LINKS)) {
             programFile = new ProgramFile();
             programFile.setProgramFilePath(programFilePath);
-            fileIS = Files.newInputStream(programFilePath, StandardOpenOption.READ, LinkOption.NOFOLLOW_LINKS);
-            BufferedInputStream bufferedIS = new BufferedInputStream(fileIS);
-            DataInputStream dataInStream = new DataInputStream(bufferedIS);
-            return readProgramInternal(dataInStream);
-        } finally {
-            if (fileIS != null) {
-                fileIS.close();
-            }
+            // The mapping stays valid after the channel is closed, and it is released once the
+            // lazily decoded sections referring to it are no longer reachable.
+            programBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            return readProgramInternal(new DataInputStream(new ByteBufferInputStream(programBuffer)));
         }
     }
 
     public ProgramFile readProgram(InputStream programFileInStream) throws IOException {
         programFile = new ProgramFile();
-        DataInputStream dataInStream = new DataInputStream(programFileInStream);
-        return readProgramInternal(dataInStream);
+        ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
+        byte[] bytes = new byte[8192];
+        int count;
+        while ((count = programFileInStream.read(bytes)) != -1) {
+            byteOutStream.write(bytes, 0, count);
+        }
+        programBuffer = ByteBuffer.wrap(byteOutStream.toByteArray());
+        return readProgramInternal(new DataInputStream(new ByteBufferInputStream(programBuffer)));
     }
 
     private ProgramFile readProgramInternal(DataInputStream dataInStream) throws IOException {
@@ -405,6 +416,9 @@ public class ProgramFileReader {
         readInstructions(dataInStream, packageInfo);
 
         packageInfo.complete();
+
+        // Rewrite common instruction sequences to superinstructions
+        packageInfo.setOptimizedInstructions(SuperInstructionFactory.create(packageInfo.getInstructions()));
     }
 
     private void readStructInfoEntries(DataInputStream dataInStream,
@@ -615,14 +629,16 @@ public class ProgramFileReader {
                 readWorkerInfoEntries(dataInStream, packageInfo, actionInfo);
 
                 if (nativeAction) {
-                    NativeCallableUnit nativeActionObj = NativeUnitLoader.getInstance().loadNativeAction(
-                            actionInfo.getPkgPath(), actionInfo.getConnectorInfo().getName(), actionInfo.getName());
-                    if (nativeActionObj == null && !actionInfo.name.equals("<init>")) {
+                    String pkgPath = actionInfo.getPkgPath();
+                    String connectorName = actionInfo.getConnectorInfo().getName();
+                    NativeUnitLoader nativeUnitLoader = NativeUnitLoader.getInstance();
+                    if (!nativeUnitLoader.isNativeActionAvailable(pkgPath, connectorName, actionName)
+                            && !actionInfo.name.equals("<init>")) {
                         throw new BLangRuntimeException("native action not available " +
-                                actionInfo.getPkgPath() + ":" + actionInfo
-                                .getConnectorInfo().getName() + "." + actionName);
+                                pkgPath + ":" + connectorName + "." + actionName);
                     }
-                    actionInfo.setNativeCallableUnit(nativeActionObj);
+                    actionInfo.setNativeCallableUnitLoader(() ->
+                            nativeUnitLoader.loadNativeAction(pkgPath, connectorName, actionName));
                 }
 
                 // Read attributes of the struct info
@@ -816,13 +832,15 @@ public class ProgramFileReader {
         readWorkerInfoEntries(dataInStream, packageInfo, functionInfo);
 
         if (nativeFunc) {
-            NativeCallableUnit nativeFunction = NativeUnitLoader.getInstance().loadNativeFunction(
-                    functionInfo.getPkgPath(), uniqueFuncName);
-            if (nativeFunction == null) {
+            // The implementation of the native function is only loaded when the function is called.
+            String pkgPath = functionInfo.getPkgPath();
+            NativeUnitLoader nativeUnitLoader = NativeUnitLoader.getInstance();
+            if (!nativeUnitLoader.isNativeFunctionAvailable(pkgPath, uniqueFuncName)) {
                 throw new BLangRuntimeException("native function not available " +
-                        functionInfo.getPkgPath() + ":" + uniqueFuncName);
+                        pkgPath + ":" + uniqueFuncName);
             }
-            functionInfo.setNativeCallableUnit(nativeFunction);
+            functionInfo.setNativeCallableUnitLoader(() ->
+                    nativeUnitLoader.loadNativeFunction(pkgPath, uniqueFuncName));
         }
 
         // Read attributes
@@ -1325,10 +1343,24 @@ public class ProgramFileReader {
             case LINE_NUMBER_TABLE_ATTRIBUTE:
                 LineNumberTableAttributeInfo lnNoTblAttrInfo = new LineNumberTableAttributeInfo(attribNameCPIndex);
                 int lineNoInfoCount = dataInStream.readShort();
-                for (int i = 0; i < lineNoInfoCount; i++) {
-                    LineNumberInfo lineNumberInfo = getLineNumberInfo(dataInStream, constantPool);
-                    lnNoTblAttrInfo.addLineNumberInfo(lineNumberInfo);
-                }
+
+                // Line numbers are only needed for errors and debugging, hence the entries are skipped here
+                // and decoded from the program file when they are first used.
+                ByteBuffer lineNoInfoBuffer = programBuffer.slice();
+                lineNoInfoBuffer.limit(lineNoInfoCount * LINE_NUMBER_INFO_SIZE);
+                programBuffer.position(programBuffer.position() + lineNoInfoCount * LINE_NUMBER_INFO_SIZE);
+                lnNoTblAttrInfo.setLineNumberInfoLoader(() -> {
+                    List<LineNumberInfo> lineNumberInfos = new ArrayList<>(lineNoInfoCount);
+                    DataInputStream lineNoInfoStream = new DataInputStream(new ByteBufferInputStream(lineNoInfoBuffer));
+                    try {
+                        for (int i = 0; i < lineNoInfoCount; i++) {
+                            lineNumberInfos.add(getLineNumberInfo(lineNoInfoStream, constantPool));
+                        }
+                    } catch (IOException e) {
+                        throw new ProgramFileFormatException("invalid line number table", e);
+                    }
+                    return lineNumberInfos;
+                });
                 return lnNoTblAttrInfo;
             case DEFAULT_VALUE_ATTRIBUTE:
                 DefaultValue defaultValue = getDefaultValue(dataInStream, constantPool);
@@ -1453,8 +1485,23 @@ public class ProgramFileReader {
                     break;
                 }
                 case InstructionCodes.ICONST:
+                    i = codeStream.readInt();
+                    j = codeStream.readInt();
+                    packageInfo.addInstruction(new InstructionIConst(opcode, i,
+                            ((IntegerCPEntry) packageInfo.getCPEntry(i)).getValue(), j));
+                    break;
                 case InstructionCodes.FCONST:
+                    i = codeStream.readInt();
+                    j = codeStream.readInt();
+                    packageInfo.addInstruction(new InstructionFConst(opcode, i,
+                            ((FloatCPEntry) packageInfo.getCPEntry(i)).getValue(), j));
+                    break;
                 case InstructionCodes.SCONST:
+                    i = codeStream.readInt();
+                    j = codeStream.readInt();
+                    packageInfo.addInstruction(new InstructionSConst(opcode, i,
+                            ((StringCPEntry) packageInfo.getCPEntry(i)).getValue(), j));
+                    break;
                 case InstructionCodes.IMOVE:
                 case InstructionCodes.FMOVE:
                 case InstructionCodes.SMOVE:
@@ -1955,4 +2002,49 @@ public class ProgramFileReader {
         }
         return argRegs;
     }
+
+    /**
+     * An {@code InputStream} which reads the remaining content of a {@code ByteBuffer}.
+     * <p>
+     * The position of the buffer is the position of the stream, hence sections of the program file can be
+     * sliced from the buffer while it is being read.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.util.codegen.Instruction.InstructionCompareBranch;
+import org.ballerinalang.util.codegen.Instruction.InstructionFieldLoadCompare;
+import org.ballerinalang.util.codegen.Instruction.InstructionIConst;
+import org.ballerinalang.util.codegen.Instruction.InstructionIConstArithmetic;
+
+/**
+ * This class rewrites common instruction sequences of a package into superinstructions.
+ * <p>
+ * A superinstruction replaces the first instruction of a sequence, and the remaining instructions are kept
+ * at their addresses. Therefore instruction addresses, branch targets, line numbers and error table entries
+ * stay valid for the rewritten code.
+ *
+ * @since 0.970.0
+ */
+public class SuperInstructionFactory {
+
+    public static Instruction[] create(Instruction[] code) {
+        Instruction[] superCode = new Instruction[code.length];
+        for (int ip = 0; ip < code.length; ip++) {
+            Instruction superInstruction = null;
+            if (ip + 1 < code.length) {
+                superInstruction = get(code[ip], code[ip + 1]);
+            }
+            superCode[ip] = superInstruction != null ? superInstruction : code[ip];
+        }
+        return superCode;
+    }
+
+    private static Instruction get(Instruction first, Instruction second) {
+        switch (first.opcode) {
+            case InstructionCodes.IGT:
+            case InstructionCodes.IGE:
+            case InstructionCodes.ILT:
+            case InstructionCodes.ILE:
+            case InstructionCodes.IEQ:
+            case InstructionCodes.INE:
+                if ((second.opcode == InstructionCodes.BR_TRUE || second.opcode == InstructionCodes.BR_FALSE)
+                        && second.operands[0] == first.operands[2]) {
+                    return new InstructionCompareBranch(getCompareBranchOpcode(first.opcode), first, second);
+                }
+                return null;
+            case InstructionCodes.ICONST:
+                return getIConstArithmetic(first, ((InstructionIConst) first).value, first.operands[1], second);
+            case InstructionCodes.ICONST_0:
+            case InstructionCodes.ICONST_1:
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+                return getIConstArithmetic(first, first.opcode - InstructionCodes.ICONST_0, first.operands[0],
+                        second);
+            case InstructionCodes.IFIELDLOAD:
+                if (isIntCompare(second.opcode) && (second.operands[0] == first.operands[2]
+                        || second.operands[1] == first.operands[2])) {
+                    return new InstructionFieldLoadCompare(InstructionCodes.IFIELDLOAD_ICMP, first, second);
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static Instruction getIConstArithmetic(Instruction constLoad, long value, int constRegIndex,
+                                                   Instruction arithmetic) {
+        int opcode;
+        switch (arithmetic.opcode) {
+            case InstructionCodes.IADD:
+                opcode = InstructionCodes.ICONST_IADD;
+                break;
+            case InstructionCodes.ISUB:
+                opcode = InstructionCodes.ICONST_ISUB;
+                break;
+            case InstructionCodes.IMUL:
+                opcode = InstructionCodes.ICONST_IMUL;
+                break;
+            default:
+                return null;
+        }
+        if (arithmetic.operands[0] != constRegIndex && arithmetic.operands[1] != constRegIndex) {
+            return null;
+        }
+        return new InstructionIConstArithmetic(opcode, constLoad, value, constRegIndex, arithmetic);
+    }
+
+    private static boolean isIntCompare(int opcode) {
+        switch (opcode) {
+            case InstructionCodes.IGT:
+            case InstructionCodes.IGE:
+            case InstructionCodes.ILT:
+            case InstructionCodes.ILE:
+            case InstructionCodes.IEQ:
+            case InstructionCodes.INE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int getCompareBranchOpcode(int compareOpcode) {
+        switch (compareOpcode) {
+            case InstructionCodes.IGT:
+                return InstructionCodes.IGT_BR;
+            case InstructionCodes.IGE:
+                return InstructionCodes.IGE_BR;
+            case InstructionCodes.ILT:
+                return InstructionCodes.ILT_BR;
+            case InstructionCodes.ILE:
+                return InstructionCodes.ILE_BR;
+            case InstructionCodes.IEQ:
+                return InstructionCodes.IEQ_BR;
+            default:
+                return InstructionCodes.INE_BR;
+        }
+    }
+}
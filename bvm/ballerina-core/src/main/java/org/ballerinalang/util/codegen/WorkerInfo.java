@@ -16,6 +16,7 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.bvm.jit.CompiledCode;
 import org.ballerinalang.util.codegen.attributes.AttributeInfo;
 import org.ballerinalang.util.codegen.attributes.AttributeInfoPool;
 import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
@@ -24,6 +25,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@code WorkerInfo} represents a worker in Ballerina program file.
@@ -45,6 +47,11 @@ public class WorkerInfo implements AttributeInfoPool {
 
     private Map<AttributeInfo.Kind, AttributeInfo> attributeInfoMap = new HashMap<>();
 
+    // JIT tier state of this worker
+    private final AtomicInteger invocationCount = new AtomicInteger();
+    private volatile CompiledCode compiledCode;
+    private volatile boolean jitCompilable = true;
+
     public WorkerInfo(int workerNameCPIndex, String workerName) {
         this.workerName = workerName;
         this.workerNameCPIndex = workerNameCPIndex;
@@ -110,4 +117,24 @@ public class WorkerInfo implements AttributeInfoPool {
     public void setForkjoinInfos(ForkjoinInfo[] forkjoinInfos) {
         this.forkjoinInfos = forkjoinInfos;
     }
+
+    public int incrementInvocationCount() {
+        return invocationCount.incrementAndGet();
+    }
+
+    public CompiledCode getCompiledCode() {
+        return compiledCode;
+    }
+
+    public void setCompiledCode(CompiledCode compiledCode) {
+        this.compiledCode = compiledCode;
+    }
+
+    public boolean isJITCompilable() {
+        return jitCompilable;
+    }
+
+    public void setJITCompilable(boolean jitCompilable) {
+        this.jitCompilable = jitCompilable;
+    }
 }
@@ -21,6 +21,7 @@ import org.ballerinalang.util.codegen.LineNumberInfo;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * {@code LineNumberTableAttributeInfo} contains metadata of Ballerina line number info.
@@ -33,23 +34,48 @@ public class LineNumberTableAttributeInfo implements AttributeInfo {
     private int attributeNameIndex;
 
     private List<LineNumberInfo> lineNumberInfos = new ArrayList<>();
+    private volatile Supplier<List<LineNumberInfo>> lineNumberInfoLoader;
 
     public LineNumberTableAttributeInfo(int attributeNameIndex) {
         this.attributeNameIndex = attributeNameIndex;
     }
 
     public void addLineNumberInfo(LineNumberInfo lineNumberInfo) {
+        loadLineNumberInfos();
         lineNumberInfos.add(lineNumberInfo);
     }
 
     public LineNumberInfo[] getLineNumberInfoEntries() {
+        loadLineNumberInfos();
         return lineNumberInfos.toArray(new LineNumberInfo[0]);
     }
 
     public List<LineNumberInfo> getLineNumberInfoList() {
+        loadLineNumberInfos();
         return lineNumberInfos;
     }
 
+    /**
+     * Sets the loader of the line number info entries, which are then read when they are first requested.
+     *
+     * @param lineNumberInfoLoader loader of the line number info entries
+     */
+    public void setLineNumberInfoLoader(Supplier<List<LineNumberInfo>> lineNumberInfoLoader) {
+        this.lineNumberInfoLoader = lineNumberInfoLoader;
+    }
+
+    private void loadLineNumberInfos() {
+        if (lineNumberInfoLoader == null) {
+            return;
+        }
+        synchronized (this) {
+            if (lineNumberInfoLoader != null) {
+                lineNumberInfos = lineNumberInfoLoader.get();
+                lineNumberInfoLoader = null;
+            }
+        }
+    }
+
     @Override
     public Kind getKind() {
         return Kind.LINE_NUMBER_TABLE_ATTRIBUTE;
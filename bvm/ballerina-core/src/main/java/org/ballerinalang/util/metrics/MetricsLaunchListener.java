@@ -95,6 +95,22 @@ public class MetricsLaunchListener implements LaunchListener {
                 BLangScheduler.SchedulerStats::getWaitingForResponseWorkerCount).register();
         CallbackGauge.builder(prefix + "waiting_for_lock_worker_count", schedulerStats,
                 BLangScheduler.SchedulerStats::getWaitingForLockWorkerCount).register();
+        CallbackGauge.builder(prefix + "local_schedule_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getLocalScheduleCount).register();
+        CallbackGauge.builder(prefix + "external_schedule_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getExternalScheduleCount).register();
+        CallbackGauge.builder(prefix + "steal_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getStealCount).register();
+        CallbackGauge.builder(prefix + "queued_execution_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getQueuedExecutionCount).register();
+        CallbackGauge.builder(prefix + "active_thread_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getActiveThreadCount).register();
+        CallbackGauge.builder(prefix + "blocking_completed_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getBlockingCompletedCount).register();
+        CallbackGauge.builder(prefix + "blocking_queued_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getBlockingQueuedCount).register();
+        CallbackGauge.builder(prefix + "blocking_active_thread_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getBlockingActiveThreadCount).register();
     }
 
     @Override
@@ -309,7 +309,7 @@ public class BLangFunctions {
             return parentCtx;
         }
         try {
-            if (nativeCallable.isBlocking()) {
+            if (nativeCallable.isBlocking() && !BLangScheduler.isBlockingExecution(nativeCallable)) {
                 nativeCallable.execute(ctx, null);
                 BLangVMUtils.populateWorkerDataWithValues(parentLocalData, retRegs, ctx.getReturnValues(), retTypes);
                 if (FunctionFlags.isObserved(flags)) {
@@ -325,7 +325,12 @@ public class BLangFunctions {
                 } else {
                     callback = new BLangCallableUnitCallback(ctx, parentCtx, retRegs, retTypes);
                 }
-                nativeCallable.execute(ctx, callback);
+                if (nativeCallable.isBlocking()) {
+                    /* run in the blocking thread pool, and resume the parent same as a non-blocking call */
+                    BLangScheduler.executeBlockingNative(nativeCallable, ctx, callback);
+                } else {
+                    nativeCallable.execute(ctx, callback);
+                }
                 /* we want the parent to suspend (i.e. go to wait for response state) and stay until notified */
                 return null;
             }
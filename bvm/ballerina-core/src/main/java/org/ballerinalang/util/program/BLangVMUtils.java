@@ -118,20 +118,20 @@ public class BLangVMUtils {
 
     public static WorkerData createWorkerDataForLocal(WorkerInfo workerInfo, WorkerExecutionContext parentCtx,
             int[] argRegs, BType[] paramTypes) {
-        WorkerData wd = createWorkerData(workerInfo);
+        WorkerData wd = createWorkerData(workerInfo, parentCtx);
         BLangVMUtils.copyArgValues(parentCtx.workerLocal, wd, argRegs, paramTypes);
         return wd;
     }
 
     static WorkerData createWorkerDataForLocal(WorkerInfo workerInfo, WorkerExecutionContext parentCtx,
                                                int[] argRegs) {
-        WorkerData wd = createWorkerData(workerInfo);
+        WorkerData wd = createWorkerData(workerInfo, parentCtx);
         BLangVMUtils.copyValuesForForkJoin(parentCtx.workerLocal, wd, argRegs);
         return wd;
     }
 
-    private static WorkerData createWorkerData(WorkerInfo workerInfo) {
-        return new WorkerData(workerInfo.getCodeAttributeInfo());
+    private static WorkerData createWorkerData(WorkerInfo workerInfo, WorkerExecutionContext parentCtx) {
+        return parentCtx.programFile.getWorkerDataArena().acquire(workerInfo.getCodeAttributeInfo());
     }
 
     @SuppressWarnings("rawtypes")
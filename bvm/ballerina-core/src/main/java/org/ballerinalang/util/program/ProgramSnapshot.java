@@ -0,0 +1,1038 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.util.program;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.CallableUnitCallback;
+import org.ballerinalang.model.NativeCallableUnit;
+import org.ballerinalang.model.types.BMapType;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BBooleanArray;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BFloatArray;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.LockableStructureType;
+import org.ballerinalang.model.values.StructureType;
+import org.ballerinalang.util.BLangConstants;
+import org.ballerinalang.util.codegen.ActionInfo;
+import org.ballerinalang.util.codegen.AttachedFunctionInfo;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.ConnectorInfo;
+import org.ballerinalang.util.codegen.ForkjoinInfo;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.Instruction.InstructionACALL;
+import org.ballerinalang.util.codegen.Instruction.InstructionCALL;
+import org.ballerinalang.util.codegen.Instruction.InstructionTCALL;
+import org.ballerinalang.util.codegen.Instruction.InstructionVCALL;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.InstructionFactory;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.ServiceInfo;
+import org.ballerinalang.util.codegen.StructInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+import org.ballerinalang.util.codegen.attributes.AttributeInfo;
+import org.ballerinalang.util.codegen.attributes.VarTypeCountAttributeInfo;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FunctionRefCPEntry;
+import org.ballerinalang.util.debugger.Debugger;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.ballerinalang.util.BLangConstants.BLOB_OFFSET;
+import static org.ballerinalang.util.BLangConstants.BOOL_OFFSET;
+import static org.ballerinalang.util.BLangConstants.FLOAT_OFFSET;
+import static org.ballerinalang.util.BLangConstants.INT_OFFSET;
+import static org.ballerinalang.util.BLangConstants.NO_OF_VAR_TYPE_CATEGORIES;
+import static org.ballerinalang.util.BLangConstants.REF_OFFSET;
+import static org.ballerinalang.util.BLangConstants.STRING_OFFSET;
+
+/**
+ * A {@code ProgramSnapshot} holds the package variables of a program after its packages are initialized, so that
+ * they are restored instead of initialized when the program is started.
+ * <p>
+ * When a program is compiled with the snapshot option, each package variable with an initializer expression is
+ * initialized by a function of its own, which is called by the package init function. A snapshot is taken by
+ * running the initializers which do not depend on native functions, and writing the package variables they
+ * initialize. An initializer depends on native functions if it
+ * may run a native function or otherwise depends on the runtime, such as by joining workers with a timeout, or if
+ * it shares package variables with an initializer which depends on native functions or with the rest of the
+ * package init functions. Initializers of package variables which hold values that cannot be written to the
+ * snapshot are treated the same way.
+ * <p>
+ * When a snapshot is restored, the calls of the package init functions to the initializers of the restored package
+ * variables are replaced by jumps over them, and the package init functions run when the program starts. The rest
+ * of the package variables are initialized as usual, in the same state as if none of them were restored. A
+ * snapshot is only restored for the program file it was taken from.
+ *
+ * @since 0.970.0
+ */
+public class ProgramSnapshot {
+
+    private static final int SNAPSHOT_MAGIC_NUMBER = 0xBA15AA95;
+    private static final short SNAPSHOT_VERSION_NUMBER = 2;
+
+    // Tags of the reference values which can be written to a snapshot
+    private static final byte NULL_TAG = 0;
+    private static final byte INT_TAG = 1;
+    private static final byte FLOAT_TAG = 2;
+    private static final byte STRING_TAG = 3;
+    private static final byte BOOLEAN_TAG = 4;
+    private static final byte INT_ARRAY_TAG = 5;
+    private static final byte FLOAT_ARRAY_TAG = 6;
+    private static final byte STRING_ARRAY_TAG = 7;
+    private static final byte BOOLEAN_ARRAY_TAG = 8;
+    private static final byte MAP_TAG = 9;
+    private static final byte STRUCT_TAG = 10;
+
+    private ProgramSnapshot() {
+    }
+
+    /**
+     * Returns the path of the snapshot of a program file, which is next to the program file.
+     *
+     * @param programFilePath path of the program file
+     * @return path of the snapshot
+     */
+    public static Path getSnapshotPath(Path programFilePath) {
+        String fileName = programFilePath.getFileName().toString();
+        if (fileName.endsWith(BLangConstants.BLANG_EXEC_FILE_SUFFIX)) {
+            fileName = fileName.substring(0, fileName.length() - BLangConstants.BLANG_EXEC_FILE_SUFFIX.length());
+        }
+        return programFilePath.resolveSibling(fileName + BLangConstants.BLANG_SNAPSHOT_FILE_SUFFIX);
+    }
+
+    /**
+     * Initializes the package variables of a program loaded from a program file which do not depend on native
+     * functions, and writes them to the snapshot of the program file. The program must not be run afterwards,
+     * since its packages are only partly initialized and native functions are disabled.
+     *
+     * @param programFile the program, loaded from its program file
+     * @return true if the snapshot was written, false if none of the package variables can be snapshotted
+     * @throws IOException if the program file cannot be read or the snapshot cannot be written
+     */
+    public static boolean write(ProgramFile programFile) throws IOException {
+        Path programFilePath = programFile.getProgramFilePath();
+        Path snapshotPath = getSnapshotPath(programFilePath);
+        Files.deleteIfExists(snapshotPath);
+
+        // Native functions are not expected to be called, but in case one is, the initializer calling it fails
+        SnapshotNativeCallableUnit snapshotNativeCallableUnit = new SnapshotNativeCallableUnit();
+        for (PackageInfo packageInfo : programFile.getPackageInfoEntries()) {
+            for (FunctionInfo functionInfo : packageInfo.getFunctionInfoEntries()) {
+                disableNativeCallableUnit(functionInfo, snapshotNativeCallableUnit);
+            }
+            for (ConnectorInfo connectorInfo : packageInfo.getConnectorInfoEntries()) {
+                for (ActionInfo actionInfo : connectorInfo.getActionInfoEntries()) {
+                    disableNativeCallableUnit(actionInfo, snapshotNativeCallableUnit);
+                }
+            }
+        }
+
+        VariableInitializers initializers = new VariableInitializers(programFile);
+        programFile.setDebugger(new Debugger(programFile));
+        for (FunctionInfo initializer : initializers.getInitializers()) {
+            if (!initializers.isRestorable(initializer)) {
+                continue;
+            }
+            snapshotNativeCallableUnit.called = false;
+            try {
+                BLangFunctions.invokeVMUtilFunction(initializer);
+            } catch (BLangRuntimeException e) {
+                // The initializer fails again when the program starts
+                initializers.setNotRestorable(initializer);
+                continue;
+            }
+            // The error of a native function may have been caught by the initializer
+            if (snapshotNativeCallableUnit.called) {
+                initializers.setNotRestorable(initializer);
+            }
+        }
+
+        byte[] variables;
+        do {
+            if (initializers.getRestorableInitializers().isEmpty()) {
+                return false;
+            }
+            variables = writeVariables(programFile, initializers);
+        } while (variables == null);
+
+        ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
+        DataOutputStream dataOutStream = new DataOutputStream(byteOutStream);
+        dataOutStream.writeInt(SNAPSHOT_MAGIC_NUMBER);
+        dataOutStream.writeShort(SNAPSHOT_VERSION_NUMBER);
+        dataOutStream.write(getDigest(programFilePath));
+        dataOutStream.write(variables);
+        dataOutStream.flush();
+        Files.write(snapshotPath, byteOutStream.toByteArray());
+        return true;
+    }
+
+    /**
+     * Restores the package variables of a program from the snapshot of its program file, if there is a snapshot
+     * taken from the same program file. The calls to the initializers of the restored package variables are replaced
+     * by jumps over them, so that they are skipped when the packages of the program are initialized.
+     *
+     * @param programFile the program, loaded from its program file
+     * @return true if the package variables were restored
+     */
+    public static boolean restore(ProgramFile programFile) {
+        Path programFilePath = programFile.getProgramFilePath();
+        if (programFilePath == null) {
+            return false;
+        }
+        Path snapshotPath = getSnapshotPath(programFilePath);
+        if (!Files.isRegularFile(snapshotPath)) {
+            return false;
+        }
+
+        try {
+            DataInputStream dataInStream = new DataInputStream(
+                    new ByteArrayInputStream(Files.readAllBytes(snapshotPath)));
+            if (dataInStream.readInt() != SNAPSHOT_MAGIC_NUMBER ||
+                    dataInStream.readShort() != SNAPSHOT_VERSION_NUMBER) {
+                return false;
+            }
+            byte[] digest = getDigest(programFilePath);
+            byte[] snapshotDigest = new byte[digest.length];
+            dataInStream.readFully(snapshotDigest);
+            if (!Arrays.equals(digest, snapshotDigest)) {
+                return false;
+            }
+            readVariables(programFile, dataInStream);
+        } catch (IOException | RuntimeException e) {
+            // The packages are initialized when the program starts
+            return false;
+        }
+        return true;
+    }
+
+    // private methods
+
+    private static void disableNativeCallableUnit(CallableUnitInfo callableUnitInfo,
+                                                  SnapshotNativeCallableUnit snapshotNativeCallableUnit) {
+        if (callableUnitInfo.isNative()) {
+            callableUnitInfo.setNativeCallableUnit(snapshotNativeCallableUnit);
+        }
+    }
+
+    /**
+     * Writes the restorable initializers and the package variables they initialize. If a package variable holds a
+     * value which cannot be written, its initializers are not restorable anymore and null is returned.
+     */
+    private static byte[] writeVariables(ProgramFile programFile,
+                                         VariableInitializers initializers) throws IOException {
+        ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
+        DataOutputStream dataOutStream = new DataOutputStream(byteOutStream);
+        Set<FunctionInfo> restorableInitializers = initializers.getRestorableInitializers();
+        dataOutStream.writeInt(restorableInitializers.size());
+        for (FunctionInfo initializer : restorableInitializers) {
+            writeString(dataOutStream, initializer.getPkgPath());
+            writeString(dataOutStream, initializer.getName());
+        }
+
+        BitSet[] variables = initializers.getRestorableVariables();
+        int variableCount = 0;
+        for (BitSet categoryVariables : variables) {
+            variableCount += categoryVariables.cardinality();
+        }
+        dataOutStream.writeInt(variableCount);
+        LockableStructureType globalMemoryBlock = programFile.getGlobalMemoryBlock();
+        Set<BRefType> writtenValues = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int category = 0; category < NO_OF_VAR_TYPE_CATEGORIES; category++) {
+            BitSet categoryVariables = variables[category];
+            for (int i = categoryVariables.nextSetBit(0); i >= 0; i = categoryVariables.nextSetBit(i + 1)) {
+                dataOutStream.writeByte(category);
+                dataOutStream.writeInt(i);
+                if (!writeVariable(programFile, dataOutStream, globalMemoryBlock, category, i, writtenValues)) {
+                    initializers.setNotRestorable(category, i);
+                    return null;
+                }
+            }
+        }
+        dataOutStream.flush();
+        return byteOutStream.toByteArray();
+    }
+
+    private static void readVariables(ProgramFile programFile, DataInputStream dataInStream) throws IOException {
+        int initializerCount = dataInStream.readInt();
+        List<FunctionInfo> initializers = new ArrayList<>();
+        for (int i = 0; i < initializerCount; i++) {
+            PackageInfo packageInfo = programFile.getPackageInfo(readString(dataInStream));
+            FunctionInfo initializer = packageInfo == null ? null :
+                    packageInfo.getFunctionInfo(readString(dataInStream));
+            if (initializer == null) {
+                throw new IOException("snapshot does not match the program");
+            }
+            initializers.add(initializer);
+        }
+
+        // Values are read to a separate memory block before any of them is restored, so that the package
+        // variables of a program are either restored or initialized by running the init functions.
+        int[] varTypeCount = getGlobalVarTypeCount(programFile);
+        BStructType memoryBlockType = new BStructType(null, "", "", 0);
+        memoryBlockType.setFieldTypeCount(varTypeCount);
+        BStruct memoryBlock = new BStruct(memoryBlockType);
+        int variableCount = dataInStream.readInt();
+        int[] categories = new int[variableCount];
+        int[] indexes = new int[variableCount];
+        for (int i = 0; i < variableCount; i++) {
+            categories[i] = dataInStream.readByte();
+            indexes[i] = dataInStream.readInt();
+            if (categories[i] < 0 || categories[i] >= NO_OF_VAR_TYPE_CATEGORIES || indexes[i] < 0 ||
+                    indexes[i] >= varTypeCount[categories[i]]) {
+                throw new IOException("snapshot does not match the program");
+            }
+            readVariable(programFile, dataInStream, memoryBlock, categories[i], indexes[i]);
+        }
+
+        LockableStructureType globalMemoryBlock = programFile.getGlobalMemoryBlock();
+        for (int i = 0; i < variableCount; i++) {
+            copyVariable(memoryBlock, globalMemoryBlock, categories[i], indexes[i]);
+        }
+        // function infos of different packages may be equal, since they are compared by constant pool indexes
+        Set<FunctionInfo> restoredInitializers = Collections.newSetFromMap(new IdentityHashMap<>());
+        restoredInitializers.addAll(initializers);
+        skipCalls(programFile, restoredInitializers);
+    }
+
+    /**
+     * Replaces the calls to the given initializers by jumps to the next instruction, so that the package init
+     * functions skip them without checking each call while they run.
+     */
+    private static void skipCalls(ProgramFile programFile, Set<FunctionInfo> initializers) {
+        for (PackageInfo packageInfo : programFile.getPackageInfoEntries()) {
+            Instruction[] code = packageInfo.getInstructions();
+            // superinstructions do not include calls, hence the calls are the same in the optimized instructions
+            Instruction[] optimizedCode = packageInfo.getOptimizedInstructions();
+            for (int ip = 0; ip < code.length; ip++) {
+                if (code[ip].getOpcode() != InstructionCodes.CALL ||
+                        !initializers.contains(((InstructionCALL) code[ip]).functionInfo)) {
+                    continue;
+                }
+                Instruction jump = InstructionFactory.get(InstructionCodes.GOTO, ip + 1);
+                code[ip] = jump;
+                if (optimizedCode != null && optimizedCode[ip].getOpcode() == InstructionCodes.CALL) {
+                    optimizedCode[ip] = jump;
+                }
+            }
+        }
+    }
+
+    private static boolean writeVariable(ProgramFile programFile, DataOutputStream dataOutStream,
+                                         StructureType structure, int category, int index,
+                                         Set<BRefType> writtenValues) throws IOException {
+        switch (category) {
+            case INT_OFFSET:
+                dataOutStream.writeLong(structure.getIntField(index));
+                return true;
+            case FLOAT_OFFSET:
+                dataOutStream.writeDouble(structure.getFloatField(index));
+                return true;
+            case STRING_OFFSET:
+                writeString(dataOutStream, structure.getStringField(index));
+                return true;
+            case BOOL_OFFSET:
+                dataOutStream.writeInt(structure.getBooleanField(index));
+                return true;
+            case BLOB_OFFSET:
+                writeBytes(dataOutStream, structure.getBlobField(index));
+                return true;
+            default:
+                return writeRef(programFile, dataOutStream, structure.getRefField(index), writtenValues);
+        }
+    }
+
+    private static void readVariable(ProgramFile programFile, DataInputStream dataInStream,
+                                     StructureType structure, int category, int index) throws IOException {
+        switch (category) {
+            case INT_OFFSET:
+                structure.setIntField(index, dataInStream.readLong());
+                break;
+            case FLOAT_OFFSET:
+                structure.setFloatField(index, dataInStream.readDouble());
+                break;
+            case STRING_OFFSET:
+                structure.setStringField(index, readString(dataInStream));
+                break;
+            case BOOL_OFFSET:
+                structure.setBooleanField(index, dataInStream.readInt());
+                break;
+            case BLOB_OFFSET:
+                structure.setBlobField(index, readBytes(dataInStream));
+                break;
+            default:
+                structure.setRefField(index, readRef(programFile, dataInStream));
+                break;
+        }
+    }
+
+    private static void copyVariable(StructureType source, StructureType target, int category, int index) {
+        switch (category) {
+            case INT_OFFSET:
+                target.setIntField(index, source.getIntField(index));
+                break;
+            case FLOAT_OFFSET:
+                target.setFloatField(index, source.getFloatField(index));
+                break;
+            case STRING_OFFSET:
+                target.setStringField(index, source.getStringField(index));
+                break;
+            case BOOL_OFFSET:
+                target.setBooleanField(index, source.getBooleanField(index));
+                break;
+            case BLOB_OFFSET:
+                target.setBlobField(index, source.getBlobField(index));
+                break;
+            default:
+                target.setRefField(index, source.getRefField(index));
+                break;
+        }
+    }
+
+    private static int[] getGlobalVarTypeCount(ProgramFile programFile) {
+        VarTypeCountAttributeInfo varTypeCountAttributeInfo = (VarTypeCountAttributeInfo) programFile
+                .getAttributeInfo(AttributeInfo.Kind.VARIABLE_TYPE_COUNT_ATTRIBUTE);
+        if (varTypeCountAttributeInfo == null) {
+            return new int[NO_OF_VAR_TYPE_CATEGORIES];
+        }
+        return varTypeCountAttributeInfo.getVarTypeCount();
+    }
+
+    private static boolean writeFields(ProgramFile programFile, DataOutputStream dataOutStream,
+                                       StructureType structure, int[] fieldCount,
+                                       Set<BRefType> writtenValues) throws IOException {
+        for (int i = 0; i < fieldCount[INT_OFFSET]; i++) {
+            dataOutStream.writeLong(structure.getIntField(i));
+        }
+        for (int i = 0; i < fieldCount[FLOAT_OFFSET]; i++) {
+            dataOutStream.writeDouble(structure.getFloatField(i));
+        }
+        for (int i = 0; i < fieldCount[STRING_OFFSET]; i++) {
+            writeString(dataOutStream, structure.getStringField(i));
+        }
+        for (int i = 0; i < fieldCount[BOOL_OFFSET]; i++) {
+            dataOutStream.writeInt(structure.getBooleanField(i));
+        }
+        for (int i = 0; i < fieldCount[BLOB_OFFSET]; i++) {
+            writeBytes(dataOutStream, structure.getBlobField(i));
+        }
+        for (int i = 0; i < fieldCount[REF_OFFSET]; i++) {
+            if (!writeRef(programFile, dataOutStream, structure.getRefField(i), writtenValues)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void readFields(ProgramFile programFile, DataInputStream dataInStream,
+                                   StructureType structure, int[] fieldCount) throws IOException {
+        for (int i = 0; i < fieldCount[INT_OFFSET]; i++) {
+            structure.setIntField(i, dataInStream.readLong());
+        }
+        for (int i = 0; i < fieldCount[FLOAT_OFFSET]; i++) {
+            structure.setFloatField(i, dataInStream.readDouble());
+        }
+        for (int i = 0; i < fieldCount[STRING_OFFSET]; i++) {
+            structure.setStringField(i, readString(dataInStream));
+        }
+        for (int i = 0; i < fieldCount[BOOL_OFFSET]; i++) {
+            structure.setBooleanField(i, dataInStream.readInt());
+        }
+        for (int i = 0; i < fieldCount[BLOB_OFFSET]; i++) {
+            structure.setBlobField(i, readBytes(dataInStream));
+        }
+        for (int i = 0; i < fieldCount[REF_OFFSET]; i++) {
+            structure.setRefField(i, readRef(programFile, dataInStream));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean writeRef(ProgramFile programFile, DataOutputStream dataOutStream, BRefType value,
+                                    Set<BRefType> writtenValues) throws IOException {
+        if (value == null) {
+            dataOutStream.writeByte(NULL_TAG);
+            return true;
+        }
+        if (value.getClass() == BInteger.class) {
+            dataOutStream.writeByte(INT_TAG);
+            dataOutStream.writeLong(((BInteger) value).intValue());
+            return true;
+        }
+        if (value.getClass() == BFloat.class) {
+            dataOutStream.writeByte(FLOAT_TAG);
+            dataOutStream.writeDouble(((BFloat) value).floatValue());
+            return true;
+        }
+        if (value.getClass() == BString.class) {
+            dataOutStream.writeByte(STRING_TAG);
+            writeString(dataOutStream, ((BString) value).value());
+            return true;
+        }
+        if (value.getClass() == BBoolean.class) {
+            dataOutStream.writeByte(BOOLEAN_TAG);
+            dataOutStream.writeBoolean(((BBoolean) value).booleanValue());
+            return true;
+        }
+
+        // A mutable value referred from more than one place would be restored as separate copies
+        if (!writtenValues.add(value)) {
+            return false;
+        }
+        if (value.getClass() == BIntArray.class) {
+            BIntArray array = (BIntArray) value;
+            dataOutStream.writeByte(INT_ARRAY_TAG);
+            dataOutStream.writeInt((int) array.size());
+            for (int i = 0; i < array.size(); i++) {
+                dataOutStream.writeLong(array.get(i));
+            }
+        } else if (value.getClass() == BFloatArray.class) {
+            BFloatArray array = (BFloatArray) value;
+            dataOutStream.writeByte(FLOAT_ARRAY_TAG);
+            dataOutStream.writeInt((int) array.size());
+            for (int i = 0; i < array.size(); i++) {
+                dataOutStream.writeDouble(array.get(i));
+            }
+        } else if (value.getClass() == BStringArray.class) {
+            BStringArray array = (BStringArray) value;
+            dataOutStream.writeByte(STRING_ARRAY_TAG);
+            dataOutStream.writeInt((int) array.size());
+            for (int i = 0; i < array.size(); i++) {
+                writeString(dataOutStream, array.get(i));
+            }
+        } else if (value.getClass() == BBooleanArray.class) {
+            BBooleanArray array = (BBooleanArray) value;
+            dataOutStream.writeByte(BOOLEAN_ARRAY_TAG);
+            dataOutStream.writeInt((int) array.size());
+            for (int i = 0; i < array.size(); i++) {
+                dataOutStream.writeInt(array.get(i));
+            }
+        } else if (value.getClass() == BMap.class &&
+                ((BMapType) value.getType()).getConstrainedType() == BTypes.typeAny) {
+            // Maps of any values, such as the annotation data of a package
+            Map<String, BValue> entries = ((BMap<String, BValue>) value).snapshot();
+            dataOutStream.writeByte(MAP_TAG);
+            dataOutStream.writeInt(entries.size());
+            for (Map.Entry<String, BValue> entry : entries.entrySet()) {
+                if (entry.getValue() != null && !(entry.getValue() instanceof BRefType)) {
+                    return false;
+                }
+                writeString(dataOutStream, entry.getKey());
+                if (!writeRef(programFile, dataOutStream, (BRefType) entry.getValue(), writtenValues)) {
+                    return false;
+                }
+            }
+        } else if (value.getClass() == BStruct.class && isRestorable((BStructType) value.getType(), programFile)) {
+            // Structs, such as annotation values, are restored with the type defined in the program
+            BStructType structType = (BStructType) value.getType();
+            dataOutStream.writeByte(STRUCT_TAG);
+            writeString(dataOutStream, structType.getPackagePath());
+            writeString(dataOutStream, structType.getName());
+            return writeFields(programFile, dataOutStream, (BStruct) value, structType.getFieldTypeCount(),
+                    writtenValues);
+        } else {
+            // Typed maps, JSON, XML, tables and values bound to external resources are not snapshotted
+            return false;
+        }
+        return true;
+    }
+
+    private static BRefType readRef(ProgramFile programFile, DataInputStream dataInStream) throws IOException {
+        byte tag = dataInStream.readByte();
+        int size;
+        switch (tag) {
+            case NULL_TAG:
+                return null;
+            case INT_TAG:
+                return new BInteger(dataInStream.readLong());
+            case FLOAT_TAG:
+                return new BFloat(dataInStream.readDouble());
+            case STRING_TAG:
+                return new BString(readString(dataInStream));
+            case BOOLEAN_TAG:
+                return new BBoolean(dataInStream.readBoolean());
+            case INT_ARRAY_TAG:
+                size = dataInStream.readInt();
+                long[] intValues = new long[size];
+                for (int i = 0; i < size; i++) {
+                    intValues[i] = dataInStream.readLong();
+                }
+                return new BIntArray(intValues);
+            case FLOAT_ARRAY_TAG:
+                size = dataInStream.readInt();
+                double[] floatValues = new double[size];
+                for (int i = 0; i < size; i++) {
+                    floatValues[i] = dataInStream.readDouble();
+                }
+                return new BFloatArray(floatValues);
+            case STRING_ARRAY_TAG:
+                size = dataInStream.readInt();
+                String[] stringValues = new String[size];
+                for (int i = 0; i < size; i++) {
+                    stringValues[i] = readString(dataInStream);
+                }
+                return new BStringArray(stringValues);
+            case BOOLEAN_ARRAY_TAG:
+                size = dataInStream.readInt();
+                int[] booleanValues = new int[size];
+                for (int i = 0; i < size; i++) {
+                    booleanValues[i] = dataInStream.readInt();
+                }
+                return new BBooleanArray(booleanValues);
+            case MAP_TAG:
+                size = dataInStream.readInt();
+                BMap<String, BValue> map = new BMap<>();
+                for (int i = 0; i < size; i++) {
+                    String key = readString(dataInStream);
+                    map.put(key, readRef(programFile, dataInStream));
+                }
+                return map;
+            case STRUCT_TAG:
+                String pkgPath = readString(dataInStream);
+                String structName = readString(dataInStream);
+                PackageInfo packageInfo = programFile.getPackageInfo(pkgPath);
+                StructInfo structInfo = packageInfo == null ? null : packageInfo.getStructInfo(structName);
+                if (structInfo == null) {
+                    throw new IOException("snapshot does not match the program");
+                }
+                BStruct struct = new BStruct(structInfo.getType());
+                readFields(programFile, dataInStream, struct, structInfo.getType().getFieldTypeCount());
+                return struct;
+            default:
+                throw new IOException("unknown snapshot value tag " + tag);
+        }
+    }
+
+    private static boolean isRestorable(BStructType structType, ProgramFile programFile) {
+        PackageInfo packageInfo = programFile.getPackageInfo(structType.getPackagePath());
+        if (packageInfo == null) {
+            return false;
+        }
+        StructInfo structInfo = packageInfo.getStructInfo(structType.getName());
+        return structInfo != null && structInfo.getType() == structType;
+    }
+
+    private static void writeString(DataOutputStream dataOutStream, String value) throws IOException {
+        writeBytes(dataOutStream, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInputStream dataInStream) throws IOException {
+        byte[] bytes = readBytes(dataInStream);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream dataOutStream, byte[] value) throws IOException {
+        if (value == null) {
+            dataOutStream.writeInt(-1);
+            return;
+        }
+        dataOutStream.writeInt(value.length);
+        dataOutStream.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream dataInStream) throws IOException {
+        int length = dataInStream.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        dataInStream.readFully(bytes);
+        return bytes;
+    }
+
+    private static byte[] getDigest(Path programFilePath) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(programFilePath));
+        } catch (NoSuchAlgorithmException e) {
+            throw new BallerinaException("SHA-256 message digest is not available", e);
+        }
+    }
+
+    /**
+     * Package variables read and written, and callable units called by a piece of code.
+     */
+    private static class CodeSummary {
+
+        private final BitSet[] reads = new BitSet[NO_OF_VAR_TYPE_CATEGORIES];
+        private final BitSet[] writes = new BitSet[NO_OF_VAR_TYPE_CATEGORIES];
+        private final Set<CallableUnitInfo> callees = new LinkedHashSet<>();
+        // Whether the code may run native functions, or depends on the runtime in some other way
+        private boolean unknown = false;
+
+        CodeSummary() {
+            for (int i = 0; i < NO_OF_VAR_TYPE_CATEGORIES; i++) {
+                reads[i] = new BitSet();
+                writes[i] = new BitSet();
+            }
+        }
+
+        void add(CodeSummary summary) {
+            for (int i = 0; i < NO_OF_VAR_TYPE_CATEGORIES; i++) {
+                reads[i].or(summary.reads[i]);
+                writes[i].or(summary.writes[i]);
+            }
+            unknown |= summary.unknown;
+        }
+
+        boolean conflicts(CodeSummary summary) {
+            for (int i = 0; i < NO_OF_VAR_TYPE_CATEGORIES; i++) {
+                if (writes[i].intersects(summary.reads[i]) || writes[i].intersects(summary.writes[i]) ||
+                        reads[i].intersects(summary.writes[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Package variable initializers of a program, in the order the package init functions call them, and whether
+     * each of them can be run when a snapshot is taken instead of when the program starts.
+     * <p>
+     * The code an initializer may run is found by following the calls in the instructions of the program, and the
+     * code of each worker is taken to reach up to the code of the next worker of its package.
+     */
+    private static class VariableInitializers {
+
+        private final ProgramFile programFile;
+        private final Set<FunctionInfo> initFunctions = new HashSet<>();
+        private final Map<PackageInfo, TreeSet<Integer>> codeAddrs = new HashMap<>();
+        private final Map<CallableUnitInfo, CodeSummary> summaries = new HashMap<>();
+        private final List<FunctionInfo> initializers = new ArrayList<>();
+        private final Map<FunctionInfo, CodeSummary> initializerSummaries = new LinkedHashMap<>();
+        private final Set<FunctionInfo> notRestorable = new HashSet<>();
+        // The code of the package init functions other than the initializers, which always runs at startup
+        private final CodeSummary initFunctionSummary = new CodeSummary();
+
+        VariableInitializers(ProgramFile programFile) {
+            this.programFile = programFile;
+            for (PackageInfo packageInfo : programFile.getPackageInfoEntries()) {
+                if (packageInfo.getInitFunctionInfo() != null) {
+                    initFunctions.add(packageInfo.getInitFunctionInfo());
+                }
+            }
+
+            Set<CallableUnitInfo> initFunctionCallees = new LinkedHashSet<>();
+            addInitFunction(programFile.getEntryPackage().getInitFunctionInfo(), initFunctionCallees);
+            initFunctionSummary.add(reach(initFunctionCallees));
+            for (FunctionInfo initializer : initializers) {
+                CodeSummary summary = initializerSummaries.computeIfAbsent(initializer,
+                        functionInfo -> reach(Collections.singleton(functionInfo)));
+                if (summary.unknown) {
+                    notRestorable.add(initializer);
+                }
+            }
+            propagate();
+        }
+
+        List<FunctionInfo> getInitializers() {
+            return initializers;
+        }
+
+        boolean isRestorable(FunctionInfo initializer) {
+            return !notRestorable.contains(initializer);
+        }
+
+        void setNotRestorable(FunctionInfo initializer) {
+            notRestorable.add(initializer);
+            propagate();
+        }
+
+        /**
+         * Marks the initializers writing a package variable as not restorable.
+         */
+        void setNotRestorable(int category, int index) {
+            for (Map.Entry<FunctionInfo, CodeSummary> entry : initializerSummaries.entrySet()) {
+                if (entry.getValue().writes[category].get(index)) {
+                    notRestorable.add(entry.getKey());
+                }
+            }
+            propagate();
+        }
+
+        Set<FunctionInfo> getRestorableInitializers() {
+            Set<FunctionInfo> restorableInitializers = new LinkedHashSet<>(initializerSummaries.keySet());
+            restorableInitializers.removeAll(notRestorable);
+            return restorableInitializers;
+        }
+
+        BitSet[] getRestorableVariables() {
+            CodeSummary restorableSummary = new CodeSummary();
+            for (FunctionInfo initializer : getRestorableInitializers()) {
+                restorableSummary.add(initializerSummaries.get(initializer));
+            }
+            return restorableSummary.writes;
+        }
+
+        // private methods
+
+        /**
+         * An initializer is not restorable if it shares package variables with code which runs at startup,
+         * since that code would otherwise see, or change, the values restored from the snapshot.
+         */
+        private void propagate() {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (Map.Entry<FunctionInfo, CodeSummary> entry : initializerSummaries.entrySet()) {
+                    if (notRestorable.contains(entry.getKey())) {
+                        continue;
+                    }
+                    boolean conflicts = entry.getValue().conflicts(initFunctionSummary);
+                    for (FunctionInfo initializer : notRestorable) {
+                        conflicts = conflicts || entry.getValue().conflicts(initializerSummaries.get(initializer));
+                    }
+                    if (conflicts) {
+                        notRestorable.add(entry.getKey());
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        private void addInitFunction(FunctionInfo initFunction, Set<CallableUnitInfo> initFunctionCallees) {
+            CodeSummary summary = getSummary(initFunction);
+            initFunctionSummary.add(summary);
+            // Calls of the package init functions are in the order they are run
+            for (CallableUnitInfo callee : summary.callees) {
+                if (initFunctions.contains(callee)) {
+                    addInitFunction((FunctionInfo) callee, initFunctionCallees);
+                } else if (isInitializer(callee)) {
+                    initializers.add((FunctionInfo) callee);
+                } else {
+                    initFunctionCallees.add(callee);
+                }
+            }
+        }
+
+        private boolean isInitializer(CallableUnitInfo callableUnitInfo) {
+            FunctionInfo initFunction = callableUnitInfo.getPackageInfo().getInitFunctionInfo();
+            return callableUnitInfo instanceof FunctionInfo && initFunction != null &&
+                    callableUnitInfo.getName().startsWith(initFunction.getName() + ".");
+        }
+
+        private CodeSummary reach(Set<? extends CallableUnitInfo> callableUnits) {
+            CodeSummary summary = new CodeSummary();
+            Set<CallableUnitInfo> visited = new HashSet<>();
+            Deque<CallableUnitInfo> pending = new ArrayDeque<>(callableUnits);
+            while (!pending.isEmpty()) {
+                CallableUnitInfo callableUnit = pending.pop();
+                if (!visited.add(callableUnit)) {
+                    continue;
+                }
+                CodeSummary calleeSummary = getSummary(callableUnit);
+                summary.add(calleeSummary);
+                pending.addAll(calleeSummary.callees);
+            }
+            return summary;
+        }
+
+        private CodeSummary getSummary(CallableUnitInfo callableUnit) {
+            CodeSummary summary = summaries.get(callableUnit);
+            if (summary != null) {
+                return summary;
+            }
+            summary = new CodeSummary();
+            summaries.put(callableUnit, summary);
+            if (callableUnit.isNative()) {
+                summary.unknown = true;
+                return summary;
+            }
+
+            PackageInfo packageInfo = callableUnit.getPackageInfo();
+            Instruction[] code = packageInfo.getInstructions();
+            TreeSet<Integer> packageCodeAddrs = getCodeAddrs(packageInfo);
+            for (WorkerInfo workerInfo : getWorkerInfos(callableUnit)) {
+                int start = workerInfo.getCodeAttributeInfo().getCodeAddrs();
+                Integer end = packageCodeAddrs.higher(start);
+                for (int ip = Math.max(start, 0); ip < (end == null ? code.length : end); ip++) {
+                    addInstruction(packageInfo, code[ip], summary);
+                }
+            }
+            return summary;
+        }
+
+        private void addInstruction(PackageInfo packageInfo, Instruction instruction, CodeSummary summary) {
+            int opcode = instruction.getOpcode();
+            int[] operands = instruction.getOperands();
+            switch (opcode) {
+                case InstructionCodes.IGLOAD:
+                case InstructionCodes.FGLOAD:
+                case InstructionCodes.SGLOAD:
+                case InstructionCodes.BGLOAD:
+                case InstructionCodes.LGLOAD:
+                case InstructionCodes.RGLOAD:
+                    summary.reads[opcode - InstructionCodes.IGLOAD].set(operands[0]);
+                    break;
+                case InstructionCodes.IGSTORE:
+                case InstructionCodes.FGSTORE:
+                case InstructionCodes.SGSTORE:
+                case InstructionCodes.BGSTORE:
+                case InstructionCodes.LGSTORE:
+                case InstructionCodes.RGSTORE:
+                    summary.writes[opcode - InstructionCodes.IGSTORE].set(operands[1]);
+                    break;
+                case InstructionCodes.CALL:
+                    summary.callees.add(((InstructionCALL) instruction).functionInfo);
+                    break;
+                case InstructionCodes.VCALL:
+                    // Any of the attached functions of the same name may be called
+                    FunctionInfo functionInfo = ((InstructionVCALL) instruction).functionInfo;
+                    summary.callees.add(functionInfo);
+                    for (PackageInfo pkg : programFile.getPackageInfoEntries()) {
+                        for (StructInfo structInfo : pkg.getStructInfoEntries()) {
+                            AttachedFunctionInfo attachedFunctionInfo =
+                                    structInfo.funcInfoEntries.get(functionInfo.getName());
+                            if (attachedFunctionInfo != null && attachedFunctionInfo.functionInfo != null) {
+                                summary.callees.add(attachedFunctionInfo.functionInfo);
+                            }
+                        }
+                    }
+                    break;
+                case InstructionCodes.ACALL:
+                    // Any of the actions of the same name may be called
+                    String actionName = ((InstructionACALL) instruction).actionName;
+                    for (PackageInfo pkg : programFile.getPackageInfoEntries()) {
+                        for (ConnectorInfo connectorInfo : pkg.getConnectorInfoEntries()) {
+                            ActionInfo actionInfo = connectorInfo.getActionInfo(actionName);
+                            if (actionInfo != null) {
+                                summary.callees.add(actionInfo);
+                            }
+                        }
+                    }
+                    break;
+                case InstructionCodes.TCALL:
+                    summary.callees.add(((InstructionTCALL) instruction).transformerInfo);
+                    break;
+                case InstructionCodes.FPLOAD:
+                    // The function of a function pointer is taken to be called where the pointer is loaded
+                    ConstantPoolEntry cpEntry = packageInfo.getCPEntry(operands[0]);
+                    if (cpEntry instanceof FunctionRefCPEntry &&
+                            ((FunctionRefCPEntry) cpEntry).getFunctionInfo() != null) {
+                        summary.callees.add(((FunctionRefCPEntry) cpEntry).getFunctionInfo());
+                    } else {
+                        summary.unknown = true;
+                    }
+                    break;
+                case InstructionCodes.FORKJOIN:
+                case InstructionCodes.TR_BEGIN:
+                case InstructionCodes.NEWTABLE:
+                case InstructionCodes.NEWSTREAM:
+                    // Workers joined with a timeout, transactions, tables and streams depend on the runtime
+                    summary.unknown = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private TreeSet<Integer> getCodeAddrs(PackageInfo packageInfo) {
+            return codeAddrs.computeIfAbsent(packageInfo, pkg -> {
+                TreeSet<Integer> addrs = new TreeSet<>();
+                List<CallableUnitInfo> callableUnits = new ArrayList<>(Arrays.asList(pkg.getFunctionInfoEntries()));
+                for (ConnectorInfo connectorInfo : pkg.getConnectorInfoEntries()) {
+                    callableUnits.addAll(Arrays.asList(connectorInfo.getActionInfoEntries()));
+                }
+                for (ServiceInfo serviceInfo : pkg.getServiceInfoEntries()) {
+                    callableUnits.addAll(Arrays.asList(serviceInfo.getResourceInfoEntries()));
+                }
+                callableUnits.addAll(Arrays.asList(pkg.getTransformerInfoEntries()));
+                for (CallableUnitInfo callableUnit : callableUnits) {
+                    if (!callableUnit.isNative()) {
+                        getWorkerInfos(callableUnit).forEach(workerInfo ->
+                                addrs.add(workerInfo.getCodeAttributeInfo().getCodeAddrs()));
+                    }
+                }
+                return addrs;
+            });
+        }
+
+        private static List<WorkerInfo> getWorkerInfos(CallableUnitInfo callableUnit) {
+            List<WorkerInfo> workerInfos = new ArrayList<>();
+            if (callableUnit.getDefaultWorkerInfo() != null) {
+                workerInfos.add(callableUnit.getDefaultWorkerInfo());
+            }
+            workerInfos.addAll(callableUnit.getWorkerInfoMap().values());
+            for (int i = 0; i < workerInfos.size(); i++) {
+                ForkjoinInfo[] forkjoinInfos = workerInfos.get(i).getForkjoinInfos();
+                if (forkjoinInfos != null) {
+                    for (ForkjoinInfo forkjoinInfo : forkjoinInfos) {
+                        workerInfos.addAll(Arrays.asList(forkjoinInfo.getWorkerInfos()));
+                    }
+                }
+            }
+            return workerInfos;
+        }
+    }
+
+    /**
+     * Stands in for the native functions while the packages of a program are initialized for a snapshot, and
+     * records whether a native function was called.
+     */
+    private static class SnapshotNativeCallableUnit implements NativeCallableUnit {
+
+        private volatile boolean called = false;
+
+        @Override
+        public void execute(Context context, CallableUnitCallback callback) {
+            called = true;
+            throw new BallerinaException("native functions cannot be run while taking a snapshot");
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return true;
+        }
+    }
+}
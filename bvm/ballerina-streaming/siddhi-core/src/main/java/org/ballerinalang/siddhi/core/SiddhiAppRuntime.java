@@ -27,6 +27,7 @@ import org.ballerinalang.siddhi.core.exception.CannotRestoreSiddhiAppStateExcept
 import org.ballerinalang.siddhi.core.exception.DefinitionNotExistException;
 import org.ballerinalang.siddhi.core.exception.QueryNotExistException;
 import org.ballerinalang.siddhi.core.exception.StoreQueryCreationException;
+import org.ballerinalang.siddhi.core.partition.PartitionLane;
 import org.ballerinalang.siddhi.core.partition.PartitionRuntime;
 import org.ballerinalang.siddhi.core.query.QueryRuntime;
 import org.ballerinalang.siddhi.core.query.StoreQueryRuntime;
@@ -55,6 +56,7 @@ import org.ballerinalang.siddhi.core.util.parser.helper.QueryParserHelper;
 import org.ballerinalang.siddhi.core.util.snapshot.AsyncSnapshotPersistor;
 import org.ballerinalang.siddhi.core.util.snapshot.PersistenceReference;
 import org.ballerinalang.siddhi.core.util.statistics.BufferedEventsTracker;
+import org.ballerinalang.siddhi.core.util.statistics.EventBufferHolder;
 import org.ballerinalang.siddhi.core.util.statistics.LatencyTracker;
 import org.ballerinalang.siddhi.core.util.statistics.MemoryUsageTracker;
 import org.ballerinalang.siddhi.core.window.Window;
@@ -481,6 +483,9 @@ public class SiddhiAppRuntime {
                 for (StreamJunction streamJunction : streamJunctionMap.values()) {
                     streamJunction.stopProcessing();
                 }
+                for (PartitionRuntime partitionRuntime : partitionMap.values()) {
+                    partitionRuntime.shutdown();
+                }
                 try {
                     Thread.sleep(1000);
                 } catch (InterruptedException e) {
@@ -532,11 +537,12 @@ public class SiddhiAppRuntime {
             // first, pause all the event sources
             sourceMap.values().forEach(list -> list.forEach(Source::pause));
             // take snapshots of execution units
-            byte[] snapshots = siddhiAppContext.getSnapshotService().snapshot();
+            String revision = System.currentTimeMillis() + "_" + siddhiAppContext.getName();
+            byte[] snapshots = siddhiAppContext.getSnapshotService().persistenceSnapshot(revision);
             // start the snapshot persisting task asynchronously
             AsyncSnapshotPersistor asyncSnapshotPersistor = new AsyncSnapshotPersistor(snapshots,
-                    siddhiAppContext.getSiddhiContext().getPersistenceStore(), siddhiAppContext.getName());
-            String revision = asyncSnapshotPersistor.getRevision();
+                    siddhiAppContext.getSiddhiContext().getPersistenceStore(), siddhiAppContext.getName(), revision,
+                    siddhiAppContext.getSnapshotService());
             Future future = siddhiAppContext.getExecutorService().submit(asyncSnapshotPersistor);
             return new PersistenceReference(future, revision);
         } finally {
@@ -629,25 +635,33 @@ public class SiddhiAppRuntime {
                 .getFactory()
                 .createBufferSizeTracker(siddhiAppContext.getStatisticsManager());
         for (Map.Entry<String, StreamJunction> entry : streamJunctionMap.entrySet()) {
-            registerForBufferedEvents(entry);
+            registerForBufferedEvents(entry.getKey(), entry.getValue(), SiddhiConstants.METRIC_INFIX_STREAMS);
         }
         for (Map.Entry entry : partitionMap.entrySet()) {
             ConcurrentMap<String, StreamJunction> streamJunctionMap = ((PartitionRuntime) entry.getValue())
                     .getLocalStreamJunctionMap();
             for (Map.Entry<String, StreamJunction> streamJunctionEntry : streamJunctionMap.entrySet()) {
-                registerForBufferedEvents(streamJunctionEntry);
+                registerForBufferedEvents(streamJunctionEntry.getKey(), streamJunctionEntry.getValue(),
+                        SiddhiConstants.METRIC_INFIX_STREAMS);
+            }
+            PartitionLane[] partitionLanes = ((PartitionRuntime) entry.getValue()).getPartitionLanes();
+            if (partitionLanes != null) {
+                for (PartitionLane partitionLane : partitionLanes) {
+                    registerForBufferedEvents(partitionLane.getName(), partitionLane,
+                            SiddhiConstants.METRIC_INFIX_PARTITIONS);
+                }
             }
         }
     }
 
-    private void registerForBufferedEvents(Map.Entry<String, StreamJunction> entry) {
-        if (entry.getValue().containsBufferedEvents()) {
+    private void registerForBufferedEvents(String name, EventBufferHolder eventBufferHolder, String type) {
+        if (eventBufferHolder.containsBufferedEvents()) {
             String metricName = siddhiAppContext.getSiddhiContext().getStatisticsConfiguration().getMetricPrefix() +
                     SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI_APPS +
                     SiddhiConstants.METRIC_DELIMITER + getName() + SiddhiConstants.METRIC_DELIMITER +
                     SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER +
-                    SiddhiConstants.METRIC_INFIX_STREAMS + SiddhiConstants.METRIC_DELIMITER +
-                    entry.getKey() + SiddhiConstants.METRIC_DELIMITER + "size";
+                    type + SiddhiConstants.METRIC_DELIMITER +
+                    name + SiddhiConstants.METRIC_DELIMITER + "size";
             boolean matchExist = false;
             for (String regex : siddhiAppContext.getIncludedMetrics()) {
                 if (metricName.matches(regex)) {
@@ -656,7 +670,7 @@ public class SiddhiAppRuntime {
                 }
             }
             if (matchExist) {
-                bufferedEventsTracker.registerEventBufferHolder(entry.getValue(), metricName);
+                bufferedEventsTracker.registerEventBufferHolder(eventBufferHolder, metricName);
             }
         }
     }
@@ -146,6 +146,60 @@ public class SiddhiManager {
         this.siddhiContext.setConfigManager(configManager);
     }
 
+    /**
+     * Method to enable compiling the filter and projection expressions of the queries of the Siddhi Apps created
+     * afterwards to generated classes, instead of evaluating them by walking their expression executor trees.
+     *
+     * @param expressionCompilationEnabled whether the expressions are compiled
+     */
+    public void setExpressionCompilationEnabled(boolean expressionCompilationEnabled) {
+        this.siddhiContext.setExpressionCompilationEnabled(expressionCompilationEnabled);
+    }
+
+    /**
+     * Method to enable processing the filters and the batch aggregations of the queries of the Siddhi Apps created
+     * afterwards over columnar event batches, which hold the event attributes in primitive arrays.
+     *
+     * @param columnarBatchingEnabled whether the events are processed in columnar batches
+     */
+    public void setColumnarBatchingEnabled(boolean columnarBatchingEnabled) {
+        this.siddhiContext.setColumnarBatchingEnabled(columnarBatchingEnabled);
+    }
+
+    /**
+     * Method to set the number of executor lanes onto which the partition keys of the partitions of the Siddhi Apps
+     * created afterwards are hashed, so that the events of different keys are processed concurrently. The events are
+     * processed on the publishing thread when the count is zero, unless a partition overrides it with
+     * {@code @Async(workers='n')}.
+     *
+     * @param partitionLaneCount number of executor lanes of each partition
+     */
+    public void setPartitionLaneCount(int partitionLaneCount) {
+        this.siddhiContext.setPartitionLaneCount(partitionLaneCount);
+    }
+
+    /**
+     * Method to set the number of event batches each executor lane of a partition holds before publishing to the
+     * lane blocks until it has processed some of them. A partition overrides it with {@code @Async(buffer.size='n')}.
+     *
+     * @param partitionLaneBufferSize number of event batches buffered by each executor lane
+     */
+    public void setPartitionLaneBufferSize(int partitionLaneBufferSize) {
+        this.siddhiContext.setPartitionLaneBufferSize(partitionLaneBufferSize);
+    }
+
+    /**
+     * Method to set the number of times the state of a Siddhi App is persisted per full snapshot. The persists in
+     * between only store the changes of the state since the previous persist on top of the previous revision, and
+     * restoring a revision loads its chain back to the last full snapshot. Every persist stores a full snapshot when
+     * the interval is one, which is the default.
+     *
+     * @param fullSnapshotInterval number of persists per full snapshot
+     */
+    public void setFullSnapshotInterval(int fullSnapshotInterval) {
+        this.siddhiContext.setFullSnapshotInterval(fullSnapshotInterval);
+    }
+
     /**
      * Method used to register extensions to the Siddhi Manager. But extension classes should be present in classpath.
      *
@@ -22,7 +22,7 @@ import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
 import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
 import org.ballerinalang.siddhi.core.event.stream.StreamEventPool;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
-import org.ballerinalang.siddhi.core.util.snapshot.Snapshotable;
+import org.ballerinalang.siddhi.core.util.snapshot.IncrementalSnapshotable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -33,7 +33,7 @@ import java.util.Map;
  * Store for maintaining the base values related to incremental aggregation. (e.g. for average,
  * the base incremental values would be sum and count. The timestamp too is stored here.
  */
-public class BaseIncrementalValueStore implements Snapshotable {
+public class BaseIncrementalValueStore implements IncrementalSnapshotable {
     private long timestamp; // This is the starting timeStamp of aggregates
     private Object[] values;
     private List<ExpressionExecutor> expressionExecutors;
@@ -42,6 +42,7 @@ public class BaseIncrementalValueStore implements Snapshotable {
     private String elementId;
     private SiddhiAppContext siddhiAppContext;
     private String aggregatorName;
+    private boolean changed = true;
 
     public BaseIncrementalValueStore(long timeStamp, List<ExpressionExecutor> expressionExecutors,
                                      StreamEventPool streamEventPool,
@@ -60,10 +61,12 @@ public class BaseIncrementalValueStore implements Snapshotable {
 
     public void clearValues() {
         this.values = new Object[expressionExecutors.size() + 1];
+        changed = true;
     }
 
     public void setValue(Object value, int position) {
         values[position] = value;
+        changed = true;
     }
 
     public long getTimestamp() {
@@ -72,6 +75,7 @@ public class BaseIncrementalValueStore implements Snapshotable {
 
     public void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
+        changed = true;
     }
 
     public List<ExpressionExecutor> getExpressionExecutors() {
@@ -84,6 +88,7 @@ public class BaseIncrementalValueStore implements Snapshotable {
 
     public void setProcessed(boolean isProcessed) {
         this.isProcessed = isProcessed;
+        changed = true;
     }
 
     public StreamEvent createStreamEvent() {
@@ -117,6 +122,27 @@ public class BaseIncrementalValueStore implements Snapshotable {
         timestamp = (long) state.get("Timestamp");
         values = (Object[]) state.get("Values");
         isProcessed = (boolean) state.get("IsProcessed");
+        changed = false;
+    }
+
+    @Override
+    public Map<String, Object> currentStateChanges() {
+        if (changed) {
+            return currentState();
+        }
+        return new HashMap<>();
+    }
+
+    @Override
+    public void restoreStateChanges(Map<String, Object> stateChanges) {
+        if (!stateChanges.isEmpty()) {
+            restoreState(stateChanges);
+        }
+    }
+
+    @Override
+    public void clearStateChanges() {
+        changed = false;
     }
 
     @Override
@@ -22,6 +22,7 @@ import com.lmax.disruptor.ExceptionHandler;
 import org.ballerinalang.siddhi.core.stream.input.source.SourceHandlerManager;
 import org.ballerinalang.siddhi.core.stream.output.sink.SinkHandlerManager;
 import org.ballerinalang.siddhi.core.table.record.RecordTableHandlerManager;
+import org.ballerinalang.siddhi.core.util.SiddhiConstants;
 import org.ballerinalang.siddhi.core.util.SiddhiExtensionLoader;
 import org.ballerinalang.siddhi.core.util.config.ConfigManager;
 import org.ballerinalang.siddhi.core.util.config.InMemoryConfigManager;
@@ -53,6 +54,11 @@ public class SiddhiContext {
     private SinkHandlerManager sinkHandlerManager = null;
     private SourceHandlerManager sourceHandlerManager = null;
     private RecordTableHandlerManager recordTableHandlerManager = null;
+    private boolean expressionCompilationEnabled = false;
+    private boolean columnarBatchingEnabled = false;
+    private int partitionLaneCount = 0;
+    private int partitionLaneBufferSize = SiddhiConstants.DEFAULT_EVENT_BUFFER_SIZE;
+    private int fullSnapshotInterval = 1;
 
     public SiddhiContext() {
         SiddhiExtensionLoader.loadSiddhiExtensions(siddhiExtensions);
@@ -149,4 +155,44 @@ public class SiddhiContext {
     public void setRecordTableHandlerManager(RecordTableHandlerManager recordTableHandlerManager) {
         this.recordTableHandlerManager = recordTableHandlerManager;
     }
+
+    public boolean isExpressionCompilationEnabled() {
+        return expressionCompilationEnabled;
+    }
+
+    public void setExpressionCompilationEnabled(boolean expressionCompilationEnabled) {
+        this.expressionCompilationEnabled = expressionCompilationEnabled;
+    }
+
+    public boolean isColumnarBatchingEnabled() {
+        return columnarBatchingEnabled;
+    }
+
+    public void setColumnarBatchingEnabled(boolean columnarBatchingEnabled) {
+        this.columnarBatchingEnabled = columnarBatchingEnabled;
+    }
+
+    public int getPartitionLaneCount() {
+        return partitionLaneCount;
+    }
+
+    public void setPartitionLaneCount(int partitionLaneCount) {
+        this.partitionLaneCount = partitionLaneCount;
+    }
+
+    public int getPartitionLaneBufferSize() {
+        return partitionLaneBufferSize;
+    }
+
+    public void setPartitionLaneBufferSize(int partitionLaneBufferSize) {
+        this.partitionLaneBufferSize = partitionLaneBufferSize;
+    }
+
+    public int getFullSnapshotInterval() {
+        return fullSnapshotInterval;
+    }
+
+    public void setFullSnapshotInterval(int fullSnapshotInterval) {
+        this.fullSnapshotInterval = fullSnapshotInterval;
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.event.stream.batch;
+
+import org.ballerinalang.siddhi.query.api.definition.Attribute;
+
+/**
+ * Values of a single attribute of the events of a {@link StreamEventBatch}. Int and long values are held in a long
+ * array, float and double values in a double array, bool values in a boolean array and strings as codes of the
+ * {@link StringDictionary} of the batch. Null values are marked in the nulls array, which is only allocated when
+ * the column contains a null value.
+ */
+public final class EventColumn {
+
+    private final Attribute.Type type;
+    private final StringDictionary dictionary;
+    private long[] longValues;
+    private double[] doubleValues;
+    private boolean[] boolValues;
+    private int[] stringCodes;
+    private Object[] objectValues;
+    private boolean[] nulls;
+
+    EventColumn(Attribute.Type type, int size, StringDictionary dictionary) {
+        this.type = type;
+        this.dictionary = dictionary;
+        switch (type) {
+            case INT:
+            case LONG:
+                longValues = new long[size];
+                break;
+            case FLOAT:
+            case DOUBLE:
+                doubleValues = new double[size];
+                break;
+            case BOOL:
+                boolValues = new boolean[size];
+                break;
+            case STRING:
+                stringCodes = new int[size];
+                break;
+            default:
+                objectValues = new Object[size];
+                break;
+        }
+    }
+
+    void set(int index, Object value) {
+        if (value == null) {
+            if (nulls == null) {
+                nulls = new boolean[getSize()];
+            }
+            nulls[index] = true;
+            return;
+        }
+        switch (type) {
+            case INT:
+            case LONG:
+                longValues[index] = ((Number) value).longValue();
+                break;
+            case FLOAT:
+            case DOUBLE:
+                doubleValues[index] = ((Number) value).doubleValue();
+                break;
+            case BOOL:
+                boolValues[index] = (Boolean) value;
+                break;
+            case STRING:
+                stringCodes[index] = dictionary.encode((String) value);
+                break;
+            default:
+                objectValues[index] = value;
+                break;
+        }
+    }
+
+    /**
+     * Returns the value at the given index boxed to the type of the attribute.
+     *
+     * @param index the index of the event in the batch
+     * @return the attribute value, or null
+     */
+    public Object getValue(int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        switch (type) {
+            case INT:
+                return (int) longValues[index];
+            case LONG:
+                return longValues[index];
+            case FLOAT:
+                return (float) doubleValues[index];
+            case DOUBLE:
+                return doubleValues[index];
+            case BOOL:
+                return boolValues[index];
+            case STRING:
+                return dictionary.decode(stringCodes[index]);
+            default:
+                return objectValues[index];
+        }
+    }
+
+    public boolean isNull(int index) {
+        return nulls != null && nulls[index];
+    }
+
+    public Attribute.Type getType() {
+        return type;
+    }
+
+    public long[] getLongValues() {
+        return longValues;
+    }
+
+    public double[] getDoubleValues() {
+        return doubleValues;
+    }
+
+    public boolean[] getBoolValues() {
+        return boolValues;
+    }
+
+    public int[] getStringCodes() {
+        return stringCodes;
+    }
+
+    /**
+     * Returns the null markers of the column.
+     *
+     * @return the null markers, or null if the column does not contain a null value
+     */
+    public boolean[] getNulls() {
+        return nulls;
+    }
+
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    private int getSize() {
+        switch (type) {
+            case INT:
+            case LONG:
+                return longValues.length;
+            case FLOAT:
+            case DOUBLE:
+                return doubleValues.length;
+            case BOOL:
+                return boolValues.length;
+            case STRING:
+                return stringCodes.length;
+            default:
+                return objectValues.length;
+        }
+    }
+}
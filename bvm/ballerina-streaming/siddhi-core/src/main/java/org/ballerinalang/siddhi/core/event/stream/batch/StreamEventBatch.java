@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.event.stream.batch;
+
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.ComplexEventChunk;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.executor.VariableExpressionExecutor;
+
+import java.util.Arrays;
+
+/**
+ * Columnar view of the stream events of a {@link ComplexEventChunk}. The values of each attribute read by the
+ * processor are copied to an {@link EventColumn} of primitive values once, so that the processor can evaluate them
+ * in loops over arrays instead of walking the event chain and unboxing the values of each event. The receivers of
+ * the queries fill the columns while they convert the received events to stream events, so that the values are
+ * unboxed in the same pass in which the events are ingested.
+ */
+public class StreamEventBatch {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final StreamEvent[] events;
+    private final ComplexEvent.Type[] types;
+    private final VariableExpressionExecutor[] variables;
+    private final EventColumn[] columns;
+    private final StringDictionary dictionary = new StringDictionary();
+    private int size;
+
+    /**
+     * Creates an empty batch, which is filled with {@link #add(StreamEvent)}.
+     *
+     * @param capacity  the number of events of the batch
+     * @param variables the variables whose values are copied to the columns of the batch
+     */
+    public StreamEventBatch(int capacity, VariableExpressionExecutor[] variables) {
+        this.events = new StreamEvent[capacity];
+        this.types = new ComplexEvent.Type[capacity];
+        this.variables = variables;
+        this.columns = new EventColumn[variables.length];
+        for (int column = 0; column < variables.length; column++) {
+            columns[column] = new EventColumn(variables[column].getReturnType(), capacity, dictionary);
+        }
+    }
+
+    /**
+     * Creates the batch of the events of the given chunk, with a column for each of the given variables.
+     *
+     * @param complexEventChunk the chunk of events
+     * @param variables         the variables whose values are copied to the columns of the batch
+     * @return the event batch, or null if the chunk contains events other than stream events
+     */
+    public static StreamEventBatch create(ComplexEventChunk<?> complexEventChunk,
+                                          VariableExpressionExecutor[] variables) {
+        StreamEvent[] events = new StreamEvent[INITIAL_CAPACITY];
+        int size = 0;
+        for (ComplexEvent event = complexEventChunk.getFirst(); event != null; event = event.getNext()) {
+            if (!(event instanceof StreamEvent)) {
+                return null;
+            }
+            if (size == events.length) {
+                events = Arrays.copyOf(events, size << 1);
+            }
+            events[size++] = (StreamEvent) event;
+        }
+        StreamEventBatch eventBatch = new StreamEventBatch(size, variables);
+        for (int i = 0; i < size; i++) {
+            eventBatch.add(events[i]);
+        }
+        return eventBatch;
+    }
+
+    /**
+     * Adds an event to the batch, and copies the values of its variables to the columns.
+     *
+     * @param event the event, which follows the events added before in the chunk
+     */
+    public void add(StreamEvent event) {
+        for (int column = 0; column < variables.length; column++) {
+            columns[column].set(size, event.getAttribute(variables[column].getPosition()));
+        }
+        types[size] = event.getType();
+        events[size++] = event;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public StreamEvent getEvent(int index) {
+        return events[index];
+    }
+
+    public ComplexEvent.Type[] getTypes() {
+        return types;
+    }
+
+    public VariableExpressionExecutor[] getVariables() {
+        return variables;
+    }
+
+    public EventColumn getColumn(int column) {
+        return columns[column];
+    }
+
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.event.stream.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary of the string values of a {@link StreamEventBatch}. Each distinct string is encoded to an int code, so
+ * that string columns can be compared by their codes.
+ */
+public class StringDictionary {
+
+    public static final int UNKNOWN_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Returns the code of the given string without adding it to the dictionary.
+     *
+     * @param value the string value
+     * @return the code of the string, or {@link #UNKNOWN_CODE} if it is not in the dictionary
+     */
+    public int getCode(String value) {
+        Integer code = codes.get(value);
+        return code == null ? UNKNOWN_CODE : code;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.executor.compiled;
+
+import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.query.api.definition.Attribute;
+
+/**
+ * Parent class of the expression executors generated by the {@link ExpressionExecutorCompiler}. The generated
+ * {@code execute} method evaluates the compiled expression with primitive values, and calls the delegate executors
+ * for the parts of the expression which are not compiled, such as variables and functions.
+ */
+public abstract class CompiledExpressionExecutor implements ExpressionExecutor {
+
+    private final ExpressionExecutor sourceExecutor;
+    protected final ExpressionExecutor[] delegates;
+
+    protected CompiledExpressionExecutor(ExpressionExecutor sourceExecutor, ExpressionExecutor[] delegates) {
+        this.sourceExecutor = sourceExecutor;
+        this.delegates = delegates;
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return sourceExecutor.getReturnType();
+    }
+
+    @Override
+    public ExpressionExecutor cloneExecutor(String key) {
+        return ExpressionExecutorCompiler.newInstance(getClass(), sourceExecutor.cloneExecutor(key));
+    }
+
+    /**
+     * Returns the expression executor tree this executor is compiled from.
+     *
+     * @return the source expression executor
+     */
+    public ExpressionExecutor getSourceExecutor() {
+        return sourceExecutor;
+    }
+}
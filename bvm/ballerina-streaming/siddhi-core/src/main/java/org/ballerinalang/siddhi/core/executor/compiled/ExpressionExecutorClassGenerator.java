@@ -0,0 +1,666 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.executor.compiled;
+
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.executor.ConstantExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.VariableExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.AndConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.BoolConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.NotConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.OrConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.CompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.equal.EqualCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.greaterthan
+        .GreaterThanCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.greaterthanequal
+        .GreaterThanEqualCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.lessthan.LessThanCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.lessthanequal
+        .LessThanEqualCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.notequal
+        .NotEqualCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.math.MathExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.math.add.AddExpressionExecutorDouble;
+import org.ballerinalang.siddhi.core.executor.math.add.AddExpressionExecutorFloat;
+import org.ballerinalang.siddhi.core.executor.math.add.AddExpressionExecutorInt;
+import org.ballerinalang.siddhi.core.executor.math.add.AddExpressionExecutorLong;
+import org.ballerinalang.siddhi.core.executor.math.divide.DivideExpressionExecutorDouble;
+import org.ballerinalang.siddhi.core.executor.math.divide.DivideExpressionExecutorFloat;
+import org.ballerinalang.siddhi.core.executor.math.divide.DivideExpressionExecutorInt;
+import org.ballerinalang.siddhi.core.executor.math.divide.DivideExpressionExecutorLong;
+import org.ballerinalang.siddhi.core.executor.math.mod.ModExpressionExecutorDouble;
+import org.ballerinalang.siddhi.core.executor.math.mod.ModExpressionExecutorFloat;
+import org.ballerinalang.siddhi.core.executor.math.mod.ModExpressionExecutorInt;
+import org.ballerinalang.siddhi.core.executor.math.mod.ModExpressionExecutorLong;
+import org.ballerinalang.siddhi.core.executor.math.multiply.MultiplyExpressionExecutorDouble;
+import org.ballerinalang.siddhi.core.executor.math.multiply.MultiplyExpressionExecutorFloat;
+import org.ballerinalang.siddhi.core.executor.math.multiply.MultiplyExpressionExecutorInt;
+import org.ballerinalang.siddhi.core.executor.math.multiply.MultiplyExpressionExecutorLong;
+import org.ballerinalang.siddhi.core.executor.math.subtract.SubtractExpressionExecutorDouble;
+import org.ballerinalang.siddhi.core.executor.math.subtract.SubtractExpressionExecutorFloat;
+import org.ballerinalang.siddhi.core.executor.math.subtract.SubtractExpressionExecutorInt;
+import org.ballerinalang.siddhi.core.executor.math.subtract.SubtractExpressionExecutorLong;
+import org.ballerinalang.siddhi.core.util.SiddhiConstants;
+import org.ballerinalang.siddhi.query.api.definition.Attribute;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the class of a compiled expression executor tree.
+ * <p>
+ * The generated {@code execute} method evaluates comparisons, arithmetic and logical operations, and constants with
+ * primitive JVM values, following the semantics of the respective executors: an arithmetic operation on a null
+ * value, or a division by zero, results in null, while a comparison with a null value is false (true for a not
+ * equal comparison), and a null condition is treated as false. Variables of stream events are loaded straight from
+ * the data arrays of the events, at the positions their executors hold, since the positions are only set after the
+ * query is parsed. Every other executor of the tree, and the variables of state events, are delegates, which are
+ * executed as they are and whose results are unboxed.
+ */
+class ExpressionExecutorClassGenerator implements Opcodes {
+
+    private static final String SUPER_CLASS = Type.getInternalName(CompiledExpressionExecutor.class);
+    private static final String EXECUTOR_CLASS = Type.getInternalName(ExpressionExecutor.class);
+    private static final String EXECUTE_DESC = "(" + Type.getDescriptor(ComplexEvent.class) + ")Ljava/lang/Object;";
+    private static final String STREAM_EVENT_CLASS = Type.getInternalName(StreamEvent.class);
+    private static final String VARIABLE_CLASS = Type.getInternalName(VariableExpressionExecutor.class);
+    private static final String CONSTRUCTOR_DESC = "(L" + EXECUTOR_CLASS + ";[L" + EXECUTOR_CLASS + ";)V";
+
+    // Local variable slots of the generated execute method
+    private static final int EVENT = 1;
+    private static final int FIRST_TEMP = 2;
+
+    private static final int ADD = 0;
+    private static final int SUBTRACT = 1;
+    private static final int MULTIPLY = 2;
+    private static final int DIVIDE = 3;
+    private static final int MOD = 4;
+
+    private static final Map<Class<?>, Integer> MATH_OPERATIONS = new HashMap<>();
+
+    static {
+        addMathOperation(ADD, AddExpressionExecutorInt.class, AddExpressionExecutorLong.class,
+                AddExpressionExecutorFloat.class, AddExpressionExecutorDouble.class);
+        addMathOperation(SUBTRACT, SubtractExpressionExecutorInt.class, SubtractExpressionExecutorLong.class,
+                SubtractExpressionExecutorFloat.class, SubtractExpressionExecutorDouble.class);
+        addMathOperation(MULTIPLY, MultiplyExpressionExecutorInt.class, MultiplyExpressionExecutorLong.class,
+                MultiplyExpressionExecutorFloat.class, MultiplyExpressionExecutorDouble.class);
+        addMathOperation(DIVIDE, DivideExpressionExecutorInt.class, DivideExpressionExecutorLong.class,
+                DivideExpressionExecutorFloat.class, DivideExpressionExecutorDouble.class);
+        addMathOperation(MOD, ModExpressionExecutorInt.class, ModExpressionExecutorLong.class,
+                ModExpressionExecutorFloat.class, ModExpressionExecutorDouble.class);
+    }
+
+    private final ExpressionExecutor rootExecutor;
+    private final Map<ExpressionExecutor, Integer> delegateIndexes = new IdentityHashMap<>();
+
+    private MethodVisitor mv;
+    private int nextTemp = FIRST_TEMP;
+
+    ExpressionExecutorClassGenerator(ExpressionExecutor rootExecutor) {
+        this.rootExecutor = rootExecutor;
+        List<ExpressionExecutor> delegates = getDelegates(rootExecutor);
+        for (int i = 0; i < delegates.size(); i++) {
+            delegateIndexes.put(delegates.get(i), i);
+        }
+    }
+
+    /**
+     * Checks whether compiling the given expression executor tree is worthwhile, that is whether its root is an
+     * operation which can be compiled.
+     *
+     * @param executor the root of the expression executor tree
+     * @return true if the tree should be compiled
+     */
+    static boolean isCompilable(ExpressionExecutor executor) {
+        return !(executor instanceof ConstantExpressionExecutor) && isCompiled(executor);
+    }
+
+    /**
+     * Returns the executors of the given tree which are not compiled, in the order of the delegates array of the
+     * generated class.
+     *
+     * @param executor the root of the expression executor tree
+     * @return the delegate executors
+     */
+    static List<ExpressionExecutor> getDelegates(ExpressionExecutor executor) {
+        List<ExpressionExecutor> delegates = new ArrayList<>();
+        addDelegates(executor, delegates);
+        return delegates;
+    }
+
+    byte[] generate(String className) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, SUPER_CLASS, null);
+
+        MethodVisitor constructor = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESC, null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitVarInsn(ALOAD, 1);
+        constructor.visitVarInsn(ALOAD, 2);
+        constructor.visitMethodInsn(INVOKESPECIAL, SUPER_CLASS, "<init>", CONSTRUCTOR_DESC, false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "execute", EXECUTE_DESC, null, null);
+        mv.visitCode();
+        Label isNull = new Label();
+        genExpression(rootExecutor, isNull);
+        genBox(rootExecutor.getReturnType());
+        mv.visitInsn(ARETURN);
+        mv.visitLabel(isNull);
+        mv.visitInsn(ACONST_NULL);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void addMathOperation(int operation, Class<?>... executorClasses) {
+        for (Class<?> executorClass : executorClasses) {
+            MATH_OPERATIONS.put(executorClass, operation);
+        }
+    }
+
+    private static void addDelegates(ExpressionExecutor executor, List<ExpressionExecutor> delegates) {
+        if (!isCompiled(executor)) {
+            delegates.add(executor);
+            return;
+        }
+        for (ExpressionExecutor operand : getOperands(executor)) {
+            addDelegates(operand, delegates);
+        }
+    }
+
+    private static boolean isCompiled(ExpressionExecutor executor) {
+        if (executor instanceof ConstantExpressionExecutor) {
+            return isPrimitive(executor.getReturnType()) || executor.getReturnType() == Attribute.Type.STRING;
+        } else if (executor instanceof CompareConditionExpressionExecutor) {
+            CompareConditionExpressionExecutor compareExecutor = (CompareConditionExpressionExecutor) executor;
+            Attribute.Type leftType = compareExecutor.getLeftExpressionExecutor().getReturnType();
+            Attribute.Type rightType = compareExecutor.getRightExpressionExecutor().getReturnType();
+            if (isNumeric(leftType) && isNumeric(rightType)) {
+                return getComparison(compareExecutor) != 0;
+            }
+            return leftType == rightType && (leftType == Attribute.Type.BOOL || leftType == Attribute.Type.STRING)
+                    && (executor instanceof EqualCompareConditionExpressionExecutor
+                    || executor instanceof NotEqualCompareConditionExpressionExecutor);
+        } else if (executor instanceof MathExpressionExecutor) {
+            return MATH_OPERATIONS.containsKey(executor.getClass()) && isNumeric(executor.getReturnType());
+        }
+        return executor instanceof AndConditionExpressionExecutor || executor instanceof OrConditionExpressionExecutor
+                || executor instanceof NotConditionExpressionExecutor
+                || executor instanceof BoolConditionExpressionExecutor;
+    }
+
+    private static ExpressionExecutor[] getOperands(ExpressionExecutor executor) {
+        if (executor instanceof CompareConditionExpressionExecutor) {
+            CompareConditionExpressionExecutor compareExecutor = (CompareConditionExpressionExecutor) executor;
+            return new ExpressionExecutor[]{compareExecutor.getLeftExpressionExecutor(),
+                    compareExecutor.getRightExpressionExecutor()};
+        } else if (executor instanceof MathExpressionExecutor) {
+            MathExpressionExecutor mathExecutor = (MathExpressionExecutor) executor;
+            return new ExpressionExecutor[]{mathExecutor.getLeftExpressionExecutor(),
+                    mathExecutor.getRightExpressionExecutor()};
+        } else if (executor instanceof AndConditionExpressionExecutor) {
+            AndConditionExpressionExecutor andExecutor = (AndConditionExpressionExecutor) executor;
+            return new ExpressionExecutor[]{andExecutor.getLeftConditionExecutor(),
+                    andExecutor.getRightConditionExecutor()};
+        } else if (executor instanceof OrConditionExpressionExecutor) {
+            OrConditionExpressionExecutor orExecutor = (OrConditionExpressionExecutor) executor;
+            return new ExpressionExecutor[]{orExecutor.getLeftConditionExecutor(),
+                    orExecutor.getRightConditionExecutor()};
+        } else if (executor instanceof NotConditionExpressionExecutor) {
+            return new ExpressionExecutor[]{((NotConditionExpressionExecutor) executor).getConditionExecutor()};
+        } else if (executor instanceof BoolConditionExpressionExecutor) {
+            return new ExpressionExecutor[]{((BoolConditionExpressionExecutor) executor).getConditionExecutor()};
+        }
+        return new ExpressionExecutor[0];
+    }
+
+    // returns the JVM branch opcode of the comparison, to be applied on the result of a compare instruction
+    private static int getComparison(CompareConditionExpressionExecutor executor) {
+        if (executor instanceof GreaterThanCompareConditionExpressionExecutor) {
+            return IFGT;
+        } else if (executor instanceof GreaterThanEqualCompareConditionExpressionExecutor) {
+            return IFGE;
+        } else if (executor instanceof LessThanCompareConditionExpressionExecutor) {
+            return IFLT;
+        } else if (executor instanceof LessThanEqualCompareConditionExpressionExecutor) {
+            return IFLE;
+        } else if (executor instanceof EqualCompareConditionExpressionExecutor) {
+            return IFEQ;
+        } else if (executor instanceof NotEqualCompareConditionExpressionExecutor) {
+            return IFNE;
+        }
+        return 0;
+    }
+
+    private static boolean isNumeric(Attribute.Type type) {
+        return type == Attribute.Type.INT || type == Attribute.Type.LONG || type == Attribute.Type.FLOAT
+                || type == Attribute.Type.DOUBLE;
+    }
+
+    private static boolean isPrimitive(Attribute.Type type) {
+        return isNumeric(type) || type == Attribute.Type.BOOL;
+    }
+
+    // conditions evaluate to false instead of null, as the respective executors do
+    private static boolean isCondition(ExpressionExecutor executor) {
+        return !(executor instanceof ConstantExpressionExecutor) && !(executor instanceof MathExpressionExecutor)
+                && isCompiled(executor);
+    }
+
+    /**
+     * Generates the code leaving the value of the given executor on the operand stack, or jumping to the given
+     * label with an empty operand stack if the value is null. The operand stack has to be empty.
+     */
+    private void genExpression(ExpressionExecutor executor, Label isNull) {
+        Integer delegateIndex = delegateIndexes.get(executor);
+        if (delegateIndex != null) {
+            genDelegate(executor, delegateIndex, isNull);
+        } else if (executor instanceof ConstantExpressionExecutor) {
+            genConstant((ConstantExpressionExecutor) executor, isNull);
+        } else if (executor instanceof CompareConditionExpressionExecutor) {
+            genCompare((CompareConditionExpressionExecutor) executor);
+        } else if (executor instanceof MathExpressionExecutor) {
+            genMath((MathExpressionExecutor) executor, isNull);
+        } else if (executor instanceof AndConditionExpressionExecutor) {
+            AndConditionExpressionExecutor andExecutor = (AndConditionExpressionExecutor) executor;
+            genAndOr(andExecutor.getLeftConditionExecutor(), andExecutor.getRightConditionExecutor(), true);
+        } else if (executor instanceof OrConditionExpressionExecutor) {
+            OrConditionExpressionExecutor orExecutor = (OrConditionExpressionExecutor) executor;
+            genAndOr(orExecutor.getLeftConditionExecutor(), orExecutor.getRightConditionExecutor(), false);
+        } else if (executor instanceof NotConditionExpressionExecutor) {
+            genCondition(((NotConditionExpressionExecutor) executor).getConditionExecutor());
+            mv.visitInsn(ICONST_1);
+            mv.visitInsn(IXOR);
+        } else {
+            genCondition(((BoolConditionExpressionExecutor) executor).getConditionExecutor());
+        }
+    }
+
+    // leaves 1 on the operand stack if the condition is true, and 0 if it is false or null
+    private void genCondition(ExpressionExecutor executor) {
+        if (isCondition(executor)) {
+            genExpression(executor, null);
+            return;
+        }
+        Label isNull = new Label();
+        Label end = new Label();
+        genExpression(executor, isNull);
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(isNull);
+        mv.visitInsn(ICONST_0);
+        mv.visitLabel(end);
+    }
+
+    private void genDelegate(ExpressionExecutor executor, int delegateIndex, Label isNull) {
+        Label executed = new Label();
+        if (executor instanceof VariableExpressionExecutor) {
+            genVariable(delegateIndex, executed);
+        }
+        genLoadDelegate(delegateIndex);
+        mv.visitVarInsn(ALOAD, EVENT);
+        mv.visitMethodInsn(INVOKEINTERFACE, EXECUTOR_CLASS, "execute", EXECUTE_DESC, true);
+        mv.visitLabel(executed);
+        Label notNull = new Label();
+        mv.visitInsn(DUP);
+        mv.visitJumpInsn(IFNONNULL, notNull);
+        mv.visitInsn(POP);
+        mv.visitJumpInsn(GOTO, isNull);
+        mv.visitLabel(notNull);
+        genUnbox(executor.getReturnType());
+    }
+
+    /**
+     * Generates the code loading the value of a variable from the data array of a stream event, and jumping to the
+     * given label with the value on the operand stack. The code falls through with an empty operand stack for the
+     * other events, whose variables are executed by their executors.
+     */
+    private void genVariable(int delegateIndex, Label loaded) {
+        Label notLoaded = new Label();
+        Label beforeWindowData = new Label();
+        Label onAfterWindowData = new Label();
+        Label outputData = new Label();
+        Label loadAttribute = new Label();
+        mv.visitVarInsn(ALOAD, EVENT);
+        mv.visitTypeInsn(INSTANCEOF, STREAM_EVENT_CLASS);
+        mv.visitJumpInsn(IFEQ, notLoaded);
+
+        int position = nextTemp++;
+        genLoadDelegate(delegateIndex);
+        mv.visitTypeInsn(CHECKCAST, VARIABLE_CLASS);
+        mv.visitMethodInsn(INVOKEVIRTUAL, VARIABLE_CLASS, "getPosition", "()[I", false);
+        mv.visitVarInsn(ASTORE, position);
+        mv.visitVarInsn(ALOAD, position);
+        mv.visitLdcInsn(SiddhiConstants.STREAM_ATTRIBUTE_TYPE_INDEX);
+        mv.visitInsn(IALOAD);
+        mv.visitLookupSwitchInsn(notLoaded, new int[]{SiddhiConstants.BEFORE_WINDOW_DATA_INDEX,
+                SiddhiConstants.ON_AFTER_WINDOW_DATA_INDEX, SiddhiConstants.OUTPUT_DATA_INDEX},
+                new Label[]{beforeWindowData, onAfterWindowData, outputData});
+        genLoadData(beforeWindowData, "getBeforeWindowData", loadAttribute);
+        genLoadData(onAfterWindowData, "getOnAfterWindowData", loadAttribute);
+        genLoadData(outputData, "getOutputData", loadAttribute);
+
+        mv.visitLabel(loadAttribute);
+        mv.visitVarInsn(ALOAD, position);
+        mv.visitLdcInsn(SiddhiConstants.STREAM_ATTRIBUTE_INDEX_IN_TYPE);
+        mv.visitInsn(IALOAD);
+        mv.visitInsn(AALOAD);
+        mv.visitJumpInsn(GOTO, loaded);
+        mv.visitLabel(notLoaded);
+    }
+
+    private void genLoadData(Label label, String getter, Label loadAttribute) {
+        mv.visitLabel(label);
+        mv.visitVarInsn(ALOAD, EVENT);
+        mv.visitTypeInsn(CHECKCAST, STREAM_EVENT_CLASS);
+        mv.visitMethodInsn(INVOKEVIRTUAL, STREAM_EVENT_CLASS, getter, "()[Ljava/lang/Object;", false);
+        mv.visitJumpInsn(GOTO, loadAttribute);
+    }
+
+    private void genLoadDelegate(int delegateIndex) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, SUPER_CLASS, "delegates", "[L" + EXECUTOR_CLASS + ";");
+        mv.visitLdcInsn(delegateIndex);
+        mv.visitInsn(AALOAD);
+    }
+
+    private void genConstant(ConstantExpressionExecutor executor, Label isNull) {
+        Object value = executor.getValue();
+        if (value == null) {
+            mv.visitJumpInsn(GOTO, isNull);
+            return;
+        }
+        switch (executor.getReturnType()) {
+            case INT:
+                mv.visitLdcInsn(((Number) value).intValue());
+                break;
+            case LONG:
+                mv.visitLdcInsn(((Number) value).longValue());
+                break;
+            case FLOAT:
+                mv.visitLdcInsn(((Number) value).floatValue());
+                break;
+            case DOUBLE:
+                mv.visitLdcInsn(((Number) value).doubleValue());
+                break;
+            case BOOL:
+                mv.visitInsn((Boolean) value ? ICONST_1 : ICONST_0);
+                break;
+            default:
+                mv.visitLdcInsn(value.toString());
+                break;
+        }
+    }
+
+    private void genCompare(CompareConditionExpressionExecutor executor) {
+        ExpressionExecutor left = executor.getLeftExpressionExecutor();
+        ExpressionExecutor right = executor.getRightExpressionExecutor();
+        int comparison = getComparison(executor);
+        Attribute.Type type = getComparisonType(left.getReturnType(), right.getReturnType(), comparison);
+        // a not equal comparison with a null value is true
+        boolean isNullTrue = comparison == IFNE;
+
+        Label isNull = new Label();
+        Label isTrue = new Label();
+        Label end = new Label();
+        int leftTemp = genToTemp(left, type, isNull);
+        int rightTemp = genToTemp(right, type, isNull);
+        mv.visitVarInsn(getLoadOpcode(type), leftTemp);
+        mv.visitVarInsn(getLoadOpcode(type), rightTemp);
+        switch (type) {
+            case INT:
+            case BOOL:
+                // compare the values directly, as subtracting them may overflow
+                comparison += IF_ICMPEQ - IFEQ;
+                break;
+            case LONG:
+                mv.visitInsn(LCMP);
+                break;
+            case FLOAT:
+                // NaN operands have to make the comparison false
+                mv.visitInsn(comparison == IFLT || comparison == IFLE ? FCMPG : FCMPL);
+                break;
+            case DOUBLE:
+                mv.visitInsn(comparison == IFLT || comparison == IFLE ? DCMPG : DCMPL);
+                break;
+            default:
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z", false);
+                // equals leaves 1 when the strings are equal, hence the comparison is inverted
+                comparison = comparison == IFEQ ? IFNE : IFEQ;
+                break;
+        }
+        mv.visitJumpInsn(comparison, isTrue);
+        mv.visitInsn(ICONST_0);
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(isNull);
+        mv.visitInsn(isNullTrue ? ICONST_1 : ICONST_0);
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(isTrue);
+        mv.visitInsn(ICONST_1);
+        mv.visitLabel(end);
+    }
+
+    private void genMath(MathExpressionExecutor executor, Label isNull) {
+        Attribute.Type type = executor.getReturnType();
+        int operation = MATH_OPERATIONS.get(executor.getClass());
+        int leftTemp = genToTemp(executor.getLeftExpressionExecutor(), type, isNull);
+        int rightTemp = genToTemp(executor.getRightExpressionExecutor(), type, isNull);
+        Type jvmType = getJvmType(type);
+        if (operation == DIVIDE || operation == MOD) {
+            mv.visitVarInsn(jvmType.getOpcode(ILOAD), rightTemp);
+            switch (type) {
+                case LONG:
+                    mv.visitInsn(LCONST_0);
+                    mv.visitInsn(LCMP);
+                    break;
+                case FLOAT:
+                    mv.visitInsn(FCONST_0);
+                    mv.visitInsn(FCMPL);
+                    break;
+                case DOUBLE:
+                    mv.visitInsn(DCONST_0);
+                    mv.visitInsn(DCMPL);
+                    break;
+                default:
+                    break;
+            }
+            mv.visitJumpInsn(IFEQ, isNull);
+        }
+        mv.visitVarInsn(jvmType.getOpcode(ILOAD), leftTemp);
+        mv.visitVarInsn(jvmType.getOpcode(ILOAD), rightTemp);
+        switch (operation) {
+            case ADD:
+                mv.visitInsn(jvmType.getOpcode(IADD));
+                break;
+            case SUBTRACT:
+                mv.visitInsn(jvmType.getOpcode(ISUB));
+                break;
+            case MULTIPLY:
+                mv.visitInsn(jvmType.getOpcode(IMUL));
+                break;
+            case DIVIDE:
+                mv.visitInsn(jvmType.getOpcode(IDIV));
+                break;
+            default:
+                mv.visitInsn(jvmType.getOpcode(IREM));
+                break;
+        }
+    }
+
+    private void genAndOr(ExpressionExecutor left, ExpressionExecutor right, boolean isAnd) {
+        int shortCircuit = isAnd ? IFEQ : IFNE;
+        Label shortCircuited = new Label();
+        Label end = new Label();
+        genCondition(left);
+        mv.visitJumpInsn(shortCircuit, shortCircuited);
+        genCondition(right);
+        mv.visitJumpInsn(shortCircuit, shortCircuited);
+        mv.visitInsn(isAnd ? ICONST_1 : ICONST_0);
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(shortCircuited);
+        mv.visitInsn(isAnd ? ICONST_0 : ICONST_1);
+        mv.visitLabel(end);
+    }
+
+    // evaluates an operand, converts it to the type of the operation and stores it in a new local variable
+    private int genToTemp(ExpressionExecutor operand, Attribute.Type type, Label isNull) {
+        genExpression(operand, isNull);
+        genConversion(operand.getReturnType(), type);
+        int temp = nextTemp;
+        Type jvmType = getJvmType(type);
+        mv.visitVarInsn(jvmType.getOpcode(ISTORE), temp);
+        nextTemp += jvmType.getSize();
+        return temp;
+    }
+
+    private void genConversion(Attribute.Type from, Attribute.Type to) {
+        if (from == to || !isNumeric(from)) {
+            return;
+        }
+        switch (to) {
+            case LONG:
+                mv.visitInsn(from == Attribute.Type.INT ? I2L : from == Attribute.Type.FLOAT ? F2L : D2L);
+                break;
+            case FLOAT:
+                mv.visitInsn(from == Attribute.Type.INT ? I2F : from == Attribute.Type.LONG ? L2F : D2F);
+                break;
+            case DOUBLE:
+                mv.visitInsn(from == Attribute.Type.INT ? I2D : from == Attribute.Type.LONG ? L2D : F2D);
+                break;
+            default:
+                mv.visitInsn(from == Attribute.Type.LONG ? L2I : from == Attribute.Type.FLOAT ? F2I : D2I);
+                break;
+        }
+    }
+
+    private void genUnbox(Attribute.Type type) {
+        switch (type) {
+            case INT:
+                genNumberValue("intValue", "()I");
+                break;
+            case LONG:
+                genNumberValue("longValue", "()J");
+                break;
+            case FLOAT:
+                genNumberValue("floatValue", "()F");
+                break;
+            case DOUBLE:
+                genNumberValue("doubleValue", "()D");
+                break;
+            case BOOL:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Boolean");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z", false);
+                break;
+            case STRING:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/String");
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void genNumberValue(String name, String desc) {
+        mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+        mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", name, desc, false);
+    }
+
+    private void genBox(Attribute.Type type) {
+        switch (type) {
+            case INT:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", false);
+                break;
+            case LONG:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Long", "valueOf", "(J)Ljava/lang/Long;", false);
+                break;
+            case FLOAT:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Float", "valueOf", "(F)Ljava/lang/Float;", false);
+                break;
+            case DOUBLE:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;", false);
+                break;
+            case BOOL:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;", false);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns the type both operands of a comparison are converted to. The compare executors use the binary numeric
+     * promotion of Java, except that they check the equality of float and long values as double values.
+     */
+    private static Attribute.Type getComparisonType(Attribute.Type left, Attribute.Type right, int comparison) {
+        if (!isNumeric(left)) {
+            return left;
+        }
+        if (left == Attribute.Type.DOUBLE || right == Attribute.Type.DOUBLE) {
+            return Attribute.Type.DOUBLE;
+        }
+        if (left == Attribute.Type.FLOAT || right == Attribute.Type.FLOAT) {
+            boolean withLong = left == Attribute.Type.LONG || right == Attribute.Type.LONG;
+            return withLong && (comparison == IFEQ || comparison == IFNE) ? Attribute.Type.DOUBLE
+                    : Attribute.Type.FLOAT;
+        }
+        if (left == Attribute.Type.LONG || right == Attribute.Type.LONG) {
+            return Attribute.Type.LONG;
+        }
+        return Attribute.Type.INT;
+    }
+
+    private static int getLoadOpcode(Attribute.Type type) {
+        return getJvmType(type).getOpcode(ILOAD);
+    }
+
+    private static Type getJvmType(Attribute.Type type) {
+        switch (type) {
+            case INT:
+                return Type.INT_TYPE;
+            case LONG:
+                return Type.LONG_TYPE;
+            case FLOAT:
+                return Type.FLOAT_TYPE;
+            case DOUBLE:
+                return Type.DOUBLE_TYPE;
+            case BOOL:
+                return Type.BOOLEAN_TYPE;
+            case STRING:
+                return Type.getType(String.class);
+            default:
+                return Type.getType(Object.class);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.executor.compiled;
+
+import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles expression executor trees of filters and projections to generated classes, when expression compilation
+ * is enabled for the Siddhi Manager. Comparisons, arithmetic and logical operations on primitive values are
+ * compiled, while the other executors of the tree are called as they are. Trees without any operation to compile
+ * are not compiled.
+ */
+public class ExpressionExecutorCompiler {
+
+    private static final String CLASS_NAME_PREFIX =
+            "org/ballerinalang/siddhi/core/executor/compiled/generated/CompiledExpressionExecutor$";
+
+    private static final Logger log = LoggerFactory.getLogger(ExpressionExecutorCompiler.class);
+
+    private static final AtomicInteger classCount = new AtomicInteger();
+
+    private ExpressionExecutorCompiler() {
+    }
+
+    /**
+     * Compiles the given expression executor tree, if expression compilation is enabled.
+     *
+     * @param expressionExecutor the root of the expression executor tree
+     * @param siddhiAppContext   the context of the Siddhi App the expression belongs to
+     * @return the compiled expression executor, or the given expression executor if it is not compiled
+     */
+    public static ExpressionExecutor compile(ExpressionExecutor expressionExecutor,
+                                             SiddhiAppContext siddhiAppContext) {
+        if (!siddhiAppContext.getSiddhiContext().isExpressionCompilationEnabled()
+                || !ExpressionExecutorClassGenerator.isCompilable(expressionExecutor)) {
+            return expressionExecutor;
+        }
+
+        String className = CLASS_NAME_PREFIX + classCount.incrementAndGet();
+        try {
+            byte[] classFile = new ExpressionExecutorClassGenerator(expressionExecutor).generate(className);
+            Class<?> compiledClass = new CompiledExpressionClassLoader().define(className.replace('/', '.'),
+                    classFile);
+            return newInstance(compiledClass, expressionExecutor);
+        } catch (Throwable e) {
+            // keep evaluating the expression executor tree
+            log.debug("Expression compilation failed for " + className + ": " + e.getMessage(), e);
+            return expressionExecutor;
+        }
+    }
+
+    /**
+     * Creates an instance of a compiled class for the given expression executor tree, which must have the same
+     * structure as the tree the class was generated from.
+     *
+     * @param compiledClass      the generated class
+     * @param expressionExecutor the root of the expression executor tree
+     * @return the compiled expression executor, or the given expression executor if it cannot be instantiated
+     */
+    static ExpressionExecutor newInstance(Class<?> compiledClass, ExpressionExecutor expressionExecutor) {
+        List<ExpressionExecutor> delegates = ExpressionExecutorClassGenerator.getDelegates(expressionExecutor);
+        try {
+            return (ExpressionExecutor) compiledClass
+                    .getConstructor(ExpressionExecutor.class, ExpressionExecutor[].class)
+                    .newInstance(expressionExecutor, delegates.toArray(new ExpressionExecutor[delegates.size()]));
+        } catch (ReflectiveOperationException e) {
+            log.debug("Instantiating " + compiledClass.getName() + " failed: " + e.getMessage(), e);
+            return expressionExecutor;
+        }
+    }
+
+    /**
+     * Class loader for a single generated class, so that the class can be unloaded together with the Siddhi App
+     * it was generated for.
+     */
+    private static class CompiledExpressionClassLoader extends ClassLoader {
+
+        CompiledExpressionClassLoader() {
+            super(CompiledExpressionExecutor.class.getClassLoader());
+        }
+
+        Class<?> define(String name, byte[] classFile) {
+            return defineClass(name, classFile, 0, classFile.length);
+        }
+    }
+}
@@ -54,5 +54,7 @@ public class BoolConditionExpressionExecutor extends ConditionExpressionExecutor
         return new BoolConditionExpressionExecutor(conditionExecutor.cloneExecutor(key));
     }
 
-
+    public ExpressionExecutor getConditionExecutor() {
+        return conditionExecutor;
+    }
 }
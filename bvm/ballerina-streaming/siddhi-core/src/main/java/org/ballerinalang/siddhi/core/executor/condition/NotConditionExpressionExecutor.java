@@ -54,5 +54,7 @@ public class NotConditionExpressionExecutor extends ConditionExpressionExecutor
         return new NotConditionExpressionExecutor(conditionExecutor.cloneExecutor(key));
     }
 
-
+    public ExpressionExecutor getConditionExecutor() {
+        return conditionExecutor;
+    }
 }
@@ -81,5 +81,11 @@ public class OrConditionExpressionExecutor extends ConditionExpressionExecutor {
                 .cloneExecutor(key));
     }
 
+    public ExpressionExecutor getLeftConditionExecutor() {
+        return leftConditionExecutor;
+    }
 
+    public ExpressionExecutor getRightConditionExecutor() {
+        return rightConditionExecutor;
+    }
 }
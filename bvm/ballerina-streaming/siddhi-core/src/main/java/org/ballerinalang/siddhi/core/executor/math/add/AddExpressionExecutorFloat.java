@@ -19,12 +19,13 @@ package org.ballerinalang.siddhi.core.executor.math.add;
 
 import org.ballerinalang.siddhi.core.event.ComplexEvent;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.math.MathExpressionExecutor;
 import org.ballerinalang.siddhi.query.api.definition.Attribute;
 
 /**
  * Executor class for Float Add function. Function execution logic is implemented in execute here.
  */
-public class AddExpressionExecutorFloat implements ExpressionExecutor {
+public class AddExpressionExecutorFloat implements MathExpressionExecutor {
     private ExpressionExecutor leftExpressionExecutor;
     private ExpressionExecutor rightExpressionExecutor;
 
@@ -54,4 +55,13 @@ public class AddExpressionExecutorFloat implements ExpressionExecutor {
                 .cloneExecutor(key));
     }
 
+    @Override
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    @Override
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
 }
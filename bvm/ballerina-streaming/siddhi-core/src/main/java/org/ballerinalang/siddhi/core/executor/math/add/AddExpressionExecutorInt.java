@@ -19,12 +19,13 @@ package org.ballerinalang.siddhi.core.executor.math.add;
 
 import org.ballerinalang.siddhi.core.event.ComplexEvent;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.math.MathExpressionExecutor;
 import org.ballerinalang.siddhi.query.api.definition.Attribute;
 
 /**
  * Executor class for Integer Add function. Function execution logic is implemented in execute here.
  */
-public class AddExpressionExecutorInt implements ExpressionExecutor {
+public class AddExpressionExecutorInt implements MathExpressionExecutor {
     private ExpressionExecutor leftExpressionExecutor;
     private ExpressionExecutor rightExpressionExecutor;
 
@@ -55,4 +56,13 @@ public class AddExpressionExecutorInt implements ExpressionExecutor {
                 .cloneExecutor(key));
     }
 
+    @Override
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    @Override
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
 }
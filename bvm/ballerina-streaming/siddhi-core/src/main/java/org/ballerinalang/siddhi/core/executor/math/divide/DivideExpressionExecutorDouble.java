@@ -19,12 +19,13 @@ package org.ballerinalang.siddhi.core.executor.math.divide;
 
 import org.ballerinalang.siddhi.core.event.ComplexEvent;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.math.MathExpressionExecutor;
 import org.ballerinalang.siddhi.query.api.definition.Attribute;
 
 /**
  * Executor class for Double Divide function. Function execution logic is implemented in execute here.
  */
-public class DivideExpressionExecutorDouble implements ExpressionExecutor {
+public class DivideExpressionExecutorDouble implements MathExpressionExecutor {
     private ExpressionExecutor leftExpressionExecutor;
     private ExpressionExecutor rightExpressionExecutor;
 
@@ -60,4 +61,13 @@ public class DivideExpressionExecutorDouble implements ExpressionExecutor {
                 .cloneExecutor(key));
     }
 
+    @Override
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    @Override
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
 }
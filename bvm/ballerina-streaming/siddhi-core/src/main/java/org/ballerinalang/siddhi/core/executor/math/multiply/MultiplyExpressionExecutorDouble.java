@@ -20,12 +20,13 @@ package org.ballerinalang.siddhi.core.executor.math.multiply;
 
 import org.ballerinalang.siddhi.core.event.ComplexEvent;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.math.MathExpressionExecutor;
 import org.ballerinalang.siddhi.query.api.definition.Attribute;
 
 /**
  * Executor class for Double Multiply function. Function execution logic is implemented in execute here.
  */
-public class MultiplyExpressionExecutorDouble implements ExpressionExecutor {
+public class MultiplyExpressionExecutorDouble implements MathExpressionExecutor {
     private ExpressionExecutor leftExpressionExecutor;
     private ExpressionExecutor rightExpressionExecutor;
 
@@ -56,4 +57,13 @@ public class MultiplyExpressionExecutorDouble implements ExpressionExecutor {
                 rightExpressionExecutor.cloneExecutor(key));
     }
 
+    @Override
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    @Override
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
 }
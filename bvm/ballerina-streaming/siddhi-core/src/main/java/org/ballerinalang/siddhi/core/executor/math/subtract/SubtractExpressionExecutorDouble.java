@@ -19,12 +19,13 @@ package org.ballerinalang.siddhi.core.executor.math.subtract;
 
 import org.ballerinalang.siddhi.core.event.ComplexEvent;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.math.MathExpressionExecutor;
 import org.ballerinalang.siddhi.query.api.definition.Attribute;
 
 /**
  * Executor class for Double subtract function. Function execution logic is implemented in execute here.
  */
-public class SubtractExpressionExecutorDouble implements ExpressionExecutor {
+public class SubtractExpressionExecutorDouble implements MathExpressionExecutor {
     private ExpressionExecutor leftExpressionExecutor;
     private ExpressionExecutor rightExpressionExecutor;
 
@@ -56,4 +57,13 @@ public class SubtractExpressionExecutorDouble implements ExpressionExecutor {
                 rightExpressionExecutor.cloneExecutor(key));
     }
 
+    @Override
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    @Override
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
 }
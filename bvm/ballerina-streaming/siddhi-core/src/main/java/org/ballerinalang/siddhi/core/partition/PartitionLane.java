@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.partition;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.stream.StreamJunction;
+import org.ballerinalang.siddhi.core.util.ExceptionUtil;
+import org.ballerinalang.siddhi.core.util.statistics.EventBufferHolder;
+import org.ballerinalang.siddhi.core.util.statistics.LatencyTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single threaded executor lane of a {@link PartitionRuntime}. Partition keys are hashed onto the lanes of the
+ * partition, hence the events of different keys are processed concurrently while the events of the same key are
+ * processed in the order they were received.
+ * <p>
+ * Each lane buffers a bounded number of event batches. Once the buffer is full, the publishing thread is blocked
+ * until the lane has processed some of the buffered batches, so that a slow lane slows down its publishers instead
+ * of buffering events without a limit. The lane itself cannot wait for room in its own buffer, hence the events it
+ * publishes to itself while its buffer is full, such as the events a query of the partition inserts into the
+ * partitioned stream, are processed right away on the lane thread.
+ */
+public class PartitionLane implements EventBufferHolder {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionLane.class);
+
+    private final String name;
+    private final SiddhiAppContext siddhiAppContext;
+    private final LatencyTracker latencyTracker;
+    private final ThreadPoolExecutor executor;
+    private volatile Thread laneThread;
+
+    public PartitionLane(String name, int bufferSize, SiddhiAppContext siddhiAppContext,
+                         LatencyTracker latencyTracker) {
+        this.name = name;
+        this.siddhiAppContext = siddhiAppContext;
+        this.latencyTracker = latencyTracker;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(bufferSize),
+                newThreadFactory(new ThreadFactoryBuilder().setNameFormat("Siddhi-" + siddhiAppContext.getName() +
+                        "-" + name + "-thread-%d").build()),
+                (runnable, laneExecutor) -> {
+                    if (laneExecutor.isShutdown()) {
+                        throw new RejectedExecutionException("partition lane '" + name + "' is shutdown");
+                    }
+                    if (Thread.currentThread() == laneThread) {
+                        // waiting on the lane thread would wait for itself forever
+                        runnable.run();
+                        return;
+                    }
+                    try {
+                        // wait for the lane to make room for the events
+                        laneExecutor.getQueue().put(runnable);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("publisher is interrupted while waiting for partition " +
+                                "lane '" + name + "'", e);
+                    }
+                });
+    }
+
+    private ThreadFactory newThreadFactory(ThreadFactory threadFactory) {
+        return runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            laneThread = thread;
+            return thread;
+        };
+    }
+
+    /**
+     * Send the events to the given stream junction of a partition instance through the lane.
+     *
+     * @param streamJunction stream junction of the partition instance
+     * @param complexEvent   events owned by the lane, which are not reused by the caller
+     */
+    public void send(StreamJunction streamJunction, ComplexEvent complexEvent) {
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    process(streamJunction, complexEvent);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("Dropping events received by partition lane '" + name + "' of Siddhi App '" +
+                    siddhiAppContext.getName() + "' as the " + e.getMessage() + ".");
+        }
+    }
+
+    private void process(StreamJunction streamJunction, ComplexEvent complexEvent) {
+        boolean trackLatency = latencyTracker != null && siddhiAppContext.isStatsEnabled();
+        try {
+            if (trackLatency) {
+                latencyTracker.markIn();
+            }
+            streamJunction.sendEvent(complexEvent);
+        } catch (Throwable t) {
+            log.error(ExceptionUtil.getMessageWithContext(t, siddhiAppContext) + " Error in processing events " +
+                    "of partition lane '" + name + "' of Siddhi App '" + siddhiAppContext.getName() + "'.", t);
+        } finally {
+            if (trackLatency) {
+                latencyTracker.markOut();
+            }
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getBufferedEvents() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public boolean containsBufferedEvents() {
+        return true;
+    }
+}
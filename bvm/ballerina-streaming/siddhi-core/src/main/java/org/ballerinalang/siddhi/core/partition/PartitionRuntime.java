@@ -34,6 +34,7 @@ import org.ballerinalang.siddhi.core.util.parser.helper.DefinitionParserHelper;
 import org.ballerinalang.siddhi.core.util.parser.helper.QueryParserHelper;
 import org.ballerinalang.siddhi.core.util.snapshot.Snapshotable;
 import org.ballerinalang.siddhi.core.util.statistics.MemoryUsageTracker;
+import org.ballerinalang.siddhi.query.api.annotation.Annotation;
 import org.ballerinalang.siddhi.query.api.annotation.Element;
 import org.ballerinalang.siddhi.query.api.definition.AbstractDefinition;
 import org.ballerinalang.siddhi.query.api.definition.StreamDefinition;
@@ -83,6 +84,7 @@ public class PartitionRuntime implements Snapshotable {
             PartitionStreamReceiver>();
     private SiddhiAppContext siddhiAppContext;
     private MemoryUsageTracker memoryUsageTracker;
+    private PartitionLane[] partitionLanes;
 
     public PartitionRuntime(ConcurrentMap<String, AbstractDefinition> streamDefinitionMap, ConcurrentMap<String,
             StreamJunction> streamJunctionMap, Partition partition, SiddhiAppContext siddhiAppContext) {
@@ -90,12 +92,22 @@ public class PartitionRuntime implements Snapshotable {
         if (partition.getPartitionTypeMap().isEmpty()) {
             throw new SiddhiAppCreationException("Partition must have at least one executor. But found none.");
         }
+        int laneCount = siddhiAppContext.getSiddhiContext().getPartitionLaneCount();
+        int laneBufferSize = siddhiAppContext.getSiddhiContext().getPartitionLaneBufferSize();
         try {
             Element element = AnnotationHelper.getAnnotationElement("info", "name",
                     partition.getAnnotations());
             if (element != null) {
                 this.partitionId = element.getValue();
             }
+            Annotation annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_ASYNC,
+                    partition.getAnnotations());
+            if (annotation != null) {
+                laneCount = getAnnotationValue(annotation, SiddhiConstants.ANNOTATION_ELEMENT_WORKERS, laneCount, 0,
+                        siddhiAppContext);
+                laneBufferSize = getAnnotationValue(annotation, SiddhiConstants.ANNOTATION_ELEMENT_BUFFER_SIZE,
+                        laneBufferSize, 1, siddhiAppContext);
+            }
         } catch (DuplicateAnnotationException e) {
             throw new DuplicateAnnotationException(e.getMessageWithOutContext() + " for the same Query " +
                     partition.toString(), e, e.getQueryContextStartIndex(), e.getQueryContextEndIndex(),
@@ -108,6 +120,40 @@ public class PartitionRuntime implements Snapshotable {
         this.partition = partition;
         this.streamDefinitionMap = streamDefinitionMap;
         this.streamJunctionMap = streamJunctionMap;
+        if (laneCount > 0) {
+            partitionLanes = new PartitionLane[laneCount];
+            for (int i = 0; i < laneCount; i++) {
+                String laneName = partitionId + "-lane-" + i;
+                partitionLanes[i] = new PartitionLane(laneName, laneBufferSize, siddhiAppContext,
+                        QueryParserHelper.createLatencyTracker(siddhiAppContext, laneName,
+                                SiddhiConstants.METRIC_INFIX_PARTITIONS, null));
+            }
+        }
+    }
+
+    private static int getAnnotationValue(Annotation annotation, String elementName, int defaultValue, int minValue,
+                                          SiddhiAppContext siddhiAppContext) {
+        String valueString = annotation.getElement(elementName);
+        if (valueString == null) {
+            return defaultValue;
+        }
+        int value;
+        try {
+            value = Integer.parseInt(valueString.trim());
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Element '" + elementName + "' of annotation '" +
+                    annotation.getName() + "' of the partition expects an integer, but found '" + valueString +
+                    "'.", e, annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex(),
+                    siddhiAppContext);
+        }
+        if (value < minValue) {
+            throw new SiddhiAppCreationException("Element '" + elementName + "' of annotation '" +
+                    annotation.getName() + "' of the partition expects an integer greater than or equal to " +
+                    minValue + ", but found '" + valueString + "'.", annotation.getQueryContextStartIndex(),
+                    annotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                    siddhiAppContext.getSiddhiAppString());
+        }
+        return value;
     }
 
     public QueryRuntime addQuery(QueryRuntime metaQueryRuntime) {
@@ -285,6 +331,23 @@ public class PartitionRuntime implements Snapshotable {
         }
     }
 
+    /**
+     * Returns the executor lane on which the events of the given partition key are processed.
+     *
+     * @param key partition key
+     * @return the lane of the key, or null if the events of the partition are processed on the publishing thread
+     */
+    public PartitionLane getPartitionLane(String key) {
+        if (partitionLanes == null) {
+            return null;
+        }
+        return partitionLanes[(key.hashCode() & Integer.MAX_VALUE) % partitionLanes.length];
+    }
+
+    public PartitionLane[] getPartitionLanes() {
+        return partitionLanes;
+    }
+
     public void addStreamJunction(String key, StreamJunction streamJunction) {
         localStreamJunctionMap.put(key, streamJunction);
     }
@@ -295,6 +358,14 @@ public class PartitionRuntime implements Snapshotable {
         }
     }
 
+    public void shutdown() {
+        if (partitionLanes != null) {
+            for (PartitionLane partitionLane : partitionLanes) {
+                partitionLane.shutdown();
+            }
+        }
+    }
+
     public String getPartitionId() {
         return partitionId;
     }
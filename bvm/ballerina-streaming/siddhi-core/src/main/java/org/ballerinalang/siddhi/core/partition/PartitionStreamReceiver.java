@@ -23,6 +23,7 @@ import org.ballerinalang.siddhi.core.event.ComplexEventChunk;
 import org.ballerinalang.siddhi.core.event.Event;
 import org.ballerinalang.siddhi.core.event.stream.MetaStreamEvent;
 import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.event.stream.StreamEventCloner;
 import org.ballerinalang.siddhi.core.event.stream.StreamEventPool;
 import org.ballerinalang.siddhi.core.event.stream.converter.StreamEventConverter;
 import org.ballerinalang.siddhi.core.event.stream.converter.StreamEventConverterFactory;
@@ -52,7 +53,7 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
     private List<PartitionExecutor> partitionExecutors;
     private Map<String, StreamJunction> cachedStreamJunctionMap = new ConcurrentHashMap<String, StreamJunction>();
     private ComplexEventChunk<ComplexEvent> streamEventChunk;
-
+    private StreamEventCloner laneEventCloner;
 
     public PartitionStreamReceiver(SiddhiAppContext siddhiAppContext, MetaStreamEvent metaStreamEvent,
                                    StreamDefinition streamDefinition,
@@ -66,7 +67,9 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         streamId = streamDefinition.getId();
         this.eventPool = new StreamEventPool(metaStreamEvent, 5);
         this.streamEventChunk = new ComplexEventChunk<ComplexEvent>(false);
-
+        if (partitionRuntime.getPartitionLanes() != null) {
+            this.laneEventCloner = new StreamEventCloner(metaStreamEvent, new StreamEventPool(metaStreamEvent, 5));
+        }
     }
 
     public void init() {
@@ -238,14 +241,35 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
     private void send(String key, ComplexEvent event) {
         if (key != null) {
             partitionRuntime.cloneIfNotExist(key);
-            cachedStreamJunctionMap.get(streamId + key).sendEvent(event);
+            send(key, cachedStreamJunctionMap.get(streamId + key), event);
         }
     }
 
     private void send(ComplexEvent event) {
-        for (StreamJunction streamJunction : cachedStreamJunctionMap.values()) {
+        for (Map.Entry<String, StreamJunction> entry : cachedStreamJunctionMap.entrySet()) {
+            send(entry.getKey().substring(streamId.length()), entry.getValue(), event);
+        }
+    }
+
+    private void send(String key, StreamJunction streamJunction, ComplexEvent event) {
+        PartitionLane partitionLane = partitionRuntime.getPartitionLane(key);
+        if (partitionLane == null) {
             streamJunction.sendEvent(event);
+        } else {
+            // events are returned to the pool once sent, hence the lane is given copies of them
+            partitionLane.send(streamJunction, copyEvents(event));
+        }
+    }
+
+    private ComplexEvent copyEvents(ComplexEvent event) {
+        StreamEvent firstEvent = laneEventCloner.copyStreamEvent((StreamEvent) event);
+        StreamEvent lastEvent = firstEvent;
+        for (ComplexEvent nextEvent = event.getNext(); nextEvent != null; nextEvent = nextEvent.getNext()) {
+            StreamEvent copiedEvent = laneEventCloner.copyStreamEvent((StreamEvent) nextEvent);
+            lastEvent.setNext(copiedEvent);
+            lastEvent = copiedEvent;
         }
+        return firstEvent;
     }
 
     /**
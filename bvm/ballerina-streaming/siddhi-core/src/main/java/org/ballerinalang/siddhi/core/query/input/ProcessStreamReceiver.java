@@ -25,10 +25,12 @@ import org.ballerinalang.siddhi.core.event.Event;
 import org.ballerinalang.siddhi.core.event.stream.MetaStreamEvent;
 import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
 import org.ballerinalang.siddhi.core.event.stream.StreamEventPool;
+import org.ballerinalang.siddhi.core.event.stream.batch.StreamEventBatch;
 import org.ballerinalang.siddhi.core.event.stream.converter.StreamEventConverter;
 import org.ballerinalang.siddhi.core.event.stream.converter.StreamEventConverterFactory;
 import org.ballerinalang.siddhi.core.query.input.stream.state.PreStateProcessor;
 import org.ballerinalang.siddhi.core.query.processor.Processor;
+import org.ballerinalang.siddhi.core.query.processor.filter.FilterProcessor;
 import org.ballerinalang.siddhi.core.stream.StreamJunction;
 import org.ballerinalang.siddhi.core.util.lock.LockWrapper;
 import org.ballerinalang.siddhi.core.util.statistics.LatencyTracker;
@@ -82,6 +84,10 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
     }
 
     private void process(ComplexEventChunk<StreamEvent> streamEventChunk) {
+        process(streamEventChunk, null);
+    }
+
+    private void process(ComplexEventChunk<StreamEvent> streamEventChunk, StreamEventBatch eventBatch) {
         if (lockWrapper != null) {
             lockWrapper.lock();
         }
@@ -89,12 +95,12 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
             if (siddhiAppContext.isStatsEnabled() && latencyTracker != null) {
                 try {
                     latencyTracker.markIn();
-                    processAndClear(streamEventChunk);
+                    processAndClear(streamEventChunk, eventBatch);
                 } finally {
                     latencyTracker.markOut();
                 }
             } else {
-                processAndClear(streamEventChunk);
+                processAndClear(streamEventChunk, eventBatch);
             }
         } finally {
             if (lockWrapper != null) {
@@ -136,19 +142,33 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
 
     @Override
     public void receive(Event[] events) {
+        // the columns of a columnar filter are built while the events are converted
+        StreamEventBatch eventBatch = null;
+        if (events.length > 1 && next instanceof FilterProcessor
+                && ((FilterProcessor) next).getColumnarConditionExecutor() != null) {
+            eventBatch = new StreamEventBatch(events.length,
+                    ((FilterProcessor) next).getColumnarConditionExecutor().getColumnVariables());
+        }
         StreamEvent firstEvent = streamEventPool.borrowEvent();
         streamEventConverter.convertEvent(events[0], firstEvent);
+        if (eventBatch != null) {
+            eventBatch.add(firstEvent);
+        }
         StreamEvent currentEvent = firstEvent;
         for (int i = 1, eventsLength = events.length; i < eventsLength; i++) {
             StreamEvent nextEvent = streamEventPool.borrowEvent();
             streamEventConverter.convertEvent(events[i], nextEvent);
+            if (eventBatch != null) {
+                eventBatch.add(nextEvent);
+            }
             currentEvent.setNext(nextEvent);
             currentEvent = nextEvent;
         }
         if (siddhiDebugger != null) {
             siddhiDebugger.checkBreakPoint(queryName, SiddhiDebugger.QueryTerminal.IN, firstEvent);
         }
-        process(new ComplexEventChunk<StreamEvent>(firstEvent, currentEvent, this.batchProcessingAllowed));
+        process(new ComplexEventChunk<StreamEvent>(firstEvent, currentEvent, this.batchProcessingAllowed),
+                eventBatch);
     }
 
 
@@ -188,6 +208,15 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         streamEventChunk.clear();
     }
 
+    private void processAndClear(ComplexEventChunk<StreamEvent> streamEventChunk, StreamEventBatch eventBatch) {
+        if (eventBatch == null) {
+            processAndClear(streamEventChunk);
+            return;
+        }
+        ((FilterProcessor) next).process(streamEventChunk, eventBatch);
+        streamEventChunk.clear();
+    }
+
     public void setMetaStreamEvent(MetaStreamEvent metaStreamEvent) {
         this.metaStreamEvent = metaStreamEvent;
     }
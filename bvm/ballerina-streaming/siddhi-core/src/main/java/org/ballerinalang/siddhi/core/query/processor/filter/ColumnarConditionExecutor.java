@@ -0,0 +1,548 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.query.processor.filter;
+
+import org.ballerinalang.siddhi.core.event.ComplexEventChunk;
+import org.ballerinalang.siddhi.core.event.stream.batch.EventColumn;
+import org.ballerinalang.siddhi.core.event.stream.batch.StreamEventBatch;
+import org.ballerinalang.siddhi.core.executor.ConstantExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.VariableExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.compiled.CompiledExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.AndConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.BoolConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.NotConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.OrConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.CompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.equal.EqualCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.greaterthan
+        .GreaterThanCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.greaterthanequal
+        .GreaterThanEqualCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.lessthan.LessThanCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.lessthanequal
+        .LessThanEqualCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.condition.compare.notequal
+        .NotEqualCompareConditionExpressionExecutor;
+import org.ballerinalang.siddhi.query.api.definition.Attribute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evaluates a filter condition over the columns of a {@link StreamEventBatch}. Comparisons of variables and
+ * constants, and the logical operations on them, are evaluated for all the events of the batch in loops over the
+ * primitive values of the columns, following the semantics of the respective condition executors.
+ */
+public class ColumnarConditionExecutor {
+
+    private static final int EQUAL = 0;
+    private static final int NOT_EQUAL = 1;
+    private static final int GREATER_THAN = 2;
+    private static final int GREATER_THAN_EQUAL = 3;
+    private static final int LESS_THAN = 4;
+    private static final int LESS_THAN_EQUAL = 5;
+
+    private final Condition condition;
+    private final VariableExpressionExecutor[] columnVariables;
+
+    private ColumnarConditionExecutor(Condition condition, List<VariableExpressionExecutor> columnVariables) {
+        this.condition = condition;
+        this.columnVariables = columnVariables.toArray(new VariableExpressionExecutor[columnVariables.size()]);
+    }
+
+    /**
+     * Creates the columnar executor of the given condition.
+     *
+     * @param conditionExecutor the condition executor of the filter
+     * @return the columnar condition executor, or null if the condition cannot be evaluated over columns
+     */
+    public static ColumnarConditionExecutor create(ExpressionExecutor conditionExecutor) {
+        if (conditionExecutor instanceof CompiledExpressionExecutor) {
+            conditionExecutor = ((CompiledExpressionExecutor) conditionExecutor).getSourceExecutor();
+        }
+        List<VariableExpressionExecutor> columnVariables = new ArrayList<>();
+        Condition condition = createCondition(conditionExecutor, columnVariables);
+        return condition == null ? null : new ColumnarConditionExecutor(condition, columnVariables);
+    }
+
+    /**
+     * Evaluates the condition for each event of the given chunk.
+     *
+     * @param complexEventChunk the chunk of events
+     * @return the results of the condition in the order of the events, or null if the chunk contains events other
+     * than stream events
+     */
+    public boolean[] execute(ComplexEventChunk<?> complexEventChunk) {
+        StreamEventBatch eventBatch = StreamEventBatch.create(complexEventChunk, columnVariables);
+        if (eventBatch == null) {
+            return null;
+        }
+        return condition.execute(eventBatch);
+    }
+
+    /**
+     * Evaluates the condition for each event of the given batch, whose columns are built by the receiver of the
+     * query.
+     *
+     * @param eventBatch the batch of events, with the columns of {@link #getColumnVariables()}
+     * @return the results of the condition in the order of the events
+     */
+    public boolean[] execute(StreamEventBatch eventBatch) {
+        if (eventBatch.getVariables() != columnVariables) {
+            throw new IllegalArgumentException("the columns of the event batch are not the columns of the condition");
+        }
+        return condition.execute(eventBatch);
+    }
+
+    /**
+     * Returns the variables whose columns the condition is evaluated over.
+     *
+     * @return the variables of the columns
+     */
+    public VariableExpressionExecutor[] getColumnVariables() {
+        return columnVariables;
+    }
+
+    private static Condition createCondition(ExpressionExecutor executor,
+                                             List<VariableExpressionExecutor> columnVariables) {
+        if (executor instanceof AndConditionExpressionExecutor) {
+            AndConditionExpressionExecutor andExecutor = (AndConditionExpressionExecutor) executor;
+            Condition left = createCondition(andExecutor.getLeftConditionExecutor(), columnVariables);
+            Condition right = createCondition(andExecutor.getRightConditionExecutor(), columnVariables);
+            return left == null || right == null ? null : new AndCondition(left, right);
+        } else if (executor instanceof OrConditionExpressionExecutor) {
+            OrConditionExpressionExecutor orExecutor = (OrConditionExpressionExecutor) executor;
+            Condition left = createCondition(orExecutor.getLeftConditionExecutor(), columnVariables);
+            Condition right = createCondition(orExecutor.getRightConditionExecutor(), columnVariables);
+            return left == null || right == null ? null : new OrCondition(left, right);
+        } else if (executor instanceof NotConditionExpressionExecutor) {
+            Condition condition = createCondition(((NotConditionExpressionExecutor) executor).getConditionExecutor(),
+                    columnVariables);
+            return condition == null ? null : new NotCondition(condition);
+        } else if (executor instanceof BoolConditionExpressionExecutor) {
+            return createCondition(((BoolConditionExpressionExecutor) executor).getConditionExecutor(),
+                    columnVariables);
+        } else if (executor instanceof VariableExpressionExecutor
+                && executor.getReturnType() == Attribute.Type.BOOL) {
+            return new BoolCondition(getColumn((VariableExpressionExecutor) executor, columnVariables));
+        } else if (executor instanceof CompareConditionExpressionExecutor) {
+            return createCompareCondition((CompareConditionExpressionExecutor) executor, columnVariables);
+        }
+        return null;
+    }
+
+    private static Condition createCompareCondition(CompareConditionExpressionExecutor executor,
+                                                    List<VariableExpressionExecutor> columnVariables) {
+        int operator = getOperator(executor);
+        Operand left = createOperand(executor.getLeftExpressionExecutor(), columnVariables);
+        Operand right = createOperand(executor.getRightExpressionExecutor(), columnVariables);
+        if (operator == -1 || left == null || right == null) {
+            return null;
+        }
+        Attribute.Type leftType = left.type;
+        Attribute.Type rightType = right.type;
+        boolean isEquality = operator == EQUAL || operator == NOT_EQUAL;
+        Attribute.Type compareType;
+        if (isNumeric(leftType) && isNumeric(rightType)) {
+            compareType = getCompareType(leftType, rightType, isEquality);
+        } else if (leftType == Attribute.Type.BOOL && rightType == Attribute.Type.BOOL && isEquality) {
+            compareType = Attribute.Type.LONG;
+        } else if (leftType == Attribute.Type.STRING && rightType == Attribute.Type.STRING && isEquality
+                && (left.column != -1 || right.column != -1)) {
+            compareType = Attribute.Type.STRING;
+        } else {
+            return null;
+        }
+        return new CompareCondition(operator, left, right, compareType);
+    }
+
+    private static Operand createOperand(ExpressionExecutor executor,
+                                         List<VariableExpressionExecutor> columnVariables) {
+        if (executor instanceof VariableExpressionExecutor) {
+            return new Operand(executor.getReturnType(), getColumn((VariableExpressionExecutor) executor,
+                    columnVariables), null);
+        } else if (executor instanceof ConstantExpressionExecutor
+                && ((ConstantExpressionExecutor) executor).getValue() != null) {
+            return new Operand(executor.getReturnType(), -1, ((ConstantExpressionExecutor) executor).getValue());
+        }
+        return null;
+    }
+
+    private static int getColumn(VariableExpressionExecutor variable, List<VariableExpressionExecutor> variables) {
+        int column = variables.indexOf(variable);
+        if (column == -1) {
+            column = variables.size();
+            variables.add(variable);
+        }
+        return column;
+    }
+
+    private static int getOperator(CompareConditionExpressionExecutor executor) {
+        if (executor instanceof EqualCompareConditionExpressionExecutor) {
+            return EQUAL;
+        } else if (executor instanceof NotEqualCompareConditionExpressionExecutor) {
+            return NOT_EQUAL;
+        } else if (executor instanceof GreaterThanCompareConditionExpressionExecutor) {
+            return GREATER_THAN;
+        } else if (executor instanceof GreaterThanEqualCompareConditionExpressionExecutor) {
+            return GREATER_THAN_EQUAL;
+        } else if (executor instanceof LessThanCompareConditionExpressionExecutor) {
+            return LESS_THAN;
+        } else if (executor instanceof LessThanEqualCompareConditionExpressionExecutor) {
+            return LESS_THAN_EQUAL;
+        }
+        return -1;
+    }
+
+    private static boolean isNumeric(Attribute.Type type) {
+        return type == Attribute.Type.INT || type == Attribute.Type.LONG || type == Attribute.Type.FLOAT
+                || type == Attribute.Type.DOUBLE;
+    }
+
+    /**
+     * Returns the type both operands of a comparison are converted to. The compare executors use the binary numeric
+     * promotion of Java, except that they check the equality of float and long values as double values.
+     */
+    private static Attribute.Type getCompareType(Attribute.Type left, Attribute.Type right, boolean isEquality) {
+        if (left == Attribute.Type.DOUBLE || right == Attribute.Type.DOUBLE) {
+            return Attribute.Type.DOUBLE;
+        }
+        if (left == Attribute.Type.FLOAT || right == Attribute.Type.FLOAT) {
+            boolean withLong = left == Attribute.Type.LONG || right == Attribute.Type.LONG;
+            return withLong && isEquality ? Attribute.Type.DOUBLE : Attribute.Type.FLOAT;
+        }
+        return Attribute.Type.LONG;
+    }
+
+    private static boolean compare(int operator, long left, long right) {
+        switch (operator) {
+            case EQUAL:
+                return left == right;
+            case NOT_EQUAL:
+                return left != right;
+            case GREATER_THAN:
+                return left > right;
+            case GREATER_THAN_EQUAL:
+                return left >= right;
+            case LESS_THAN:
+                return left < right;
+            default:
+                return left <= right;
+        }
+    }
+
+    private static boolean compare(int operator, float left, float right) {
+        switch (operator) {
+            case EQUAL:
+                return left == right;
+            case NOT_EQUAL:
+                return left != right;
+            case GREATER_THAN:
+                return left > right;
+            case GREATER_THAN_EQUAL:
+                return left >= right;
+            case LESS_THAN:
+                return left < right;
+            default:
+                return left <= right;
+        }
+    }
+
+    private static boolean compare(int operator, double left, double right) {
+        switch (operator) {
+            case EQUAL:
+                return left == right;
+            case NOT_EQUAL:
+                return left != right;
+            case GREATER_THAN:
+                return left > right;
+            case GREATER_THAN_EQUAL:
+                return left >= right;
+            case LESS_THAN:
+                return left < right;
+            default:
+                return left <= right;
+        }
+    }
+
+    /**
+     * Condition evaluated over the columns of an event batch.
+     */
+    private abstract static class Condition {
+
+        abstract boolean[] execute(StreamEventBatch eventBatch);
+    }
+
+    /**
+     * Variable or constant operand of a comparison.
+     */
+    private static class Operand {
+
+        private final Attribute.Type type;
+        private final int column;
+        private final Object value;
+
+        Operand(Attribute.Type type, int column, Object value) {
+            this.type = type;
+            this.column = column;
+            this.value = value;
+        }
+
+        long[] getLongValues(StreamEventBatch eventBatch) {
+            int size = eventBatch.size();
+            if (column == -1) {
+                long[] values = new long[size];
+                Arrays.fill(values, value instanceof Boolean ? ((Boolean) value ? 1 : 0) :
+                        ((Number) value).longValue());
+                return values;
+            }
+            EventColumn eventColumn = eventBatch.getColumn(column);
+            if (type != Attribute.Type.BOOL) {
+                return eventColumn.getLongValues();
+            }
+            boolean[] boolValues = eventColumn.getBoolValues();
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = boolValues[i] ? 1 : 0;
+            }
+            return values;
+        }
+
+        float[] getFloatValues(StreamEventBatch eventBatch) {
+            int size = eventBatch.size();
+            float[] values = new float[size];
+            if (column == -1) {
+                Arrays.fill(values, ((Number) value).floatValue());
+                return values;
+            }
+            EventColumn eventColumn = eventBatch.getColumn(column);
+            if (type == Attribute.Type.FLOAT || type == Attribute.Type.DOUBLE) {
+                double[] doubleValues = eventColumn.getDoubleValues();
+                for (int i = 0; i < size; i++) {
+                    values[i] = (float) doubleValues[i];
+                }
+            } else {
+                long[] longValues = eventColumn.getLongValues();
+                for (int i = 0; i < size; i++) {
+                    values[i] = (float) longValues[i];
+                }
+            }
+            return values;
+        }
+
+        double[] getDoubleValues(StreamEventBatch eventBatch) {
+            int size = eventBatch.size();
+            if (column == -1) {
+                double[] values = new double[size];
+                Arrays.fill(values, ((Number) value).doubleValue());
+                return values;
+            }
+            EventColumn eventColumn = eventBatch.getColumn(column);
+            if (type == Attribute.Type.FLOAT || type == Attribute.Type.DOUBLE) {
+                return eventColumn.getDoubleValues();
+            }
+            long[] longValues = eventColumn.getLongValues();
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = (double) longValues[i];
+            }
+            return values;
+        }
+
+        int[] getStringCodes(StreamEventBatch eventBatch) {
+            if (column != -1) {
+                return eventBatch.getColumn(column).getStringCodes();
+            }
+            // a string which is not in the dictionary is not equal to any value of the batch
+            int[] codes = new int[eventBatch.size()];
+            Arrays.fill(codes, eventBatch.getDictionary().getCode((String) value));
+            return codes;
+        }
+
+        boolean[] getNulls(StreamEventBatch eventBatch) {
+            return column == -1 ? null : eventBatch.getColumn(column).getNulls();
+        }
+    }
+
+    /**
+     * Comparison of two operands. A comparison with a null value is false, and true for a not equal comparison.
+     */
+    private static class CompareCondition extends Condition {
+
+        private final int operator;
+        private final Operand left;
+        private final Operand right;
+        private final Attribute.Type compareType;
+
+        CompareCondition(int operator, Operand left, Operand right, Attribute.Type compareType) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+            this.compareType = compareType;
+        }
+
+        @Override
+        boolean[] execute(StreamEventBatch eventBatch) {
+            int size = eventBatch.size();
+            boolean[] results = new boolean[size];
+            switch (compareType) {
+                case LONG:
+                    long[] leftLongs = left.getLongValues(eventBatch);
+                    long[] rightLongs = right.getLongValues(eventBatch);
+                    for (int i = 0; i < size; i++) {
+                        results[i] = compare(operator, leftLongs[i], rightLongs[i]);
+                    }
+                    break;
+                case FLOAT:
+                    float[] leftFloats = left.getFloatValues(eventBatch);
+                    float[] rightFloats = right.getFloatValues(eventBatch);
+                    for (int i = 0; i < size; i++) {
+                        results[i] = compare(operator, leftFloats[i], rightFloats[i]);
+                    }
+                    break;
+                case DOUBLE:
+                    double[] leftDoubles = left.getDoubleValues(eventBatch);
+                    double[] rightDoubles = right.getDoubleValues(eventBatch);
+                    for (int i = 0; i < size; i++) {
+                        results[i] = compare(operator, leftDoubles[i], rightDoubles[i]);
+                    }
+                    break;
+                default:
+                    int[] leftCodes = left.getStringCodes(eventBatch);
+                    int[] rightCodes = right.getStringCodes(eventBatch);
+                    boolean isEqual = operator == EQUAL;
+                    for (int i = 0; i < size; i++) {
+                        results[i] = (leftCodes[i] == rightCodes[i]) == isEqual;
+                    }
+                    break;
+            }
+            boolean nullResult = operator == NOT_EQUAL;
+            applyNulls(results, left.getNulls(eventBatch), nullResult);
+            applyNulls(results, right.getNulls(eventBatch), nullResult);
+            return results;
+        }
+
+        private void applyNulls(boolean[] results, boolean[] nulls, boolean nullResult) {
+            if (nulls == null) {
+                return;
+            }
+            for (int i = 0; i < results.length; i++) {
+                if (nulls[i]) {
+                    results[i] = nullResult;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bool variable used as a condition, where a null value is false.
+     */
+    private static class BoolCondition extends Condition {
+
+        private final int column;
+
+        BoolCondition(int column) {
+            this.column = column;
+        }
+
+        @Override
+        boolean[] execute(StreamEventBatch eventBatch) {
+            EventColumn eventColumn = eventBatch.getColumn(column);
+            boolean[] results = Arrays.copyOf(eventColumn.getBoolValues(), eventBatch.size());
+            boolean[] nulls = eventColumn.getNulls();
+            if (nulls != null) {
+                for (int i = 0; i < results.length; i++) {
+                    results[i] = results[i] && !nulls[i];
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Logical and of two conditions.
+     */
+    private static class AndCondition extends Condition {
+
+        private final Condition left;
+        private final Condition right;
+
+        AndCondition(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean[] execute(StreamEventBatch eventBatch) {
+            boolean[] results = left.execute(eventBatch);
+            boolean[] rightResults = right.execute(eventBatch);
+            for (int i = 0; i < results.length; i++) {
+                results[i] = results[i] && rightResults[i];
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Logical or of two conditions.
+     */
+    private static class OrCondition extends Condition {
+
+        private final Condition left;
+        private final Condition right;
+
+        OrCondition(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean[] execute(StreamEventBatch eventBatch) {
+            boolean[] results = left.execute(eventBatch);
+            boolean[] rightResults = right.execute(eventBatch);
+            for (int i = 0; i < results.length; i++) {
+                results[i] = results[i] || rightResults[i];
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Logical not of a condition.
+     */
+    private static class NotCondition extends Condition {
+
+        private final Condition condition;
+
+        NotCondition(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        boolean[] execute(StreamEventBatch eventBatch) {
+            boolean[] results = condition.execute(eventBatch);
+            for (int i = 0; i < results.length; i++) {
+                results[i] = !results[i];
+            }
+            return results;
+        }
+    }
+}
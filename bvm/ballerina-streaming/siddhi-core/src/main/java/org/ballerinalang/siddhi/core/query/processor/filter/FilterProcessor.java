@@ -19,6 +19,7 @@ package org.ballerinalang.siddhi.core.query.processor.filter;
 
 import org.ballerinalang.siddhi.core.event.ComplexEvent;
 import org.ballerinalang.siddhi.core.event.ComplexEventChunk;
+import org.ballerinalang.siddhi.core.event.stream.batch.StreamEventBatch;
 import org.ballerinalang.siddhi.core.exception.OperationNotSupportedException;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
 import org.ballerinalang.siddhi.core.query.processor.Processor;
@@ -31,6 +32,7 @@ public class FilterProcessor implements Processor {
 
     protected Processor next;
     private ExpressionExecutor conditionExecutor;
+    private ColumnarConditionExecutor columnarConditionExecutor;
 
     public FilterProcessor(ExpressionExecutor conditionExecutor) {
         if (Attribute.Type.BOOL.equals(conditionExecutor.getReturnType())) {
@@ -43,17 +45,63 @@ public class FilterProcessor implements Processor {
     }
 
     public FilterProcessor cloneProcessor(String key) {
-        return new FilterProcessor(conditionExecutor.cloneExecutor(key));
+        FilterProcessor filterProcessor = new FilterProcessor(conditionExecutor.cloneExecutor(key));
+        filterProcessor.columnarConditionExecutor = columnarConditionExecutor;
+        return filterProcessor;
+    }
+
+    /**
+     * Sets the executor evaluating the condition over the columns of the chunks which hold more than one event.
+     *
+     * @param columnarConditionExecutor the columnar condition executor, or null
+     */
+    public void setColumnarConditionExecutor(ColumnarConditionExecutor columnarConditionExecutor) {
+        this.columnarConditionExecutor = columnarConditionExecutor;
+    }
+
+    public ColumnarConditionExecutor getColumnarConditionExecutor() {
+        return columnarConditionExecutor;
     }
 
     @Override
     public void process(ComplexEventChunk complexEventChunk) {
+        ComplexEvent first = complexEventChunk.getFirst();
+        boolean[] results = null;
+        if (columnarConditionExecutor != null && first != null && first.getNext() != null) {
+            results = columnarConditionExecutor.execute(complexEventChunk);
+        }
+        process(complexEventChunk, results);
+    }
+
+    /**
+     * Filters the events of the given chunk, whose columns are built by the receiver of the query while it receives
+     * the events.
+     *
+     * @param complexEventChunk the chunk of events
+     * @param eventBatch        the batch of the events of the chunk, with the columns of the columnar condition
+     *                          executor
+     */
+    public void process(ComplexEventChunk complexEventChunk, StreamEventBatch eventBatch) {
+        process(complexEventChunk, columnarConditionExecutor.execute(eventBatch));
+    }
+
+    private void process(ComplexEventChunk complexEventChunk, boolean[] results) {
         complexEventChunk.reset();
-        while (complexEventChunk.hasNext()) {
-            ComplexEvent complexEvent = complexEventChunk.next();
-            Object result = conditionExecutor.execute(complexEvent);
-            if (result == null || !(Boolean) result) {
-                complexEventChunk.remove();
+        if (results != null) {
+            int index = 0;
+            while (complexEventChunk.hasNext()) {
+                complexEventChunk.next();
+                if (!results[index++]) {
+                    complexEventChunk.remove();
+                }
+            }
+        } else {
+            while (complexEventChunk.hasNext()) {
+                ComplexEvent complexEvent = complexEventChunk.next();
+                Object result = conditionExecutor.execute(complexEvent);
+                if (result == null || !(Boolean) result) {
+                    complexEventChunk.remove();
+                }
             }
         }
         if (complexEventChunk.getFirst() != null) {
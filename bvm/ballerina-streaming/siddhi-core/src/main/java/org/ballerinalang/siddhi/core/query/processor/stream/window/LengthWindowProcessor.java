@@ -37,6 +37,8 @@ import org.ballerinalang.siddhi.core.util.collection.operator.MatchingMetaInfoHo
 import org.ballerinalang.siddhi.core.util.collection.operator.Operator;
 import org.ballerinalang.siddhi.core.util.config.ConfigReader;
 import org.ballerinalang.siddhi.core.util.parser.OperatorParser;
+import org.ballerinalang.siddhi.core.util.snapshot.EventQueueChangeLog;
+import org.ballerinalang.siddhi.core.util.snapshot.IncrementalSnapshotable;
 import org.ballerinalang.siddhi.query.api.exception.SiddhiAppValidationException;
 import org.ballerinalang.siddhi.query.api.expression.Expression;
 
@@ -70,11 +72,13 @@ import java.util.Map;
                 description = "This will processing 10 events and out put all events."
         )
 )
-public class LengthWindowProcessor extends WindowProcessor implements FindableProcessor {
+public class LengthWindowProcessor extends WindowProcessor implements FindableProcessor,
+        IncrementalSnapshotable {
 
     private int length;
     private int count = 0;
     private ComplexEventChunk<StreamEvent> expiredEventChunk;
+    private EventQueueChangeLog expiredEventChangeLog;
 
     public int getLength() {
         return length;
@@ -88,6 +92,7 @@ public class LengthWindowProcessor extends WindowProcessor implements FindablePr
     protected void init(ExpressionExecutor[] attributeExpressionExecutors, ConfigReader configReader, boolean
             outputExpectsExpiredEvents, SiddhiAppContext siddhiAppContext) {
         expiredEventChunk = new ComplexEventChunk<StreamEvent>(false);
+        expiredEventChangeLog = new EventQueueChangeLog(expiredEventChunk);
         if (attributeExpressionExecutors.length == 1) {
             length = (Integer) ((ConstantExpressionExecutor) attributeExpressionExecutors[0]).getValue();
         } else {
@@ -108,12 +113,15 @@ public class LengthWindowProcessor extends WindowProcessor implements FindablePr
                 if (count < length) {
                     count++;
                     this.expiredEventChunk.add(clonedEvent);
+                    expiredEventChangeLog.eventAdded(clonedEvent);
                 } else {
                     StreamEvent firstEvent = this.expiredEventChunk.poll();
                     if (firstEvent != null) {
+                        expiredEventChangeLog.eventRemoved();
                         firstEvent.setTimestamp(currentTime);
                         streamEventChunk.insertBeforeCurrent(firstEvent);
                         this.expiredEventChunk.add(clonedEvent);
+                        expiredEventChangeLog.eventAdded(clonedEvent);
                     } else {
                         StreamEvent resetEvent = streamEventCloner.copyStreamEvent(streamEvent);
                         resetEvent.setType(ComplexEvent.Type.RESET);
@@ -176,5 +184,27 @@ public class LengthWindowProcessor extends WindowProcessor implements FindablePr
         count = (int) state.get("Count");
         expiredEventChunk.clear();
         expiredEventChunk.add((StreamEvent) state.get("ExpiredEventChunk"));
+        expiredEventChangeLog.restore();
+    }
+
+    @Override
+    public Map<String, Object> currentStateChanges() {
+        Map<String, Object> stateChanges = new HashMap<>();
+        synchronized (this) {
+            stateChanges.put("Count", count);
+            expiredEventChangeLog.addChanges(stateChanges);
+        }
+        return stateChanges;
+    }
+
+    @Override
+    public synchronized void restoreStateChanges(Map<String, Object> stateChanges) {
+        count = (int) stateChanges.get("Count");
+        expiredEventChangeLog.restoreChanges(stateChanges);
+    }
+
+    @Override
+    public synchronized void clearStateChanges() {
+        expiredEventChangeLog.clear();
     }
 }
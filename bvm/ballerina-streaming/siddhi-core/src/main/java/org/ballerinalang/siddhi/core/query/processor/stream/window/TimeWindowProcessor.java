@@ -38,6 +38,8 @@ import org.ballerinalang.siddhi.core.util.collection.operator.MatchingMetaInfoHo
 import org.ballerinalang.siddhi.core.util.collection.operator.Operator;
 import org.ballerinalang.siddhi.core.util.config.ConfigReader;
 import org.ballerinalang.siddhi.core.util.parser.OperatorParser;
+import org.ballerinalang.siddhi.core.util.snapshot.EventQueueChangeLog;
+import org.ballerinalang.siddhi.core.util.snapshot.IncrementalSnapshotable;
 import org.ballerinalang.siddhi.query.api.definition.Attribute;
 import org.ballerinalang.siddhi.query.api.exception.SiddhiAppValidationException;
 import org.ballerinalang.siddhi.query.api.expression.Expression;
@@ -74,10 +76,12 @@ import java.util.Map;
                 )
         }
 )
-public class TimeWindowProcessor extends WindowProcessor implements SchedulingProcessor, FindableProcessor {
+public class TimeWindowProcessor extends WindowProcessor implements SchedulingProcessor, FindableProcessor,
+        IncrementalSnapshotable {
 
     private long timeInMilliSeconds;
     private ComplexEventChunk<StreamEvent> expiredEventChunk;
+    private EventQueueChangeLog expiredEventChangeLog;
     private Scheduler scheduler;
     private SiddhiAppContext siddhiAppContext;
     private volatile long lastTimestamp = Long.MIN_VALUE;
@@ -101,6 +105,7 @@ public class TimeWindowProcessor extends WindowProcessor implements SchedulingPr
             outputExpectsExpiredEvents, SiddhiAppContext siddhiAppContext) {
         this.siddhiAppContext = siddhiAppContext;
         this.expiredEventChunk = new ComplexEventChunk<StreamEvent>(false);
+        this.expiredEventChangeLog = new EventQueueChangeLog(expiredEventChunk);
         if (attributeExpressionExecutors.length == 1) {
             if (attributeExpressionExecutors[0] instanceof ConstantExpressionExecutor) {
                 if (attributeExpressionExecutors[0].getReturnType() == Attribute.Type.INT) {
@@ -139,6 +144,7 @@ public class TimeWindowProcessor extends WindowProcessor implements SchedulingPr
                     long timeDiff = expiredEvent.getTimestamp() - currentTime + timeInMilliSeconds;
                     if (timeDiff <= 0) {
                         expiredEventChunk.remove();
+                        expiredEventChangeLog.eventRemoved();
                         expiredEvent.setTimestamp(currentTime);
                         streamEventChunk.insertBeforeCurrent(expiredEvent);
                     } else {
@@ -151,6 +157,7 @@ public class TimeWindowProcessor extends WindowProcessor implements SchedulingPr
                     StreamEvent clonedEvent = streamEventCloner.copyStreamEvent(streamEvent);
                     clonedEvent.setType(StreamEvent.Type.EXPIRED);
                     this.expiredEventChunk.add(clonedEvent);
+                    expiredEventChangeLog.eventAdded(clonedEvent);
 
                     if (lastTimestamp < clonedEvent.getTimestamp()) {
                         scheduler.notifyAt(clonedEvent.getTimestamp() + timeInMilliSeconds);
@@ -200,5 +207,23 @@ public class TimeWindowProcessor extends WindowProcessor implements SchedulingPr
     public void restoreState(Map<String, Object> state) {
         expiredEventChunk.clear();
         expiredEventChunk.add((StreamEvent) state.get("ExpiredEventChunk"));
+        expiredEventChangeLog.restore();
+    }
+
+    @Override
+    public synchronized Map<String, Object> currentStateChanges() {
+        Map<String, Object> stateChanges = new HashMap<>();
+        expiredEventChangeLog.addChanges(stateChanges);
+        return stateChanges;
+    }
+
+    @Override
+    public synchronized void restoreStateChanges(Map<String, Object> stateChanges) {
+        expiredEventChangeLog.restoreChanges(stateChanges);
+    }
+
+    @Override
+    public synchronized void clearStateChanges() {
+        expiredEventChangeLog.clear();
     }
 }
@@ -23,11 +23,17 @@ import org.ballerinalang.siddhi.core.event.ComplexEventChunk;
 import org.ballerinalang.siddhi.core.event.GroupedComplexEvent;
 import org.ballerinalang.siddhi.core.event.state.populater.StateEventPopulator;
 import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.event.stream.batch.EventColumn;
+import org.ballerinalang.siddhi.core.event.stream.batch.StreamEventBatch;
 import org.ballerinalang.siddhi.core.exception.SiddhiAppCreationException;
+import org.ballerinalang.siddhi.core.executor.ConstantExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.VariableExpressionExecutor;
 import org.ballerinalang.siddhi.core.executor.condition.ConditionExpressionExecutor;
 import org.ballerinalang.siddhi.core.query.output.ratelimit.OutputRateLimiter;
 import org.ballerinalang.siddhi.core.query.processor.Processor;
 import org.ballerinalang.siddhi.core.query.selector.attribute.processor.AttributeProcessor;
+import org.ballerinalang.siddhi.core.query.selector.attribute.processor.executor.AggregationAttributeExecutor;
 import org.ballerinalang.siddhi.core.query.selector.attribute.processor.executor.GroupByAggregationAttributeExecutor;
 import org.ballerinalang.siddhi.core.util.SiddhiConstants;
 import org.ballerinalang.siddhi.query.api.execution.query.selection.Selector;
@@ -62,6 +68,10 @@ public class QuerySelector implements Processor {
     private StateEventPopulator eventPopulator;
     private boolean batchingEnabled = true;
     private long limit = SiddhiConstants.UNKNOWN_STATE;
+    private boolean columnarBatching = false;
+    private AggregationAttributeExecutor[] batchAggregationExecutors;
+    private int[] batchAggregationColumns;
+    private VariableExpressionExecutor[] batchColumnVariables;
 
     public QuerySelector(String id, Selector selector, boolean currentOn, boolean expiredOn, SiddhiAppContext
             siddhiAppContext) {
@@ -225,6 +235,12 @@ public class QuerySelector implements Processor {
     }
 
     private ComplexEventChunk processInBatchNoGroupBy(ComplexEventChunk complexEventChunk) {
+        if (columnarBatching) {
+            StreamEventBatch eventBatch = StreamEventBatch.create(complexEventChunk, batchColumnVariables);
+            if (eventBatch != null) {
+                return processInColumnarBatchNoGroupBy(complexEventChunk, eventBatch);
+            }
+        }
         complexEventChunk.reset();
         ComplexEvent lastEvent = null;
 
@@ -267,6 +283,55 @@ public class QuerySelector implements Processor {
         return null;
     }
 
+    /**
+     * Processes a batch of stream events over its columns. Only the last event of the batch is sent out, hence the
+     * aggregations aggregate the attribute columns up to that event in a single call, and the other attributes are
+     * only set on that event.
+     */
+    private ComplexEventChunk processInColumnarBatchNoGroupBy(ComplexEventChunk complexEventChunk,
+                                                              StreamEventBatch eventBatch) {
+        ComplexEvent.Type[] types = eventBatch.getTypes();
+        int lastIndex = -1;
+        for (int i = eventBatch.size() - 1; i >= 0; i--) {
+            if ((types[i] == StreamEvent.Type.CURRENT && currentOn) || (types[i] == StreamEvent.Type.EXPIRED &&
+                    expiredOn)) {
+                lastIndex = i;
+                break;
+            }
+        }
+        StreamEvent lastEvent = lastIndex == -1 ? null : eventBatch.getEvent(lastIndex);
+
+        synchronized (this) {
+            for (int i = 0; i < batchAggregationExecutors.length; i++) {
+                AttributeProcessor attributeProcessor = attributeProcessorList.get(i);
+                AggregationAttributeExecutor aggregationExecutor = batchAggregationExecutors[i];
+                if (aggregationExecutor == null) {
+                    if (lastEvent != null) {
+                        attributeProcessor.process(lastEvent);
+                    }
+                    continue;
+                }
+                EventColumn column = batchAggregationColumns[i] == -1 ? null :
+                        eventBatch.getColumn(batchAggregationColumns[i]);
+                Object lastValue = aggregationExecutor.execute(eventBatch, column, 0, lastIndex + 1);
+                if (lastEvent != null) {
+                    lastEvent.setOutputData(lastValue, attributeProcessor.getOutputPosition());
+                }
+                aggregationExecutor.execute(eventBatch, column, lastIndex + 1, eventBatch.size());
+            }
+        }
+
+        if (lastEvent != null) {
+            complexEventChunk.clear();
+            lastEvent.setNext(null);
+            if (limit == SiddhiConstants.UNKNOWN_STATE || limit > 0) {
+                complexEventChunk.add(lastEvent);
+            }
+            return complexEventChunk;
+        }
+        return null;
+    }
+
     private ComplexEventChunk processInBatchGroupBy(ComplexEventChunk complexEventChunk) {
         Map<String, ComplexEvent> groupedEvents = new LinkedHashMap<String, ComplexEvent>();
         complexEventChunk.reset();
@@ -363,6 +428,7 @@ public class QuerySelector implements Processor {
     public void setAttributeProcessorList(List<AttributeProcessor> attributeProcessorList, boolean containsAggregator) {
         this.attributeProcessorList = attributeProcessorList;
         this.containsAggregator = this.containsAggregator || containsAggregator;
+        initColumnarBatching();
     }
 
     public void setGroupByKeyGenerator(GroupByKeyGenerator groupByKeyGenerator) {
@@ -379,6 +445,7 @@ public class QuerySelector implements Processor {
             containsAggregator) {
         this.havingConditionExecutor = havingConditionExecutor;
         this.containsAggregator = this.containsAggregator || containsAggregator;
+        initColumnarBatching();
     }
 
     public QuerySelector clone(String key) {
@@ -398,6 +465,7 @@ public class QuerySelector implements Processor {
         clonedQuerySelector.isOrderBy = isOrderBy;
         clonedQuerySelector.orderByEventComparator = orderByEventComparator;
         clonedQuerySelector.limit = limit;
+        clonedQuerySelector.initColumnarBatching();
         return clonedQuerySelector;
     }
 
@@ -413,6 +481,46 @@ public class QuerySelector implements Processor {
         this.limit = limit;
     }
 
+    /**
+     * Enables processing batches over their columns when columnar batching is enabled, there is no having
+     * condition, and every attribute is either a variable, a constant or an aggregation of at most one variable.
+     */
+    private void initColumnarBatching() {
+        columnarBatching = false;
+        if (!siddhiAppContext.getSiddhiContext().isColumnarBatchingEnabled() || havingConditionExecutor != null
+                || attributeProcessorList == null) {
+            return;
+        }
+        int size = attributeProcessorList.size();
+        AggregationAttributeExecutor[] aggregationExecutors = new AggregationAttributeExecutor[size];
+        int[] aggregationColumns = new int[size];
+        List<VariableExpressionExecutor> columnVariables = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ExpressionExecutor executor = attributeProcessorList.get(i).getExpressionExecutor();
+            aggregationColumns[i] = -1;
+            if (executor instanceof AggregationAttributeExecutor) {
+                ExpressionExecutor[] attributeExecutors =
+                        ((AggregationAttributeExecutor) executor).getAttributeExpressionExecutors();
+                if (attributeExecutors.length > 1 || (attributeExecutors.length == 1 &&
+                        !(attributeExecutors[0] instanceof VariableExpressionExecutor))) {
+                    return;
+                }
+                if (attributeExecutors.length == 1) {
+                    aggregationColumns[i] = columnVariables.size();
+                    columnVariables.add((VariableExpressionExecutor) attributeExecutors[0]);
+                }
+                aggregationExecutors[i] = (AggregationAttributeExecutor) executor;
+            } else if (!(executor instanceof VariableExpressionExecutor) &&
+                    !(executor instanceof ConstantExpressionExecutor)) {
+                return;
+            }
+        }
+        batchAggregationExecutors = aggregationExecutors;
+        batchAggregationColumns = aggregationColumns;
+        batchColumnVariables = columnVariables.toArray(new VariableExpressionExecutor[columnVariables.size()]);
+        columnarBatching = true;
+    }
+
     private void orderEventChunk(ComplexEventChunk complexEventChunk) {
         ComplexEventChunk orderingComplexEventChunk = new ComplexEventChunk(complexEventChunk.isBatch());
         List<ComplexEvent> eventList = new ArrayList<>();
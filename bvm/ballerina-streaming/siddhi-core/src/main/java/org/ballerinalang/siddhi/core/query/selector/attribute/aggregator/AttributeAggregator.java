@@ -19,6 +19,8 @@ package org.ballerinalang.siddhi.core.query.selector.attribute.aggregator;
 
 import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
 import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.stream.batch.EventColumn;
+import org.ballerinalang.siddhi.core.event.stream.batch.StreamEventBatch;
 import org.ballerinalang.siddhi.core.exception.SiddhiAppCreationException;
 import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
@@ -107,6 +109,51 @@ public abstract class AttributeAggregator implements Snapshotable {
         return null;
     }
 
+    /**
+     * Aggregates the events of a range of a columnar event batch, in the order of the events.
+     *
+     * @param eventBatch the event batch
+     * @param column     the column of the attribute to be aggregated, or null if the aggregator has no attribute
+     * @param from       the index of the first event of the range
+     * @param to         the index after the last event of the range
+     * @return the aggregated value after the last event of the range
+     */
+    public synchronized Object process(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+        return processBatch(eventBatch, column, from, to);
+    }
+
+    /**
+     * Aggregates the events of a range of a columnar event batch. Aggregators which can aggregate the primitive
+     * values of the column in a loop override this, by default the value of each event is aggregated as a boxed
+     * value.
+     *
+     * @param eventBatch the event batch
+     * @param column     the column of the attribute to be aggregated, or null if the aggregator has no attribute
+     * @param from       the index of the first event of the range
+     * @param to         the index after the last event of the range
+     * @return the aggregated value after the last event of the range
+     */
+    protected Object processBatch(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+        ComplexEvent.Type[] types = eventBatch.getTypes();
+        Object result = null;
+        for (int i = from; i < to; i++) {
+            switch (types[i]) {
+                case CURRENT:
+                    result = processAdd(column == null ? null : column.getValue(i));
+                    break;
+                case EXPIRED:
+                    result = processRemove(column == null ? null : column.getValue(i));
+                    break;
+                case RESET:
+                    result = reset();
+                    break;
+                default:
+                    break;
+            }
+        }
+        return result;
+    }
+
     /**
      * The initialization method for FunctionExecutor
      *
@@ -23,6 +23,9 @@ import org.ballerinalang.siddhi.annotation.Parameter;
 import org.ballerinalang.siddhi.annotation.ReturnAttribute;
 import org.ballerinalang.siddhi.annotation.util.DataType;
 import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.stream.batch.EventColumn;
+import org.ballerinalang.siddhi.core.event.stream.batch.StreamEventBatch;
 import org.ballerinalang.siddhi.core.exception.OperationNotSupportedException;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
 import org.ballerinalang.siddhi.core.util.config.ConfigReader;
@@ -122,6 +125,11 @@ public class AvgAttributeAggregator extends AttributeAggregator {
         return new IllegalStateException("Avg cannot process data array, but found " + Arrays.deepToString(data));
     }
 
+    @Override
+    protected Object processBatch(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+        return avgOutputAttributeAggregator.processBatch(eventBatch, column, from, to);
+    }
+
     protected Object currentValue() {
         return null;
     }
@@ -176,6 +184,27 @@ public class AvgAttributeAggregator extends AttributeAggregator {
             return value / count;
         }
 
+        @Override
+        protected Object processBatch(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+            ComplexEvent.Type[] types = eventBatch.getTypes();
+            double[] values = column.getDoubleValues();
+            boolean[] nulls = column.getNulls();
+            for (int i = from; i < to; i++) {
+                if (types[i] == ComplexEvent.Type.RESET) {
+                    reset();
+                } else if (nulls == null || !nulls[i]) {
+                    if (types[i] == ComplexEvent.Type.CURRENT) {
+                        count++;
+                        value += values[i];
+                    } else if (types[i] == ComplexEvent.Type.EXPIRED) {
+                        count--;
+                        value -= values[i];
+                    }
+                }
+            }
+            return currentValue();
+        }
+
         @Override
         public Object reset() {
             value = 0.0;
@@ -240,6 +269,27 @@ public class AvgAttributeAggregator extends AttributeAggregator {
             return value / count;
         }
 
+        @Override
+        protected Object processBatch(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+            ComplexEvent.Type[] types = eventBatch.getTypes();
+            double[] values = column.getDoubleValues();
+            boolean[] nulls = column.getNulls();
+            for (int i = from; i < to; i++) {
+                if (types[i] == ComplexEvent.Type.RESET) {
+                    reset();
+                } else if (nulls == null || !nulls[i]) {
+                    if (types[i] == ComplexEvent.Type.CURRENT) {
+                        count++;
+                        value += values[i];
+                    } else if (types[i] == ComplexEvent.Type.EXPIRED) {
+                        count--;
+                        value -= values[i];
+                    }
+                }
+            }
+            return currentValue();
+        }
+
         @Override
         public Object reset() {
             value = 0.0;
@@ -304,6 +354,27 @@ public class AvgAttributeAggregator extends AttributeAggregator {
             return value / count;
         }
 
+        @Override
+        protected Object processBatch(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+            ComplexEvent.Type[] types = eventBatch.getTypes();
+            long[] values = column.getLongValues();
+            boolean[] nulls = column.getNulls();
+            for (int i = from; i < to; i++) {
+                if (types[i] == ComplexEvent.Type.RESET) {
+                    reset();
+                } else if (nulls == null || !nulls[i]) {
+                    if (types[i] == ComplexEvent.Type.CURRENT) {
+                        count++;
+                        value += values[i];
+                    } else if (types[i] == ComplexEvent.Type.EXPIRED) {
+                        count--;
+                        value -= values[i];
+                    }
+                }
+            }
+            return currentValue();
+        }
+
         @Override
         public Object reset() {
             value = 0.0;
@@ -369,6 +440,27 @@ public class AvgAttributeAggregator extends AttributeAggregator {
             return value / count;
         }
 
+        @Override
+        protected Object processBatch(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+            ComplexEvent.Type[] types = eventBatch.getTypes();
+            long[] values = column.getLongValues();
+            boolean[] nulls = column.getNulls();
+            for (int i = from; i < to; i++) {
+                if (types[i] == ComplexEvent.Type.RESET) {
+                    reset();
+                } else if (nulls == null || !nulls[i]) {
+                    if (types[i] == ComplexEvent.Type.CURRENT) {
+                        count++;
+                        value += values[i];
+                    } else if (types[i] == ComplexEvent.Type.EXPIRED) {
+                        count--;
+                        value -= values[i];
+                    }
+                }
+            }
+            return currentValue();
+        }
+
         @Override
         public Object reset() {
             value = 0.0;
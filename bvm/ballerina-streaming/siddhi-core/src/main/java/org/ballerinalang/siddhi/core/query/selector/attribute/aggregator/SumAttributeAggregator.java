@@ -23,6 +23,9 @@ import org.ballerinalang.siddhi.annotation.Parameter;
 import org.ballerinalang.siddhi.annotation.ReturnAttribute;
 import org.ballerinalang.siddhi.annotation.util.DataType;
 import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.stream.batch.EventColumn;
+import org.ballerinalang.siddhi.core.event.stream.batch.StreamEventBatch;
 import org.ballerinalang.siddhi.core.exception.OperationNotSupportedException;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
 import org.ballerinalang.siddhi.core.util.config.ConfigReader;
@@ -129,6 +132,11 @@ public class SumAttributeAggregator extends AttributeAggregator {
         return new IllegalStateException("Sin cannot process data array, but found " + Arrays.deepToString(data));
     }
 
+    @Override
+    protected Object processBatch(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+        return sumOutputAttributeAggregator.processBatch(eventBatch, column, from, to);
+    }
+
     protected Object currentValue() {
         return null;
     }
@@ -189,6 +197,30 @@ public class SumAttributeAggregator extends AttributeAggregator {
             }
         }
 
+        @Override
+        protected Object processBatch(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+            ComplexEvent.Type[] types = eventBatch.getTypes();
+            double[] values = column.getDoubleValues();
+            boolean[] nulls = column.getNulls();
+            for (int i = from; i < to; i++) {
+                if (types[i] == ComplexEvent.Type.RESET) {
+                    reset();
+                } else if (nulls == null || !nulls[i]) {
+                    if (types[i] == ComplexEvent.Type.CURRENT) {
+                        sum += values[i];
+                        count++;
+                    } else if (types[i] == ComplexEvent.Type.EXPIRED) {
+                        sum -= values[i];
+                        count--;
+                    }
+                }
+            }
+            if (to > from && types[to - 1] == ComplexEvent.Type.RESET) {
+                return null;
+            }
+            return currentValue();
+        }
+
         @Override
         public Object reset() {
             sum = 0.0;
@@ -282,6 +314,30 @@ public class SumAttributeAggregator extends AttributeAggregator {
             }
         }
 
+        @Override
+        protected Object processBatch(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+            ComplexEvent.Type[] types = eventBatch.getTypes();
+            long[] values = column.getLongValues();
+            boolean[] nulls = column.getNulls();
+            for (int i = from; i < to; i++) {
+                if (types[i] == ComplexEvent.Type.RESET) {
+                    reset();
+                } else if (nulls == null || !nulls[i]) {
+                    if (types[i] == ComplexEvent.Type.CURRENT) {
+                        sum += values[i];
+                        count++;
+                    } else if (types[i] == ComplexEvent.Type.EXPIRED) {
+                        sum -= values[i];
+                        count--;
+                    }
+                }
+            }
+            if (to > from && types[to - 1] == ComplexEvent.Type.RESET) {
+                return sum;
+            }
+            return currentValue();
+        }
+
         public Object reset() {
             sum = 0L;
             return sum;
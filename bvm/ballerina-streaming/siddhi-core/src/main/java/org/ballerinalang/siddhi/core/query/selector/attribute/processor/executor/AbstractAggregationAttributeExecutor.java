@@ -54,6 +54,10 @@ public abstract class AbstractAggregationAttributeExecutor implements Expression
         return attributeAggregator.getReturnType();
     }
 
+    public ExpressionExecutor[] getAttributeExpressionExecutors() {
+        return attributeExpressionExecutors;
+    }
+
     @Override
     public String getElementId() {
         return elementId;
@@ -19,6 +19,8 @@ package org.ballerinalang.siddhi.core.query.selector.attribute.processor.executo
 
 import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
 import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.stream.batch.EventColumn;
+import org.ballerinalang.siddhi.core.event.stream.batch.StreamEventBatch;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
 import org.ballerinalang.siddhi.core.query.selector.attribute.aggregator.AttributeAggregator;
 
@@ -40,6 +42,19 @@ public class AggregationAttributeExecutor extends AbstractAggregationAttributeEx
         return attributeAggregator.process(event);
     }
 
+    /**
+     * Aggregates the events of a range of a columnar event batch.
+     *
+     * @param eventBatch the event batch
+     * @param column     the column of the attribute to be aggregated, or null if the aggregation has no attribute
+     * @param from       the index of the first event of the range
+     * @param to         the index after the last event of the range
+     * @return the aggregated value after the last event of the range
+     */
+    public Object execute(StreamEventBatch eventBatch, EventColumn column, int from, int to) {
+        return attributeAggregator.process(eventBatch, column, from, to);
+    }
+
     public ExpressionExecutor cloneExecutor(String key) {
         return new AggregationAttributeExecutor(attributeAggregator.cloneAggregator(key),
                 attributeExpressionExecutors, siddhiAppContext, queryName);
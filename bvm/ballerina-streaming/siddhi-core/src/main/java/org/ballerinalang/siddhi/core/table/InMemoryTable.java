@@ -28,6 +28,7 @@ import org.ballerinalang.siddhi.core.exception.ConnectionUnavailableException;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
 import org.ballerinalang.siddhi.core.executor.VariableExpressionExecutor;
 import org.ballerinalang.siddhi.core.table.holder.EventHolder;
+import org.ballerinalang.siddhi.core.table.holder.IndexEventHolder;
 import org.ballerinalang.siddhi.core.table.record.RecordTableHandler;
 import org.ballerinalang.siddhi.core.util.collection.AddingStreamEventExtractor;
 import org.ballerinalang.siddhi.core.util.collection.operator.CompiledCondition;
@@ -37,7 +38,7 @@ import org.ballerinalang.siddhi.core.util.config.ConfigReader;
 import org.ballerinalang.siddhi.core.util.parser.EventHolderPasser;
 import org.ballerinalang.siddhi.core.util.parser.ExpressionParser;
 import org.ballerinalang.siddhi.core.util.parser.OperatorParser;
-import org.ballerinalang.siddhi.core.util.snapshot.Snapshotable;
+import org.ballerinalang.siddhi.core.util.snapshot.IncrementalSnapshotable;
 import org.ballerinalang.siddhi.query.api.definition.TableDefinition;
 import org.ballerinalang.siddhi.query.api.execution.query.output.stream.UpdateSet;
 import org.ballerinalang.siddhi.query.api.expression.Expression;
@@ -51,7 +52,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 /**
  * In-memory event table implementation of SiddhiQL.
  */
-public class InMemoryTable extends Table implements Snapshotable {
+public class InMemoryTable extends Table implements IncrementalSnapshotable {
 
     private TableDefinition tableDefinition;
     private StreamEventCloner tableStreamEventCloner;
@@ -210,6 +211,32 @@ public class InMemoryTable extends Table implements Snapshotable {
     @Override
     public void restoreState(Map<String, Object> state) {
         eventHolder = (EventHolder) state.get("EventHolder");
+        clearStateChanges();
+    }
+
+    @Override
+    public Map<String, Object> currentStateChanges() {
+        if (eventHolder instanceof IndexEventHolder) {
+            return ((IndexEventHolder) eventHolder).getPrimaryKeyChanges();
+        }
+        return null;
+    }
+
+    @Override
+    public void restoreStateChanges(Map<String, Object> stateChanges) {
+        try {
+            readWriteLock.writeLock().lock();
+            ((IndexEventHolder) eventHolder).restorePrimaryKeyChanges(stateChanges);
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clearStateChanges() {
+        if (eventHolder instanceof IndexEventHolder) {
+            ((IndexEventHolder) eventHolder).clearPrimaryKeyChanges();
+        }
     }
 
     @Override
@@ -60,6 +60,9 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     private Map<String, Integer> indexMetaData;
     private Map<String, Integer> multiPrimaryKeyMetaData = new LinkedHashMap<>();
     private Map<String, Integer> allIndexMetaData = new HashMap<>();
+    private Set<Object> changedPrimaryKeys = new HashSet<>();
+    private boolean primaryKeyDataCleared = false;
+    private boolean trackPrimaryKeyChanges = false;
 
     public IndexEventHolder(StreamEventPool tableStreamEventPool, StreamEventConverter eventConverter,
                             PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders,
@@ -156,6 +159,8 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             if (existingValue != null) {
                 log.error("Siddhi App '" + siddhiAppName + "' table '" + tableName + "' drooping event : " +
                         streamEvent + ", as there is already an event stored with primary key '" + primaryKey + "'");
+            } else {
+                trackPrimaryKeyChange(primaryKey);
             }
         }
 
@@ -196,6 +201,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         if (primaryKeyData != null) {
             Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
             deletedEvent = primaryKeyData.put(primaryKey, streamEvent);
+            trackPrimaryKeyChange(primaryKey);
         }
 
         if (indexData != null) {
@@ -221,6 +227,78 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         }
     }
 
+    @Override
+    public void updated(StreamEvent streamEvent) {
+        if (primaryKeyData != null) {
+            trackEventChange(streamEvent);
+        }
+    }
+
+    /**
+     * Returns the changes of the events since the changes were last cleared, as the events of the changed primary
+     * keys, where the event of a deleted primary key is null.
+     *
+     * @return the changes of the events, or null if the events are not stored by their primary keys or the changes
+     * are not tracked yet
+     */
+    public Map<String, Object> getPrimaryKeyChanges() {
+        if (primaryKeyData == null || !trackPrimaryKeyChanges) {
+            return null;
+        }
+        Map<String, Object> changes = new HashMap<>();
+        if (primaryKeyDataCleared || !changedPrimaryKeys.isEmpty()) {
+            Map<Object, StreamEvent> changedEvents = new HashMap<>();
+            for (Object primaryKey : changedPrimaryKeys) {
+                changedEvents.put(primaryKey, primaryKeyData.get(primaryKey));
+            }
+            changes.put("Cleared", primaryKeyDataCleared);
+            changes.put("Events", changedEvents);
+        }
+        return changes;
+    }
+
+    public void restorePrimaryKeyChanges(Map<String, Object> changes) {
+        if (changes.isEmpty()) {
+            clearPrimaryKeyChanges();
+            return;
+        }
+        if ((boolean) changes.get("Cleared")) {
+            deleteAll();
+        }
+        for (Map.Entry<Object, StreamEvent> entry : ((Map<Object, StreamEvent>) changes.get("Events")).entrySet()) {
+            StreamEvent deletedEvent = primaryKeyData.remove(entry.getKey());
+            if (deletedEvent != null) {
+                deleteFromIndexes(deletedEvent);
+            }
+            if (entry.getValue() != null) {
+                add(entry.getValue());
+            }
+        }
+        clearPrimaryKeyChanges();
+    }
+
+    /**
+     * Clears the changes of the events and starts tracking the changes, as the changes are only tracked once the
+     * state is persisted or restored.
+     */
+    public void clearPrimaryKeyChanges() {
+        changedPrimaryKeys.clear();
+        primaryKeyDataCleared = false;
+        trackPrimaryKeyChanges = true;
+    }
+
+    private void trackPrimaryKeyChange(Object primaryKey) {
+        if (trackPrimaryKeyChanges) {
+            changedPrimaryKeys.add(primaryKey);
+        }
+    }
+
+    private void trackEventChange(StreamEvent streamEvent) {
+        if (trackPrimaryKeyChanges) {
+            changedPrimaryKeys.add(constructPrimaryKey(streamEvent, primaryKeyReferenceHolders));
+        }
+    }
+
     @Override
     public Collection<StreamEvent> getAllEvents() {
         if (primaryKeyData != null) {
@@ -332,6 +410,8 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     public void deleteAll() {
         if (primaryKeyData != null) {
             primaryKeyData.clear();
+            changedPrimaryKeys.clear();
+            primaryKeyDataCleared = trackPrimaryKeyChanges;
         }
         if (indexData != null) {
             for (TreeMap<Object, Set<StreamEvent>> aIndexedData : indexData.values()) {
@@ -346,6 +426,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             if (primaryKeyData != null) {
                 Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
                 StreamEvent deletedEvent = primaryKeyData.remove(primaryKey);
+                trackPrimaryKeyChange(primaryKey);
                 if (indexData != null) {
                     deleteFromIndexes(deletedEvent);
                 }
@@ -366,6 +447,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                          iterator.hasNext(); ) {
                         StreamEvent toDeleteEvent = iterator.next();
                         iterator.remove();
+                        trackEventChange(toDeleteEvent);
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
@@ -375,6 +457,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                          iterator.hasNext(); ) {
                         StreamEvent toDeleteEvent = iterator.next();
                         iterator.remove();
+                        trackEventChange(toDeleteEvent);
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
@@ -384,6 +467,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                          iterator.hasNext(); ) {
                         StreamEvent toDeleteEvent = iterator.next();
                         iterator.remove();
+                        trackEventChange(toDeleteEvent);
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
@@ -393,11 +477,13 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                          iterator.hasNext(); ) {
                         StreamEvent toDeleteEvent = iterator.next();
                         iterator.remove();
+                        trackEventChange(toDeleteEvent);
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
                 case EQUAL:
                     StreamEvent deletedEvent = primaryKeyData.remove(value);
+                    trackPrimaryKeyChange(value);
                     if (deletedEvent != null) {
                         deleteFromIndexes(deletedEvent);
                     }
@@ -513,6 +599,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             if (primaryKeyData != null) {
                 Object primaryKey = constructPrimaryKey(deletedEvent, primaryKeyReferenceHolders);
                 primaryKeyData.remove(primaryKey);
+                trackPrimaryKeyChange(primaryKey);
             }
             for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
                 if (!currentAttribute.equals(indexEntry.getKey())) {
@@ -47,6 +47,13 @@ public interface IndexedEventHolder extends EventHolder {
 
     void overwrite(StreamEvent streamEvent);
 
+    /**
+     * Notifies that the non indexed attributes of the given stored event are updated in place.
+     *
+     * @param streamEvent the updated event
+     */
+    void updated(StreamEvent streamEvent);
+
     Set<Object> getAllPrimaryKeyValues();
 
     PrimaryKeyReferenceHolder[] getPrimaryKeyReferenceHolders();
@@ -62,6 +62,7 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ATTRIBUTES = "Attributes";
     public static final String ANNOTATION_PAYLOAD = "Payload";
     public static final String ANNOTATION_ELEMENT_BUFFER_SIZE = "buffer.size";
+    public static final String ANNOTATION_ELEMENT_WORKERS = "workers";
     public static final String ANNOTATION_ELEMENT_IDLE_TIME = "idle.time";
     public static final String ANNOTATION_ELEMENT_INCREMENT = "increment";
     public static final String ANNOTATION_ELEMENT_TYPE = "type";
@@ -96,6 +97,7 @@ public final class SiddhiConstants {
     public static final String METRIC_INFIX_SOURCE_MAPPERS = "SourceMappers";
     public static final String METRIC_INFIX_SINKS = "Sinks";
     public static final String METRIC_INFIX_SINK_MAPPERS = "SinkMappers";
+    public static final String METRIC_INFIX_PARTITIONS = "Partitions";
     public static final String METRIC_TYPE_FIND = "find";
     public static final String METRIC_TYPE_INSERT = "insert";
     public static final String METRIC_TYPE_UPDATE = "update";
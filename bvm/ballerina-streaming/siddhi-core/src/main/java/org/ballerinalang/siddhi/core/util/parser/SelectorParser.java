@@ -25,6 +25,7 @@ import org.ballerinalang.siddhi.core.event.stream.MetaStreamEvent;
 import org.ballerinalang.siddhi.core.executor.ConstantExpressionExecutor;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
 import org.ballerinalang.siddhi.core.executor.VariableExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.compiled.ExpressionExecutorCompiler;
 import org.ballerinalang.siddhi.core.executor.condition.ConditionExpressionExecutor;
 import org.ballerinalang.siddhi.core.query.selector.GroupByKeyGenerator;
 import org.ballerinalang.siddhi.core.query.selector.OrderByEventComparator;
@@ -202,7 +203,8 @@ public class SelectorParser {
                 } else {
                     ((MetaStreamEvent) metaComplexEvent).addOutputDataAllowingDuplicate(null);
                 }
-                AttributeProcessor attributeProcessor = new AttributeProcessor(expressionExecutor);
+                AttributeProcessor attributeProcessor = new AttributeProcessor(
+                        ExpressionExecutorCompiler.compile(expressionExecutor, siddhiAppContext));
                 attributeProcessor.setOutputPosition(i);
                 attributeProcessorList.add(attributeProcessor);
                 outputDefinition.attribute(outputAttribute.getRename(), attributeProcessor.getOutputType());
@@ -25,11 +25,13 @@ import org.ballerinalang.siddhi.core.exception.OperationNotSupportedException;
 import org.ballerinalang.siddhi.core.exception.SiddhiAppCreationException;
 import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
 import org.ballerinalang.siddhi.core.executor.VariableExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.compiled.ExpressionExecutorCompiler;
 import org.ballerinalang.siddhi.core.query.input.ProcessStreamReceiver;
 import org.ballerinalang.siddhi.core.query.input.stream.single.EntryValveProcessor;
 import org.ballerinalang.siddhi.core.query.input.stream.single.SingleStreamRuntime;
 import org.ballerinalang.siddhi.core.query.processor.Processor;
 import org.ballerinalang.siddhi.core.query.processor.SchedulingProcessor;
+import org.ballerinalang.siddhi.core.query.processor.filter.ColumnarConditionExecutor;
 import org.ballerinalang.siddhi.core.query.processor.filter.FilterProcessor;
 import org.ballerinalang.siddhi.core.query.processor.stream.AbstractStreamProcessor;
 import org.ballerinalang.siddhi.core.query.processor.stream.StreamProcessor;
@@ -194,7 +196,13 @@ public class SingleInputStreamParser {
 
         ConfigReader configReader;
         if (streamHandler instanceof Filter) {
-            return new FilterProcessor(attributeExpressionExecutors[0]);
+            FilterProcessor filterProcessor = new FilterProcessor(ExpressionExecutorCompiler.compile(
+                    attributeExpressionExecutors[0], siddhiAppContext));
+            if (siddhiAppContext.getSiddhiContext().isColumnarBatchingEnabled()) {
+                filterProcessor.setColumnarConditionExecutor(
+                        ColumnarConditionExecutor.create(attributeExpressionExecutors[0]));
+            }
+            return filterProcessor;
 
         } else if (streamHandler instanceof Window) {
             WindowProcessor windowProcessor = (WindowProcessor) SiddhiClassLoader.loadExtensionImplementation(
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.util.persistence;
+
+import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link PersistenceStore} which will store the state in the file system, as one file per
+ * revision under a folder per Siddhi app. Revisions are first written to a temporary file and then moved in place,
+ * hence a revision is either fully written or not visible at all.
+ * <p>
+ * All the revisions are kept unless the number of revisions to keep is set, in which case the older revisions are
+ * removed once a revision is saved. Older revisions needed to restore the kept ones are not removed, i.e. the
+ * revisions back to the full snapshot the oldest kept revision is an increment of. The chain of revisions is
+ * followed by reading only the headers of the revision files.
+ */
+public class FilePersistenceStore implements PersistenceStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FilePersistenceStore.class);
+    private static final String LOCATION_PROPERTY = "location";
+    private static final String REVISIONS_TO_KEEP_PROPERTY = "revisionsToKeep";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private String folder;
+    private int revisionsToKeep;
+
+    public FilePersistenceStore() {
+        this("siddhi-app-persistence");
+    }
+
+    public FilePersistenceStore(String folder) {
+        this(folder, 0);
+    }
+
+    /**
+     * Creates a store which only keeps the given number of the latest revisions of each Siddhi app.
+     *
+     * @param folder          folder to store the revisions in
+     * @param revisionsToKeep number of the latest revisions to keep, or zero to keep all the revisions
+     */
+    public FilePersistenceStore(String folder, int revisionsToKeep) {
+        this.folder = folder;
+        this.revisionsToKeep = revisionsToKeep;
+    }
+
+    @Override
+    public void save(String siddhiAppId, String revision, byte[] snapshot) {
+        Path siddhiAppFolder = Paths.get(folder, siddhiAppId);
+        Path tempFile = siddhiAppFolder.resolve(revision + TEMP_FILE_SUFFIX);
+        try {
+            Files.createDirectories(siddhiAppFolder);
+            Files.write(tempFile, snapshot);
+            Files.move(tempFile, siddhiAppFolder.resolve(revision), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Cannot save revision '" + revision + "' of Siddhi app '" +
+                    siddhiAppId + "' to the folder '" + siddhiAppFolder.toAbsolutePath() + "'.", e);
+        }
+        if (revisionsToKeep > 0) {
+            removeStaleRevisions(siddhiAppId);
+        }
+    }
+
+    private synchronized void removeStaleRevisions(String siddhiAppId) {
+        List<String> revisions = getRevisions(siddhiAppId);
+        if (revisions.size() <= revisionsToKeep) {
+            return;
+        }
+        // revisions are only taken on top of older revisions, hence the chain of the oldest revision to keep ends
+        // with the oldest revision needed to restore any of the revisions to keep
+        String oldestRevision = revisions.get(revisions.size() - revisionsToKeep);
+        String baseRevision = getBaseRevision(siddhiAppId, oldestRevision);
+        while (baseRevision != null && revisions.contains(baseRevision)) {
+            oldestRevision = baseRevision;
+            baseRevision = getBaseRevision(siddhiAppId, baseRevision);
+        }
+        for (String revision : revisions) {
+            if (revision.equals(oldestRevision)) {
+                break;
+            }
+            Path revisionFile = Paths.get(folder, siddhiAppId, revision);
+            try {
+                Files.deleteIfExists(revisionFile);
+            } catch (IOException e) {
+                log.warn("Cannot remove the stale revision file '" + revisionFile.toAbsolutePath() + "' of " +
+                        "Siddhi app '" + siddhiAppId + "'.", e);
+            }
+        }
+    }
+
+    @Override
+    public String getBaseRevision(String siddhiAppId, String revision) {
+        Path revisionFile = Paths.get(folder, siddhiAppId, revision);
+        if (!Files.exists(revisionFile)) {
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(revisionFile))) {
+            return SnapshotService.readBaseRevision(in);
+        } catch (IOException e) {
+            log.error("Cannot read the header of revision '" + revision + "' of Siddhi app '" + siddhiAppId +
+                    "' from the file '" + revisionFile.toAbsolutePath() + "'.", e);
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] load(String siddhiAppId, String revision) {
+        Path revisionFile = Paths.get(folder, siddhiAppId, revision);
+        if (!Files.exists(revisionFile)) {
+            log.warn("Data not found for the revision '" + revision + "' of siddhi app " + siddhiAppId);
+            return null;
+        }
+        try {
+            return Files.readAllBytes(revisionFile);
+        } catch (IOException e) {
+            log.error("Cannot load revision '" + revision + "' of Siddhi app '" + siddhiAppId + "' from the file '" +
+                    revisionFile.toAbsolutePath() + "'.", e);
+            return null;
+        }
+    }
+
+    @Override
+    public String getLastRevision(String siddhiAppId) {
+        List<String> revisions = getRevisions(siddhiAppId);
+        return revisions.isEmpty() ? null : revisions.get(revisions.size() - 1);
+    }
+
+    /**
+     * Returns the revisions of the given Siddhi app in the order they were taken.
+     */
+    private List<String> getRevisions(String siddhiAppId) {
+        List<String> revisions = new ArrayList<>();
+        File[] revisionFiles = Paths.get(folder, siddhiAppId).toFile().listFiles();
+        if (revisionFiles == null) {
+            return revisions;
+        }
+        for (File revisionFile : revisionFiles) {
+            String revision = revisionFile.getName();
+            if (!revisionFile.isFile() || revision.endsWith(TEMP_FILE_SUFFIX)) {
+                continue;
+            }
+            if (getRevisionTime(revision) < 0) {
+                log.warn("Ignoring file '" + revisionFile.getAbsolutePath() + "' as it is not a revision of Siddhi " +
+                        "app '" + siddhiAppId + "'.");
+                continue;
+            }
+            revisions.add(revision);
+        }
+        revisions.sort(Comparator.comparingLong(FilePersistenceStore::getRevisionTime)
+                                 .thenComparing(Comparator.naturalOrder()));
+        return revisions;
+    }
+
+    /**
+     * Revisions are prefixed with the time they were taken in milliseconds.
+     *
+     * @return the time the revision was taken, or -1 if the name is not a revision
+     */
+    private static long getRevisionTime(String revision) {
+        int timeEndIndex = revision.indexOf('_');
+        try {
+            return Long.parseLong(timeEndIndex < 0 ? revision : revision.substring(0, timeEndIndex));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void setProperties(Map properties) {
+        Object location = properties.get(LOCATION_PROPERTY);
+        if (location != null) {
+            folder = location.toString();
+        }
+        Object revisionsToKeep = properties.get(REVISIONS_TO_KEEP_PROPERTY);
+        if (revisionsToKeep != null) {
+            this.revisionsToKeep = Integer.parseInt(revisionsToKeep.toString());
+        }
+    }
+
+    public String getFolder() {
+        return folder;
+    }
+
+    public int getRevisionsToKeep() {
+        return revisionsToKeep;
+    }
+}
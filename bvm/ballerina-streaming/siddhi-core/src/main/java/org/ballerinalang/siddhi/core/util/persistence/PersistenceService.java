@@ -24,6 +24,8 @@ import org.ballerinalang.siddhi.core.util.snapshot.SnapshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedList;
+
 /**
  * Persistence Service is the service layer to handle state persistence tasks such as persisting current state and
  * restoring previous states.
@@ -48,9 +50,15 @@ public class PersistenceService {
             if (log.isDebugEnabled()) {
                 log.debug("Persisting...");
             }
-            byte[] snapshot = snapshotService.snapshot();
             String revision = System.currentTimeMillis() + "_" + siddhiAppName;
-            persistenceStore.save(siddhiAppName, revision, snapshot);
+            byte[] snapshot = snapshotService.persistenceSnapshot(revision);
+            try {
+                persistenceStore.save(siddhiAppName, revision, snapshot);
+            } catch (RuntimeException e) {
+                snapshotService.persistenceFailed(revision);
+                throw e;
+            }
+            snapshotService.persistenceSucceeded(revision);
             if (log.isDebugEnabled()) {
                 log.debug("Persisted.");
             }
@@ -67,8 +75,15 @@ public class PersistenceService {
             if (log.isDebugEnabled()) {
                 log.debug("Restoring revision: " + revision + " ...");
             }
-            byte[] snapshot = persistenceStore.load(siddhiAppName, revision);
-            snapshotService.restore(snapshot);
+            // follow the chain of incremental snapshots back to the full snapshot they are taken on top of, and
+            // load the snapshots one at a time while restoring them
+            LinkedList<String> revisions = new LinkedList<>();
+            String snapshotRevision = revision;
+            while (snapshotRevision != null && !revisions.contains(snapshotRevision)) {
+                revisions.addFirst(snapshotRevision);
+                snapshotRevision = persistenceStore.getBaseRevision(siddhiAppName, snapshotRevision);
+            }
+            snapshotService.restore(revisions, chainRevision -> persistenceStore.load(siddhiAppName, chainRevision));
             if (log.isDebugEnabled()) {
                 log.debug("Restored revision: " + revision);
             }
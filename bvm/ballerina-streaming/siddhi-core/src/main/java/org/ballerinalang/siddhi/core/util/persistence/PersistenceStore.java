@@ -17,6 +17,8 @@
  */
 package org.ballerinalang.siddhi.core.util.persistence;
 
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotService;
+
 import java.util.Map;
 
 /**
@@ -33,4 +35,17 @@ public interface PersistenceStore {
 
     String getLastRevision(String siddhiAppId);
 
+    /**
+     * Returns the revision on top of which the given revision is taken. Stores which can read the header of a
+     * snapshot without loading the whole snapshot should override this.
+     *
+     * @param siddhiAppId ID of the Siddhi app
+     * @param revision    revision of the snapshot
+     * @return the base revision of an incremental snapshot, or null if the snapshot is a full snapshot or it is
+     * not found
+     */
+    default String getBaseRevision(String siddhiAppId, String revision) {
+        return SnapshotService.getBaseRevision(load(siddhiAppId, revision));
+    }
+
 }
@@ -32,13 +32,25 @@ public class AsyncSnapshotPersistor implements Runnable {
     private PersistenceStore persistenceStore;
     private String siddhiAppName;
     private String revision;
+    private SnapshotService snapshotService;
 
     public AsyncSnapshotPersistor(byte[] snapshots, PersistenceStore persistenceStore,
                                   String siddhiAppName) {
+        this(snapshots, persistenceStore, siddhiAppName, System.currentTimeMillis() + "_" + siddhiAppName);
+    }
+
+    public AsyncSnapshotPersistor(byte[] snapshots, PersistenceStore persistenceStore,
+                                  String siddhiAppName, String revision) {
+        this(snapshots, persistenceStore, siddhiAppName, revision, null);
+    }
+
+    public AsyncSnapshotPersistor(byte[] snapshots, PersistenceStore persistenceStore,
+                                  String siddhiAppName, String revision, SnapshotService snapshotService) {
         this.snapshots = snapshots;
         this.persistenceStore = persistenceStore;
         this.siddhiAppName = siddhiAppName;
-        revision = System.currentTimeMillis() + "_" + siddhiAppName;
+        this.revision = revision;
+        this.snapshotService = snapshotService;
     }
 
     public String getRevision() {
@@ -47,18 +59,27 @@ public class AsyncSnapshotPersistor implements Runnable {
 
     @Override
     public void run() {
-        if (persistenceStore != null) {
-            if (log.isDebugEnabled()) {
-                log.debug("Persisting...");
+        try {
+            if (persistenceStore != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Persisting...");
+                }
+                persistenceStore.save(siddhiAppName, revision, snapshots);
+                if (snapshotService != null) {
+                    snapshotService.persistenceSucceeded(revision);
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Persisted.");
+                }
+            } else {
+                throw new NoPersistenceStoreException("No persistence store assigned for siddhi app " +
+                        siddhiAppName);
             }
-            persistenceStore.save(siddhiAppName, revision, snapshots);
-            if (log.isDebugEnabled()) {
-                log.debug("Persisted.");
+        } catch (RuntimeException e) {
+            if (snapshotService != null) {
+                snapshotService.persistenceFailed(revision);
             }
-        } else {
-            throw new NoPersistenceStoreException("No persistence store assigned for siddhi app " +
-                    siddhiAppName);
+            throw e;
         }
-
     }
 }
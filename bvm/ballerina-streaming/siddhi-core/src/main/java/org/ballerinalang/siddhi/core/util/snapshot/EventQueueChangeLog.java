@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import org.ballerinalang.siddhi.core.event.ComplexEventChunk;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+
+import java.util.Map;
+
+/**
+ * Change log of a first in first out queue of events, such as the expired events of a length or a time window.
+ * Events are only added to the end of the queue and removed from its head, hence the changes since the previous
+ * snapshot are the number of events removed from the head and the events at the end of the queue which are added
+ * since the previous snapshot.
+ */
+public class EventQueueChangeLog {
+
+    private static final String REMOVED_EVENTS = "RemovedEvents";
+    private static final String ADDED_EVENTS = "AddedEvents";
+
+    private final ComplexEventChunk<StreamEvent> eventQueue;
+    private int snapshotSize;
+    private int addedEvents;
+    private int removedEvents;
+    private StreamEvent firstAddedEvent;
+
+    public EventQueueChangeLog(ComplexEventChunk<StreamEvent> eventQueue) {
+        this.eventQueue = eventQueue;
+    }
+
+    public void eventAdded(StreamEvent streamEvent) {
+        if (addedEvents == 0) {
+            firstAddedEvent = streamEvent;
+        }
+        addedEvents++;
+    }
+
+    public void eventRemoved() {
+        removedEvents++;
+    }
+
+    /**
+     * Add the changes of the queue since the previous snapshot to the given state changes.
+     *
+     * @param stateChanges the state changes of the processing element
+     */
+    public void addChanges(Map<String, Object> stateChanges) {
+        if (removedEvents > snapshotSize) {
+            // some of the added events are removed as well, hence all the events of the queue are added ones
+            stateChanges.put(REMOVED_EVENTS, snapshotSize);
+            stateChanges.put(ADDED_EVENTS, eventQueue.getFirst());
+        } else {
+            stateChanges.put(REMOVED_EVENTS, removedEvents);
+            stateChanges.put(ADDED_EVENTS, addedEvents > 0 ? firstAddedEvent : null);
+        }
+    }
+
+    /**
+     * Apply the changes collected by addChanges() to the queue.
+     *
+     * @param stateChanges the state changes of the processing element
+     */
+    public void restoreChanges(Map<String, Object> stateChanges) {
+        int removedEvents = (int) stateChanges.get(REMOVED_EVENTS);
+        for (int i = 0; i < removedEvents && eventQueue.poll() != null; i++) {
+            snapshotSize--;
+        }
+        StreamEvent addedEvents = (StreamEvent) stateChanges.get(ADDED_EVENTS);
+        if (addedEvents != null) {
+            eventQueue.add(addedEvents);
+            for (StreamEvent event = addedEvents; event != null; event = event.getNext()) {
+                snapshotSize++;
+            }
+        }
+        reset();
+    }
+
+    /**
+     * Mark the current events of the queue as the events of the previous snapshot.
+     */
+    public void clear() {
+        snapshotSize += addedEvents - removedEvents;
+        reset();
+    }
+
+    /**
+     * Mark the events of the queue as the events of the previous snapshot after the full state is restored.
+     */
+    public void restore() {
+        snapshotSize = 0;
+        for (StreamEvent event = eventQueue.getFirst(); event != null; event = event.getNext()) {
+            snapshotSize++;
+        }
+        reset();
+    }
+
+    private void reset() {
+        addedEvents = 0;
+        removedEvents = 0;
+        firstAddedEvent = null;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import java.util.Map;
+
+/**
+ * {@link Snapshotable} processing element which keeps a change log of its state, so that incremental snapshots
+ * only persist the changes of its state since the previous snapshot instead of the full state.
+ */
+public interface IncrementalSnapshotable extends Snapshotable {
+
+    /**
+     * Used to collect the changes of the state of the processing element since the previous snapshot.
+     *
+     * @return the changes of the state, an empty map if the state is not changed, or null if the changes are not
+     * known, in which case the full state is persisted
+     */
+    Map<String, Object> currentStateChanges();
+
+    /**
+     * Used to apply the changes of the state collected by currentStateChanges() on top of the restored state.
+     *
+     * @param stateChanges the changes of the state
+     */
+    void restoreStateChanges(Map<String, Object> stateChanges);
+
+    /**
+     * Used to mark the current state as the state of the previous snapshot, once a snapshot is taken.
+     */
+    void clearStateChanges();
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.util.ExceptionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializer used by {@link SnapshotService} to encode the state of the processing elements to a compact binary
+ * format. Primitive values, strings, object arrays, array lists, hash maps and chains of {@link StreamEvent}s are
+ * encoded with tags and variable length integers, and the identity of the shared arrays, collections and events is
+ * preserved within a serialized object. Objects containing any other type fall back to Java serialization through
+ * {@link ByteSerializer}.
+ */
+public class SnapshotSerializer {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotSerializer.class);
+
+    private static final byte FORMAT_COMPACT = 1;
+    private static final byte FORMAT_JAVA = 2;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte STRING = 7;
+    private static final byte BYTES = 8;
+    private static final byte OBJECT_ARRAY = 9;
+    private static final byte LIST = 10;
+    private static final byte MAP = 11;
+    private static final byte STREAM_EVENT = 12;
+    private static final byte REFERENCE = 13;
+
+    private static final byte NEXT_EVENT = 1;
+    private static final byte END_OF_EVENTS = 0;
+
+    private static final ComplexEvent.Type[] EVENT_TYPES = ComplexEvent.Type.values();
+
+    private SnapshotSerializer() {
+    }
+
+    public static byte[] objectToByte(Object obj, SiddhiAppContext siddhiAppContext) {
+        long start = System.currentTimeMillis();
+        byte[] out;
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            DataOutputStream dos = new DataOutputStream(baos);
+            dos.writeByte(FORMAT_COMPACT);
+            new Encoder(dos).write(obj);
+            dos.flush();
+            out = baos.toByteArray();
+        } catch (UnsupportedTypeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("For SiddhiApp '" + siddhiAppContext.getName() + "'. Falling back to Java serialization " +
+                        "as " + e.getMessage());
+            }
+            byte[] serialized = ByteSerializer.objectToByte(obj, siddhiAppContext);
+            if (serialized == null) {
+                return null;
+            }
+            out = new byte[serialized.length + 1];
+            out[0] = FORMAT_JAVA;
+            System.arraycopy(serialized, 0, out, 1, serialized.length);
+        } catch (IOException e) {
+            log.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
+                    " Error when writing byte array.", e);
+            return null;
+        }
+        long end = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            log.debug("For SiddhiApp '" + siddhiAppContext.getName() + "'. Encoded in :" + (end - start) + " msec");
+        }
+        return out;
+    }
+
+    public static Object byteToObject(byte[] bytes, SiddhiAppContext siddhiAppContext) {
+        return byteToObject(bytes, 0, siddhiAppContext);
+    }
+
+    /**
+     * Decodes the object encoded in the given bytes from the given offset onwards.
+     *
+     * @param bytes            bytes holding the encoded object
+     * @param offset           offset of the encoded object within the bytes
+     * @param siddhiAppContext context of the Siddhi app
+     * @return the decoded object, or null if it cannot be decoded
+     */
+    public static Object byteToObject(byte[] bytes, int offset, SiddhiAppContext siddhiAppContext) {
+        if (bytes == null || bytes.length <= offset) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        Object out;
+        if (bytes[offset] == FORMAT_JAVA) {
+            out = ByteSerializer.byteToObject(Arrays.copyOfRange(bytes, offset + 1, bytes.length), siddhiAppContext);
+        } else {
+            try {
+                DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes, offset + 1,
+                        bytes.length - offset - 1));
+                out = new Decoder(dis).read();
+            } catch (IOException e) {
+                String message = siddhiAppContext == null ? e.getMessage() :
+                        ExceptionUtil.getMessageWithContext(e, siddhiAppContext);
+                log.error(message + " Error when writing to object.", e);
+                return null;
+            }
+        }
+        long end = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            log.debug("Decoded in :" + (end - start) + " msec");
+        }
+        return out;
+    }
+
+    private static final class Encoder {
+        private final DataOutputStream out;
+        private final Map<Object, Integer> references = new IdentityHashMap<>();
+
+        private Encoder(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void write(Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Integer) {
+                out.writeByte(INT);
+                writeVarLong((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                writeVarLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof String) {
+                out.writeByte(STRING);
+                writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof byte[]) {
+                out.writeByte(BYTES);
+                writeBytes((byte[]) value);
+            } else if (!writeReference(value)) {
+                Class<?> type = value.getClass();
+                if (type == Object[].class) {
+                    Object[] array = (Object[]) value;
+                    out.writeByte(OBJECT_ARRAY);
+                    writeVarLong(array.length);
+                    for (Object element : array) {
+                        write(element);
+                    }
+                } else if (type == ArrayList.class) {
+                    List<?> list = (List<?>) value;
+                    out.writeByte(LIST);
+                    writeVarLong(list.size());
+                    for (Object element : list) {
+                        write(element);
+                    }
+                } else if (type == HashMap.class) {
+                    Map<?, ?> map = (Map<?, ?>) value;
+                    out.writeByte(MAP);
+                    writeVarLong(map.size());
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        write(entry.getKey());
+                        write(entry.getValue());
+                    }
+                } else if (type == StreamEvent.class) {
+                    out.writeByte(STREAM_EVENT);
+                    writeStreamEvents((StreamEvent) value);
+                } else {
+                    throw new UnsupportedTypeException(type);
+                }
+            }
+        }
+
+        /**
+         * Writes the events of the chain iteratively, so that long chains such as the events of a window do not
+         * exhaust the stack.
+         */
+        private void writeStreamEvents(StreamEvent streamEvent) throws IOException {
+            StreamEvent currentEvent = streamEvent;
+            while (true) {
+                out.writeByte(currentEvent.getType().ordinal());
+                writeVarLong(currentEvent.getTimestamp());
+                write(currentEvent.getBeforeWindowData());
+                write(currentEvent.getOnAfterWindowData());
+                write(currentEvent.getOutputData());
+                StreamEvent nextEvent = currentEvent.getNext();
+                if (nextEvent == null || nextEvent.getClass() != StreamEvent.class ||
+                        references.containsKey(nextEvent)) {
+                    // the chain ends with null, or a reference to an event which is already written
+                    out.writeByte(END_OF_EVENTS);
+                    write(nextEvent);
+                    return;
+                }
+                out.writeByte(NEXT_EVENT);
+                references.put(nextEvent, references.size());
+                currentEvent = nextEvent;
+            }
+        }
+
+        private boolean writeReference(Object value) throws IOException {
+            Integer reference = references.get(value);
+            if (reference != null) {
+                out.writeByte(REFERENCE);
+                writeVarLong(reference);
+                return true;
+            }
+            references.put(value, references.size());
+            return false;
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            writeVarLong(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            long zigZag = (value << 1) ^ (value >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+                zigZag >>>= 7;
+            }
+            out.writeByte((int) zigZag);
+        }
+    }
+
+    private static final class Decoder {
+        private final DataInputStream in;
+        private final List<Object> references = new ArrayList<>();
+
+        private Decoder(DataInputStream in) {
+            this.in = in;
+        }
+
+        private Object read() throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INT:
+                    return (int) readVarLong();
+                case LONG:
+                    return readVarLong();
+                case FLOAT:
+                    return in.readFloat();
+                case DOUBLE:
+                    return in.readDouble();
+                case STRING:
+                    return new String(readBytes(), StandardCharsets.UTF_8);
+                case BYTES:
+                    return readBytes();
+                case REFERENCE:
+                    return references.get((int) readVarLong());
+                case OBJECT_ARRAY: {
+                    Object[] array = new Object[(int) readVarLong()];
+                    references.add(array);
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = read();
+                    }
+                    return array;
+                }
+                case LIST: {
+                    int size = (int) readVarLong();
+                    List<Object> list = new ArrayList<>(size);
+                    references.add(list);
+                    for (int i = 0; i < size; i++) {
+                        list.add(read());
+                    }
+                    return list;
+                }
+                case MAP: {
+                    int size = (int) readVarLong();
+                    Map<Object, Object> map = new HashMap<>();
+                    references.add(map);
+                    for (int i = 0; i < size; i++) {
+                        Object key = read();
+                        map.put(key, read());
+                    }
+                    return map;
+                }
+                case STREAM_EVENT:
+                    return readStreamEvents();
+                default:
+                    throw new IOException("Unknown snapshot value tag " + tag);
+            }
+        }
+
+        private StreamEvent readStreamEvents() throws IOException {
+            StreamEvent firstEvent = new StreamEvent(0, 0, 0);
+            references.add(firstEvent);
+            StreamEvent currentEvent = firstEvent;
+            while (true) {
+                currentEvent.setType(EVENT_TYPES[in.readByte()]);
+                currentEvent.setTimestamp(readVarLong());
+                currentEvent.setBeforeWindowData((Object[]) read());
+                currentEvent.setOnAfterWindowData((Object[]) read());
+                currentEvent.setOutputData((Object[]) read());
+                if (in.readByte() == END_OF_EVENTS) {
+                    currentEvent.setNext((StreamEvent) read());
+                    return firstEvent;
+                }
+                StreamEvent nextEvent = new StreamEvent(0, 0, 0);
+                references.add(nextEvent);
+                currentEvent.setNext(nextEvent);
+                currentEvent = nextEvent;
+            }
+        }
+
+        private byte[] readBytes() throws IOException {
+            byte[] bytes = new byte[(int) readVarLong()];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        private long readVarLong() throws IOException {
+            long zigZag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.readByte();
+                zigZag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+    }
+
+    /**
+     * Thrown when a value of a type without a compact encoding is found, to fall back to Java serialization.
+     */
+    private static final class UnsupportedTypeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedTypeException(Class<?> type) {
+            super("no compact encoding for " + type.getName());
+        }
+    }
+}
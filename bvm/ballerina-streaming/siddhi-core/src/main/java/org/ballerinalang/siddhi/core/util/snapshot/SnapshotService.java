@@ -23,23 +23,46 @@ import org.ballerinalang.siddhi.core.util.ThreadBarrier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Service level implementation to take/restore snapshots of processing elements.
+ * <p>
+ * Persisted snapshots start with a header holding the revision the snapshot is an increment of, so that the
+ * persistence stores can follow a chain of revisions without reading and decoding the whole snapshots.
  */
 public class SnapshotService {
 
 
     private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
     private static final ThreadLocal<Boolean> skipSnapshotableThreadLocal = new ThreadLocal<Boolean>();
+    private static final String SNAPSHOT_TYPE = "Type";
+    private static final String FULL_SNAPSHOT = "Full";
+    private static final String INCREMENTAL_SNAPSHOT = "Increment";
+    private static final byte[] HEADER_MAGIC = {'S', 'N', 'A', 'P'};
+    private static final String STATES = "States";
+    private static final String STATE_CHANGES = "Changes";
 
     private final ThreadBarrier threadBarrier;
     private HashMap<String, List<Snapshotable>> snapshotableMap = new HashMap<String, List<Snapshotable>>();
     private SiddhiAppContext siddhiAppContext;
+    // revision of the last snapshot taken to be persisted, and the last revision confirmed to be persisted
+    private String lastSnapshotRevision;
+    private String lastPersistedRevision;
+    private int persistsSinceFullSnapshot;
 
     public SnapshotService(SiddhiAppContext siddhiAppContext) {
         this.siddhiAppContext = siddhiAppContext;
@@ -71,34 +94,99 @@ public class SnapshotService {
     }
 
     public byte[] snapshot() {
-        HashMap<String, Map<String, Object>> snapshots = new HashMap<>(snapshotableMap.size());
-        List<Snapshotable> snapshotableList;
-        byte[] serializedSnapshots;
+        return snapshot(null, false);
+    }
+
+    /**
+     * Take the snapshot to be persisted as the given revision. The snapshot is a full snapshot once every full
+     * snapshot interval, and otherwise an incremental snapshot containing the changes of the state since the
+     * previous snapshot, for the processing elements keeping a change log of their state.
+     * <p>
+     * The change logs are cleared once a snapshot is taken, hence an incremental snapshot is only taken on top of
+     * the previous snapshot, and only once that snapshot is confirmed to be persisted through
+     * {@link #persistenceSucceeded(String)}. Otherwise, such as while the previous snapshot is still being saved
+     * or when saving it failed, a full snapshot is taken.
+     *
+     * @param revision revision of the snapshot
+     * @return the serialized snapshot
+     */
+    public synchronized byte[] persistenceSnapshot(String revision) {
+        boolean incremental = lastPersistedRevision != null && lastPersistedRevision.equals(lastSnapshotRevision) &&
+                !lastPersistedRevision.equals(revision) &&
+                persistsSinceFullSnapshot + 1 < siddhiAppContext.getSiddhiContext().getFullSnapshotInterval();
+        byte[] serializedSnapshot = snapshot(incremental ? lastPersistedRevision : null, true);
+        persistsSinceFullSnapshot = incremental ? persistsSinceFullSnapshot + 1 : 0;
+        lastSnapshotRevision = revision;
+        return serializedSnapshot;
+    }
+
+    /**
+     * Used to report that the snapshot taken for the given revision is saved, so that the next snapshot can be
+     * taken on top of it.
+     *
+     * @param revision revision of the snapshot which is persisted
+     */
+    public synchronized void persistenceSucceeded(String revision) {
+        if (revision.equals(lastSnapshotRevision)) {
+            lastPersistedRevision = revision;
+        }
+    }
+
+    /**
+     * Used to report that saving the snapshot taken for the given revision failed. The changes since the previous
+     * snapshot are lost along with the revision, hence the next snapshot is taken as a full snapshot.
+     *
+     * @param revision revision of the snapshot which is not persisted
+     */
+    public synchronized void persistenceFailed(String revision) {
+        log.warn("Revision '" + revision + "' of Siddhi app '" + siddhiAppContext.getName() + "' is not " +
+                "persisted, hence the next snapshot is taken as a full snapshot.");
+    }
+
+    private byte[] snapshot(String baseRevision, boolean clearStateChanges) {
+        HashMap<String, byte[]> states = new HashMap<>(snapshotableMap.size());
+        HashMap<String, byte[]> stateChanges = new HashMap<>();
+        HashMap<String, Object> snapshot = new HashMap<>();
+        byte[] serializedSnapshot;
         if (log.isDebugEnabled()) {
             log.debug("Taking snapshot ...");
         }
         try {
             threadBarrier.lock();
-            for (Map.Entry<String, List<Snapshotable>> entry : snapshotableMap.entrySet()) {
-                snapshotableList = entry.getValue();
-                snapshotableList.forEach(snapshotableElement -> snapshots.put(snapshotableElement.getElementId(),
-                        snapshotableElement.currentState()));
-            }
-            if (log.isDebugEnabled()) {
-                log.debug("Snapshot serialization started ...");
-            }
-            serializedSnapshots = ByteSerializer.objectToByte(snapshots, siddhiAppContext);
-            if (log.isDebugEnabled()) {
-                log.debug("Snapshot serialization finished.");
+            for (List<Snapshotable> snapshotableList : snapshotableMap.values()) {
+                for (Snapshotable snapshotable : snapshotableList) {
+                    Map<String, Object> changes = null;
+                    if (baseRevision != null && snapshotable instanceof IncrementalSnapshotable) {
+                        changes = ((IncrementalSnapshotable) snapshotable).currentStateChanges();
+                    }
+                    if (changes != null) {
+                        stateChanges.put(snapshotable.getElementId(),
+                                SnapshotSerializer.objectToByte(changes, siddhiAppContext));
+                    } else {
+                        states.put(snapshotable.getElementId(),
+                                SnapshotSerializer.objectToByte(snapshotable.currentState(), siddhiAppContext));
+                    }
+                    if (clearStateChanges && snapshotable instanceof IncrementalSnapshotable) {
+                        ((IncrementalSnapshotable) snapshotable).clearStateChanges();
+                    }
+                }
             }
         } finally {
             threadBarrier.unlock();
         }
+        if (baseRevision == null) {
+            snapshot.put(SNAPSHOT_TYPE, FULL_SNAPSHOT);
+        } else {
+            snapshot.put(SNAPSHOT_TYPE, INCREMENTAL_SNAPSHOT);
+            snapshot.put(STATE_CHANGES, stateChanges);
+        }
+        snapshot.put(STATES, states);
+        serializedSnapshot = writeHeader(baseRevision,
+                SnapshotSerializer.objectToByte(snapshot, siddhiAppContext));
         if (log.isDebugEnabled()) {
             log.debug("Snapshot taken for Siddhi app '" + siddhiAppContext.getName() + "'");
         }
-
-        return serializedSnapshots;
+        return serializedSnapshot;
     }
 
     public Map<String, Object> queryState(String queryName) {
@@ -126,41 +214,186 @@ public class SnapshotService {
     }
 
     public void restore(byte[] snapshot) throws CannotRestoreSiddhiAppStateException {
-        Map<String, Map<String, Object>> snapshots = (Map<String, Map<String, Object>>)
-                ByteSerializer.byteToObject(snapshot, siddhiAppContext);
-        List<Snapshotable> snapshotableList;
+        restore(Collections.singletonList(null), revision -> snapshot);
+    }
+
+    /**
+     * Restore the state from a chain of revisions, which starts with a full snapshot followed by the incremental
+     * snapshots taken on top of it in the order they were taken. The snapshots are loaded one at a time, hence only
+     * one snapshot of the chain is held in memory at once.
+     *
+     * @param revisions chain of revisions, where the last one is null if the snapshot is not persisted
+     * @param loader    loads the snapshot of a revision, or returns null if the revision is not found
+     * @throws CannotRestoreSiddhiAppStateException if the state cannot be restored
+     */
+    public synchronized void restore(List<String> revisions, Function<String, byte[]> loader)
+            throws CannotRestoreSiddhiAppStateException {
         try {
             threadBarrier.lock();
-            List<Snapshotable> partitionSnapshotables = snapshotableMap.get("partition");
-            try {
-                if (partitionSnapshotables != null) {
-                    for (Snapshotable snapshotable : partitionSnapshotables) {
-                        snapshotable.restoreState(snapshots.get(snapshotable.getElementId()));
-                    }
+            for (int i = 0; i < revisions.size(); i++) {
+                String revision = revisions.get(i);
+                byte[] snapshot = loader.apply(revision);
+                if (snapshot == null) {
+                    throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.
+                            getName() + " not completed as revision '" + revision + "' is not found in the " +
+                            "persistence store.");
                 }
-            } catch (Throwable t) {
-                throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.
-                        getName() + " not completed properly because content of Siddhi app has changed since " +
-                        "last state persistence. Clean persistence store for a fresh deployment.", t);
-            }
-
-            for (Map.Entry<String, List<Snapshotable>> entry : snapshotableMap.entrySet()) {
-                if (entry.getKey().equals("partition")) {
+                if (isJavaSerialized(snapshot)) {
+                    restoreStates((Map<String, Object>) ByteSerializer.byteToObject(snapshot, siddhiAppContext),
+                            null, false);
                     continue;
                 }
-                snapshotableList = entry.getValue();
-                try {
-                    for (Snapshotable snapshotable : snapshotableList) {
-                        snapshotable.restoreState(snapshots.get(snapshotable.getElementId()));
-                    }
-                } catch (Throwable t) {
+                String baseRevision = getBaseRevision(snapshot);
+                if (i == 0 && baseRevision != null) {
                     throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.
-                            getName() + " not completed properly because content of Siddhi app has changed since " +
-                            "last state persistence. Clean persistence store for a fresh deployment.", t);
+                            getName() + " not completed as the snapshot is an incremental snapshot on top of " +
+                            "revision '" + baseRevision + "', hence restore the revision through the persistence " +
+                            "store.");
+                }
+                Map<String, Object> decodedSnapshot = decode(snapshot, siddhiAppContext);
+                restoreStates((Map<String, Object>) decodedSnapshot.get(STATES),
+                        (Map<String, Object>) decodedSnapshot.get(STATE_CHANGES), true);
+            }
+            for (List<Snapshotable> snapshotableList : snapshotableMap.values()) {
+                for (Snapshotable snapshotable : snapshotableList) {
+                    if (snapshotable instanceof IncrementalSnapshotable) {
+                        ((IncrementalSnapshotable) snapshotable).clearStateChanges();
+                    }
                 }
             }
+            lastSnapshotRevision = revisions.get(revisions.size() - 1);
+            lastPersistedRevision = lastSnapshotRevision;
+            persistsSinceFullSnapshot = revisions.size() - 1;
         } finally {
             threadBarrier.unlock();
         }
     }
+
+    private void restoreStates(Map<String, Object> states, Map<String, Object> stateChanges, boolean encoded)
+            throws CannotRestoreSiddhiAppStateException {
+        List<Snapshotable> partitionSnapshotables = snapshotableMap.get("partition");
+        try {
+            if (partitionSnapshotables != null) {
+                for (Snapshotable snapshotable : partitionSnapshotables) {
+                    restoreState(snapshotable, states, stateChanges, encoded);
+                }
+            }
+        } catch (Throwable t) {
+            throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.
+                    getName() + " not completed properly because content of Siddhi app has changed since " +
+                    "last state persistence. Clean persistence store for a fresh deployment.", t);
+        }
+
+        for (Map.Entry<String, List<Snapshotable>> entry : snapshotableMap.entrySet()) {
+            if (entry.getKey().equals("partition")) {
+                continue;
+            }
+            try {
+                for (Snapshotable snapshotable : entry.getValue()) {
+                    restoreState(snapshotable, states, stateChanges, encoded);
+                }
+            } catch (Throwable t) {
+                throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.
+                        getName() + " not completed properly because content of Siddhi app has changed since " +
+                        "last state persistence. Clean persistence store for a fresh deployment.", t);
+            }
+        }
+    }
+
+    private void restoreState(Snapshotable snapshotable, Map<String, Object> states,
+                              Map<String, Object> stateChanges, boolean encoded) {
+        String elementId = snapshotable.getElementId();
+        if (stateChanges != null && stateChanges.containsKey(elementId)) {
+            ((IncrementalSnapshotable) snapshotable).restoreStateChanges((Map<String, Object>)
+                    SnapshotSerializer.byteToObject((byte[]) stateChanges.get(elementId), siddhiAppContext));
+        } else if (encoded) {
+            snapshotable.restoreState((Map<String, Object>)
+                    SnapshotSerializer.byteToObject((byte[]) states.get(elementId), siddhiAppContext));
+        } else {
+            snapshotable.restoreState((Map<String, Object>) states.get(elementId));
+        }
+    }
+
+    /**
+     * Returns the revision on top of which the given snapshot is taken.
+     *
+     * @param snapshot serialized snapshot
+     * @return the base revision of an incremental snapshot, or null if the snapshot is a full snapshot
+     */
+    public static String getBaseRevision(byte[] snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return readBaseRevision(new ByteArrayInputStream(snapshot));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the revision on top of which a snapshot is taken from its header, without reading the rest of the
+     * snapshot.
+     *
+     * @param in stream positioned at the start of the serialized snapshot
+     * @return the base revision of an incremental snapshot, or null if the snapshot is a full snapshot
+     * @throws IOException if the header cannot be read
+     */
+    public static String readBaseRevision(InputStream in) throws IOException {
+        DataInputStream dis = new DataInputStream(in);
+        byte[] magic = new byte[HEADER_MAGIC.length];
+        try {
+            dis.readFully(magic);
+        } catch (EOFException e) {
+            return null;
+        }
+        if (!Arrays.equals(magic, HEADER_MAGIC)) {
+            // snapshots without a header are the Java serialized full snapshots of earlier versions
+            return null;
+        }
+        String baseRevision = dis.readUTF();
+        return baseRevision.isEmpty() ? null : baseRevision;
+    }
+
+    private static byte[] writeHeader(String baseRevision, byte[] serializedSnapshot) {
+        if (serializedSnapshot == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(serializedSnapshot.length + 64);
+            DataOutputStream dos = new DataOutputStream(baos);
+            dos.write(HEADER_MAGIC);
+            dos.writeUTF(baseRevision == null ? "" : baseRevision);
+            dos.write(serializedSnapshot);
+            dos.flush();
+            return baos.toByteArray();
+        } catch (IOException e) {
+            // writing to memory does not fail
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Object> decode(byte[] snapshot, SiddhiAppContext siddhiAppContext) {
+        int headerLength = 0;
+        if (snapshot.length > HEADER_MAGIC.length + 1
+                && Arrays.equals(Arrays.copyOf(snapshot, HEADER_MAGIC.length), HEADER_MAGIC)) {
+            // the magic is followed by the length of the base revision and the base revision itself
+            headerLength = HEADER_MAGIC.length + 2 + (((snapshot[HEADER_MAGIC.length] & 0xFF) << 8) |
+                    (snapshot[HEADER_MAGIC.length + 1] & 0xFF));
+        }
+        Map<String, Object> decodedSnapshot = (Map<String, Object>) SnapshotSerializer.byteToObject(snapshot,
+                headerLength, siddhiAppContext);
+        if (decodedSnapshot == null) {
+            return Collections.emptyMap();
+        }
+        return decodedSnapshot;
+    }
+
+    /**
+     * Snapshots taken before the states were encoded by {@link SnapshotSerializer} are Java serialized, and start
+     * with the magic number of the Java serialization stream.
+     */
+    private static boolean isJavaSerialized(byte[] snapshot) {
+        return snapshot != null && snapshot.length > 1 && snapshot[0] == (byte) 0xAC && snapshot[1] == (byte) 0xED;
+    }
 }
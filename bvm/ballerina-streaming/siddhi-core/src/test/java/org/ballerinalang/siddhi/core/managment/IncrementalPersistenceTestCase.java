@@ -0,0 +1,498 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.managment;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.ballerinalang.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.ballerinalang.siddhi.core.util.persistence.FilePersistenceStore;
+import org.ballerinalang.siddhi.core.util.snapshot.ByteSerializer;
+import org.ballerinalang.siddhi.core.util.snapshot.PersistenceReference;
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotSerializer;
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.AssertJUnit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests the persistence of full and incremental snapshots to the file system.
+ */
+public class IncrementalPersistenceTestCase {
+    private static final Logger log = LoggerFactory.getLogger(IncrementalPersistenceTestCase.class);
+
+    private File folder;
+    private Long lastValue;
+
+    @BeforeMethod
+    public void init() throws IOException {
+        folder = Files.createTempDirectory("siddhi-persistence").toFile();
+        lastValue = null;
+    }
+
+    @AfterMethod
+    public void cleanup() {
+        delete(folder);
+    }
+
+    @Test
+    public void filePersistenceStoreTest() {
+        log.info("file persistence store test");
+        FilePersistenceStore persistenceStore = new FilePersistenceStore();
+        Map<String, String> properties = new HashMap<>();
+        properties.put("location", folder.getAbsolutePath());
+        persistenceStore.setProperties(properties);
+
+        AssertJUnit.assertNull(persistenceStore.getLastRevision("Test"));
+        persistenceStore.save("Test", "900_Test", new byte[]{1});
+        persistenceStore.save("Test", "1000_Test", new byte[]{2});
+        persistenceStore.save("Test", "950_Test", new byte[]{3});
+        AssertJUnit.assertEquals("1000_Test", persistenceStore.getLastRevision("Test"));
+        AssertJUnit.assertTrue(Arrays.equals(new byte[]{3}, persistenceStore.load("Test", "950_Test")));
+        AssertJUnit.assertNull(persistenceStore.load("Test", "800_Test"));
+        AssertJUnit.assertNull(persistenceStore.getLastRevision("Other"));
+    }
+
+    @Test
+    public void snapshotSerializerTest() {
+        log.info("snapshot serializer test");
+        SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
+        siddhiAppContext.setName("Test");
+
+        StreamEvent firstEvent = null;
+        StreamEvent lastEvent = null;
+        for (int i = 0; i < 10000; i++) {
+            StreamEvent streamEvent = new StreamEvent(0, 0, 3);
+            streamEvent.setTimestamp(i);
+            streamEvent.setType(i % 2 == 0 ? ComplexEvent.Type.CURRENT : ComplexEvent.Type.EXPIRED);
+            streamEvent.setOutputData(new Object[]{"IBM", 75.6f + i, (long) -i});
+            if (firstEvent == null) {
+                firstEvent = streamEvent;
+            } else {
+                lastEvent.setNext(streamEvent);
+            }
+            lastEvent = streamEvent;
+        }
+        Object[] values = new Object[]{1, 2.5, true, null, "WSO2"};
+        HashMap<String, Object> state = new HashMap<>();
+        state.put("Events", firstEvent);
+        state.put("LastEvent", lastEvent);
+        state.put("Values", values);
+        state.put("SameValues", values);
+        state.put("List", new ArrayList<>(Arrays.asList(Long.MAX_VALUE, Integer.MIN_VALUE, "ORACLE")));
+
+        byte[] serializedState = SnapshotSerializer.objectToByte(state, siddhiAppContext);
+        Map<String, Object> restoredState = (Map<String, Object>) SnapshotSerializer.byteToObject(serializedState,
+                siddhiAppContext);
+        StreamEvent restoredEvent = (StreamEvent) restoredState.get("Events");
+        for (StreamEvent streamEvent = firstEvent; streamEvent != null; streamEvent = streamEvent.getNext()) {
+            AssertJUnit.assertEquals(streamEvent, restoredEvent);
+            if (streamEvent.getNext() == null) {
+                AssertJUnit.assertSame(restoredState.get("LastEvent"), restoredEvent);
+            }
+            restoredEvent = restoredEvent.getNext();
+        }
+        AssertJUnit.assertNull(restoredEvent);
+        AssertJUnit.assertSame(restoredState.get("Values"), restoredState.get("SameValues"));
+        AssertJUnit.assertTrue(Arrays.equals(values, (Object[]) restoredState.get("Values")));
+        AssertJUnit.assertEquals(state.get("List"), restoredState.get("List"));
+        AssertJUnit.assertTrue(serializedState.length < ByteSerializer.objectToByte(state, siddhiAppContext).length);
+
+        // types which are not supported by the compact encoding fall back to Java serialization
+        TreeMap<String, Integer> sortedMap = new TreeMap<>();
+        sortedMap.put("IBM", 1);
+        HashMap<String, Object> otherState = new HashMap<>();
+        otherState.put("Map", sortedMap);
+        AssertJUnit.assertEquals(otherState, SnapshotSerializer.byteToObject(
+                SnapshotSerializer.objectToByte(otherState, siddhiAppContext), siddhiAppContext));
+    }
+
+    @Test
+    public void incrementalLengthWindowTest() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test - length window query");
+        String siddhiApp = "" +
+                "@app:name('IncrementalLengthWindowTest') " +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(5) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into OutStream; ";
+        runWindowQuery(siddhiApp);
+    }
+
+    @Test
+    public void incrementalTimeWindowTest() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test - time window query");
+        String siddhiApp = "" +
+                "@app:name('IncrementalTimeWindowTest') " +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.time(1 hour) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into OutStream; ";
+        runWindowQuery(siddhiApp);
+    }
+
+    @Test
+    public void incrementalPrimaryKeyTableTest() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test - primary key table");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(new FilePersistenceStore(folder.getAbsolutePath()));
+        siddhiManager.setFullSnapshotInterval(4);
+
+        String siddhiApp = "" +
+                "@app:name('IncrementalPrimaryKeyTableTest') " +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream DeleteStockStream (symbol string); " +
+                "@PrimaryKey('symbol') " +
+                "define table StockTable (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "update or insert into StockTable " +
+                "   on StockTable.symbol == symbol; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 100L});
+        stockStream.send(new Object[]{"ORACLE", 45.6f, 100L});
+        persist(siddhiAppRuntime);
+        stockStream.send(new Object[]{"IBM", 77.6f, 200L});
+        deleteStockStream.send(new Object[]{"ORACLE"});
+        persist(siddhiAppRuntime);
+        stockStream.send(new Object[]{"GOOG", 85.6f, 300L});
+        persist(siddhiAppRuntime);
+        stockStream.send(new Object[]{"WSO2", 57.6f, 400L});
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.restoreLastRevision();
+        Map<Object, Event> events = new HashMap<>();
+        for (Event event : siddhiAppRuntime.query("from StockTable select symbol, price, volume")) {
+            events.put(event.getData(0), event);
+        }
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(3, events.size());
+        AssertJUnit.assertEquals(100L, events.get("WSO2").getData(2));
+        AssertJUnit.assertEquals(200L, events.get("IBM").getData(2));
+        AssertJUnit.assertEquals(300L, events.get("GOOG").getData(2));
+    }
+
+    @Test
+    public void revisionRetentionTest() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test - revision retention");
+        String siddhiApp = "" +
+                "@app:name('RevisionRetentionTest') " +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(5) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into OutStream; ";
+        FilePersistenceStore persistenceStore = new FilePersistenceStore(folder.getAbsolutePath(), 2);
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setFullSnapshotInterval(3);
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        List<String> revisions = new ArrayList<>();
+        for (long volume = 1; volume <= 5; volume++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f, volume});
+            revisions.add(persist(siddhiAppRuntime));
+            // the first revision to keep is an increment of the full snapshot before it, which is kept as well
+            if (volume == 3) {
+                AssertJUnit.assertEquals(new HashSet<>(revisions),
+                        revisions(persistenceStore, "RevisionRetentionTest"));
+            }
+        }
+        siddhiAppRuntime.shutdown();
+        // the fourth revision is a full snapshot, hence the revisions before it are removed
+        AssertJUnit.assertEquals(new HashSet<>(revisions.subList(3, 5)),
+                revisions(persistenceStore, "RevisionRetentionTest"));
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                lastValue = (Long) events[events.length - 1].getData(1);
+            }
+        });
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.restoreLastRevision();
+        inputHandler.send(new Object[]{"IBM", 75.6f, 6L});
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(Long.valueOf(2 + 3 + 4 + 5 + 6), lastValue);
+    }
+
+    @Test
+    public void failedPersistenceTest() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test - failed persistence");
+        String siddhiApp = "" +
+                "@app:name('FailedPersistenceTest') " +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(5) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into OutStream; ";
+        AtomicBoolean failing = new AtomicBoolean();
+        FilePersistenceStore persistenceStore = new FilePersistenceStore(folder.getAbsolutePath()) {
+            @Override
+            public void save(String siddhiAppId, String revision, byte[] snapshot) {
+                if (failing.get()) {
+                    throw new SiddhiAppRuntimeException("Cannot save revision '" + revision + "'.");
+                }
+                super.save(siddhiAppId, revision, snapshot);
+            }
+        };
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setFullSnapshotInterval(10);
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 75.6f, 1L});
+        persist(siddhiAppRuntime);
+        inputHandler.send(new Object[]{"IBM", 75.6f, 2L});
+        failing.set(true);
+        try {
+            siddhiAppRuntime.persist().getFuture().get();
+            AssertJUnit.fail("Persisting Siddhi app " + siddhiAppRuntime.getName() + " should have failed");
+        } catch (ExecutionException e) {
+            AssertJUnit.assertTrue(e.getCause() instanceof SiddhiAppRuntimeException);
+        }
+        failing.set(false);
+        Thread.sleep(2);
+        inputHandler.send(new Object[]{"IBM", 75.6f, 3L});
+        // the changes of the failed revision are lost with it, hence the next revision is a full snapshot
+        String revision = persist(siddhiAppRuntime);
+        AssertJUnit.assertNull(SnapshotService.getBaseRevision(
+                persistenceStore.load("FailedPersistenceTest", revision)));
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                lastValue = (Long) events[events.length - 1].getData(1);
+            }
+        });
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.restoreLastRevision();
+        inputHandler.send(new Object[]{"IBM", 75.6f, 4L});
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(Long.valueOf(1 + 2 + 3 + 4), lastValue);
+    }
+
+    @Test
+    public void pendingPersistenceTest() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("incremental persistence test - pending persistence");
+        String siddhiApp = "" +
+                "@app:name('PendingPersistenceTest') " +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(5) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into OutStream; ";
+        CountDownLatch saving = new CountDownLatch(1);
+        FilePersistenceStore persistenceStore = new FilePersistenceStore(folder.getAbsolutePath()) {
+            @Override
+            public void save(String siddhiAppId, String revision, byte[] snapshot) {
+                try {
+                    saving.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SiddhiAppRuntimeException("Interrupted while saving revision '" + revision + "'.");
+                }
+                super.save(siddhiAppId, revision, snapshot);
+            }
+        };
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setFullSnapshotInterval(10);
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 75.6f, 1L});
+        PersistenceReference firstReference = siddhiAppRuntime.persist();
+        Thread.sleep(2);
+        inputHandler.send(new Object[]{"IBM", 75.6f, 2L});
+        // the first revision is not saved yet, hence the second one is not taken on top of it
+        PersistenceReference secondReference = siddhiAppRuntime.persist();
+        saving.countDown();
+        try {
+            firstReference.getFuture().get();
+            secondReference.getFuture().get();
+        } catch (ExecutionException e) {
+            throw new AssertionError("Persisting Siddhi app " + siddhiAppRuntime.getName() + " failed", e);
+        }
+        Thread.sleep(2);
+        AssertJUnit.assertNull(persistenceStore.getBaseRevision("PendingPersistenceTest",
+                secondReference.getRevision()));
+        inputHandler.send(new Object[]{"IBM", 75.6f, 3L});
+        String revision = persist(siddhiAppRuntime);
+        AssertJUnit.assertEquals(secondReference.getRevision(),
+                persistenceStore.getBaseRevision("PendingPersistenceTest", revision));
+        AssertJUnit.assertEquals(secondReference.getRevision(), SnapshotService.getBaseRevision(
+                persistenceStore.load("PendingPersistenceTest", revision)));
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                lastValue = (Long) events[events.length - 1].getData(1);
+            }
+        });
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.restoreLastRevision();
+        inputHandler.send(new Object[]{"IBM", 75.6f, 4L});
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(Long.valueOf(1 + 2 + 3 + 4), lastValue);
+    }
+
+    private void runWindowQuery(String siddhiApp) throws InterruptedException,
+            CannotRestoreSiddhiAppStateException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(new FilePersistenceStore(folder.getAbsolutePath()));
+        siddhiManager.setFullSnapshotInterval(3);
+        StreamCallback streamCallback = new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    lastValue = (Long) event.getData(1);
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStream", streamCallback);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        LinkedList<Long> volumes = new LinkedList<>();
+        long volume = 1;
+        // full snapshot, followed by two incremental snapshots and another full snapshot
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 3 + i; j++, volume++) {
+                inputHandler.send(new Object[]{"IBM", 75.6f, volume});
+                volumes.add(volume);
+            }
+            persist(siddhiAppRuntime);
+        }
+        // incremental snapshot on top of the last full snapshot, and events which are not persisted
+        inputHandler.send(new Object[]{"IBM", 75.6f, volume++});
+        volumes.add(volume - 1);
+        persist(siddhiAppRuntime);
+        List<Long> persistedVolumes = new ArrayList<>(volumes);
+        inputHandler.send(new Object[]{"IBM", 75.6f, 1000L});
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStream", streamCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.restoreLastRevision();
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, volume});
+        persistedVolumes.add(volume);
+        siddhiAppRuntime.shutdown();
+
+        long expectedTotal = 0;
+        int windowLength = siddhiApp.contains("window.length") ? 5 : persistedVolumes.size();
+        for (Long persistedVolume : persistedVolumes.subList(persistedVolumes.size() - windowLength,
+                persistedVolumes.size())) {
+            expectedTotal += persistedVolume;
+        }
+        AssertJUnit.assertEquals(Long.valueOf(expectedTotal), lastValue);
+    }
+
+    private String persist(SiddhiAppRuntime siddhiAppRuntime) throws InterruptedException {
+        PersistenceReference persistenceReference = siddhiAppRuntime.persist();
+        try {
+            persistenceReference.getFuture().get();
+        } catch (ExecutionException e) {
+            throw new AssertionError("Persisting Siddhi app " + siddhiAppRuntime.getName() + " failed", e);
+        }
+        // revisions are named after the time they are taken in milliseconds
+        Thread.sleep(2);
+        return persistenceReference.getRevision();
+    }
+
+    private static Set<String> revisions(FilePersistenceStore persistenceStore, String siddhiAppName) {
+        String[] revisions = new File(persistenceStore.getFolder(), siddhiAppName).list();
+        return revisions == null ? new HashSet<>() : new HashSet<>(Arrays.asList(revisions));
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.managment;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.ballerinalang.siddhi.core.util.persistence.FilePersistenceStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the size of the persisted state and the time to restore it, between full and incremental snapshots. It is
+ * run as a main class instead of a test, since it takes a while and its timings are not asserted.
+ */
+public class RestoreTimeBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(RestoreTimeBenchmark.class);
+
+    public static void main(String[] args) throws IOException, InterruptedException,
+            CannotRestoreSiddhiAppStateException {
+        File folder = Files.createTempDirectory("siddhi-persistence").toFile();
+        try {
+            run(folder);
+        } finally {
+            delete(folder);
+        }
+    }
+
+    private static void run(File folder) throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        int windowLength = 50000;
+        int persists = 10;
+        int eventsPerPersist = 100;
+        String siddhiApp = "" +
+                "@app:name('RestoreTimeBenchmark') " +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(" + windowLength + ") " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into OutStream; ";
+
+        long[] persistedBytes = new long[2];
+        long[] restoreTimes = new long[2];
+        for (int fullSnapshotInterval : new int[]{1, persists + 1}) {
+            int index = fullSnapshotInterval == 1 ? 0 : 1;
+            File appFolder = new File(folder, "interval-" + fullSnapshotInterval);
+            SiddhiManager siddhiManager = new SiddhiManager();
+            siddhiManager.setPersistenceStore(new FilePersistenceStore(appFolder.getAbsolutePath()));
+            siddhiManager.setFullSnapshotInterval(fullSnapshotInterval);
+
+            SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            siddhiAppRuntime.start();
+            long volume = 0;
+            for (; volume < windowLength; volume++) {
+                inputHandler.send(new Object[]{"IBM", 75.6f, volume});
+            }
+            for (int i = 0; i < persists; i++) {
+                persist(siddhiAppRuntime);
+                for (int j = 0; j < eventsPerPersist; j++, volume++) {
+                    inputHandler.send(new Object[]{"IBM", 75.6f, volume});
+                }
+            }
+            persist(siddhiAppRuntime);
+            siddhiAppRuntime.shutdown();
+            persistedBytes[index] = size(appFolder);
+
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            AtomicLong lastValue = new AtomicLong();
+            siddhiAppRuntime.addCallback("OutStream", new StreamCallback() {
+                @Override
+                public void receive(Event[] events) {
+                    lastValue.set((Long) events[events.length - 1].getData(1));
+                }
+            });
+            inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            siddhiAppRuntime.start();
+            long start = System.nanoTime();
+            siddhiAppRuntime.restoreLastRevision();
+            restoreTimes[index] = System.nanoTime() - start;
+            inputHandler.send(new Object[]{"IBM", 75.6f, volume});
+            siddhiAppRuntime.shutdown();
+
+            // sum of the last window length volumes
+            if (lastValue.get() != (2 * volume - windowLength + 1) * windowLength / 2) {
+                throw new IllegalStateException("Restored the total volume " + lastValue.get() + " instead of " +
+                        (2 * volume - windowLength + 1) * windowLength / 2);
+            }
+        }
+        log.info("Persisted " + persistedBytes[0] + " bytes with full snapshots and " + persistedBytes[1] +
+                " bytes with incremental snapshots, restored the last revision in " + restoreTimes[0] / 1000000 +
+                " ms from a full snapshot and in " + restoreTimes[1] / 1000000 + " ms from a chain of " +
+                persists + " incremental snapshots.");
+    }
+
+    private static void persist(SiddhiAppRuntime siddhiAppRuntime) throws InterruptedException {
+        try {
+            siddhiAppRuntime.persist().getFuture().get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Persisting Siddhi app " + siddhiAppRuntime.getName() + " failed", e);
+        }
+        // revisions are named after the time they are taken in milliseconds
+        Thread.sleep(2);
+    }
+
+    private static long size(File file) {
+        long size = 0;
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                size += child.isDirectory() ? size(child) : child.length();
+            }
+        }
+        return size;
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
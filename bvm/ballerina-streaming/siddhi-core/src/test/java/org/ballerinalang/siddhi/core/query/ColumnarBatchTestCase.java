@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.query;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the filters and batch aggregations processed over columnar event batches against the event by event
+ * processing.
+ */
+public class ColumnarBatchTestCase {
+    private static final Logger log = LoggerFactory.getLogger(ColumnarBatchTestCase.class);
+
+    private static final String STREAM_DEFINITION = "" +
+            "define stream cseEventStream (symbol string, price float, volume long, quantity int, active bool, " +
+            "ratio double);";
+
+    private static final Object[][] EVENTS = {
+            {"WSO2", 75.6f, 100L, 4, true, 1.5},
+            {"IBM", 60.5f, 200L, 0, false, -2.25},
+            {"WSO2", null, 150L, 3, true, null},
+            {"ORACLE", 100f, 100L, 7, null, 0.0},
+            {null, 50f, null, null, true, Double.NaN},
+            {"IBM", 200f, Long.MAX_VALUE, Integer.MIN_VALUE, true, 3.0},
+            {"WSO2", 55.5f, 300L, 2, false, 4.5}
+    };
+
+    @Test
+    public void columnarFilterTest() throws InterruptedException {
+        log.info("columnar filter test");
+        String query = "" +
+                "from cseEventStream[(price > 70 and volume <= 150L) or not (symbol == 'WSO2' or ratio < 0)] " +
+                "select symbol, price " +
+                "insert into outputStream;";
+
+        List<Object[]> events = runQuery(query, true);
+        AssertJUnit.assertEquals(4, events.size());
+        AssertJUnit.assertEquals("WSO2", events.get(0)[0]);
+        AssertJUnit.assertEquals("ORACLE", events.get(1)[0]);
+        assertSameEvents(runQuery(query, false), events);
+    }
+
+    @Test
+    public void columnarMixedTypeFilterTest() throws InterruptedException {
+        log.info("columnar mixed type filter test");
+        String query = "" +
+                "from cseEventStream[price == volume or (active == true and symbol != 'IBM' and quantity >= 3.5f) " +
+                "or ratio != ratio or symbol == 'MSFT' or active] " +
+                "select symbol, volume " +
+                "insert into outputStream;";
+
+        assertSameEvents(runQuery(query, false), runQuery(query, true));
+    }
+
+    @Test
+    public void columnarAggregationTest() throws InterruptedException {
+        log.info("columnar aggregation test");
+        String query = "" +
+                "from cseEventStream#window.lengthBatch(3) " +
+                "select symbol, sum(price) as totalPrice, sum(volume) as totalVolume, avg(quantity) as avgQuantity, " +
+                "avg(ratio) as avgRatio, count() as count, max(price) as maxPrice " +
+                "insert all events into outputStream;";
+
+        List<Object[]> events = runQuery(query, true);
+        AssertJUnit.assertEquals(2, events.size());
+        AssertJUnit.assertEquals("WSO2", events.get(0)[0]);
+        AssertJUnit.assertEquals(450L, events.get(0)[2]);
+        AssertJUnit.assertEquals(3L, events.get(0)[5]);
+        AssertJUnit.assertEquals("IBM", events.get(1)[0]);
+        assertSameEvents(runQuery(query, false), events);
+    }
+
+    private List<Object[]> runQuery(String query, boolean columnarBatchingEnabled) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setColumnarBatchingEnabled(columnarBatchingEnabled);
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(STREAM_DEFINITION + query);
+
+        List<Object[]> outputEvents = new ArrayList<>();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    outputEvents.add(event.getData());
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        Event[] events = new Event[EVENTS.length];
+        for (int i = 0; i < EVENTS.length; i++) {
+            events[i] = new Event(System.currentTimeMillis(), EVENTS[i]);
+        }
+        inputHandler.send(events);
+        Thread.sleep(100);
+        siddhiAppRuntime.shutdown();
+        return outputEvents;
+    }
+
+    private void assertSameEvents(List<Object[]> expected, List<Object[]> actual) {
+        AssertJUnit.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            AssertJUnit.assertTrue(Arrays.toString(actual.get(i)), Arrays.deepEquals(expected.get(i), actual.get(i)));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.query;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the throughput of a filter and of a projection with arithmetic, between evaluating their expression
+ * executor trees and evaluating the classes they are compiled to. It is run as a main class instead of a test, since
+ * it takes a while and its timings are not asserted.
+ */
+public class CompiledExpressionBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(CompiledExpressionBenchmark.class);
+
+    private static final String STREAM_DEFINITION = "" +
+            "define stream cseEventStream (symbol string, price float, volume long, quantity int); ";
+    private static final String FILTER_QUERY = "" +
+            "from cseEventStream[(price > 70 and volume <= 500L) or (quantity * 2 > 15 and symbol == 'WSO2')] " +
+            "select symbol, price " +
+            "insert into outputStream;";
+    private static final String PROJECTION_QUERY = "" +
+            "from cseEventStream " +
+            "select symbol, price * volume as total, (price - 50) / 2 as spread, quantity % 3 as bucket " +
+            "insert into outputStream;";
+    private static final String[] SYMBOLS = {"IBM", "WSO2", "ORACLE", "MSFT"};
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int CHUNKS = 2000;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        Event[] chunk = createChunk();
+        for (String query : new String[]{FILTER_QUERY, PROJECTION_QUERY}) {
+            // warm up both ways of evaluating before measuring
+            run(query, chunk, false);
+            run(query, chunk, true);
+            long treeTime = 0;
+            long compiledTime = 0;
+            long treeOutput = 0;
+            long compiledOutput = 0;
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                treeOutput = run(query, chunk, false);
+                treeTime += System.nanoTime() - start;
+                start = System.nanoTime();
+                compiledOutput = run(query, chunk, true);
+                compiledTime += System.nanoTime() - start;
+            }
+            if (treeOutput != compiledOutput) {
+                throw new IllegalStateException("Received " + compiledOutput + " events with compiled expressions " +
+                        "instead of " + treeOutput);
+            }
+            long events = (long) CHUNK_SIZE * CHUNKS * RUNS;
+            log.info("Processed " + events / RUNS + " events with the query '" + query + "' at " +
+                    events * 1000000000L / treeTime + " events/s with expression executor trees and " +
+                    events * 1000000000L / compiledTime + " events/s with compiled expressions.");
+        }
+    }
+
+    private static long run(String query, Event[] chunk, boolean expressionCompilationEnabled)
+            throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExpressionCompilationEnabled(expressionCompilationEnabled);
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(STREAM_DEFINITION + query);
+        AtomicLong outputCount = new AtomicLong();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                outputCount.addAndGet(events.length);
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < CHUNKS; i++) {
+            // the events of a chunk are not reused by the caller
+            Event[] events = new Event[chunk.length];
+            for (int j = 0; j < chunk.length; j++) {
+                events[j] = new Event(chunk[j].getTimestamp(), chunk[j].getData().clone());
+            }
+            inputHandler.send(events);
+        }
+        siddhiAppRuntime.shutdown();
+        return outputCount.get();
+    }
+
+    private static Event[] createChunk() {
+        Event[] chunk = new Event[CHUNK_SIZE];
+        long timestamp = System.currentTimeMillis();
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            chunk[i] = new Event(timestamp, new Object[]{SYMBOLS[i % SYMBOLS.length], 50f + i % 50,
+                    (long) (i % 1000), i % 10});
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.query;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.config.SiddhiContext;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.executor.ConstantExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.ExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.compiled.CompiledExpressionExecutor;
+import org.ballerinalang.siddhi.core.executor.compiled.ExpressionExecutorCompiler;
+import org.ballerinalang.siddhi.core.executor.condition.compare.greaterthan
+        .GreaterThanCompareConditionExpressionExecutorLongDouble;
+import org.ballerinalang.siddhi.core.executor.math.divide.DivideExpressionExecutorLong;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.ballerinalang.siddhi.query.api.definition.Attribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the filters and projections compiled to generated classes against the expression executor trees.
+ */
+public class CompiledExpressionTestCase {
+    private static final Logger log = LoggerFactory.getLogger(CompiledExpressionTestCase.class);
+
+    private static final String STREAM_DEFINITION = "" +
+            "define stream cseEventStream (symbol string, price float, volume long, quantity int, active bool, " +
+            "ratio double);";
+
+    private static final Object[][] EVENTS = {
+            {"WSO2", 75.6f, 100L, 4, true, 1.5},
+            {"IBM", 60.5f, 200L, 0, false, -2.25},
+            {"WSO2", null, 150L, 3, true, null},
+            {"ORACLE", 100f, 100L, 7, null, 0.0},
+            {null, 50f, null, null, true, Double.NaN},
+            {"IBM", 200f, Long.MAX_VALUE, Integer.MIN_VALUE, true, 3.0}
+    };
+
+    @Test
+    public void compiledExecutorTest() {
+        log.info("compiled executor test");
+        SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
+        siddhiAppContext.setSiddhiContext(new SiddhiContext());
+
+        ExpressionExecutor condition = new GreaterThanCompareConditionExpressionExecutorLongDouble(
+                new ConstantExpressionExecutor(5L, Attribute.Type.LONG),
+                new ConstantExpressionExecutor(2.5, Attribute.Type.DOUBLE));
+        AssertJUnit.assertSame(condition, ExpressionExecutorCompiler.compile(condition, siddhiAppContext));
+
+        siddhiAppContext.getSiddhiContext().setExpressionCompilationEnabled(true);
+        ExpressionExecutor compiledCondition = ExpressionExecutorCompiler.compile(condition, siddhiAppContext);
+        AssertJUnit.assertTrue(compiledCondition instanceof CompiledExpressionExecutor);
+        AssertJUnit.assertEquals(Attribute.Type.BOOL, compiledCondition.getReturnType());
+        AssertJUnit.assertEquals(Boolean.TRUE, compiledCondition.execute(null));
+        AssertJUnit.assertTrue(compiledCondition.cloneExecutor("key") instanceof CompiledExpressionExecutor);
+
+        ExpressionExecutor division = new DivideExpressionExecutorLong(
+                new ConstantExpressionExecutor(5L, Attribute.Type.LONG),
+                new ConstantExpressionExecutor(0, Attribute.Type.INT));
+        ExpressionExecutor compiledDivision = ExpressionExecutorCompiler.compile(division, siddhiAppContext);
+        AssertJUnit.assertTrue(compiledDivision instanceof CompiledExpressionExecutor);
+        AssertJUnit.assertNull(compiledDivision.execute(null));
+
+        ExpressionExecutor constant = new ConstantExpressionExecutor(5L, Attribute.Type.LONG);
+        AssertJUnit.assertSame(constant, ExpressionExecutorCompiler.compile(constant, siddhiAppContext));
+    }
+
+    @Test
+    public void compiledFilterTest() throws InterruptedException {
+        log.info("compiled filter test");
+        String query = "" +
+                "from cseEventStream[(price > 70 and volume <= 150L) or not (symbol == 'WSO2' or ratio < 0)] " +
+                "select symbol, price " +
+                "insert into outputStream;";
+
+        List<Object[]> events = runQuery(query, true);
+        AssertJUnit.assertEquals(4, events.size());
+        AssertJUnit.assertEquals("WSO2", events.get(0)[0]);
+        AssertJUnit.assertEquals("ORACLE", events.get(1)[0]);
+        assertSameEvents(runQuery(query, false), events);
+    }
+
+    @Test
+    public void compiledMixedTypeFilterTest() throws InterruptedException {
+        log.info("compiled mixed type filter test");
+        String query = "" +
+                "from cseEventStream[price == volume or (active == true and symbol != 'IBM' and quantity >= 3.5f) " +
+                "or ratio != ratio] " +
+                "select symbol, volume " +
+                "insert into outputStream;";
+
+        List<Object[]> events = runQuery(query, true);
+        AssertJUnit.assertEquals(4, events.size());
+        AssertJUnit.assertEquals(150L, events.get(1)[1]);
+        assertSameEvents(runQuery(query, false), events);
+    }
+
+    @Test
+    public void compiledProjectionTest() throws InterruptedException {
+        log.info("compiled projection test");
+        String query = "" +
+                "from cseEventStream " +
+                "select symbol, price * 2 as doublePrice, volume / quantity as volumePerQuantity, " +
+                "volume % 3 as remainder, ratio - quantity as difference, quantity + 1 as nextQuantity, " +
+                "price / ratio as priceRatio, volume > quantity * 100 as isLarge " +
+                "insert into outputStream;";
+
+        List<Object[]> events = runQuery(query, true);
+        AssertJUnit.assertEquals(EVENTS.length, events.size());
+        AssertJUnit.assertEquals(151.2f, events.get(0)[1]);
+        AssertJUnit.assertEquals(25L, events.get(0)[2]);
+        AssertJUnit.assertNull(events.get(1)[2]);
+        AssertJUnit.assertNull(events.get(2)[1]);
+        AssertJUnit.assertNull(events.get(3)[6]);
+        assertSameEvents(runQuery(query, false), events);
+    }
+
+    private List<Object[]> runQuery(String query, boolean expressionCompilationEnabled)
+            throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExpressionCompilationEnabled(expressionCompilationEnabled);
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(STREAM_DEFINITION + query);
+
+        List<Object[]> outputEvents = new ArrayList<>();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    outputEvents.add(event.getData());
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (Object[] event : EVENTS) {
+            inputHandler.send(event);
+        }
+        Thread.sleep(100);
+        siddhiAppRuntime.shutdown();
+        return outputEvents;
+    }
+
+    private void assertSameEvents(List<Object[]> expected, List<Object[]> actual) {
+        AssertJUnit.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            AssertJUnit.assertTrue(Arrays.toString(actual.get(i)), Arrays.deepEquals(expected.get(i), actual.get(i)));
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.query.partition;
+
+import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
+import org.ballerinalang.siddhi.core.SiddhiManager;
+import org.ballerinalang.siddhi.core.event.Event;
+import org.ballerinalang.siddhi.core.exception.SiddhiAppCreationException;
+import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.ballerinalang.siddhi.core.util.SiddhiTestHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the processing of the partition keys on executor lanes.
+ */
+public class PartitionLaneTestCase {
+    private static final Logger log = LoggerFactory.getLogger(PartitionLaneTestCase.class);
+
+    private static final String[] SYMBOLS = {"IBM", "WSO2", "ORACLE", "MSFT", "GOOG", "AMZN"};
+    private static final int EVENTS_PER_SYMBOL = 200;
+
+    private AtomicInteger count = new AtomicInteger(0);
+    private Map<String, Long> lastCounts;
+    private Set<String> threadNames;
+    private volatile boolean outOfOrder;
+
+    @BeforeMethod
+    public void init() {
+        count.set(0);
+        lastCounts = new ConcurrentHashMap<>();
+        threadNames = ConcurrentHashMap.newKeySet();
+        outOfOrder = false;
+    }
+
+    @Test
+    public void partitionLaneTest() throws InterruptedException {
+        log.info("Partition lane test");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPartitionLaneCount(4);
+
+        String siddhiApp = "@app:name('partitionLaneTest') " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "partition with (symbol of cseEventStream) begin " +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume, count() as eventCount " +
+                "insert into OutStockStream ; " +
+                "end ";
+
+        runPartition(siddhiManager, siddhiApp);
+        AssertJUnit.assertTrue(threadNames.size() > 1);
+        for (String threadName : threadNames) {
+            AssertJUnit.assertTrue(threadName, threadName.contains("-lane-"));
+        }
+    }
+
+    @Test
+    public void partitionLaneAnnotationTest() throws InterruptedException {
+        log.info("Partition lane annotation test");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "@app:name('partitionLaneAnnotationTest') " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "@Async(workers='2') " +
+                "partition with (symbol of cseEventStream) begin " +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, price, volume " +
+                "insert into #InnerStream ; " +
+                "@info(name = 'query2') " +
+                "from #InnerStream " +
+                "select symbol, sum(volume) as totalVolume, count() as eventCount " +
+                "insert into OutStockStream ; " +
+                "end ";
+
+        runPartition(siddhiManager, siddhiApp);
+        AssertJUnit.assertTrue(threadNames.size() <= 2);
+    }
+
+    @Test
+    public void partitionLaneBufferTest() throws InterruptedException {
+        log.info("Partition lane buffer test");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        // publishing blocks whenever a lane has a batch waiting to be processed
+        String siddhiApp = "@app:name('partitionLaneBufferTest') " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "@Async(workers='2', buffer.size='1') " +
+                "partition with (symbol of cseEventStream) begin " +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume, count() as eventCount " +
+                "insert into OutStockStream ; " +
+                "end ";
+
+        runPartition(siddhiManager, siddhiApp);
+        AssertJUnit.assertTrue(threadNames.size() <= 2);
+    }
+
+    @Test(timeOut = 60000)
+    public void partitionLaneSelfPublishTest() throws InterruptedException {
+        log.info("Partition lane self publish test");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        // the query publishes to its own lane, whose buffer is full whenever it has a batch waiting
+        String siddhiApp = "@app:name('partitionLaneSelfPublishTest') " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "@Async(workers='1', buffer.size='1') " +
+                "partition with (symbol of cseEventStream) begin " +
+                "@info(name = 'query1') " +
+                "from cseEventStream[volume > 0L] " +
+                "select symbol, price, volume - 1L as volume " +
+                "insert into cseEventStream ; " +
+                "end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("cseEventStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        int volume = 5;
+        for (String symbol : SYMBOLS) {
+            inputHandler.send(new Object[]{symbol, 10f, (long) volume});
+        }
+        // each event is published again with a lower volume, until its volume is zero
+        int expectedCount = SYMBOLS.length * (volume + 1);
+        SiddhiTestHelper.waitForEvents(100, expectedCount, count, 30000);
+        AssertJUnit.assertEquals(expectedCount, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void partitionLaneInvalidWorkersTest() {
+        log.info("Partition lane invalid workers test");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "@app:name('partitionLaneInvalidWorkersTest') " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "@Async(workers='two') " +
+                "partition with (symbol of cseEventStream) begin " +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into OutStockStream ; " +
+                "end ";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    private void runPartition(SiddhiManager siddhiManager, String siddhiApp) throws InterruptedException {
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStockStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                threadNames.add(Thread.currentThread().getName());
+                for (Event event : events) {
+                    String symbol = (String) event.getData(0);
+                    long eventCount = (Long) event.getData(2);
+                    Long lastCount = lastCounts.put(symbol, eventCount);
+                    if (eventCount != (lastCount == null ? 0 : lastCount) + 1 ||
+                            (Long) event.getData(1) != eventCount * (eventCount + 1) / 2) {
+                        outOfOrder = true;
+                    }
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (long volume = 1; volume <= EVENTS_PER_SYMBOL; volume++) {
+            for (String symbol : SYMBOLS) {
+                inputHandler.send(new Object[]{symbol, 10f, volume});
+            }
+        }
+        int expectedCount = SYMBOLS.length * EVENTS_PER_SYMBOL;
+        SiddhiTestHelper.waitForEvents(100, expectedCount, count, 60000);
+        AssertJUnit.assertEquals(expectedCount, count.get());
+        AssertJUnit.assertFalse(outOfOrder);
+        Map<String, Long> expectedCounts = new HashMap<>();
+        for (String symbol : SYMBOLS) {
+            expectedCounts.put(symbol, (long) EVENTS_PER_SYMBOL);
+        }
+        AssertJUnit.assertEquals(expectedCounts, lastCounts);
+        siddhiAppRuntime.shutdown();
+    }
+}
@@ -30,6 +30,8 @@ import java.util.List;
  */
 public abstract class AbstractDefinition implements SiddhiElement {
 
+    private static final long serialVersionUID = 1L;
+
     protected String id;
     protected List<Attribute> attributeList = new ArrayList<Attribute>();
     protected List<Annotation> annotations = new ArrayList<Annotation>();
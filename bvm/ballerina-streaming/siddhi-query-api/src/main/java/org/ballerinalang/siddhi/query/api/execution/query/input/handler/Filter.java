@@ -24,6 +24,8 @@ import org.ballerinalang.siddhi.query.api.expression.Expression;
  */
 public class Filter implements StreamHandler {
 
+    private static final long serialVersionUID = 1L;
+
     private Expression filterExpression;
     private int[] queryContextStartIndex;
     private int[] queryContextEndIndex;
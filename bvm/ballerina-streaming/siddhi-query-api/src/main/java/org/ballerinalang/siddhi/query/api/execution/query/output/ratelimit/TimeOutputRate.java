@@ -22,6 +22,8 @@ package org.ballerinalang.siddhi.query.api.execution.query.output.ratelimit;
  */
 public class TimeOutputRate extends OutputRate {
 
+    private static final long serialVersionUID = 1L;
+
     private Long value;
     private OutputRate.Type type = OutputRate.Type.ALL;
 
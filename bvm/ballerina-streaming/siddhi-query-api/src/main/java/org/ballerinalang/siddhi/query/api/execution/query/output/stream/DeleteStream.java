@@ -24,6 +24,8 @@ import org.ballerinalang.siddhi.query.api.expression.Expression;
  */
 public class DeleteStream extends OutputStream {
 
+    private static final long serialVersionUID = 1L;
+
     protected Expression onDeleteExpression;
 
     public DeleteStream(String tableId, OutputEventType outputEventType, Expression onDeleteExpression) {
@@ -24,6 +24,8 @@ import org.ballerinalang.siddhi.query.api.util.SiddhiConstants;
  */
 public class InsertIntoStream extends OutputStream {
 
+    private static final long serialVersionUID = 1L;
+
     private boolean isInnerStream;
 
     public InsertIntoStream(String streamId) {
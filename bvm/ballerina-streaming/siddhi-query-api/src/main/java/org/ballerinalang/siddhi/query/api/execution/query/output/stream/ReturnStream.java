@@ -22,6 +22,8 @@ package org.ballerinalang.siddhi.query.api.execution.query.output.stream;
  */
 public class ReturnStream extends OutputStream {
 
+    private static final long serialVersionUID = 1L;
+
     public ReturnStream(OutputEventType outputEventType) {
         this.outputEventType = outputEventType;
     }
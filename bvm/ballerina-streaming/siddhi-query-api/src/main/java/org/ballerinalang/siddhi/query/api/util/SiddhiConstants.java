@@ -31,4 +31,8 @@ public class SiddhiConstants {
     public static final String TRIGGERED_TIME = "triggered_time";
 
     public static final int LAST = -2;
+
+    // version of the format in which the compiler serializes Siddhi apps, to be changed along with the
+    // serialVersionUID of any query-api class whose serialized form changes
+    public static final int SIDDHI_APP_SERIALIZATION_VERSION = 1;
 }
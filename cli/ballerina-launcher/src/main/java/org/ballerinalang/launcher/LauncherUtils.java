@@ -30,6 +30,7 @@ import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.ProgramFileReader;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.observability.ObservabilityConstants;
+import org.ballerinalang.util.program.ProgramSnapshot;
 import org.wso2.ballerinalang.compiler.Compiler;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
@@ -81,6 +82,8 @@ public class LauncherUtils {
 
         if (srcPathStr.endsWith(BLangConstants.BLANG_EXEC_FILE_SUFFIX)) {
             programFile = BLangProgramLoader.read(sourcePath);
+            // Package variables are restored from the snapshot taken when the program was built, if there is one
+            ProgramSnapshot.restore(programFile);
         } else if (Files.isRegularFile(fullPath) &&
                 srcPathStr.endsWith(BLangConstants.BLANG_SRC_FILE_SUFFIX) &&
                 !Files.isDirectory(sourceRootPath.resolve(DOT_BALLERINA_DIR_NAME))) {
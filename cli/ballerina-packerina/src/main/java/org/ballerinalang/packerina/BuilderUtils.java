@@ -17,12 +17,19 @@
  */
 package org.ballerinalang.packerina;
 
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.compiler.BLangCompilerException;
 import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.util.program.ProgramSnapshot;
 import org.wso2.ballerinalang.compiler.Compiler;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.ballerinalang.compiler.CompilerOptionName.BUILD_COMPILED_PACKAGE;
 import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
@@ -30,7 +37,11 @@ import static org.ballerinalang.compiler.CompilerOptionName.DRY_RUN;
 import static org.ballerinalang.compiler.CompilerOptionName.LIST_PKG;
 import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
 import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.OPTIMIZATION_LEVEL;
 import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
+import static org.ballerinalang.compiler.CompilerOptionName.REBUILD;
+import static org.ballerinalang.compiler.CompilerOptionName.REGISTER_ALLOCATION_REPORT;
+import static org.ballerinalang.compiler.CompilerOptionName.SNAPSHOT;
 
 /**
  * This class provides util methods for building Ballerina programs and packages.
@@ -39,8 +50,12 @@ import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
  */
 public class BuilderUtils {
 
+    private static PrintStream outStream = System.err;
+
     public static void compileAndWrite(Path sourceRootPath, Path packagePath, Path targetPath,
-                                       boolean buildCompiledPkg, boolean offline, boolean listPkg, boolean dryRun) {
+                                       boolean buildCompiledPkg, boolean offline, boolean listPkg, boolean dryRun,
+                                       boolean rebuild, boolean snapshot, String optimizationLevel,
+                                       boolean registerReport) {
         CompilerContext context = new CompilerContext();
         CompilerOptions options = CompilerOptions.getInstance(context);
         options.put(PROJECT_DIR, sourceRootPath.toString());
@@ -50,8 +65,35 @@ public class BuilderUtils {
         options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
         options.put(PRESERVE_WHITESPACE, "false");
         options.put(BUILD_COMPILED_PACKAGE, Boolean.toString(buildCompiledPkg));
+        // Snapshots are only taken of the executables built, hence all the packages are built
+        options.put(REBUILD, Boolean.toString(rebuild || snapshot));
+        options.put(SNAPSHOT, Boolean.toString(snapshot));
+        if (optimizationLevel != null) {
+            options.put(OPTIMIZATION_LEVEL, optimizationLevel);
+        }
+        options.put(REGISTER_ALLOCATION_REPORT, Boolean.toString(registerReport));
 
         Compiler compiler = Compiler.getInstance(context);
-        compiler.build();
+        List<Path> binaries = compiler.build();
+        for (Path binary : binaries) {
+            writeSnapshot(binary, snapshot);
+        }
+    }
+
+    private static void writeSnapshot(Path binary, boolean snapshot) {
+        Path snapshotPath = ProgramSnapshot.getSnapshotPath(binary);
+        try {
+            if (!snapshot) {
+                // A snapshot of an earlier build of the program is not restored, but it is stale
+                Files.deleteIfExists(snapshotPath);
+                return;
+            }
+            if (!ProgramSnapshot.write(BLangProgramLoader.read(binary))) {
+                outStream.println("ballerina: state of '" + binary.getFileName() + "' cannot be snapshotted, " +
+                        "it is initialized when the program starts");
+            }
+        } catch (IOException e) {
+            throw new BLangCompilerException("error writing snapshot '" + snapshotPath + "'", e);
+        }
     }
 }
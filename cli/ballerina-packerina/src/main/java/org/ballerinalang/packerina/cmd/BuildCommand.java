@@ -50,6 +50,18 @@ public class BuildCommand implements BLauncherCmd {
     @Parameter(names = {"--offline"})
     private boolean offline;
 
+    @Parameter(names = {"--rebuild"}, description = "build all the packages, including the unchanged ones")
+    private boolean rebuild;
+
+    @Parameter(names = {"--snapshot"}, description = "write a snapshot of the initialized program state")
+    private boolean snapshot;
+
+    @Parameter(names = {"-O"}, description = "optimization level of the generated code, from 0 to 2")
+    private String optimizationLevel;
+
+    @Parameter(names = {"--register-report"}, hidden = true)
+    private boolean registerReport;
+
     @Parameter(arity = 1)
     private List<String> argList;
 
@@ -84,7 +96,8 @@ public class BuildCommand implements BLauncherCmd {
         }
 
         BuilderUtils.compileAndWrite(sourceRootPath, packagePath, targetPath, buildCompiledPkg, offline,
-                                     false, false);
+                                     false, false, rebuild, snapshot, optimizationLevel,
+                                     registerReport);
         Runtime.getRuntime().exit(0);
     }
 
@@ -102,11 +115,27 @@ public class BuildCommand implements BLauncherCmd {
         out.append("\n");
         out.append("If the output file is specified with the -o flag, the output \n");
         out.append("will be written to that file. \n");
+        out.append("\n");
+        out.append("Packages of a project which have not changed since they were last \n");
+        out.append("built, along with their dependencies, are not built again. Use the \n");
+        out.append("--rebuild flag to build all the packages. \n");
+        out.append("\n");
+        out.append("If the --snapshot flag is given, the package variables of each program \n");
+        out.append("which do not depend on native functions are initialized at build time and \n");
+        out.append("written next to the program, so that they are restored instead of \n");
+        out.append("initialized when the program starts. \n");
+        out.append("\n");
+        out.append("The -O flag sets the optimization level of the generated code. Level 0 \n");
+        out.append("turns optimizations off, level 1 (the default) folds constant expressions, \n");
+        out.append("removes unreachable code and reuses the registers of local variables \n");
+        out.append("which are not live at the same time, and level 2 also removes unused \n");
+        out.append("local variables and copies of local variables. Use level 0 to keep each \n");
+        out.append("local variable in its own register when debugging. \n");
     }
 
     @Override
     public void printUsage(StringBuilder out) {
-        out.append("  ballerina build <balfile | packagename> [-o output] \n");
+        out.append("  ballerina build <balfile | packagename> [-o output] [--rebuild] [--snapshot] [-O level] \n");
     }
 
     @Override
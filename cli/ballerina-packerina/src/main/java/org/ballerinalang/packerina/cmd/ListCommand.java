@@ -73,7 +73,8 @@ public class ListCommand implements BLauncherCmd {
 
         if (Files.exists(sourceRootPath.resolve(ProjectDirConstants.DOT_BALLERINA_DIR_NAME))) {
             Path packagePath = Paths.get(argList.get(0));
-            BuilderUtils.compileAndWrite(sourceRootPath, packagePath, null, false, false, true, true);
+            BuilderUtils.compileAndWrite(sourceRootPath, packagePath, null, false, false, true, true, false, false,
+                                         null, false);
         } else {
             throw new BLangCompilerException("Current directory is not a project");
         }
@@ -40,7 +40,15 @@ public enum CompilerOptionName {
 
     DRY_RUN("dryRun"),
 
-    TARGET_BINARY_PATH("targetBinaryPath");
+    TARGET_BINARY_PATH("targetBinaryPath"),
+
+    REBUILD("rebuild"),
+
+    OPTIMIZATION_LEVEL("optimizationLevel"),
+
+    REGISTER_ALLOCATION_REPORT("registerAllocationReport"),
+
+    SNAPSHOT("snapshot");
 
     public final String name;
 
@@ -34,6 +34,8 @@ public enum CompilerPhase {
 
     DESUGAR("desugar"),
 
+    OPTIMIZE("optimize"),
+
     CODE_GEN("codeGen");
 
     private String value;
@@ -56,6 +58,8 @@ public enum CompilerPhase {
                 return COMPILER_PLUGIN;
             case "desugar":
                 return DESUGAR;
+            case "optimize":
+                return OPTIMIZE;
             case "codeGen":
                 return CODE_GEN;
             default:
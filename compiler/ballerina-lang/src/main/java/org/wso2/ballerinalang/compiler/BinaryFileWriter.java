@@ -78,9 +78,9 @@ public class BinaryFileWriter {
         return this.codeGenerator.generateBALX(entryPackageNode);
     }
 
-    public void writeExecutableBinary(BLangPackage packageNode) {
+    public Path writeExecutableBinary(BLangPackage packageNode) {
         String fileName = getOutputFileName(packageNode, BLANG_EXEC_FILE_SUFFIX);
-        writeExecutableBinary(packageNode, fileName);
+        Path execFilePath = writeExecutableBinary(packageNode, fileName);
 
         // Generate balo
         Path path = this.sourceDirectory.getPath();
@@ -93,9 +93,10 @@ public class BinaryFileWriter {
             String prjPath = projectSourceRepo.getConverterInstance().toString();
             ZipUtils.generateBalo(packageNode, prjPath, pathStream);
         }
+        return execFilePath;
     }
 
-    public void writeExecutableBinary(BLangPackage packageNode, String fileName) {
+    public Path writeExecutableBinary(BLangPackage packageNode, String fileName) {
         if (fileName == null || fileName.isEmpty()) {
             throw new IllegalArgumentException("invalid target file name");
         }
@@ -119,6 +120,7 @@ public class BinaryFileWriter {
         processorServiceLoader.forEach(plugin -> {
             plugin.codeGenerated(execFilePath);
         });
+        return execFilePath;
     }
 
     public void writeLibraryPackage(BLangPackage packageNode) {
@@ -26,6 +26,10 @@ import org.wso2.ballerinalang.compiler.util.ProjectDirs;
 import org.wso2.ballerinalang.compiler.util.diagnotic.BLangDiagnosticLog;
 import org.wso2.ballerinalang.programfile.CompiledBinaryFile.ProgramFile;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -42,6 +46,7 @@ public class Compiler {
     private final DependencyTree dependencyTree;
     private final BLangDiagnosticLog dlog;
     private final PackageLoader pkgLoader;
+    private final PackageFingerprints fingerprints;
     private final boolean listPkg;
     private final boolean dryRun;
 
@@ -62,6 +67,7 @@ public class Compiler {
         this.dependencyTree = DependencyTree.getInstance(context);
         this.dlog = BLangDiagnosticLog.getInstance(context);
         this.pkgLoader = PackageLoader.getInstance(context);
+        this.fingerprints = PackageFingerprints.getInstance(context);
         this.listPkg = Boolean.parseBoolean(CompilerOptions.getInstance(context).get(CompilerOptionName.LIST_PKG));
         this.dryRun = Boolean.parseBoolean(CompilerOptions.getInstance(context).get(CompilerOptionName.DRY_RUN));
     }
@@ -91,20 +97,40 @@ public class Compiler {
         return this.compilerDriver.compilePackage(packageNode);
     }
 
-    public void build() {
+    /**
+     * Builds the packages of the project which have changed since they were last built.
+     *
+     * @return paths of the executable binaries written
+     */
+    public List<Path> build() {
         // TODO Check for compilation errors
-        Stream<BLangPackage> packages = this.sourceDirectoryManager.listSourceFilesAndPackages()
-                                                                   .map(this.pkgLoader::loadPackage)
-                                                                   .map(this.compilerDriver::compilePackage)
-                                                                   .filter(bLangPackage -> this.dlog.errorCount == 0);
+        List<PackageID> pkgIds = this.sourceDirectoryManager.listSourceFilesAndPackages()
+                                                            .collect(Collectors.toList());
+        if (!dryRun && !listPkg) {
+            // Packages whose sources and dependencies have not changed since the last build are not built again
+            pkgIds = pkgIds.stream()
+                           .filter(pkgId -> !this.fingerprints.isUpToDate(pkgId))
+                           .collect(Collectors.toList());
+        }
+        this.pkgLoader.parsePackagesAsync(pkgIds);
+        Stream<BLangPackage> packages = pkgIds.stream()
+                                              .map(this.pkgLoader::loadPackage)
+                                              .map(this.compilerDriver::compilePackage)
+                                              .filter(bLangPackage -> this.dlog.errorCount == 0);
 
+        List<Path> binaries = new ArrayList<>();
         if (!dryRun) {
-            packages.forEach(this.binaryFileWriter::writeExecutableBinary);
+            packages.forEach(bLangPackage -> {
+                Path binary = this.binaryFileWriter.writeExecutableBinary(bLangPackage);
+                this.fingerprints.update(bLangPackage, binary);
+                binaries.add(binary);
+            });
         }
 
         if (listPkg) {
             packages.forEach(this.dependencyTree::listDependencyPackages);
         }
+        return binaries;
     }
 
     public void build(String sourcePackage, String targetFileName) {
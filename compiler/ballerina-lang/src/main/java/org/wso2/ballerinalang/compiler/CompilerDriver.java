@@ -20,6 +20,8 @@ package org.wso2.ballerinalang.compiler;
 import org.ballerinalang.compiler.CompilerOptionName;
 import org.ballerinalang.compiler.CompilerPhase;
 import org.ballerinalang.model.Name;
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.desugar.ASTOptimizer;
 import org.wso2.ballerinalang.compiler.desugar.Desugar;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.CodeAnalyzer;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.CompilerPluginRunner;
@@ -55,6 +57,7 @@ public class CompilerDriver {
     private final TaintAnalyzer taintAnalyzer;
     private final CompilerPluginRunner compilerPluginRunner;
     private final Desugar desugar;
+    private final ASTOptimizer astOptimizer;
 
     private final CompilerPhase compilerPhase;
 
@@ -79,6 +82,7 @@ public class CompilerDriver {
         this.taintAnalyzer = TaintAnalyzer.getInstance(context);
         this.compilerPluginRunner = CompilerPluginRunner.getInstance(context);
         this.desugar = Desugar.getInstance(context);
+        this.astOptimizer = ASTOptimizer.getInstance(context);
         this.compilerPhase = getCompilerPhase();
     }
 
@@ -126,7 +130,13 @@ public class CompilerDriver {
 
         // TODO : Improve this.
         desugar(builtInPackage);
-        return desugar(pkgNode);
+        pkgNode = desugar(pkgNode);
+        if (this.stopCompilation(pkgNode, CompilerPhase.OPTIMIZE)) {
+            return pkgNode;
+        }
+
+        optimize(builtInPackage);
+        return optimize(pkgNode);
     }
 
     private BLangPackage define(BLangPackage pkgNode) {
@@ -153,6 +163,10 @@ public class CompilerDriver {
         return this.desugar.perform(pkgNode);
     }
 
+    private BLangPackage optimize(BLangPackage pkgNode) {
+        return this.astOptimizer.optimize(pkgNode);
+    }
+
     private CompilerPhase getCompilerPhase() {
         String phaseName = options.get(CompilerOptionName.COMPILER_PHASE);
         if (phaseName == null || phaseName.isEmpty()) {
@@ -169,16 +183,27 @@ public class CompilerDriver {
 
         return (nextPhase == CompilerPhase.TAINT_ANALYZE ||
                 nextPhase == CompilerPhase.COMPILER_PLUGIN ||
-                nextPhase == CompilerPhase.DESUGAR)
+                nextPhase == CompilerPhase.DESUGAR ||
+                nextPhase == CompilerPhase.OPTIMIZE)
                 && (dlog.errorCount > 0 || pkgNode.getCompilationUnits().isEmpty());
     }
 
+    /**
+     * Loads a package and analyzes it up to the taint analyze phase, the same way as the built-in package.
+     *
+     * @param pkgId ID of the package
+     * @return the analyzed package
+     */
+    BLangPackage analyzePackage(PackageID pkgId) {
+        return taintAnalyze(codeAnalyze(semAnalyzer.analyze(pkgLoader.loadAndDefinePackage(pkgId))));
+    }
+
     private BLangPackage getBuiltInPackage(Name orgName, Name name) {
         return taintAnalyze(codeAnalyze(semAnalyzer.analyze(pkgLoader.loadAndDefinePackage(orgName.getValue(),
                 name.getValue()))));
     }
 
-    private BLangPackage loadBuiltInPackage() {
+    BLangPackage loadBuiltInPackage() {
         // Load built-in packages.
         BLangPackage builtInPkg = getBuiltInPackage(Names.BUILTIN_ORG, Names.BUILTIN_PACKAGE);
         symbolTable.builtInPackageSymbol = builtInPkg.symbol;
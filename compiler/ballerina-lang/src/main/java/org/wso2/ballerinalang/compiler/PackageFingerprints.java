@@ -0,0 +1,315 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.repository.PackageSourceEntry;
+import org.wso2.ballerinalang.compiler.desugar.ASTOptimizer;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.CompilerUtils;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.Names;
+import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.ballerinalang.compiler.CompilerOptionName.REBUILD;
+
+/**
+ * Keeps the fingerprints of the packages built in a project, so that the packages which have not changed since
+ * they were last built are not compiled again.
+ * <p>
+ * The executable of a package contains the code of all the packages it depends on. Hence the fingerprint of a
+ * package is a hash of its sources and of the sources of all its dependencies. It is stored in the
+ * {@code .ballerina/fingerprints} directory of the project, along with the dependencies of the package and the
+ * hash of its executable.
+ *
+ * @since 0.970.0
+ */
+public class PackageFingerprints {
+
+    private static final CompilerContext.Key<PackageFingerprints> PACKAGE_FINGERPRINTS_KEY =
+            new CompilerContext.Key<>();
+
+    private static final String FINGERPRINTS_DIR_NAME = "fingerprints";
+    private static final String FINGERPRINT_FILE_SUFFIX = ".fingerprint";
+    private static final String FINGERPRINT = "fingerprint ";
+    private static final String BINARY = "binary ";
+    private static final String DEPENDENCY = "dependency ";
+
+    private final CompilerOptions options;
+    private final PackageLoader pkgLoader;
+    private final SymbolTable symbolTable;
+    private final ASTOptimizer astOptimizer;
+    private final Path projectDirPath;
+    private final boolean enabled;
+
+    // Hashes of the package sources, shared by all the packages of a build
+    private final Map<String, String> sourceHashes = new HashMap<>();
+
+    public static PackageFingerprints getInstance(CompilerContext context) {
+        PackageFingerprints fingerprints = context.get(PACKAGE_FINGERPRINTS_KEY);
+        if (fingerprints == null) {
+            fingerprints = new PackageFingerprints(context);
+        }
+        return fingerprints;
+    }
+
+    private PackageFingerprints(CompilerContext context) {
+        context.put(PACKAGE_FINGERPRINTS_KEY, this);
+        this.options = CompilerOptions.getInstance(context);
+        this.pkgLoader = PackageLoader.getInstance(context);
+        this.symbolTable = SymbolTable.getInstance(context);
+        this.astOptimizer = ASTOptimizer.getInstance(context);
+
+        SourceDirectory sourceDirectory = context.get(SourceDirectory.class);
+        if (sourceDirectory == null) {
+            throw new IllegalArgumentException("source directory has not been initialized");
+        }
+        this.projectDirPath = sourceDirectory.getPath();
+        // Only projects keep fingerprints, single source files are always compiled.
+        this.enabled = Files.isDirectory(projectDirPath.resolve(ProjectDirConstants.DOT_BALLERINA_DIR_NAME));
+    }
+
+    /**
+     * Checks whether the executable of the given package is up to date, i.e. it has been built from the current
+     * sources of the package and of its dependencies.
+     *
+     * @param pkgId ID of the package
+     * @return true if the package does not need to be compiled again
+     */
+    public boolean isUpToDate(PackageID pkgId) {
+        if (!enabled || Boolean.parseBoolean(options.get(REBUILD))) {
+            return false;
+        }
+
+        Path fingerprintFilePath = getFingerprintFilePath(pkgId);
+        if (!Files.isRegularFile(fingerprintFilePath)) {
+            return false;
+        }
+
+        String fingerprint = null;
+        String binary = null;
+        List<PackageID> dependencies = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(fingerprintFilePath, StandardCharsets.UTF_8)) {
+                if (line.startsWith(FINGERPRINT)) {
+                    fingerprint = line.substring(FINGERPRINT.length());
+                } else if (line.startsWith(BINARY)) {
+                    binary = line.substring(BINARY.length());
+                } else if (line.startsWith(DEPENDENCY)) {
+                    dependencies.add(toPackageID(line.substring(DEPENDENCY.length())));
+                }
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        if (fingerprint == null || binary == null) {
+            return false;
+        }
+
+        // The executable is named by the path relative to the project, followed by its hash.
+        int hashIndex = binary.lastIndexOf(' ');
+        Path binaryPath = projectDirPath.resolve(binary.substring(0, hashIndex));
+        if (!Files.isRegularFile(binaryPath)) {
+            return false;
+        }
+
+        try {
+            return fingerprint.equals(getFingerprint(pkgId, dependencies)) &&
+                    binary.substring(hashIndex + 1).equals(hash(Files.readAllBytes(binaryPath)));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records the fingerprint of a package which has been compiled and written to the given executable.
+     *
+     * @param pkgNode    the compiled package
+     * @param binaryPath path of the executable of the package
+     */
+    public void update(BLangPackage pkgNode, Path binaryPath) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, PackageID> dependencies = new TreeMap<>();
+        BPackageSymbol builtInPackageSymbol = symbolTable.builtInPackageSymbol;
+        dependencies.put(getPackageKey(builtInPackageSymbol.pkgID), builtInPackageSymbol.pkgID);
+        addDependencies(pkgNode, dependencies);
+        dependencies.remove(getPackageKey(pkgNode.packageID));
+
+        StringBuilder content = new StringBuilder();
+        try {
+            String fingerprint = getFingerprint(pkgNode.packageID, new ArrayList<>(dependencies.values()));
+            if (fingerprint == null) {
+                return;
+            }
+            content.append(FINGERPRINT).append(fingerprint).append('\n');
+            content.append(BINARY).append(projectDirPath.relativize(binaryPath.toAbsolutePath()).toString())
+                   .append(' ').append(hash(Files.readAllBytes(binaryPath))).append('\n');
+            dependencies.keySet().forEach(key -> content.append(DEPENDENCY).append(key).append('\n'));
+
+            Path fingerprintFilePath = getFingerprintFilePath(pkgNode.packageID);
+            Files.createDirectories(fingerprintFilePath.getParent());
+            Files.write(fingerprintFilePath, content.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new BLangCompilerException("failed to write the fingerprint of package '" +
+                    pkgNode.packageID + "': " + e.getMessage());
+        }
+    }
+
+    // private methods
+
+    private void addDependencies(BLangPackage pkgNode, Map<String, PackageID> dependencies) {
+        for (BLangImportPackage importPkgNode : pkgNode.imports) {
+            if (importPkgNode.symbol == null) {
+                continue;
+            }
+
+            PackageID pkgId = importPkgNode.symbol.pkgID;
+            if (dependencies.put(getPackageKey(pkgId), pkgId) == null) {
+                SymbolEnv pkgEnv = symbolTable.pkgEnvMap.get(importPkgNode.symbol);
+                if (pkgEnv != null) {
+                    addDependencies(pkgEnv.enclPkg, dependencies);
+                }
+            }
+        }
+    }
+
+    private String getFingerprint(PackageID pkgId, List<PackageID> dependencies) throws IOException {
+        // The implementation version is the same in every snapshot build, and is not set at all when the compiler
+        // runs from its classes directory, hence the build of the compiler is identified by a hash of its classes.
+        String compilerBuildHash = SymbolCache.getCompilerBuildHash();
+        if (compilerBuildHash == null) {
+            return null;
+        }
+        MessageDigest digest = newDigest();
+        digest.update(compilerBuildHash.getBytes(StandardCharsets.UTF_8));
+        // Options which change the generated code are part of the fingerprint as well.
+        digest.update(Boolean.toString(CompilerUtils.isDistributedTransactionsEnabled())
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update(Integer.toString(astOptimizer.getOptimizationLevel()).getBytes(StandardCharsets.UTF_8));
+
+        List<PackageID> pkgIds = new ArrayList<>(dependencies.size() + 1);
+        pkgIds.add(pkgId);
+        pkgIds.addAll(dependencies);
+        for (PackageID id : pkgIds) {
+            String sourceHash = getSourceHash(id);
+            if (sourceHash == null) {
+                return null;
+            }
+            digest.update(getPackageKey(id).getBytes(StandardCharsets.UTF_8));
+            digest.update(sourceHash.getBytes(StandardCharsets.UTF_8));
+        }
+        return toHex(digest.digest());
+    }
+
+    private String getSourceHash(PackageID pkgId) {
+        return sourceHashes.computeIfAbsent(getPackageKey(pkgId), key -> {
+            List<PackageSourceEntry> sourceEntries = pkgLoader.getPackageSourceEntries(pkgId);
+            if (sourceEntries == null) {
+                return null;
+            }
+
+            MessageDigest digest = newDigest();
+            sourceEntries.stream()
+                         .sorted(Comparator.comparing(PackageSourceEntry::getEntryName))
+                         .forEach(entry -> {
+                             // length-prefix the name and the code, so that moving bytes from the end of one
+                             // into the start of the next does not give the same hash
+                             byte[] name = entry.getEntryName().getBytes(StandardCharsets.UTF_8);
+                             byte[] code = entry.getCode();
+                             digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(name.length).array());
+                             digest.update(name);
+                             digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(code.length).array());
+                             digest.update(code);
+                         });
+            return toHex(digest.digest());
+        });
+    }
+
+    private Path getFingerprintFilePath(PackageID pkgId) {
+        String fileName = pkgId.isUnnamed ? pkgId.sourceFileName.value : pkgId.name.value;
+        return projectDirPath.resolve(ProjectDirConstants.DOT_BALLERINA_DIR_NAME)
+                             .resolve(FINGERPRINTS_DIR_NAME)
+                             .resolve(fileName + FINGERPRINT_FILE_SUFFIX);
+    }
+
+    private static String getPackageKey(PackageID pkgId) {
+        return pkgId.orgName.value + "/" + pkgId.nameComps.stream()
+                                                          .map(Name::getValue)
+                                                          .collect(Collectors.joining(".")) +
+                ":" + pkgId.version.value;
+    }
+
+    private static PackageID toPackageID(String pkgKey) {
+        int orgEndIndex = pkgKey.indexOf('/');
+        int versionIndex = pkgKey.lastIndexOf(':');
+        String orgName = pkgKey.substring(0, orgEndIndex);
+        List<Name> nameComps = Arrays.stream(pkgKey.substring(orgEndIndex + 1, versionIndex).split("\\."))
+                                     .map(Name::new)
+                                     .collect(Collectors.toList());
+        return new PackageID(Names.ANON_ORG.value.equals(orgName) ? Names.ANON_ORG : new Name(orgName),
+                nameComps, new Name(pkgKey.substring(versionIndex + 1)));
+    }
+
+    private static String hash(byte[] content) {
+        MessageDigest digest = newDigest();
+        digest.update(content);
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new BLangCompilerException("SHA-256 message digest is not available");
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
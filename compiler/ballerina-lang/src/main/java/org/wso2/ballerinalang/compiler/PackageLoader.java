@@ -18,12 +18,14 @@
 package org.wso2.ballerinalang.compiler;
 
 import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.compiler.CompilerPhase;
 import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.elements.PackageID;
 import org.ballerinalang.model.tree.IdentifierNode;
-import org.ballerinalang.repository.PackageEntity;
+import org.ballerinalang.model.tree.NodeKind;
 import org.ballerinalang.repository.PackageRepository;
 import org.ballerinalang.repository.PackageSource;
+import org.ballerinalang.repository.PackageSourceEntry;
 import org.ballerinalang.spi.SystemPackageRepositoryProvider;
 import org.ballerinalang.toml.model.Dependency;
 import org.ballerinalang.toml.model.Manifest;
@@ -49,6 +51,7 @@ import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.ProjectDirs;
+import org.wso2.ballerinalang.compiler.util.diagnotic.BLangDiagnosticLog;
 import org.wso2.ballerinalang.util.HomeRepoUtils;
 
 import java.net.URI;
@@ -57,14 +60,18 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
 import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
 import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
 import static org.wso2.ballerinalang.compiler.packaging.RepoHierarchyBuilder.node;
@@ -82,13 +89,17 @@ public class PackageLoader {
     private final RepoHierarchy repos;
     private final boolean offline;
     private final Manifest manifest;
+    private final boolean parseImportsAsync;
+    private final Map<String, Supplier<BLangPackage>> parsingPackages = new HashMap<>();
 
     private CompilerOptions options;
     private Parser parser;
     private SourceDirectory sourceDirectory;
     private PackageCache packageCache;
     private SymbolEnter symbolEnter;
+    private SymbolCache symbolCache;
     private Names names;
+    private BLangDiagnosticLog dlog;
 
     public static PackageLoader getInstance(CompilerContext context) {
         PackageLoader loader = context.get(PACKAGE_LOADER_KEY);
@@ -111,10 +122,17 @@ public class PackageLoader {
         this.parser = Parser.getInstance(context);
         this.packageCache = PackageCache.getInstance(context);
         this.symbolEnter = SymbolEnter.getInstance(context);
+        this.symbolCache = SymbolCache.getInstance(context);
         this.names = Names.getInstance(context);
+        this.dlog = BLangDiagnosticLog.getInstance(context);
         this.offline = Boolean.parseBoolean(options.get(OFFLINE));
         this.repos = genRepoHierarchy(Paths.get(options.get(PROJECT_DIR)));
         this.manifest = ManifestProcessor.parseTomlContentAsStream(sourceDirectory.getManifestContent());
+
+        // Imported packages are only loaded from the define phase onwards.
+        String phaseName = options.get(COMPILER_PHASE);
+        this.parseImportsAsync = phaseName == null || phaseName.isEmpty() ||
+                CompilerPhase.fromValue(phaseName).compareTo(CompilerPhase.DEFINE) >= 0;
     }
 
     private RepoHierarchy genRepoHierarchy(Path sourceRoot) {
@@ -166,13 +184,23 @@ public class PackageLoader {
         return systemList.toArray(new RepoHierarchyBuilder.RepoNode[systemList.size()]);
     }
 
-    private PackageEntity loadPackageEntity(PackageID pkgId) {
+    private Resolution resolvePackage(PackageID pkgId) {
         updateVersionFromToml(pkgId);
+        return repos.resolve(pkgId);
+    }
+
+    /**
+     * Returns the source entries of a package, as resolved by the repositories of this compilation.
+     *
+     * @param pkgId ID of the package, with its version resolved
+     * @return the source entries of the package, or null if the package cannot be found
+     */
+    public List<PackageSourceEntry> getPackageSourceEntries(PackageID pkgId) {
         Resolution resolution = repos.resolve(pkgId);
         if (resolution == Resolution.NOT_FOUND) {
             return null;
         }
-        return new GenericPackageSource(pkgId, resolution.sources, resolution.resolvedBy);
+        return resolution.sources;
     }
 
     private void updateVersionFromToml(PackageID pkgId) {
@@ -196,8 +224,14 @@ public class PackageLoader {
     }
 
     public BLangPackage loadPackage(PackageID pkgId) {
+        // Every compilation needs the built-in package, so it is parsed along with the entry package.
+        if (this.parseImportsAsync) {
+            parsePackageAsync(getPackageID(Names.BUILTIN_ORG.value, Names.BUILTIN_PACKAGE.value));
+        }
+
         BLangPackage packageNode = loadPackage(pkgId, null);
         addImportPkg(packageNode, Names.BUILTIN_ORG.value, Names.RUNTIME_PACKAGE.value, Names.EMPTY.value);
+        parseImportedPackagesAsync(packageNode);
         return packageNode;
     }
 
@@ -207,13 +241,28 @@ public class PackageLoader {
             return bLangPackage;
         }
 
-        BLangPackage packageNode = loadPackageFromEntity(pkgId, loadPackageEntity(pkgId));
+        Supplier<BLangPackage> parsedPackage = this.parsingPackages.remove(pkgId.bvmAlias());
+        BLangPackage packageNode = parsedPackage != null ? parsedPackage.get() :
+                loadPackageFromResolution(pkgId, resolvePackage(pkgId));
         if (packageNode == null) {
             throw ProjectDirs.getPackageNotFoundError(pkgId);
         }
+        parseImportedPackagesAsync(packageNode);
         return packageNode;
     }
 
+    /**
+     * Starts parsing the given packages in the background, so that they are parsed in parallel to each other
+     * and to the compilation of the packages loaded before them.
+     *
+     * @param pkgIds the IDs of the packages which are going to be loaded
+     */
+    public void parsePackagesAsync(List<PackageID> pkgIds) {
+        if (this.parseImportsAsync) {
+            pkgIds.forEach(this::parsePackageAsync);
+        }
+    }
+
     public BLangPackage loadAndDefinePackage(String orgName, String pkgName) {
         // TODO This is used only to load the builtin package.
         PackageID pkgId = getPackageID(orgName, pkgName);
@@ -236,7 +285,10 @@ public class PackageLoader {
             return null;
         }
 
-        this.symbolEnter.definePackage(bLangPackage);
+        // Packages loaded from a symbol cache are already defined.
+        if (!bLangPackage.completedPhases.contains(CompilerPhase.DEFINE)) {
+            this.symbolEnter.definePackage(bLangPackage);
+        }
         return bLangPackage;
     }
 
@@ -278,6 +330,69 @@ public class PackageLoader {
         bLangPackage.imports.add(importDcl);
     }
 
+    // Only parsing runs in the background. Packages are still defined and type checked one after another on the
+    // compiler thread, since the symbol enter and the semantic analyzers keep their state in per-context fields.
+    private void parseImportedPackagesAsync(BLangPackage bLangPackage) {
+        // Once errors are logged, the compilation may stop before the imports are loaded.
+        if (!this.parseImportsAsync || dlog.errorCount > 0) {
+            return;
+        }
+
+        // Imports are moved to the package when it is defined, until then they are in the compilation units.
+        List<BLangImportPackage> importPkgNodes = bLangPackage.getCompilationUnits().stream()
+                .flatMap(compUnit -> compUnit.getTopLevelNodes().stream())
+                .filter(node -> node.getKind() == NodeKind.IMPORT)
+                .map(node -> (BLangImportPackage) node)
+                .collect(Collectors.toList());
+        importPkgNodes.addAll(bLangPackage.imports);
+        for (BLangImportPackage importPkgNode : importPkgNodes) {
+            // Resolve the package ID the same way as the symbol enter does when defining the import.
+            Name orgName = importPkgNode.orgName.value == null || importPkgNode.orgName.value.isEmpty() ?
+                    Names.ANON_ORG : names.fromIdNode(importPkgNode.orgName);
+            List<Name> nameComps = importPkgNode.pkgNameComps.stream()
+                                                            .map(identifier -> names.fromIdNode(identifier))
+                                                            .collect(Collectors.toList());
+            String version = names.fromIdNode(importPkgNode.version).getValue().replaceAll("[^\\d.]", "");
+            PackageID pkgId = new PackageID(orgName, nameComps, new Name(version));
+            if (!pkgId.name.getValue().startsWith(Names.BUILTIN_PACKAGE.value)) {
+                parsePackageAsync(pkgId);
+            }
+        }
+    }
+
+    private void parsePackageAsync(PackageID pkgId) {
+        String pkgAlias = pkgId.bvmAlias();
+        if (this.packageCache.get(pkgAlias) != null || this.parsingPackages.containsKey(pkgAlias)) {
+            return;
+        }
+
+        Resolution resolution;
+        try {
+            resolution = resolvePackage(pkgId);
+        } catch (BLangCompilerException e) {
+            // Resolving the package is attempted again, and the error is reported, when the package is loaded.
+            return;
+        }
+        if (resolution == Resolution.NOT_FOUND) {
+            return;
+        }
+
+        // Packages which have a symbol cache are loaded from it right away, instead of being parsed.
+        BLangPackage cachedPackage = this.symbolCache.load(pkgId, resolution);
+        if (cachedPackage != null) {
+            this.packageCache.put(pkgId, cachedPackage);
+            return;
+        }
+
+        Supplier<BLangPackage> parsedPackage = this.parser.parseAsync(
+                new GenericPackageSource(pkgId, resolution.sources, resolution.resolvedBy));
+        this.parsingPackages.put(pkgAlias, () -> {
+            BLangPackage bLangPackage = parsedPackage.get();
+            this.packageCache.put(pkgId, bLangPackage);
+            return bLangPackage;
+        });
+    }
+
     private PackageID getPackageID(String org, String sourcePkg) {
         // split from '.', '\' and '/'
         List<Name> pkgNameComps = getPackageNameComps(sourcePkg);
@@ -292,12 +407,15 @@ public class PackageLoader {
                      .collect(Collectors.toList());
     }
 
-    private BLangPackage loadPackageFromEntity(PackageID pkgId, PackageEntity pkgEntity) {
-        if (pkgEntity == null) {
+    private BLangPackage loadPackageFromResolution(PackageID pkgId, Resolution resolution) {
+        if (resolution == Resolution.NOT_FOUND) {
             return null;
         }
 
-        BLangPackage bLangPackage = sourceCompile((PackageSource) pkgEntity);
+        BLangPackage bLangPackage = this.symbolCache.load(pkgId, resolution);
+        if (bLangPackage == null) {
+            bLangPackage = sourceCompile(new GenericPackageSource(pkgId, resolution.sources, resolution.resolvedBy));
+        }
         this.packageCache.put(pkgId, bLangPackage);
         return bLangPackage;
     }
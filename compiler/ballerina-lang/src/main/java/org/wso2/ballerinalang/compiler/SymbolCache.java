@@ -0,0 +1,604 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.repository.PackageSourceEntry;
+import org.wso2.ballerinalang.compiler.packaging.Patten;
+import org.wso2.ballerinalang.compiler.packaging.Resolution;
+import org.wso2.ballerinalang.compiler.packaging.repo.JarRepo;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.symbolcache.ObjectGraph;
+import org.wso2.ballerinalang.compiler.symbolcache.ObjectGraphReader;
+import org.wso2.ballerinalang.compiler.symbolcache.ObjectGraphWriter;
+import org.wso2.ballerinalang.compiler.tree.BLangFunction;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangInvocation;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangExpressionStmt;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.Names;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Loads the built-in and the standard library packages from the symbol caches shipped along with their sources,
+ * instead of parsing and analyzing the sources in every compilation.
+ * <p>
+ * The symbol cache of a package is generated when the distribution is built, by {@link SymbolCacheGenerator}. It
+ * holds the package after it has been defined, type checked, code analyzed and taint analyzed, and it refers to the
+ * objects of the symbol table and of the packages it depends on, which are loaded from their symbol caches first. A
+ * symbol cache is used only if it has been generated by the same build of the compiler, with the same layout of
+ * the classes it holds, from the same sources of the package and against the same symbol caches of its
+ * dependencies. Otherwise the package is compiled from its
+ * sources as usual.
+ *
+ * @since 0.970.0
+ */
+public class SymbolCache {
+
+    private static final CompilerContext.Key<SymbolCache> SYMBOL_CACHE_KEY = new CompilerContext.Key<>();
+
+    public static final String SYMBOL_CACHE_FILE_NAME = "package.symbols";
+
+    private static final int SYMBOL_CACHE_MAGIC = 0xBA15C4C3;
+    private static final short SYMBOL_CACHE_VERSION = 2;
+    private static final String CLASS_FILE_EXT = ".class";
+
+    private final CompilerContext context;
+    private final SymbolTable symTable;
+
+    // Objects of the symbol table, followed by the objects of each package loaded from or written to a symbol cache
+    private final List<Section> sections = new ArrayList<>();
+    private final Map<String, Section> sectionsByPackage = new HashMap<>();
+    private String symbolTableShape;
+
+    // Packages loaded from a symbol cache, which are not imported by any package yet
+    private final Set<BLangPackage> unlinkedPackages = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // The following are only used while symbol caches are generated.
+    private Set<String> generatedPackages;
+    private Set<String> uncachedPackages;
+    private Map<Object, Long> externalObjects;
+    private List<Object> trackedObjects;
+    private List<Object[]> trackedStates;
+
+    public static SymbolCache getInstance(CompilerContext context) {
+        SymbolCache symbolCache = context.get(SYMBOL_CACHE_KEY);
+        if (symbolCache == null) {
+            symbolCache = new SymbolCache(context);
+        }
+        return symbolCache;
+    }
+
+    private SymbolCache(CompilerContext context) {
+        context.put(SYMBOL_CACHE_KEY, this);
+        this.context = context;
+        this.symTable = SymbolTable.getInstance(context);
+    }
+
+    /**
+     * Loads a package from its symbol cache.
+     *
+     * @param pkgId      ID of the package
+     * @param resolution the sources of the package and the repository they were found in
+     * @return the package, or null if the package does not have an up to date symbol cache
+     */
+    public BLangPackage load(PackageID pkgId, Resolution resolution) {
+        String pkgAlias = pkgId.bvmAlias();
+        if (generatedPackages != null && generatedPackages.contains(pkgAlias)) {
+            return null;
+        }
+
+        Path cacheFilePath = getCacheFilePath(pkgId, resolution);
+        BLangPackage pkgNode = null;
+        if (cacheFilePath != null && Files.isRegularFile(cacheFilePath) && getCompilerBuildHash() != null &&
+                initSymbolTableSection()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(cacheFilePath)))) {
+                pkgNode = read(pkgAlias, resolution.sources, in);
+            } catch (IOException e) {
+                // The package is compiled from its sources instead.
+                pkgNode = null;
+            }
+        }
+
+        if (pkgNode == null && uncachedPackages != null) {
+            uncachedPackages.add(pkgAlias);
+        }
+        return pkgNode;
+    }
+
+    /**
+     * Checks whether the given package, which has already been defined, is imported for the first time. The first
+     * package which imports a package invokes its init functions.
+     * <p>
+     * The init functions of a package loaded from a symbol cache invoke the init functions of all the packages it
+     * imports. When the package is imported for the first time, the invocations of the init functions of the
+     * packages which have already been imported by other packages are removed, and the rest of the imported packages
+     * are marked as imported in turn.
+     *
+     * @param pkgNode the imported package
+     * @return true if the importing package has to invoke the init functions of the imported package
+     */
+    public boolean isFirstImport(BLangPackage pkgNode) {
+        if (generatedPackages != null) {
+            // The init functions of a cached package invoke the init functions of all its imports.
+            return true;
+        }
+        if (!unlinkedPackages.remove(pkgNode)) {
+            return false;
+        }
+        link(pkgNode);
+        return true;
+    }
+
+    // Methods used to generate symbol caches.
+
+    /**
+     * Starts generating the symbol caches of the given packages. The packages are compiled from their sources,
+     * while the rest of the packages are loaded from their symbol caches.
+     *
+     * @param pkgAliases BVM aliases of the packages to generate the symbol caches of
+     */
+    void startGeneration(Set<String> pkgAliases) {
+        this.generatedPackages = new HashSet<>(pkgAliases);
+        this.uncachedPackages = new HashSet<>();
+        this.externalObjects = new IdentityHashMap<>();
+        this.trackedObjects = new ArrayList<>();
+        this.trackedStates = new ArrayList<>();
+        if (getCompilerBuildHash() == null) {
+            throw new BLangCompilerException("classes of the compiler cannot be located to identify its build");
+        }
+        if (!initSymbolTableSection()) {
+            throw new BLangCompilerException("symbol table cannot be cached");
+        }
+    }
+
+    /**
+     * Returns the packages which have been compiled from their sources, other than the packages the symbol caches
+     * are generated for.
+     *
+     * @return BVM aliases of the packages which do not have symbol caches
+     */
+    Set<String> getUncachedPackages() {
+        Set<String> pkgAliases = new HashSet<>(uncachedPackages);
+        pkgAliases.removeAll(generatedPackages);
+        return pkgAliases;
+    }
+
+    /**
+     * Writes the symbol cache of an analyzed package. The packages it depends on should have been written or loaded
+     * from their symbol caches before.
+     *
+     * @param pkgNode       the analyzed package
+     * @param sources       sources of the package
+     * @param cacheFilePath path of the symbol cache to write
+     * @return number of changes to the packages it depends on, which are applied when the package is loaded
+     * @throws IOException if writing the symbol cache fails
+     */
+    int write(BLangPackage pkgNode, List<PackageSourceEntry> sources, Path cacheFilePath) throws IOException {
+        if (externalObjects.containsKey(pkgNode)) {
+            throw new IllegalStateException("package '" + pkgNode.packageID + "' has already been written");
+        }
+        SymbolEnv pkgEnv = symTable.pkgEnvMap.get(pkgNode.symbol);
+        ObjectGraphWriter writer = new ObjectGraphWriter(externalObjects);
+        writer.addRoot(pkgNode);
+        writer.addRoot(pkgEnv);
+        int patchCount = addPatches(writer);
+        for (Object object : writer.getLocals()) {
+            if (object instanceof BLangPackage && object != pkgNode) {
+                throw new IllegalStateException("package '" + ((BLangPackage) object).packageID +
+                        "' should be written before package '" + pkgNode.packageID + "'");
+            }
+        }
+
+        List<Integer> referencedSections = new ArrayList<>(writer.getReferencedSections());
+        referencedSections.remove(Integer.valueOf(0));
+        Map<Integer, Integer> sectionIndexes = new HashMap<>();
+        sectionIndexes.put(0, 0);
+        for (int i = 0; i < referencedSections.size(); i++) {
+            sectionIndexes.put(referencedSections.get(i), i + 1);
+        }
+
+        String pkgAlias = pkgNode.packageID.bvmAlias();
+        String cacheId = UUID.randomUUID().toString();
+        String sourceHash = hashSources(sources);
+        Files.createDirectories(cacheFilePath.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(cacheFilePath)))) {
+            out.writeInt(SYMBOL_CACHE_MAGIC);
+            out.writeShort(SYMBOL_CACHE_VERSION);
+            out.writeUTF(getCompilerBuildHash());
+            out.writeUTF(symbolTableShape);
+            out.writeUTF(cacheId);
+            out.writeUTF(sourceHash);
+            out.writeInt(referencedSections.size());
+            for (int sectionIndex : referencedSections) {
+                Section section = sections.get(sectionIndex);
+                out.writeUTF(section.pkgId.orgName.value);
+                out.writeUTF(section.pkgId.nameComps.stream().map(Name::getValue).collect(Collectors.joining(".")));
+                out.writeUTF(section.pkgId.version.value);
+                out.writeUTF(section.cacheId);
+            }
+            writer.write(out, sectionIndexes);
+        }
+
+        addSection(new Section(pkgAlias, pkgNode.packageID, cacheId, writer.getLocals().toArray()));
+        return patchCount;
+    }
+
+    // Private methods
+
+    private BLangPackage read(String pkgAlias, List<PackageSourceEntry> sources, DataInputStream in)
+            throws IOException {
+        if (in.readInt() != SYMBOL_CACHE_MAGIC || in.readShort() != SYMBOL_CACHE_VERSION ||
+                !getCompilerBuildHash().equals(in.readUTF()) || !symbolTableShape.equals(in.readUTF())) {
+            return null;
+        }
+        String cacheId = in.readUTF();
+        if (!hashSources(sources).equals(in.readUTF())) {
+            return null;
+        }
+
+        // Load the packages the cached objects refer to, which are loaded from their symbol caches as well.
+        int dependencyCount = in.readInt();
+        List<Object[]> referencedSections = new ArrayList<>(dependencyCount + 1);
+        referencedSections.add(sections.get(0).objects);
+        for (int i = 0; i < dependencyCount; i++) {
+            String orgName = in.readUTF();
+            String pkgName = in.readUTF();
+            String version = in.readUTF();
+            String dependencyCacheId = in.readUTF();
+            Section section = loadDependency(orgName, pkgName, version);
+            if (section == null || !section.cacheId.equals(dependencyCacheId)) {
+                return null;
+            }
+            referencedSections.add(section.objects);
+        }
+
+        ObjectGraphReader reader = new ObjectGraphReader(referencedSections);
+        reader.read(in);
+        List<Object> roots = reader.getRoots();
+        if (roots.size() != 2 || !(roots.get(0) instanceof BLangPackage) || !(roots.get(1) instanceof SymbolEnv)) {
+            throw new IOException("unexpected roots in the symbol cache of " + pkgAlias);
+        }
+        reader.applyPatches();
+
+        BLangPackage pkgNode = (BLangPackage) roots.get(0);
+        symTable.pkgEnvMap.put(pkgNode.symbol, (SymbolEnv) roots.get(1));
+        addSection(new Section(pkgAlias, pkgNode.packageID, cacheId, reader.getLocals()));
+        unlinkedPackages.add(pkgNode);
+        return pkgNode;
+    }
+
+    private Section loadDependency(String orgName, String pkgName, String version) {
+        List<Name> nameComps = Arrays.stream(pkgName.split("\\."))
+                                     .map(Name::new)
+                                     .collect(Collectors.toList());
+        PackageID pkgId = new PackageID(Names.ANON_ORG.value.equals(orgName) ? Names.ANON_ORG : new Name(orgName),
+                nameComps, new Name(version));
+        try {
+            PackageLoader.getInstance(context).loadPackage(pkgId, null);
+        } catch (BLangCompilerException e) {
+            return null;
+        }
+        return sectionsByPackage.get(pkgId.bvmAlias());
+    }
+
+    private void link(BLangPackage pkgNode) {
+        for (BLangImportPackage importPkgNode : pkgNode.imports) {
+            BPackageSymbol importSymbol = importPkgNode.symbol;
+            if (importSymbol == null) {
+                continue;
+            }
+            SymbolEnv importEnv = symTable.pkgEnvMap.get(importSymbol);
+            if (importEnv != null && unlinkedPackages.remove(importEnv.enclPkg)) {
+                link(importEnv.enclPkg);
+                continue;
+            }
+
+            // The package has already been imported by another package, which invokes its init functions.
+            removeInvocations(pkgNode.initFunction, importSymbol.initFunctionSymbol);
+            removeInvocations(pkgNode.startFunction, importSymbol.startFunctionSymbol);
+            removeInvocations(pkgNode.stopFunction, importSymbol.stopFunctionSymbol);
+        }
+    }
+
+    private static void removeInvocations(BLangFunction function, BInvokableSymbol invokableSymbol) {
+        function.body.stmts.removeIf(stmt -> stmt instanceof BLangExpressionStmt &&
+                ((BLangExpressionStmt) stmt).expr instanceof BLangInvocation &&
+                ((BLangInvocation) ((BLangExpressionStmt) stmt).expr).symbol == invokableSymbol);
+    }
+
+    private Path getCacheFilePath(PackageID pkgId, Resolution resolution) {
+        // Only the symbol caches of the system packages, which are shipped with the distribution, are trusted.
+        if (!(resolution.resolvedRepo instanceof JarRepo)) {
+            return null;
+        }
+        JarRepo repo = (JarRepo) resolution.resolvedRepo;
+        Optional<Path> cacheFilePath = repo.calculate(pkgId)
+                                           .sibling(Patten.path(SYMBOL_CACHE_FILE_NAME))
+                                           .convert(repo.getConverterInstance())
+                                           .findFirst();
+        return cacheFilePath.orElse(null);
+    }
+
+    private boolean initSymbolTableSection() {
+        if (symbolTableShape == null) {
+            List<Object> objects = collectSymbolTableObjects();
+            StringBuilder shape = new StringBuilder();
+            for (Object object : objects) {
+                if (object == null) {
+                    // The objects of the symbol table cannot be ordered in the same way in every compilation.
+                    symbolTableShape = "";
+                    return false;
+                }
+                // The layouts of the classes are included, so that a change to a field of the symbol table, or of the
+                // objects it holds, invalidates the caches which refer to these objects by their index.
+                shape.append(ObjectGraph.getLayout(object.getClass())).append(';');
+            }
+            byte[] shapeBytes = shape.toString().getBytes(StandardCharsets.UTF_8);
+            symbolTableShape = objects.size() + ":" + hash(shapeBytes);
+            addSection(new Section("", null, "", objects.toArray()));
+        }
+        return !symbolTableShape.isEmpty();
+    }
+
+    /**
+     * Lists the objects reachable from the symbol table, before any package is loaded, in an order which is the
+     * same in every compilation.
+     *
+     * @return objects of the symbol table, or a list with a null element if they cannot be ordered
+     */
+    private List<Object> collectSymbolTableObjects() {
+        Map<Object, Boolean> visited = new IdentityHashMap<>();
+        List<Object> objects = new ArrayList<>();
+        objects.add(symTable);
+        visited.put(symTable, true);
+        for (int i = 0; i < objects.size(); i++) {
+            Object object = objects.get(i);
+            Object[] values;
+            if (object == symTable) {
+                // Packages are not a part of the symbol table section.
+                values = ObjectGraph.getState(symTable);
+                values[ObjectGraph.getFieldIndex(SymbolTable.class, "pkgEnvMap")] = null;
+            } else {
+                values = ObjectGraph.getState(object);
+            }
+            if (!ObjectGraph.hasStableOrder(object)) {
+                return Collections.singletonList(null);
+            }
+            for (Object value : values) {
+                if (value == null || ObjectGraph.isValue(value) || value instanceof Enum ||
+                        visited.containsKey(value) || !ObjectGraph.isCacheable(value)) {
+                    continue;
+                }
+                visited.put(value, true);
+                objects.add(value);
+            }
+        }
+        return objects;
+    }
+
+    private void addSection(Section section) {
+        int sectionIndex = sections.size();
+        sections.add(section);
+        if (section.pkgId != null) {
+            sectionsByPackage.put(section.pkgAlias, section);
+        }
+        if (externalObjects == null) {
+            return;
+        }
+
+        Object[] objects = section.objects;
+        for (int i = 0; i < objects.length; i++) {
+            externalObjects.put(objects[i], ((long) sectionIndex << 32) | i);
+            trackedObjects.add(objects[i]);
+        }
+        // Take the state of all the objects, so that the changes made by the next package are found.
+        trackedStates = trackedObjects.stream().map(ObjectGraph::getState).collect(Collectors.toList());
+    }
+
+    private int addPatches(ObjectGraphWriter writer) {
+        int patchCount = 0;
+        for (int i = 0; i < trackedObjects.size(); i++) {
+            Object object = trackedObjects.get(i);
+            Object[] state = ObjectGraph.getState(object);
+            Object[] trackedState = trackedStates.get(i);
+            if (ObjectGraph.isSameState(state, trackedState)) {
+                continue;
+            }
+            if (!ObjectGraph.isContainer(object)) {
+                for (int j = 0; j < state.length; j++) {
+                    if (!ObjectGraph.isSameState(new Object[]{state[j]}, new Object[]{trackedState[j]})) {
+                        writer.addFieldPatch(object, j, state[j]);
+                        patchCount++;
+                    }
+                }
+            } else {
+                writer.addContentPatch(object, state);
+                patchCount++;
+            }
+        }
+        return patchCount;
+    }
+
+    /**
+     * Returns a hash of the given sources of a package, which does not depend on the order of the sources. The name
+     * and the code of each source are prefixed with their lengths, so that they cannot be split differently.
+     *
+     * @param sourceEntries sources of a package
+     * @return hash of the sources
+     */
+    private static String hashSources(List<PackageSourceEntry> sourceEntries) {
+        MessageDigest digest = newDigest();
+        sourceEntries.stream()
+                     .sorted(Comparator.comparing(PackageSourceEntry::getEntryName))
+                     .forEach(entry -> {
+                         byte[] name = entry.getEntryName().getBytes(StandardCharsets.UTF_8);
+                         byte[] code = entry.getCode();
+                         digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(name.length).array());
+                         digest.update(name);
+                         digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(code.length).array());
+                         digest.update(code);
+                     });
+        return toHex(digest.digest());
+    }
+
+    private static String hash(byte[] content) {
+        MessageDigest digest = newDigest();
+        digest.update(content);
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new BLangCompilerException("SHA-256 message digest is not available");
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Returns a hash which identifies the build of the compiler. The version of the compiler is the same in every
+     * snapshot build, and is not set at all when the compiler runs from its classes directory, hence the hash is
+     * calculated from the names, sizes and checksums of the classes of the compiler.
+     *
+     * @return hash of the classes of the compiler, or null if they cannot be located
+     */
+    static String getCompilerBuildHash() {
+        return CompilerBuildHash.VALUE;
+    }
+
+    private static String hashCompilerClasses() {
+        CodeSource codeSource = SymbolCache.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return null;
+        }
+
+        // Checksums of the classes, sorted by their names, so that a jar and a classes directory hash the same.
+        SortedMap<String, long[]> classes = new TreeMap<>();
+        try {
+            Path location = Paths.get(codeSource.getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                try (Stream<Path> paths = Files.walk(location)) {
+                    for (Path path : (Iterable<Path>) paths::iterator) {
+                        String name = location.relativize(path).toString().replace('\\', '/');
+                        if (name.endsWith(CLASS_FILE_EXT)) {
+                            byte[] content = Files.readAllBytes(path);
+                            CRC32 crc = new CRC32();
+                            crc.update(content);
+                            classes.put(name, new long[]{content.length, crc.getValue()});
+                        }
+                    }
+                }
+            } else {
+                try (ZipFile jarFile = new ZipFile(location.toFile())) {
+                    for (ZipEntry entry : Collections.list(jarFile.entries())) {
+                        if (entry.getName().endsWith(CLASS_FILE_EXT)) {
+                            classes.put(entry.getName(), new long[]{entry.getSize(), entry.getCrc()});
+                        }
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES * 2);
+        for (Map.Entry<String, long[]> entry : classes.entrySet()) {
+            byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            buffer.clear();
+            buffer.putInt(name.length).putLong(entry.getValue()[0]).putLong(entry.getValue()[1]);
+            digest.update(buffer.array());
+            digest.update(name);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Holds the hash of the classes of the compiler, which is calculated once, when it is first needed.
+     */
+    private static class CompilerBuildHash {
+        static final String VALUE = hashCompilerClasses();
+    }
+
+    /**
+     * Objects of the symbol table, or of a package loaded from or written to a symbol cache.
+     */
+    private static class Section {
+        final String pkgAlias;
+        final PackageID pkgId;
+        final String cacheId;
+        final Object[] objects;
+
+        Section(String pkgAlias, PackageID pkgId, String cacheId, Object[] objects) {
+            this.pkgAlias = pkgAlias;
+            this.pkgId = pkgId;
+            this.cacheId = cacheId;
+            this.objects = objects;
+        }
+    }
+}
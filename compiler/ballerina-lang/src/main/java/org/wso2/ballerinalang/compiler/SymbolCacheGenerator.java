@@ -0,0 +1,214 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.model.tree.NodeKind;
+import org.ballerinalang.repository.PackageSourceEntry;
+import org.wso2.ballerinalang.compiler.tree.BLangIdentifier;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.Names;
+import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
+import org.wso2.ballerinalang.compiler.util.diagnotic.BLangDiagnosticLog;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
+import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
+
+/**
+ * Generates the symbol caches of the system packages of a module, when the module is built.
+ * <p>
+ * The sources of the packages are expected at {@code META-INF/<org-name>/<package-name>} of the given output
+ * directory, which has to be in the class path along with the system package repository provider of the module. The
+ * symbol cache of each package is written next to its sources. The packages of the other modules are loaded from
+ * their symbol caches, hence the modules the module depends on should have been built with their symbol caches.
+ *
+ * @since 0.970.0
+ */
+public class SymbolCacheGenerator {
+
+    private static final PrintStream OUT = System.out;
+    private static final String META_INF_DIR_NAME = "META-INF";
+
+    private final Path outputDirPath;
+    private final CompilerDriver compilerDriver;
+    private final PackageLoader pkgLoader;
+    private final SymbolCache symbolCache;
+    private final BLangDiagnosticLog dlog;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("usage: SymbolCacheGenerator <output-directory>");
+        }
+        new SymbolCacheGenerator(Paths.get(args[0])).generate();
+    }
+
+    public SymbolCacheGenerator(Path outputDirPath) throws IOException {
+        this.outputDirPath = outputDirPath;
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        // System packages are compiled in an empty project, so that they are only found in the system repositories.
+        Path projectDirPath = Files.createTempDirectory("ballerina-symbol-cache");
+        projectDirPath.toFile().deleteOnExit();
+        options.put(PROJECT_DIR, projectDirPath.toString());
+        options.put(COMPILER_PHASE, CompilerPhase.TAINT_ANALYZE.toString());
+        options.put(OFFLINE, Boolean.TRUE.toString());
+
+        Compiler.getInstance(context);
+        this.compilerDriver = CompilerDriver.getInstance(context);
+        this.pkgLoader = PackageLoader.getInstance(context);
+        this.symbolCache = SymbolCache.getInstance(context);
+        this.dlog = BLangDiagnosticLog.getInstance(context);
+    }
+
+    /**
+     * Generates the symbol caches of all the packages found in the output directory.
+     *
+     * @throws IOException if reading the sources or writing a symbol cache fails
+     */
+    public void generate() throws IOException {
+        Map<String, PackageID> pkgIds = listPackages();
+        if (pkgIds.isEmpty()) {
+            return;
+        }
+        symbolCache.startGeneration(pkgIds.keySet());
+
+        BLangPackage builtInPackage = compilerDriver.loadBuiltInPackage();
+        String builtInAlias = builtInPackage.packageID.bvmAlias();
+        if (pkgIds.containsKey(builtInAlias)) {
+            write(builtInPackage);
+        }
+
+        // A package is written after the packages of the module it imports, since it refers to them.
+        List<PackageID> orderedPkgIds = new ArrayList<>();
+        pkgIds.values().forEach(pkgId -> orderPackages(pkgId, pkgIds, new HashSet<>(), orderedPkgIds));
+        for (PackageID pkgId : orderedPkgIds) {
+            if (!pkgId.bvmAlias().equals(builtInAlias)) {
+                write(compilerDriver.analyzePackage(pkgId));
+            }
+        }
+    }
+
+    // Private methods
+
+    private void write(BLangPackage pkgNode) throws IOException {
+        if (dlog.errorCount > 0) {
+            throw new BLangCompilerException("failed to generate the symbol cache of package '" +
+                    pkgNode.packageID + "' due to compilation errors");
+        }
+        Set<String> uncachedPackages = symbolCache.getUncachedPackages();
+        if (!uncachedPackages.isEmpty()) {
+            throw new BLangCompilerException("failed to generate the symbol cache of package '" +
+                    pkgNode.packageID + "' since the packages " + uncachedPackages + " do not have symbol caches");
+        }
+
+        PackageID pkgId = pkgNode.packageID;
+        List<PackageSourceEntry> sources = pkgLoader.getPackageSourceEntries(pkgId);
+        Path cacheFilePath = outputDirPath.resolve(META_INF_DIR_NAME)
+                                          .resolve(pkgId.orgName.value)
+                                          .resolve(pkgId.name.value)
+                                          .resolve(SymbolCache.SYMBOL_CACHE_FILE_NAME);
+        int patchCount = symbolCache.write(pkgNode, sources, cacheFilePath);
+        OUT.println("generated the symbol cache of package " + pkgId + (patchCount == 0 ? "" :
+                ", with " + patchCount + " changes to the packages it depends on"));
+    }
+
+    private void orderPackages(PackageID pkgId, Map<String, PackageID> pkgIds, Set<PackageID> visitedPkgIds,
+                               List<PackageID> orderedPkgIds) {
+        if (!visitedPkgIds.add(pkgId) || orderedPkgIds.contains(pkgId)) {
+            return;
+        }
+        // The imports of a package are listed in its compilation units, until the package is defined.
+        List<BLangImportPackage> importPkgNodes = pkgLoader.loadPackage(pkgId, null).getCompilationUnits().stream()
+                .flatMap(compUnit -> compUnit.getTopLevelNodes().stream())
+                .filter(node -> node.getKind() == NodeKind.IMPORT)
+                .map(node -> (BLangImportPackage) node)
+                .collect(Collectors.toList());
+        for (BLangImportPackage importPkgNode : importPkgNodes) {
+            String orgName = importPkgNode.orgName.value == null || importPkgNode.orgName.value.isEmpty() ?
+                    Names.ANON_ORG.value : importPkgNode.orgName.value;
+            String pkgName = importPkgNode.pkgNameComps.stream()
+                                                      .map(BLangIdentifier::getValue)
+                                                      .collect(Collectors.joining("."));
+            PackageID importPkgId = pkgIds.get(orgName + "." + pkgName);
+            if (importPkgId != null) {
+                orderPackages(importPkgId, pkgIds, visitedPkgIds, orderedPkgIds);
+            }
+        }
+        orderedPkgIds.add(pkgId);
+    }
+
+    private Map<String, PackageID> listPackages() throws IOException {
+        Path metaInfPath = outputDirPath.resolve(META_INF_DIR_NAME);
+        Map<String, PackageID> pkgIds = new LinkedHashMap<>();
+        if (!Files.isDirectory(metaInfPath)) {
+            return pkgIds;
+        }
+        try (Stream<Path> pkgPaths = Files.list(metaInfPath).filter(Files::isDirectory)
+                                          .flatMap(SymbolCacheGenerator::listDirectories)
+                                          .filter(SymbolCacheGenerator::hasSources)
+                                          .sorted()) {
+            pkgPaths.forEach(pkgPath -> {
+                String orgName = pkgPath.getParent().getFileName().toString();
+                List<Name> nameComps = Arrays.stream(pkgPath.getFileName().toString().split("\\."))
+                                             .map(Name::new)
+                                             .collect(Collectors.toList());
+                PackageID pkgId = new PackageID(new Name(orgName), nameComps, Names.EMPTY);
+                pkgIds.put(pkgId.bvmAlias(), pkgId);
+            });
+        }
+        return pkgIds;
+    }
+
+    private static Stream<Path> listDirectories(Path path) {
+        try {
+            return Files.list(path).filter(Files::isDirectory).collect(Collectors.toList()).stream();
+        } catch (IOException e) {
+            throw new BLangCompilerException("failed to list the packages in '" + path + "': " + e.getMessage());
+        }
+    }
+
+    private static boolean hasSources(Path pkgPath) {
+        try (Stream<Path> paths = Files.list(pkgPath)) {
+            return paths.anyMatch(path -> path.toString().endsWith(ProjectDirConstants.BLANG_SOURCE_EXT));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
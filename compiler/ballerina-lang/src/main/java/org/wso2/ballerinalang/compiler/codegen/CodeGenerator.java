@@ -17,6 +17,7 @@
  */
 package org.wso2.ballerinalang.compiler.codegen;
 
+import org.ballerinalang.compiler.CompilerOptionName;
 import org.ballerinalang.compiler.CompilerPhase;
 import org.ballerinalang.model.Name;
 import org.ballerinalang.model.TreeBuilder;
@@ -26,6 +27,8 @@ import org.ballerinalang.model.tree.NodeKind;
 import org.ballerinalang.model.tree.OperatorKind;
 import org.ballerinalang.util.FunctionFlags;
 import org.ballerinalang.util.TransactionStatus;
+import org.ballerinalang.util.diagnostic.DiagnosticCode;
+import org.wso2.ballerinalang.compiler.desugar.ASTOptimizer;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
@@ -154,9 +157,11 @@ import org.wso2.ballerinalang.compiler.tree.statements.BLangWorkerReceive;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangWorkerSend;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangXMLNSStatement;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.FieldKind;
 import org.wso2.ballerinalang.compiler.util.TypeDescriptor;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.compiler.util.diagnotic.BLangDiagnosticLog;
 import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
 import org.wso2.ballerinalang.programfile.ActionInfo;
 import org.wso2.ballerinalang.programfile.AttachedFunctionInfo;
@@ -272,9 +277,20 @@ public class CodeGenerator extends BLangNodeVisitor {
 
     private List<RegIndex> regIndexList = new ArrayList<>();
 
+    /**
+     * Reuses the registers of the local variables of a worker which are not live at the same time.
+     */
+    private final RegisterAllocator registerAllocator = new RegisterAllocator();
+    private final boolean reuseLocalVarRegs;
+    // Workers which fork copy the registers of the local variables, hence their registers are not reused
+    private boolean forkJoinInWorker;
+    private final boolean reportRegisterAllocation;
+    private PackageID entryPkgID;
+
     private SymbolEnv env;
     // TODO Remove this dependency from the code generator
     private SymbolTable symTable;
+    private BLangDiagnosticLog dlog;
 
     private boolean buildCompiledPackage;
     private ProgramFile programFile;
@@ -324,10 +340,16 @@ public class CodeGenerator extends BLangNodeVisitor {
     public CodeGenerator(CompilerContext context) {
         context.put(CODE_GENERATOR_KEY, this);
         this.symTable = SymbolTable.getInstance(context);
+        this.dlog = BLangDiagnosticLog.getInstance(context);
+        this.reuseLocalVarRegs =
+                ASTOptimizer.getInstance(context).getOptimizationLevel() > ASTOptimizer.NO_OPTIMIZATION;
+        this.reportRegisterAllocation = Boolean.parseBoolean(
+                CompilerOptions.getInstance(context).get(CompilerOptionName.REGISTER_ALLOCATION_REPORT));
     }
 
     public ProgramFile generateBALX(BLangPackage pkgNode) {
         programFile = new ProgramFile();
+        entryPkgID = pkgNode.packageID;
         // TODO: Fix this. Added temporally for codegen. Load this from VM side.
         genPackage(this.symTable.builtInPackageSymbol);
 
@@ -351,6 +373,7 @@ public class CodeGenerator extends BLangNodeVisitor {
     public PackageFile generateBALO(BLangPackage pkgNode) {
         this.buildCompiledPackage = true;
         this.packageFile = new PackageFile();
+        this.entryPkgID = pkgNode.packageID;
         genPackage(pkgNode.symbol);
 
         // Add global variable indexes to the ProgramFile
@@ -539,6 +562,10 @@ public class CodeGenerator extends BLangNodeVisitor {
             varSymbol.varIndex = getLVIndex(varSymbol.type.tag);
             LocalVariableInfo localVarInfo = getLocalVarAttributeInfo(varSymbol);
             localVarAttrInfo.localVars.add(localVarInfo);
+            if (varNode.expr == null) {
+                // The variable has the initial value of its register
+                registerAllocator.reserveVarRegIndex(varSymbol.varIndex);
+            }
         } else {
             // TODO Support other variable nodes
             throw new IllegalStateException("");
@@ -1443,6 +1470,9 @@ public class CodeGenerator extends BLangNodeVisitor {
 
         RegIndex regIndex = new RegIndex(index, typeTag);
         regIndex.isVarIndex = true;
+        if (varIndexKind == LOCAL) {
+            registerAllocator.addVarRegIndex(regIndex);
+        }
         return regIndex;
     }
 
@@ -1480,7 +1510,9 @@ public class CodeGenerator extends BLangNodeVisitor {
         int varNameCPIndex = addUTF8CPEntry(currentPkgInfo, varSymbol.name.value);
         int varIndex = varSymbol.varIndex.value;
         int sigCPIndex = addUTF8CPEntry(currentPkgInfo, varSymbol.type.getDesc());
-        return new LocalVariableInfo(varNameCPIndex, sigCPIndex, varIndex);
+        LocalVariableInfo localVarInfo = new LocalVariableInfo(varNameCPIndex, sigCPIndex, varIndex);
+        registerAllocator.addLocalVarInfo(localVarInfo, varSymbol.varIndex);
+        return localVarInfo;
     }
 
     private void visitInvokableNode(BLangInvokableNode invokableNode,
@@ -1524,12 +1556,48 @@ public class CodeGenerator extends BLangNodeVisitor {
             workerInfo.codeAttributeInfo.codeAddrs = nextIP();
             this.lvIndexes = lvIndexCopy;
             this.currentWorkerInfo = workerInfo;
+            this.registerAllocator.reset();
+            this.forkJoinInWorker = false;
+            VariableIndex paramIndexes = copyVarIndex(lvIndexCopy);
             this.genNode(body, invokableSymbolEnv);
+            allocateLocalVarRegs(invokableNode, workerInfo, paramIndexes);
         }
         this.endWorkerInfoUnit(workerInfo.codeAttributeInfo);
         this.emit(InstructionCodes.HALT);
     }
 
+    private void allocateLocalVarRegs(BLangInvokableNode invokableNode, WorkerInfo workerInfo,
+                                      VariableIndex paramIndexes) {
+        if (!reuseLocalVarRegs || forkJoinInWorker) {
+            return;
+        }
+
+        int regCount = getRegCount();
+        int startIP = workerInfo.codeAttributeInfo.codeAddrs;
+        registerAllocator.allocate(currentPkgInfo.instructionList.subList(startIP, nextIP()), startIP,
+                paramIndexes, lvIndexes);
+        if (reportRegisterAllocation && currentPkgID.equals(entryPkgID) && invokableNode.pos != null) {
+            String name = invokableNode.name.value;
+            if (!workerInfo.getWorkerName().equals("default")) {
+                name = name + ":" + workerInfo.getWorkerName();
+            }
+            dlog.note(invokableNode.pos, DiagnosticCode.REGISTER_ALLOCATION, name, regCount, getRegCount());
+        }
+    }
+
+    /**
+     * Returns the number of registers needed by the current worker.
+     */
+    private int getRegCount() {
+        int[] lvCounts = lvIndexes.toArray();
+        int[] regCounts = maxRegIndexes.toArray();
+        int regCount = 0;
+        for (int i = 0; i < lvCounts.length; i++) {
+            regCount += lvCounts[i] + 1 + regCounts[i] + 1;
+        }
+        return regCount;
+    }
+
     private void visitInvokableNodeParams(BInvokableSymbol invokableSymbol, CallableUnitInfo callableUnitInfo,
                                           LocalVariableAttributeInfo localVarAttrInfo) {
 
@@ -2357,6 +2425,7 @@ public class CodeGenerator extends BLangNodeVisitor {
 
     public void visit(BLangForkJoin forkJoin) {
         SymbolEnv forkJoinEnv = SymbolEnv.createForkJoinSymbolEnv(forkJoin, this.env);
+        this.forkJoinInWorker = true;
         ForkjoinInfo forkjoinInfo = new ForkjoinInfo(this.lvIndexes.toArray());
         this.populateForkJoinWorkerInfo(forkJoin, forkjoinInfo);
         int forkJoinInfoIndex = this.forkJoinCount++;
@@ -3148,7 +3217,7 @@ public class CodeGenerator extends BLangNodeVisitor {
                 continue;
             }
             Operand type = new Operand(symbol.type.tag);
-            Operand index = new Operand(symbol.varIndex.value);
+            Operand index = symbol.varIndex;
             operands.add(type);
             operands.add(index);
             closureOperandPairs++;
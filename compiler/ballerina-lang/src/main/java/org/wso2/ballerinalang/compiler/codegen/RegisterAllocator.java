@@ -0,0 +1,215 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.codegen;
+
+import org.wso2.ballerinalang.compiler.codegen.CodeGenerator.VariableIndex;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.programfile.Instruction;
+import org.wso2.ballerinalang.programfile.Instruction.Operand;
+import org.wso2.ballerinalang.programfile.Instruction.RegIndex;
+import org.wso2.ballerinalang.programfile.InstructionCodes;
+import org.wso2.ballerinalang.programfile.LocalVariableInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allocates the registers of the local variables of a worker, once the code of the worker has been generated.
+ * <p>
+ * Each local variable is first given a register of its own. The allocator finds the range of instructions in
+ * which each variable is live, and gives variables whose live ranges do not overlap the same register, so that
+ * fewer registers are allocated when the worker is invoked. A variable is live from the first instruction which
+ * refers to it up to the last one. If a variable is live when a loop starts, or when it ends, it is live
+ * throughout the loop.
+ *
+ * @since 0.970.0
+ */
+class RegisterAllocator {
+
+    private static final int TYPE_CATEGORIES = 6;
+
+    // Local variable registers of the worker, in the order they were created
+    private List<RegIndex> varRegIndexes = new ArrayList<>();
+
+    // Registers of the variables which need a register of their own, e.g. to keep their initial value
+    private Set<RegIndex> reservedRegIndexes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private Map<LocalVariableInfo, RegIndex> localVarInfos = new IdentityHashMap<>();
+
+    void addVarRegIndex(RegIndex regIndex) {
+        varRegIndexes.add(regIndex);
+    }
+
+    void reserveVarRegIndex(RegIndex regIndex) {
+        reservedRegIndexes.add(regIndex);
+    }
+
+    void addLocalVarInfo(LocalVariableInfo localVarInfo, RegIndex regIndex) {
+        localVarInfos.put(localVarInfo, regIndex);
+    }
+
+    void reset() {
+        varRegIndexes = new ArrayList<>();
+        reservedRegIndexes = Collections.newSetFromMap(new IdentityHashMap<>());
+        localVarInfos = new IdentityHashMap<>();
+    }
+
+    /**
+     * Reassigns the registers of the local variables added since the last reset.
+     *
+     * @param code         the code of the worker
+     * @param startIP      the address of the first instruction of the worker
+     * @param paramIndexes the last register indexes of the parameters, which are not reassigned
+     * @param lvIndexes    the last register indexes of the local variables, updated with the registers allocated
+     */
+    void allocate(List<Instruction> code, int startIP, VariableIndex paramIndexes, VariableIndex lvIndexes) {
+        Map<RegIndex, LiveRange> liveRanges = new IdentityHashMap<>();
+        List<LiveRange> ranges = new ArrayList<>(varRegIndexes.size());
+        for (RegIndex regIndex : varRegIndexes) {
+            LiveRange range = new LiveRange(regIndex);
+            if (reservedRegIndexes.contains(regIndex)) {
+                range.start = 0;
+                range.end = code.size();
+            }
+            liveRanges.put(regIndex, range);
+            ranges.add(range);
+        }
+
+        List<LiveRange> loops = new ArrayList<>();
+        for (int ip = 0; ip < code.size(); ip++) {
+            Instruction instruction = code.get(ip);
+            // Loops are closed by jumping back to their first instruction
+            if (instruction.opcode == InstructionCodes.GOTO && instruction.ops[0].value - startIP < ip) {
+                LiveRange loop = new LiveRange(null);
+                loop.start = instruction.ops[0].value - startIP;
+                loop.end = ip;
+                loops.add(loop);
+            }
+            for (Operand operand : instruction.ops) {
+                LiveRange range = liveRanges.get(operand);
+                if (range != null && !reservedRegIndexes.contains(range.regIndex)) {
+                    range.addUse(ip);
+                }
+            }
+        }
+        extendLiveRanges(ranges, loops);
+
+        // Give each variable the lowest register which is free when the variable becomes live
+        ranges.sort(Comparator.comparingInt(range -> range.start));
+        int[] firstIndexes = paramIndexes.toArray();
+        List<List<Integer>> registerEnds = new ArrayList<>(TYPE_CATEGORIES);
+        for (int i = 0; i < TYPE_CATEGORIES; i++) {
+            registerEnds.add(new ArrayList<>());
+        }
+        for (LiveRange range : ranges) {
+            int category = getTypeCategory(range.regIndex.typeTag);
+            List<Integer> ends = registerEnds.get(category);
+            int register = 0;
+            while (register < ends.size() && ends.get(register) >= range.start) {
+                register++;
+            }
+            if (register == ends.size()) {
+                ends.add(range.end);
+            } else {
+                ends.set(register, range.end);
+            }
+            range.regIndex.value = firstIndexes[category] + 1 + register;
+        }
+
+        int[] lastIndexes = new int[TYPE_CATEGORIES];
+        for (int i = 0; i < TYPE_CATEGORIES; i++) {
+            lastIndexes[i] = firstIndexes[i] + registerEnds.get(i).size();
+        }
+        setIndexes(lvIndexes, lastIndexes);
+        localVarInfos.forEach((localVarInfo, regIndex) -> localVarInfo.varIndex = regIndex.value);
+    }
+
+    private void extendLiveRanges(List<LiveRange> ranges, List<LiveRange> loops) {
+        boolean extended = true;
+        while (extended) {
+            extended = false;
+            for (LiveRange loop : loops) {
+                for (LiveRange range : ranges) {
+                    if (range.start < loop.start && range.end >= loop.start && range.end < loop.end) {
+                        // The value is used in the next iteration as well
+                        range.end = loop.end;
+                        extended = true;
+                    } else if (range.start > loop.start && range.start <= loop.end && range.end > loop.end) {
+                        // The value of the last iteration is used after the loop
+                        range.start = loop.start;
+                        extended = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int getTypeCategory(int typeTag) {
+        switch (typeTag) {
+            case TypeTags.INT:
+                return 0;
+            case TypeTags.FLOAT:
+                return 1;
+            case TypeTags.STRING:
+                return 2;
+            case TypeTags.BOOLEAN:
+                return 3;
+            case TypeTags.BLOB:
+                return 4;
+            default:
+                return 5;
+        }
+    }
+
+    private static void setIndexes(VariableIndex indexes, int[] values) {
+        indexes.tInt = values[0];
+        indexes.tFloat = values[1];
+        indexes.tString = values[2];
+        indexes.tBoolean = values[3];
+        indexes.tBlob = values[4];
+        indexes.tRef = values[5];
+    }
+
+    /**
+     * The range of instructions in which a variable is live.
+     */
+    private static class LiveRange {
+        final RegIndex regIndex;
+        // A variable which is never referred to only needs a register at the start of the worker
+        int start;
+        int end;
+        boolean used;
+
+        LiveRange(RegIndex regIndex) {
+            this.regIndex = regIndex;
+        }
+
+        void addUse(int ip) {
+            if (!used) {
+                start = ip;
+                used = true;
+            }
+            end = ip;
+        }
+    }
+}
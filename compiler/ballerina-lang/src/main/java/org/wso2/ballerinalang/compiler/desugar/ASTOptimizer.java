@@ -0,0 +1,822 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.desugar;
+
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.compiler.CompilerOptionName;
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.model.tree.OperatorKind;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.tree.BLangAction;
+import org.wso2.ballerinalang.compiler.tree.BLangConnector;
+import org.wso2.ballerinalang.compiler.tree.BLangFunction;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangInvokableNode;
+import org.wso2.ballerinalang.compiler.tree.BLangNode;
+import org.wso2.ballerinalang.compiler.tree.BLangNodeVisitor;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangResource;
+import org.wso2.ballerinalang.compiler.tree.BLangService;
+import org.wso2.ballerinalang.compiler.tree.BLangTransformer;
+import org.wso2.ballerinalang.compiler.tree.BLangVariable;
+import org.wso2.ballerinalang.compiler.tree.BLangWorker;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangArrayLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangBinaryExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangBracedOrTupleExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangExpression;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangFieldBasedAccess.BLangStructFieldAccessExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangIndexBasedAccess;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangIndexBasedAccess.BLangArrayAccessExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangIndexBasedAccess.BLangMapAccessExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangInvocation;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangInvocation.BFunctionPointerInvocation;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangInvocation.BLangAttachedFunctionInvocation;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangSimpleVarRef.BLangFieldVarRef;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangSimpleVarRef.BLangFunctionVarRef;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangSimpleVarRef.BLangLocalVarRef;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangSimpleVarRef.BLangPackageVarRef;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangTypeConversionExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangUnaryExpr;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangAssignment;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangBlockStmt;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangBreak;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangExpressionStmt;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangIf;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangNext;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangReturn;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangStatement;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangThrow;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangVariableDef;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangWhile;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.programfile.InstructionCodes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Optimizes the desugared AST of a package before code is generated for it.
+ * <p>
+ * The optimization level is given by the {@link CompilerOptionName#OPTIMIZATION_LEVEL} option.
+ * <ul>
+ * <li>Level 0 does not change the AST.</li>
+ * <li>Level 1, the default, folds constant expressions and removes the statements which can never be
+ * executed, such as the branches of an if statement with a constant condition.</li>
+ * <li>Level 2 also removes the local variables which are never read, and replaces the local variables which
+ * are copies of another local variable with the variable copied, so that no move instructions are generated for
+ * them. Removed variables are not visible in the debugger.</li>
+ * </ul>
+ * Expressions are only folded when they evaluate to the same value at runtime. Local variables are only removed
+ * or replaced in callable units where every statement and expression is understood by the optimizer.
+ *
+ * @since 0.970.0
+ */
+public class ASTOptimizer extends BLangNodeVisitor {
+
+    private static final CompilerContext.Key<ASTOptimizer> AST_OPTIMIZER_KEY =
+            new CompilerContext.Key<>();
+
+    public static final int NO_OPTIMIZATION = 0;
+    public static final int DEFAULT_OPTIMIZATION = 1;
+    public static final int FULL_OPTIMIZATION = 2;
+
+    // Nodes which are optimized. Other nodes are left as they are.
+    private static final Set<Class<? extends BLangNode>> OPTIMIZED_NODES = new HashSet<>(Arrays.asList(
+            BLangBlockStmt.class, BLangVariableDef.class, BLangAssignment.class, BLangIf.class, BLangWhile.class,
+            BLangReturn.class, BLangBreak.class, BLangNext.class, BLangThrow.class, BLangExpressionStmt.class,
+            BLangLiteral.class, BLangLocalVarRef.class, BLangPackageVarRef.class, BLangFieldVarRef.class,
+            BLangFunctionVarRef.class, BLangBinaryExpr.class, BLangUnaryExpr.class, BLangTypeConversionExpr.class,
+            BLangInvocation.class, BLangAttachedFunctionInvocation.class, BFunctionPointerInvocation.class,
+            BLangArrayAccessExpr.class, BLangMapAccessExpr.class, BLangStructFieldAccessExpr.class,
+            BLangArrayLiteral.class, BLangBracedOrTupleExpr.class));
+
+    // Operations which never fail, and hence can be removed if their value is not used
+    private static final Set<Integer> PURE_OPCODES = new HashSet<>(Arrays.asList(
+            InstructionCodes.IADD, InstructionCodes.FADD, InstructionCodes.SADD, InstructionCodes.ISUB,
+            InstructionCodes.FSUB, InstructionCodes.IMUL, InstructionCodes.FMUL, InstructionCodes.INEG,
+            InstructionCodes.FNEG, InstructionCodes.BNOT, InstructionCodes.IEQ, InstructionCodes.FEQ,
+            InstructionCodes.SEQ, InstructionCodes.BEQ, InstructionCodes.INE, InstructionCodes.FNE,
+            InstructionCodes.SNE, InstructionCodes.BNE, InstructionCodes.IGT, InstructionCodes.FGT,
+            InstructionCodes.IGE, InstructionCodes.FGE, InstructionCodes.ILT, InstructionCodes.FLT,
+            InstructionCodes.ILE, InstructionCodes.FLE, InstructionCodes.I2F, InstructionCodes.I2S));
+
+    private final SymbolTable symTable;
+    private final int optimizationLevel;
+
+    private BLangNode result;
+    private BLangBlockStmt currentBlock;
+
+    // Usages of the local variables of the callable unit being optimized
+    private Map<BVarSymbol, VarUsage> varUsages;
+    private List<VarStore> varStores;
+    private VarStore currentVarStore;
+    private boolean allNodesOptimized;
+
+    public static ASTOptimizer getInstance(CompilerContext context) {
+        ASTOptimizer astOptimizer = context.get(AST_OPTIMIZER_KEY);
+        if (astOptimizer == null) {
+            astOptimizer = new ASTOptimizer(context);
+        }
+        return astOptimizer;
+    }
+
+    private ASTOptimizer(CompilerContext context) {
+        context.put(AST_OPTIMIZER_KEY, this);
+        this.symTable = SymbolTable.getInstance(context);
+        this.optimizationLevel = getOptimizationLevel(CompilerOptions.getInstance(context));
+    }
+
+    public int getOptimizationLevel() {
+        return optimizationLevel;
+    }
+
+    public BLangPackage optimize(BLangPackage pkgNode) {
+        if (pkgNode.completedPhases.contains(CompilerPhase.OPTIMIZE)) {
+            return pkgNode;
+        }
+        // Imported packages are optimized first, the same way they are desugared
+        pkgNode.completedPhases.add(CompilerPhase.OPTIMIZE);
+        for (BLangImportPackage importPkgNode : pkgNode.imports) {
+            SymbolEnv pkgEnv = this.symTable.pkgEnvMap.get(importPkgNode.symbol);
+            if (pkgEnv != null) {
+                optimize((BLangPackage) pkgEnv.node);
+            }
+        }
+
+        if (optimizationLevel > NO_OPTIMIZATION) {
+            Set<BLangInvokableNode> invokableNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+            invokableNodes.add(pkgNode.initFunction);
+            invokableNodes.add(pkgNode.startFunction);
+            invokableNodes.add(pkgNode.stopFunction);
+            invokableNodes.addAll(pkgNode.functions);
+            invokableNodes.addAll(pkgNode.transformers);
+            for (BLangService service : pkgNode.services) {
+                invokableNodes.add(service.initFunction);
+                invokableNodes.addAll(service.resources);
+            }
+            for (BLangConnector connector : pkgNode.connectors) {
+                invokableNodes.add(connector.initFunction);
+                invokableNodes.add(connector.initAction);
+                invokableNodes.addAll(connector.actions);
+            }
+            invokableNodes.remove(null);
+            invokableNodes.forEach(this::optimizeInvokable);
+        }
+        return pkgNode;
+    }
+
+
+    // Statements
+
+    @Override
+    public void visit(BLangBlockStmt blockNode) {
+        BLangBlockStmt prevBlock = this.currentBlock;
+        this.currentBlock = blockNode;
+        List<BLangStatement> stmts = new ArrayList<>(blockNode.stmts.size());
+        for (BLangStatement stmt : blockNode.stmts) {
+            BLangStatement optimizedStmt = optimizeStmt(stmt);
+            if (optimizedStmt == null) {
+                continue;
+            }
+            stmts.add(optimizedStmt);
+            if (isTerminalStmt(optimizedStmt)) {
+                // The rest of the statements of the block can never be executed
+                break;
+            }
+        }
+        blockNode.stmts = stmts;
+        this.currentBlock = prevBlock;
+        result = blockNode;
+    }
+
+    @Override
+    public void visit(BLangVariableDef varDefNode) {
+        BLangVariable varNode = varDefNode.var;
+        VarStore varStore = new VarStore(varNode.symbol, varDefNode, this.currentBlock, varNode.expr, true);
+        if (varNode.expr != null) {
+            varNode.expr = optimizeExpr(varNode.expr, varStore);
+            varStore.expr = varNode.expr;
+        }
+        getVarUsage(varNode.symbol).defined = true;
+        this.varStores.add(varStore);
+        result = varDefNode;
+    }
+
+    @Override
+    public void visit(BLangAssignment assignNode) {
+        if (assignNode.safeAssignment || !(assignNode.varRef instanceof BLangLocalVarRef)) {
+            assignNode.varRef = optimizeExpr(assignNode.varRef, null);
+            assignNode.expr = optimizeExpr(assignNode.expr, null);
+            result = assignNode;
+            return;
+        }
+
+        BVarSymbol varSymbol = ((BLangLocalVarRef) assignNode.varRef).symbol;
+        VarStore varStore = new VarStore(varSymbol, assignNode, this.currentBlock, assignNode.expr,
+                assignNode.declaredWithVar);
+        assignNode.expr = optimizeExpr(assignNode.expr, varStore);
+        varStore.expr = assignNode.expr;
+        VarUsage varUsage = getVarUsage(varSymbol);
+        if (assignNode.declaredWithVar) {
+            varUsage.defined = true;
+        } else {
+            varUsage.assignments++;
+        }
+        this.varStores.add(varStore);
+        result = assignNode;
+    }
+
+    @Override
+    public void visit(BLangIf ifNode) {
+        ifNode.expr = optimizeExpr(ifNode.expr, null);
+        if (isConstant(ifNode.expr)) {
+            // Only the branch which is taken is kept
+            BLangStatement branch = (Boolean) ((BLangLiteral) ifNode.expr).value ? ifNode.body : ifNode.elseStmt;
+            if (branch != null && branch.pos == null) {
+                // Blocks do not have a position of their own, which is needed for the line numbers of a statement
+                branch.pos = ifNode.pos;
+            }
+            result = branch == null ? null : optimizeStmt(branch);
+            return;
+        }
+
+        ifNode.body = (BLangBlockStmt) optimizeStmt(ifNode.body);
+        if (ifNode.elseStmt != null) {
+            ifNode.elseStmt = optimizeStmt(ifNode.elseStmt);
+        }
+        result = ifNode;
+    }
+
+    @Override
+    public void visit(BLangWhile whileNode) {
+        whileNode.expr = optimizeExpr(whileNode.expr, null);
+        if (isConstant(whileNode.expr) && !(Boolean) ((BLangLiteral) whileNode.expr).value) {
+            result = null;
+            return;
+        }
+
+        whileNode.body = (BLangBlockStmt) optimizeStmt(whileNode.body);
+        result = whileNode;
+    }
+
+    @Override
+    public void visit(BLangReturn returnNode) {
+        if (returnNode.expr != null) {
+            returnNode.expr = optimizeExpr(returnNode.expr, null);
+        }
+        result = returnNode;
+    }
+
+    @Override
+    public void visit(BLangBreak breakNode) {
+        result = breakNode;
+    }
+
+    @Override
+    public void visit(BLangNext nextNode) {
+        result = nextNode;
+    }
+
+    @Override
+    public void visit(BLangThrow throwNode) {
+        throwNode.expr = optimizeExpr(throwNode.expr, null);
+        result = throwNode;
+    }
+
+    @Override
+    public void visit(BLangExpressionStmt exprStmtNode) {
+        exprStmtNode.expr = optimizeExpr(exprStmtNode.expr, null);
+        result = exprStmtNode;
+    }
+
+
+    // Expressions
+
+    @Override
+    public void visit(BLangLiteral literalExpr) {
+        result = literalExpr;
+    }
+
+    @Override
+    public void visit(BLangLocalVarRef localVarRef) {
+        VarUsage varUsage = getVarUsage(localVarRef.symbol);
+        varUsage.reads.add(localVarRef);
+        if (this.currentVarStore != null) {
+            this.currentVarStore.reads.add(localVarRef);
+        }
+        result = localVarRef;
+    }
+
+    @Override
+    public void visit(BLangPackageVarRef packageVarRef) {
+        result = packageVarRef;
+    }
+
+    @Override
+    public void visit(BLangFieldVarRef fieldVarRef) {
+        result = fieldVarRef;
+    }
+
+    @Override
+    public void visit(BLangFunctionVarRef functionVarRef) {
+        result = functionVarRef;
+    }
+
+    @Override
+    public void visit(BLangBinaryExpr binaryExpr) {
+        binaryExpr.lhsExpr = optimizeExpr(binaryExpr.lhsExpr);
+        if (isConstant(binaryExpr.lhsExpr) && (binaryExpr.opKind == OperatorKind.AND ||
+                binaryExpr.opKind == OperatorKind.OR)) {
+            // The right hand side is not evaluated if the left hand side decides the value
+            boolean lhsValue = (Boolean) ((BLangLiteral) binaryExpr.lhsExpr).value;
+            if (lhsValue == (binaryExpr.opKind == OperatorKind.OR)) {
+                result = binaryExpr.lhsExpr;
+            } else {
+                result = optimizeExpr(binaryExpr.rhsExpr);
+            }
+            return;
+        }
+
+        binaryExpr.rhsExpr = optimizeExpr(binaryExpr.rhsExpr);
+        result = binaryExpr;
+        if (!isConstant(binaryExpr.lhsExpr) || !isConstant(binaryExpr.rhsExpr) || binaryExpr.opSymbol == null) {
+            return;
+        }
+
+        Object value = foldBinaryExpr(binaryExpr.opSymbol.opcode, ((BLangLiteral) binaryExpr.lhsExpr).value,
+                ((BLangLiteral) binaryExpr.rhsExpr).value);
+        if (value != null) {
+            result = ASTBuilderUtil.createLiteral(binaryExpr.pos, binaryExpr.type, value);
+        }
+    }
+
+    @Override
+    public void visit(BLangUnaryExpr unaryExpr) {
+        unaryExpr.expr = optimizeExpr(unaryExpr.expr);
+        result = unaryExpr;
+        if (!isConstant(unaryExpr.expr) || unaryExpr.opSymbol == null) {
+            return;
+        }
+
+        Object value = ((BLangLiteral) unaryExpr.expr).value;
+        switch (unaryExpr.opSymbol.opcode) {
+            case InstructionCodes.INEG:
+                result = ASTBuilderUtil.createLiteral(unaryExpr.pos, unaryExpr.type, -(Long) value);
+                break;
+            case InstructionCodes.FNEG:
+                result = ASTBuilderUtil.createLiteral(unaryExpr.pos, unaryExpr.type, -(Double) value);
+                break;
+            case InstructionCodes.BNOT:
+                result = ASTBuilderUtil.createLiteral(unaryExpr.pos, unaryExpr.type, !(Boolean) value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void visit(BLangTypeConversionExpr conversionExpr) {
+        conversionExpr.expr = optimizeExpr(conversionExpr.expr);
+        result = conversionExpr;
+        if (!isConstant(conversionExpr.expr) || conversionExpr.conversionSymbol == null) {
+            return;
+        }
+
+        Object value = ((BLangLiteral) conversionExpr.expr).value;
+        switch (conversionExpr.conversionSymbol.opcode) {
+            case InstructionCodes.I2F:
+                result = ASTBuilderUtil.createLiteral(conversionExpr.pos, conversionExpr.type,
+                        ((Long) value).doubleValue());
+                break;
+            case InstructionCodes.I2S:
+                result = ASTBuilderUtil.createLiteral(conversionExpr.pos, conversionExpr.type,
+                        Long.toString((Long) value));
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void visit(BLangInvocation invocationExpr) {
+        if (invocationExpr.expr != null) {
+            // Only function invocations are optimized
+            this.allNodesOptimized = false;
+            result = invocationExpr;
+            return;
+        }
+        optimizeArgs(invocationExpr);
+        result = invocationExpr;
+    }
+
+    @Override
+    public void visit(BLangAttachedFunctionInvocation invocationExpr) {
+        invocationExpr.expr = optimizeExpr(invocationExpr.expr);
+        optimizeArgs(invocationExpr);
+        result = invocationExpr;
+    }
+
+    @Override
+    public void visit(BFunctionPointerInvocation invocationExpr) {
+        invocationExpr.expr = optimizeExpr(invocationExpr.expr);
+        optimizeArgs(invocationExpr);
+        result = invocationExpr;
+    }
+
+    @Override
+    public void visit(BLangArrayAccessExpr arrayAccessExpr) {
+        visitIndexBasedAccess(arrayAccessExpr);
+    }
+
+    @Override
+    public void visit(BLangMapAccessExpr mapAccessExpr) {
+        visitIndexBasedAccess(mapAccessExpr);
+    }
+
+    @Override
+    public void visit(BLangStructFieldAccessExpr fieldAccessExpr) {
+        fieldAccessExpr.expr = optimizeExpr(fieldAccessExpr.expr);
+        result = fieldAccessExpr;
+    }
+
+    @Override
+    public void visit(BLangArrayLiteral arrayLiteral) {
+        optimizeExprs(arrayLiteral.exprs);
+        result = arrayLiteral;
+    }
+
+    @Override
+    public void visit(BLangBracedOrTupleExpr bracedOrTupleExpr) {
+        optimizeExprs(bracedOrTupleExpr.expressions);
+        result = bracedOrTupleExpr;
+    }
+
+
+    // Private methods
+
+    private static int getOptimizationLevel(CompilerOptions options) {
+        String level = options.get(CompilerOptionName.OPTIMIZATION_LEVEL);
+        if (level == null || level.isEmpty()) {
+            return DEFAULT_OPTIMIZATION;
+        }
+        try {
+            int optimizationLevel = Integer.parseInt(level);
+            if (optimizationLevel >= NO_OPTIMIZATION && optimizationLevel <= FULL_OPTIMIZATION) {
+                return optimizationLevel;
+            }
+        } catch (NumberFormatException ignore) {
+            // fall through to the error below
+        }
+        throw new BLangCompilerException("invalid optimization level '" + level + "', expected " +
+                NO_OPTIMIZATION + " to " + FULL_OPTIMIZATION);
+    }
+
+    private void optimizeInvokable(BLangInvokableNode invokableNode) {
+        this.varUsages = new LinkedHashMap<>();
+        this.varStores = new ArrayList<>();
+        this.allNodesOptimized = true;
+
+        // Parameters are defined by the caller
+        invokableNode.requiredParams.forEach(param -> getVarUsage(param.symbol).defined = true);
+        invokableNode.defaultableParams.forEach(param -> getVarUsage(param.var.symbol).defined = true);
+        if (invokableNode.restParam != null) {
+            getVarUsage(invokableNode.restParam.symbol).defined = true;
+        }
+        if (invokableNode instanceof BLangFunction && ((BLangFunction) invokableNode).receiver != null) {
+            getVarUsage(((BLangFunction) invokableNode).receiver.symbol).defined = true;
+        }
+        if (invokableNode instanceof BLangTransformer) {
+            BLangTransformer transformerNode = (BLangTransformer) invokableNode;
+            getVarUsage(transformerNode.source.symbol).defined = true;
+            transformerNode.retParams.forEach(param -> getVarUsage(param.symbol).defined = true);
+        }
+
+        if (invokableNode.body != null) {
+            invokableNode.body = (BLangBlockStmt) optimizeStmt(invokableNode.body);
+        }
+        for (BLangWorker worker : invokableNode.workers) {
+            worker.body = (BLangBlockStmt) optimizeStmt(worker.body);
+        }
+
+        // Local variables can only be removed if all their usages are known
+        if (this.optimizationLevel >= FULL_OPTIMIZATION && this.allNodesOptimized &&
+                invokableNode.workers.isEmpty() && invokableNode.endpoints.isEmpty() &&
+                !(invokableNode instanceof BLangAction)) {
+            propagateCopies();
+            removeUnusedVars();
+        }
+
+        this.varUsages = null;
+        this.varStores = null;
+        this.currentVarStore = null;
+    }
+
+    private BLangStatement optimizeStmt(BLangStatement stmt) {
+        if (!OPTIMIZED_NODES.contains(stmt.getClass())) {
+            this.allNodesOptimized = false;
+            return stmt;
+        }
+        stmt.accept(this);
+        BLangNode optimizedStmt = this.result;
+        this.result = null;
+        return (BLangStatement) optimizedStmt;
+    }
+
+    private <E extends BLangExpression> E optimizeExpr(E expr, VarStore varStore) {
+        VarStore prevVarStore = this.currentVarStore;
+        this.currentVarStore = varStore;
+        E optimizedExpr = optimizeExpr(expr);
+        this.currentVarStore = prevVarStore;
+        return optimizedExpr;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends BLangExpression> E optimizeExpr(E expr) {
+        if (expr == null) {
+            return null;
+        }
+        if (!OPTIMIZED_NODES.contains(expr.getClass())) {
+            this.allNodesOptimized = false;
+            return expr;
+        }
+        expr.accept(this);
+        BLangNode optimizedExpr = this.result;
+        this.result = null;
+        // Expressions keep their type, so only expressions which are replaced by literals change their class
+        return (E) optimizedExpr;
+    }
+
+    private void optimizeExprs(List<BLangExpression> exprs) {
+        for (int i = 0; i < exprs.size(); i++) {
+            exprs.set(i, optimizeExpr(exprs.get(i)));
+        }
+    }
+
+    private void optimizeArgs(BLangInvocation invocationExpr) {
+        optimizeExprs(invocationExpr.requiredArgs);
+        optimizeExprs(invocationExpr.namedArgs);
+        optimizeExprs(invocationExpr.restArgs);
+    }
+
+    private void visitIndexBasedAccess(BLangIndexBasedAccess indexBasedAccess) {
+        indexBasedAccess.expr = optimizeExpr(indexBasedAccess.expr);
+        indexBasedAccess.indexExpr = optimizeExpr(indexBasedAccess.indexExpr);
+        result = indexBasedAccess;
+    }
+
+    private boolean isTerminalStmt(BLangStatement stmt) {
+        return stmt instanceof BLangReturn || stmt instanceof BLangBreak || stmt instanceof BLangNext ||
+                stmt instanceof BLangThrow;
+    }
+
+    private boolean isConstant(BLangExpression expr) {
+        if (expr == null || expr.getClass() != BLangLiteral.class || expr.type == null) {
+            return false;
+        }
+        Object value = ((BLangLiteral) expr).value;
+        switch (expr.type.tag) {
+            case TypeTags.INT:
+                return value instanceof Long;
+            case TypeTags.FLOAT:
+                return value instanceof Double;
+            case TypeTags.STRING:
+                return value instanceof String;
+            case TypeTags.BOOLEAN:
+                return value instanceof Boolean;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Evaluates a binary operation the same way the VM does.
+     *
+     * @return the value of the operation, or null if it is not evaluated at compile time
+     */
+    private Object foldBinaryExpr(int opcode, Object lhsValue, Object rhsValue) {
+        switch (opcode) {
+            case InstructionCodes.IADD:
+                return (Long) lhsValue + (Long) rhsValue;
+            case InstructionCodes.ISUB:
+                return (Long) lhsValue - (Long) rhsValue;
+            case InstructionCodes.IMUL:
+                return (Long) lhsValue * (Long) rhsValue;
+            case InstructionCodes.IDIV:
+                // Division by zero is left to fail at runtime
+                return (Long) rhsValue == 0 ? null : (Long) lhsValue / (Long) rhsValue;
+            case InstructionCodes.IMOD:
+                return (Long) rhsValue == 0 ? null : (Long) lhsValue % (Long) rhsValue;
+            case InstructionCodes.FADD:
+                return (Double) lhsValue + (Double) rhsValue;
+            case InstructionCodes.FSUB:
+                return (Double) lhsValue - (Double) rhsValue;
+            case InstructionCodes.FMUL:
+                return (Double) lhsValue * (Double) rhsValue;
+            case InstructionCodes.FDIV:
+                return (Double) rhsValue == 0 ? null : (Double) lhsValue / (Double) rhsValue;
+            case InstructionCodes.FMOD:
+                return (Double) rhsValue == 0 ? null : (Double) lhsValue % (Double) rhsValue;
+            case InstructionCodes.SADD:
+                return (String) lhsValue + rhsValue;
+            case InstructionCodes.IEQ:
+            case InstructionCodes.SEQ:
+            case InstructionCodes.BEQ:
+                return lhsValue.equals(rhsValue);
+            case InstructionCodes.INE:
+            case InstructionCodes.SNE:
+            case InstructionCodes.BNE:
+                return !lhsValue.equals(rhsValue);
+            case InstructionCodes.FEQ:
+                return (Double) lhsValue == (double) (Double) rhsValue;
+            case InstructionCodes.FNE:
+                return (Double) lhsValue != (double) (Double) rhsValue;
+            case InstructionCodes.IGT:
+                return (Long) lhsValue > (Long) rhsValue;
+            case InstructionCodes.IGE:
+                return (Long) lhsValue >= (Long) rhsValue;
+            case InstructionCodes.ILT:
+                return (Long) lhsValue < (Long) rhsValue;
+            case InstructionCodes.ILE:
+                return (Long) lhsValue <= (Long) rhsValue;
+            case InstructionCodes.FGT:
+                return (Double) lhsValue > (Double) rhsValue;
+            case InstructionCodes.FGE:
+                return (Double) lhsValue >= (Double) rhsValue;
+            case InstructionCodes.FLT:
+                return (Double) lhsValue < (Double) rhsValue;
+            case InstructionCodes.FLE:
+                return (Double) lhsValue <= (Double) rhsValue;
+            default:
+                return null;
+        }
+    }
+
+    private VarUsage getVarUsage(BVarSymbol varSymbol) {
+        return this.varUsages.computeIfAbsent(varSymbol, symbol -> new VarUsage());
+    }
+
+    /**
+     * Replaces the local variables defined as a copy of another local variable with the variable copied, if
+     * neither of them is assigned afterwards.
+     */
+    private void propagateCopies() {
+        for (VarStore varStore : new ArrayList<>(this.varStores)) {
+            if (!varStore.definition || !(varStore.expr instanceof BLangLocalVarRef) ||
+                    varStore.node instanceof BLangAssignment) {
+                continue;
+            }
+            BVarSymbol copySymbol = varStore.varSymbol;
+            BVarSymbol sourceSymbol = ((BLangLocalVarRef) varStore.expr).symbol;
+            VarUsage copyUsage = getVarUsage(copySymbol);
+            VarUsage sourceUsage = getVarUsage(sourceSymbol);
+            if (copySymbol.closure || sourceSymbol.closure || copyUsage.assignments > 0 || !sourceUsage.defined ||
+                    sourceUsage.assignments > 0 || !isSameType(copySymbol.type, sourceSymbol.type)) {
+                continue;
+            }
+
+            for (BLangLocalVarRef varRef : copyUsage.reads) {
+                varRef.symbol = sourceSymbol;
+            }
+            sourceUsage.reads.addAll(copyUsage.reads);
+            copyUsage.reads.clear();
+            removeVarStore(varStore);
+        }
+    }
+
+    /**
+     * Removes the local variables which are never read, along with the values stored to them, if computing the
+     * values has no side effects.
+     */
+    private void removeUnusedVars() {
+        Map<BVarSymbol, List<VarStore>> storesBySymbol = new HashMap<>();
+        for (VarStore varStore : this.varStores) {
+            storesBySymbol.computeIfAbsent(varStore.varSymbol, symbol -> new ArrayList<>()).add(varStore);
+        }
+
+        // Removing a variable may leave the variables it was computed from unused
+        boolean removed = true;
+        while (removed) {
+            removed = false;
+            for (Map.Entry<BVarSymbol, List<VarStore>> entry : storesBySymbol.entrySet()) {
+                BVarSymbol varSymbol = entry.getKey();
+                VarUsage varUsage = getVarUsage(varSymbol);
+                List<VarStore> stores = entry.getValue();
+                if (stores.isEmpty() || varSymbol.closure || !varUsage.defined || !varUsage.reads.isEmpty() ||
+                        !stores.stream().allMatch(store -> isPure(store.expr))) {
+                    continue;
+                }
+                stores.forEach(this::removeVarStore);
+                stores.clear();
+                removed = true;
+            }
+        }
+    }
+
+    private void removeVarStore(VarStore varStore) {
+        varStore.block.stmts.removeIf(stmt -> stmt == varStore.node);
+        for (BLangLocalVarRef varRef : varStore.reads) {
+            getVarUsage(varRef.symbol).reads.remove(varRef);
+        }
+        this.varStores.remove(varStore);
+    }
+
+    private boolean isPure(BLangExpression expr) {
+        if (expr == null || expr instanceof BLangLiteral || expr instanceof BLangLocalVarRef ||
+                expr instanceof BLangPackageVarRef) {
+            return true;
+        }
+        if (expr instanceof BLangBinaryExpr) {
+            BLangBinaryExpr binaryExpr = (BLangBinaryExpr) expr;
+            return (binaryExpr.opKind == OperatorKind.AND || binaryExpr.opKind == OperatorKind.OR ||
+                    binaryExpr.opSymbol != null && PURE_OPCODES.contains(binaryExpr.opSymbol.opcode)) &&
+                    isPure(binaryExpr.lhsExpr) && isPure(binaryExpr.rhsExpr);
+        }
+        if (expr instanceof BLangUnaryExpr) {
+            BLangUnaryExpr unaryExpr = (BLangUnaryExpr) expr;
+            return unaryExpr.opSymbol != null && PURE_OPCODES.contains(unaryExpr.opSymbol.opcode) &&
+                    isPure(unaryExpr.expr);
+        }
+        if (expr instanceof BLangTypeConversionExpr) {
+            BLangTypeConversionExpr conversionExpr = (BLangTypeConversionExpr) expr;
+            return conversionExpr.conversionSymbol != null &&
+                    PURE_OPCODES.contains(conversionExpr.conversionSymbol.opcode) && isPure(conversionExpr.expr);
+        }
+        return false;
+    }
+
+    private boolean isSameType(BType type, BType otherType) {
+        if (type == otherType) {
+            return true;
+        }
+        switch (type.tag) {
+            case TypeTags.INT:
+            case TypeTags.FLOAT:
+            case TypeTags.STRING:
+            case TypeTags.BOOLEAN:
+            case TypeTags.BLOB:
+                return type.tag == otherType.tag;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Usages of a local variable in a callable unit.
+     */
+    private static class VarUsage {
+        boolean defined;
+        int assignments;
+        List<BLangLocalVarRef> reads = new ArrayList<>();
+    }
+
+    /**
+     * A statement which stores a value to a local variable.
+     */
+    private static class VarStore {
+        final BVarSymbol varSymbol;
+        final BLangStatement node;
+        final BLangBlockStmt block;
+        final boolean definition;
+        BLangExpression expr;
+        // Local variables read to compute the value
+        final List<BLangLocalVarRef> reads = new ArrayList<>();
+
+        VarStore(BVarSymbol varSymbol, BLangStatement node, BLangBlockStmt block, BLangExpression expr,
+                 boolean definition) {
+            this.varSymbol = varSymbol;
+            this.node = node;
+            this.block = block;
+            this.expr = expr;
+            this.definition = definition;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.ballerinalang.model.tree.expressions.NamedArgNode;
 import org.ballerinalang.model.tree.statements.StatementNode;
 import org.ballerinalang.model.tree.statements.StreamingQueryStatementNode;
 import org.wso2.ballerinalang.compiler.PackageCache;
+import org.wso2.ballerinalang.compiler.semantics.analyzer.SymbolEnter;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.SymbolResolver;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.Types;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
@@ -162,6 +163,7 @@ import org.wso2.ballerinalang.compiler.tree.statements.BLangWorkerReceive;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangWorkerSend;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangXMLNSStatement;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
@@ -180,6 +182,7 @@ import java.util.Set;
 import java.util.Stack;
 import java.util.stream.Collectors;
 
+import static org.ballerinalang.compiler.CompilerOptionName.SNAPSHOT;
 import static org.wso2.ballerinalang.compiler.util.Names.GEN_VAR_PREFIX;
 import static org.wso2.ballerinalang.compiler.util.Names.IGNORE;
 
@@ -197,6 +200,8 @@ public class Desugar extends BLangNodeVisitor {
     private SymbolTable symTable;
     private final PackageCache packageCache;
     private SymbolResolver symResolver;
+    private SymbolEnter symbolEnter;
+    private final boolean snapshot;
     private IterableCodeDesugar iterableCodeDesugar;
     private AnnotationDesugar annotationDesugar;
     private EndpointDesugar endpointDesugar;
@@ -231,6 +236,8 @@ public class Desugar extends BLangNodeVisitor {
         context.put(DESUGAR_KEY, this);
         this.symTable = SymbolTable.getInstance(context);
         this.symResolver = SymbolResolver.getInstance(context);
+        this.symbolEnter = SymbolEnter.getInstance(context);
+        this.snapshot = Boolean.parseBoolean(CompilerOptions.getInstance(context).get(SNAPSHOT));
         this.iterableCodeDesugar = IterableCodeDesugar.getInstance(context);
         this.annotationDesugar = AnnotationDesugar.getInstance(context);
         this.endpointDesugar = EndpointDesugar.getInstance(context);
@@ -262,7 +269,12 @@ public class Desugar extends BLangNodeVisitor {
             if (assignment.expr == null) {
                 assignment.expr = getInitExpr(v);
             }
-            if (assignment.expr != null) {
+            if (assignment.expr == null) {
+                return;
+            }
+            if (snapshot) {
+                addGlobalVarInitFunction(pkgNode, v, assignment);
+            } else {
                 pkgNode.initFunction.body.stmts.add(assignment);
             }
         });
@@ -969,9 +981,16 @@ public class Desugar extends BLangNodeVisitor {
 
     private BLangInvocation createInvocationForForeverBlock(BLangForever forever) {
         List<BLangExpression> args = new ArrayList<>();
-        BLangLiteral streamingQueryLiteral = ASTBuilderUtil.createLiteral(forever.pos, symTable.stringType,
-                forever.getSiddhiQuery());
-        args.add(streamingQueryLiteral);
+        BLangArrayLiteral siddhiAppChunks = createArrayLiteralExprNode();
+        siddhiAppChunks.type = new BArrayType(symTable.stringType);
+        siddhiQueryBuilder.getSiddhiAppChunks().forEach(chunk -> siddhiAppChunks.exprs.add(
+                ASTBuilderUtil.createLiteral(forever.pos, symTable.stringType, chunk)));
+        args.add(siddhiAppChunks);
+        BLangArrayLiteral inStreamNames = createArrayLiteralExprNode();
+        inStreamNames.type = new BArrayType(symTable.stringType);
+        siddhiQueryBuilder.getInStreamNames().forEach(streamName -> inStreamNames.exprs.add(
+                ASTBuilderUtil.createLiteral(forever.pos, symTable.stringType, streamName)));
+        args.add(inStreamNames);
         addReferenceVariablesToArgs(args, siddhiQueryBuilder.getInStreamRefs());
         addReferenceVariablesToArgs(args, siddhiQueryBuilder.getInTableRefs());
         addReferenceVariablesToArgs(args, siddhiQueryBuilder.getOutStreamRefs());
@@ -1623,6 +1642,7 @@ public class Desugar extends BLangNodeVisitor {
         }
         args.add(getSQLStatementParameters(tableQueryExpression));
         args.add(getReturnType(tableQueryExpression));
+        args.add(getQueryPlan(tableQueryExpression));
         return createInvocationNode(functionName, args, retType);
     }
 
@@ -1686,6 +1706,14 @@ public class Desugar extends BLangNodeVisitor {
         return expr;
     }
 
+    private BLangArrayLiteral getQueryPlan(BLangTableQueryExpression tableQueryExpression) {
+        BLangArrayLiteral queryPlan = createArrayLiteralExprNode();
+        queryPlan.type = new BArrayType(symTable.stringType);
+        tableQueryExpression.getQueryPlan().forEach(token -> queryPlan.exprs.add(
+                ASTBuilderUtil.createLiteral(tableQueryExpression.pos, symTable.stringType, token)));
+        return queryPlan;
+    }
+
     private BLangArrayLiteral createArrayLiteralExprNode() {
         BLangArrayLiteral expr = (BLangArrayLiteral) TreeBuilder.createArrayLiteralNode();
         expr.exprs = new ArrayList<>();
@@ -2264,6 +2292,33 @@ public class Desugar extends BLangNodeVisitor {
         return ASTBuilderUtil.createIsAssignableExpr(pos, varRef, patternType, symTable.booleanType, names);
     }
 
+    /**
+     * Initializes a package variable in a function of its own, which is called by the package init function. The
+     * variables restored from a program snapshot are not initialized again, by skipping their init functions. This
+     * is only done when a snapshot of the program is going to be taken.
+     *
+     * @param pkgNode    the package of the variable
+     * @param varNode    the package variable
+     * @param assignment the assignment of the initial value to the variable
+     */
+    private void addGlobalVarInitFunction(BLangPackage pkgNode, BLangVariable varNode, BLangAssignment assignment) {
+        // The name of the function is the name of the package init function followed by the name of the variable
+        BLangFunction funcNode = ASTBuilderUtil.createFunction(varNode.pos,
+                pkgNode.initFunction.name.value + "." + varNode.name.value);
+        funcNode.returnTypeNode = ASTBuilderUtil.createTypeNode(symTable.nilType);
+        funcNode.desugaredReturnType = true;
+        funcNode.body.addStatement(assignment);
+        funcNode.body.addStatement(ASTBuilderUtil.createNilReturnStmt(varNode.pos, symTable.nilType));
+
+        symbolEnter.defineNode(funcNode, symTable.pkgEnvMap.get(pkgNode.symbol));
+        pkgNode.functions.add(funcNode);
+        pkgNode.topLevelNodes.add(funcNode);
+
+        BLangExpressionStmt initStmt = ASTBuilderUtil.createExpressionStmt(varNode.pos, pkgNode.initFunction.body);
+        initStmt.expr = ASTBuilderUtil.createInvocationExpr(varNode.pos, funcNode.symbol, Collections.emptyList(),
+                symResolver);
+    }
+
     private BLangExpression getInitExpr(BLangVariable varNode) {
         BType type = varNode.type;
         // Don't need to create an empty init expressions if the type allows null.
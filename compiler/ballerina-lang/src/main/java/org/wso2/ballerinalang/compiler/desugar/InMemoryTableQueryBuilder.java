@@ -91,6 +91,7 @@ public class InMemoryTableQueryBuilder extends SqlQueryBuilder {
         tableQuery.accept(this);
         tableQueryExpression.setSqlQuery(tableQuery.getSqlQuery());
         tableQueryExpression.addParams(tableQuery.getParams());
+        tableQueryExpression.setQueryPlan(InMemoryTableQueryPlanBuilder.build(tableQuery));
     }
 
     @Override
@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.desugar;
+
+import org.ballerinalang.model.tree.clauses.SelectExpressionNode;
+import org.ballerinalang.model.tree.clauses.WhereNode;
+import org.wso2.ballerinalang.compiler.tree.clauses.BLangJoinStreamingInput;
+import org.wso2.ballerinalang.compiler.tree.clauses.BLangSelectClause;
+import org.wso2.ballerinalang.compiler.tree.clauses.BLangSelectExpression;
+import org.wso2.ballerinalang.compiler.tree.clauses.BLangStreamingInput;
+import org.wso2.ballerinalang.compiler.tree.clauses.BLangTableQuery;
+import org.wso2.ballerinalang.compiler.tree.clauses.BLangWhere;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangBinaryExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangExpression;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangFieldBasedAccess;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangSimpleVarRef;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangUnaryExpr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @since 0.970.0
+ *
+ * This class will generate the plan of a table query, which the runtime evaluates over the columns of in-memory
+ * tables instead of running the SQL query of {@link InMemoryTableQueryBuilder}. The plan lists the tokens of the
+ * select, from and join clauses in prefix order, and literals refer to the parameters of the SQL query by index.
+ * Queries with group by, having or order by clauses, or with expressions other than column references, literals,
+ * comparisons and logical operators get an empty plan, and are run as SQL queries.
+ */
+class InMemoryTableQueryPlanBuilder {
+
+    private final List<BLangExpression> params;
+    private final List<String> plan = new ArrayList<>();
+
+    private InMemoryTableQueryPlanBuilder(List<BLangExpression> params) {
+        this.params = params;
+    }
+
+    /**
+     * Builds the plan of a table query whose SQL query is already built.
+     *
+     * @param tableQuery table query holding the parameters of its SQL query
+     * @return the tokens of the plan, or an empty list if the query can only be run as a SQL query
+     */
+    static List<String> build(BLangTableQuery tableQuery) {
+        InMemoryTableQueryPlanBuilder planBuilder = new InMemoryTableQueryPlanBuilder(tableQuery.getParams());
+        return planBuilder.addQuery(tableQuery) ? planBuilder.plan : Collections.emptyList();
+    }
+
+    private boolean addQuery(BLangTableQuery tableQuery) {
+        BLangSelectClause selectClause = (BLangSelectClause) tableQuery.getSelectClauseNode();
+        if (selectClause.getGroupBy() != null || selectClause.getHaving() != null
+                || tableQuery.getOrderByNode() != null) {
+            return false;
+        }
+        List<? extends SelectExpressionNode> selectExprList = selectClause.getSelectExpressions();
+        int selectExprCount = selectExprList == null ? 0 : selectExprList.size();
+        if (selectExprCount == 0 && !selectClause.isSelectAll()) {
+            return false;
+        }
+        plan.add("select");
+        plan.add(String.valueOf(selectExprCount));
+        for (int i = 0; i < selectExprCount; i++) {
+            BLangSelectExpression selectExpression = (BLangSelectExpression) selectExprList.get(i);
+            if (!addExpr((BLangExpression) selectExpression.getExpression())) {
+                return false;
+            }
+        }
+        plan.add("from");
+        if (!addStreamingInput((BLangStreamingInput) tableQuery.getStreamingInput())) {
+            return false;
+        }
+        BLangJoinStreamingInput joinStreamingInput = (BLangJoinStreamingInput) tableQuery.getJoinStreamingInput();
+        if (joinStreamingInput != null) {
+            plan.add("join");
+            return addStreamingInput((BLangStreamingInput) joinStreamingInput.getStreamingInput())
+                    && addExpr((BLangExpression) joinStreamingInput.getOnExpression());
+        }
+        return true;
+    }
+
+    private boolean addStreamingInput(BLangStreamingInput streamingInput) {
+        plan.add(streamingInput.getAlias() == null ? "" : streamingInput.getAlias());
+        WhereNode where = streamingInput.getBeforeStreamingCondition();
+        if (where == null) {
+            where = streamingInput.getAfterStreamingCondition();
+        }
+        if (where == null) {
+            plan.add("true");
+            return true;
+        }
+        return addExpr((BLangExpression) ((BLangWhere) where).getExpression());
+    }
+
+    private boolean addExpr(BLangExpression expr) {
+        if (expr instanceof BLangLiteral) {
+            // literals are passed in the parameters of the SQL query
+            for (int i = 0; i < params.size(); i++) {
+                if (params.get(i) == expr) {
+                    plan.add("param");
+                    plan.add(String.valueOf(i));
+                    return true;
+                }
+            }
+            return false;
+        } else if (expr instanceof BLangSimpleVarRef) {
+            plan.add("col");
+            plan.add("");
+            plan.add(((BLangSimpleVarRef) expr).variableName.value);
+            return true;
+        } else if (expr instanceof BLangFieldBasedAccess) {
+            BLangFieldBasedAccess fieldAccessExpr = (BLangFieldBasedAccess) expr;
+            if (!(fieldAccessExpr.expr instanceof BLangSimpleVarRef)) {
+                return false;
+            }
+            plan.add("col");
+            plan.add(((BLangSimpleVarRef) fieldAccessExpr.expr).variableName.value);
+            plan.add(fieldAccessExpr.field.value);
+            return true;
+        } else if (expr instanceof BLangUnaryExpr) {
+            BLangUnaryExpr unaryExpr = (BLangUnaryExpr) expr;
+            switch (unaryExpr.operator) {
+                case NOT:
+                    plan.add("not");
+                    return addExpr(unaryExpr.expr);
+                default:
+                    return false;
+            }
+        } else if (expr instanceof BLangBinaryExpr) {
+            BLangBinaryExpr binaryExpr = (BLangBinaryExpr) expr;
+            switch (binaryExpr.opKind) {
+                case AND:
+                    plan.add("and");
+                    break;
+                case OR:
+                    plan.add("or");
+                    break;
+                case EQUAL:
+                case NOT_EQUAL:
+                case GREATER_THAN:
+                case GREATER_EQUAL:
+                case LESS_THAN:
+                case LESS_EQUAL:
+                    plan.add(binaryExpr.opKind.value());
+                    break;
+                default:
+                    return false;
+            }
+            return addExpr(binaryExpr.lhsExpr) && addExpr(binaryExpr.rhsExpr);
+        }
+        return false;
+    }
+}
@@ -32,6 +32,7 @@ import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BOperatorSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTupleType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
@@ -56,6 +57,7 @@ import org.wso2.ballerinalang.compiler.tree.statements.BLangIf;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangReturn;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangTupleDestructure;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangVariableDef;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangWhile;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
@@ -83,6 +85,8 @@ public class IterableCodeDesugar {
     private static final String VAR_RESULT = "result";
     private static final String VAR_COUNT = "count";
     private static final String VAR_COLLECTION = "collection";
+    private static final String VAR_INDEX = "index";
+    private static final String VAR_LENGTH = "length";
 
     private static final CompilerContext.Key<IterableCodeDesugar> ITERABLE_DESUGAR_KEY =
             new CompilerContext.Key<>();
@@ -233,6 +237,10 @@ public class IterableCodeDesugar {
         //      count += 1;
         //  }
         //  return result;
+        if (isLengthOfCollection(ctx)) {
+            generateLengthOfResult(ctx, funcNode);
+            return;
+        }
         if (isReturningIteratorFunction(ctx)) {
             createCounterVarDefStmt(funcNode, ctx);
             createResultVarDefStmt(funcNode, ctx);
@@ -242,15 +250,11 @@ public class IterableCodeDesugar {
                 funcNode);
         ctx.iteratorResultVariables = foreachVariables;
 
-        final BLangForeach foreachStmt = ASTBuilderUtil.createForeach(pos,
-                funcNode.body,
-                ASTBuilderUtil.createVariableRef(pos, ctx.collectionVar.symbol),
-                ASTBuilderUtil.createVariableRefList(pos, foreachVariables),
-                ctx.foreachTypes);
         // foreach variable are the result variables.
+        final BLangBlockStmt loopBody = generateIteration(ctx, funcNode, foreachVariables);
 
         if (isReturningIteratorFunction(ctx)) {
-            generateAggregator(foreachStmt.body, ctx);
+            generateAggregator(loopBody, ctx);
             generateFinalResult(funcNode.body, ctx);
         }
         final BLangReturn returnStmt = ASTBuilderUtil.createReturnStmt(firstOperation.pos, funcNode.body);
@@ -286,16 +290,12 @@ public class IterableCodeDesugar {
         // Define all undefined variables.
         defineRequiredVariables(ctx, streamOperations, foreachVariables, funcNode);
 
-        // Generate foreach iteration.
-        final BLangForeach foreachStmt = ASTBuilderUtil.createForeach(pos,
-                funcNode.body,
-                ASTBuilderUtil.createVariableRef(pos, ctx.collectionVar.symbol),
-                ASTBuilderUtil.createVariableRefList(pos, foreachVariables),
-                ctx.foreachTypes);
+        // Generate iteration. All the operations of the chain are applied to each item within the same loop.
+        final BLangBlockStmt loopBody = generateIteration(ctx, funcNode, foreachVariables);
 
         if (foreachVariables.size() > 1) {
             // Create tuple, for lambda invocation.
-            final BLangAssignment assignmentStmt = ASTBuilderUtil.createAssignmentStmt(pos, foreachStmt.body);
+            final BLangAssignment assignmentStmt = ASTBuilderUtil.createAssignmentStmt(pos, loopBody);
             assignmentStmt.declaredWithVar = true;
             assignmentStmt.varRef = ASTBuilderUtil.createVariableRef(pos, ctx.getFirstOperation().argVar.symbol);
 
@@ -310,7 +310,7 @@ public class IterableCodeDesugar {
         }
 
         // Generate Operations related
-        ctx.operations.forEach(operation -> generateOperationCode(foreachStmt.body, operation));
+        ctx.operations.forEach(operation -> generateOperationCode(loopBody, operation));
 
         // Generate aggregator and result
         if (isReturningIteratorFunction(ctx)) {
@@ -320,11 +320,11 @@ public class IterableCodeDesugar {
                         .createTupleDestructureStatementNode();
                 tupleAssign.pos = pos;
                 tupleAssign.declaredWithVar = true;
-                foreachStmt.body.addStatement(tupleAssign);
+                loopBody.addStatement(tupleAssign);
                 tupleAssign.expr = ASTBuilderUtil.createVariableRef(pos, ctx.getLastOperation().retVar.symbol);
                 tupleAssign.varRefs.addAll(ASTBuilderUtil.createVariableRefList(pos, ctx.iteratorResultVariables));
             }
-            generateAggregator(foreachStmt.body, ctx);
+            generateAggregator(loopBody, ctx);
             generateFinalResult(funcNode.body, ctx);
         }
 
@@ -336,6 +336,110 @@ public class IterableCodeDesugar {
         }
     }
 
+    /**
+     * Generates the iteration over the collection and returns the block the operations are added to. Arrays are
+     * iterated by index, which does not box each item as a foreach does.
+     *
+     * int index = 0;
+     * int length = lengthof collection;
+     * while (index < length) {
+     * ? val0 = index;
+     * val = collection[index];
+     * index = index + 1;
+     * }
+     *
+     * @param ctx              current context
+     * @param funcNode         functionNode
+     * @param foreachVariables variables assigned with each item
+     * @return loop body
+     */
+    private BLangBlockStmt generateIteration(IterableContext ctx, BLangFunction funcNode,
+                                             List<BLangVariable> foreachVariables) {
+        final DiagnosticPos pos = ctx.getFirstOperation().pos;
+        if (!isIndexedCollection(ctx.collectionVar.type)) {
+            final BLangForeach foreachStmt = ASTBuilderUtil.createForeach(pos,
+                    funcNode.body,
+                    ASTBuilderUtil.createVariableRef(pos, ctx.collectionVar.symbol),
+                    ASTBuilderUtil.createVariableRefList(pos, foreachVariables),
+                    ctx.foreachTypes);
+            return foreachStmt.body;
+        }
+
+        final BLangVariable indexVar = createIntVarDefStmt(funcNode, VAR_INDEX,
+                ASTBuilderUtil.createLiteral(pos, symTable.intType, 0L));
+        final BLangVariable lengthVar = createIntVarDefStmt(funcNode, VAR_LENGTH, createLengthOfExpr(pos, ctx));
+
+        final BLangWhile whileNode = (BLangWhile) TreeBuilder.createWhileNode();
+        whileNode.pos = pos;
+        whileNode.expr = ASTBuilderUtil.createBinaryExpr(pos,
+                ASTBuilderUtil.createVariableRef(pos, indexVar.symbol),
+                ASTBuilderUtil.createVariableRef(pos, lengthVar.symbol), symTable.booleanType,
+                OperatorKind.LESS_THAN, (BOperatorSymbol) symResolver.resolveBinaryOperator(OperatorKind.LESS_THAN,
+                        symTable.intType, symTable.intType));
+        whileNode.body = ASTBuilderUtil.createBlockStmt(pos);
+        funcNode.body.addStatement(whileNode);
+
+        final BLangVariable valueVar = foreachVariables.get(foreachVariables.size() - 1);
+        if (foreachVariables.size() > 1) {
+            final BLangVariable keyVar = foreachVariables.get(0);
+            keyVar.expr = ASTBuilderUtil.createVariableRef(pos, indexVar.symbol);
+            ASTBuilderUtil.createVariableDefStmt(pos, whileNode.body).var = keyVar;
+        }
+        valueVar.expr = ASTBuilderUtil.createIndexBasesAccessExpr(pos, valueVar.type, ctx.collectionVar.symbol,
+                ASTBuilderUtil.createVariableRef(pos, indexVar.symbol));
+        ASTBuilderUtil.createVariableDefStmt(pos, whileNode.body).var = valueVar;
+
+        // Index is incremented before the operations, so that a filtered out item moves to the next index.
+        generateCountAggregator(whileNode.body, indexVar);
+        return whileNode.body;
+    }
+
+    private boolean isIndexedCollection(BType collectionType) {
+        return collectionType.tag == TypeTags.ARRAY
+                && ((BArrayType) collectionType).eType.tag != TypeTags.JSON;
+    }
+
+    /**
+     * Checks whether the result is the number of items in the collection, which is known without iterating.
+     *
+     * @param ctx current context
+     * @return true if the result is the length of the collection
+     */
+    private boolean isLengthOfCollection(IterableContext ctx) {
+        final int collectionTypeTag = ctx.collectionVar.type.tag;
+        return ctx.operations.size() == 1 && ctx.getLastOperation().kind == IterableKind.COUNT
+                && (collectionTypeTag == TypeTags.ARRAY || collectionTypeTag == TypeTags.MAP);
+    }
+
+    /**
+     * Generates following.
+     *
+     * return lengthof collection;
+     *
+     * @param ctx      current context
+     * @param funcNode functionNode
+     */
+    private void generateLengthOfResult(IterableContext ctx, BLangFunction funcNode) {
+        final DiagnosticPos pos = ctx.getFirstOperation().pos;
+        final BLangReturn returnStmt = ASTBuilderUtil.createReturnStmt(pos, funcNode.body);
+        returnStmt.expr = createLengthOfExpr(pos, ctx);
+    }
+
+    private BLangUnaryExpr createLengthOfExpr(DiagnosticPos pos, IterableContext ctx) {
+        return ASTBuilderUtil.createUnaryExpr(pos, ASTBuilderUtil.createVariableRef(pos, ctx.collectionVar.symbol),
+                symTable.intType, OperatorKind.LENGTHOF, (BOperatorSymbol) symResolver.resolveUnaryOperator(pos,
+                        OperatorKind.LENGTHOF, ctx.collectionVar.type));
+    }
+
+    private BLangVariable createIntVarDefStmt(BLangFunction funcNode, String name, BLangExpression initExpr) {
+        final DiagnosticPos pos = funcNode.body.pos;
+        final BLangVariable variable = ASTBuilderUtil.createVariable(pos, name, symTable.intType);
+        variable.expr = initExpr;
+        defineVariable(variable, funcNode.symbol.pkgID, funcNode);
+        ASTBuilderUtil.createVariableDefStmt(pos, funcNode.body).var = variable;
+        return variable;
+    }
+
     private void defineRequiredVariables(IterableContext ctx,
                                          LinkedList<Operation> streamOperations,
                                          List<BLangVariable> foreachVariables,
@@ -18,6 +18,7 @@
 
 package org.wso2.ballerinalang.compiler.desugar;
 
+import org.ballerinalang.compiler.BLangCompilerException;
 import org.ballerinalang.model.tree.OperatorKind;
 import org.ballerinalang.model.tree.clauses.JoinStreamingInput;
 import org.ballerinalang.model.tree.clauses.OrderByNode;
@@ -30,6 +31,15 @@ import org.ballerinalang.model.tree.clauses.WhereNode;
 import org.ballerinalang.model.tree.clauses.WindowClauseNode;
 import org.ballerinalang.model.tree.expressions.ExpressionNode;
 import org.ballerinalang.model.tree.statements.StatementNode;
+import org.ballerinalang.siddhi.query.api.SiddhiApp;
+import org.ballerinalang.siddhi.query.api.exception.SiddhiAppValidationException;
+import org.ballerinalang.siddhi.query.api.util.SiddhiConstants;
+import org.ballerinalang.siddhi.query.compiler.SiddhiCompiler;
+import org.ballerinalang.siddhi.query.compiler.exception.SiddhiParserException;
+import org.ballerinalang.util.diagnostic.DiagnosticCode;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BStreamType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BStructType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangJoinStreamingInput;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangOrderBy;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangOutputRateLimit;
@@ -56,12 +66,22 @@ import org.wso2.ballerinalang.compiler.tree.statements.BLangStatement;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangStreamingQueryStatement;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.compiler.util.diagnotic.BLangDiagnosticLog;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.zip.DeflaterOutputStream;
 
 /**
  * This class will generate the Siddhi query for stream SQLish grammar for different classes.
+ * <p>
+ * The query of a {@code forever} block, together with the definitions of its input streams, is compiled to a
+ * Siddhi query-API {@link SiddhiApp} at build time, so that the runtime does not have to generate and parse the
+ * query text again whenever the forever block is started.
  *
  * @since 0.965.0
  */
@@ -69,6 +89,8 @@ import java.util.List;
 public class SiddhiQueryBuilder extends SqlQueryBuilder {
     private static final CompilerContext.Key<SiddhiQueryBuilder> SIDDHI_QUERY_BUILDER_KEY =
             new CompilerContext.Key<>();
+    // Base64 characters take one byte each, which keeps a chunk well within the 32767 bytes of a string constant.
+    private static final int SIDDHI_APP_CHUNK_SIZE = 16 * 1024;
 
     private StringBuilder setExpr;
     private StringBuilder outputRateLimitClause;
@@ -79,6 +101,7 @@ public class SiddhiQueryBuilder extends SqlQueryBuilder {
     private StringBuilder streamDefinitionQuery;
     private StringBuilder siddhiQuery;
 
+    private List<String> inStreamNames;
     private List<BLangExpression> inStreamRefs;
     private List<BLangExpression> inTableRefs;
     private List<BLangExpression> outStreamRefs;
@@ -86,6 +109,10 @@ public class SiddhiQueryBuilder extends SqlQueryBuilder {
 
     private boolean isInPatternForClause = false;
 
+    private List<String> siddhiAppChunks;
+
+    private BLangDiagnosticLog dlog;
+
     public static SiddhiQueryBuilder getInstance(CompilerContext context) {
         SiddhiQueryBuilder siddhiQueryBuilder = context.get(SIDDHI_QUERY_BUILDER_KEY);
         if (siddhiQueryBuilder == null) {
@@ -97,6 +124,23 @@ public class SiddhiQueryBuilder extends SqlQueryBuilder {
 
     private SiddhiQueryBuilder(CompilerContext context) {
         context.put(SIDDHI_QUERY_BUILDER_KEY, this);
+        this.dlog = BLangDiagnosticLog.getInstance(context);
+    }
+
+    /**
+     * Returns the serialized query-API representation of the last visited forever block.
+     * <p>
+     * String constants are read back with a signed short length, hence the serialized {@link SiddhiApp} is split
+     * into chunks which are joined before it is deserialized.
+     *
+     * @return the chunks of the Base64 encoded, compressed and serialized {@link SiddhiApp}
+     */
+    List<String> getSiddhiAppChunks() {
+        return siddhiAppChunks;
+    }
+
+    List<String> getInStreamNames() {
+        return inStreamNames;
     }
 
     List<BLangExpression> getInStreamRefs() {
@@ -150,8 +194,7 @@ public class SiddhiQueryBuilder extends SqlQueryBuilder {
         streamingInputClause = new StringBuilder();
         BLangExpression streamRef = (BLangExpression) streamingInput.getStreamReference();
         streamRef.accept(this);
-        exprStack.pop();
-        streamingInputClause.append("[[streamName]]");
+        streamingInputClause.append(addInRefs(streamRef, exprStack.pop()));
         WhereNode beforeWhereNode = streamingInput.getBeforeStreamingCondition();
         WhereNode afterWhereNode = streamingInput.getAfterStreamingCondition();
         WindowClauseNode windowClauseNode = streamingInput.getWindowClause();
@@ -174,7 +217,6 @@ public class SiddhiQueryBuilder extends SqlQueryBuilder {
         if (streamingInput.getAlias() != null) {
             streamingInputClause.append(" as ").append(streamingInput.getAlias()).append(" ");
         }
-        addInRefs(streamRef);
     }
 
     @Override
@@ -214,6 +256,8 @@ public class SiddhiQueryBuilder extends SqlQueryBuilder {
     public void visit(BLangForever foreverStatement) {
         siddhiQuery = new StringBuilder();
         streamDefinitionQuery = new StringBuilder();
+        siddhiAppChunks = null;
+        inStreamNames = new ArrayList<>();
         inStreamRefs = new ArrayList<>();
         outStreamRefs = new ArrayList<>();
         inTableRefs = new ArrayList<>();
@@ -233,7 +277,16 @@ public class SiddhiQueryBuilder extends SqlQueryBuilder {
 
         List<? extends StatementNode> statementNodes = foreverStatement.getStreamingQueryStatements();
         statementNodes.forEach(statementNode -> ((BLangStatement) statementNode).accept(this));
+        for (int i = 0; i < inStreamRefs.size(); i++) {
+            addStreamDefinition(inStreamNames.get(i), inStreamRefs.get(i));
+        }
         foreverStatement.setSiddhiQuery(this.getSiddhiQuery());
+
+        try {
+            siddhiAppChunks = serialize(SiddhiCompiler.parse(foreverStatement.getSiddhiQuery()));
+        } catch (SiddhiParserException | SiddhiAppValidationException e) {
+            dlog.error(foreverStatement.pos, DiagnosticCode.INVALID_STREAMING_QUERY, e.getMessageWithOutContext());
+        }
     }
 
     @Override
@@ -454,14 +507,13 @@ public class SiddhiQueryBuilder extends SqlQueryBuilder {
     public void visit(BLangPatternStreamingEdgeInput patternStreamingEdgeInput) {
         BLangExpression streamRef = (BLangExpression) patternStreamingEdgeInput.getStreamReference();
         streamRef.accept(this);
-        exprStack.pop();
-        addInRefs(streamRef);
+        String streamName = addInRefs(streamRef, exprStack.pop());
 
         String alias = patternStreamingEdgeInput.getAliasIdentifier();
         if (alias != null) {
             patternStreamingClause.append(alias).append(" = ");
         }
-        patternStreamingClause.append("[[streamName]]");
+        patternStreamingClause.append(streamName);
         WhereNode whereNode = patternStreamingEdgeInput.getWhereClause();
         if (whereNode != null) {
             ((BLangWhere) whereNode).accept(this);
@@ -519,17 +571,72 @@ public class SiddhiQueryBuilder extends SqlQueryBuilder {
         return streamDefinitionQuery.toString() + "\n" + siddhiQuery.toString();
     }
 
-    // adds the input streams/tables references
-    private void addInRefs(BLangExpression streamReference) {
-        addRefs(streamReference, inStreamRefs, inTableRefs);
+    // adds the input streams/tables references and returns the name by which the query refers to the input.
+    // a stream referred more than once in the forever block is defined and subscribed only once.
+    private String addInRefs(BLangExpression streamReference, String refName) {
+        String streamName = refName.replaceAll("\\W", "_");
+        if (streamReference.type.tag == TypeTags.STREAM) {
+            if (!inStreamNames.contains(streamName)) {
+                inStreamNames.add(streamName);
+                inStreamRefs.add(streamReference);
+            }
+        } else if (streamReference.type.tag == TypeTags.TABLE) {
+            inTableRefs.add(streamReference);
+        }
+        return streamName;
     }
 
-    private void addRefs(BLangExpression ref, List<BLangExpression> streams, List<BLangExpression> tables) {
-        if (ref.type.tag == TypeTags.STREAM) {
-            streams.add(ref);
-        } else if (ref.type.tag == TypeTags.TABLE) {
-            tables.add(ref);
+    private void addStreamDefinition(String streamName, BLangExpression streamRef) {
+        BType constraint = ((BStreamType) streamRef.type).constraint;
+        if (!(constraint instanceof BStructType)) {
+            return;
+        }
+        List<BStructType.BStructField> fields = ((BStructType) constraint).fields;
+        if (fields.isEmpty()) {
+            return;
+        }
+        streamDefinitionQuery.append("define stream ").append(streamName).append("( ");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                streamDefinitionQuery.append(" , ");
+            }
+            BStructType.BStructField field = fields.get(i);
+            streamDefinitionQuery.append(field.name.value).append(" ").append(getAttributeType(field.type));
+        }
+        streamDefinitionQuery.append(" ); ");
+    }
+
+    private String getAttributeType(BType type) {
+        //even though, type defined as int, actual value is a long. To handle this case in Siddhi, type is defined
+        //as long.
+        switch (type.tag) {
+            case TypeTags.INT:
+                return "long";
+            case TypeTags.FLOAT:
+                return "double";
+            case TypeTags.BOOLEAN:
+                return "bool";
+            case TypeTags.STRING:
+                return "string";
+            default:
+                return "object";
+        }
+    }
+
+    private List<String> serialize(SiddhiApp siddhiApp) {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectStream = new ObjectOutputStream(new DeflaterOutputStream(byteStream))) {
+            objectStream.writeInt(SiddhiConstants.SIDDHI_APP_SERIALIZATION_VERSION);
+            objectStream.writeObject(siddhiApp);
+        } catch (IOException e) {
+            throw new BLangCompilerException("failed to serialize the streaming query: " + e.getMessage(), e);
+        }
+        String encodedSiddhiApp = Base64.getEncoder().encodeToString(byteStream.toByteArray());
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < encodedSiddhiApp.length(); i += SIDDHI_APP_CHUNK_SIZE) {
+            chunks.add(encodedSiddhiApp.substring(i, Math.min(i + SIDDHI_APP_CHUNK_SIZE, encodedSiddhiApp.length())));
         }
+        return chunks;
     }
 
     void addExprToClause(BLangExpression expr, StringBuilder sqlStringBuilder,
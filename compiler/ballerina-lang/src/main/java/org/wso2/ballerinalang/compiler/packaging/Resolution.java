@@ -1,20 +1,23 @@
 package org.wso2.ballerinalang.compiler.packaging;
 
 import org.ballerinalang.repository.PackageSourceEntry;
+import org.wso2.ballerinalang.compiler.packaging.repo.Repo;
 
 import java.util.List;
 
 /**
- * List of resolved sources and the RepoHierarchy used to resolve it.
+ * List of resolved sources, the Repo they were found in and the RepoHierarchy used to resolve it.
  * Had to wrap in a class since you can't return multiple items form a java method.
  */
 public class Resolution {
-    public static final Resolution NOT_FOUND = new Resolution(null, null);
+    public static final Resolution NOT_FOUND = new Resolution(null, null, null);
     public final RepoHierarchy resolvedBy;
+    public final Repo resolvedRepo;
     public final List<PackageSourceEntry> sources;
 
-    Resolution(RepoHierarchy resolvedBy, List<PackageSourceEntry> sources) {
+    Resolution(RepoHierarchy resolvedBy, Repo resolvedRepo, List<PackageSourceEntry> sources) {
         this.resolvedBy = resolvedBy;
+        this.resolvedRepo = resolvedRepo;
         this.sources = sources;
     }
 }
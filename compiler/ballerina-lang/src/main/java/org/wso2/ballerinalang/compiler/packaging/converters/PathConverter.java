@@ -47,7 +47,8 @@ public class PathConverter implements Converter<Path> {
     public Stream<Path> expandBal(Path path) {
         if (Files.isDirectory(path)) {
             try {
-                return Files.find(path, Integer.MAX_VALUE, PathConverter::isBal);
+                // Sorted so that the compilation units are in the same order in directories and in archives.
+                return Files.find(path, Integer.MAX_VALUE, PathConverter::isBal).sorted();
             } catch (IOException ignore) {
             }
         }
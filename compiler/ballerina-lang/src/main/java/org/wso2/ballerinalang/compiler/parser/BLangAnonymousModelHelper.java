@@ -20,13 +20,13 @@ import org.ballerinalang.model.elements.PackageID;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.Names;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link BLangAnonymousModelHelper} is a util for holding the number of anonymous constructs found so far in the
- * current package.
+ * current package. The counts are kept per package, so that packages can be parsed concurrently.
  *
  * @since 0.963.0
  */
@@ -51,10 +51,10 @@ public class BLangAnonymousModelHelper {
 
     private BLangAnonymousModelHelper(CompilerContext context) {
         context.put(ANONYMOUS_MODEL_HELPER_KEY, this);
-        anonStructCount = new HashMap<>();
-        anonRecordCount = new HashMap<>();
-        anonObjectCount = new HashMap<>();
-        anonFunctionCount = new HashMap<>();
+        anonStructCount = new ConcurrentHashMap<>();
+        anonRecordCount = new ConcurrentHashMap<>();
+        anonObjectCount = new ConcurrentHashMap<>();
+        anonFunctionCount = new ConcurrentHashMap<>();
     }
 
     public static BLangAnonymousModelHelper getInstance(CompilerContext context) {
@@ -65,6 +65,23 @@ public class BLangAnonymousModelHelper {
         return helper;
     }
 
+    public static void setInstance(BLangAnonymousModelHelper helper, CompilerContext context) {
+        context.put(ANONYMOUS_MODEL_HELPER_KEY, helper);
+    }
+
+    /**
+     * Forgets the anonymous constructs counted for a package, so that they are numbered from the start when the
+     * package is parsed again.
+     *
+     * @param packageID the ID of the package
+     */
+    public void resetAnonymousModelCount(PackageID packageID) {
+        anonStructCount.remove(packageID);
+        anonRecordCount.remove(packageID);
+        anonObjectCount.remove(packageID);
+        anonFunctionCount.remove(packageID);
+    }
+
     public String getNextAnonymousStructKey(PackageID packageID) {
         Integer nextValue = Optional.ofNullable(anonStructCount.get(packageID)).orElse(0);
         anonStructCount.put(packageID, nextValue + 1);
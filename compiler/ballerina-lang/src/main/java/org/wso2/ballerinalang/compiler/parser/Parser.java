@@ -20,25 +20,37 @@ package org.wso2.ballerinalang.compiler.parser;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.ballerinalang.compiler.CompilerOptionName;
 import org.ballerinalang.model.TreeBuilder;
+import org.ballerinalang.model.tree.NodeKind;
 import org.ballerinalang.model.tree.CompilationUnitNode;
 import org.ballerinalang.repository.PackageSource;
 import org.ballerinalang.repository.PackageSourceEntry;
+import org.ballerinalang.util.diagnostic.Diagnostic;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
 import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaLexer;
 import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParser;
 import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParserErrorListener;
 import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParserErrorStrategy;
 import org.wso2.ballerinalang.compiler.tree.BLangCompilationUnit;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.diagnotic.BDiagnosticSource;
 import org.wso2.ballerinalang.compiler.util.diagnotic.BLangDiagnosticLog;
 import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 /**
  * This represents the Ballerina source parser.
@@ -51,6 +63,7 @@ public class Parser {
     private final boolean preserveWhitespace;
 
     private CompilerContext context;
+    private CompilerOptions options;
     private BLangDiagnosticLog dlog;
 
     public static Parser getInstance(CompilerContext context) {
@@ -66,21 +79,118 @@ public class Parser {
         this.context = context;
         this.context.put(PARSER_KEY, this);
 
-        CompilerOptions options = CompilerOptions.getInstance(context);
+        this.options = CompilerOptions.getInstance(context);
         this.preserveWhitespace = Boolean.parseBoolean(options.get(CompilerOptionName.PRESERVE_WHITESPACE));
         this.dlog = BLangDiagnosticLog.getInstance(context);
     }
 
+    /**
+     * Parses the given package.
+     * <p>
+     * The files of a package with several files are lexed and parsed concurrently, on the common fork-join pool,
+     * and their compilation units are then built from the parse trees one after another, in the order of the files,
+     * since anonymous constructs are numbered per package in that order. A file with syntax errors is parsed again
+     * while its compilation unit is built, so that its errors are reported as usual.
+     *
+     * @param pkgSource the source of the package
+     * @return the parsed package
+     */
     public BLangPackage parse(PackageSource pkgSource) {
         BLangPackage pkgNode = (BLangPackage) TreeBuilder.createPackageNode();
-        pkgSource.getPackageSourceEntries()
-                .forEach(e -> pkgNode.addCompilationUnit(generateCompilationUnit(e)));
+        List<PackageSourceEntry> sourceEntries = pkgSource.getPackageSourceEntries();
+        if (sourceEntries.size() > 1 && !this.preserveWhitespace && context.get(DefaultErrorStrategy.class) == null) {
+            List<ForkJoinTask<ParsedSource>> parseTasks = new ArrayList<>(sourceEntries.size());
+            for (PackageSourceEntry sourceEntry : sourceEntries) {
+                parseTasks.add(ForkJoinTask.adapt(() -> parseTree(sourceEntry)).fork());
+            }
+            for (int i = 0; i < sourceEntries.size(); i++) {
+                ParsedSource parsedSource = parseTasks.get(i).join();
+                pkgNode.addCompilationUnit(parsedSource == null ? generateCompilationUnit(sourceEntries.get(i)) :
+                        generateCompilationUnit(sourceEntries.get(i), parsedSource));
+            }
+        } else {
+            sourceEntries.forEach(e -> pkgNode.addCompilationUnit(generateCompilationUnit(e)));
+        }
         pkgNode.pos = new DiagnosticPos(new BDiagnosticSource(pkgSource.getPackageId(),
                 pkgSource.getName()), 1, 1, 1, 1);
         pkgNode.repos = pkgSource.getRepoHierarchy();
         return pkgNode;
     }
 
+    /**
+     * Starts parsing the given package in the background, on the common fork-join pool.
+     * <p>
+     * The package is parsed by a parser of its own compiler context, and the diagnostics it logs are held back
+     * until the returned supplier is called. Hence, diagnostics are reported in the order the parsed packages
+     * are requested, which is the same order as when packages are parsed one after another. The implicit import of
+     * the transaction package is kept only in the first requested package with a transaction block, as well.
+     * <p>
+     * The files of the package are parsed concurrently as well, as described in {@link #parse(PackageSource)}.
+     * Packages are still defined and type checked one after another, on the compiler thread, since the symbol
+     * enter and the semantic analyzer keep the environment they are in and their diagnostics in their compiler
+     * context, which is shared by all the packages of a compilation.
+     *
+     * @param pkgSource the source of the package
+     * @return a supplier which waits for the parsed package and returns it
+     */
+    public Supplier<BLangPackage> parseAsync(PackageSource pkgSource) {
+        if (this.preserveWhitespace || context.get(DefaultErrorStrategy.class) != null) {
+            // The whitespace preserving listener and custom error strategies are used by the tooling, which
+            // parses a single package at a time.
+            return () -> parse(pkgSource);
+        }
+
+        CompilerContext parserContext = new CompilerContext();
+        CompilerOptions parserOptions = CompilerOptions.getInstance(parserContext);
+        parserOptions.putAll(this.options);
+        boolean transactionExists = this.options.isSet(CompilerOptionName.TRANSACTION_EXISTS);
+        BLangAnonymousModelHelper.setInstance(BLangAnonymousModelHelper.getInstance(context), parserContext);
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        parserContext.put(DiagnosticListener.class, diagnostics::add);
+
+        Parser parser = new Parser(parserContext);
+        ForkJoinTask<BLangPackage> parseTask = ForkJoinPool.commonPool().submit(() -> parser.parse(pkgSource));
+        return () -> {
+            BLangPackage pkgNode;
+            try {
+                pkgNode = parseTask.join();
+            } catch (RuntimeException e) {
+                // Parse the package again in this thread to report the error as usual.
+                return parseAgain(pkgSource);
+            }
+
+            if (!transactionExists && parserOptions.isSet(CompilerOptionName.TRANSACTION_EXISTS)) {
+                if (this.options.isSet(CompilerOptionName.TRANSACTION_EXISTS)) {
+                    // A package requested earlier has imported the transaction package in the meantime, and
+                    // only the first package with a transaction block imports it.
+                    removeTransactionImport(pkgNode);
+                } else {
+                    this.options.put(CompilerOptionName.TRANSACTION_EXISTS,
+                            parserOptions.get(CompilerOptionName.TRANSACTION_EXISTS));
+                }
+            }
+            diagnostics.forEach(dlog::report);
+            return pkgNode;
+        };
+    }
+
+    private void removeTransactionImport(BLangPackage pkgNode) {
+        // the import added for a transaction block has an alias which cannot be written in the source
+        String alias = Names.DOT.value + Names.TRANSACTION_PACKAGE.value;
+        for (BLangCompilationUnit compUnit : pkgNode.compUnits) {
+            if (compUnit.topLevelNodes.removeIf(node -> node.getKind() == NodeKind.IMPORT
+                    && alias.equals(((BLangImportPackage) node).alias.value))) {
+                return;
+            }
+        }
+    }
+
+    private BLangPackage parseAgain(PackageSource pkgSource) {
+        // The anonymous constructs counted by the background parse are numbered again, from the start.
+        BLangAnonymousModelHelper.getInstance(context).resetAnonymousModelCount(pkgSource.getPackageId());
+        return parse(pkgSource);
+    }
+
     private CompilationUnitNode generateCompilationUnit(PackageSourceEntry sourceEntry) {
         try {
             int prevErrCount = dlog.errorCount;
@@ -112,6 +222,45 @@ public class Parser {
         }
     }
 
+    /**
+     * Lexes and parses a file in the calling thread, with an error strategy of its own compiler context.
+     *
+     * @param sourceEntry the file to parse
+     * @return the tokens and the parse tree of the file, or null if it cannot be read or it has syntax errors
+     */
+    private ParsedSource parseTree(PackageSourceEntry sourceEntry) {
+        CompilerContext parserContext = new CompilerContext();
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        parserContext.put(DiagnosticListener.class, diagnostics::add);
+        BDiagnosticSource diagnosticSrc = getDiagnosticSource(sourceEntry);
+        try {
+            ANTLRInputStream ais = new ANTLRInputStream(new ByteArrayInputStream(sourceEntry.getCode()));
+            ais.name = sourceEntry.getEntryName();
+            BallerinaLexer lexer = new BallerinaLexer(ais);
+            lexer.removeErrorListeners();
+            lexer.addErrorListener(new BallerinaParserErrorListener(parserContext, diagnosticSrc));
+            CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+            BallerinaParser parser = new BallerinaParser(tokenStream);
+            parser.setErrorHandler(new BallerinaParserErrorStrategy(parserContext, diagnosticSrc));
+            ParseTree tree = parser.compilationUnit();
+            return diagnostics.isEmpty() ? new ParsedSource(tokenStream, tree) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private CompilationUnitNode generateCompilationUnit(PackageSourceEntry sourceEntry, ParsedSource parsedSource) {
+        BDiagnosticSource diagnosticSrc = getDiagnosticSource(sourceEntry);
+        BLangCompilationUnit compUnit = (BLangCompilationUnit) TreeBuilder.createCompilationUnit();
+        compUnit.setName(sourceEntry.getEntryName());
+        compUnit.pos = new DiagnosticPos(diagnosticSrc, 1, 1, 1, 1);
+        // None of the rules which the listener enters are left recursive, hence it gets the same events from the
+        // walker as it gets while a file is being parsed.
+        ParseTreeWalker.DEFAULT.walk(newListener(parsedSource.tokenStream, compUnit, diagnosticSrc),
+                parsedSource.tree);
+        return compUnit;
+    }
+
     private BLangParserListener newListener(CommonTokenStream tokenStream,
                                             CompilationUnitNode compUnit,
                                             BDiagnosticSource diagnosticSrc) {
@@ -134,4 +283,17 @@ public class Parser {
         }
         return customErrorStrategy;
     }
+
+    /**
+     * Tokens and parse tree of a file, which is parsed without errors.
+     */
+    private static class ParsedSource {
+        private final CommonTokenStream tokenStream;
+        private final ParseTree tree;
+
+        private ParsedSource(CommonTokenStream tokenStream, ParseTree tree) {
+            this.tokenStream = tokenStream;
+            this.tree = tree;
+        }
+    }
 }
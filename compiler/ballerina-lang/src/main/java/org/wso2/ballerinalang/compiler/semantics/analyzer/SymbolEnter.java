@@ -29,6 +29,7 @@ import org.ballerinalang.model.tree.statements.StatementNode;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.util.diagnostic.DiagnosticCode;
 import org.wso2.ballerinalang.compiler.PackageLoader;
+import org.wso2.ballerinalang.compiler.SymbolCache;
 import org.wso2.ballerinalang.compiler.desugar.ASTBuilderUtil;
 import org.wso2.ballerinalang.compiler.semantics.model.Scope;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
@@ -108,7 +109,7 @@ import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
 import org.wso2.ballerinalang.util.Flags;
 
 import java.util.EnumSet;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -125,6 +126,7 @@ public class SymbolEnter extends BLangNodeVisitor {
             new CompilerContext.Key<>();
 
     private final PackageLoader pkgLoader;
+    private final SymbolCache symbolCache;
     private final SymbolTable symTable;
     private final Names names;
     private final SymbolResolver symResolver;
@@ -146,6 +148,7 @@ public class SymbolEnter extends BLangNodeVisitor {
         context.put(SYMBOL_ENTER_KEY, this);
 
         this.pkgLoader = PackageLoader.getInstance(context);
+        this.symbolCache = SymbolCache.getInstance(context);
         this.symTable = SymbolTable.getInstance(context);
         this.names = Names.getInstance(context);
         this.symResolver = SymbolResolver.getInstance(context);
@@ -333,6 +336,9 @@ public class SymbolEnter extends BLangNodeVisitor {
             // Define import package now.
             definePackage(pkgNode);
             populateInitFunctionInvocation(importPkgNode, pkgNode.symbol);
+        } else if (symbolCache.isFirstImport(pkgNode)) {
+            // The package has been loaded from a symbol cache, hence it is defined, but not imported yet.
+            populateInitFunctionInvocation(importPkgNode, pkgNode.symbol);
         }
 
         // define the import package symbol in the current package scope
@@ -411,8 +417,9 @@ public class SymbolEnter extends BLangNodeVisitor {
                 names.fromIdNode(typeDefinition.name), env.enclPkg.symbol.pkgID, null, env.scope.owner);
         typeDefinition.symbol = typeDefSymbol;
 
-        HashSet<BType> memberTypes = new HashSet<>();
-        HashSet<BLangExpression> resultSet = new HashSet<>();
+        // Ordered sets, so that the members of the type are generated in the order they are declared.
+        Set<BType> memberTypes = new LinkedHashSet<>();
+        Set<BLangExpression> resultSet = new LinkedHashSet<>();
 
         for (BLangExpression literal : typeDefinition.valueSpace) {
             BType literalType = symTable.getTypeFromTag(((BLangLiteral) literal).typeTag);
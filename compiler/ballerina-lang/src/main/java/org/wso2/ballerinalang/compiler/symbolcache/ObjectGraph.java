@@ -0,0 +1,545 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.symbolcache;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.semantics.model.iterable.Operation;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BStructSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.SymTag;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BStructType;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangInvocation;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangRecordLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangSimpleVarRef;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.Stack;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Describes how the objects of an analyzed package are laid out in a symbol cache.
+ * <p>
+ * A symbol cache holds the object graph of the AST, symbols and types of a package, after it has been type checked,
+ * code analyzed and taint analyzed. Objects of the compiler are written field by field, collections of the JDK are
+ * written by their content, and objects which are not owned by the package are written as references: the objects
+ * of the symbol table, the objects of the packages the cached package depends on, and constants held in static
+ * fields.
+ * <p>
+ * Objects are created by their own constructors when a symbol cache is read, before their fields are set to the
+ * values which were written. Classes without a constructor taking no arguments are created by the constructor with
+ * the fewest parameters, given nulls and zeros, or by the factories of {@link #FACTORIES} if that constructor uses its
+ * arguments. The classes of a symbol cache are checked to be creatable when it is written.
+ *
+ * @since 0.970.0
+ */
+public final class ObjectGraph {
+
+    // Kinds of the classes in the class table.
+    static final byte PLAIN = 0;
+    static final byte ARRAY = 1;
+    static final byte COLLECTION = 2;
+    static final byte SET = 3;
+    static final byte MAP = 4;
+    static final byte ENUM_SET = 5;
+    static final byte HOLDER = 6;
+
+    // Tags of the values.
+    static final byte NULL = 0;
+    static final byte LOCAL = 1;
+    static final byte EXTERNAL = 2;
+    static final byte STATIC = 3;
+    static final byte ENUM = 4;
+    static final byte STRING = 5;
+    static final byte INT = 6;
+    static final byte LONG = 7;
+    static final byte DOUBLE = 8;
+    static final byte FLOAT = 9;
+    static final byte BOOLEAN = 10;
+    static final byte CHAR = 11;
+    static final byte SHORT = 12;
+    static final byte BYTE = 13;
+
+    // Kinds of the patches.
+    static final byte FIELD_PATCH = 0;
+    static final byte CONTENT_PATCH = 1;
+
+    private static final String[] CACHEABLE_PACKAGES = {
+            "org.wso2.ballerinalang.compiler.tree.",
+            "org.wso2.ballerinalang.compiler.semantics.model.",
+            "org.wso2.ballerinalang.compiler.util.",
+            "org.ballerinalang.model.",
+            "org.ballerinalang.compiler.",
+            "org.ballerinalang.util.diagnostic."
+    };
+
+    /**
+     * Fields which only matter while a package is being loaded from its sources. They are not written to a
+     * symbol cache, and are null in the packages loaded from it.
+     */
+    private static final Set<String> SKIPPED_FIELDS = new HashSet<>(Arrays.asList(
+            fieldKey(BLangPackage.class, "repos"),
+            fieldKey(BLangPackage.class, "packageRepository"),
+            fieldKey(BLangPackage.class, "loadedFilePath")));
+
+    /**
+     * Factories of the classes whose constructors use their arguments, hence cannot be given nulls.
+     */
+    private static final Map<Class<?>, Supplier<Object>> FACTORIES = new HashMap<>();
+
+    static {
+        FACTORIES.put(BPackageSymbol.class, () -> new BPackageSymbol(PackageID.DEFAULT, null));
+        FACTORIES.put(BStructType.BStructField.class,
+                () -> new BStructType.BStructField(null, new BVarSymbol(0, null, null, null, null)));
+        FACTORIES.put(BLangRecordLiteral.BLangStructLiteral.class, () -> new BLangRecordLiteral.BLangStructLiteral(
+                null, new BStructType(new BStructSymbol(SymTag.STRUCT, 0, null, null, null, null))));
+        FACTORIES.put(BLangInvocation.BFunctionPointerInvocation.class,
+                () -> new BLangInvocation.BFunctionPointerInvocation(new BLangInvocation(), null));
+        FACTORIES.put(Operation.class, () -> {
+            BLangInvocation invocation = new BLangInvocation();
+            invocation.expr = new BLangSimpleVarRef();
+            return new Operation(null, invocation, null);
+        });
+    }
+
+    private static final Set<Class<?>> VALUE_TYPES = new HashSet<>(Arrays.asList(String.class, Integer.class,
+            Long.class, Double.class, Float.class, Boolean.class, Character.class, Short.class, Byte.class));
+
+    private static final Set<Class<?>> COLLECTION_TYPES = new HashSet<>(Arrays.asList(ArrayList.class,
+            LinkedList.class, ArrayDeque.class, Stack.class, Vector.class, HashSet.class, LinkedHashSet.class,
+            TreeSet.class, HashMap.class, LinkedHashMap.class, TreeMap.class, IdentityHashMap.class,
+            ConcurrentHashMap.class));
+
+    private static final Map<Class<?>, ClassInfo> CLASS_INFOS = new ConcurrentHashMap<>();
+
+    private ObjectGraph() {
+    }
+
+    /**
+     * Returns the layout of the objects of the given class.
+     *
+     * @param type class of the objects
+     * @return layout of the objects
+     * @throws IllegalArgumentException if the objects of the class are neither collections nor arrays, and their
+     *                                  fields cannot be listed
+     */
+    static ClassInfo getClassInfo(Class<?> type) {
+        ClassInfo classInfo = CLASS_INFOS.get(type);
+        if (classInfo == null) {
+            classInfo = new ClassInfo(type);
+            CLASS_INFOS.put(type, classInfo);
+        }
+        return classInfo;
+    }
+
+    public static boolean isValue(Object object) {
+        return VALUE_TYPES.contains(object.getClass());
+    }
+
+    /**
+     * Returns whether the given object can be written to a symbol cache.
+     *
+     * @param object object to check
+     * @return true if the object is a compiler object, a collection or an array
+     */
+    public static boolean isCacheable(Object object) {
+        try {
+            ClassInfo classInfo = getClassInfo(object.getClass());
+            return classInfo.kind != PLAIN || classInfo.cacheable;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether the state of the given object is the content of a collection or an array, rather than the
+     * values of its fields.
+     *
+     * @param object object to check
+     * @return true if the object is a collection or an array
+     */
+    public static boolean isContainer(Object object) {
+        return getClassInfo(object.getClass()).kind != PLAIN;
+    }
+
+    /**
+     * Returns whether the content of the given object is iterated in the same order in every run. Hash based
+     * collections of objects which do not override {@link Object#hashCode()} are ordered by the identity hash codes
+     * of their elements, which differ from run to run.
+     *
+     * @param object object to check
+     * @return false if the object is a hash based collection ordered by identity hash codes
+     */
+    public static boolean hasStableOrder(Object object) {
+        Collection<?> elements;
+        if (object instanceof IdentityHashMap) {
+            return ((IdentityHashMap<?, ?>) object).size() < 2;
+        } else if ((object instanceof HashMap && !(object instanceof LinkedHashMap)) ||
+                object instanceof ConcurrentHashMap) {
+            elements = ((Map<?, ?>) object).keySet();
+        } else if (object instanceof HashSet && !(object instanceof LinkedHashSet)) {
+            elements = (Collection<?>) object;
+        } else {
+            return true;
+        }
+        if (elements.size() < 2) {
+            return true;
+        }
+        for (Object element : elements) {
+            try {
+                if (element != null && element.getClass().getMethod("hashCode").getDeclaringClass() ==
+                        Object.class) {
+                    return false;
+                }
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of a field within the state of the objects of a class.
+     *
+     * @param type      class of the objects
+     * @param fieldName name of the field
+     * @return index of the field
+     */
+    public static int getFieldIndex(Class<?> type, String fieldName) {
+        Field[] fields = getClassInfo(type).fields;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getName().equals(fieldName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("unknown field " + fieldName + " of " + type.getName());
+    }
+
+    /**
+     * Returns the layout of the objects of the given class, that is the name and the type of each of its fields in
+     * the order they are written, or only the name of the class for collections and arrays.
+     *
+     * @param type class of the objects
+     * @return layout of the objects of the class
+     */
+    public static String getLayout(Class<?> type) {
+        ClassInfo classInfo = getClassInfo(type);
+        StringBuilder layout = new StringBuilder(type.getName());
+        for (Field field : classInfo.fields) {
+            layout.append(',').append(field.getName()).append(':').append(field.getType().getName());
+        }
+        return layout.toString();
+    }
+
+    static boolean isCollectionType(Class<?> type) {
+        return COLLECTION_TYPES.contains(type);
+    }
+
+    /**
+     * Returns whether the objects of the given class are written field by field. Context components, such as the
+     * symbol table, are shared by all the packages of a compilation, hence they are never written.
+     *
+     * @param type class of the objects
+     * @return true if the objects of the class can be written field by field
+     */
+    private static boolean isCacheable(Class<?> type) {
+        if (type == CompilerContext.class || isContextComponent(type)) {
+            return false;
+        }
+        String typeName = type.getName();
+        return Arrays.stream(CACHEABLE_PACKAGES).anyMatch(typeName::startsWith);
+    }
+
+    private static boolean isContextComponent(Class<?> type) {
+        try {
+            Method getInstance = type.getDeclaredMethod("getInstance", CompilerContext.class);
+            return Modifier.isStatic(getInstance.getModifiers());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the current state of the given object, that is the values of its fields, or the content of a
+     * collection or an array. The states are compared to find the objects of a package which are changed by the
+     * packages loaded after it.
+     *
+     * @param object object to take the state of
+     * @return state of the object
+     */
+    public static Object[] getState(Object object) {
+        ClassInfo classInfo = getClassInfo(object.getClass());
+        switch (classInfo.kind) {
+            case PLAIN:
+                Object[] values = new Object[classInfo.fields.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = classInfo.getFieldValue(object, i);
+                }
+                return values;
+            case ARRAY:
+                Object[] elements = new Object[Array.getLength(object)];
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = Array.get(object, i);
+                }
+                return elements;
+            case MAP:
+                Map<?, ?> map = (Map<?, ?>) object;
+                Object[] entries = new Object[map.size() * 2];
+                int index = 0;
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    entries[index++] = entry.getKey();
+                    entries[index++] = entry.getValue();
+                }
+                return entries;
+            default:
+                return ((Collection<?>) object).toArray();
+        }
+    }
+
+    public static boolean isSameState(Object[] state, Object[] otherState) {
+        if (state.length != otherState.length) {
+            return false;
+        }
+        for (int i = 0; i < state.length; i++) {
+            Object value = state[i];
+            Object otherValue = otherState[i];
+            if (value == otherValue) {
+                continue;
+            }
+            if (value == null || otherValue == null || !isValue(value) || !value.equals(otherValue)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String fieldKey(Class<?> type, String fieldName) {
+        return type.getName() + "#" + fieldName;
+    }
+
+    /**
+     * Layout of the objects of a class.
+     */
+    static final class ClassInfo {
+
+        final Class<?> type;
+        final byte kind;
+        final Field[] fields;
+        final boolean[] skipped;
+        /**
+         * Whether the objects of this class are written field by field. The fields of the rest of the classes are
+         * only used to find the changes made to the objects.
+         */
+        final boolean cacheable;
+        /**
+         * Class of the collection which is created in place of a collection of this class, when it is read.
+         */
+        final Class<?> collectionType;
+
+        private Constructor<?> constructor;
+        private Object[] arguments;
+
+        private ClassInfo(Class<?> type) {
+            this.type = type;
+            this.kind = getKind(type);
+            this.cacheable = this.kind == PLAIN && isCacheable(type);
+            if (this.kind == PLAIN) {
+                if (type.getName().startsWith("java.")) {
+                    throw new IllegalArgumentException("objects of " + type.getName() + " cannot be cached");
+                }
+                this.fields = getFields(type);
+                this.skipped = new boolean[fields.length];
+                for (int i = 0; i < fields.length; i++) {
+                    this.skipped[i] = SKIPPED_FIELDS.contains(fieldKey(fields[i].getDeclaringClass(),
+                            fields[i].getName()));
+                }
+            } else {
+                this.fields = new Field[0];
+                this.skipped = new boolean[0];
+            }
+            this.collectionType = getCollectionType(type, kind);
+        }
+
+        Object getFieldValue(Object object, int index) {
+            if (skipped[index]) {
+                return null;
+            }
+            try {
+                return fields[index].get(object);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Creates an object of this class, whose fields are going to be set afterwards.
+         *
+         * @return new object of this class
+         * @throws ReflectiveOperationException if the object cannot be created
+         */
+        Object newInstance() throws ReflectiveOperationException {
+            Supplier<Object> factory = FACTORIES.get(type);
+            if (factory != null) {
+                return factory.get();
+            }
+            if (constructor == null) {
+                constructor = getConstructor(type);
+                Class<?>[] parameterTypes = constructor.getParameterTypes();
+                arguments = new Object[parameterTypes.length];
+                for (int i = 0; i < arguments.length; i++) {
+                    if (parameterTypes[i].isPrimitive()) {
+                        // the only element of a new array of a primitive type is the default value of the type
+                        arguments[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+                    }
+                }
+            }
+            try {
+                return constructor.newInstance(arguments);
+            } catch (InvocationTargetException e) {
+                throw new InstantiationException("cannot create an object of " + type.getName() + ": " +
+                        e.getCause());
+            }
+        }
+
+        private static byte getKind(Class<?> type) {
+            if (type.isArray()) {
+                return ARRAY;
+            }
+            if (EnumSet.class.isAssignableFrom(type)) {
+                return ENUM_SET;
+            }
+            // Collections of the compiler are written field by field, the rest, including anonymous subclasses of
+            // the JDK collections, are written by their content.
+            if (isCacheable(type) && !type.isAnonymousClass()) {
+                return PLAIN;
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                return MAP;
+            }
+            if (Set.class.isAssignableFrom(type)) {
+                return SET;
+            }
+            if (Collection.class.isAssignableFrom(type)) {
+                return COLLECTION;
+            }
+            return PLAIN;
+        }
+
+        private static Class<?> getCollectionType(Class<?> type, byte kind) {
+            switch (kind) {
+                case MAP:
+                    if (SortedMap.class.isAssignableFrom(type)) {
+                        return TreeMap.class;
+                    } else if (LinkedHashMap.class.isAssignableFrom(type)) {
+                        return LinkedHashMap.class;
+                    } else if (IdentityHashMap.class.isAssignableFrom(type)) {
+                        return IdentityHashMap.class;
+                    } else if (ConcurrentHashMap.class.isAssignableFrom(type)) {
+                        return ConcurrentHashMap.class;
+                    } else if (HashMap.class.isAssignableFrom(type)) {
+                        return HashMap.class;
+                    }
+                    return LinkedHashMap.class;
+                case SET:
+                    if (SortedSet.class.isAssignableFrom(type)) {
+                        return TreeSet.class;
+                    } else if (LinkedHashSet.class.isAssignableFrom(type)) {
+                        return LinkedHashSet.class;
+                    } else if (HashSet.class.isAssignableFrom(type)) {
+                        return HashSet.class;
+                    }
+                    return LinkedHashSet.class;
+                case COLLECTION:
+                    if (LinkedList.class.isAssignableFrom(type)) {
+                        return LinkedList.class;
+                    } else if (ArrayDeque.class.isAssignableFrom(type)) {
+                        return ArrayDeque.class;
+                    } else if (Stack.class.isAssignableFrom(type)) {
+                        return Stack.class;
+                    } else if (Vector.class.isAssignableFrom(type)) {
+                        return Vector.class;
+                    }
+                    return ArrayList.class;
+                default:
+                    return null;
+            }
+        }
+
+        private static Field[] getFields(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            List<Class<?>> hierarchy = new ArrayList<>();
+            for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+                hierarchy.add(0, current);
+            }
+            for (Class<?> current : hierarchy) {
+                Field[] declaredFields = current.getDeclaredFields();
+                Arrays.sort(declaredFields, Comparator.comparing(Field::getName));
+                for (Field field : declaredFields) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            return fields.toArray(new Field[fields.size()]);
+        }
+
+        private static Constructor<?> getConstructor(Class<?> type) throws NoSuchMethodException {
+            if (Modifier.isAbstract(type.getModifiers())) {
+                throw new NoSuchMethodException(type.getName() + " is abstract");
+            }
+            Constructor<?>[] constructors = type.getDeclaredConstructors();
+            if (constructors.length == 0) {
+                throw new NoSuchMethodException(type.getName() + " has no constructors");
+            }
+            Constructor<?> fewestParameters = Arrays.stream(constructors)
+                    .min(Comparator.comparingInt(Constructor::getParameterCount)).get();
+            fewestParameters.setAccessible(true);
+            return fewestParameters;
+        }
+    }
+}
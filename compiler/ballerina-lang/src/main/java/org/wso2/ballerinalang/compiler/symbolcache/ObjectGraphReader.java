@@ -0,0 +1,415 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.symbolcache;
+
+import org.wso2.ballerinalang.compiler.symbolcache.ObjectGraph.ClassInfo;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the object graph of a package from a symbol cache, as written by {@link ObjectGraphWriter}.
+ * <p>
+ * All the objects are created first, and then their fields and contents are filled in. Sets and maps are filled in
+ * last, since the hash codes of their elements may depend on the fields of the elements. The patches to the external
+ * objects are applied separately, only once the whole graph has been read successfully.
+ *
+ * @since 0.970.0
+ */
+public class ObjectGraphReader {
+
+    private static final int MAX_TABLE_SIZE = 1 << 24;
+
+    private final List<Object[]> sections;
+
+    private String[] strings;
+    private Class<?>[] classes;
+    private byte[] classKinds;
+    private Object[] locals;
+    private final List<Object> roots = new ArrayList<>();
+    private final List<Object[]> patches = new ArrayList<>();
+
+    /**
+     * Creates a reader.
+     *
+     * @param sections objects of the packages the read package refers to, in the order they were given to the
+     *                 writer
+     */
+    public ObjectGraphReader(List<Object[]> sections) {
+        this.sections = sections;
+    }
+
+    public void read(DataInputStream in) throws IOException {
+        readStrings(in);
+        readClasses(in);
+
+        int objectCount = readSize(in);
+        locals = new Object[objectCount];
+        int[] classIndexes = new int[objectCount];
+        for (int i = 0; i < objectCount; i++) {
+            int classIndex = readIndex(in, classes.length);
+            classIndexes[i] = classIndex;
+            locals[i] = newObject(in, classIndex);
+        }
+
+        List<Object[]> pendingContents = new ArrayList<>();
+        for (int i = 0; i < objectCount; i++) {
+            Object object = locals[i];
+            switch (classKinds[classIndexes[i]]) {
+                case ObjectGraph.PLAIN:
+                    readFields(in, object);
+                    break;
+                case ObjectGraph.ARRAY:
+                    readArray(in, object);
+                    break;
+                case ObjectGraph.COLLECTION:
+                    Collection<Object> collection = castCollection(object);
+                    int size = readSize(in);
+                    for (int j = 0; j < size; j++) {
+                        collection.add(readValue(in));
+                    }
+                    break;
+                default:
+                    // Sets and maps
+                    int count = readSize(in) * (classKinds[classIndexes[i]] == ObjectGraph.MAP ? 2 : 1);
+                    Object[] content = new Object[count];
+                    for (int j = 0; j < count; j++) {
+                        content[j] = readValue(in);
+                    }
+                    pendingContents.add(new Object[]{object, content});
+                    break;
+            }
+        }
+        for (Object[] pendingContent : pendingContents) {
+            setContent(pendingContent[0], (Object[]) pendingContent[1]);
+        }
+
+        int rootCount = readSize(in);
+        for (int i = 0; i < rootCount; i++) {
+            roots.add(readValue(in));
+        }
+
+        int patchCount = readSize(in);
+        for (int i = 0; i < patchCount; i++) {
+            byte kind = in.readByte();
+            Object target = readValue(in);
+            if (target == null) {
+                throw new IOException("patch without a target");
+            }
+            if (kind == ObjectGraph.FIELD_PATCH) {
+                ClassInfo classInfo = ObjectGraph.getClassInfo(target.getClass());
+                int fieldIndex = readIndex(in, classInfo.fields.length);
+                patches.add(new Object[]{target, classInfo.fields[fieldIndex], readValue(in)});
+            } else if (kind == ObjectGraph.CONTENT_PATCH) {
+                Object[] content = new Object[readSize(in)];
+                for (int j = 0; j < content.length; j++) {
+                    content[j] = readValue(in);
+                }
+                patches.add(new Object[]{target, null, content});
+            } else {
+                throw new IOException("unknown patch kind " + kind);
+            }
+        }
+    }
+
+    public List<Object> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Returns the objects which have been read. They are referred by the packages loaded after this one by their
+     * index.
+     *
+     * @return the objects which have been read
+     */
+    public Object[] getLocals() {
+        return locals;
+    }
+
+    /**
+     * Applies the changes made to the objects of the packages the read package depends on, while the package was
+     * being analyzed.
+     */
+    public void applyPatches() {
+        for (Object[] patch : patches) {
+            Object target = patch[0];
+            Field field = (Field) patch[1];
+            if (field != null) {
+                setField(field, target, patch[2]);
+            } else if (target.getClass().isArray()) {
+                Object[] content = (Object[]) patch[2];
+                for (int i = 0; i < content.length; i++) {
+                    Array.set(target, i, content[i]);
+                }
+            } else {
+                if (target instanceof Map) {
+                    ((Map<?, ?>) target).clear();
+                } else {
+                    ((Collection<?>) target).clear();
+                }
+                setContent(target, (Object[]) patch[2]);
+            }
+        }
+    }
+
+    // Private methods
+
+    private void readStrings(DataInputStream in) throws IOException {
+        strings = new String[readSize(in)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[readSize(in)];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void readClasses(DataInputStream in) throws IOException {
+        int classCount = readSize(in);
+        classes = new Class<?>[classCount];
+        classKinds = new byte[classCount];
+        for (int i = 0; i < classCount; i++) {
+            byte kind = in.readByte();
+            String className = readString(in);
+            classKinds[i] = kind;
+            switch (kind) {
+                case ObjectGraph.PLAIN:
+                    Class<?> type = loadClass(className);
+                    verifyFields(in, type);
+                    classes[i] = type;
+                    break;
+                case ObjectGraph.COLLECTION:
+                case ObjectGraph.SET:
+                case ObjectGraph.MAP:
+                    Class<?> collectionType = loadClass(readString(in));
+                    if (!ObjectGraph.isCollectionType(collectionType)) {
+                        throw new IOException("unexpected collection " + collectionType.getName());
+                    }
+                    classes[i] = collectionType;
+                    break;
+                case ObjectGraph.ARRAY:
+                case ObjectGraph.ENUM_SET:
+                case ObjectGraph.HOLDER:
+                    classes[i] = loadClass(className);
+                    break;
+                default:
+                    throw new IOException("unknown class kind " + kind);
+            }
+        }
+    }
+
+    private void verifyFields(DataInputStream in, Class<?> type) throws IOException {
+        ClassInfo classInfo;
+        try {
+            classInfo = ObjectGraph.getClassInfo(type);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        if (!classInfo.cacheable) {
+            throw new IOException("objects of " + type.getName() + " cannot be cached");
+        }
+        int fieldCount = readSize(in);
+        boolean matches = fieldCount == classInfo.fields.length;
+        for (int i = 0; i < fieldCount; i++) {
+            String fieldName = readString(in);
+            String fieldType = readString(in);
+            matches = matches && classInfo.fields[i].getName().equals(fieldName) &&
+                    classInfo.fields[i].getType().getName().equals(fieldType);
+        }
+        if (!matches) {
+            throw new IOException("fields of " + type.getName() + " have changed");
+        }
+    }
+
+    private Object newObject(DataInputStream in, int classIndex) throws IOException {
+        Class<?> type = classes[classIndex];
+        try {
+            switch (classKinds[classIndex]) {
+                case ObjectGraph.PLAIN:
+                    return ObjectGraph.getClassInfo(type).newInstance();
+                case ObjectGraph.ARRAY:
+                    return Array.newInstance(type.getComponentType(), readSize(in));
+                case ObjectGraph.ENUM_SET:
+                    return EnumSet.noneOf(type.asSubclass(Enum.class));
+                case ObjectGraph.HOLDER:
+                    throw new IOException("objects of " + type.getName() + " are not cached");
+                default:
+                    return type.getDeclaredConstructor().newInstance();
+            }
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IOException("cannot create an object of " + type.getName(), e);
+        }
+    }
+
+    private void readFields(DataInputStream in, Object object) throws IOException {
+        ClassInfo classInfo = ObjectGraph.getClassInfo(object.getClass());
+        for (int i = 0; i < classInfo.fields.length; i++) {
+            Field field = classInfo.fields[i];
+            Class<?> fieldType = field.getType();
+            Object value = fieldType.isPrimitive() ? readPrimitive(in, fieldType) : readValue(in);
+            if (value != null && !fieldType.isPrimitive() && !fieldType.isInstance(value)) {
+                throw new IOException("unexpected value of " + field);
+            }
+            setField(field, object, value);
+        }
+    }
+
+    private void readArray(DataInputStream in, Object array) throws IOException {
+        Class<?> componentType = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            Object value = componentType.isPrimitive() ? readPrimitive(in, componentType) : readValue(in);
+            if (value != null && !componentType.isPrimitive() && !componentType.isInstance(value)) {
+                throw new IOException("unexpected element of " + array.getClass().getName());
+            }
+            Array.set(array, i, value);
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case ObjectGraph.NULL:
+                return null;
+            case ObjectGraph.LOCAL:
+                return locals[readIndex(in, locals.length)];
+            case ObjectGraph.EXTERNAL:
+                Object[] section = sections.get(readIndex(in, sections.size()));
+                return section[readIndex(in, section.length)];
+            case ObjectGraph.STATIC:
+                return readConstant(readString(in), readString(in));
+            case ObjectGraph.ENUM:
+                Class<?> enumType = classes[readIndex(in, classes.length)];
+                String name = readString(in);
+                try {
+                    return Enum.valueOf(enumType.asSubclass(Enum.class), name);
+                } catch (IllegalArgumentException | ClassCastException e) {
+                    throw new IOException("unknown constant " + name + " of " + enumType.getName(), e);
+                }
+            case ObjectGraph.STRING:
+                return readString(in);
+            case ObjectGraph.INT:
+                return in.readInt();
+            case ObjectGraph.LONG:
+                return in.readLong();
+            case ObjectGraph.DOUBLE:
+                return in.readDouble();
+            case ObjectGraph.FLOAT:
+                return in.readFloat();
+            case ObjectGraph.BOOLEAN:
+                return in.readBoolean();
+            case ObjectGraph.CHAR:
+                return in.readChar();
+            case ObjectGraph.SHORT:
+                return in.readShort();
+            case ObjectGraph.BYTE:
+                return in.readByte();
+            default:
+                throw new IOException("unknown value tag " + tag);
+        }
+    }
+
+    private static Object readPrimitive(DataInputStream in, Class<?> type) throws IOException {
+        if (type == int.class) {
+            return in.readInt();
+        } else if (type == long.class) {
+            return in.readLong();
+        } else if (type == boolean.class) {
+            return in.readBoolean();
+        } else if (type == double.class) {
+            return in.readDouble();
+        } else if (type == float.class) {
+            return in.readFloat();
+        } else if (type == char.class) {
+            return in.readChar();
+        } else if (type == short.class) {
+            return in.readShort();
+        } else {
+            return in.readByte();
+        }
+    }
+
+    private Object readConstant(String className, String fieldName) throws IOException {
+        try {
+            Field field = loadClass(className).getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return field.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IOException("cannot read the constant " + className + "." + fieldName, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setContent(Object target, Object[] content) {
+        if (target instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) target;
+            for (int i = 0; i < content.length; i += 2) {
+                map.put(content[i], content[i + 1]);
+            }
+        } else {
+            Collection<Object> collection = castCollection(target);
+            for (Object element : content) {
+                collection.add(element);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> castCollection(Object object) {
+        return (Collection<Object>) object;
+    }
+
+    private static void setField(Field field, Object target, Object value) {
+        try {
+            field.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Class<?> loadClass(String className) throws IOException {
+        try {
+            return Class.forName(className, false, ObjectGraphReader.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IOException("unknown class " + className, e);
+        }
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        return strings[readIndex(in, strings.length)];
+    }
+
+    private static int readSize(DataInputStream in) throws IOException {
+        return readIndex(in, MAX_TABLE_SIZE);
+    }
+
+    private static int readIndex(DataInputStream in, int limit) throws IOException {
+        int index = in.readInt();
+        if (index < 0 || index >= limit) {
+            throw new IOException("index " + index + " is out of range");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,522 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.symbolcache;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.semantics.model.Scope;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.symbolcache.ObjectGraph.ClassInfo;
+import org.wso2.ballerinalang.compiler.util.Names;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Writes the object graph of a package to a symbol cache.
+ * <p>
+ * The objects reachable from the roots are written, except the objects which are found in the given external
+ * objects, which are written as references to them. The external objects are the objects of the symbol table and of
+ * the packages which have already been written or loaded, grouped by the package they belong to. Changes made to
+ * the external objects are written as patches, which are applied when the package is loaded.
+ *
+ * @since 0.970.0
+ */
+public class ObjectGraphWriter {
+
+    private static final List<Class<?>> STATIC_HOLDERS = Arrays.asList(Names.class, PackageID.class, Scope.class,
+            SymbolTable.class, Collections.class);
+
+    private final Map<Object, Long> externalObjects;
+    private final Map<Object, String[]> constants = new IdentityHashMap<>();
+    private final Set<Class<?>> scannedClasses = new HashSet<>();
+
+    private final Map<Object, Integer> localIds = new IdentityHashMap<>();
+    private final List<Object> locals = new ArrayList<>();
+    private final Deque<Object> pending = new ArrayDeque<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> classIds = new HashMap<>();
+    private final List<ClassEntry> classes = new ArrayList<>();
+    private final Set<Integer> referencedSections = new TreeSet<>();
+
+    private final List<Object> roots = new ArrayList<>();
+    private final List<Object[]> patches = new ArrayList<>();
+
+    /**
+     * Creates a writer.
+     *
+     * @param externalObjects external objects mapped to their references, the index of the package in the upper
+     *                        half and the index of the object within the package in the lower half
+     */
+    public ObjectGraphWriter(Map<Object, Long> externalObjects) {
+        this.externalObjects = externalObjects;
+        STATIC_HOLDERS.forEach(this::scanConstants);
+    }
+
+    public void addRoot(Object root) {
+        roots.add(root);
+        visit(root, "root " + roots.size());
+    }
+
+    /**
+     * Adds a change of a field of an external object.
+     *
+     * @param target     external object
+     * @param fieldIndex index of the field
+     * @param value      new value of the field
+     */
+    public void addFieldPatch(Object target, int fieldIndex, Object value) {
+        patches.add(new Object[]{ObjectGraph.FIELD_PATCH, target, fieldIndex, value});
+        visit(target, "patch");
+        visit(value, "patch of " + target.getClass().getName());
+    }
+
+    /**
+     * Adds a change of the content of an external collection or array.
+     *
+     * @param target  external collection or array
+     * @param content new content, with the keys and the values one after the other for maps
+     */
+    public void addContentPatch(Object target, Object[] content) {
+        patches.add(new Object[]{ObjectGraph.CONTENT_PATCH, target, content});
+        visit(target, "patch");
+        for (Object value : content) {
+            visit(value, "patch of " + target.getClass().getName());
+        }
+    }
+
+    /**
+     * Visits all the objects reachable from the roots and the patches, and returns the packages referred by them.
+     *
+     * @return indexes of the packages the written objects refer to
+     */
+    public Set<Integer> getReferencedSections() {
+        visitPending();
+        return referencedSections;
+    }
+
+    /**
+     * Returns the objects which are written, in the order they are written. They are referred by the packages
+     * written after this one by their index in this list.
+     *
+     * @return the written objects
+     */
+    public List<Object> getLocals() {
+        visitPending();
+        return locals;
+    }
+
+    /**
+     * Writes the object graph.
+     *
+     * @param out            stream to write to
+     * @param sectionIndexes indexes of the referenced packages, within the dependencies written to the header
+     * @throws IOException if writing fails
+     */
+    public void write(DataOutputStream out, Map<Integer, Integer> sectionIndexes) throws IOException {
+        visitPending();
+
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeInt(classes.size());
+        for (ClassEntry entry : classes) {
+            out.writeByte(entry.kind);
+            out.writeInt(stringId(entry.type.getName()));
+            if (entry.kind == ObjectGraph.PLAIN) {
+                ClassInfo classInfo = ObjectGraph.getClassInfo(entry.type);
+                out.writeInt(classInfo.fields.length);
+                for (Field field : classInfo.fields) {
+                    out.writeInt(stringId(field.getName()));
+                    out.writeInt(stringId(field.getType().getName()));
+                }
+            } else if (entry.kind == ObjectGraph.COLLECTION || entry.kind == ObjectGraph.SET ||
+                    entry.kind == ObjectGraph.MAP) {
+                out.writeInt(stringId(ObjectGraph.getClassInfo(entry.type).collectionType.getName()));
+            }
+        }
+
+        out.writeInt(locals.size());
+        for (Object object : locals) {
+            out.writeInt(classIds.get(classKey(object)));
+            if (object.getClass().isArray()) {
+                out.writeInt(Array.getLength(object));
+            }
+        }
+
+        for (Object object : locals) {
+            writeBody(out, object, sectionIndexes);
+        }
+
+        out.writeInt(roots.size());
+        for (Object root : roots) {
+            writeValue(out, root, sectionIndexes);
+        }
+
+        out.writeInt(patches.size());
+        for (Object[] patch : patches) {
+            byte kind = (byte) patch[0];
+            out.writeByte(kind);
+            writeValue(out, patch[1], sectionIndexes);
+            if (kind == ObjectGraph.FIELD_PATCH) {
+                out.writeInt((int) patch[2]);
+                writeValue(out, patch[3], sectionIndexes);
+            } else {
+                Object[] content = (Object[]) patch[2];
+                out.writeInt(content.length);
+                for (Object value : content) {
+                    writeValue(out, value, sectionIndexes);
+                }
+            }
+        }
+    }
+
+    // Private methods
+
+    private void visit(Object value, String path) {
+        if (value == null) {
+            return;
+        }
+        if (ObjectGraph.isValue(value)) {
+            if (value instanceof String) {
+                stringId((String) value);
+            }
+            return;
+        }
+        if (value instanceof Enum) {
+            Class<?> enumType = ((Enum<?>) value).getDeclaringClass();
+            registerClass(ObjectGraph.HOLDER, enumType);
+            stringId(((Enum<?>) value).name());
+            return;
+        }
+
+        Class<?> type = value.getClass();
+        scanConstants(type);
+        String[] constant = constants.get(value);
+        if (constant != null) {
+            stringId(constant[0]);
+            stringId(constant[1]);
+            return;
+        }
+
+        Long externalRef = externalObjects.get(value);
+        if (externalRef != null) {
+            referencedSections.add((int) (externalRef >>> 32));
+            return;
+        }
+
+        if (localIds.containsKey(value)) {
+            return;
+        }
+
+        if (!ObjectGraph.isCacheable(value)) {
+            throw new IllegalArgumentException("objects of " + type.getName() + " cannot be cached, found at " +
+                    path);
+        }
+        ClassInfo classInfo = ObjectGraph.getClassInfo(type);
+        if ((value instanceof SortedSet && ((SortedSet<?>) value).comparator() != null) ||
+                (value instanceof SortedMap && ((SortedMap<?, ?>) value).comparator() != null)) {
+            throw new IllegalArgumentException("sorted collections with comparators cannot be cached, found at " +
+                    path);
+        }
+        if (classInfo.kind == ObjectGraph.ENUM_SET) {
+            registerClass(ObjectGraph.ENUM_SET, getElementType((EnumSet<?>) value));
+        } else {
+            registerClass(classInfo.kind, type);
+        }
+
+        localIds.put(value, locals.size());
+        locals.add(value);
+        pending.add(value);
+    }
+
+    private void visitPending() {
+        while (!pending.isEmpty()) {
+            Object object = pending.poll();
+            ClassInfo classInfo = ObjectGraph.getClassInfo(object.getClass());
+            String path = object.getClass().getName();
+            switch (classInfo.kind) {
+                case ObjectGraph.PLAIN:
+                    for (int i = 0; i < classInfo.fields.length; i++) {
+                        if (!classInfo.fields[i].getType().isPrimitive()) {
+                            visit(classInfo.getFieldValue(object, i), path + "." + classInfo.fields[i].getName());
+                        }
+                    }
+                    break;
+                case ObjectGraph.ARRAY:
+                    if (!object.getClass().getComponentType().isPrimitive()) {
+                        for (Object element : (Object[]) object) {
+                            visit(element, path + "[]");
+                        }
+                    }
+                    break;
+                case ObjectGraph.MAP:
+                    for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                        visit(entry.getKey(), path + " key");
+                        visit(entry.getValue(), path + " value");
+                    }
+                    break;
+                case ObjectGraph.ENUM_SET:
+                    for (Object element : (Collection<?>) object) {
+                        visit(element, path);
+                    }
+                    break;
+                default:
+                    for (Object element : (Collection<?>) object) {
+                        visit(element, path + " element");
+                    }
+                    break;
+            }
+        }
+    }
+
+    private void writeBody(DataOutputStream out, Object object, Map<Integer, Integer> sectionIndexes)
+            throws IOException {
+        ClassInfo classInfo = ObjectGraph.getClassInfo(object.getClass());
+        switch (classInfo.kind) {
+            case ObjectGraph.PLAIN:
+                for (int i = 0; i < classInfo.fields.length; i++) {
+                    Class<?> fieldType = classInfo.fields[i].getType();
+                    Object value = classInfo.getFieldValue(object, i);
+                    if (fieldType.isPrimitive()) {
+                        writePrimitive(out, fieldType, value);
+                    } else {
+                        writeValue(out, value, sectionIndexes);
+                    }
+                }
+                break;
+            case ObjectGraph.ARRAY:
+                Class<?> componentType = object.getClass().getComponentType();
+                int length = Array.getLength(object);
+                for (int i = 0; i < length; i++) {
+                    if (componentType.isPrimitive()) {
+                        writePrimitive(out, componentType, Array.get(object, i));
+                    } else {
+                        writeValue(out, Array.get(object, i), sectionIndexes);
+                    }
+                }
+                break;
+            case ObjectGraph.MAP:
+                Map<?, ?> map = (Map<?, ?>) object;
+                out.writeInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(out, entry.getKey(), sectionIndexes);
+                    writeValue(out, entry.getValue(), sectionIndexes);
+                }
+                break;
+            default:
+                Collection<?> collection = (Collection<?>) object;
+                out.writeInt(collection.size());
+                for (Object element : collection) {
+                    writeValue(out, element, sectionIndexes);
+                }
+                break;
+        }
+    }
+
+    private void writeValue(DataOutputStream out, Object value, Map<Integer, Integer> sectionIndexes)
+            throws IOException {
+        if (value == null) {
+            out.writeByte(ObjectGraph.NULL);
+        } else if (value instanceof String) {
+            out.writeByte(ObjectGraph.STRING);
+            out.writeInt(stringId((String) value));
+        } else if (value instanceof Integer) {
+            out.writeByte(ObjectGraph.INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(ObjectGraph.LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(ObjectGraph.DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(ObjectGraph.FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(ObjectGraph.BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Character) {
+            out.writeByte(ObjectGraph.CHAR);
+            out.writeChar((Character) value);
+        } else if (value instanceof Short) {
+            out.writeByte(ObjectGraph.SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(ObjectGraph.BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Enum) {
+            out.writeByte(ObjectGraph.ENUM);
+            out.writeInt(classIds.get(classKey(ObjectGraph.HOLDER, ((Enum<?>) value).getDeclaringClass())));
+            out.writeInt(stringId(((Enum<?>) value).name()));
+        } else if (constants.containsKey(value)) {
+            String[] constant = constants.get(value);
+            out.writeByte(ObjectGraph.STATIC);
+            out.writeInt(stringId(constant[0]));
+            out.writeInt(stringId(constant[1]));
+        } else if (externalObjects.containsKey(value)) {
+            long externalRef = externalObjects.get(value);
+            out.writeByte(ObjectGraph.EXTERNAL);
+            out.writeInt(sectionIndexes.get((int) (externalRef >>> 32)));
+            out.writeInt((int) externalRef);
+        } else {
+            out.writeByte(ObjectGraph.LOCAL);
+            out.writeInt(localIds.get(value));
+        }
+    }
+
+    private static void writePrimitive(DataOutputStream out, Class<?> type, Object value) throws IOException {
+        if (type == int.class) {
+            out.writeInt((Integer) value);
+        } else if (type == long.class) {
+            out.writeLong((Long) value);
+        } else if (type == boolean.class) {
+            out.writeBoolean((Boolean) value);
+        } else if (type == double.class) {
+            out.writeDouble((Double) value);
+        } else if (type == float.class) {
+            out.writeFloat((Float) value);
+        } else if (type == char.class) {
+            out.writeChar((Character) value);
+        } else if (type == short.class) {
+            out.writeShort((Short) value);
+        } else {
+            out.writeByte((Byte) value);
+        }
+    }
+
+    /**
+     * Finds the constants held in the static final fields of the given class and of its enclosing class, so that
+     * they are written as references to the fields and their identity is preserved when they are read.
+     *
+     * @param type class to scan
+     */
+    private void scanConstants(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+            if (!scannedClasses.add(current) || current.isArray()) {
+                continue;
+            }
+            boolean jdkClass = current.getName().startsWith("java.");
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers) || field.getType().isPrimitive()
+                        || (jdkClass && !Modifier.isPublic(modifiers))) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    Object value = field.get(null);
+                    if (value != null && !ObjectGraph.isValue(value) && !(value instanceof Enum) &&
+                            !constants.containsKey(value)) {
+                        constants.put(value, new String[]{current.getName(), field.getName()});
+                    }
+                } catch (IllegalAccessException | RuntimeException e) {
+                    // Constants which cannot be accessed are not referred by the compiler objects.
+                }
+            }
+        }
+    }
+
+    private static Class<?> getElementType(EnumSet<?> enumSet) {
+        // The complement of an empty set is the whole universe of the enum, hence it has an element.
+        EnumSet<?> elements = enumSet.isEmpty() ? EnumSet.complementOf(enumSet) : enumSet;
+        return ((Enum<?>) elements.iterator().next()).getDeclaringClass();
+    }
+
+    private void registerClass(byte kind, Class<?> type) {
+        String key = classKey(kind, type);
+        if (!classIds.containsKey(key)) {
+            classIds.put(key, classes.size());
+            classes.add(new ClassEntry(kind, type));
+            stringId(type.getName());
+            if (kind == ObjectGraph.PLAIN) {
+                // fail when the cache is written, rather than when it is read
+                try {
+                    ObjectGraph.getClassInfo(type).newInstance();
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    throw new IllegalArgumentException("objects of " + type.getName() + " cannot be created when " +
+                            "the symbol cache is read", e);
+                }
+                for (Field field : ObjectGraph.getClassInfo(type).fields) {
+                    stringId(field.getName());
+                    stringId(field.getType().getName());
+                }
+            } else if (kind == ObjectGraph.COLLECTION || kind == ObjectGraph.SET || kind == ObjectGraph.MAP) {
+                stringId(ObjectGraph.getClassInfo(type).collectionType.getName());
+            }
+        }
+    }
+
+    private String classKey(Object object) {
+        if (object instanceof EnumSet) {
+            return classKey(ObjectGraph.ENUM_SET, getElementType((EnumSet<?>) object));
+        }
+        return classKey(ObjectGraph.getClassInfo(object.getClass()).kind, object.getClass());
+    }
+
+    private static String classKey(byte kind, Class<?> type) {
+        return kind + ":" + type.getName();
+    }
+
+    private int stringId(String string) {
+        Integer id = stringIds.get(string);
+        if (id == null) {
+            id = strings.size();
+            stringIds.put(string, id);
+            strings.add(string);
+        }
+        return id;
+    }
+
+    /**
+     * Entry of the class table.
+     */
+    private static class ClassEntry {
+        final byte kind;
+        final Class<?> type;
+
+        ClassEntry(byte kind, Class<?> type) {
+            this.kind = kind;
+            this.type = type;
+        }
+    }
+}
@@ -38,6 +38,7 @@ public class BLangTableQueryExpression extends BLangExpression implements TableQ
     //This will be generated in desugar phase
     private String sqlQuery;
     private List<BLangExpression> params = new ArrayList<>();
+    private List<String> queryPlan = new ArrayList<>();
 
     @Override
     public void setTableQuery(TableQuery tableQuery) {
@@ -74,4 +75,12 @@ public class BLangTableQueryExpression extends BLangExpression implements TableQ
     public void addParams(List<BLangExpression> params) {
         this.params.addAll(params);
     }
+
+    public List<String> getQueryPlan() {
+        return queryPlan;
+    }
+
+    public void setQueryPlan(List<String> queryPlan) {
+        this.queryPlan = queryPlan;
+    }
 }
@@ -58,4 +58,8 @@ public class CompilerOptions {
     public void put(CompilerOptionName optionName, String value) {
         optionMap.put(optionName, value);
     }
+
+    public void putAll(CompilerOptions options) {
+        optionMap.putAll(options.optionMap);
+    }
 }
@@ -86,6 +86,19 @@ public class BLangDiagnosticLog implements DiagnosticLog {
         listener.received(diagnostic);
     }
 
+    /**
+     * Logs a diagnostic which was created by the diagnostic log of another compiler context, e.g. the one of a
+     * package parsed on a separate thread.
+     *
+     * @param diagnostic the diagnostic to be logged
+     */
+    public void report(Diagnostic diagnostic) {
+        listener.received(diagnostic);
+        if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+            errorCount++;
+        }
+    }
+
     private String formatMessage(String prefix, DiagnosticCode code, Object[] args) {
         String msgKey = messages.getString(prefix + code.getValue());
         return MessageFormat.format(msgKey, args);
@@ -0,0 +1,244 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.parser;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.model.tree.TopLevelNode;
+import org.ballerinalang.repository.PackageRepository;
+import org.ballerinalang.repository.PackageSource;
+import org.ballerinalang.repository.PackageSourceEntry;
+import org.ballerinalang.util.diagnostic.Diagnostic;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.packaging.RepoHierarchy;
+import org.wso2.ballerinalang.compiler.tree.BLangFunction;
+import org.wso2.ballerinalang.compiler.tree.BLangIdentifier;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangRecord;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.Names;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Class to test that packages parsed in the background are the same as the ones parsed one after another.
+ */
+public class ParserTest {
+
+    private static final String SYNTAX_ERRORS = "function f() { int a = ; }\nfunction g( { }\n";
+    private static final String TRANSACTION = "function f() { transaction { int a = 1; } onretry { } }\n";
+    private static final String ANON_RECORD = "function g({int k = 10; string s;} r) { }\n";
+
+    @Test(description = "Syntax errors of packages parsed in the background should be reported in the order the " +
+            "packages are requested")
+    public void testDiagnosticsOrder() {
+        PackageSource first = createPackage("first", SYNTAX_ERRORS);
+        PackageSource second = createPackage("second", SYNTAX_ERRORS, "function h() returns { }\n");
+
+        List<String> diagnostics = new ArrayList<>();
+        CompilerContext context = createContext(diagnostics);
+        Parser.getInstance(context).parse(second);
+        Parser.getInstance(context).parse(first);
+        Assert.assertFalse(diagnostics.isEmpty());
+
+        List<String> asyncDiagnostics = new ArrayList<>();
+        Parser parser = Parser.getInstance(createContext(asyncDiagnostics));
+        Supplier<BLangPackage> firstPkg = parser.parseAsync(first);
+        Supplier<BLangPackage> secondPkg = parser.parseAsync(second);
+        secondPkg.get();
+        firstPkg.get();
+        Assert.assertEquals(asyncDiagnostics, diagnostics);
+    }
+
+    @Test(description = "Only the first package requested should import the transaction package, without " +
+            "changing the anonymous types of the other packages")
+    public void testTransactionImport() {
+        PackageSource first = createPackage("first", TRANSACTION);
+        PackageSource second = createPackage("second", TRANSACTION + ANON_RECORD);
+
+        CompilerContext context = createContext(new ArrayList<>());
+        List<String> firstNodes = getTopLevelNodes(Parser.getInstance(context).parse(first));
+        List<String> secondNodes = getTopLevelNodes(Parser.getInstance(context).parse(second));
+        Assert.assertTrue(firstNodes.contains("import transactions"));
+        Assert.assertFalse(secondNodes.contains("import transactions"));
+        Assert.assertTrue(secondNodes.contains("record $anonRecord$0"));
+
+        Parser parser = Parser.getInstance(createContext(new ArrayList<>()));
+        Supplier<BLangPackage> firstPkg = parser.parseAsync(first);
+        Supplier<BLangPackage> secondPkg = parser.parseAsync(second);
+        Assert.assertEquals(getTopLevelNodes(firstPkg.get()), firstNodes);
+        Assert.assertEquals(getTopLevelNodes(secondPkg.get()), secondNodes);
+    }
+
+    @Test(description = "A package should be parsed again when parsing it in the background fails")
+    public void testFailedParse() {
+        AtomicInteger failures = new AtomicInteger(1);
+        PackageSource pkgSource = createPackage("failing", failures, ANON_RECORD, "function f() { }\n");
+        List<String> diagnostics = new ArrayList<>();
+        Parser parser = Parser.getInstance(createContext(diagnostics));
+
+        BLangPackage pkgNode = parser.parseAsync(pkgSource).get();
+        Assert.assertEquals(failures.get(), 0);
+        Assert.assertEquals(pkgNode.getCompilationUnits().size(), 2);
+        Assert.assertEquals(getTopLevelNodes(pkgNode), Arrays.asList("record $anonRecord$0", "function g",
+                "function f"));
+        Assert.assertTrue(diagnostics.isEmpty());
+    }
+
+    private static CompilerContext createContext(List<String> diagnostics) {
+        CompilerContext context = new CompilerContext();
+        context.put(DiagnosticListener.class, (Diagnostic diagnostic) -> diagnostics.add(
+                diagnostic.getSource().getPackageName() + "/" + diagnostic.getSource().getCompilationUnitName() +
+                        ":" + diagnostic.getPosition().getStartLine() + ": " + diagnostic.getMessage()));
+        return context;
+    }
+
+    private static List<String> getTopLevelNodes(BLangPackage pkgNode) {
+        return pkgNode.getCompilationUnits().stream()
+                .flatMap(compUnit -> compUnit.getTopLevelNodes().stream())
+                .map(ParserTest::describe)
+                .collect(Collectors.toList());
+    }
+
+    private static String describe(TopLevelNode node) {
+        switch (node.getKind()) {
+            case IMPORT:
+                return "import " + ((BLangImportPackage) node).pkgNameComps.stream()
+                        .map(BLangIdentifier::getValue)
+                        .collect(Collectors.joining("."));
+            case RECORD:
+                return "record " + ((BLangRecord) node).name.value;
+            case FUNCTION:
+                return "function " + ((BLangFunction) node).name.value;
+            default:
+                return node.getKind().toString();
+        }
+    }
+
+    private static PackageSource createPackage(String name, String... sources) {
+        return createPackage(name, new AtomicInteger(), sources);
+    }
+
+    private static PackageSource createPackage(String name, AtomicInteger failures, String... sources) {
+        PackageID pkgId = new PackageID(new Name("test"), Arrays.asList(new Name(name)), Names.EMPTY);
+        List<PackageSourceEntry> entries = new ArrayList<>();
+        for (int i = 0; i < sources.length; i++) {
+            entries.add(new TestSourceEntry(pkgId, name + i + ".bal", sources[i], i > 0 ? failures : null));
+        }
+        return new TestPackageSource(pkgId, entries);
+    }
+
+    /**
+     * Package with its sources in memory.
+     */
+    private static class TestPackageSource implements PackageSource {
+
+        private final PackageID pkgId;
+        private final List<PackageSourceEntry> entries;
+
+        TestPackageSource(PackageID pkgId, List<PackageSourceEntry> entries) {
+            this.pkgId = pkgId;
+            this.entries = entries;
+        }
+
+        @Override
+        public PackageID getPackageId() {
+            return pkgId;
+        }
+
+        @Override
+        public List<String> getEntryNames() {
+            return entries.stream().map(PackageSourceEntry::getEntryName).collect(Collectors.toList());
+        }
+
+        @Override
+        public RepoHierarchy getRepoHierarchy() {
+            return null;
+        }
+
+        @Override
+        public PackageSourceEntry getPackageSourceEntry(String name) {
+            return entries.stream().filter(entry -> entry.getEntryName().equals(name)).findFirst().orElse(null);
+        }
+
+        @Override
+        public List<PackageSourceEntry> getPackageSourceEntries() {
+            return entries;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.SOURCE;
+        }
+
+        @Override
+        public String getName() {
+            return pkgId.name.value;
+        }
+
+        @Override
+        public PackageRepository getPackageRepository() {
+            return null;
+        }
+    }
+
+    /**
+     * Source file in memory, which fails to be read as many times as given.
+     */
+    private static class TestSourceEntry implements PackageSourceEntry {
+
+        private final PackageID pkgId;
+        private final String name;
+        private final String code;
+        private final AtomicInteger failures;
+
+        TestSourceEntry(PackageID pkgId, String name, String code, AtomicInteger failures) {
+            this.pkgId = pkgId;
+            this.name = name;
+            this.code = code;
+            this.failures = failures;
+        }
+
+        @Override
+        public PackageID getPackageID() {
+            return pkgId;
+        }
+
+        @Override
+        public String getEntryName() {
+            return name;
+        }
+
+        @Override
+        public byte[] getCode() {
+            if (failures != null && failures.getAndUpdate(count -> Math.max(count - 1, 0)) > 0) {
+                throw new IllegalStateException("cannot read " + name);
+            }
+            return code.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
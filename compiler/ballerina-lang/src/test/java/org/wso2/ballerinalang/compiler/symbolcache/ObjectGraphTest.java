@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.symbolcache;
+
+import org.ballerinalang.model.TreeBuilder;
+import org.ballerinalang.model.elements.Flag;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.tree.BLangFunction;
+import org.wso2.ballerinalang.compiler.tree.BLangIdentifier;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class to test writing the object graphs of packages to symbol caches and reading them back.
+ */
+public class ObjectGraphTest {
+
+    @Test(description = "Objects should be read back with the same values, sharing and order")
+    public void testRoundTrip() throws IOException {
+        BLangIdentifier name = createIdentifier("main");
+        BLangFunction function = (BLangFunction) TreeBuilder.createFunctionNode();
+        function.name = name;
+        function.flagSet = EnumSet.of(Flag.PUBLIC, Flag.NATIVE);
+        Map<String, BLangIdentifier> identifiers = new LinkedHashMap<>();
+        identifiers.put("b", name);
+        identifiers.put("a", createIdentifier("other"));
+
+        ObjectGraphWriter writer = new ObjectGraphWriter(new IdentityHashMap<>());
+        writer.addRoot(function);
+        writer.addRoot(identifiers);
+        ObjectGraphReader reader = read(write(writer), Collections.emptyList());
+
+        BLangFunction readFunction = (BLangFunction) reader.getRoots().get(0);
+        @SuppressWarnings("unchecked")
+        Map<String, BLangIdentifier> readIdentifiers = (Map<String, BLangIdentifier>) reader.getRoots().get(1);
+        Assert.assertNotSame(readFunction, function);
+        Assert.assertEquals(readFunction.name.value, "main");
+        Assert.assertEquals(readFunction.flagSet, EnumSet.of(Flag.PUBLIC, Flag.NATIVE));
+        Assert.assertEquals(new ArrayList<>(readIdentifiers.keySet()), Arrays.asList("b", "a"));
+        Assert.assertSame(readIdentifiers.get("b"), readFunction.name);
+        Assert.assertEquals(readIdentifiers.get("a").value, "other");
+    }
+
+    @Test(description = "Objects of other packages should be referred, and the changes made to them be patched")
+    public void testExternalObjects() throws IOException {
+        BLangIdentifier external = createIdentifier("external");
+        BLangIdentifier changed = createIdentifier("before");
+        Map<Object, Long> externalObjects = new IdentityHashMap<>();
+        externalObjects.put(external, 0L);
+        externalObjects.put(changed, 1L);
+
+        BLangImportPackage importPkgNode = (BLangImportPackage) TreeBuilder.createImportPackageNode();
+        importPkgNode.alias = external;
+        ObjectGraphWriter writer = new ObjectGraphWriter(externalObjects);
+        writer.addRoot(importPkgNode);
+        writer.addFieldPatch(changed, ObjectGraph.getFieldIndex(BLangIdentifier.class, "value"), "after");
+        byte[] bytes = write(writer);
+
+        // The objects of the other package, as loaded by another compilation.
+        BLangIdentifier loadedExternal = createIdentifier("external");
+        BLangIdentifier loadedChanged = createIdentifier("before");
+        ObjectGraphReader reader = read(bytes, Collections.singletonList(new Object[]{loadedExternal, loadedChanged}));
+        reader.applyPatches();
+
+        Assert.assertSame(((BLangImportPackage) reader.getRoots().get(0)).alias, loadedExternal);
+        Assert.assertEquals(loadedChanged.value, "after");
+        Assert.assertEquals(changed.value, "before");
+    }
+
+    @Test(description = "Objects which are not compiler objects should not be written",
+          expectedExceptions = IllegalArgumentException.class)
+    public void testUncacheableObject() {
+        List<Object> values = new ArrayList<>();
+        values.add(new StringBuilder());
+        ObjectGraphWriter writer = new ObjectGraphWriter(new IdentityHashMap<>());
+        writer.addRoot(values);
+        writer.getLocals();
+    }
+
+    @Test(description = "Truncated symbol caches should fail to load",
+          expectedExceptions = IOException.class)
+    public void testTruncatedCache() throws IOException {
+        ObjectGraphWriter writer = new ObjectGraphWriter(new IdentityHashMap<>());
+        writer.addRoot(createIdentifier("main"));
+        byte[] bytes = write(writer);
+        read(Arrays.copyOf(bytes, bytes.length / 2), Collections.emptyList());
+    }
+
+    @Test(description = "Layouts should list the fields of compiler objects, and only the class of collections")
+    public void testLayout() {
+        String layout = ObjectGraph.getLayout(BLangIdentifier.class);
+        Assert.assertTrue(layout.startsWith(BLangIdentifier.class.getName() + ","));
+        Assert.assertTrue(layout.contains(",value:java.lang.String"));
+        Assert.assertEquals(ObjectGraph.getLayout(ArrayList.class), ArrayList.class.getName());
+    }
+
+    private static BLangIdentifier createIdentifier(String value) {
+        BLangIdentifier identifier = (BLangIdentifier) TreeBuilder.createIdentifierNode();
+        identifier.value = value;
+        return identifier;
+    }
+
+    private static byte[] write(ObjectGraphWriter writer) throws IOException {
+        Map<Integer, Integer> sectionIndexes = new HashMap<>();
+        for (int section : writer.getReferencedSections()) {
+            sectionIndexes.put(section, sectionIndexes.size());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.write(new DataOutputStream(bytes), sectionIndexes);
+        return bytes.toByteArray();
+    }
+
+    private static ObjectGraphReader read(byte[] bytes, List<Object[]> sections) throws IOException {
+        ObjectGraphReader reader = new ObjectGraphReader(sections);
+        reader.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        return reader;
+    }
+}
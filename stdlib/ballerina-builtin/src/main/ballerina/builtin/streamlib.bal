@@ -24,14 +24,31 @@ public native function <stream s> publish (any data);
 @Description {value:"Subscribe to structs from a stream"}
 @Param {value:"s: The stream to which subscription is to be done"}
 @Param {value:"func: The function pointer for subscription"}
-public native function <stream s> subscribe (function (any) func);
+@Param {value:"bufferSize: The maximum number of structs waiting to be passed to the function"}
+@Param {value:"overflowPolicy: The action taken when a struct is published while the buffer is full: 'block' the
+publisher, 'drop-oldest' struct in the buffer or 'drop-newest' struct"}
+public native function <stream s> subscribe (function (any) func, int bufferSize = 1024,
+                                             string overflowPolicy = "block");
+
+@Description {value:"Subscribe to structs from a stream, receiving them in batches"}
+@Param {value:"s: The stream to which subscription is to be done"}
+@Param {value:"func: The function pointer for subscription, accepting an array of structs"}
+@Param {value:"maxBatchSize: The maximum number of structs passed to the function at once"}
+@Param {value:"maxBatchWaitTime: The maximum time in milliseconds a struct waits for its batch to be filled"}
+@Param {value:"bufferSize: The maximum number of structs waiting to be passed to the function"}
+@Param {value:"overflowPolicy: The action taken when a struct is published while the buffer is full: 'block' the
+publisher, 'drop-oldest' struct in the buffer or 'drop-newest' struct"}
+public native function <stream s> subscribeBatch (function (any) func, int maxBatchSize = 100,
+                                                  int maxBatchWaitTime = 1000, int bufferSize = 1024,
+                                                  string overflowPolicy = "block");
 
 @Description {value:"Creates the forever runtime"}
-@Param {value:"streamQuery: The siddhi query by which the siddhi app runtime is created"}
+@Param {value:"siddhiApp: Chunks of the serialized siddhi app compiled from the forever, to create the runtime by"}
+@Param {value:"inStreamNames: Names by which the siddhi app refers to the input streams in the forever"}
 @Param {value:"inStreamRefs: References of the input streams in the forever"}
 @Param {value:"inTableRefs: References of the input tables in the forever"}
 @Param {value:"outStreamRefs: References of the output streams in the forever"}
 @Param {value:"outTableRefs: References of the output tables in the forever"}
 @Param {value:"funcPointers: References of the functions to invoke as the streaming action"}
-public native function startForever (string streamQuery, any inStreamRefs, any inTableRefs, any outStreamRefs,
-                                       any outTableRefs, any funcPointers);
+public native function startForever (string[] siddhiApp, string[] inStreamNames, any inStreamRefs, any inTableRefs,
+                                       any outStreamRefs, any outTableRefs, any funcPointers);
@@ -46,16 +46,18 @@ public native function <table dt> remove (function (any) returns (boolean) func)
 @Param {value:"joinTable: The table which is joined with 'fromTable'"}
 @Param {value:"parameters: liternal parameters to be passed to prepared statement 'sqlQuery'"}
 @Param {value:"retType: return type of the resultant table instance"}
+@Param {value:"queryPlan: plan of the query, evaluated over the columns of the tables instead of 'sqlQuery'"}
 native function queryTableWithJoinClause (string sqlQuery, table fromTable, table joinTable, any parameters,
-                                                 any retType) returns (table);
+                                                 any retType, string[] queryPlan) returns (table);
 
 @Description {value:"Execute the given sql query to fetch the records and return as a new in memory table"}
 @Param {value:"sqlQuery: The query to execute"}
 @Param {value:"fromTable: The table on which the query is executed"}
 @Param {value:"parameters: literal parameters to be passed to prepared statement 'sqlQuery'"}
 @Param {value:"retType: return type of the resultant table instance"}
+@Param {value:"queryPlan: plan of the query, evaluated over the columns of the tables instead of 'sqlQuery'"}
 native function queryTableWithoutJoinClause (string sqlQuery, table fromTable, any parameters,
-                                                    any retType) returns (table);
+                                                    any retType, string[] queryPlan) returns (table);
 
 @Description { value:"TableOperationError struct represents an error occured during a operation over a table" }
 @Field {value:"message:  An error message explaining about the error"}
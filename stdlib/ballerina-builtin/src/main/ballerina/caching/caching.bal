@@ -17,7 +17,6 @@
 package ballerina.caching;
 
 import ballerina/task;
-import ballerina/time;
 import ballerina/util;
 
 @Description {value:"Cache cleanup task starting delay in ms."}
@@ -31,12 +30,12 @@ map cacheMap;
 @Description {value:"Cleanup task ID."}
 string cacheCleanupTaskID = createCacheCleanupTask();
 
-@Description {value:"Represents a cache."}
+@Description {value:"Represents a cache. Entries are kept in a native least recently used store, so lookups,
+insertions and evictions take constant time."}
 public type Cache object {
 
     private {
         int capacity;
-        map entries;
         int expiryTimeMillis;
         float evictionFactor;
     }
@@ -57,105 +56,44 @@ public type Cache object {
             error e = {message:"Cache eviction factor must be between 0.0 (exclusive) and 1.0 (inclusive)."};
             throw e;
         }
+        initCache(capacity, expiryTimeMillis, evictionFactor);
         cacheMap[util:uuid()] = self;
     }
 
-    public function hasKey (string key) returns (boolean) {
-        return self.entries.hasKey(key);
-    }
+    @Description {value:"Initializes the native store of the cache."}
+    native function initCache(int capacity, int expiryTimeMillis, float evictionFactor);
+
+    @Description {value:"Checks whether the given key has an associated cache value."}
+    @Param {value:"key: key to be checked"}
+    @Return {value:"boolean: true if a value is cached for the given key"}
+    public native function hasKey (string key) returns (boolean);
 
     @Description {value:"Returns the size of the cache."}
     @Return {value:"int: The size of the cache"}
-    public function size () returns (int) {
-        return lengthof self.entries;
-    }
+    public native function size () returns (int);
 
-    @Description {value:"Adds the given key, value pair to the provided cache."}
+    @Description {value:"Adds the given key, value pair to the provided cache. If the cache is full, the least recently
+    used entries are evicted first, as many as the eviction factor of the cache allows."}
     @Param {value:"key: value which should be used as the key"}
     @Param {value:"value: value to be cached"}
-    public function put (string key, any value) {
-        int cacheCapacity = self.capacity;
-        int cacheSize = lengthof self.entries;
-
-        // if the current cache is full,
-        if (cacheCapacity <= cacheSize) {
-            self.evictCache();
-        }
-        // Add the new entry.
-        int time = time:currentTime().time;
-        CacheEntry entry = {value:value, lastAccessedTime:time};
-        self.entries[key] = entry;
-    }
-
-    @Description {value:"Evicts the cache when cache is full."}
-    function evictCache () {
-        int maxCapacity = self.capacity;
-        float evictionFactor = self.evictionFactor;
-        int numberOfKeysToEvict = <int>(maxCapacity * evictionFactor);
-        // Get the above number of least recently used cache entry keys from the cache
-        string[] cacheKeys = self.getLRUCacheKeys(numberOfKeysToEvict);
-        // Iterate through the map and remove entries.
-        foreach c in cacheKeys {
-            _ = self.entries.remove(c);
-        }
-    }
+    public native function put (string key, any value);
 
     @Description {value:"Returns the cached value associated with the given key. If the provided cache key is not found,
-    an error will be thrown. So use the hasKey function to check for the existance of a particular key."}
+    () is returned."}
     @Param {value:"key: key which is used to retrieve the cached value"}
     @Return {value:"The cached value associated with the given key"}
-    public function get (string key) returns any? {
-        // If the key is not found, an error will be thrown from here.
-        any value = self.entries[key];
-        // So the value will be always not null here.
-        var entry = <CacheEntry>value;
-        match (entry) {
-            CacheEntry ce => {
-                ce.lastAccessedTime = time:currentTime().time;
-                return ce.value;
-            }
-            error e => return ();
-        }
-    }
+    public native function get (string key) returns any?;
 
     @Description {value:"Removes a cached value from a cache."}
     @Param {value:"key: key of the cache entry which needs to be removed"}
-    public function remove (string key) {
-        _ = self.entries.remove(key);
-    }
-
-    public function keys() returns string[] {
-        return entries.keys();
-    }
+    public native function remove (string key);
 
-    @Description {value:"Returns the key of the Least Recently Used cache entry. This is used to remove cache entries if the cache is full."}
-    @Return {value:"numberOfKeysToEvict - number of keys to be evicted"}
-    function getLRUCacheKeys (int numberOfKeysToEvict) returns (string[]) {
-        // Create new arrays to hold keys to be removed and hold the corresponding timestamps.
-        string[] cacheKeysToBeRemoved = [];
-        int[] timestamps = [];
-        map entries = self.entries;
-        string[] keys = entries.keys();
-        // Iterate through each key.
-        foreach key in keys {
-            var entry = <CacheEntry>entries[key];
-            match (entry) {
-                CacheEntry ce => checkAndAdd(numberOfKeysToEvict, cacheKeysToBeRemoved, timestamps, key, ce.lastAccessedTime);
-                error => next;
-            }
-            // Check and add the key to the cacheKeysToBeRemoved if it matches the conditions.
-        }
-        // Return the array.
-        return cacheKeysToBeRemoved;
-    }
-};
+    @Description {value:"Returns the keys of the cache in the order they were added."}
+    @Return {value:"string[]: keys of the cache"}
+    public native function keys() returns string[];
 
-@Description {value:"Represents a cache entry"}
-@Field {value:"value: cache value"}
-@Field {value:"lastAccessedTime: last accessed time in ms of this value which is used to remove LRU cached values"}
-type CacheEntry {
-    any value;
-    int lastAccessedTime;
+    @Description {value:"Removes the cache entries which have not been accessed within the expiry time."}
+    native function evictExpiredEntries();
 };
 
 @Description {value:"Removes expired cache entries from all caches."}
@@ -165,80 +103,13 @@ function runCacheExpiry() returns error? {
     foreach currentCacheKey, currentCacheValue in cacheMap {
         var value = <Cache>currentCacheValue;
         match (value) {
-            Cache currentCache => {
-            // Get the entries in the current cache.
-                map currentCacheEntries = currentCache.entries;
-                // Ge the keys in the current cache.
-                string[] currentCacheEntriesKeys = currentCacheEntries.keys();
-                // Get the expiry time of the current cache
-                int currentCacheExpiryTime = currentCache.expiryTimeMillis;
-
-                // Create a new array to store keys of cache entries which needs to be removed.
-                string[] cachesToBeRemoved = [];
-                int cachesToBeRemovedIndex = 0;
-                // Iterate through all keys.
-                foreach key in currentCacheEntriesKeys {
-                    // Get the corresponding entry from the cache.
-                    var entry = <CacheEntry>currentCacheEntries[key];
-                    match (entry) {
-                        CacheEntry ce => {// Get the current system time.
-                            int currentSystemTime = time:currentTime().time;
-                            // Check whether the cache entry needs to be removed.
-                            if (currentSystemTime >= ce.lastAccessedTime + currentCacheExpiryTime) {
-                                cachesToBeRemoved[cachesToBeRemovedIndex] = key;
-                                cachesToBeRemovedIndex = cachesToBeRemovedIndex + 1;
-                            }
-                        }
-                        error => next;
-                    }
-                }
-
-                // Iterate through the key list which needs to be removed.
-                foreach currentKeyIndex in [0..cachesToBeRemovedIndex) {
-                    string key = cachesToBeRemoved[currentKeyIndex];
-                    // Remove the cache entry.
-                    _ = currentCacheEntries.remove(key);
-                }
-            }
-            error => {
-                next;
-            }
+            Cache currentCache => currentCache.evictExpiredEntries();
+            error => next;
         }
     }
     return ();
 }
 
-function checkAndAdd (int numberOfKeysToEvict, string[] cacheKeys, int[] timestamps, string key, int lastAccessTime) {
-    string myKey = key;
-    int myLastAccessTime = lastAccessTime;
-
-    // Iterate while we count all values from 0 to numberOfKeysToEvict exclusive of numberOfKeysToEvict since the
-    // array size should be numberOfKeysToEvict.
-    foreach index in [0..numberOfKeysToEvict) {
-        // If we have encountered the end of the array, that means we can add the new values to the end of the
-        // array since we haven’t reached the numberOfKeysToEvict limit.
-        if (lengthof cacheKeys == index) {
-            cacheKeys[index] = myKey;
-            timestamps[index] = myLastAccessTime;
-            // Break the loop since we don't have any more elements to compare since we are at the end
-            break;
-        } else {
-            // If the timestamps[index] > lastAccessTime, that means the cache which corresponds to the 'key' is
-            // older than the current entry at the array which we are checking.
-            if (timestamps[index] > myLastAccessTime) {
-                // Swap the values. We use the swapped value to continue to check whether we can find any place to
-                // add it in the array.
-                string tempKey = cacheKeys[index];
-                int tempTimeStamp = timestamps[index];
-                cacheKeys[index] = myKey;
-                timestamps[index] = myLastAccessTime;
-                myKey = tempKey;
-                myLastAccessTime = tempTimeStamp;
-            }
-        }
-    }
-}
-
 @Description {value:"Creates a new cache cleanup task."}
 @Return {value:"string: cache cleanup task ID"}
 function createCacheCleanupTask () returns (string) {
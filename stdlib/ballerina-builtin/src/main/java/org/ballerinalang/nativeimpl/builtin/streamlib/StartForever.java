@@ -20,23 +20,40 @@ package org.ballerinalang.nativeimpl.builtin.streamlib;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
 import org.ballerinalang.bre.bvm.StreamingRuntimeManager;
-import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BFunctionPointer;
 import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BStream;
+import org.ballerinalang.model.values.BStringArray;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
-import org.ballerinalang.siddhi.core.stream.input.InputHandler;
+import org.ballerinalang.siddhi.query.api.SiddhiApp;
+import org.ballerinalang.siddhi.query.api.util.SiddhiConstants;
+import org.ballerinalang.util.exceptions.BallerinaException;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.zip.InflaterInputStream;
 
 /**
  * {@code Start} is the function to start the forever runtime.
+ * <p>
+ * The query of the forever block is compiled to the Siddhi query-API objects at build time, hence the runtime is
+ * created from the deserialized {@link SiddhiApp} without generating and parsing the query text. The serialized app
+ * is passed in chunks, since a single string constant cannot hold the app of a large forever block. The app is
+ * preceded by the version of its format, and only the classes of the Siddhi query API are deserialized.
  *
  * @since 0.965.0
  */
@@ -44,7 +61,8 @@ import java.util.Set;
         orgName = "ballerina", packageName = "builtin",
         functionName = "startForever",
         args = {
-                @Argument(name = "streamQuery", type = TypeKind.STRING),
+                @Argument(name = "siddhiApp", type = TypeKind.ARRAY, elementType = TypeKind.STRING),
+                @Argument(name = "inStreamNames", type = TypeKind.ARRAY, elementType = TypeKind.STRING),
                 @Argument(name = "inStreamRef", type = TypeKind.ARRAY),
                 @Argument(name = "inTableRef", type = TypeKind.ARRAY),
                 @Argument(name = "outStreamRef", type = TypeKind.ARRAY),
@@ -59,36 +77,18 @@ public class StartForever extends BlockingNativeCallableUnit {
     public void execute(Context context) {
         context.setReturnValues();
 
-        StringBuilder streamDefinitionQuery = new StringBuilder();
-        String siddhiQuery = context.getStringArgument(0);
-        BRefValueArray inputStreamReferenceArray = (BRefValueArray) context.getRefArgument(0);
+        SiddhiApp siddhiApp = deserialize((BStringArray) context.getRefArgument(0));
+        SiddhiAppRuntime siddhiAppRuntime = StreamingRuntimeManager.getInstance().createSiddhiAppRuntime(siddhiApp);
 
+        // input streams are named by the compiler, and each distinct stream is passed only once.
+        BStringArray inputStreamNameArray = (BStringArray) context.getRefArgument(1);
+        BRefValueArray inputStreamReferenceArray = (BRefValueArray) context.getRefArgument(2);
         for (int i = 0; i < inputStreamReferenceArray.size(); i++) {
             BStream stream = (BStream) inputStreamReferenceArray.get(i);
-            siddhiQuery = siddhiQuery.replaceFirst("\\[\\[streamName\\]\\]", stream.getStreamId());
-
-            BStructType.StructField[] structFieldArray = stream.getConstraintType().getStructFields();
-            StringBuilder streamDefinition = new StringBuilder("define stream ");
-            streamDefinition.append(stream.getStreamId()).append("( ");
-            generateStreamDefinition(structFieldArray, streamDefinition);
-            streamDefinitionQuery.append(streamDefinition).append("\n ");
-        }
-
-        SiddhiAppRuntime siddhiAppRuntime =
-                StreamingRuntimeManager.getInstance().createSiddhiAppRuntime(streamDefinitionQuery + siddhiQuery);
-        Set<String> streamIds = siddhiAppRuntime.getStreamDefinitionMap().keySet();
-        Map<String, InputHandler> streamSpecificInputHandlerMap = new HashMap<>();
-        for (String streamId : streamIds) {
-            streamSpecificInputHandlerMap.put(streamId, siddhiAppRuntime.getInputHandler(streamId));
+            stream.subscribe(siddhiAppRuntime.getInputHandler(inputStreamNameArray.get(i)));
         }
 
-        BRefValueArray functionPointerArray = (BRefValueArray) context.getRefArgument(4);
-
-        for (int i = 0; i < inputStreamReferenceArray.size(); i++) {
-            BStream stream = (BStream) inputStreamReferenceArray.get(i);
-            InputHandler inputHandler = streamSpecificInputHandlerMap.get(stream.getStreamId());
-            stream.subscribe(inputHandler);
-        }
+        BRefValueArray functionPointerArray = (BRefValueArray) context.getRefArgument(6);
 
         for (int i = 0; i < functionPointerArray.size(); i++) {
             BFunctionPointer functionPointer = (BFunctionPointer) functionPointerArray.get(i);
@@ -98,36 +98,61 @@ public class StartForever extends BlockingNativeCallableUnit {
         }
     }
 
-    private void generateStreamDefinition(BStructType.StructField[] structFieldArray,
-                                          StringBuilder streamDefinition) {
-        BStructType.StructField structField = structFieldArray[0];
-        if (structField != null) {
-            addTypesToStreamDefinitionQuery(streamDefinition, structField);
+    private SiddhiApp deserialize(BStringArray siddhiAppChunks) {
+        StringBuilder serializedSiddhiApp = new StringBuilder();
+        for (int i = 0; i < siddhiAppChunks.size(); i++) {
+            serializedSiddhiApp.append(siddhiAppChunks.get(i));
+        }
+        byte[] bytes = Base64.getDecoder().decode(serializedSiddhiApp.toString());
+        try (ObjectInputStream objectStream = new SiddhiAppInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            int version = objectStream.readInt();
+            if (version != SiddhiConstants.SIDDHI_APP_SERIALIZATION_VERSION) {
+                throw new BallerinaException("failed to load the streaming query: unsupported format version "
+                        + version + ", the program should be rebuilt");
+            }
+            return (SiddhiApp) objectStream.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new BallerinaException("failed to load the streaming query: " + e.getMessage(), e);
         }
+    }
 
-        for (int i = 1; i < structFieldArray.length; i++) {
-            structField = structFieldArray[i];
-            streamDefinition.append(" , ");
-            addTypesToStreamDefinitionQuery(streamDefinition, structField);
+    /**
+     * Object input stream which only resolves the classes a serialized {@link SiddhiApp} is made of: the Siddhi
+     * query-API classes and the JDK classes their fields hold. Any other class in the stream is rejected before it is
+     * instantiated.
+     */
+    private static class SiddhiAppInputStream extends ObjectInputStream {
+
+        private static final String QUERY_API_PACKAGE = SiddhiApp.class.getPackage().getName() + ".";
+        private static final Set<String> JDK_CLASSES = new HashSet<>(Arrays.asList(
+                String.class.getName(), Boolean.class.getName(), Integer.class.getName(), Long.class.getName(),
+                Float.class.getName(), Double.class.getName(), Number.class.getName(), Enum.class.getName(),
+                ArrayList.class.getName(), HashMap.class.getName()));
+
+        private SiddhiAppInputStream(InputStream in) throws IOException {
+            super(in);
         }
 
-        if (structField != null) {
-            streamDefinition.append(" ); ");
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            // element class of an array, e.g. "[[Lorg.ballerinalang...Expression;" or "[I"
+            String elementName = name.replaceFirst("^\\[+", "");
+            if (elementName.length() != name.length()) {
+                elementName = elementName.startsWith("L") && elementName.endsWith(";") ?
+                        elementName.substring(1, elementName.length() - 1) : null;
+            }
+            if (elementName != null && !elementName.startsWith(QUERY_API_PACKAGE)
+                    && !JDK_CLASSES.contains(elementName)) {
+                throw new InvalidClassException(name, "class is not part of a streaming query");
+            }
+            return super.resolveClass(desc);
         }
-    }
 
-    private void addTypesToStreamDefinitionQuery(StringBuilder streamDefinition, BStructType.StructField structField) {
-        streamDefinition.append(structField.fieldName).append(" ");
-        String type = structField.fieldType.toString();
-        //even though, type defined as int, actual value is a long. To handle this case in Siddhi, type is defined
-        //as long.
-        if (type.equalsIgnoreCase("int")) {
-            type = "long";
-        } else if (type.equalsIgnoreCase("float")) {
-            type = "double";
-        } else if (type.equalsIgnoreCase("boolean")) {
-            type = "bool";
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("proxy classes are not part of a streaming query");
         }
-        streamDefinition.append(type);
     }
 }
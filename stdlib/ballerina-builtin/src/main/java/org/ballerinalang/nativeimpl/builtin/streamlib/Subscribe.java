@@ -24,6 +24,7 @@ import org.ballerinalang.model.values.BFunctionPointer;
 import org.ballerinalang.model.values.BStream;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.util.StreamSubscription.OverflowPolicy;
 
 /**
  * {@code Subscribe} is the function to subscribe to data from a stream.
@@ -34,7 +35,9 @@ import org.ballerinalang.natives.annotations.BallerinaFunction;
         functionName = "stream.subscribe",
         args = {
                 @Argument(name = "s", type = TypeKind.STREAM),
-                @Argument(name = "func", type = TypeKind.ANY)
+                @Argument(name = "func", type = TypeKind.ANY),
+                @Argument(name = "bufferSize", type = TypeKind.INT),
+                @Argument(name = "overflowPolicy", type = TypeKind.STRING)
         },
         isPublic = true)
 public class Subscribe extends BlockingNativeCallableUnit {
@@ -43,6 +46,8 @@ public class Subscribe extends BlockingNativeCallableUnit {
     public void execute(Context context) {
         BStream stream = (BStream) context.getRefArgument(0);
         BFunctionPointer functionPointer = (BFunctionPointer) context.getRefArgument(1);
-        stream.subscribe(context, functionPointer);
+        int bufferSize = (int) context.getIntArgument(0);
+        OverflowPolicy overflowPolicy = OverflowPolicy.fromString(context.getStringArgument(0));
+        stream.subscribe(functionPointer, bufferSize, overflowPolicy);
     }
 }
@@ -22,6 +22,7 @@ import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStringArray;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BTable;
 import org.ballerinalang.natives.annotations.Argument;
@@ -44,7 +45,9 @@ import org.ballerinalang.natives.annotations.ReturnType;
                 @Argument(name = "parameters",
                         type = TypeKind.ARRAY),
                 @Argument(name = "retType",
-                        type = TypeKind.ANY)
+                        type = TypeKind.ANY),
+                @Argument(name = "queryPlan",
+                        type = TypeKind.ARRAY, elementType = TypeKind.STRING)
         },
         returnType = {@ReturnType(type = TypeKind.TABLE)})
 public class QueryTableWithJoinClause extends BlockingNativeCallableUnit {
@@ -60,6 +63,8 @@ public class QueryTableWithJoinClause extends BlockingNativeCallableUnit {
         BTable joinTable = (BTable) context.getRefArgument(1);
         BRefValueArray array = (BRefValueArray) context.getRefArgument(2);
         BStruct tableTypeStruct = (BStruct) context.getRefArgument(3);
-        context.setReturnValues(new BTable(query, fromTable, joinTable, tableTypeStruct.getType(), array));
+        BStringArray queryPlan = (BStringArray) context.getRefArgument(4);
+        context.setReturnValues(new BTable(query, fromTable, joinTable, tableTypeStruct.getType(), array,
+                queryPlan));
     }
 }
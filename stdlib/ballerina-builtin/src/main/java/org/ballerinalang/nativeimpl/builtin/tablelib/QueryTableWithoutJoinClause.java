@@ -22,6 +22,7 @@ import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStringArray;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BTable;
 import org.ballerinalang.natives.annotations.Argument;
@@ -42,7 +43,9 @@ import org.ballerinalang.natives.annotations.ReturnType;
                 @Argument(name = "parameters",
                         type = TypeKind.ARRAY),
                 @Argument(name = "retType",
-                        type = TypeKind.TYPEDESC)
+                        type = TypeKind.TYPEDESC),
+                @Argument(name = "queryPlan",
+                        type = TypeKind.ARRAY, elementType = TypeKind.STRING)
         },
         returnType = {@ReturnType(type = TypeKind.TABLE)})
 public class QueryTableWithoutJoinClause extends BlockingNativeCallableUnit {
@@ -57,6 +60,8 @@ public class QueryTableWithoutJoinClause extends BlockingNativeCallableUnit {
         BTable fromTable = (BTable) context.getRefArgument(0);
         BRefValueArray array = (BRefValueArray) context.getRefArgument(1);
         BStruct tableTypeStruct = (BStruct) context.getRefArgument(2);
-        context.setReturnValues(new BTable(query, fromTable, null, tableTypeStruct.getType(), array));
+        BStringArray queryPlan = (BStringArray) context.getRefArgument(3);
+        context.setReturnValues(new BTable(query, fromTable, null, tableTypeStruct.getType(), array,
+                queryPlan));
     }
 }
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.nativeimpl.caching;
+
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.util.metrics.CallbackGauge;
+import org.ballerinalang.util.metrics.DefaultMetricRegistry;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Utilities and statistics shared by the native functions of the caching package.
+ *
+ * @since 0.970.0
+ */
+public class CacheUtils {
+
+    static final String CACHE_NATIVE_DATA = "lruCache";
+
+    private static final LongAdder hitCount = new LongAdder();
+    private static final LongAdder missCount = new LongAdder();
+    private static final LongAdder evictionCount = new LongAdder();
+    private static final AtomicBoolean metricsRegistered = new AtomicBoolean();
+
+    private CacheUtils() {
+    }
+
+    static LRUCache getCache(BStruct cacheStruct) {
+        return (LRUCache) cacheStruct.getNativeData(CACHE_NATIVE_DATA);
+    }
+
+    static void recordHit() {
+        hitCount.increment();
+    }
+
+    static void recordMiss() {
+        missCount.increment();
+    }
+
+    static void recordEviction() {
+        evictionCount.increment();
+    }
+
+    public static long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public static long getMissCount() {
+        return missCount.sum();
+    }
+
+    public static long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Registers the cache statistics as metrics, if metrics are enabled and they have not been registered yet.
+     */
+    static void registerMetrics() {
+        if (DefaultMetricRegistry.getInstance() == null || !metricsRegistered.compareAndSet(false, true)) {
+            return;
+        }
+        final String prefix = "ballerina_cache_";
+        CallbackGauge.builder(prefix + "hit_count", hitCount, LongAdder::doubleValue)
+                .description("Number of cache lookups which found a value").register();
+        CallbackGauge.builder(prefix + "miss_count", missCount, LongAdder::doubleValue)
+                .description("Number of cache lookups which did not find a value").register();
+        CallbackGauge.builder(prefix + "eviction_count", evictionCount, LongAdder::doubleValue)
+                .description("Number of cache entries evicted to free capacity").register();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.nativeimpl.caching;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Removes the entries of a cache which have expired.
+ *
+ * @since 0.970.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "caching",
+        functionName = "Cache.evictExpiredEntries",
+        args = {@Argument(name = "cache", type = TypeKind.STRUCT, structType = "Cache",
+                          structPackage = "ballerina.caching")},
+        isPublic = true
+)
+public class EvictExpiredEntries extends BlockingNativeCallableUnit {
+
+    @Override
+    public void execute(Context context) {
+        BStruct cacheStruct = (BStruct) context.getRefArgument(0);
+        CacheUtils.getCache(cacheStruct).evictExpired(System.currentTimeMillis());
+    }
+}
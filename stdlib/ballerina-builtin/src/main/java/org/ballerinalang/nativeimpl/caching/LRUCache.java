@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.nativeimpl.caching;
+
+import org.ballerinalang.model.values.BValue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code LRUCache} is the native backing store of a Ballerina {@code caching:Cache}.
+ * <p>
+ * Entries are kept in a hash map and in a doubly linked list ordered by the last access, so that lookups,
+ * insertions and evictions of the least recently used entries take constant time. Expired entries are
+ * always found at the least recently used end of the list, hence removing them only visits the expired
+ * entries.
+ *
+ * @since 0.970.0
+ */
+public class LRUCache {
+
+    private final int capacity;
+    private final long expiryTimeMillis;
+    private final int numberOfEntriesToEvict;
+    private final Map<String, Node> entries;
+
+    // sentinel of the circular access ordered list; head.next is the most recently used entry
+    private final Node head = new Node(null, null, 0, 0);
+    private long insertionCount;
+
+    public LRUCache(int capacity, long expiryTimeMillis, double evictionFactor) {
+        this.capacity = capacity;
+        this.expiryTimeMillis = expiryTimeMillis;
+        this.numberOfEntriesToEvict = Math.max(1, (int) (capacity * evictionFactor));
+        this.entries = new HashMap<>(Math.min(capacity, 1024) * 4 / 3 + 1);
+        head.prev = head;
+        head.next = head;
+    }
+
+    public synchronized void put(String key, BValue value, long currentTime) {
+        Node node = entries.get(key);
+        if (node != null) {
+            node.value = value;
+            touch(node, currentTime);
+            return;
+        }
+
+        if (entries.size() >= capacity) {
+            evict(numberOfEntriesToEvict);
+        }
+        node = new Node(key, value, currentTime, insertionCount++);
+        entries.put(key, node);
+        linkFirst(node);
+    }
+
+    /**
+     * Returns the value cached for the given key and marks the entry as the most recently used one.
+     *
+     * @param key         the key of the entry
+     * @param currentTime the current time in milliseconds
+     * @return the cached value, or null if the key is not cached
+     */
+    public synchronized BValue get(String key, long currentTime) {
+        Node node = entries.get(key);
+        if (node == null) {
+            CacheUtils.recordMiss();
+            return null;
+        }
+        CacheUtils.recordHit();
+        touch(node, currentTime);
+        return node.value;
+    }
+
+    public synchronized boolean hasKey(String key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized void remove(String key) {
+        Node node = entries.remove(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the keys of the cache in the order the entries were added.
+     *
+     * @return the keys of the cache
+     */
+    public synchronized String[] keys() {
+        Node[] nodes = entries.values().toArray(new Node[entries.size()]);
+        Arrays.sort(nodes, Comparator.comparingLong(node -> node.insertionOrder));
+        String[] keys = new String[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            keys[i] = nodes[i].key;
+        }
+        return keys;
+    }
+
+    /**
+     * Removes the entries which have not been accessed within the expiry time of the cache.
+     *
+     * @param currentTime the current time in milliseconds
+     */
+    public synchronized void evictExpired(long currentTime) {
+        Node node = head.prev;
+        while (node != head && currentTime >= node.lastAccessedTime + expiryTimeMillis) {
+            Node prev = node.prev;
+            entries.remove(node.key);
+            unlink(node);
+            node = prev;
+        }
+    }
+
+    private void evict(int count) {
+        for (int i = 0; i < count && head.prev != head; i++) {
+            Node node = head.prev;
+            entries.remove(node.key);
+            unlink(node);
+            CacheUtils.recordEviction();
+        }
+    }
+
+    private void touch(Node node, long currentTime) {
+        node.lastAccessedTime = currentTime;
+        if (head.next != node) {
+            unlink(node);
+            linkFirst(node);
+        }
+    }
+
+    private void linkFirst(Node node) {
+        node.prev = head;
+        node.next = head.next;
+        head.next.prev = node;
+        head.next = node;
+    }
+
+    private void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * An entry of the cache.
+     */
+    private static class Node {
+        final String key;
+        final long insertionOrder;
+        BValue value;
+        long lastAccessedTime;
+        Node prev;
+        Node next;
+
+        Node(String key, BValue value, long lastAccessedTime, long insertionOrder) {
+            this.key = key;
+            this.value = value;
+            this.lastAccessedTime = lastAccessedTime;
+            this.insertionOrder = insertionOrder;
+        }
+    }
+}
@@ -118,7 +118,7 @@ public class AuthenticationContext {
     public static Map<String, String> getMapField(BValue bValue) {
         if (bValue != null && bValue instanceof BMap) {
             BMap bMap = (BMap) bValue;
-            return bMap.getMap();
+            return bMap.snapshot();
         }
         return null;
     }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.caching;
+
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.nativeimpl.caching.CacheUtils;
+import org.ballerinalang.nativeimpl.caching.LRUCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the native store of the caching package.
+ */
+public class LRUCacheTest {
+
+    private static final long EXPIRY_TIME = 100;
+
+    @Test
+    public void testHitAndMissCounts() {
+        LRUCache cache = new LRUCache(10, EXPIRY_TIME, 0.2);
+        long hitCount = CacheUtils.getHitCount();
+        long missCount = CacheUtils.getMissCount();
+        cache.put("a", new BString("A"), 0);
+
+        Assert.assertEquals(cache.get("a", 1), new BString("A"));
+        Assert.assertNull(cache.get("b", 2));
+        Assert.assertEquals(cache.get("a", 3), new BString("A"));
+        // checking for a key is not a lookup
+        Assert.assertTrue(cache.hasKey("a"));
+        Assert.assertEquals(CacheUtils.getHitCount(), hitCount + 2);
+        Assert.assertEquals(CacheUtils.getMissCount(), missCount + 1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        LRUCache cache = new LRUCache(3, EXPIRY_TIME, 0.2);
+        long evictionCount = CacheUtils.getEvictionCount();
+        cache.put("a", new BString("A"), 0);
+        cache.put("b", new BString("B"), 1);
+        cache.put("c", new BString("C"), 2);
+        cache.get("a", 3);
+
+        // capacity * evictionFactor rounds down to zero, but one entry still has to be evicted
+        cache.put("d", new BString("D"), 4);
+        Assert.assertEquals(cache.size(), 3);
+        Assert.assertFalse(cache.hasKey("b"));
+        Assert.assertEquals(cache.keys(), new String[]{"a", "c", "d"});
+        Assert.assertEquals(CacheUtils.getEvictionCount(), evictionCount + 1);
+
+        // updating a value marks the entry as used
+        cache.put("c", new BString("C2"), 5);
+        cache.put("e", new BString("E"), 6);
+        Assert.assertEquals(cache.keys(), new String[]{"c", "d", "e"});
+        Assert.assertEquals(cache.get("c", 7), new BString("C2"));
+        Assert.assertEquals(CacheUtils.getEvictionCount(), evictionCount + 2);
+    }
+
+    @Test
+    public void testEvictionFactor() {
+        LRUCache cache = new LRUCache(4, EXPIRY_TIME, 0.5);
+        long evictionCount = CacheUtils.getEvictionCount();
+        for (int i = 0; i < 5; i++) {
+            cache.put("k" + i, new BString("v" + i), i);
+        }
+        Assert.assertEquals(cache.keys(), new String[]{"k2", "k3", "k4"});
+        Assert.assertEquals(CacheUtils.getEvictionCount(), evictionCount + 2);
+    }
+
+    @Test
+    public void testEvictExpired() {
+        LRUCache cache = new LRUCache(10, EXPIRY_TIME, 0.2);
+        long evictionCount = CacheUtils.getEvictionCount();
+        cache.put("a", new BString("A"), 0);
+        cache.put("b", new BString("B"), 50);
+        cache.put("c", new BString("C"), 80);
+        cache.get("a", 90);
+
+        cache.evictExpired(149);
+        Assert.assertEquals(cache.size(), 3);
+        cache.evictExpired(150);
+        Assert.assertEquals(cache.keys(), new String[]{"a", "c"});
+        cache.evictExpired(185);
+        Assert.assertEquals(cache.keys(), new String[]{"a"});
+        cache.evictExpired(190);
+        Assert.assertEquals(cache.size(), 0);
+        // expired entries are not evicted to free capacity
+        Assert.assertEquals(CacheUtils.getEvictionCount(), evictionCount);
+    }
+
+    @Test
+    public void testEvictionAfterExpiry() {
+        LRUCache cache = new LRUCache(2, EXPIRY_TIME, 0.5);
+        long evictionCount = CacheUtils.getEvictionCount();
+        cache.put("a", new BString("A"), 0);
+        cache.put("b", new BString("B"), 10);
+        cache.evictExpired(100);
+
+        // the expired entry freed a slot, so nothing is evicted
+        cache.put("c", new BString("C"), 101);
+        Assert.assertEquals(cache.keys(), new String[]{"b", "c"});
+        Assert.assertEquals(CacheUtils.getEvictionCount(), evictionCount);
+
+        cache.put("d", new BString("D"), 102);
+        Assert.assertEquals(cache.keys(), new String[]{"c", "d"});
+        Assert.assertEquals(CacheUtils.getEvictionCount(), evictionCount + 1);
+        Assert.assertNull(cache.get("b", 103));
+    }
+}
@@ -265,4 +265,15 @@ public class IterableOperationsTests {
         Assert.assertEquals(returns.length, 1);
         Assert.assertEquals(returns[0].stringValue(), "10");
     }
+
+    @Test
+    public void testChainedArrayOperations() {
+        BValue[] returns = BRunUtil.invoke(basic, "testChainedArrayOperations");
+        Assert.assertNotNull(returns);
+        Assert.assertEquals(returns.length, 4);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 36);
+        Assert.assertEquals(returns[1].stringValue(), "[\"0:3\", \"2:4\", \"4:5\"]");
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 8);
+        Assert.assertEquals(((BInteger) returns[3]).intValue(), 0);
+    }
 }
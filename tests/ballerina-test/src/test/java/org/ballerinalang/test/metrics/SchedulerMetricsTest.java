@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.metrics;
+
+import org.ballerinalang.bre.bvm.BLangScheduler;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.util.metrics.CallbackGauge;
+import org.ballerinalang.util.metrics.MetricsLaunchListener;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the scheduler metrics of the fork/join worker thread pool.
+ */
+public class SchedulerMetricsTest extends MetricTest {
+
+    private static final String PREFIX = "ballerina_scheduler_";
+
+    private CompileResult compileResult;
+    private Field statsEnabledField;
+    private boolean statsEnabled;
+
+    @BeforeClass
+    public void setup() throws ReflectiveOperationException {
+        // the scheduler stats are read from the configuration once, when the scheduler is loaded
+        statsEnabledField = BLangScheduler.class.getDeclaredField("schedulerStatsEnabled");
+        statsEnabledField.setAccessible(true);
+        statsEnabled = statsEnabledField.getBoolean(null);
+        statsEnabledField.setBoolean(null, true);
+        new MetricsLaunchListener().beforeRunProgram(false);
+        compileResult = BCompileUtil.compile("test-src/metrics/scheduler-metrics-test.bal");
+    }
+
+    @Test
+    public void testSchedulerGaugesRegistered() {
+        String[] names = {"local_schedule_count", "external_schedule_count", "steal_count",
+                "queued_execution_count", "active_thread_count"};
+        for (String name : names) {
+            Assert.assertTrue(getGaugeValue(name) >= 0, name + " is not registered");
+        }
+    }
+
+    @Test
+    public void testForkJoinScheduling() {
+        BLangScheduler.SchedulerStats stats = BLangScheduler.getStats();
+        long localScheduleCount = stats.getLocalScheduleCount();
+        long externalScheduleCount = stats.getExternalScheduleCount();
+
+        BValue[] returns = BRunUtil.invoke(compileResult, "testForkJoin");
+        Assert.assertEquals(returns[0], new BInteger(500500 + 2001000));
+
+        // the forked workers are submitted from the caller thread, and the async calls of those workers are
+        // queued in the local queues of the worker threads running them
+        Assert.assertTrue(stats.getExternalScheduleCount() >= externalScheduleCount + 2);
+        Assert.assertTrue(stats.getLocalScheduleCount() >= localScheduleCount + 4);
+
+        ForkJoinPool workerExecutor = ThreadPoolFactory.getInstance().getWorkerExecutor();
+        Assert.assertTrue(workerExecutor.awaitQuiescence(10, TimeUnit.SECONDS));
+        Assert.assertEquals(getGaugeValue("local_schedule_count"), (double) stats.getLocalScheduleCount());
+        Assert.assertEquals(getGaugeValue("external_schedule_count"), (double) stats.getExternalScheduleCount());
+        Assert.assertEquals(getGaugeValue("steal_count"), (double) workerExecutor.getStealCount());
+        Assert.assertEquals(getGaugeValue("queued_execution_count"), 0.0);
+        Assert.assertEquals(getGaugeValue("active_thread_count"), 0.0);
+    }
+
+    @AfterClass
+    public void tearDown() throws IllegalAccessException {
+        statsEnabledField.setBoolean(null, statsEnabled);
+    }
+
+    private double getGaugeValue(String name) {
+        // returns the gauge registered by the launch listener, if there is one
+        return CallbackGauge.builder(PREFIX + name, this, test -> -1).register().get();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.packaging;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
+import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
+import static org.ballerinalang.compiler.CompilerOptionName.REBUILD;
+
+/**
+ * Test cases for building only the packages of a project which have changed since the last build.
+ *
+ * @since 0.970.0
+ */
+public class IncrementalBuildTest {
+
+    private static final FileTime OLD_TIME = FileTime.fromMillis(0);
+
+    private Path projectDirectory;
+    private Path fooBinary;
+    private Path barBinary;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        projectDirectory = Files.createTempDirectory("bal-unit-test-incremental-build-");
+        Files.createDirectories(projectDirectory.resolve(".ballerina"));
+        Files.write(projectDirectory.resolve("Ballerina.toml"),
+                "[project]\norg-name = \"foo\"\nversion = \"0.0.1\"\n".getBytes(StandardCharsets.UTF_8));
+        writeSource("bar", "public function getName() returns string {\n    return \"bar\";\n}\n");
+        writeSource("foo", "import foo/bar;\n\npublic function getName() returns string {\n" +
+                "    return bar:getName();\n}\n");
+        fooBinary = projectDirectory.resolve("target").resolve("foo.balx");
+        barBinary = projectDirectory.resolve("target").resolve("bar.balx");
+        build(false);
+    }
+
+    @Test
+    public void testUnchangedPackagesNotBuilt() throws IOException {
+        Files.setLastModifiedTime(fooBinary, OLD_TIME);
+        Files.setLastModifiedTime(barBinary, OLD_TIME);
+
+        build(false);
+        Assert.assertEquals(Files.getLastModifiedTime(fooBinary), OLD_TIME);
+        Assert.assertEquals(Files.getLastModifiedTime(barBinary), OLD_TIME);
+    }
+
+    @Test(dependsOnMethods = "testUnchangedPackagesNotBuilt")
+    public void testChangedDependencyBuilt() throws IOException {
+        Files.setLastModifiedTime(fooBinary, OLD_TIME);
+        Files.setLastModifiedTime(barBinary, OLD_TIME);
+        writeSource("bar", "public function getName() returns string {\n    return \"baz\";\n}\n");
+
+        build(false);
+        Assert.assertNotEquals(Files.getLastModifiedTime(fooBinary), OLD_TIME);
+        Assert.assertNotEquals(Files.getLastModifiedTime(barBinary), OLD_TIME);
+    }
+
+    @Test(dependsOnMethods = "testChangedDependencyBuilt")
+    public void testModifiedBinaryBuilt() throws IOException {
+        Files.write(barBinary, new byte[0]);
+        Files.setLastModifiedTime(fooBinary, OLD_TIME);
+
+        build(false);
+        Assert.assertNotEquals(Files.size(barBinary), 0L);
+        Assert.assertEquals(Files.getLastModifiedTime(fooBinary), OLD_TIME);
+    }
+
+    @Test(dependsOnMethods = "testModifiedBinaryBuilt")
+    public void testRebuild() throws IOException {
+        Files.setLastModifiedTime(fooBinary, OLD_TIME);
+        Files.setLastModifiedTime(barBinary, OLD_TIME);
+
+        build(true);
+        Assert.assertNotEquals(Files.getLastModifiedTime(fooBinary), OLD_TIME);
+        Assert.assertNotEquals(Files.getLastModifiedTime(barBinary), OLD_TIME);
+    }
+
+    @AfterClass
+    public void teardown() throws IOException {
+        Files.walk(projectDirectory)
+             .sorted(Comparator.reverseOrder())
+             .forEach(path -> {
+                 try {
+                     Files.delete(path);
+                 } catch (IOException e) {
+                     Assert.fail(e.getMessage(), e);
+                 }
+             });
+    }
+
+    private void writeSource(String pkgName, String code) throws IOException {
+        Path pkgDirectory = Files.createDirectories(projectDirectory.resolve(pkgName));
+        Files.write(pkgDirectory.resolve(pkgName + ".bal"), code.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void build(boolean rebuild) {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(PROJECT_DIR, projectDirectory.toString());
+        options.put(OFFLINE, "true");
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        options.put(REBUILD, Boolean.toString(rebuild));
+        Compiler.getInstance(context).build();
+    }
+}
@@ -17,6 +17,7 @@
 */
 package org.ballerinalang.test.streaming;
 
+import org.ballerinalang.launcher.util.BAssertUtil;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
@@ -35,11 +36,13 @@ public class FilterTest {
 
     private CompileResult result;
     private CompileResult resultWithReference;
+    private CompileResult resultNegative;
 
     @BeforeClass
     public void setup() {
         result = BCompileUtil.compile("test-src/streaming/filter-streaming-test.bal");
         resultWithReference = BCompileUtil.compile("test-src/streaming/filter-streaming-with-reference-test.bal");
+        resultNegative = BCompileUtil.compile("test-src/streaming/filter-streaming-negative-test.bal");
     }
 
     @Test(description = "Test filter streaming query")
@@ -71,4 +74,11 @@ public class FilterTest {
         Assert.assertEquals(employee1.getIntField(0), 45);
     }
 
+    @Test(description = "Test filter streaming query which is not a valid Siddhi query")
+    public void testFilterQueryNegativeCases() {
+        Assert.assertEquals(resultNegative.getErrorCount(), 1);
+        BAssertUtil.validateError(resultNegative, 0,
+                "invalid streaming query: Syntax error in SiddhiQL, no viable alternative at input 'trigger'.",
+                26, 5);
+    }
 }
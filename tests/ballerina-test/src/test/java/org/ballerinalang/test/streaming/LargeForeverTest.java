@@ -0,0 +1,115 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.streaming;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * This contains methods to test forever blocks whose compiled siddhi app does not fit in a single string constant.
+ *
+ * @since 0.970.0
+ */
+public class LargeForeverTest {
+
+    private static final int QUERY_COUNT = 100;
+    private static final int NAMES_PER_QUERY = 20;
+
+    private Path sourceFile;
+    private String[] names = new String[QUERY_COUNT * NAMES_PER_QUERY];
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        // Random names, so that the siddhi app is still larger than 32 KB once it is compressed.
+        Random random = new Random(QUERY_COUNT);
+        for (int i = 0; i < names.length; i++) {
+            names[i] = String.format("%016x%016x", random.nextLong(), random.nextLong());
+        }
+        StringBuilder forever = new StringBuilder("function testFilterQuery() {\n    forever {\n");
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            forever.append("        from teacherStream\n        where ");
+            for (int j = 0; j < NAMES_PER_QUERY; j++) {
+                forever.append(j == 0 ? "" : " || ").append("name == \"").append(names[i * NAMES_PER_QUERY + j])
+                       .append("\"");
+            }
+            forever.append("\n        select name, age\n        => (Employee[] emp) {\n" +
+                    "            employeeStream.publish(emp);\n        }\n");
+        }
+        forever.append("    }\n}\n");
+        Assert.assertTrue(forever.length() > 32 * 1024);
+
+        sourceFile = Files.createTempFile("bal-unit-test-large-forever-", ".bal");
+        String code = "import ballerina/runtime;\n\n" +
+                "type Employee {\n    string name;\n    int age;\n};\n\n" +
+                "type Teacher {\n    string name;\n    int age;\n    string school;\n};\n\n" +
+                "Employee[] globalEmployeeArray = [];\n" +
+                "stream<Employee> employeeStream;\n" +
+                "stream<Teacher> teacherStream;\n\n" +
+                forever +
+                "\nfunction startFilterQuery(string matchingName) returns (Employee[]) {\n" +
+                "    testFilterQuery();\n" +
+                "    employeeStream.subscribe(addToGlobalEmployeeArray);\n" +
+                "    Teacher t1 = {name:\"Raja\", age:25, school:\"Hindu College\"};\n" +
+                "    Teacher t2 = {name:matchingName, age:33, school:\"Thomas College\"};\n" +
+                "    teacherStream.publish(t1);\n" +
+                "    teacherStream.publish(t2);\n" +
+                "    runtime:sleepCurrentWorker(1000);\n" +
+                "    return globalEmployeeArray;\n" +
+                "}\n\n" +
+                "function addToGlobalEmployeeArray(Employee e) {\n" +
+                "    globalEmployeeArray[lengthof globalEmployeeArray] = e;\n" +
+                "}\n";
+        Files.write(sourceFile, code.getBytes(StandardCharsets.UTF_8));
+        result = BCompileUtil.compile(sourceFile.getParent().toString(), sourceFile.getFileName().toString(),
+                CompilerPhase.CODE_GEN);
+    }
+
+    @Test(description = "Test a forever block with a siddhi app larger than a string constant")
+    public void testLargeForever() {
+        Assert.assertEquals(result.getErrorCount(), 0);
+        String matchingName = names[names.length / 2 + 1];
+        BValue[] outputEmployeeEvents = BRunUtil.invoke(result, "startFilterQuery",
+                new BValue[]{new BString(matchingName)});
+        Assert.assertEquals(outputEmployeeEvents.length, 1, "Expected events are not received");
+
+        BStruct employee = (BStruct) outputEmployeeEvents[0];
+        Assert.assertEquals(employee.getStringField(0), matchingName);
+        Assert.assertEquals(employee.getIntField(0), 33);
+    }
+
+    @AfterClass
+    public void teardown() throws IOException {
+        Files.deleteIfExists(sourceFile);
+    }
+}
@@ -24,8 +24,14 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The following tests will verify Ballerina's custom JSON parser and generator
@@ -325,4 +331,79 @@ public class JSONLibraryTest {
         JsonNode node = JsonParser.parse(json);
         Assert.assertEquals(node.toString(), "{\"fruits\":[\"apple\",\"orange\",\"grapes\"]}");
     }
+
+    @Test
+    public void testParseBytes() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"name\":\"\u0d9a\u00e9\u4e2d").append(i).append("\",\"id\":")
+                    .append(-i).append("}");
+        }
+        json.append("]");
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+
+        JsonNode bufferNode = JsonParser.parse(ByteBuffer.wrap(bytes));
+        JsonNode streamNode = JsonParser.parse(new ByteArrayInputStream(bytes), "UTF-8");
+        Assert.assertEquals(bufferNode.size(), 2000);
+        Assert.assertEquals(bufferNode.get(1999).get("name").stringValue(), "\u0d9a\u00e9\u4e2d1999");
+        Assert.assertEquals(bufferNode.get(1999).get("id").longValue(), -1999);
+        Assert.assertEquals(bufferNode.toString(), JsonParser.parse(json.toString()).toString());
+        Assert.assertEquals(streamNode.toString(), bufferNode.toString());
+    }
+
+    @Test
+    public void testParseIntegers() {
+        JsonNode node = JsonParser.parse("[0, -0, 123456789012345678, -9223372036854775808, 9223372036854775807]");
+        Assert.assertEquals(node.get(0).longValue(), 0);
+        Assert.assertEquals(node.get(1).longValue(), 0);
+        Assert.assertEquals(node.get(2).longValue(), 123456789012345678L);
+        Assert.assertEquals(node.get(3).longValue(), Long.MIN_VALUE);
+        Assert.assertEquals(node.get(4).longValue(), Long.MAX_VALUE);
+    }
+
+    @Test(expectedExceptions = { BallerinaException.class },
+            expectedExceptionsMessageRegExp = "unrecognized token '-' at line: 1 column: .*")
+    public void testParseInvalidInteger() {
+        JsonParser.parse("[1,-]");
+    }
+
+    @Test
+    public void testParseArrayElements() {
+        String json = "[{\"id\":1,\"tags\":[\"a\",\"b\"]}, 2, -3.5, \"four\", true, false, null, [5, [6]], {}]";
+        List<JsonNode> elements = new ArrayList<>();
+        JsonParser.parseArray(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "UTF-8",
+                elements::add);
+        JsonNode array = JsonParser.parse(json);
+        Assert.assertEquals(elements.size(), array.size());
+        for (int i = 0; i < elements.size(); i++) {
+            Assert.assertEquals(elements.get(i).toString(), array.get(i).toString());
+        }
+
+        List<JsonNode> readerElements = new ArrayList<>();
+        JsonParser.parseArray(new StringReader(json), readerElements::add);
+        Assert.assertEquals(readerElements.toString(), elements.toString());
+    }
+
+    @Test
+    public void testParseJsonInArrayElementConsumer() {
+        List<String> elements = new ArrayList<>();
+        JsonParser.parseArray(new StringReader("[{\"id\":1}, {\"id\":2}]"),
+                element -> elements.add(JsonParser.parse(element.toString()).get("id").toString()));
+        Assert.assertEquals(elements.toString(), "[1, 2]");
+    }
+
+    @Test
+    public void testParseEmptyArrayElements() {
+        List<JsonNode> elements = new ArrayList<>();
+        JsonParser.parseArray(new ByteArrayInputStream(" [ ] ".getBytes(StandardCharsets.UTF_8)), "UTF-8",
+                elements::add);
+        Assert.assertTrue(elements.isEmpty());
+    }
+
+    @Test(expectedExceptions = { BallerinaException.class },
+            expectedExceptionsMessageRegExp = "expected \\[ at line: 1 column: .*")
+    public void testParseArrayElementsOfObject() {
+        JsonParser.parseArray(new ByteArrayInputStream("{\"id\":1}".getBytes(StandardCharsets.UTF_8)), "UTF-8",
+                element -> Assert.fail("the elements of an object are not streamed"));
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.types.json;
+
+import org.ballerinalang.model.util.JsonNode;
+import org.ballerinalang.model.util.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compares parsing UTF-8 JSON bytes through a {@code BufferedInputStream} and an {@code InputStreamReader}, as
+ * {@link JsonParser#parse(java.io.InputStream, String)} did before it decoded bytes itself, with decoding the bytes
+ * directly from an input stream, a heap buffer and a direct buffer, and with streaming the elements of the array
+ * from an input stream with {@link JsonParser#parseArray(java.io.InputStream, String, java.util.function.Consumer)}.
+ * Payloads of 1KB, 100KB and 10MB are arrays of small objects. It is run as a main class instead of a test, since it
+ * takes a while and its timings are not asserted.
+ */
+public class JsonParserBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(JsonParserBenchmark.class);
+
+    private static final int[] PAYLOAD_SIZES = {1024, 100 * 1024, 10 * 1024 * 1024};
+    // total number of bytes parsed for each payload size and way of parsing
+    private static final long BYTES_PER_RUN = 500L * 1024 * 1024;
+    private static final String[] PATHS = {"reader", "input stream", "heap buffer", "direct buffer",
+            "streamed input stream"};
+    private static final int STREAMED_PATH = 4;
+
+    private static long streamedElements;
+
+    public static void main(String[] args) {
+        for (int payloadSize : PAYLOAD_SIZES) {
+            byte[] payload = createPayload(payloadSize);
+            ByteBuffer directBuffer = ByteBuffer.allocateDirect(payload.length);
+            directBuffer.put(payload).flip();
+            int iterations = (int) Math.max(5, BYTES_PER_RUN / payload.length);
+            String expected = JsonParser.parse(new String(payload, StandardCharsets.UTF_8)).toString();
+            for (int path = 0; path < PATHS.length; path++) {
+                if (!parseTree(path, payload, directBuffer).toString().equals(expected)) {
+                    throw new IllegalStateException("Parsing through the " + PATHS[path] + " gave a different "
+                            + "result");
+                }
+                // warm up before measuring
+                for (int i = 0; i < iterations / 5; i++) {
+                    parse(path, payload, directBuffer);
+                }
+                long allocatedBefore = getAllocatedBytes();
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    parse(path, payload, directBuffer);
+                }
+                long time = System.nanoTime() - start;
+                long allocated = getAllocatedBytes() - allocatedBefore;
+                log.info(payload.length / 1024 + "KB payload through the " + PATHS[path] + ": "
+                        + (long) payload.length * iterations * 1000 / time + " MB/s"
+                        + (allocatedBefore < 0 ? "" : ", " + allocated / iterations / 1024 + "KB allocated per parse"));
+            }
+        }
+    }
+
+    private static JsonNode parseTree(int path, byte[] payload, ByteBuffer directBuffer) {
+        if (path != STREAMED_PATH) {
+            return parse(path, payload, directBuffer);
+        }
+        JsonNode array = new JsonNode(JsonNode.Type.ARRAY);
+        JsonParser.parseArray(new ByteArrayInputStream(payload), StandardCharsets.UTF_8.name(), array::add);
+        return array;
+    }
+
+    private static JsonNode parse(int path, byte[] payload, ByteBuffer directBuffer) {
+        switch (path) {
+            case 0:
+                return JsonParser.parse(new InputStreamReader(new BufferedInputStream(
+                        new ByteArrayInputStream(payload)), StandardCharsets.UTF_8));
+            case 1:
+                return JsonParser.parse(new ByteArrayInputStream(payload), StandardCharsets.UTF_8.name());
+            case 2:
+                return JsonParser.parse(ByteBuffer.wrap(payload));
+            case 3:
+                return JsonParser.parse(directBuffer.duplicate());
+            default:
+                // only one element of the array is held at a time
+                JsonParser.parseArray(new ByteArrayInputStream(payload), StandardCharsets.UTF_8.name(),
+                        element -> streamedElements++);
+                return null;
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        // allocation is only reported by HotSpot based JVMs
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static byte[] createPayload(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; json.length() < size - 1; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"item").append(i)
+                    .append("\",\"price\":").append(i * 0.25).append(",\"active\":").append(i % 2 == 0)
+                    .append("}");
+        }
+        return json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -108,6 +108,67 @@ public class BMapValueTest {
         assertEquals(map.hasKey(new BString("APIM")), true);
     }
 
+    @Test
+    public void testBMapInsertionOrder() {
+        BMap<String, BInteger> map = new BMap<>();
+        map.put("c", new BInteger(0));
+        map.put("a", new BInteger(1));
+        map.put("b", new BInteger(2));
+        map.put("a", new BInteger(3));
+        map.remove("c");
+        map.put("c", new BInteger(4));
+        assertEquals(map.keySet().toArray(), new String[] { "a", "b", "c" });
+        assertEquals(map.get("a"), new BInteger(3));
+        assertEquals(map.snapshot().keySet().toArray(), new String[] { "a", "b", "c" });
+    }
+
+    @Test
+    public void testBMapIterationWithModification() {
+        BMap<String, BInteger> map = new BMap<>();
+        for (int i = 0; i < 5; i++) {
+            map.put(String.valueOf(i), new BInteger(i));
+        }
+        Iterator<String> keys = map.keySet().iterator();
+        assertEquals(keys.next(), "0");
+        // entries removed ahead of the iterator are not visited, and entries added are
+        map.remove("1");
+        map.remove("0");
+        map.put("5", new BInteger(5));
+        StringBuilder visited = new StringBuilder();
+        while (keys.hasNext()) {
+            visited.append(keys.next());
+        }
+        assertEquals(visited.toString(), "2345");
+    }
+
+    @Test
+    public void testBMapNullKey() {
+        BMap<String, BInteger> map = new BMap<>();
+        assertEquals(map.get(null), null);
+        assertEquals(map.hasKey(null), false);
+        assertEquals(map.remove(null), false);
+
+        map.put("a", new BInteger(1));
+        map.put(null, new BInteger(2));
+        assertEquals(map.get(null), new BInteger(2));
+        assertEquals(map.hasKey(null), true);
+        assertEquals(map.keySet().toArray(), new String[] { "a", null });
+        assertEquals(map.remove(null), true);
+        assertEquals(map.hasKey(null), false);
+        assertEquals(map.size(), 1);
+    }
+
+    @Test
+    public void testBMapSnapshot() {
+        BMap<String, BInteger> map = new BMap<>();
+        map.put("a", new BInteger(1));
+        Map<String, BInteger> snapshot = map.snapshot();
+        map.put("b", new BInteger(2));
+        snapshot.remove("a");
+        assertEquals(snapshot.isEmpty(), true);
+        assertEquals(map.keySet().toArray(), new String[] { "a", "b" });
+    }
+
     @Test
     void testGrammar() {
         programFile = BCompileUtil.compile("test-src/types/map/map-value.bal");
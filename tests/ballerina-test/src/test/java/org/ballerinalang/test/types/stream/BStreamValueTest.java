@@ -19,6 +19,7 @@ package org.ballerinalang.test.types.stream;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
@@ -109,4 +110,86 @@ public class BStreamValueTest {
                                 "Object field \"name\" of received event does not match that of published event");
         }
     }
+
+    @Test(description = "Test receipt of events in batches with a batch subscription")
+    public void testStreamBatchSubscription() {
+        BValue[] returns = BRunUtil.invoke(result, "testStreamBatchSubscription");
+        BRefValueArray publishedEmployeeEvents = (BRefValueArray) returns[0];
+        BRefValueArray receivedEmployeeEvents = (BRefValueArray) returns[1];
+        Assert.assertEquals(receivedEmployeeEvents.size(), publishedEmployeeEvents.size(), "Number of Employee "
+                + "Events received does not match the number published");
+        for (int i = 0; i < publishedEmployeeEvents.size(); i++) {
+            Assert.assertEquals(((BStruct) receivedEmployeeEvents.get(i)).getIntField(0),
+                                ((BStruct) publishedEmployeeEvents.get(i)).getIntField(0),
+                                "Events are not received in the order they were published");
+        }
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 2, "Events are not received in batches of two");
+    }
+
+    @Test(description = "Test batch subscribing with a function accepting a single object",
+            expectedExceptions = { BLangRuntimeException.class },
+            expectedExceptionsMessageRegExp = ".*message: incompatible function: batch subscription function needs "
+                    + "to be a function accepting an array of objects of type:Employee.*")
+    public void testBatchSubscriptionFunctionWithObjectParameter() {
+        BRunUtil.invoke(result, "testBatchSubscriptionFunctionWithObjectParameter");
+    }
+
+    @Test(description = "Test subscribing with an unknown overflow policy",
+            expectedExceptions = { BLangRuntimeException.class },
+            expectedExceptionsMessageRegExp = ".*message: invalid overflow policy: drop-all.*")
+    public void testSubscriptionWithInvalidOverflowPolicy() {
+        BRunUtil.invoke(result, "testSubscriptionWithInvalidOverflowPolicy");
+    }
+
+    @Test(description = "Test receipt of events in the order they were published, through a small buffer")
+    public void testStreamEventOrdering() {
+        BValue[] returns = BRunUtil.invoke(result, "testStreamEventOrdering");
+        BRefValueArray receivedEmployeeEvents = (BRefValueArray) returns[0];
+        Assert.assertEquals(receivedEmployeeEvents.size(), 100, "Number of Employee Events received does not match "
+                + "the number published");
+        for (int i = 0; i < receivedEmployeeEvents.size(); i++) {
+            Assert.assertEquals(((BStruct) receivedEmployeeEvents.get(i)).getIntField(0), i,
+                                "Events are not received in the order they were published");
+        }
+    }
+
+    @Test(description = "Test that received events are not affected by changes to the published object, or by "
+            + "changes made by other subscribers")
+    public void testStreamEventSnapshotIsolation() {
+        BValue[] returns = BRunUtil.invoke(result, "testStreamEventSnapshotIsolation");
+        BStruct modifyingSubscriberTeam = (BStruct) ((BRefValueArray) returns[0]).get(0);
+        BStruct readingSubscriberTeam = (BStruct) ((BRefValueArray) returns[1]).get(0);
+        Assert.assertEquals(((BStruct) modifyingSubscriberTeam.getRefField(0)).getStringField(0), "Maryam",
+                            "Received event is affected by a change to the published object");
+        Assert.assertEquals(((BStruct) readingSubscriberTeam.getRefField(0)).getStringField(0), "Maryam",
+                            "Received event is affected by a change made by another subscriber");
+    }
+
+    @Test(description = "Test publishing to a stream from its subscriber while the buffer of the subscription is "
+            + "full")
+    public void testPublishingFromSubscriber() {
+        BValue[] returns = BRunUtil.invoke(result, "testPublishingFromSubscriber");
+        BRefValueArray receivedEmployeeEvents = (BRefValueArray) returns[0];
+        Assert.assertEquals(receivedEmployeeEvents.size(), 39, "Number of Employee Events received does not match "
+                + "the number published");
+        Assert.assertEquals(((BStruct) receivedEmployeeEvents.get(0)).getIntField(0), 0);
+        for (int i = 1; i < receivedEmployeeEvents.size(); i++) {
+            // each event is followed by the first event published by the subscriber for the event before it
+            long expectedId = i % 2 == 1 ? (i + 1) / 2 : 1000 + i / 2 - 1;
+            Assert.assertEquals(((BStruct) receivedEmployeeEvents.get(i)).getIntField(0), expectedId,
+                                "Events are not received in the order they were published");
+        }
+    }
+
+    @Test(description = "Test delivery of published events to a forever block")
+    public void testSiddhiInputDelivery() {
+        BValue[] returns = BRunUtil.invoke(result, "testSiddhiInputDelivery");
+        BRefValueArray outputEmployeeEvents = (BRefValueArray) returns[0];
+        Assert.assertEquals(outputEmployeeEvents.size(), 50, "Number of Employee Events received does not match "
+                + "the number filtered");
+        for (int i = 0; i < outputEmployeeEvents.size(); i++) {
+            Assert.assertEquals(((BStruct) outputEmployeeEvents.get(i)).getIntField(0), 50 + i,
+                                "Events are not received in the order they were published");
+        }
+    }
 }
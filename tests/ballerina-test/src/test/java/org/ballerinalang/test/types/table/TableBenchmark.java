@@ -0,0 +1,211 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.types.table;
+
+import org.ballerinalang.model.DataIterator;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BTableType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BTable;
+import org.ballerinalang.util.TableProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares inserting, iterating, filtering and joining in-memory tables held in the native columnar store, with
+ * queries evaluated over the columns following their query plans and with queries run by the in-memory database on a
+ * copy of the tables, with doing the same directly on the in-memory database, as in-memory tables did before the
+ * columnar store. It is run as a main class instead of a test, since it takes a while and its timings are not
+ * asserted.
+ */
+public class TableBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(TableBenchmark.class);
+
+    private static final int ROWS = 20000;
+    private static final int RUNS = 5;
+    // the queries and plans generated by the compiler for 'from employees where dept == 3 select *' and for
+    // 'from employees as a join employees where dept == 3 as b on a.id == b.id select a.id, a.name, a.salary, a.dept'
+    private static final String FILTER_QUERY = "select * from (select * from [[tableName]] where dept = ?)";
+    private static final String[] FILTER_PLAN = {"select", "0", "from", "", "==", "col", "", "dept", "param", "0"};
+    private static final String JOIN_QUERY = "select a.id, a.name, a.salary, a.dept from (select * from [[tableName]]) "
+            + "as a join (select * from [[tableName]] where dept = ?) as b on a.id = b.id";
+    private static final String[] JOIN_PLAN = {"select", "4", "col", "a", "id", "col", "a", "name", "col", "a",
+            "salary", "col", "a", "dept", "from", "a", "true", "join", "b", "==", "col", "", "dept", "param", "0",
+            "==", "col", "a", "id", "col", "b", "id"};
+    private static final String[] IMPLEMENTATIONS = {"the columnar store with query plans",
+            "the columnar store with queries copied to the in-memory database", "the in-memory database"};
+
+    public static void main(String[] args) {
+        BStructType type = createEmployeeType();
+        // warm up all the implementations before measuring
+        runColumnar(type, true);
+        runColumnar(type, false);
+        runDatabase(type);
+
+        long[][] times = new long[IMPLEMENTATIONS.length][4];
+        for (int i = 0; i < RUNS; i++) {
+            add(times[0], runColumnar(type, true));
+            add(times[1], runColumnar(type, false));
+            add(times[2], runDatabase(type));
+        }
+        String[] phases = {"insert", "iterate", "filter", "join"};
+        for (int i = 0; i < phases.length; i++) {
+            for (int j = 0; j < IMPLEMENTATIONS.length; j++) {
+                log.info(phases[i] + " of " + ROWS + " rows: " + times[j][i] / RUNS / 1000000 + " ms with "
+                        + IMPLEMENTATIONS[j]);
+            }
+        }
+    }
+
+    private static long[] runColumnar(BStructType type, boolean withPlans) {
+        long[] times = new long[4];
+        long start = System.nanoTime();
+        BTable table = new BTable(new BTableType(type), createConfig());
+        for (int i = 0; i < ROWS; i++) {
+            table.addData(createEmployee(type, i));
+        }
+        times[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int count = iterate(table);
+        times[1] = System.nanoTime() - start;
+        check(count, ROWS);
+
+        start = System.nanoTime();
+        count = iterate(new BTable(FILTER_QUERY, table, null, type, createParams(),
+                withPlans ? new BStringArray(FILTER_PLAN) : null));
+        times[2] = System.nanoTime() - start;
+        check(count, ROWS / 10);
+
+        start = System.nanoTime();
+        count = iterate(new BTable(JOIN_QUERY, table, table, type, createParams(),
+                withPlans ? new BStringArray(JOIN_PLAN) : null));
+        times[3] = System.nanoTime() - start;
+        check(count, ROWS / 10);
+        return times;
+    }
+
+    private static long[] runDatabase(BStructType type) {
+        TableProvider tableProvider = TableProvider.getInstance();
+        long[] times = new long[4];
+        long start = System.nanoTime();
+        String tableName = tableProvider.createTable(type, new BStringArray(new String[]{"id"}),
+                new BStringArray(new String[]{"dept"}));
+        try {
+            for (int i = 0; i < ROWS; i++) {
+                tableProvider.insertData(tableName, createEmployee(type, i));
+            }
+            times[0] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int count = iterate(tableProvider.createIterator(tableName, type));
+            times[1] = System.nanoTime() - start;
+            check(count, ROWS);
+
+            start = System.nanoTime();
+            String resultTableName = tableProvider.createTable(tableName, FILTER_QUERY, type, createParams());
+            count = iterate(tableProvider.createIterator(resultTableName, type));
+            tableProvider.dropTable(resultTableName);
+            times[2] = System.nanoTime() - start;
+            check(count, ROWS / 10);
+
+            start = System.nanoTime();
+            resultTableName = tableProvider.createTable(tableName, tableName, JOIN_QUERY, type, createParams());
+            count = iterate(tableProvider.createIterator(resultTableName, type));
+            tableProvider.dropTable(resultTableName);
+            times[3] = System.nanoTime() - start;
+            check(count, ROWS / 10);
+        } finally {
+            tableProvider.dropTable(tableName);
+        }
+        return times;
+    }
+
+    private static int iterate(BTable table) {
+        int count = 0;
+        while (table.hasNext(false)) {
+            table.getNext();
+            count++;
+        }
+        return count;
+    }
+
+    private static int iterate(DataIterator iterator) {
+        int count = 0;
+        try {
+            while (iterator.next()) {
+                iterator.generateNext();
+                count++;
+            }
+        } finally {
+            iterator.close(false);
+        }
+        return count;
+    }
+
+    private static void add(long[] totals, long[] times) {
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] += times[i];
+        }
+    }
+
+    private static void check(int count, int expected) {
+        if (count != expected) {
+            throw new IllegalStateException("Read " + count + " rows instead of " + expected);
+        }
+    }
+
+    private static BStructType createEmployeeType() {
+        BStructType type = new BStructType(null, "Employee", ".", 0);
+        type.setStructFields(new BStructType.StructField[]{
+                new BStructType.StructField(BTypes.typeInt, "id", 0),
+                new BStructType.StructField(BTypes.typeString, "name", 0),
+                new BStructType.StructField(BTypes.typeFloat, "salary", 0),
+                new BStructType.StructField(BTypes.typeInt, "dept", 0)});
+        type.setFieldTypeCount(new int[]{2, 1, 1, 0, 0, 0});
+        return type;
+    }
+
+    private static BStruct createEmployee(BStructType type, int id) {
+        BStruct employee = new BStruct(type);
+        employee.setIntField(0, id);
+        employee.setIntField(1, id % 10);
+        employee.setFloatField(0, 1000.0 + id);
+        employee.setStringField(0, "employee" + id);
+        return employee;
+    }
+
+    private static BRefValueArray createParams() {
+        return new BRefValueArray(new BRefType[]{new BInteger(3)}, BTypes.typeAny);
+    }
+
+    private static BStruct createConfig() {
+        // primary keys, index columns and initial data of a table literal
+        BStructType configType = new BStructType(null, "TableConfig", ".", 0);
+        configType.setFieldTypeCount(new int[]{0, 0, 0, 0, 0, 3});
+        BStruct config = new BStruct(configType);
+        config.setRefField(0, new BStringArray(new String[]{"id"}));
+        config.setRefField(1, new BStringArray(new String[]{"dept"}));
+        return config;
+    }
+}
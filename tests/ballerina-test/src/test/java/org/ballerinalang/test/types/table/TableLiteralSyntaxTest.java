@@ -85,4 +85,11 @@ public class TableLiteralSyntaxTest {
     public void testTableAddOnConstrainedTableWithViolation2() {
         BRunUtil.invoke(result, "testTableAddOnConstrainedTableWithViolation2");
     }
+
+    @Test
+    public void testTableRemoveAndAddOnConstrainedTable() {
+        BValue[] returns = BRunUtil.invoke(result, "testTableRemoveAndAddOnConstrainedTable");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 3);
+    }
 }
@@ -78,11 +78,34 @@ public class TableLiteralTest {
 
     @Test(priority = 2)
     public void testTableDrop() {
+        BValue[] args = new BValue[1];
+        args[0] = new BString("TABLE_CUSTOMER_%");
         BRunUtil.invoke(result, "testTableDrop");
+        //In-memory tables are not stored in the database until they are queried.
+        BValue[] returns = BRunUtil.invoke(resultHelper, "getTableCount", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
+    }
+
+    @Test(priority = 2)
+    public void testQueryWithoutDatabaseTable() {
+        BValue[] returns = BRunUtil.invoke(result, "testQueryWithoutDatabaseTable");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 2);
+        //Filters and joins over in-memory tables do not copy the tables to the database.
+        BValue[] args = new BValue[1];
+        args[0] = new BString("TABLE_CUSTOMER_%");
+        returns = BRunUtil.invoke(resultHelper, "getTableCount", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
+    }
+
+    @Test(priority = 2)
+    public void testQueriedTableDrop() {
+        BValue[] returns = BRunUtil.invoke(result, "testQueriedTableDrop");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
         //Table count before garbage collection happens.
         BValue[] args = new BValue[1];
         args[0] = new BString("TABLE_PERSON_%");
-        BValue[] returns = BRunUtil.invoke(resultHelper, "getTableCount", args);
+        returns = BRunUtil.invoke(resultHelper, "getTableCount", args);
         long beforeCount = ((BInteger) returns[0]).intValue();
         //Request for garbage collection process.
         System.gc();
@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.launcher.LauncherUtils;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.programfile.CompiledBinaryFile;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.OPTIMIZATION_LEVEL;
+import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
+
+/**
+ * Test cases for the optimizations applied to the AST before code is generated.
+ *
+ * @since 0.970.0
+ */
+public class ASTOptimizerTest {
+
+    private static final String SOURCE_FILE = "ast-optimizer-test.bal";
+
+    private CompileResult unoptimizedResult;
+    private CompileResult optimizedResult;
+
+    @BeforeClass
+    public void setup() {
+        unoptimizedResult = compile("0");
+        optimizedResult = compile("2");
+        Assert.assertEquals(unoptimizedResult.getErrorCount(), 0);
+        Assert.assertEquals(optimizedResult.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testFewerInstructionsGenerated() {
+        Instruction[] unoptimizedCode = getCode(unoptimizedResult);
+        Instruction[] optimizedCode = getCode(optimizedResult);
+        Assert.assertTrue(optimizedCode.length < unoptimizedCode.length);
+        Assert.assertTrue(countOpcode(optimizedCode, InstructionCodes.IMOVE) <
+                countOpcode(unoptimizedCode, InstructionCodes.IMOVE));
+        Assert.assertTrue(countOpcode(optimizedCode, InstructionCodes.IMUL) <
+                countOpcode(unoptimizedCode, InstructionCodes.IMUL));
+    }
+
+    @Test
+    public void testConstantFolding() {
+        for (CompileResult result : new CompileResult[] { unoptimizedResult, optimizedResult }) {
+            BValue[] returns = BRunUtil.invoke(result, "testConstantFolding");
+            Assert.assertEquals(returns[0].stringValue(), "7");
+            Assert.assertEquals(returns[1].stringValue(), "3.5");
+            Assert.assertEquals(returns[2].stringValue(), "abcd12");
+            Assert.assertEquals(returns[3].stringValue(), "true");
+        }
+    }
+
+    @Test(expectedExceptions = BLangRuntimeException.class,
+          expectedExceptionsMessageRegExp = ".*/ by zero.*")
+    public void testDivisionByZeroNotFolded() {
+        BRunUtil.invoke(optimizedResult, "testDivisionByZeroNotFolded");
+    }
+
+    @Test
+    public void testUnreachableCode() {
+        for (CompileResult result : new CompileResult[] { unoptimizedResult, optimizedResult }) {
+            BValue[] returns = BRunUtil.invoke(result, "testUnreachableCode", new BValue[] { new BInteger(5) });
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 5);
+            Assert.assertEquals(((BInteger) returns[1]).intValue(), 0);
+        }
+    }
+
+    @Test
+    public void testCopyPropagation() {
+        for (CompileResult result : new CompileResult[] { unoptimizedResult, optimizedResult }) {
+            BValue[] args = { new BInteger(5), new BString("ab") };
+            BValue[] returns = BRunUtil.invoke(result, "testCopyPropagation", args);
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 15);
+            Assert.assertEquals(returns[1].stringValue(), "abab");
+        }
+    }
+
+    @Test
+    public void testReassignedVariablesNotPropagated() {
+        for (CompileResult result : new CompileResult[] { unoptimizedResult, optimizedResult }) {
+            BValue[] returns = BRunUtil.invoke(result, "testReassignedCopy", new BValue[] { new BInteger(3) });
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 7);
+            Assert.assertEquals(((BInteger) returns[1]).intValue(), 7);
+        }
+    }
+
+    private CompileResult compile(String optimizationLevel) {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(PROJECT_DIR, Paths.get("src", "test", "resources", "test-src", "vm").toAbsolutePath().toString());
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        options.put(PRESERVE_WHITESPACE, "false");
+        options.put(OPTIMIZATION_LEVEL, optimizationLevel);
+
+        CompileResult compileResult = new CompileResult();
+        context.put(DiagnosticListener.class, compileResult::addDiagnostic);
+        Compiler compiler = Compiler.getInstance(context);
+        BLangPackage packageNode = compiler.compile(SOURCE_FILE);
+        compileResult.setAST(packageNode);
+        if (compileResult.getErrorCount() == 0) {
+            CompiledBinaryFile.ProgramFile programFile = compiler.getExecutableProgram(packageNode);
+            compileResult.setProgFile(LauncherUtils.getExecutableProgram(programFile));
+        }
+        return compileResult;
+    }
+
+    private static Instruction[] getCode(CompileResult result) {
+        return result.getProgFile().getEntryPackage().getInstructions();
+    }
+
+    private static long countOpcode(Instruction[] code, int opcode) {
+        return Arrays.stream(code).filter(instruction -> instruction.getOpcode() == opcode).count();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.math.FloorDiv;
+import org.ballerinalang.nativeimpl.math.Sqrt;
+import org.ballerinalang.nativeimpl.os.GetName;
+import org.ballerinalang.nativeimpl.runtime.GetProperty;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * Test cases for executing blocking native calls in the blocking thread pool.
+ *
+ * @since 0.970.0
+ */
+public class BlockingThreadPoolTest {
+
+    private static final String[] CONFIG_KEYS = {"blocking.thread.pool.enabled", "blocking.thread.pool.size",
+            "blocking.thread.pool.packages"};
+
+    private CompileResult compileResult;
+    private Field instanceField;
+    private ThreadPoolFactory defaultThreadPoolFactory;
+    private ThreadPoolFactory threadPoolFactory;
+
+    @BeforeClass
+    public void setup() throws ReflectiveOperationException {
+        // the thread pools are created from the configuration once, so a factory is created for this test
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        configRegistry.addConfiguration(CONFIG_KEYS[0], "true");
+        configRegistry.addConfiguration(CONFIG_KEYS[1], "2");
+        // the second package is a prefix of the name of the os package, but not a parent package of it
+        configRegistry.addConfiguration(CONFIG_KEYS[2],
+                " org.ballerinalang.nativeimpl.math , org.ballerinalang.nativeimpl.o");
+        Constructor<ThreadPoolFactory> constructor = ThreadPoolFactory.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        threadPoolFactory = constructor.newInstance();
+        instanceField = ThreadPoolFactory.class.getDeclaredField("instance");
+        instanceField.setAccessible(true);
+        defaultThreadPoolFactory = (ThreadPoolFactory) instanceField.get(null);
+        instanceField.set(null, threadPoolFactory);
+        compileResult = BCompileUtil.compile("test-src/vm/blocking-pool-test.bal");
+    }
+
+    @Test
+    public void testPackageMatch() {
+        Assert.assertTrue(threadPoolFactory.isBlockingExecution(FloorDiv.class));
+        Assert.assertTrue(threadPoolFactory.isBlockingExecution(Sqrt.class));
+        Assert.assertFalse(threadPoolFactory.isBlockingExecution(GetName.class));
+        Assert.assertFalse(threadPoolFactory.isBlockingExecution(GetProperty.class));
+        Assert.assertFalse(defaultThreadPoolFactory.isBlockingExecution(FloorDiv.class));
+    }
+
+    @Test
+    public void testBlockingCall() {
+        long taskCount = threadPoolFactory.getBlockingExecutor().getTaskCount();
+        BValue[] returns = BRunUtil.invoke(compileResult, "testBlockingCall");
+        Assert.assertEquals(returns[0], new BInteger(3));
+        Assert.assertEquals(threadPoolFactory.getBlockingExecutor().getTaskCount(), taskCount + 1);
+    }
+
+    @Test
+    public void testAsyncBlockingCall() {
+        long taskCount = threadPoolFactory.getBlockingExecutor().getTaskCount();
+        BValue[] returns = BRunUtil.invoke(compileResult, "testAsyncBlockingCall");
+        Assert.assertEquals(returns[0], new BInteger(4));
+        Assert.assertEquals(threadPoolFactory.getBlockingExecutor().getTaskCount(), taskCount + 1);
+    }
+
+    @Test
+    public void testBlockingCallError() {
+        long taskCount = threadPoolFactory.getBlockingExecutor().getTaskCount();
+        BValue[] returns = BRunUtil.invoke(compileResult, "testBlockingCallError");
+        Assert.assertTrue(returns[0].stringValue().contains("/ by zero"), returns[0].stringValue());
+        Assert.assertEquals(threadPoolFactory.getBlockingExecutor().getTaskCount(), taskCount + 1);
+    }
+
+    @Test
+    public void testOtherPackageCall() {
+        long taskCount = threadPoolFactory.getBlockingExecutor().getTaskCount();
+        BValue[] returns = BRunUtil.invoke(compileResult, "testOtherPackageCall");
+        Assert.assertEquals(returns[0].stringValue(), System.getProperty("os.name"));
+        Assert.assertEquals(threadPoolFactory.getBlockingExecutor().getTaskCount(), taskCount);
+    }
+
+    @AfterClass
+    public void tearDown() throws IllegalAccessException {
+        instanceField.set(null, defaultThreadPoolFactory);
+        threadPoolFactory.getWorkerExecutor().shutdown();
+        threadPoolFactory.getBlockingExecutor().shutdown();
+        for (String key : CONFIG_KEYS) {
+            ConfigRegistry.getInstance().removeConfiguration(key);
+        }
+    }
+}
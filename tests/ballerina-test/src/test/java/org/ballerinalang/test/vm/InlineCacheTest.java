@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests related to the inline caches of attached function call sites.
+ */
+public class InlineCacheTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/vm/inline-cache-test.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testMonomorphicCall() {
+        BValue[] vals = BRunUtil.invoke(result, "testMonomorphicCall", new BValue[] { new BInteger(10) });
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 90);
+    }
+
+    @Test
+    public void testPolymorphicCall() {
+        BValue[] vals = BRunUtil.invoke(result, "testPolymorphicCall");
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 52);
+        Assert.assertEquals(((BInteger) vals[1]).intValue(), 52);
+    }
+
+    @Test
+    public void testMegamorphicCall() {
+        BValue[] vals = BRunUtil.invoke(result, "testMegamorphicCall");
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 63);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.bre.bvm.jit.JITCompiler;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.VMOptions;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the time of running loops of the JIT test program between interpreting the plain instructions,
+ * interpreting the instructions rewritten to superinstructions, and running the classes the JIT compilation tier
+ * compiles the workers to. It is run as a main class instead of a test, since it takes a while and its timings are
+ * not asserted.
+ */
+public class JITBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(JITBenchmark.class);
+
+    private static final String SOURCE = "test-src/vm/jit-test.bal";
+    private static final String[] FUNCTIONS = {"intLoop", "floatLoop", "nestedLoop"};
+    private static final int[] LOOP_COUNTS = {1000000, 1000000, 1000};
+    private static final int INVOCATIONS = 20;
+    private static final int RUNS = 5;
+    private static final String[] TIERS = {"plain instructions", "superinstructions", "JIT compiled code"};
+
+    public static void main(String[] args) {
+        CompileResult[] results = new CompileResult[TIERS.length];
+        for (int tier = 0; tier < TIERS.length; tier++) {
+            // the compiled code of a worker is kept with the program, hence each tier runs its own program
+            configureJIT(tier == 2);
+            results[tier] = BCompileUtil.compile(SOURCE);
+            if (tier == 0) {
+                for (PackageInfo packageInfo : results[tier].getProgFile().getPackageInfoEntries()) {
+                    packageInfo.setOptimizedInstructions(null);
+                }
+            }
+        }
+        for (int function = 0; function < FUNCTIONS.length; function++) {
+            long[] times = new long[TIERS.length];
+            String[] values = new String[TIERS.length];
+            for (int tier = 0; tier < TIERS.length; tier++) {
+                configureJIT(tier == 2);
+                // warm up before measuring, which also compiles the workers of the JIT tier
+                values[tier] = run(results[tier], function);
+                long start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    run(results[tier], function);
+                }
+                times[tier] = System.nanoTime() - start;
+                if (!values[tier].equals(values[0])) {
+                    throw new IllegalStateException(FUNCTIONS[function] + " returned " + values[tier] + " with "
+                            + TIERS[tier] + " instead of " + values[0]);
+                }
+            }
+            for (int tier = 0; tier < TIERS.length; tier++) {
+                log.info(FUNCTIONS[function] + "(" + LOOP_COUNTS[function] + "): "
+                        + times[tier] / RUNS / INVOCATIONS / 1000 + " us per call with " + TIERS[tier]);
+            }
+        }
+        configureJIT(false);
+    }
+
+    private static String run(CompileResult result, int function) {
+        String value = null;
+        for (int i = 0; i < INVOCATIONS; i++) {
+            BValue[] vals = BRunUtil.invoke(result, FUNCTIONS[function],
+                    new BValue[]{new BInteger(LOOP_COUNTS[function])});
+            value = vals[0].stringValue();
+        }
+        return value;
+    }
+
+    private static void configureJIT(boolean enabled) {
+        VMOptions.getInstance().add(JITCompiler.JIT_ENABLED_OPTION, String.valueOf(enabled));
+        VMOptions.getInstance().add(JITCompiler.JIT_THRESHOLD_OPTION, "2");
+        JITCompiler.configure(VMOptions.getInstance());
+    }
+}
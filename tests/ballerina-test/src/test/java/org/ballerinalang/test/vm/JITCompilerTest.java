@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.bre.bvm.jit.CompiledCode;
+import org.ballerinalang.bre.bvm.jit.JITCompiler;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.VMOptions;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests related to the BVM JIT compilation tier. Each function is run enough times for it to be
+ * compiled, and the results are checked against the interpreted results.
+ */
+public class JITCompilerTest {
+
+    private static final int RUNS = 5;
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        VMOptions.getInstance().add(JITCompiler.JIT_ENABLED_OPTION, "true");
+        VMOptions.getInstance().add(JITCompiler.JIT_THRESHOLD_OPTION, "2");
+        JITCompiler.configure(VMOptions.getInstance());
+        this.result = BCompileUtil.compile("test-src/vm/jit-test.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testIntLoop() {
+        for (int i = 0; i < RUNS; i++) {
+            BValue[] vals = BRunUtil.invoke(result, "intLoop", new BValue[] { new BInteger(10000) });
+            Assert.assertEquals(((BInteger) vals[0]).intValue(), 149975000);
+        }
+    }
+
+    @Test
+    public void testFloatLoop() {
+        for (int i = 0; i < RUNS; i++) {
+            BValue[] vals = BRunUtil.invoke(result, "floatLoop", new BValue[] { new BInteger(1000) });
+            Assert.assertEquals(((BFloat) vals[0]).floatValue(), 99.5);
+        }
+    }
+
+    @Test
+    public void testNestedLoop() {
+        for (int i = 0; i < RUNS; i++) {
+            BValue[] vals = BRunUtil.invoke(result, "nestedLoop", new BValue[] { new BInteger(100) });
+            Assert.assertEquals(((BInteger) vals[0]).intValue(), 3774);
+        }
+    }
+
+    @Test
+    public void testLoopWithCall() {
+        for (int i = 0; i < RUNS; i++) {
+            BValue[] vals = BRunUtil.invoke(result, "mixedLoop", new BValue[] { new BInteger(10) });
+            Assert.assertEquals(((BInteger) vals[0]).intValue(), 285);
+            Assert.assertEquals(((BString) vals[1]).stringValue(), "aaa");
+        }
+    }
+
+    @Test
+    public void testRegionEntries() {
+        for (int i = 0; i < RUNS; i++) {
+            BRunUtil.invoke(result, "mixedLoop", new BValue[] { new BInteger(10) });
+        }
+        PackageInfo packageInfo = result.getProgFile().getEntryPackage();
+        WorkerInfo workerInfo = packageInfo.getFunctionInfo("mixedLoop").getDefaultWorkerInfo();
+        CompiledCode compiledCode = workerInfo.getCompiledCode();
+        Assert.assertNotNull(compiledCode);
+
+        // the interpreter should only enter the compiled code at instructions of the compiled region
+        Instruction[] code = packageInfo.getInstructions();
+        boolean hasEntry = false;
+        for (int ip = workerInfo.getCodeAttributeInfo().getCodeAddrs(); code[ip].getOpcode() != InstructionCodes.RET;
+             ip++) {
+            if (code[ip].getOpcode() == InstructionCodes.CALL) {
+                Assert.assertFalse(compiledCode.isEntry(ip), "call instruction at " + ip + " is a region entry");
+            }
+            hasEntry |= compiledCode.isEntry(ip);
+        }
+        Assert.assertTrue(hasEntry);
+        Assert.assertFalse(compiledCode.isEntry(code.length));
+    }
+
+    @Test
+    public void testInterpretedWorker() {
+        VMOptions.getInstance().remove(JITCompiler.JIT_ENABLED_OPTION);
+        JITCompiler.configure(VMOptions.getInstance());
+        try {
+            CompileResult interpreted = BCompileUtil.compile("test-src/vm/jit-test.bal");
+            for (int i = 0; i < RUNS; i++) {
+                BValue[] vals = BRunUtil.invoke(interpreted, "intLoop", new BValue[] { new BInteger(10000) });
+                Assert.assertEquals(((BInteger) vals[0]).intValue(), 149975000);
+            }
+            // interpreted workers are never handed compiled code, so the interpreter only checks for null
+            WorkerInfo workerInfo = interpreted.getProgFile().getEntryPackage().getFunctionInfo("intLoop")
+                    .getDefaultWorkerInfo();
+            Assert.assertNull(workerInfo.getCompiledCode());
+        } finally {
+            VMOptions.getInstance().add(JITCompiler.JIT_ENABLED_OPTION, "true");
+            JITCompiler.configure(VMOptions.getInstance());
+        }
+    }
+
+    @AfterClass
+    public void tearDown() {
+        VMOptions.getInstance().remove(JITCompiler.JIT_ENABLED_OPTION);
+        VMOptions.getInstance().remove(JITCompiler.JIT_THRESHOLD_OPTION);
+        JITCompiler.configure(VMOptions.getInstance());
+    }
+}
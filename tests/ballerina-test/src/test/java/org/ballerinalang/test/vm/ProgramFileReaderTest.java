@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.model.NativeCallableUnit;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.codegen.LineNumberInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.ProgramFileReader;
+import org.ballerinalang.util.codegen.attributes.AttributeInfo;
+import org.ballerinalang.util.codegen.attributes.LineNumberTableAttributeInfo;
+import org.ballerinalang.util.debugger.Debugger;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
+import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
+
+/**
+ * Test cases for reading program files, and for the parts of them which are loaded when they are first used.
+ *
+ * @since 0.970.0
+ */
+public class ProgramFileReaderTest {
+
+    // line of the runtime:getCallStack() call in the test source
+    private static final int CALL_STACK_LINE = 9;
+
+    private Path projectDirectory;
+    private Path binary;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        projectDirectory = Files.createTempDirectory("bal-unit-test-program-file-reader-");
+        Files.createDirectories(projectDirectory.resolve(".ballerina"));
+        Files.write(projectDirectory.resolve("Ballerina.toml"),
+                "[project]\norg-name = \"foo\"\nversion = \"0.0.1\"\n".getBytes(StandardCharsets.UTF_8));
+        Path pkgDirectory = Files.createDirectories(projectDirectory.resolve("reader"));
+        Files.copy(Paths.get("src", "test", "resources", "test-src", "vm", "program-file-reader-test.bal"),
+                pkgDirectory.resolve("reader.bal"));
+        binary = projectDirectory.resolve("target").resolve("reader.balx");
+
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(PROJECT_DIR, projectDirectory.toString());
+        options.put(OFFLINE, "true");
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        Compiler.getInstance(context).build();
+    }
+
+    @Test
+    public void testLazyNativeLoading() throws ReflectiveOperationException {
+        ProgramFile programFile = BLangProgramLoader.read(binary);
+        FunctionInfo floorDiv = getNativeFunctionInfo(programFile, "floorDiv");
+        Field nativeCallableUnitField = CallableUnitInfo.class.getDeclaredField("nativeCallableUnit");
+        nativeCallableUnitField.setAccessible(true);
+        Assert.assertNull(nativeCallableUnitField.get(floorDiv));
+
+        Assert.assertEquals(invoke(programFile, "divide", new BInteger(7), new BInteger(2)), new BInteger(3));
+        NativeCallableUnit nativeCallableUnit = (NativeCallableUnit) nativeCallableUnitField.get(floorDiv);
+        Assert.assertNotNull(nativeCallableUnit);
+        Assert.assertSame(floorDiv.getNativeCallableUnit(), nativeCallableUnit);
+    }
+
+    @Test
+    public void testLazyLineNumbers() throws ReflectiveOperationException {
+        ProgramFile programFile = BLangProgramLoader.read(binary);
+        LineNumberTableAttributeInfo lineNumberTable = getLineNumberTable(programFile.getEntryPackage());
+        Field loaderField = LineNumberTableAttributeInfo.class.getDeclaredField("lineNumberInfoLoader");
+        loaderField.setAccessible(true);
+        Assert.assertNotNull(loaderField.get(lineNumberTable));
+
+        Assert.assertEquals(invoke(programFile, "getLineNumber"), new BInteger(CALL_STACK_LINE));
+        Assert.assertNull(loaderField.get(lineNumberTable));
+    }
+
+    @Test
+    public void testReadProgramFromStream() throws IOException {
+        ProgramFile programFile;
+        try (InputStream inputStream = Files.newInputStream(binary)) {
+            programFile = new ProgramFileReader().readProgram(inputStream);
+        }
+
+        // the line numbers are decoded after the stream is closed
+        Assert.assertEquals(getLineNumbers(programFile), getLineNumbers(BLangProgramLoader.read(binary)));
+        Assert.assertEquals(invoke(programFile, "getLineNumber"), new BInteger(CALL_STACK_LINE));
+        Assert.assertEquals(invoke(programFile, "divide", new BInteger(9), new BInteger(2)), new BInteger(4));
+    }
+
+    @AfterClass
+    public void teardown() throws IOException {
+        Files.walk(projectDirectory)
+             .sorted(Comparator.reverseOrder())
+             .forEach(path -> {
+                 try {
+                     Files.delete(path);
+                 } catch (IOException e) {
+                     Assert.fail(e.getMessage(), e);
+                 }
+             });
+    }
+
+    private FunctionInfo getNativeFunctionInfo(ProgramFile programFile, String functionName) {
+        for (PackageInfo packageInfo : programFile.getPackageInfoEntries()) {
+            FunctionInfo functionInfo = packageInfo.getFunctionInfo(functionName);
+            if (functionInfo != null && functionInfo.isNative()) {
+                return functionInfo;
+            }
+        }
+        throw new AssertionError("native function not found: " + functionName);
+    }
+
+    private LineNumberTableAttributeInfo getLineNumberTable(PackageInfo packageInfo) {
+        return (LineNumberTableAttributeInfo) packageInfo.getAttributeInfo(
+                AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE);
+    }
+
+    private String getLineNumbers(ProgramFile programFile) {
+        LineNumberInfo[] lineNumberInfos = getLineNumberTable(programFile.getEntryPackage())
+                .getLineNumberInfoEntries();
+        Assert.assertTrue(lineNumberInfos.length > 0);
+        return Arrays.toString(lineNumberInfos);
+    }
+
+    private BValue invoke(ProgramFile programFile, String functionName, BValue... args) {
+        programFile.setDebugger(new Debugger(programFile));
+        PackageInfo packageInfo = programFile.getEntryPackage();
+        BValue[] returns = BLangFunctions.invokeEntrypointCallable(programFile, packageInfo,
+                packageInfo.getFunctionInfo(functionName), args);
+        return returns[0];
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.launcher.util.BServiceUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.util.StringUtils;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.services.testutils.HTTPTestRequest;
+import org.ballerinalang.test.services.testutils.MessageUtils;
+import org.ballerinalang.test.services.testutils.Services;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.debugger.Debugger;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.ballerinalang.util.program.ProgramSnapshot;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+import org.wso2.transport.http.netty.message.HttpMessageDataStreamer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
+import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
+import static org.ballerinalang.compiler.CompilerOptionName.SNAPSHOT;
+
+/**
+ * Test cases for restoring the package variables of a program from a snapshot.
+ *
+ * @since 0.970.0
+ */
+public class ProgramSnapshotTest {
+
+    private static final String COMPUTE_SQUARES = "function computeSquares(int count) returns int[] {\n" +
+            "    calls = calls + 1;\n    int[] values = [];\n    int i = 0;\n" +
+            "    while (i < count) {\n        values[i] = i * i;\n        i = i + 1;\n    }\n" +
+            "    return values;\n}\n";
+
+    private Path projectDirectory;
+    private Path fooBinary;
+    private Path barBinary;
+    private Path bazBinary;
+    private Path serviceBinary;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        projectDirectory = Files.createTempDirectory("bal-unit-test-program-snapshot-");
+        Files.createDirectories(projectDirectory.resolve(".ballerina"));
+        Files.write(projectDirectory.resolve("Ballerina.toml"),
+                "[project]\norg-name = \"foo\"\nversion = \"0.0.1\"\n".getBytes(StandardCharsets.UTF_8));
+        writeSource("foo", "int count = 3;\nfloat ratio = 0.5;\nstring name = \"foo\" + \"bar\";\n" +
+                "boolean enabled = count > 2;\nint[] values = [1, 2, count];\nstring[] names = [name, \"baz\"];\n\n" +
+                "public function getState() returns string {\n" +
+                "    return name + \":\" + count + \":\" + ratio + \":\" + enabled + \":\" + values[2] + \":\" + " +
+                "names[1];\n}\n");
+        // Only the variables which depend on the native function are initialized when the program starts
+        writeSource("bar", "string base = \"bar\";\nint calls;\nint[] squares = computeSquares(3);\n" +
+                "string name = base.toUpperCase();\nint[] moreSquares = computeSquares(2);\n\n" + COMPUTE_SQUARES +
+                "\npublic function getState() returns string {\n" +
+                "    return name + \":\" + calls + \":\" + squares[2] + \":\" + moreSquares[1];\n}\n");
+        writeSource("baz", "string name = \"baz\".toUpperCase();\n\n" +
+                "public function getName() returns string {\n    return name;\n}\n");
+        writeSource("counter", "import ballerina/http;\n\nint calls;\nint[] squares = computeSquares(4);\n\n" +
+                "endpoint http:Listener snapshotEP {\n    port:9090\n};\n\n" +
+                "@http:ServiceConfig {basePath:\"/snapshot\"}\n" +
+                "service<http:Service> SnapshotService bind snapshotEP {\n\n" +
+                "    @http:ResourceConfig {\n        methods:[\"GET\"],\n        path:\"/state\"\n    }\n" +
+                "    getState (endpoint conn, http:Request request) {\n" +
+                "        http:Response res = new;\n" +
+                "        res.setStringPayload(calls + \":\" + squares[3]);\n" +
+                "        _ = conn -> respond(res);\n    }\n}\n\n" + COMPUTE_SQUARES);
+        fooBinary = projectDirectory.resolve("target").resolve("foo.balx");
+        barBinary = projectDirectory.resolve("target").resolve("bar.balx");
+        bazBinary = projectDirectory.resolve("target").resolve("baz.balx");
+        serviceBinary = projectDirectory.resolve("target").resolve("counter.balx");
+
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(PROJECT_DIR, projectDirectory.toString());
+        options.put(OFFLINE, "true");
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        options.put(SNAPSHOT, "true");
+        Compiler.getInstance(context).build();
+    }
+
+    @Test
+    public void testRestoreSnapshot() throws IOException {
+        Assert.assertTrue(ProgramSnapshot.write(BLangProgramLoader.read(fooBinary)));
+
+        ProgramFile programFile = BLangProgramLoader.read(fooBinary);
+        Assert.assertTrue(ProgramSnapshot.restore(programFile));
+        Assert.assertEquals(invoke(programFile, "getState"), "foobar:3:0.5:true:3:baz");
+    }
+
+    @Test
+    public void testRestoreSnapshotWithNativeCall() throws IOException {
+        Assert.assertTrue(ProgramSnapshot.write(BLangProgramLoader.read(barBinary)));
+
+        // Both arrays of squares are computed when the snapshot is taken, and not again when the program starts
+        ProgramFile programFile = BLangProgramLoader.read(barBinary);
+        Assert.assertTrue(ProgramSnapshot.restore(programFile));
+        Assert.assertEquals(invoke(programFile, "getState"), "BAR:2:4:1");
+    }
+
+    @Test
+    public void testNativeCallNotSnapshotted() throws IOException {
+        Assert.assertFalse(ProgramSnapshot.write(BLangProgramLoader.read(bazBinary)));
+        Assert.assertFalse(Files.exists(ProgramSnapshot.getSnapshotPath(bazBinary)));
+
+        ProgramFile programFile = BLangProgramLoader.read(bazBinary);
+        Assert.assertFalse(ProgramSnapshot.restore(programFile));
+        Assert.assertEquals(invoke(programFile, "getName"), "BAZ");
+    }
+
+    @Test
+    public void testRestoreService() throws IOException {
+        Assert.assertTrue(ProgramSnapshot.write(BLangProgramLoader.read(serviceBinary)));
+
+        ProgramFile programFile = BLangProgramLoader.read(serviceBinary);
+        Assert.assertTrue(ProgramSnapshot.restore(programFile));
+        CompileResult compileResult = new CompileResult();
+        compileResult.setProgFile(programFile);
+        BServiceUtil.runService(compileResult);
+
+        HTTPTestRequest request = MessageUtils.generateHTTPMessage("/snapshot/state", "GET");
+        HTTPCarbonMessage response = Services.invokeNew(compileResult, programFile.getEntryPackage().getPkgPath(),
+                "snapshotEP", request);
+        Assert.assertNotNull(response);
+        Assert.assertEquals(StringUtils.getStringFromInputStream(new HttpMessageDataStreamer(response)
+                .getInputStream()), "1:9");
+    }
+
+    @Test
+    public void testNoInitializersWithoutSnapshot() {
+        // Package variables are initialized by the package init function itself, unless a snapshot is taken
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(PROJECT_DIR, projectDirectory.toString());
+        options.put(OFFLINE, "true");
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        BLangPackage pkgNode = Compiler.getInstance(context).compile("foo");
+        String initializerPrefix = pkgNode.initFunction.name.value + ".";
+        Assert.assertTrue(pkgNode.functions.stream()
+                                           .noneMatch(function -> function.name.value.startsWith(initializerPrefix)));
+    }
+
+    @Test(dependsOnMethods = "testRestoreSnapshot")
+    public void testStaleSnapshotNotRestored() throws IOException {
+        byte[] binary = Files.readAllBytes(fooBinary);
+        try {
+            Files.write(fooBinary, binary);
+            Files.write(fooBinary, new byte[]{0}, StandardOpenOption.APPEND);
+            ProgramFile programFile = BLangProgramLoader.read(fooBinary);
+            Assert.assertFalse(ProgramSnapshot.restore(programFile));
+        } finally {
+            Files.write(fooBinary, binary);
+        }
+    }
+
+    @AfterClass
+    public void teardown() throws IOException {
+        Files.walk(projectDirectory)
+             .sorted(Comparator.reverseOrder())
+             .forEach(path -> {
+                 try {
+                     Files.delete(path);
+                 } catch (IOException e) {
+                     Assert.fail(e.getMessage(), e);
+                 }
+             });
+    }
+
+    private void writeSource(String pkgName, String code) throws IOException {
+        Path pkgDirectory = Files.createDirectories(projectDirectory.resolve(pkgName));
+        Files.write(pkgDirectory.resolve(pkgName + ".bal"), code.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String invoke(ProgramFile programFile, String functionName) {
+        programFile.setDebugger(new Debugger(programFile));
+        PackageInfo packageInfo = programFile.getEntryPackage();
+        BValue[] returns = BLangFunctions.invokeEntrypointCallable(programFile, packageInfo,
+                packageInfo.getFunctionInfo(functionName), new BValue[0]);
+        return returns[0].stringValue();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.launcher.LauncherUtils;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
+import org.ballerinalang.util.diagnostic.Diagnostic;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.programfile.CompiledBinaryFile;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.OPTIMIZATION_LEVEL;
+import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
+import static org.ballerinalang.compiler.CompilerOptionName.REGISTER_ALLOCATION_REPORT;
+
+/**
+ * Test cases for the reuse of the registers of local variables which are not live at the same time.
+ *
+ * @since 0.970.0
+ */
+public class RegisterAllocationTest {
+
+    private static final String SOURCE_FILE = "register-allocation-test.bal";
+
+    private CompileResult unallocatedResult;
+    private CompileResult allocatedResult;
+
+    @BeforeClass
+    public void setup() {
+        unallocatedResult = compile("0");
+        allocatedResult = compile("1");
+        Assert.assertEquals(unallocatedResult.getErrorCount(), 0);
+        Assert.assertEquals(allocatedResult.getErrorCount(), 0);
+    }
+
+    @DataProvider(name = "results")
+    public Object[][] results() {
+        return new Object[][] { { "unallocated" }, { "allocated" } };
+    }
+
+    @Test
+    public void testFewerRegistersAllocated() {
+        CodeAttributeInfo unallocated = getCodeAttributeInfo(unallocatedResult, "testSequentialScopes");
+        CodeAttributeInfo allocated = getCodeAttributeInfo(allocatedResult, "testSequentialScopes");
+        Assert.assertTrue(allocated.getMaxLongRegs() < unallocated.getMaxLongRegs());
+        Assert.assertTrue(allocated.getMaxStringRegs() < unallocated.getMaxStringRegs());
+        Assert.assertTrue(allocated.getMaxLongLocalVars() < unallocated.getMaxLongLocalVars());
+    }
+
+    @Test
+    public void testRegisterAllocationReport() {
+        Assert.assertTrue(Arrays.stream(allocatedResult.getDiagnostics())
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.NOTE)
+                .anyMatch(diagnostic -> diagnostic.getMessage().startsWith("'testSequentialScopes' uses")));
+        Assert.assertTrue(Arrays.stream(unallocatedResult.getDiagnostics())
+                .noneMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.NOTE));
+    }
+
+    @Test(dataProvider = "results")
+    public void testSequentialScopes(String resultName) {
+        BValue[] returns = BRunUtil.invoke(getResult(resultName), "testSequentialScopes",
+                new BValue[] { new BInteger(3) });
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 33);
+        Assert.assertEquals(returns[1].stringValue(), "a7c11e15");
+    }
+
+    @Test(dataProvider = "results")
+    public void testLoopCarriedValues(String resultName) {
+        BValue[] returns = BRunUtil.invoke(getResult(resultName), "testLoopCarriedValues",
+                new BValue[] { new BInteger(5) });
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 60);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 120);
+    }
+
+    @Test(dataProvider = "results")
+    public void testUninitializedInLoop(String resultName) {
+        BValue[] returns = BRunUtil.invoke(getResult(resultName), "testUninitializedInLoop",
+                new BValue[] { new BInteger(5) });
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 8);
+    }
+
+    @Test(dataProvider = "results")
+    public void testNestedLoops(String resultName) {
+        BValue[] returns = BRunUtil.invoke(getResult(resultName), "testNestedLoops",
+                new BValue[] { new BInteger(4) });
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 78);
+    }
+
+    @Test(dataProvider = "results")
+    public void testForeach(String resultName) {
+        BValue[] returns = BRunUtil.invoke(getResult(resultName), "testForeach",
+                new BValue[] { new BIntArray(new long[] { 1, 2, 3 }) });
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 9);
+        Assert.assertEquals(returns[1].stringValue(), "<1><2><3>");
+    }
+
+    private CompileResult getResult(String resultName) {
+        return "allocated".equals(resultName) ? allocatedResult : unallocatedResult;
+    }
+
+    private CompileResult compile(String optimizationLevel) {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(PROJECT_DIR, Paths.get("src", "test", "resources", "test-src", "vm").toAbsolutePath().toString());
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        options.put(PRESERVE_WHITESPACE, "false");
+        options.put(OPTIMIZATION_LEVEL, optimizationLevel);
+        options.put(REGISTER_ALLOCATION_REPORT, "true");
+
+        CompileResult compileResult = new CompileResult();
+        context.put(DiagnosticListener.class, compileResult::addDiagnostic);
+        Compiler compiler = Compiler.getInstance(context);
+        BLangPackage packageNode = compiler.compile(SOURCE_FILE);
+        compileResult.setAST(packageNode);
+        if (compileResult.getErrorCount() == 0) {
+            CompiledBinaryFile.ProgramFile programFile = compiler.getExecutableProgram(packageNode);
+            compileResult.setProgFile(LauncherUtils.getExecutableProgram(programFile));
+        }
+        return compileResult;
+    }
+
+    private static CodeAttributeInfo getCodeAttributeInfo(CompileResult result, String functionName) {
+        return result.getProgFile().getEntryPackage().getFunctionInfo(functionName).getDefaultWorkerInfo()
+                .getCodeAttributeInfo();
+    }
+}
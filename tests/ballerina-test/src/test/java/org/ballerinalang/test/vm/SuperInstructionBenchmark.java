@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Compares interpreting the plain instructions of a program with interpreting the instructions rewritten to
+ * superinstructions. The loops of the superinstruction test program are timed per iteration, and short invocations
+ * scheduled one after the other are measured for their throughput and their latency. It is run as a main class
+ * instead of a test, since it takes a while and its timings are not asserted.
+ */
+public class SuperInstructionBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(SuperInstructionBenchmark.class);
+
+    private static final String SOURCE = "test-src/vm/superinstruction-test.bal";
+    private static final String[] LOOP_FUNCTIONS = {"testCompareAndBranch", "testFieldLoadCompare"};
+    private static final String CALL_FUNCTION = "testConstantArithmetic";
+    private static final int LOOP_COUNT = 1000000;
+    private static final int LOOP_INVOCATIONS = 10;
+    private static final int CALLS = 100000;
+    private static final int RUNS = 5;
+    private static final String[] MODES = {"plain instructions", "superinstructions"};
+
+    public static void main(String[] args) {
+        CompileResult[] results = new CompileResult[MODES.length];
+        for (int mode = 0; mode < MODES.length; mode++) {
+            results[mode] = BCompileUtil.compile(SOURCE);
+        }
+        for (PackageInfo packageInfo : results[0].getProgFile().getPackageInfoEntries()) {
+            packageInfo.setOptimizedInstructions(null);
+        }
+
+        for (String function : LOOP_FUNCTIONS) {
+            for (int mode = 0; mode < MODES.length; mode++) {
+                // warm up before measuring
+                runLoop(results[mode], function);
+                long start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    runLoop(results[mode], function);
+                }
+                long time = System.nanoTime() - start;
+                log.info(function + "(" + LOOP_COUNT + "): " + time / ((long) RUNS * LOOP_INVOCATIONS * LOOP_COUNT)
+                        + " ns per iteration with " + MODES[mode]);
+            }
+        }
+
+        for (int mode = 0; mode < MODES.length; mode++) {
+            // warm up before measuring
+            runCalls(results[mode], new long[CALLS]);
+            long[] latencies = new long[CALLS * RUNS];
+            long[] runLatencies = new long[CALLS];
+            long time = 0;
+            for (int i = 0; i < RUNS; i++) {
+                time += runCalls(results[mode], runLatencies);
+                System.arraycopy(runLatencies, 0, latencies, i * CALLS, CALLS);
+            }
+            Arrays.sort(latencies);
+            log.info(CALL_FUNCTION + " with " + MODES[mode] + ": " + (long) CALLS * RUNS * 1000000000L / time
+                    + " calls/s, latency p50 " + latencies[latencies.length / 2] / 1000 + " us, p99 "
+                    + latencies[(int) (latencies.length * 0.99)] / 1000 + " us");
+        }
+    }
+
+    private static void runLoop(CompileResult result, String function) {
+        for (int i = 0; i < LOOP_INVOCATIONS; i++) {
+            BRunUtil.invoke(result, function, new BValue[]{new BInteger(LOOP_COUNT)});
+        }
+    }
+
+    private static long runCalls(CompileResult result, long[] latencies) {
+        long start = System.nanoTime();
+        for (int i = 0; i < latencies.length; i++) {
+            long callStart = System.nanoTime();
+            BValue[] vals = BRunUtil.invoke(result, CALL_FUNCTION, new BValue[]{new BInteger(i)});
+            latencies[i] = System.nanoTime() - callStart;
+            if (((BInteger) vals[0]).intValue() != i + 100) {
+                throw new IllegalStateException(CALL_FUNCTION + " returned " + vals[0] + " for " + i);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
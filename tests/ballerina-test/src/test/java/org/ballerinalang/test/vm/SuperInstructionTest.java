@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests related to the superinstructions created when a program file is loaded.
+ */
+public class SuperInstructionTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/vm/superinstruction-test.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testSuperInstructionsCreated() {
+        PackageInfo packageInfo = result.getProgFile().getEntryPackage();
+        Instruction[] optimizedCode = packageInfo.getOptimizedInstructions();
+        Assert.assertEquals(optimizedCode.length, packageInfo.getInstructions().length);
+        Assert.assertTrue(containsOpcode(optimizedCode, InstructionCodes.ILT_BR));
+        Assert.assertTrue(containsOpcode(optimizedCode, InstructionCodes.ICONST_IADD));
+        Assert.assertTrue(containsOpcode(optimizedCode, InstructionCodes.IFIELDLOAD_ICMP));
+    }
+
+    @Test
+    public void testCompareAndBranch() {
+        BValue[] vals = BRunUtil.invoke(result, "testCompareAndBranch", new BValue[] { new BInteger(10) });
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 4);
+        Assert.assertEquals(((BInteger) vals[1]).intValue(), 3);
+        Assert.assertEquals(((BInteger) vals[2]).intValue(), 1);
+    }
+
+    @Test
+    public void testConstantArithmetic() {
+        BValue[] vals = BRunUtil.invoke(result, "testConstantArithmetic", new BValue[] { new BInteger(7) });
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 107);
+        Assert.assertEquals(((BInteger) vals[1]).intValue(), 4999999993L);
+        Assert.assertEquals(((BInteger) vals[2]).intValue(), 21);
+        Assert.assertEquals(((BInteger) vals[3]).intValue(), -5);
+    }
+
+    @Test
+    public void testFieldLoadCompare() {
+        BValue[] vals = BRunUtil.invoke(result, "testFieldLoadCompare", new BValue[] { new BInteger(7) });
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 4);
+        Assert.assertTrue(((BBoolean) vals[1]).booleanValue());
+    }
+
+    private static boolean containsOpcode(Instruction[] code, int opcode) {
+        return Arrays.stream(code).anyMatch(instruction -> instruction.getOpcode() == opcode);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the throughput and the allocation of recursive calls to a short function, whose worker data is recycled
+ * by the worker data arena of the program, and checks that the program files whose functions were run on a thread
+ * are collected once they are not referenced anymore. It is run as a main class instead of a test, since it takes a
+ * while and its timings are not asserted.
+ */
+public class WorkerDataArenaBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(WorkerDataArenaBenchmark.class);
+
+    private static final String SOURCE = "test-src/vm/worker-data-arena-test.bal";
+    private static final int DEPTH = 50;
+    private static final int INVOCATIONS = 20000;
+    private static final int RUNS = 5;
+    private static final int PROGRAMS = 20;
+
+    public static void main(String[] args) {
+        CompileResult result = BCompileUtil.compile(SOURCE);
+        // warm up before measuring
+        run(result);
+        long time = 0;
+        long allocated = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long allocatedBefore = getAllocatedBytes();
+            long start = System.nanoTime();
+            run(result);
+            time += System.nanoTime() - start;
+            allocated += getAllocatedBytes() - allocatedBefore;
+        }
+        long calls = (long) INVOCATIONS * (DEPTH + 1) * RUNS;
+        log.info("Made " + calls / RUNS + " calls at " + calls * 1000000000L / time + " calls/s"
+                + (allocated < 0 ? "" : ", " + allocated / calls + " bytes allocated per call"));
+
+        // run programs on this thread, and drop them
+        List<WeakReference<ProgramFile>> programFiles = new ArrayList<>();
+        for (int i = 0; i < PROGRAMS; i++) {
+            CompileResult programResult = BCompileUtil.compile(SOURCE);
+            invoke(programResult);
+            programFiles.add(new WeakReference<>(programResult.getProgFile()));
+        }
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        int collected = 0;
+        for (WeakReference<ProgramFile> programFile : programFiles) {
+            if (programFile.get() == null) {
+                collected++;
+            }
+        }
+        log.info(collected + " of " + PROGRAMS + " dropped program files were collected");
+    }
+
+    private static void run(CompileResult result) {
+        for (int i = 0; i < INVOCATIONS; i++) {
+            invoke(result);
+        }
+    }
+
+    private static void invoke(CompileResult result) {
+        BValue[] vals = BRunUtil.invoke(result, "countDown", new BValue[]{new BInteger(DEPTH)});
+        if (!((BBoolean) vals[0]).booleanValue()) {
+            throw new IllegalStateException("Recycled worker data held the values of an earlier invocation");
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        // allocation is only reported by HotSpot based JVMs
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
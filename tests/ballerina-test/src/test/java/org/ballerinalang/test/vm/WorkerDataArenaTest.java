@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the registers of recycled worker data do not hold the values of earlier invocations.
+ */
+public class WorkerDataArenaTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/vm/worker-data-arena-test.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testRecursiveCall() {
+        assertClean("testRecursiveCall");
+    }
+
+    @Test
+    public void testAsyncCall() {
+        assertClean("testAsyncCall");
+    }
+
+    @Test
+    public void testErrorUnwind() {
+        assertClean("testErrorUnwind");
+    }
+
+    @Test
+    public void testForkJoin() {
+        assertClean("testForkJoin");
+    }
+
+    private void assertClean(String functionName) {
+        // Run twice, so that the second run also reuses the worker data of the first one
+        for (int i = 0; i < 2; i++) {
+            BValue[] vals = BRunUtil.invoke(result, functionName, new BValue[0]);
+            Assert.assertEquals(vals.length, 1);
+            Assert.assertTrue(((BBoolean) vals[0]).booleanValue());
+        }
+    }
+}
@@ -237,3 +237,22 @@ function testInStatement () returns int {
     }
     return 0;
 }
+
+function testChainedArrayOperations () returns (int, string[], int, int) {
+    int[] numbers = [3, -1, 4, -1, 5, 9, -2, 6];
+    int sum = numbers.filter((int i) => boolean {return i > 0;})
+                     .map((int i) => int {return i * 2;})
+                     .filter((int i) => boolean {return i % 3 == 0;})
+                     .sum();
+    string[] labels = numbers.filter(((int, int) tuple) => boolean {
+                                         var (index, value) = tuple;
+                                         return index % 2 == 0 && value > 0;
+                                     })
+                             .map(((int, int) tuple) => string {
+                                      var (index, value) = tuple;
+                                      return index + ":" + value;
+                                  });
+    int[] empty = [];
+    int emptySum = empty.map((int i) => int {return i + 1;}).sum();
+    return (sum, labels, numbers.count() + empty.count(), emptySum);
+}
@@ -0,0 +1,36 @@
+function sum(int low, int high) returns int {
+    int total = 0;
+    int i = low;
+    while (i <= high) {
+        total = total + i;
+        i = i + 1;
+    }
+    return total;
+}
+
+function sumInParts(int high) returns int {
+    future<int> f1 = async sum(1, high / 2);
+    future<int> f2 = async sum(high / 2 + 1, high);
+    int lower = await f1;
+    int upper = await f2;
+    return lower + upper;
+}
+
+function testForkJoin() returns int {
+    int lower;
+    int upper;
+    fork {
+        worker w1 {
+            int total = sumInParts(1000);
+            total -> fork;
+        }
+        worker w2 {
+            int total = sumInParts(2000);
+            total -> fork;
+        }
+    } join (all) (map results) {
+        lower =check <int> results["w1"];
+        upper =check <int> results["w2"];
+    }
+    return lower + upper;
+}
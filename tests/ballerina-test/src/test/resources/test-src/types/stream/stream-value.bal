@@ -1,4 +1,5 @@
 import ballerina/log;
+import ballerina/runtime;
 import ballerina/time;
 
 type Employee {
@@ -10,6 +11,11 @@ type Job {
     string description,
 };
 
+type Team {
+    string name,
+    Employee lead,
+};
+
 function testInvalidStreamDeclaration () {
     stream t1;
 }
@@ -81,3 +87,153 @@ function addToGlobalEmployeeArray (Employee e) {
     globalEmployeeArray[employeeIndex] = e;
     employeeIndex = employeeIndex + 1;
 }
+
+int batchCount = 0;
+Employee[] batchedEmployeeArray = [];
+int batchedEmployeeIndex = 0;
+
+function testStreamBatchSubscription () returns (Employee[], Employee[], int) {
+    stream<Employee> s1;
+    s1.subscribeBatch(addBatchToEmployeeArray, maxBatchSize = 2, maxBatchWaitTime = 100);
+    Employee e1 = { id:1234, name:"Maryam" };
+    Employee e2 = { id:2345, name:"Aysha" };
+    Employee e3 = { id:3456, name:"Sumayya" };
+    Employee[] publishedEmployees = [e1, e2, e3];
+    s1.publish(e1);
+    s1.publish(e2);
+    s1.publish(e3);
+    int startTime = time:currentTime().time;
+    while (lengthof batchedEmployeeArray < 3 && time:currentTime().time - startTime < 3000) {
+        //allow for value update
+    }
+    return (publishedEmployees, batchedEmployeeArray, batchCount);
+}
+
+function testBatchSubscriptionFunctionWithObjectParameter () {
+    stream<Employee> s1;
+    s1.subscribeBatch(assignGlobalEmployee);
+}
+
+function testSubscriptionWithInvalidOverflowPolicy () {
+    stream<Employee> s1;
+    s1.subscribe(assignGlobalEmployee, overflowPolicy = "drop-all");
+}
+
+function addBatchToEmployeeArray (Employee[] employees) {
+    foreach e in employees {
+        batchedEmployeeArray[batchedEmployeeIndex] = e;
+        batchedEmployeeIndex = batchedEmployeeIndex + 1;
+    }
+    batchCount = batchCount + 1;
+}
+
+Employee[] orderedEmployeeArray = [];
+
+function testStreamEventOrdering () returns (Employee[]) {
+    stream<Employee> s1;
+    s1.subscribe(addToOrderedEmployeeArray, bufferSize = 4);
+    int i = 0;
+    while (i < 100) {
+        Employee e = { id:i, name:"Employee" };
+        s1.publish(e);
+        i = i + 1;
+    }
+    int startTime = time:currentTime().time;
+    while (lengthof orderedEmployeeArray < 100 && time:currentTime().time - startTime < 3000) {
+        //allow for value update
+    }
+    return orderedEmployeeArray;
+}
+
+function addToOrderedEmployeeArray (Employee e) {
+    orderedEmployeeArray[lengthof orderedEmployeeArray] = e;
+}
+
+Team[] modifyingSubscriberTeams = [];
+Team[] readingSubscriberTeams = [];
+
+function testStreamEventSnapshotIsolation () returns (Team[], Team[]) {
+    stream<Team> s1;
+    s1.subscribe(modifyTeamLead);
+    s1.subscribe(readTeamLead);
+    Employee lead = { id:1234, name:"Maryam" };
+    Team team = { name:"Streaming", lead:lead };
+    s1.publish(team);
+    lead.name = "Aysha";
+    int startTime = time:currentTime().time;
+    while ((lengthof modifyingSubscriberTeams < 1 || lengthof readingSubscriberTeams < 1)
+            && time:currentTime().time - startTime < 3000) {
+        //allow for value update
+    }
+    return (modifyingSubscriberTeams, readingSubscriberTeams);
+}
+
+function modifyTeamLead (Team t) {
+    string leadName = t.lead.name;
+    t.lead.name = "Sumayya";
+    Employee lead = { id:t.lead.id, name:leadName };
+    Team receivedTeam = { name:t.name, lead:lead };
+    modifyingSubscriberTeams[0] = receivedTeam;
+}
+
+function readTeamLead (Team t) {
+    // the other subscriber may have received and modified its event by now
+    runtime:sleepCurrentWorker(100);
+    readingSubscriberTeams[0] = t;
+}
+
+stream<Employee> republishingStream;
+Employee[] republishedEmployeeArray = [];
+
+function testPublishingFromSubscriber () returns (Employee[]) {
+    republishingStream.subscribe(republishEmployee, bufferSize = 1);
+    Employee e = { id:0, name:"Maryam" };
+    republishingStream.publish(e);
+    int startTime = time:currentTime().time;
+    while (lengthof republishedEmployeeArray < 39 && time:currentTime().time - startTime < 3000) {
+        //allow for value update
+    }
+    return republishedEmployeeArray;
+}
+
+function republishEmployee (Employee e) {
+    republishedEmployeeArray[lengthof republishedEmployeeArray] = e;
+    if (e.id < 19) {
+        // the buffer of the subscription is full, and only this subscriber can make room in it
+        Employee next = { id:e.id + 1, name:e.name };
+        Employee afterNext = { id:e.id + 1000, name:e.name };
+        republishingStream.publish(next);
+        republishingStream.publish(afterNext);
+    }
+}
+
+stream<Employee> siddhiInputStream;
+stream<Employee> siddhiOutputStream;
+Employee[] siddhiOutputEmployeeArray = [];
+
+function testSiddhiInputDelivery () returns (Employee[]) {
+    forever {
+        from siddhiInputStream
+        where id >= 50
+        select id, name
+        => (Employee[] emp) {
+            siddhiOutputStream.publish(emp);
+        }
+    }
+    siddhiOutputStream.subscribe(addToSiddhiOutputEmployeeArray);
+    int i = 0;
+    while (i < 100) {
+        Employee e = { id:i, name:"Employee" };
+        siddhiInputStream.publish(e);
+        i = i + 1;
+    }
+    int startTime = time:currentTime().time;
+    while (lengthof siddhiOutputEmployeeArray < 50 && time:currentTime().time - startTime < 3000) {
+        //allow for value update
+    }
+    return siddhiOutputEmployeeArray;
+}
+
+function addToSiddhiOutputEmployeeArray (Employee e) {
+    siddhiOutputEmployeeArray[lengthof siddhiOutputEmployeeArray] = e;
+}
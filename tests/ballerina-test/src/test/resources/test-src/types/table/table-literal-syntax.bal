@@ -109,3 +109,25 @@ function testTableAddOnConstrainedTableWithViolation2() returns (int) {
     int count = t1.count();
     return count;
 }
+
+function testTableRemoveAndAddOnConstrainedTable() returns (int, int) {
+    Person p1 = {id:1, age:30, salary:300.50, name:"jane", married:true};
+    Person p2 = {id:2, age:40, salary:200.50, name:"martin", married:true};
+    Person p3 = {id:3, age:20, salary:100.50, name:"john", married:false};
+
+    table<Person> t1 = table {
+        primaryKey : ["id"],
+        index : ["id"],
+        data : [p1, p2, p3]
+    };
+
+    int removedCount = check t1.remove(isBelow35);
+    _ = t1.add(p1);
+    _ = t1.add(p3);
+    int count = t1.count();
+    return (removedCount, count);
+}
+
+function isBelow35(Person p) returns (boolean) {
+    return p.age < 35;
+}
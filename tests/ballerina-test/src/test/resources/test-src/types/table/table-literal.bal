@@ -14,6 +14,11 @@ type Company {
     string name,
 };
 
+type Customer {
+    int id,
+    string name,
+};
+
 type TypeTest {
     int id,
     json jsonData,
@@ -236,10 +241,40 @@ function testPrintData () {
 }
 
 function testTableDrop () {
+    Customer c1 = {id:1, name:"jane"};
+
+    table<Customer> dt = table{};
+    _ = dt.add(c1);
+}
+
+function testQueryWithoutDatabaseTable () returns (int, int) {
+    Customer c1 = {id:1, name:"jane"};
+    Customer c2 = {id:2, name:"martin"};
+    Customer c3 = {id:3, name:"john"};
+
+    table<Customer> dt = table{index:["name"]};
+    _ = dt.add(c1);
+    _ = dt.add(c2);
+    _ = dt.add(c3);
+    table<Customer> dt2 = table{};
+    _ = dt2.add(c1);
+    _ = dt2.add(c3);
+    // filters and joins are evaluated over the columns of the tables
+    table<Customer> filtered = from dt where name == "martin" || id > 2 select *;
+    table<Customer> joined = from dt as c join dt2 as d on c.id == d.id select c.id as id, d.name as name;
+    return (filtered.count(), joined.count());
+}
+
+function testQueriedTableDrop () returns (int) {
     Person p1 = {id:1, age:30, salary:300.50, name:"jane", married:true};
+    Person p2 = {id:2, age:20, salary:200.50, name:"martin", married:true};
 
     table<Person> dt = table{};
     _ = dt.add(p1);
+    _ = dt.add(p2);
+    // ordering the result copies the queried table to a table of the in-memory database
+    table<Person> dt2 = from dt where age > 25 select * order by id;
+    return dt2.count();
 }
 
 function testTableWithAllDataToJson () returns (json) {
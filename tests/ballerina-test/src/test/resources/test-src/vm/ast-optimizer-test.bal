@@ -0,0 +1,51 @@
+function testConstantFolding() returns (int, float, string, boolean) {
+    int a = 2 * 3 + 10 / 4 - 7 % 3;
+    float f = 1.5 * 2.0 - -0.5;
+    string s = "ab" + "cd" + 12;
+    boolean b = 10 > 3 && !(2.0 == 2.5) || false;
+    return (a, f, s, b);
+}
+
+function testDivisionByZeroNotFolded() returns int {
+    return 10 / 0;
+}
+
+function testUnreachableCode(int x) returns (int, int) {
+    int y = 0;
+    if (1 > 2) {
+        y = 100;
+    } else if (true) {
+        y = x;
+    } else {
+        y = -1;
+    }
+    int z = 0;
+    while (false) {
+        z = z + 1;
+    }
+    return (y, z);
+}
+
+function testCopyPropagation(int x, string s) returns (int, string) {
+    int a = x;
+    int b = a;
+    int unused = b * 2 + 1;
+    string t = s;
+    int i = 0;
+    int sum = 0;
+    while (i < b) {
+        int copy = i;
+        sum = sum + copy;
+        i = i + 1;
+    }
+    return (sum + a, t + s);
+}
+
+function testReassignedCopy(int x) returns (int, int) {
+    int a = x;
+    int b = a;
+    a = a + 1;
+    int c = b;
+    b = 7;
+    return (a + c, b);
+}
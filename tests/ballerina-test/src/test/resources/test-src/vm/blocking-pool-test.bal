@@ -0,0 +1,24 @@
+import ballerina/math;
+import ballerina/os;
+
+function testBlockingCall() returns int {
+    return math:floorDiv(7, 2);
+}
+
+function testAsyncBlockingCall() returns int {
+    future<int> f = async math:floorDiv(9, 2);
+    return await f;
+}
+
+function testBlockingCallError() returns string {
+    try {
+        _ = math:floorDiv(1, 0);
+    } catch (error e) {
+        return e.message;
+    }
+    return "";
+}
+
+function testOtherPackageCall() returns string {
+    return os:getName();
+}
@@ -0,0 +1,110 @@
+type Shape object {
+    public function area() returns int;
+};
+
+function Shape::area() returns int {
+    return 0;
+}
+
+type Square object {
+    public {
+        int side;
+    }
+
+    new (side) {}
+
+    public function area() returns int;
+};
+
+function Square::area() returns int {
+    return self.side * self.side;
+}
+
+type Rectangle object {
+    public {
+        int width;
+        int height;
+    }
+
+    new (width, height) {}
+
+    public function area() returns int;
+};
+
+function Rectangle::area() returns int {
+    return self.width * self.height;
+}
+
+type Triangle object {
+    public {
+        int base;
+        int height;
+    }
+
+    new (base, height) {}
+
+    public function area() returns int;
+};
+
+function Triangle::area() returns int {
+    return self.base * self.height / 2;
+}
+
+type Line object {
+    public function area() returns int;
+};
+
+function Line::area() returns int {
+    return 0;
+}
+
+type Dot object {
+    public function area() returns int;
+};
+
+function Dot::area() returns int {
+    return 1;
+}
+
+function getArea(Shape s) returns int {
+    return s.area();
+}
+
+function testMonomorphicCall(int count) returns int {
+    Shape s = new Square(3);
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        total = total + getArea(s);
+        i = i + 1;
+    }
+    return total;
+}
+
+function testPolymorphicCall() returns (int, int) {
+    Shape[] shapes = [new Square(2), new Rectangle(2, 3), new Triangle(4, 5), new Square(5),
+                      new Rectangle(1, 7)];
+    int first = 0;
+    int second = 0;
+    foreach s in shapes {
+        first = first + getArea(s);
+    }
+    foreach s in shapes {
+        second = second + getArea(s);
+    }
+    return (first, second);
+}
+
+function testMegamorphicCall() returns int {
+    Shape[] shapes = [new Square(2), new Rectangle(2, 3), new Triangle(4, 5), new Line(), new Dot(),
+                      new Shape()];
+    int total = 0;
+    int i = 0;
+    while (i < 3) {
+        foreach s in shapes {
+            total = total + getArea(s);
+        }
+        i = i + 1;
+    }
+    return total;
+}
@@ -0,0 +1,58 @@
+function intLoop(int n) returns int {
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        sum = sum + i * 3 - 1;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function floatLoop(int n) returns float {
+    float sum = 0.0;
+    float x = 0.5;
+    int i = 0;
+    while (i < n) {
+        if (sum >= 100.0) {
+            sum = sum - x * 2.0;
+        } else {
+            sum = sum + x;
+        }
+        i = i + 1;
+    }
+    return sum;
+}
+
+function nestedLoop(int n) returns int {
+    int count = 0;
+    int i = 0;
+    while (i < n) {
+        int j = 0;
+        while (j < i) {
+            if (i != j && !(j > 50)) {
+                count = count + 1;
+            }
+            j = j + 1;
+        }
+        i = i + 1;
+    }
+    return count;
+}
+
+function mixedLoop(int n) returns (int, string) {
+    string s = "";
+    int total = 0;
+    int i = 0;
+    while (i < n) {
+        total = total + square(i);
+        if (i < 3) {
+            s = s + "a";
+        }
+        i = i + 1;
+    }
+    return (total, s);
+}
+
+function square(int x) returns int {
+    return x * x;
+}
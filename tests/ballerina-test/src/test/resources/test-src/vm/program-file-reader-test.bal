@@ -0,0 +1,11 @@
+import ballerina/math;
+import ballerina/runtime;
+
+function divide(int a, int b) returns int {
+    return math:floorDiv(a, b);
+}
+
+function getLineNumber() returns int {
+    runtime:CallStackElement[] callStack = runtime:getCallStack();
+    return callStack[1].lineNumber;
+}
@@ -0,0 +1,86 @@
+function testSequentialScopes(int x) returns (int, string) {
+    int total = 0;
+    string text = "";
+    if (x > 0) {
+        int a = x * 2;
+        int b = a + 1;
+        string s = "a" + b;
+        total = total + b;
+        text = text + s;
+    }
+    if (x > 1) {
+        int c = x * 3;
+        int d = c + 2;
+        string t = "c" + d;
+        total = total + d;
+        text = text + t;
+    }
+    if (x > 2) {
+        int e = x * 4;
+        int f = e + 3;
+        string u = "e" + f;
+        total = total + f;
+        text = text + u;
+    }
+    return (total, text);
+}
+
+function testLoopCarriedValues(int n) returns (int, int) {
+    int sum = 0;
+    int product = 1;
+    int i = 0;
+    while (i < n) {
+        int square = i * i;
+        sum = sum + square;
+        int following = i + 1;
+        product = product * following;
+        i = following;
+    }
+    int doubled = sum * 2;
+    return (doubled, product);
+}
+
+function testUninitializedInLoop(int n) returns int {
+    int result = 0;
+    int i = 0;
+    while (i < n) {
+        int last;
+        if (i % 2 == 0) {
+            last = i;
+        }
+        result = result + last;
+        i = i + 1;
+    }
+    return result;
+}
+
+function testNestedLoops(int n) returns int {
+    int count = 0;
+    int i = 0;
+    while (i < n) {
+        int j = 0;
+        while (j < i) {
+            int k = i + j;
+            count = count + k;
+            j = j + 1;
+        }
+        int m = i * 10;
+        count = count + m;
+        i = i + 1;
+    }
+    return count;
+}
+
+function testForeach(int[] values) returns (int, string) {
+    int sum = 0;
+    string joined = "";
+    foreach v in values {
+        int w = v + 1;
+        sum = sum + w;
+    }
+    foreach v in values {
+        string s = "<" + v + ">";
+        joined = joined + s;
+    }
+    return (sum, joined);
+}
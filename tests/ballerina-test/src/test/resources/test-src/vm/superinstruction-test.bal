@@ -0,0 +1,43 @@
+type Counter {
+    int value;
+    int limit;
+};
+
+function testCompareAndBranch(int n) returns (int, int, int) {
+    int gt = 0;
+    int le = 0;
+    int eq = 0;
+    int i = 0;
+    while (i < n) {
+        if (i > 5) {
+            gt = gt + 1;
+        }
+        if (i <= 2) {
+            le = le + 1;
+        }
+        if (i == 4 || i != i) {
+            eq = eq + 1;
+        }
+        i = i + 1;
+    }
+    return (gt, le, eq);
+}
+
+function testConstantArithmetic(int x) returns (int, int, int, int) {
+    int a = x + 100;
+    int b = 5000000000 - x;
+    int c = x * 3;
+    int d = 2 - x;
+    return (a, b, c, d);
+}
+
+function testFieldLoadCompare(int n) returns (int, boolean) {
+    Counter counter = {value:0, limit:n};
+    int iterations = 0;
+    while (counter.value < counter.limit) {
+        counter.value = counter.value + 2;
+        iterations = iterations + 1;
+    }
+    boolean reached = counter.value >= n;
+    return (iterations, reached);
+}
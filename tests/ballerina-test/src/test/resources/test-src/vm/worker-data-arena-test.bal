@@ -0,0 +1,80 @@
+// Each function checks that its locals without an initializer have the default values of their registers, and
+// then leaves other values in those registers for the invocations which reuse them.
+
+function countDown(int depth) returns @untainted boolean {
+    int i;
+    float f;
+    string s;
+    boolean b;
+    any a;
+    boolean clean = i == 0 && f == 0.0 && s == "" && !b && a == null;
+    i = depth;
+    f = 1.5;
+    s = "stale";
+    b = true;
+    a = s;
+    if (depth == 0) {
+        return clean;
+    }
+    return countDown(depth - 1) && clean;
+}
+
+function unwind(int depth, boolean throwError) returns @untainted boolean {
+    int i;
+    string s;
+    any a;
+    boolean clean = i == 0 && s == "" && a == null;
+    i = depth;
+    s = "stale";
+    a = s;
+    if (depth == 0) {
+        if (throwError) {
+            error e = {message:"unwind"};
+            throw e;
+        }
+        return clean;
+    }
+    return unwind(depth - 1, throwError) && clean;
+}
+
+function testRecursiveCall() returns boolean {
+    boolean first = countDown(10);
+    return first && countDown(10) && countDown(3);
+}
+
+function testAsyncCall() returns boolean {
+    future<boolean> f1 = async countDown(10);
+    boolean first = await f1;
+    future<boolean> f2 = async countDown(10);
+    boolean second = await f2;
+    return first && second && countDown(10);
+}
+
+function testErrorUnwind() returns boolean {
+    boolean caught = false;
+    try {
+        _ = unwind(10, true);
+    } catch (error e) {
+        caught = true;
+    }
+    return caught && unwind(10, false) && countDown(10);
+}
+
+function testForkJoin() returns boolean {
+    boolean first;
+    boolean second;
+    fork {
+        worker w1 {
+            boolean clean = countDown(10) && countDown(10);
+            clean -> fork;
+        }
+        worker w2 {
+            boolean clean = countDown(5) && countDown(5);
+            clean -> fork;
+        }
+    } join (all) (map results) {
+        first =check <boolean> results["w1"];
+        second =check <boolean> results["w2"];
+    }
+    return first && second && countDown(10);
+}